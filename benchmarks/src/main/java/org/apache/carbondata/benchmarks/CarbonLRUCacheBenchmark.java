@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.cache.Cacheable;
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Get of an entry from the LRU cache and put of the entry when it is missing, as done by the
+ * dictionary and btree caches for each block and column used by a query. Keys are skewed so
+ * that a bounded cache keeps the hot entries and evicts the others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CarbonLRUCacheBenchmark {
+
+  /**
+   * property of the cache size, used only by this benchmark
+   */
+  private static final String CACHE_SIZE_PROPERTY = "carbon.benchmark.lru.cache.size";
+
+  private static final long ENTRY_SIZE = 64 * 1024;
+
+  /**
+   * size of the cache in MB, 0 for a cache without limit
+   */
+  @Param({ "0", "16" })
+  public String cacheSizeInMB;
+
+  @Param({ "4096" })
+  public int numberOfKeys;
+
+  private CarbonLRUCache cache;
+
+  private String[] keys;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    CarbonProperties.getInstance().addProperty(CACHE_SIZE_PROPERTY, cacheSizeInMB);
+    cache = new CarbonLRUCache(CACHE_SIZE_PROPERTY, "0");
+    keys = new String[numberOfKeys];
+    for (int i = 0; i < numberOfKeys; i++) {
+      keys[i] = "default_table_" + i + "_column";
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cache.clear();
+  }
+
+  /**
+   * Key generator of each thread
+   */
+  @State(Scope.Thread)
+  public static class KeyGenerator {
+
+    private SyntheticData data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      data = new SyntheticData(Thread.currentThread().getId());
+    }
+
+    int nextKey(int numberOfKeys) {
+      // square of uniform value, low keys are much more frequent than high keys
+      int uniform = data.nextInt(numberOfKeys);
+      return (int) ((long) uniform * uniform / numberOfKeys);
+    }
+  }
+
+  @Benchmark
+  public Cacheable getOrPut(KeyGenerator keyGenerator) {
+    return getOrPutEntry(keys[keyGenerator.nextKey(numberOfKeys)]);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Cacheable getOrPutConcurrent(KeyGenerator keyGenerator) {
+    return getOrPutEntry(keys[keyGenerator.nextKey(numberOfKeys)]);
+  }
+
+  private Cacheable getOrPutEntry(String key) {
+    Cacheable entry = cache.get(key);
+    if (null == entry) {
+      entry = new CacheEntry();
+      cache.put(key, entry, ENTRY_SIZE);
+    }
+    return entry;
+  }
+
+  /**
+   * Entry which only reports its size, as the cache does not look into the entries
+   */
+  private static class CacheEntry implements Cacheable {
+
+    private final long timeStamp = System.currentTimeMillis();
+
+    @Override public long getFileTimeStamp() {
+      return timeStamp;
+    }
+
+    @Override public int getAccessCount() {
+      return 0;
+    }
+
+    @Override public long getMemorySize() {
+      return ENTRY_SIZE;
+    }
+
+    @Override public void invalidate() {
+    }
+  }
+}
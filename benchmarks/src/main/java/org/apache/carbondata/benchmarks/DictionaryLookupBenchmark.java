@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.cache.dictionary.ColumnDictionaryInfo;
+import org.apache.carbondata.core.cache.dictionary.ColumnReverseDictionaryInfo;
+import org.apache.carbondata.core.cache.dictionary.DictionaryInfo;
+import org.apache.carbondata.core.cache.dictionary.DoubleArrayTrieDictionary;
+import org.apache.carbondata.core.cache.dictionary.PackedColumnDictionaryInfo;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Lookups in the dictionary of a string column: surrogate key to value as done when the
+ * result of a query is decoded, and value to surrogate key as done for the filter values and
+ * by the data load. The dictionary is kept by the forward, packed or reverse dictionary
+ * holder, or by the double array trie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DictionaryLookupBenchmark {
+
+  private static final int LOOKUPS = 1024;
+
+  @Param({ "forward", "packed", "reverse", "trie" })
+  public String dictionaryType;
+
+  @Param({ "10000", "1000000" })
+  public int cardinality;
+
+  private DictionaryInfo dictionaryInfo;
+
+  private DoubleArrayTrieDictionary trie;
+
+  private int[] surrogateKeys;
+
+  private String[] values;
+
+  private byte[][] valueBytes;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    SyntheticData data = new SyntheticData();
+    final String[] dictionaryValues = data.distinctStrings(cardinality, 16);
+    if ("trie".equals(dictionaryType)) {
+      trie = new DoubleArrayTrieDictionary();
+      for (String value : dictionaryValues) {
+        trie.insert(value);
+      }
+    } else {
+      dictionaryInfo = newDictionaryInfo();
+      dictionaryInfo.addDictionaryChunk(Arrays.asList(SyntheticData.toBytes(dictionaryValues)));
+      // surrogate key of a value is its position in the chunk, starting from 1
+      List<Integer> sortOrder = new ArrayList<Integer>(cardinality);
+      for (int i = 1; i <= cardinality; i++) {
+        sortOrder.add(i);
+      }
+      Collections.sort(sortOrder, new Comparator<Integer>() {
+        @Override public int compare(Integer o1, Integer o2) {
+          return dictionaryValues[o1 - 1].compareTo(dictionaryValues[o2 - 1]);
+        }
+      });
+      Integer[] sortReverseOrder = new Integer[cardinality];
+      for (int i = 0; i < cardinality; i++) {
+        sortReverseOrder[sortOrder.get(i) - 1] = i + 1;
+      }
+      dictionaryInfo.setSortOrderIndex(sortOrder);
+      dictionaryInfo.setSortReverseOrderIndex(Arrays.asList(sortReverseOrder));
+    }
+    surrogateKeys = data.skewedSurrogates(LOOKUPS, cardinality);
+    values = new String[LOOKUPS];
+    for (int i = 0; i < LOOKUPS; i++) {
+      values[i] = dictionaryValues[surrogateKeys[i] - 1];
+    }
+    valueBytes = SyntheticData.toBytes(values);
+  }
+
+  private DictionaryInfo newDictionaryInfo() {
+    if ("forward".equals(dictionaryType)) {
+      return new ColumnDictionaryInfo(DataType.STRING);
+    } else if ("packed".equals(dictionaryType)) {
+      return new PackedColumnDictionaryInfo(DataType.STRING);
+    } else {
+      return new ColumnReverseDictionaryInfo();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (null != dictionaryInfo) {
+      dictionaryInfo.invalidate();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public void getValue(Blackhole blackhole) {
+    if (null == dictionaryInfo) {
+      return;
+    }
+    for (int surrogateKey : surrogateKeys) {
+      blackhole.consume(dictionaryInfo.getDictionaryValueForKey(surrogateKey));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public long getSurrogateKey() {
+    long sum = 0;
+    if (null == dictionaryInfo) {
+      for (String value : values) {
+        sum += trie.getValue(value);
+      }
+    } else {
+      for (byte[] value : valueBytes) {
+        sum += dictionaryInfo.getSurrogateKey(value);
+      }
+    }
+    return sum;
+  }
+}
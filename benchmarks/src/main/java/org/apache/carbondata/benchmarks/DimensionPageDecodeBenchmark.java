@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmarks;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.chunk.DimensionColumnDataChunk;
+import org.apache.carbondata.core.datastore.chunk.impl.FixedLengthDimensionDataChunk;
+import org.apache.carbondata.core.datastore.chunk.impl.VariableLengthDimensionDataChunk;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Decode of a dimension page kept in the safe (on heap) and unsafe (off heap) chunk stores.
+ * The store is selected by the chunk store factory from the unsafe query property when it is
+ * first used, so the property is set in the setup and each parameter combination runs in its
+ * own fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DimensionPageDecodeBenchmark {
+
+  @Param({ "false", "true" })
+  public boolean unsafe;
+
+  @Param({ "false", "true" })
+  public boolean explicitSorted;
+
+  @Param({ "200", "60000", "10000000" })
+  public int cardinality;
+
+  @Param({ "120000" })
+  public int numberOfRows;
+
+  private byte[] fixedLengthPage;
+
+  private byte[] variableLengthPage;
+
+  private int[] invertedIndex;
+
+  private int[] invertedIndexReverse;
+
+  private int columnValueSize;
+
+  private byte[][] noDictionaryValues;
+
+  private FixedLengthDimensionDataChunk fixedLengthChunk;
+
+  private VariableLengthDimensionDataChunk variableLengthChunk;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.ENABLE_UNSAFE_IN_QUERY_EXECUTION,
+            String.valueOf(unsafe));
+    SyntheticData data = new SyntheticData();
+    int[] surrogates = data.skewedSurrogates(numberOfRows, cardinality);
+    noDictionaryValues =
+        SyntheticData.toBytes(data.strings(numberOfRows, Math.min(cardinality, 100000), 12));
+    columnValueSize = SyntheticData.getColumnValueSize(cardinality);
+    if (explicitSorted) {
+      sortPage(surrogates);
+      Arrays.sort(noDictionaryValues, new Comparator<byte[]>() {
+        @Override public int compare(byte[] o1, byte[] o2) {
+          return ByteUtil.UnsafeComparer.INSTANCE.compareTo(o1, o2);
+        }
+      });
+    }
+    fixedLengthPage = SyntheticData.toFixedLengthPage(surrogates, columnValueSize);
+    variableLengthPage = SyntheticData.toLengthPrefixedPage(noDictionaryValues);
+    fixedLengthChunk = newFixedLengthChunk();
+    variableLengthChunk = newVariableLengthChunk();
+  }
+
+  /**
+   * Sorts the keys of the page and fills the inverted indexes mapping the sorted position to
+   * the row and back. No dictionary values are sorted on their own, but the same row mapping is
+   * used for them as only the access pattern matters here.
+   */
+  private void sortPage(int[] surrogates) {
+    long[] keyAndRow = new long[surrogates.length];
+    for (int i = 0; i < surrogates.length; i++) {
+      keyAndRow[i] = ((long) surrogates[i] << 32) | i;
+    }
+    Arrays.sort(keyAndRow);
+    invertedIndex = new int[surrogates.length];
+    invertedIndexReverse = new int[surrogates.length];
+    for (int i = 0; i < keyAndRow.length; i++) {
+      surrogates[i] = (int) (keyAndRow[i] >>> 32);
+      invertedIndex[i] = (int) keyAndRow[i];
+      invertedIndexReverse[invertedIndex[i]] = i;
+    }
+  }
+
+  private FixedLengthDimensionDataChunk newFixedLengthChunk() {
+    return new FixedLengthDimensionDataChunk(fixedLengthPage, invertedIndex, invertedIndexReverse,
+        numberOfRows, columnValueSize);
+  }
+
+  private VariableLengthDimensionDataChunk newVariableLengthChunk() {
+    return new VariableLengthDimensionDataChunk(variableLengthPage, invertedIndex,
+        invertedIndexReverse, numberOfRows);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    fixedLengthChunk.freeMemory();
+    variableLengthChunk.freeMemory();
+  }
+
+  /**
+   * Copy of the page to the store, done for each page read from the file
+   */
+  @Benchmark
+  public void loadFixedLengthPage() {
+    DimensionColumnDataChunk chunk = newFixedLengthChunk();
+    chunk.freeMemory();
+  }
+
+  @Benchmark
+  public void loadVariableLengthPage() {
+    DimensionColumnDataChunk chunk = newVariableLengthChunk();
+    chunk.freeMemory();
+  }
+
+  /**
+   * Conversion of the keys to surrogates, done for each row of a dictionary column in a query
+   */
+  @Benchmark
+  public long fixedLengthSurrogates() {
+    int[] row = new int[1];
+    long sum = 0;
+    for (int rowId = 0; rowId < numberOfRows; rowId++) {
+      fixedLengthChunk.fillConvertedChunkData(rowId, 0, row, null);
+      sum += row[0];
+    }
+    return sum;
+  }
+
+  /**
+   * Copy of the keys to the mdkey of the row
+   */
+  @Benchmark
+  public void fixedLengthFillRow(Blackhole blackhole) {
+    byte[] buffer = new byte[columnValueSize];
+    for (int rowId = 0; rowId < numberOfRows; rowId++) {
+      fixedLengthChunk.fillChunkData(buffer, 0, rowId, null);
+      blackhole.consume(buffer);
+    }
+  }
+
+  @Benchmark
+  public void variableLengthGetRow(Blackhole blackhole) {
+    for (int rowId = 0; rowId < numberOfRows; rowId++) {
+      blackhole.consume(variableLengthChunk.getChunkData(rowId));
+    }
+  }
+
+  /**
+   * Comparison with a filter value, done for each row of a no dictionary column in a filter
+   */
+  @Benchmark
+  public int variableLengthCompare() {
+    byte[] filterValue = noDictionaryValues[numberOfRows / 2];
+    int matches = 0;
+    for (int rowId = 0; rowId < numberOfRows; rowId++) {
+      if (variableLengthChunk.compareTo(rowId, filterValue) == 0) {
+        matches++;
+      }
+    }
+    return matches;
+  }
+}
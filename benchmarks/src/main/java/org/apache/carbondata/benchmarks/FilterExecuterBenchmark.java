@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.chunk.DimensionColumnDataChunk;
+import org.apache.carbondata.core.datastore.chunk.MeasureColumnDataChunk;
+import org.apache.carbondata.core.datastore.chunk.impl.ColumnGroupDimensionDataChunk;
+import org.apache.carbondata.core.datastore.chunk.impl.FixedLengthDimensionDataChunk;
+import org.apache.carbondata.core.datastore.chunk.impl.VariableLengthDimensionDataChunk;
+import org.apache.carbondata.core.keygenerator.KeyGenException;
+import org.apache.carbondata.core.keygenerator.KeyGenerator;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.scan.filter.DimColumnFilterInfo;
+import org.apache.carbondata.core.scan.filter.FilterUtil;
+import org.apache.carbondata.core.scan.filter.executer.AndFilterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.executer.ExcludeColGroupFilterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.executer.ExcludeFilterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.executer.FilterExecuter;
+import org.apache.carbondata.core.scan.filter.executer.IncludeColGroupFilterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.executer.IncludeFilterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.executer.OrFilterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.executer.RestructureFilterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.executer.RowLevelFilterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.executer.RowLevelRangeGrtThanFiterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.executer.RowLevelRangeGrtrThanEquaToFilterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.executer.RowLevelRangeLessThanEqualFilterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.executer.RowLevelRangeLessThanFiterExecuterImpl;
+import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.DimColumnResolvedFilterInfo;
+import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.MeasureColumnResolvedFilterInfo;
+import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Each filter executer applied on a synthetic blocklet. The blocklet has a dictionary column,
+ * a column group of two dictionary columns and a no dictionary column, whose chunks are
+ * generated in memory so only the filter evaluation is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterExecuterBenchmark {
+
+  @Param({ "include", "exclude", "includeColGroup", "excludeColGroup", "includeNoDictionary",
+      "rowLevel", "greaterThan", "greaterThanEqualTo", "lessThan", "lessThanEqualTo", "and", "or",
+      "restructure" })
+  public String executer;
+
+  @Param({ "false", "true" })
+  public boolean unsafe;
+
+  @Param({ "1000" })
+  public int cardinality;
+
+  /**
+   * number of values in the filter of include and exclude executers
+   */
+  @Param({ "1", "20" })
+  public int filterValues;
+
+  @Param({ "120000" })
+  public int numberOfRows;
+
+  private SegmentProperties segmentProperties;
+
+  private String[] noDictionaryValues;
+
+  private SyntheticBlocklet blocklet;
+
+  private BlocksChunkHolder blocksChunkHolder;
+
+  private FilterExecuter filterExecuter;
+
+  @Setup(Level.Trial)
+  public void setup() throws KeyGenException {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.ENABLE_UNSAFE_IN_QUERY_EXECUTION,
+            String.valueOf(unsafe));
+    List<ColumnSchema> columns = new ArrayList<ColumnSchema>();
+    columns.add(getDimensionColumn("d0", true, -1));
+    columns.add(getDimensionColumn("d1", true, 0));
+    columns.add(getDimensionColumn("d2", true, 0));
+    columns.add(getDimensionColumn("d3", false, -1));
+    segmentProperties = new SegmentProperties(columns,
+        new int[] { cardinality, cardinality, cardinality, -1 });
+
+    SyntheticData data = new SyntheticData();
+    KeyGenerator keyGenerator = segmentProperties.getDimensionKeyGenerator();
+    CarbonDimension dictionaryDimension = segmentProperties.getDimensions().get(0);
+    int[] surrogates = data.surrogates(numberOfRows, cardinality);
+    int columnValueSize = FilterUtil.getMaskKey(1, dictionaryDimension, keyGenerator).length;
+    byte[] dictionaryPage = new byte[numberOfRows * columnValueSize];
+    for (int i = 0; i < numberOfRows; i++) {
+      System.arraycopy(FilterUtil.getMaskKey(surrogates[i], dictionaryDimension, keyGenerator), 0,
+          dictionaryPage, i * columnValueSize, columnValueSize);
+    }
+
+    KeyGenerator columnGroupKeyGenerator =
+        segmentProperties.getColumnGroupAndItsKeygenartor().get(0);
+    int columnGroupValueSize = columnGroupKeyGenerator.getKeySizeInBytes();
+    int[] groupSurrogates1 = data.surrogates(numberOfRows, cardinality);
+    int[] groupSurrogates2 = data.surrogates(numberOfRows, cardinality);
+    byte[] columnGroupPage = new byte[numberOfRows * columnGroupValueSize];
+    for (int i = 0; i < numberOfRows; i++) {
+      System.arraycopy(columnGroupKeyGenerator
+              .generateKey(new int[] { groupSurrogates1[i], groupSurrogates2[i] }), 0,
+          columnGroupPage, i * columnGroupValueSize, columnGroupValueSize);
+    }
+
+    noDictionaryValues = data.strings(numberOfRows, cardinality, 16);
+    byte[] noDictionaryPage =
+        SyntheticData.toLengthPrefixedPage(SyntheticData.toBytes(noDictionaryValues));
+
+    DimensionColumnDataChunk[] chunks = new DimensionColumnDataChunk[3];
+    chunks[blockIndex(0)] = new FixedLengthDimensionDataChunk(dictionaryPage, null, null,
+        numberOfRows, columnValueSize);
+    chunks[blockIndex(1)] =
+        new ColumnGroupDimensionDataChunk(columnGroupPage, columnGroupValueSize, numberOfRows);
+    chunks[blockIndex(3)] =
+        new VariableLengthDimensionDataChunk(noDictionaryPage, null, null, numberOfRows);
+    blocklet = new SyntheticBlocklet(numberOfRows, chunks, new MeasureColumnDataChunk[0]);
+    blocksChunkHolder = new BlocksChunkHolder(chunks.length, 0);
+    blocksChunkHolder.setDataBlock(blocklet);
+    blocksChunkHolder.setDimensionDataChunk(chunks);
+    filterExecuter = createFilterExecuter(executer);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    blocklet.freeMemory();
+  }
+
+  private int blockIndex(int dimensionOrdinal) {
+    return segmentProperties.getDimensionOrdinalToBlockMapping().get(dimensionOrdinal);
+  }
+
+  private static ColumnSchema getDimensionColumn(String name, boolean isDictionary,
+      int columnGroup) {
+    ColumnSchema column = new ColumnSchema();
+    column.setColumnName(name);
+    column.setColumnUniqueId(UUID.randomUUID().toString());
+    column.setDataType(DataType.STRING);
+    column.setDimensionColumn(true);
+    column.setColumnar(columnGroup < 0);
+    if (columnGroup >= 0) {
+      column.setColumnGroup(columnGroup);
+    }
+    List<Encoding> encodings = new ArrayList<Encoding>();
+    if (isDictionary) {
+      encodings.add(Encoding.DICTIONARY);
+    }
+    column.setEncodingList(encodings);
+    column.setNumberOfChild(0);
+    return column;
+  }
+
+  private FilterExecuter createFilterExecuter(String type) {
+    switch (type) {
+      case "include":
+        return new IncludeFilterExecuterImpl(getDictionaryFilterInfo(0, true), segmentProperties);
+      case "exclude":
+        return new ExcludeFilterExecuterImpl(getDictionaryFilterInfo(0, false),
+            segmentProperties);
+      case "includeColGroup":
+        return new IncludeColGroupFilterExecuterImpl(getDictionaryFilterInfo(1, true),
+            segmentProperties);
+      case "excludeColGroup":
+        return new ExcludeColGroupFilterExecuterImpl(getDictionaryFilterInfo(1, false),
+            segmentProperties);
+      case "includeNoDictionary":
+        return new IncludeFilterExecuterImpl(getNoDictionaryFilterInfo(), segmentProperties);
+      case "rowLevel":
+        return new RowLevelFilterExecuterImpl(
+            Arrays.asList(getNoDictionaryFilterInfo()),
+            new ArrayList<MeasureColumnResolvedFilterInfo>(), getNoDictionaryExpression(), null,
+            segmentProperties, null);
+      case "greaterThan":
+        return new RowLevelRangeGrtThanFiterExecuterImpl(
+            Arrays.asList(getDictionaryFilterInfo(0, true)),
+            new ArrayList<MeasureColumnResolvedFilterInfo>(), null, null, getRangeValue(),
+            segmentProperties);
+      case "greaterThanEqualTo":
+        return new RowLevelRangeGrtrThanEquaToFilterExecuterImpl(
+            Arrays.asList(getDictionaryFilterInfo(0, true)),
+            new ArrayList<MeasureColumnResolvedFilterInfo>(), null, null, getRangeValue(),
+            segmentProperties);
+      case "lessThan":
+        return new RowLevelRangeLessThanFiterExecuterImpl(
+            Arrays.asList(getDictionaryFilterInfo(0, true)),
+            new ArrayList<MeasureColumnResolvedFilterInfo>(), null, null, getRangeValue(),
+            segmentProperties);
+      case "lessThanEqualTo":
+        return new RowLevelRangeLessThanEqualFilterExecuterImpl(
+            Arrays.asList(getDictionaryFilterInfo(0, true)),
+            new ArrayList<MeasureColumnResolvedFilterInfo>(), null, null, getRangeValue(),
+            segmentProperties);
+      case "and":
+        return new AndFilterExecuterImpl(createFilterExecuter("include"),
+            createFilterExecuter("rowLevel"));
+      case "or":
+        return new OrFilterExecuterImpl(createFilterExecuter("include"),
+            createFilterExecuter("includeNoDictionary"));
+      case "restructure":
+        return new RestructureFilterExecuterImpl(getDictionaryFilterInfo(0, true),
+            segmentProperties);
+      default:
+        throw new IllegalArgumentException("Unknown filter executer " + type);
+    }
+  }
+
+  /**
+   * @return filter on the given dictionary column with filterValues surrogates spread over
+   * the cardinality
+   */
+  private DimColumnResolvedFilterInfo getDictionaryFilterInfo(int dimensionOrdinal,
+      boolean isInclude) {
+    List<Integer> surrogates = new ArrayList<Integer>(filterValues);
+    for (int i = 0; i < filterValues; i++) {
+      surrogates.add(1 + (int) ((long) i * cardinality / filterValues));
+    }
+    DimColumnFilterInfo filterInfo = new DimColumnFilterInfo();
+    filterInfo.setIncludeFilter(isInclude);
+    filterInfo.setFilterList(surrogates);
+    return getResolvedFilterInfo(segmentProperties.getDimensions().get(dimensionOrdinal),
+        filterInfo);
+  }
+
+  private DimColumnResolvedFilterInfo getNoDictionaryFilterInfo() {
+    List<byte[]> values = new ArrayList<byte[]>(filterValues);
+    for (int i = 0; i < filterValues; i++) {
+      values.add(noDictionaryValues[i * (numberOfRows / filterValues)]
+          .getBytes(Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)));
+    }
+    DimColumnFilterInfo filterInfo = new DimColumnFilterInfo();
+    filterInfo.setIncludeFilter(true);
+    filterInfo.setFilterList(new ArrayList<Integer>(0));
+    filterInfo.setFilterListForNoDictionaryCols(values);
+    return getResolvedFilterInfo(segmentProperties.getDimensions().get(3), filterInfo);
+  }
+
+  private static DimColumnResolvedFilterInfo getResolvedFilterInfo(CarbonDimension dimension,
+      DimColumnFilterInfo filterInfo) {
+    DimColumnResolvedFilterInfo resolvedFilterInfo = new DimColumnResolvedFilterInfo();
+    resolvedFilterInfo.setDimension(dimension);
+    resolvedFilterInfo.setColumnIndex(dimension.getOrdinal());
+    resolvedFilterInfo.setRowIndex(0);
+    resolvedFilterInfo.setDimensionExistsInCurrentSilce(true);
+    resolvedFilterInfo.setFilterValues(filterInfo);
+    resolvedFilterInfo.addDimensionResolvedFilterInstance(dimension, filterInfo);
+    return resolvedFilterInfo;
+  }
+
+  /**
+   * @return expression evaluated for each row by the row level executer
+   */
+  private Expression getNoDictionaryExpression() {
+    ColumnExpression column = new ColumnExpression("d3", DataType.STRING);
+    column.setDimension(true);
+    column.setDimension(segmentProperties.getDimensions().get(3));
+    column.setColIndex(0);
+    return new EqualToExpression(column,
+        new LiteralExpression(noDictionaryValues[numberOfRows / 2], DataType.STRING));
+  }
+
+  /**
+   * @return key of the surrogate in the middle of the cardinality, as range filter value
+   */
+  private byte[][] getRangeValue() {
+    return new byte[][] { FilterUtil
+        .getMaskKey(cardinality / 2, segmentProperties.getDimensions().get(0),
+            segmentProperties.getDimensionKeyGenerator()) };
+  }
+
+  @Benchmark
+  public BitSet applyFilter() throws FilterUnsupportedException, IOException {
+    return filterExecuter.applyFilter(blocksChunkHolder);
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.compression.ValueCompressionHolder;
+import org.apache.carbondata.core.datastore.compression.WriterCompressModel;
+import org.apache.carbondata.core.datastore.dataholder.CarbonWriteDataHolder;
+import org.apache.carbondata.core.datastore.impl.data.compressed.HeavyCompressedDoubleArrayDataInMemoryStore;
+import org.apache.carbondata.core.metadata.ValueEncoderMeta;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encode and decode of a measure page through the value compression holders, which keep the
+ * decoded values in the safe (on heap) or unsafe (off heap) measure chunk stores. As for the
+ * dimension pages the store is selected from the unsafe query property when the store factory
+ * is first used, so each parameter combination runs in its own fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeasurePageDecodeBenchmark {
+
+  @Param({ "false", "true" })
+  public boolean unsafe;
+
+  /**
+   * whether the integral values are bit packed when it makes the page smaller
+   */
+  @Param({ "false", "true" })
+  public boolean integerPacking;
+
+  /**
+   * double with 2 decimal places, small long or big long measure
+   */
+  @Param({ "double", "long", "bigLong" })
+  public String measureType;
+
+  @Param({ "120000" })
+  public int numberOfRows;
+
+  private List<ValueEncoderMeta> encoderMeta;
+
+  private CarbonWriteDataHolder dataHolder;
+
+  private byte[] page;
+
+  private Encoding pageEncoding;
+
+  private ValueCompressionHolder decodedPage;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.ENABLE_UNSAFE_IN_QUERY_EXECUTION,
+            String.valueOf(unsafe));
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.ENABLE_MEASURE_INTEGER_PACKING,
+            String.valueOf(integerPacking));
+    SyntheticData data = new SyntheticData();
+    dataHolder = new CarbonWriteDataHolder();
+    ValueEncoderMeta meta = new ValueEncoderMeta();
+    if ("double".equals(measureType)) {
+      double[] values = data.doubles(numberOfRows, 100000, 2);
+      double max = Double.NEGATIVE_INFINITY;
+      double min = Double.POSITIVE_INFINITY;
+      dataHolder.initialiseDoubleValues(numberOfRows);
+      for (int i = 0; i < numberOfRows; i++) {
+        dataHolder.setWritableDoubleValueByIndex(i, values[i]);
+        max = Math.max(max, values[i]);
+        min = Math.min(min, values[i]);
+      }
+      meta.setMaxValue(max);
+      meta.setMinValue(min);
+      meta.setUniqueValue(min - 1);
+      meta.setDecimal(2);
+      meta.setType(CarbonCommonConstants.SUM_COUNT_VALUE_MEASURE);
+    } else {
+      long[] values = data.longs(numberOfRows, "long".equals(measureType) ? 30000 : 1L << 40);
+      long max = Long.MIN_VALUE;
+      long min = Long.MAX_VALUE;
+      dataHolder.initialiseLongValues(numberOfRows);
+      for (int i = 0; i < numberOfRows; i++) {
+        dataHolder.setWritableLongValueByIndex(i, values[i]);
+        max = Math.max(max, values[i]);
+        min = Math.min(min, values[i]);
+      }
+      meta.setMaxValue(max);
+      meta.setMinValue(min);
+      meta.setUniqueValue(min - 1);
+      meta.setDecimal(0);
+      meta.setType(CarbonCommonConstants.BIG_INT_MEASURE);
+    }
+    encoderMeta = new ArrayList<ValueEncoderMeta>(1);
+    encoderMeta.add(meta);
+    WriterCompressModel compressionModel = CarbonUtil.getValueCompressionModel(encoderMeta);
+    page = encodePage(compressionModel);
+    pageEncoding = compressionModel.getValueCompressionHolder()[0].getPageEncoding();
+    decodedPage = decodePage();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    decodedPage.freeMemory();
+  }
+
+  /**
+   * Encode and compression of the page as done by the data load
+   */
+  @Benchmark
+  public byte[] encodePage() {
+    return encodePage(CarbonUtil.getValueCompressionModel(encoderMeta));
+  }
+
+  private byte[] encodePage(WriterCompressModel compressionModel) {
+    return new HeavyCompressedDoubleArrayDataInMemoryStore(compressionModel)
+        .getWritableMeasureDataArray(new CarbonWriteDataHolder[] { dataHolder })[0];
+  }
+
+  /**
+   * Decompression and decode of the page to the measure chunk store as done by the measure
+   * chunk reader
+   */
+  private ValueCompressionHolder decodePage() {
+    WriterCompressModel compressionModel = CarbonUtil.getValueCompressionModel(encoderMeta);
+    ValueCompressionHolder values = compressionModel.getValueCompressionHolder()[0];
+    values.setPageEncoding(pageEncoding);
+    values.uncompress(compressionModel.getConvertedDataType()[0], page, 0, page.length,
+        compressionModel.getMantissa()[0], compressionModel.getMaxValue()[0], numberOfRows);
+    return values;
+  }
+
+  /**
+   * Decode of the page. Store is freed after the decode, so that the off heap memory of the
+   * decoded pages is not held till the end of the run.
+   */
+  @Benchmark
+  public void decodeAndFreePage() {
+    decodePage().freeMemory();
+  }
+
+  /**
+   * Read of all the values of a decoded page, done for each row of a measure in a query
+   */
+  @Benchmark
+  public double readPage() {
+    double sum = 0;
+    if ("double".equals(measureType)) {
+      for (int i = 0; i < numberOfRows; i++) {
+        sum += decodedPage.getDoubleValue(i);
+      }
+    } else {
+      for (int i = 0; i < numberOfRows; i++) {
+        sum += decodedPage.getLongValue(i);
+      }
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmarks;
+
+import org.apache.carbondata.core.datastore.FileHolder;
+import org.apache.carbondata.core.datastore.chunk.DimensionColumnDataChunk;
+import org.apache.carbondata.core.datastore.chunk.MeasureColumnDataChunk;
+import org.apache.carbondata.core.datastore.impl.btree.AbstractBTreeLeafNode;
+
+/**
+ * Blocklet whose column chunks are generated in memory instead of being read from a file
+ */
+public class SyntheticBlocklet extends AbstractBTreeLeafNode {
+
+  private DimensionColumnDataChunk[] dimensionChunks;
+
+  private MeasureColumnDataChunk[] measureChunks;
+
+  public SyntheticBlocklet(int numberOfRows, DimensionColumnDataChunk[] dimensionChunks,
+      MeasureColumnDataChunk[] measureChunks) {
+    this.numberOfKeys = numberOfRows;
+    this.dimensionChunks = dimensionChunks;
+    this.measureChunks = measureChunks;
+  }
+
+  @Override public DimensionColumnDataChunk[] getDimensionChunks(FileHolder fileReader,
+      int[][] blockIndexes) {
+    DimensionColumnDataChunk[] chunks = new DimensionColumnDataChunk[dimensionChunks.length];
+    for (int[] range : blockIndexes) {
+      for (int i = range[0]; i <= range[1]; i++) {
+        chunks[i] = dimensionChunks[i];
+      }
+    }
+    return chunks;
+  }
+
+  @Override public DimensionColumnDataChunk getDimensionChunk(FileHolder fileReader,
+      int blockIndex) {
+    return dimensionChunks[blockIndex];
+  }
+
+  @Override public MeasureColumnDataChunk[] getMeasureChunks(FileHolder fileReader,
+      int[][] blockIndexes) {
+    MeasureColumnDataChunk[] chunks = new MeasureColumnDataChunk[measureChunks.length];
+    for (int[] range : blockIndexes) {
+      for (int i = range[0]; i <= range[1]; i++) {
+        chunks[i] = measureChunks[i];
+      }
+    }
+    return chunks;
+  }
+
+  @Override public MeasureColumnDataChunk getMeasureChunk(FileHolder fileReader,
+      int blockIndex) {
+    return measureChunks[blockIndex];
+  }
+
+  /**
+   * Frees the memory of the chunks
+   */
+  public void freeMemory() {
+    for (DimensionColumnDataChunk chunk : dimensionChunks) {
+      chunk.freeMemory();
+    }
+    for (MeasureColumnDataChunk chunk : measureChunks) {
+      chunk.freeMemory();
+    }
+  }
+}
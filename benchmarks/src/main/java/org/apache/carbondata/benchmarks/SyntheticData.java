@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+
+/**
+ * Generates the data used by the benchmarks. All the values are drawn from a random generator
+ * created with a fixed seed, so each run of a benchmark works on the same data.
+ */
+public final class SyntheticData {
+
+  /**
+   * seed used by the benchmarks unless they need more than one data set
+   */
+  public static final long DEFAULT_SEED = 20170401L;
+
+  private final Random random;
+
+  public SyntheticData(long seed) {
+    this.random = new Random(seed);
+  }
+
+  public SyntheticData() {
+    this(DEFAULT_SEED);
+  }
+
+  /**
+   * @return surrogate keys between 1 and cardinality, uniformly distributed
+   */
+  public int[] surrogates(int numberOfRows, int cardinality) {
+    int[] surrogates = new int[numberOfRows];
+    for (int i = 0; i < numberOfRows; i++) {
+      surrogates[i] = 1 + random.nextInt(cardinality);
+    }
+    return surrogates;
+  }
+
+  /**
+   * @return surrogate keys between 1 and cardinality where the low keys are much more frequent,
+   * which is how the values of a dimension are usually distributed
+   */
+  public int[] skewedSurrogates(int numberOfRows, int cardinality) {
+    int[] surrogates = new int[numberOfRows];
+    for (int i = 0; i < numberOfRows; i++) {
+      // square of uniform value in [0, 1) gives a density falling like 1/sqrt(x)
+      double uniform = random.nextDouble();
+      surrogates[i] = 1 + (int) (uniform * uniform * cardinality);
+    }
+    return surrogates;
+  }
+
+  /**
+   * @return string values with the given number of distinct values, each having the given length
+   */
+  public String[] strings(int numberOfRows, int distinctValues, int length) {
+    String[] dictionary = distinctStrings(distinctValues, length);
+    String[] values = new String[numberOfRows];
+    for (int i = 0; i < numberOfRows; i++) {
+      values[i] = dictionary[random.nextInt(distinctValues)];
+    }
+    return values;
+  }
+
+  /**
+   * @return distinct string values of the given length in random order
+   */
+  public String[] distinctStrings(int distinctValues, int length) {
+    String[] values = new String[distinctValues];
+    char[] chars = new char[length];
+    for (int i = 0; i < distinctValues; i++) {
+      // value is prefixed with a random part so that values are not generated in sorted order,
+      // and suffixed with the index to keep them distinct
+      String suffix = Integer.toString(i);
+      int prefixLength = Math.max(0, length - suffix.length());
+      for (int j = 0; j < prefixLength; j++) {
+        chars[j] = (char) ('a' + random.nextInt(26));
+      }
+      values[i] = new String(chars, 0, prefixLength) + suffix;
+    }
+    return values;
+  }
+
+  /**
+   * @return values with the given number of decimal places between 0 and maxValue
+   */
+  public double[] doubles(int numberOfRows, long maxValue, int decimalPlaces) {
+    double scale = Math.pow(10, decimalPlaces);
+    double[] values = new double[numberOfRows];
+    for (int i = 0; i < numberOfRows; i++) {
+      values[i] = Math.round(random.nextDouble() * maxValue * scale) / scale;
+    }
+    return values;
+  }
+
+  /**
+   * @return values between 0 and maxValue
+   */
+  public long[] longs(int numberOfRows, long maxValue) {
+    long[] values = new long[numberOfRows];
+    for (int i = 0; i < numberOfRows; i++) {
+      values[i] = (long) (random.nextDouble() * maxValue);
+    }
+    return values;
+  }
+
+  /**
+   * @return random int between 0 (inclusive) and bound (exclusive)
+   */
+  public int nextInt(int bound) {
+    return random.nextInt(bound);
+  }
+
+  /**
+   * @return values in UTF-8 bytes
+   */
+  public static byte[][] toBytes(String[] values) {
+    Charset charset = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+    byte[][] bytes = new byte[values.length][];
+    for (int i = 0; i < values.length; i++) {
+      bytes[i] = values[i].getBytes(charset);
+    }
+    return bytes;
+  }
+
+  /**
+   * @return values in the format of a no dictionary column page, each value prefixed with its
+   * length in a short
+   */
+  public static byte[] toLengthPrefixedPage(byte[][] values) {
+    int size = 0;
+    for (byte[] value : values) {
+      size += CarbonCommonConstants.SHORT_SIZE_IN_BYTE + value.length;
+    }
+    ByteBuffer page = ByteBuffer.allocate(size);
+    for (byte[] value : values) {
+      page.putShort((short) value.length);
+      page.put(value);
+    }
+    return page.array();
+  }
+
+  /**
+   * @return keys in the format of a fixed length dimension page, each surrogate written in
+   * columnValueSize bytes in big endian order
+   */
+  public static byte[] toFixedLengthPage(int[] surrogates, int columnValueSize) {
+    byte[] page = new byte[surrogates.length * columnValueSize];
+    int offset = 0;
+    for (int surrogate : surrogates) {
+      for (int j = columnValueSize - 1; j >= 0; j--) {
+        page[offset + j] = (byte) surrogate;
+        surrogate >>>= 8;
+      }
+      offset += columnValueSize;
+    }
+    return page;
+  }
+
+  /**
+   * @return number of bytes needed to store surrogate keys up to cardinality
+   */
+  public static int getColumnValueSize(int cardinality) {
+    int bits = 32 - Integer.numberOfLeadingZeros(cardinality);
+    return Math.max(1, (bits + 7) / 8);
+  }
+}
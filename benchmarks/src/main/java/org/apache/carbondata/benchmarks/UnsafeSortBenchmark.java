@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.processing.newflow.sort.unsafe.IntPointerBuffer;
+import org.apache.carbondata.processing.newflow.sort.unsafe.UnsafeCarbonRowPage;
+import org.apache.carbondata.processing.newflow.sort.unsafe.UnsafeSortDataRows;
+import org.apache.carbondata.processing.newflow.sort.unsafe.comparator.UnsafeRowComparator;
+import org.apache.carbondata.processing.newflow.sort.unsafe.comparator.UnsafeRowComparatorForNormalDIms;
+import org.apache.carbondata.processing.newflow.sort.unsafe.holder.UnsafeCarbonRow;
+import org.apache.carbondata.processing.newflow.sort.unsafe.merger.UnsafeInMemoryIntermediateDataMerger;
+import org.apache.carbondata.processing.newflow.sort.unsafe.merger.UnsafeSingleThreadFinalSortFilesMerger;
+import org.apache.carbondata.processing.newflow.sort.unsafe.sort.TimSort;
+import org.apache.carbondata.processing.newflow.sort.unsafe.sort.UnsafeIntSortDataFormat;
+import org.apache.carbondata.processing.sortandgroupby.exception.CarbonSortKeyAndGroupByException;
+import org.apache.carbondata.processing.sortandgroupby.sortdata.SortParameters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sort of the rows of an unsafe row page and final merge of sorted pages, as done by the unsafe
+ * sort step of the data load. Pages are filled again before each invocation as the sort works
+ * in place and the merge frees the pages it has read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnsafeSortBenchmark {
+
+  /**
+   * Rows having three dictionary dimensions, optionally a no dictionary dimension, and a double
+   * and a long measure
+   */
+  @State(Scope.Benchmark)
+  public static class RowData {
+
+    @Param({ "false", "true" })
+    public boolean noDictionary;
+
+    @Param({ "100000" })
+    public int rowsPerPage;
+
+    @Param({ "8" })
+    public int pageSizeInMB;
+
+    boolean[] noDictionaryMapping;
+
+    char[] aggType = new char[] { CarbonCommonConstants.SUM_COUNT_VALUE_MEASURE,
+        CarbonCommonConstants.BIG_INT_MEASURE };
+
+    Object[][] rows;
+
+    SyntheticData data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      noDictionaryMapping = noDictionary ?
+          new boolean[] { false, false, false, true } :
+          new boolean[] { false, false, false };
+      data = new SyntheticData();
+      rows = newRows(rowsPerPage);
+    }
+
+    Object[][] newRows(int numberOfRows) {
+      int[][] dimensions = new int[][] { data.skewedSurrogates(numberOfRows, 100),
+          data.skewedSurrogates(numberOfRows, 10000), data.surrogates(numberOfRows, 1000000) };
+      byte[][] noDictionaryValues =
+          SyntheticData.toBytes(data.strings(numberOfRows, 50000, 16));
+      double[] doubles = data.doubles(numberOfRows, 100000, 2);
+      long[] longs = data.longs(numberOfRows, 1L << 40);
+      Object[][] rows = new Object[numberOfRows][];
+      for (int i = 0; i < numberOfRows; i++) {
+        Object[] row = new Object[noDictionaryMapping.length + aggType.length];
+        int index = 0;
+        for (int[] dimension : dimensions) {
+          row[index++] = dimension[i];
+        }
+        if (noDictionary) {
+          row[index++] = noDictionaryValues[i];
+        }
+        row[index++] = doubles[i];
+        row[index] = longs[i];
+        rows[i] = row;
+      }
+      return rows;
+    }
+
+    UnsafeCarbonRowPage newPage(Object[][] pageRows) throws CarbonSortKeyAndGroupByException {
+      UnsafeCarbonRowPage page = new UnsafeCarbonRowPage(noDictionaryMapping,
+          noDictionaryMapping.length, aggType.length, aggType,
+          UnsafeSortDataRows.getMemoryBlock(pageSizeInMB * 1024L * 1024L), false);
+      for (Object[] row : pageRows) {
+        if (!page.canAdd()) {
+          page.freeMemory();
+          throw new IllegalStateException(
+              "Page of " + pageSizeInMB + " MB is too small for " + pageRows.length + " rows");
+        }
+        page.addRow(row);
+      }
+      return page;
+    }
+
+    void sort(UnsafeCarbonRowPage page) {
+      Comparator<UnsafeCarbonRow> comparator;
+      if (noDictionary) {
+        comparator = new UnsafeRowComparator(page);
+      } else {
+        comparator = new UnsafeRowComparatorForNormalDIms(noDictionaryMapping.length, page);
+      }
+      TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort =
+          new TimSort<>(new UnsafeIntSortDataFormat(page));
+      timSort.sort(page.getBuffer(), 0, page.getBuffer().getActualSize(), comparator);
+    }
+  }
+
+  /**
+   * Unsorted page to be sorted by one invocation
+   */
+  @State(Scope.Thread)
+  public static class UnsortedPage {
+
+    UnsafeCarbonRowPage page;
+
+    @Setup(Level.Invocation)
+    public void setup(RowData rowData) throws CarbonSortKeyAndGroupByException {
+      page = rowData.newPage(rowData.rows);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+      page.freeMemory();
+    }
+  }
+
+  /**
+   * Sorted pages to be merged by one invocation. Merger frees each page once all its rows are
+   * read, so there is nothing to free after the invocation.
+   */
+  @State(Scope.Thread)
+  public static class SortedPages {
+
+    @Param({ "4", "16" })
+    public int numberOfPages;
+
+    File tempLocation;
+
+    Object[][][] pageRows;
+
+    UnsafeCarbonRowPage[] pages;
+
+    SortParameters parameters;
+
+    @Setup(Level.Trial)
+    public void setupTrial(RowData rowData) throws IOException {
+      pageRows = new Object[numberOfPages][][];
+      for (int i = 0; i < numberOfPages; i++) {
+        pageRows[i] = rowData.newRows(rowData.rowsPerPage);
+      }
+      // merger also reads the sort temp files of the table, so an empty location is given
+      tempLocation = Files.createTempDirectory("carbon-sort-benchmark").toFile();
+      parameters = new SortParameters();
+      parameters.setTempFileLocation(tempLocation.getAbsolutePath());
+      parameters.setTableName("benchmark");
+      parameters.setDimColCount(rowData.noDictionaryMapping.length);
+      parameters.setComplexDimColCount(0);
+      parameters.setMeasureColCount(rowData.aggType.length);
+      parameters.setNoDictionaryCount(rowData.noDictionary ? 1 : 0);
+      parameters.setNoDictionaryDimnesionColumn(rowData.noDictionaryMapping);
+      parameters.setAggType(rowData.aggType);
+    }
+
+    @Setup(Level.Invocation)
+    public void setup(RowData rowData) throws CarbonSortKeyAndGroupByException {
+      pages = new UnsafeCarbonRowPage[numberOfPages];
+      for (int i = 0; i < numberOfPages; i++) {
+        pages[i] = rowData.newPage(pageRows[i]);
+        rowData.sort(pages[i]);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      tempLocation.delete();
+    }
+  }
+
+  @Benchmark
+  public IntPointerBuffer sortPage(RowData rowData, UnsortedPage unsortedPage) {
+    rowData.sort(unsortedPage.page);
+    return unsortedPage.page.getBuffer();
+  }
+
+  @Benchmark
+  public long mergePages(SortedPages sortedPages) throws Exception {
+    UnsafeSingleThreadFinalSortFilesMerger merger =
+        new UnsafeSingleThreadFinalSortFilesMerger(sortedPages.parameters);
+    merger.startFinalMerge(sortedPages.pages,
+        Collections.<UnsafeInMemoryIntermediateDataMerger>emptyList());
+    long count = 0;
+    while (merger.hasNext()) {
+      merger.next();
+      count++;
+    }
+    return count;
+  }
+}
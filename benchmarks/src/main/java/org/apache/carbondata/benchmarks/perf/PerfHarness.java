@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmarks.perf;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.stats.QueryStatistic;
+import org.apache.carbondata.core.stats.QueryStatisticsConstants;
+import org.apache.carbondata.core.stats.QueryStatisticsRecorder;
+import org.apache.carbondata.core.stats.QueryStatisticsRecorderImpl;
+import org.apache.carbondata.core.util.CarbonLoadStatisticsImpl;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
+import org.apache.carbondata.core.util.LoadStatistics;
+import org.apache.carbondata.hadoop.CarbonInputFormat;
+import org.apache.carbondata.hadoop.CarbonInputSplit;
+import org.apache.carbondata.hadoop.CarbonRecordReader;
+import org.apache.carbondata.processing.constants.TableOptionConstant;
+import org.apache.carbondata.processing.model.CarbonDataLoadSchema;
+import org.apache.carbondata.processing.model.CarbonLoadModel;
+import org.apache.carbondata.processing.newflow.DataLoadExecutor;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+
+/**
+ * Loads a generated star schema table with the data load of the new flow and runs a suite of
+ * queries on it with the carbon input format, all in one JVM and without spark, so that a
+ * change of the load or of the scan can be measured end to end on a single machine.
+ *
+ * Reports the input MB/s and rows/s of each load with the rows/s of each of its steps, and for
+ * each query the latency percentiles, the rows returned, the blocklets of the table which are
+ * scanned and pruned and the bytes read from the files.
+ *
+ * Options, given as -name value:
+ *   -scale            size of the table, 1 is 6 million rows (default 0.1)
+ *   -loads            number of loads, each one writing a segment (default 1)
+ *   -threads          number of input iterators of each load (default 2)
+ *   -blockletRows     rows of a blocklet (default carbon.blocklet.size)
+ *   -blockSizeInMB    size of a carbondata file (default 1024)
+ *   -warmup           runs of each query which are not measured (default 2)
+ *   -iterations       measured runs of each query (default 10)
+ *   -storePath        location of the store (default a new temp directory)
+ */
+public class PerfHarness {
+
+  private static final String DATABASE_NAME = "perf";
+
+  private static final String TABLE_NAME = "lineorder_flat";
+
+  private static final long SEED = 42L;
+
+  private final Map<String, String> options;
+
+  private StarSchemaTable table;
+
+  private PerfHarness(Map<String, String> options) {
+    this.options = options;
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<String, String>();
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      if (!args[i].startsWith("-")) {
+        throw new IllegalArgumentException("Expected an option instead of " + args[i]);
+      }
+      options.put(args[i].substring(1), args[i + 1]);
+    }
+    // statistics instances are selected once, so they are enabled before any other carbon call
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.ENABLE_DATA_LOADING_STATISTICS, "true");
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.ENABLE_QUERY_STATISTICS, "true");
+    new PerfHarness(options).run();
+  }
+
+  private String getOption(String name, String defaultValue) {
+    String value = options.get(name);
+    return null == value ? defaultValue : value;
+  }
+
+  private void run() throws Exception {
+    String storePath = options.get("storePath");
+    if (null == storePath) {
+      storePath = new File(System.getProperty("java.io.tmpdir"),
+          "carbon-perf-" + System.currentTimeMillis()).getAbsolutePath();
+    }
+    CarbonProperties properties = CarbonProperties.getInstance();
+    properties.addProperty(CarbonCommonConstants.STORE_LOCATION, storePath);
+    properties.addProperty(CarbonCommonConstants.BLOCKLET_SIZE,
+        getOption("blockletRows", CarbonCommonConstants.BLOCKLET_SIZE_DEFAULT_VAL));
+    properties.addProperty("carbon.is.columnar.storage", "true");
+    properties.addProperty("carbon.dimension.split.value.in.columnar", "1");
+    properties.addProperty("carbon.is.fullyfilled.bits", "true");
+    properties.addProperty("is.int.based.indexer", "true");
+    properties.addProperty("aggregate.columnar.keyblock", "true");
+    properties.addProperty("high.cardinality.value", "100000");
+    properties.addProperty("is.compressed.keyblock", "false");
+
+    System.out.println("Store: " + storePath);
+    table = new StarSchemaTable(storePath, DATABASE_NAME, TABLE_NAME, SEED);
+    table.create(Integer.parseInt(getOption("blockSizeInMB", "1024")));
+
+    int loads = Integer.parseInt(getOption("loads", "1"));
+    long rows = (long) (Double.parseDouble(getOption("scale", "0.1"))
+        * StarSchemaTable.ROWS_PER_SCALE);
+    int threads = Integer.parseInt(getOption("threads", "2"));
+    for (int segment = 0; segment < loads; segment++) {
+      load(segment, rows / loads + (segment < rows % loads ? 1 : 0), threads);
+    }
+
+    int warmup = Integer.parseInt(getOption("warmup", "2"));
+    int iterations = Integer.parseInt(getOption("iterations", "10"));
+    long tableBlocklets = countBlocklets(getSplits(createConfiguration(null)));
+    System.out.println();
+    System.out.println(String.format("%-14s %9s %9s %9s %9s %12s %10s %10s %12s", "query",
+        "p50 ms", "p90 ms", "p99 ms", "max ms", "rows", "scanned", "pruned", "bytes read"));
+    for (StarSchemaQuery query : StarSchemaQuery.suite()) {
+      for (int i = 0; i < warmup; i++) {
+        runQuery(query);
+      }
+      long[] latencies = new long[iterations];
+      QueryRun lastRun = null;
+      for (int i = 0; i < iterations; i++) {
+        long startTime = System.nanoTime();
+        lastRun = runQuery(query);
+        latencies[i] = System.nanoTime() - startTime;
+      }
+      Arrays.sort(latencies);
+      System.out.println(String.format("%-14s %9.1f %9.1f %9.1f %9.1f %12d %10d %10d %12d",
+          query.getName(), percentile(latencies, 50), percentile(latencies, 90),
+          percentile(latencies, 99), percentile(latencies, 100), lastRun.rows,
+          lastRun.scannedBlocklets, tableBlocklets - lastRun.scannedBlocklets,
+          lastRun.bytesRead));
+    }
+  }
+
+  /**
+   * Loads the rows into a new segment and reports the speed of the load and of its steps
+   */
+  private void load(int segment, long rows, int threads) throws Exception {
+    String partitionId = String.valueOf(segment);
+    LoadStatistics loadStatistics = CarbonTimeStatisticsFactory.getLoadStatisticsInstance();
+    loadStatistics.initPartitonInfo(partitionId);
+    CarbonLoadModel loadModel = createLoadModel(segment, partitionId);
+    String tempLocation = System.getProperty("java.io.tmpdir") + '/' + System.nanoTime() + '/'
+        + segment;
+    AtomicLong inputBytes = new AtomicLong();
+    CarbonIterator<Object[]>[] inputIterators =
+        table.createInputIterators(segment, rows, threads, inputBytes);
+    long loadStartTime = System.currentTimeMillis();
+    long startTime = System.nanoTime();
+    new DataLoadExecutor().execute(loadModel, tempLocation, inputIterators);
+    long loadTime = System.nanoTime() - startTime;
+    table.addLoadToTableStatus(segment, loadStartTime);
+
+    double seconds = loadTime / 1e9;
+    System.out.println(String.format("Load of segment %d: %d rows, %.1f MB in %.1f s, "
+            + "%.1f MB/s, %.0f rows/s", segment, rows, inputBytes.get() / 1048576.0, seconds,
+        inputBytes.get() / 1048576.0 / seconds, rows / seconds));
+    if (loadStatistics instanceof CarbonLoadStatisticsImpl) {
+      for (Map.Entry<String, Long> step : ((CarbonLoadStatisticsImpl) loadStatistics)
+          .getStepSpeeds(partitionId).entrySet()) {
+        System.out.println(String.format("  %-24s %12d rows/s", step.getKey(), step.getValue()));
+      }
+    }
+  }
+
+  private CarbonLoadModel createLoadModel(int segment, String partitionId) {
+    CarbonLoadModel loadModel = new CarbonLoadModel();
+    loadModel.setCarbonDataLoadSchema(new CarbonDataLoadSchema(table.getCarbonTable()));
+    loadModel.setDatabaseName(DATABASE_NAME);
+    loadModel.setTableName(TABLE_NAME);
+    loadModel.setStorePath(table.getIdentifier().getStorePath());
+    StringBuilder header = new StringBuilder();
+    for (String column : StarSchemaTable.COLUMNS) {
+      if (header.length() > 0) {
+        header.append(',');
+      }
+      header.append(column);
+    }
+    loadModel.setCsvHeader(header.toString());
+    loadModel.setCsvHeaderColumns(StarSchemaTable.COLUMNS);
+    loadModel.setCsvDelimiter(",");
+    loadModel.setComplexDelimiterLevel1("\\$");
+    loadModel.setComplexDelimiterLevel2("\\:");
+    loadModel.setSerializationNullFormat(
+        TableOptionConstant.SERIALIZATION_NULL_FORMAT.getName() + ",\\N");
+    loadModel.setBadRecordsLoggerEnable(
+        TableOptionConstant.BAD_RECORDS_LOGGER_ENABLE.getName() + ",false");
+    loadModel.setBadRecordsAction(TableOptionConstant.BAD_RECORDS_ACTION.getName() + ",FORCE");
+    loadModel.setFactTimeStamp(System.currentTimeMillis());
+    loadModel.setSegmentId(String.valueOf(segment));
+    loadModel.setPartitionId(partitionId);
+    loadModel.setTaskNo(String.valueOf(segment));
+    return loadModel;
+  }
+
+  private Configuration createConfiguration(StarSchemaQuery query) throws IOException {
+    Configuration configuration = new Configuration();
+    CarbonInputFormat.setTablePath(configuration, table.getTablePath());
+    if (null != query) {
+      CarbonInputFormat.setColumnProjection(configuration, query.getProjection());
+      if (null != query.getFilter()) {
+        CarbonInputFormat.setFilterPredicates(configuration, query.getFilter());
+      }
+    }
+    return configuration;
+  }
+
+  private static List<InputSplit> getSplits(Configuration configuration) throws IOException {
+    return new CarbonInputFormat<Object[]>().getSplits(Job.getInstance(configuration));
+  }
+
+  private static long countBlocklets(List<InputSplit> splits) {
+    long blocklets = 0;
+    for (InputSplit split : splits) {
+      blocklets += ((CarbonInputSplit) split).getNumberOfBlocklets();
+    }
+    return blocklets;
+  }
+
+  /**
+   * Runs the query as done by the tasks of a job, one split after the other
+   */
+  private QueryRun runQuery(StarSchemaQuery query) throws Exception {
+    QueryRun queryRun = new QueryRun();
+    long bytesReadAtStart = readBytesOfProcess();
+    Configuration configuration = createConfiguration(query);
+    CarbonInputFormat<Object[]> format = new CarbonInputFormat<Object[]>();
+    for (InputSplit split : format.getSplits(Job.getInstance(configuration))) {
+      TaskAttemptContextImpl context =
+          new TaskAttemptContextImpl(configuration, new TaskAttemptID());
+      QueryModel queryModel = format.getQueryModel(split, context);
+      CarbonRecordReader<Object[]> reader =
+          new CarbonRecordReader<Object[]>(queryModel, format.getReadSupportClass(configuration));
+      try {
+        reader.initialize(split, context);
+        while (reader.nextKeyValue()) {
+          reader.getCurrentValue();
+          queryRun.rows++;
+        }
+      } finally {
+        reader.close();
+      }
+      queryRun.scannedBlocklets += getScannedBlocklets(queryModel.getStatisticsRecorder());
+    }
+    long bytesReadAtEnd = readBytesOfProcess();
+    queryRun.bytesRead = bytesReadAtStart < 0 || bytesReadAtEnd < 0 ?
+        -1 :
+        bytesReadAtEnd - bytesReadAtStart;
+    return queryRun;
+  }
+
+  /**
+   * @return blocklets scanned by the executor, counted by the same statistic object which is
+   * recorded again for each blocklet
+   */
+  private static long getScannedBlocklets(QueryStatisticsRecorder recorder) {
+    long scannedBlocklets = 0;
+    if (recorder instanceof QueryStatisticsRecorderImpl) {
+      for (QueryStatistic statistic : ((QueryStatisticsRecorderImpl) recorder)
+          .getQueryStatistics()) {
+        if (QueryStatisticsConstants.VALID_SCAN_BLOCKLET_NUM.equals(statistic.getMessage())) {
+          scannedBlocklets = Math.max(scannedBlocklets, statistic.getCount());
+        }
+      }
+    }
+    return scannedBlocklets;
+  }
+
+  /**
+   * @return bytes read by the process from the file system or the page cache, -1 when the
+   * operating system does not give them
+   */
+  private static long readBytesOfProcess() {
+    File io = new File("/proc/self/io");
+    if (!io.canRead()) {
+      return -1;
+    }
+    try (BufferedReader reader = new BufferedReader(new FileReader(io))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith("rchar:")) {
+          return Long.parseLong(line.substring("rchar:".length()).trim());
+        }
+      }
+    } catch (IOException | NumberFormatException e) {
+      return -1;
+    }
+    return -1;
+  }
+
+  /**
+   * @return latency of the percentile in milliseconds, by the nearest rank
+   */
+  private static double percentile(long[] sortedLatencies, int percentile) {
+    int rank = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length);
+    return sortedLatencies[Math.max(rank, 1) - 1] / 1e6;
+  }
+
+  /**
+   * Outcome of one run of a query
+   */
+  private static class QueryRun {
+
+    private long rows;
+
+    private long scannedBlocklets;
+
+    private long bytesRead;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmarks.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.hadoop.CarbonProjection;
+
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.C_NATION;
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.C_REGION;
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.D_YEAR;
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.LO_DISCOUNT;
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.LO_EXTENDEDPRICE;
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.LO_ORDERKEY;
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.LO_QUANTITY;
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.LO_REVENUE;
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.LO_SUPPLYCOST;
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.P_BRAND;
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.P_CATEGORY;
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.S_NATION;
+import static org.apache.carbondata.benchmarks.perf.StarSchemaTable.S_REGION;
+
+/**
+ * Query of the suite run by the harness: the columns it reads and the filter pushed down to the
+ * scan. Aggregation of the star schema benchmark queries is left to the engine on top of the
+ * scan, so the harness measures the part done by carbon.
+ */
+public class StarSchemaQuery {
+
+  private final String name;
+
+  private final String[] projection;
+
+  private final Expression filter;
+
+  public StarSchemaQuery(String name, String[] projection, Expression filter) {
+    this.name = name;
+    this.projection = projection;
+    this.filter = filter;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public CarbonProjection getProjection() {
+    CarbonProjection carbonProjection = new CarbonProjection();
+    for (String column : projection) {
+      carbonProjection.addColumn(column);
+    }
+    return carbonProjection;
+  }
+
+  /**
+   * @return filter of the query, null for a full scan
+   */
+  public Expression getFilter() {
+    return filter;
+  }
+
+  /**
+   * @return scans of the star schema benchmark flights 1 to 3, a full scan and a point lookup
+   * on the no dictionary column
+   */
+  public static List<StarSchemaQuery> suite() {
+    List<StarSchemaQuery> queries = new ArrayList<StarSchemaQuery>();
+    queries.add(new StarSchemaQuery("Q1.1", new String[] { LO_EXTENDEDPRICE, LO_DISCOUNT },
+        and(equalTo(D_YEAR, 1993, DataType.INT),
+            and(between(LO_DISCOUNT, 1, 3, DataType.INT),
+                new LessThanExpression(column(LO_QUANTITY, DataType.INT),
+                    literal(25, DataType.INT))))));
+    queries.add(new StarSchemaQuery("Q2.1", new String[] { D_YEAR, P_BRAND, LO_REVENUE },
+        and(equalTo(P_CATEGORY, "MFGR#12", DataType.STRING),
+            equalTo(S_REGION, "AMERICA", DataType.STRING))));
+    queries.add(new StarSchemaQuery("Q3.1",
+        new String[] { C_NATION, S_NATION, D_YEAR, LO_REVENUE },
+        and(equalTo(C_REGION, "ASIA", DataType.STRING),
+            and(equalTo(S_REGION, "ASIA", DataType.STRING),
+                between(D_YEAR, 1992, 1997, DataType.INT)))));
+    queries.add(new StarSchemaQuery("full scan", new String[] { LO_REVENUE, LO_SUPPLYCOST },
+        null));
+    queries.add(new StarSchemaQuery("point lookup", new String[] { LO_ORDERKEY, LO_REVENUE },
+        equalTo(LO_ORDERKEY, StarSchemaTable.orderKey(4000), DataType.STRING)));
+    return queries;
+  }
+
+  private static ColumnExpression column(String name, DataType dataType) {
+    return new ColumnExpression(name, dataType);
+  }
+
+  private static LiteralExpression literal(Object value, DataType dataType) {
+    return new LiteralExpression(value, dataType);
+  }
+
+  private static Expression equalTo(String name, Object value, DataType dataType) {
+    return new EqualToExpression(column(name, dataType), literal(value, dataType));
+  }
+
+  private static Expression between(String name, Object from, Object to, DataType dataType) {
+    return and(new GreaterThanEqualToExpression(column(name, dataType), literal(from, dataType)),
+        new LessThanEqualToExpression(column(name, dataType), literal(to, dataType)));
+  }
+
+  private static Expression and(Expression left, Expression right) {
+    return new AndExpression(left, right);
+  }
+}
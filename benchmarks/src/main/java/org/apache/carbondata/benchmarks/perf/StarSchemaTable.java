@@ -0,0 +1,444 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmarks.perf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.core.cache.Cache;
+import org.apache.carbondata.core.cache.CacheProvider;
+import org.apache.carbondata.core.cache.CacheType;
+import org.apache.carbondata.core.cache.dictionary.Dictionary;
+import org.apache.carbondata.core.cache.dictionary.DictionaryColumnUniqueIdentifier;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.CarbonMetadata;
+import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.ColumnIdentifier;
+import org.apache.carbondata.core.metadata.converter.SchemaConverter;
+import org.apache.carbondata.core.metadata.converter.ThriftWrapperSchemaConverterImpl;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.SchemaEvolution;
+import org.apache.carbondata.core.metadata.schema.SchemaEvolutionEntry;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableInfo;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
+import org.apache.carbondata.core.statusmanager.SegmentStatusManager;
+import org.apache.carbondata.core.util.path.CarbonStorePath;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+import org.apache.carbondata.core.writer.CarbonDictionaryWriter;
+import org.apache.carbondata.core.writer.CarbonDictionaryWriterImpl;
+import org.apache.carbondata.core.writer.ThriftWriter;
+import org.apache.carbondata.core.writer.sortindex.CarbonDictionarySortIndexWriter;
+import org.apache.carbondata.core.writer.sortindex.CarbonDictionarySortIndexWriterImpl;
+import org.apache.carbondata.core.writer.sortindex.CarbonDictionarySortInfo;
+import org.apache.carbondata.core.writer.sortindex.CarbonDictionarySortInfoPreparator;
+
+/**
+ * Denormalized fact table of a star schema, in the shape of the line order table of the star
+ * schema benchmark: date, customer, supplier and part attributes are kept as dictionary
+ * dimensions of the fact table, order key as a no dictionary dimension, and the amounts as
+ * measures. Rows are generated from a seed, so tables of the same scale have the same data.
+ */
+public class StarSchemaTable {
+
+  /**
+   * number of fact rows for scale 1, as in the star schema benchmark
+   */
+  public static final long ROWS_PER_SCALE = 6000000L;
+
+  public static final String D_YEAR = "d_year";
+
+  public static final String D_YEARMONTH = "d_yearmonth";
+
+  public static final String C_REGION = "c_region";
+
+  public static final String C_NATION = "c_nation";
+
+  public static final String S_REGION = "s_region";
+
+  public static final String S_NATION = "s_nation";
+
+  public static final String P_MFGR = "p_mfgr";
+
+  public static final String P_CATEGORY = "p_category";
+
+  public static final String P_BRAND = "p_brand";
+
+  public static final String LO_ORDERKEY = "lo_orderkey";
+
+  public static final String LO_QUANTITY = "lo_quantity";
+
+  public static final String LO_DISCOUNT = "lo_discount";
+
+  public static final String LO_EXTENDEDPRICE = "lo_extendedprice";
+
+  public static final String LO_REVENUE = "lo_revenue";
+
+  public static final String LO_SUPPLYCOST = "lo_supplycost";
+
+  /**
+   * columns in the order of the generated rows, dimensions first in the order of the sort key
+   */
+  public static final String[] COLUMNS = new String[] { D_YEAR, D_YEARMONTH, C_REGION, C_NATION,
+      S_REGION, S_NATION, P_MFGR, P_CATEGORY, P_BRAND, LO_ORDERKEY, LO_QUANTITY, LO_DISCOUNT,
+      LO_EXTENDEDPRICE, LO_REVENUE, LO_SUPPLYCOST };
+
+  private static final DataType[] DATA_TYPES = new DataType[] { DataType.INT, DataType.STRING,
+      DataType.STRING, DataType.STRING, DataType.STRING, DataType.STRING, DataType.STRING,
+      DataType.STRING, DataType.STRING, DataType.STRING, DataType.INT, DataType.INT,
+      DataType.DOUBLE, DataType.LONG, DataType.DOUBLE };
+
+  /**
+   * number of leading columns which are dictionary dimensions
+   */
+  private static final int DICTIONARY_COLUMNS = 9;
+
+  /**
+   * number of leading columns which are dimensions
+   */
+  private static final int DIMENSION_COLUMNS = 10;
+
+  public static final int FIRST_YEAR = 1992;
+
+  public static final int NUMBER_OF_YEARS = 7;
+
+  public static final String[] REGIONS =
+      new String[] { "AFRICA", "AMERICA", "ASIA", "EUROPE", "MIDDLE EAST" };
+
+  private static final int NATIONS_PER_REGION = 5;
+
+  private static final int CATEGORIES_PER_MFGR = 5;
+
+  private static final int BRANDS_PER_CATEGORY = 40;
+
+  private final AbsoluteTableIdentifier identifier;
+
+  private final long seed;
+
+  private CarbonTable carbonTable;
+
+  public StarSchemaTable(String storePath, String databaseName, String tableName, long seed) {
+    this.identifier = new AbsoluteTableIdentifier(storePath,
+        new CarbonTableIdentifier(databaseName, tableName, UUID.randomUUID().toString()));
+    this.seed = seed;
+  }
+
+  public AbsoluteTableIdentifier getIdentifier() {
+    return identifier;
+  }
+
+  public CarbonTable getCarbonTable() {
+    return carbonTable;
+  }
+
+  public String getTablePath() {
+    return identifier.getTablePath();
+  }
+
+  /**
+   * Writes the schema file of the table and the dictionary of each dictionary column
+   *
+   * @param blockSizeInMB size of the carbondata files written by the load
+   */
+  public void create(int blockSizeInMB) throws IOException {
+    TableSchema tableSchema = new TableSchema();
+    tableSchema.setTableName(identifier.getCarbonTableIdentifier().getTableName());
+    tableSchema.setTableId(UUID.randomUUID().toString());
+    List<ColumnSchema> columnSchemas = new ArrayList<ColumnSchema>(COLUMNS.length);
+    for (int i = 0; i < COLUMNS.length; i++) {
+      List<Encoding> encodings = new ArrayList<Encoding>();
+      if (i < DICTIONARY_COLUMNS) {
+        encodings.add(Encoding.DICTIONARY);
+      }
+      ColumnSchema column = new ColumnSchema();
+      column.setColumnName(COLUMNS[i]);
+      column.setColumnar(true);
+      column.setDataType(DATA_TYPES[i]);
+      column.setEncodingList(encodings);
+      column.setColumnUniqueId(UUID.randomUUID().toString());
+      column.setDimensionColumn(i < DIMENSION_COLUMNS);
+      column.setColumnGroup(i);
+      column.setSchemaOrdinal(i);
+      columnSchemas.add(column);
+    }
+    tableSchema.setListOfColumns(columnSchemas);
+    Map<String, String> tableProperties = new HashMap<String, String>();
+    tableProperties.put(CarbonCommonConstants.TABLE_BLOCKSIZE, String.valueOf(blockSizeInMB));
+    tableSchema.setTableProperties(tableProperties);
+    SchemaEvolution schemaEvolution = new SchemaEvolution();
+    schemaEvolution.setSchemaEvolutionEntryList(new ArrayList<SchemaEvolutionEntry>());
+    tableSchema.setSchemaEvalution(schemaEvolution);
+
+    TableInfo tableInfo = new TableInfo();
+    tableInfo.setStorePath(identifier.getStorePath());
+    tableInfo.setDatabaseName(identifier.getCarbonTableIdentifier().getDatabaseName());
+    tableInfo.setTableUniqueName(identifier.getCarbonTableIdentifier().getTableUniqueName());
+    tableInfo.setLastUpdatedTime(System.currentTimeMillis());
+    tableInfo.setFactTable(tableSchema);
+    tableInfo.setAggregateTableList(new ArrayList<TableSchema>());
+    CarbonTablePath carbonTablePath = CarbonStorePath
+        .getCarbonTablePath(identifier.getStorePath(), identifier.getCarbonTableIdentifier());
+    String schemaFilePath = carbonTablePath.getSchemaFilePath();
+    String schemaMetadataPath = CarbonTablePath.getFolderContainingFile(schemaFilePath);
+    tableInfo.setMetaDataFilepath(schemaMetadataPath);
+    CarbonMetadata.getInstance().loadTableMetadata(tableInfo);
+    carbonTable = CarbonMetadata.getInstance().getCarbonTable(tableInfo.getTableUniqueName());
+
+    SchemaConverter schemaConverter = new ThriftWrapperSchemaConverterImpl();
+    org.apache.carbondata.format.TableInfo thriftTableInfo = schemaConverter
+        .fromWrapperToExternalTableInfo(tableInfo, tableInfo.getDatabaseName(),
+            tableSchema.getTableName());
+    thriftTableInfo.getFact_table().getSchema_evolution().getSchema_evolution_history().add(
+        new org.apache.carbondata.format.SchemaEvolutionEntry(tableInfo.getLastUpdatedTime()));
+    FileFactory.FileType fileType = FileFactory.getFileType(schemaMetadataPath);
+    if (!FileFactory.isFileExist(schemaMetadataPath, fileType)) {
+      FileFactory.mkdirs(schemaMetadataPath, fileType);
+    }
+    ThriftWriter thriftWriter = new ThriftWriter(schemaFilePath, false);
+    thriftWriter.open();
+    try {
+      thriftWriter.write(thriftTableInfo);
+    } finally {
+      thriftWriter.close();
+    }
+    writeDictionaries();
+  }
+
+  /**
+   * Writes the dictionary and the sort index of each dictionary column, as done by the global
+   * dictionary generation before the load
+   */
+  private void writeDictionaries() throws IOException {
+    Cache<DictionaryColumnUniqueIdentifier, Dictionary> dictionaryCache = CacheProvider
+        .getInstance().createCache(CacheType.REVERSE_DICTIONARY, identifier.getStorePath());
+    List<CarbonDimension> dimensions =
+        carbonTable.getDimensionByTableName(carbonTable.getFactTableName());
+    for (int i = 0; i < DICTIONARY_COLUMNS; i++) {
+      CarbonDimension dimension = dimensions.get(i);
+      ColumnIdentifier columnIdentifier =
+          new ColumnIdentifier(dimension.getColumnId(), null, dimension.getDataType());
+      CarbonDictionaryWriter writer = new CarbonDictionaryWriterImpl(identifier.getStorePath(),
+          identifier.getCarbonTableIdentifier(), columnIdentifier);
+      try {
+        for (String value : getDistinctValues(COLUMNS[i])) {
+          writer.write(value);
+        }
+      } finally {
+        writer.close();
+      }
+      writer.commit();
+      Dictionary dictionary = dictionaryCache.get(
+          new DictionaryColumnUniqueIdentifier(identifier.getCarbonTableIdentifier(),
+              columnIdentifier, dimension.getDataType()));
+      CarbonDictionarySortInfo sortInfo = new CarbonDictionarySortInfoPreparator()
+          .getDictionarySortInfo(new ArrayList<String>(), dictionary, dimension.getDataType());
+      CarbonDictionarySortIndexWriter sortIndexWriter =
+          new CarbonDictionarySortIndexWriterImpl(identifier.getCarbonTableIdentifier(),
+              columnIdentifier, identifier.getStorePath());
+      try {
+        sortIndexWriter.writeSortIndex(sortInfo.getSortIndex());
+        sortIndexWriter.writeInvertedSortIndex(sortInfo.getSortIndexInverted());
+      } finally {
+        sortIndexWriter.close();
+      }
+    }
+  }
+
+  /**
+   * @return all the values of a dictionary column
+   */
+  private static List<String> getDistinctValues(String column) {
+    List<String> values = new ArrayList<String>();
+    switch (column) {
+      case D_YEAR:
+        for (int i = 0; i < NUMBER_OF_YEARS; i++) {
+          values.add(String.valueOf(FIRST_YEAR + i));
+        }
+        break;
+      case D_YEARMONTH:
+        for (int i = 0; i < NUMBER_OF_YEARS * 12; i++) {
+          values.add(yearMonth(i));
+        }
+        break;
+      case C_REGION:
+      case S_REGION:
+        Collections.addAll(values, REGIONS);
+        break;
+      case C_NATION:
+      case S_NATION:
+        for (int i = 0; i < REGIONS.length * NATIONS_PER_REGION; i++) {
+          values.add(nation(i));
+        }
+        break;
+      case P_MFGR:
+        for (int i = 0; i < CATEGORIES_PER_MFGR; i++) {
+          values.add(mfgr(i));
+        }
+        break;
+      case P_CATEGORY:
+        for (int i = 0; i < CATEGORIES_PER_MFGR * CATEGORIES_PER_MFGR; i++) {
+          values.add(category(i));
+        }
+        break;
+      case P_BRAND:
+        for (int i = 0; i < CATEGORIES_PER_MFGR * CATEGORIES_PER_MFGR * BRANDS_PER_CATEGORY;
+             i++) {
+          values.add(brand(i));
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Not a dictionary column: " + column);
+    }
+    return values;
+  }
+
+  private static String yearMonth(int month) {
+    int monthOfYear = month % 12 + 1;
+    return (FIRST_YEAR + month / 12) + (monthOfYear < 10 ? "-0" : "-") + monthOfYear;
+  }
+
+  public static String nation(int nation) {
+    return REGIONS[nation / NATIONS_PER_REGION] + '#' + nation % NATIONS_PER_REGION;
+  }
+
+  public static String mfgr(int mfgr) {
+    return "MFGR#" + (mfgr + 1);
+  }
+
+  public static String category(int category) {
+    return mfgr(category / CATEGORIES_PER_MFGR) + (category % CATEGORIES_PER_MFGR + 1);
+  }
+
+  public static String brand(int brand) {
+    return category(brand / BRANDS_PER_CATEGORY) + (brand % BRANDS_PER_CATEGORY + 1);
+  }
+
+  public static String orderKey(long row) {
+    // zero padded so that the order of the keys is the order of the rows
+    return String.format("%012d", row / 4);
+  }
+
+  /**
+   * Creates the iterators giving the rows of a load, each of them generating its share of the
+   * rows from its own seed
+   *
+   * @param segment     segment to be loaded, rows of each segment are different
+   * @param rows        number of rows of the load
+   * @param inputBytes  incremented by the size of the rows in csv format
+   */
+  public CarbonIterator<Object[]>[] createInputIterators(int segment, long rows,
+      int numberOfIterators, AtomicLong inputBytes) {
+    CarbonIterator<Object[]>[] iterators = new CarbonIterator[numberOfIterators];
+    long firstRow = segment * rows;
+    for (int i = 0; i < numberOfIterators; i++) {
+      long rowsOfIterator = rows / numberOfIterators + (i < rows % numberOfIterators ? 1 : 0);
+      iterators[i] = new RowGenerator(seed + firstRow + i, firstRow, rowsOfIterator, inputBytes);
+      firstRow += rowsOfIterator;
+    }
+    return iterators;
+  }
+
+  /**
+   * Adds a successful load of the segment to the table status
+   */
+  public void addLoadToTableStatus(int segment, long loadStartTime) throws IOException {
+    CarbonTablePath carbonTablePath = CarbonStorePath
+        .getCarbonTablePath(identifier.getStorePath(), identifier.getCarbonTableIdentifier());
+    List<LoadMetadataDetails> loads = new ArrayList<LoadMetadataDetails>();
+    Collections.addAll(loads,
+        SegmentStatusManager.readLoadMetadata(carbonTable.getMetaDataFilepath()));
+    LoadMetadataDetails load = new LoadMetadataDetails();
+    load.setLoadName(String.valueOf(segment));
+    load.setLoadStatus(CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS);
+    load.setLoadStartTime(loadStartTime);
+    load.setLoadEndTime(System.currentTimeMillis());
+    load.setPartitionCount("0");
+    loads.add(load);
+    SegmentStatusManager.writeLoadDetailsIntoFile(carbonTablePath.getTableStatusFilePath(),
+        loads.toArray(new LoadMetadataDetails[loads.size()]));
+  }
+
+  /**
+   * Generates the rows of a load in the order of COLUMNS, as strings like the csv reader
+   */
+  private static class RowGenerator extends CarbonIterator<Object[]> {
+
+    private final Random random;
+
+    private long row;
+
+    private final long endRow;
+
+    private final AtomicLong inputBytes;
+
+    RowGenerator(long seed, long firstRow, long numberOfRows, AtomicLong inputBytes) {
+      this.random = new Random(seed);
+      this.row = firstRow;
+      this.endRow = firstRow + numberOfRows;
+      this.inputBytes = inputBytes;
+    }
+
+    @Override public boolean hasNext() {
+      return row < endRow;
+    }
+
+    @Override public Object[] next() {
+      int month = random.nextInt(NUMBER_OF_YEARS * 12);
+      int customerNation = random.nextInt(REGIONS.length * NATIONS_PER_REGION);
+      int supplierNation = random.nextInt(REGIONS.length * NATIONS_PER_REGION);
+      // square of uniform value, so that a few brands are much more frequent than the others
+      double uniform = random.nextDouble();
+      int brand = (int) (uniform * uniform * CATEGORIES_PER_MFGR * CATEGORIES_PER_MFGR
+          * BRANDS_PER_CATEGORY);
+      int category = brand / BRANDS_PER_CATEGORY;
+      int quantity = 1 + random.nextInt(50);
+      int discount = random.nextInt(11);
+      double price = 900 + random.nextInt(100000) / 100.0;
+      double extendedPrice = Math.round(quantity * price * 100) / 100.0;
+      long revenue = Math.round(extendedPrice * (100 - discount) / 100);
+      double supplyCost = 1 + random.nextInt(100000) / 100.0;
+      Object[] values = new Object[] { String.valueOf(FIRST_YEAR + month / 12), yearMonth(month),
+          REGIONS[customerNation / NATIONS_PER_REGION], nation(customerNation),
+          REGIONS[supplierNation / NATIONS_PER_REGION], nation(supplierNation),
+          mfgr(category / CATEGORIES_PER_MFGR), category(category), brand(brand), orderKey(row),
+          String.valueOf(quantity), String.valueOf(discount), String.valueOf(extendedPrice),
+          String.valueOf(revenue), String.valueOf(supplyCost) };
+      long size = values.length;
+      for (Object value : values) {
+        size += ((String) value).length();
+      }
+      inputBytes.addAndGet(size);
+      row++;
+      return values;
+    }
+  }
+}
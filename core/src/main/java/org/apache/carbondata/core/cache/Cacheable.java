@@ -45,4 +45,10 @@ public interface Cacheable {
    * @return
    */
   long getMemorySize();
+
+  /**
+   * This method will release the memory held by the object which is not freed by the
+   * garbage collector, called when the object is removed from cache
+   */
+  void invalidate();
 }
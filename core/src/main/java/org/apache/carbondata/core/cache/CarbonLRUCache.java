@@ -159,6 +159,8 @@ public final class CarbonLRUCache {
     }
     Cacheable remove = lruCacheMap.remove(key);
     if (null != remove) {
+      // an entry still in use releases its memory when the last user is done with it
+      remove.invalidate();
       LOGGER.info("Removed entry from InMemory lru cache :: " + key);
     }
   }
@@ -196,6 +198,23 @@ public final class CarbonLRUCache {
     return columnKeyAddedSuccessfully;
   }
 
+  /**
+   * This method will update the size of an entry in the cache when the memory used by it is
+   * different from the size with which it was added
+   *
+   * @param columnIdentifier
+   * @param sizeDifference   memory used by the entry minus the size it was added with
+   */
+  public void updateMemorySize(String columnIdentifier, long sizeDifference) {
+    if (isLRUCacheSizeConfigured() && sizeDifference != 0) {
+      synchronized (lruCacheMap) {
+        if (lruCacheMap.containsKey(columnIdentifier)) {
+          currentSize = currentSize + sizeDifference;
+        }
+      }
+    }
+  }
+
   /**
    * The method will add the cache entry to LRU cache map
    *
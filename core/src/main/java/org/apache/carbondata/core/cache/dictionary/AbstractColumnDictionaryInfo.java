@@ -131,6 +131,15 @@ public abstract class AbstractColumnDictionaryInfo implements DictionaryInfo {
     this.offsetTillFileIsRead = offsetTillFileIsRead;
   }
 
+  /**
+   * This method will return the end offset of file till where file is already read
+   *
+   * @return offset till file is read
+   */
+  @Override public long getOffsetTillFileIsRead() {
+    return offsetTillFileIsRead;
+  }
+
   /**
    * This method will update the timestamp of a file if a file is modified
    * like in case of incremental load
@@ -159,6 +168,12 @@ public abstract class AbstractColumnDictionaryInfo implements DictionaryInfo {
     decrementAccessCount();
   }
 
+  /**
+   * Dictionary values are on heap, nothing to be released
+   */
+  @Override public void invalidate() {
+  }
+
   /**
    * This method will find and return the sort index for a given dictionary id.
    * Applicable scenarios:
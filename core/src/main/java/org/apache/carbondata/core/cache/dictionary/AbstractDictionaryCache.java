@@ -174,9 +174,10 @@ public abstract class AbstractDictionaryCache<K extends DictionaryColumnUniqueId
               readLastChunkFromDictionaryMetadataFile(dictionaryColumnUniqueIdentifier);
           // required size will be size total size of file - offset till file is
           // already read
-          long requiredSize =
-              carbonDictionaryColumnMetaChunk.getEnd_offset() - dictionaryInfo.getMemorySize();
+          long requiredSize = carbonDictionaryColumnMetaChunk.getEnd_offset() - dictionaryInfo
+              .getOffsetTillFileIsRead();
           if (requiredSize > 0) {
+            long memorySizeBeforeLoad = dictionaryInfo.getMemorySize();
             boolean columnAddedToLRUCache =
                 carbonLRUCache.put(lruCacheKey, dictionaryInfo, requiredSize);
             // if column is successfully added to lru cache then only load the
@@ -184,13 +185,17 @@ public abstract class AbstractDictionaryCache<K extends DictionaryColumnUniqueId
             if (columnAddedToLRUCache) {
               // load dictionary data
               loadDictionaryData(dictionaryInfo, dictionaryColumnUniqueIdentifier,
-                  dictionaryInfo.getMemorySize(), carbonDictionaryColumnMetaChunk.getEnd_offset(),
+                  dictionaryInfo.getOffsetTillFileIsRead(),
+                  carbonDictionaryColumnMetaChunk.getEnd_offset(),
                   loadSortIndex);
               // set the end offset till where file is read
               dictionaryInfo
                   .setOffsetTillFileIsRead(carbonDictionaryColumnMetaChunk.getEnd_offset());
               dictionaryInfo.setFileTimeStamp(carbonFile.getLastModifiedTime());
               dictionaryInfo.setDictionaryMetaFileLength(carbonFile.getSize());
+              // size read from the file is only an estimate of the memory of the loaded values
+              carbonLRUCache.updateMemorySize(lruCacheKey,
+                  dictionaryInfo.getMemorySize() - memorySizeBeforeLoad - requiredSize);
             } else {
               throw new DictionaryBuilderException(
                   "Cannot load dictionary into memory. Not enough memory available");
@@ -265,7 +265,7 @@ public class ColumnDictionaryInfo extends AbstractColumnDictionaryInfo {
     }
   }
 
-  private int compareFilterKeyWithDictionaryKey(String dictionaryVal, String memberVal,
+  protected int compareFilterKeyWithDictionaryKey(String dictionaryVal, String memberVal,
       DataType dataType) {
     try {
       switch (dataType) {
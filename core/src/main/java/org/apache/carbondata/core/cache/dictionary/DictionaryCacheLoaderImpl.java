@@ -90,6 +90,17 @@ public class DictionaryCacheLoaderImpl implements DictionaryCacheLoader {
    */
   private void fillDictionaryValuesAndAddToDictionaryChunks(DictionaryInfo dictionaryInfo,
       Iterator<byte[]> columnDictionaryChunkWrapper) {
+    if (dictionaryInfo instanceof PackedColumnDictionaryInfo) {
+      // values read in one go are packed together in one memory block
+      List<byte[]> dictionaryValues = new ArrayList<>();
+      while (columnDictionaryChunkWrapper.hasNext()) {
+        dictionaryValues.add(columnDictionaryChunkWrapper.next());
+      }
+      if (!dictionaryValues.isEmpty()) {
+        dictionaryInfo.addDictionaryChunk(dictionaryValues);
+      }
+      return;
+    }
     int dictionaryChunkSize = CarbonUtil.getDictionaryChunkSize();
     int sizeOfLastDictionaryChunk = dictionaryInfo.getSizeOfLastDictionaryChunk();
     int sizeOfOneDictionaryChunk = dictionaryChunkSize - sizeOfLastDictionaryChunk;
@@ -40,6 +40,13 @@ public interface DictionaryInfo extends Cacheable, Dictionary {
    */
   void setOffsetTillFileIsRead(long offsetTillFileIsRead);
 
+  /**
+   * This method will return the end offset of file till where file is already read
+   *
+   * @return offset till file is read
+   */
+  long getOffsetTillFileIsRead();
+
   /**
    * This method will update the timestamp of a file if a file is modified
    * like in case of incremental load
@@ -30,6 +30,8 @@ import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.cache.CacheType;
 import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 /**
  * This class implements methods to create dictionary cache which will hold
@@ -193,14 +195,25 @@ public class ForwardDictionaryCache<K extends DictionaryColumnUniqueIdentifier,
         columnDictionaryInfo = (ColumnDictionaryInfo) carbonLRUCache
             .get(getLruCacheKey(columnIdentifier, CacheType.FORWARD_DICTIONARY));
         if (null == columnDictionaryInfo) {
-          columnDictionaryInfo =
-              new ColumnDictionaryInfo(dictionaryColumnUniqueIdentifier.getDataType());
+          if (isPackedDictionaryEnabled()) {
+            columnDictionaryInfo =
+                new PackedColumnDictionaryInfo(dictionaryColumnUniqueIdentifier.getDataType());
+          } else {
+            columnDictionaryInfo =
+                new ColumnDictionaryInfo(dictionaryColumnUniqueIdentifier.getDataType());
+          }
         }
       }
     }
     return columnDictionaryInfo;
   }
 
+  private static boolean isPackedDictionaryEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.ENABLE_PACKED_DICTIONARY,
+            CarbonCommonConstants.ENABLE_PACKED_DICTIONARY_DEFAULT));
+  }
+
   @Override public void clearAccessCount(List<DictionaryColumnUniqueIdentifier> keys) {
     for (DictionaryColumnUniqueIdentifier dictionaryColumnUniqueIdentifier : keys) {
       Dictionary cacheable = (Dictionary) carbonLRUCache.get(
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.cache.dictionary;
+
+import java.nio.charset.Charset;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+
+/**
+ * Column dictionary info which keeps the dictionary values packed in memory blocks and the
+ * sort order as int arrays, instead of an object for each value and each sort index entry
+ */
+public class PackedColumnDictionaryInfo extends ColumnDictionaryInfo {
+
+  private PackedDictionaryValueStore valueStore = new PackedDictionaryValueStore();
+
+  /**
+   * surrogate keys in the order of sorted values
+   */
+  private volatile int[] sortOrder = new int[0];
+
+  /**
+   * sort index of each surrogate key
+   */
+  private volatile int[] sortReverseOrder = new int[0];
+
+  /**
+   * set when the dictionary is removed from the cache, memory is freed once it is not in use
+   */
+  private boolean invalidated;
+
+  public PackedColumnDictionaryInfo(DataType dataType) {
+    super(dataType);
+  }
+
+  @Override public int getSurrogateKey(byte[] value) {
+    int[] sortedSurrogates = sortOrder;
+    String filterKey = null;
+    if (getDataType() != DataType.STRING) {
+      filterKey = new String(value, Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
+    }
+    int low = 0;
+    int high = sortedSurrogates.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int surrogateKey = sortedSurrogates[mid];
+      int cmp = compare(surrogateKey, value, filterKey);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return surrogateKey;
+      }
+    }
+    return CarbonCommonConstants.INVALID_SURROGATE_KEY;
+  }
+
+  @Override public void getIncrementalSurrogateKeyFromDictionary(
+      List<byte[]> byteValuesOfFilterMembers, List<Integer> surrogates) {
+    int[] sortedSurrogates = sortOrder;
+    int low = 0;
+    for (byte[] byteValueOfFilterMember : byteValuesOfFilterMembers) {
+      String filterKey = new String(byteValueOfFilterMember,
+          Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
+      if (CarbonCommonConstants.MEMBER_DEFAULT_VAL.equals(filterKey)) {
+        surrogates.add(CarbonCommonConstants.MEMBER_DEFAULT_VAL_SURROGATE_KEY);
+        continue;
+      }
+      int high = sortedSurrogates.length - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        int surrogateKey = sortedSurrogates[mid];
+        int cmp = compare(surrogateKey, byteValueOfFilterMember, filterKey);
+        if (cmp < 0) {
+          low = mid + 1;
+        } else if (cmp > 0) {
+          high = mid - 1;
+        } else {
+          surrogates.add(surrogateKey);
+          low = mid;
+          break;
+        }
+      }
+    }
+    //Default value has to be added
+    if (surrogates.isEmpty()) {
+      surrogates.add(0);
+    }
+  }
+
+  /**
+   * Compares the dictionary value of the surrogate key with the given value, string values
+   * are compared without copying the dictionary value
+   */
+  private int compare(int surrogateKey, byte[] value, String valueAsString) {
+    if (getDataType() == DataType.STRING) {
+      return valueStore.compareTo(surrogateKey - 1, value);
+    }
+    byte[] dictionaryValue = valueStore.getValue(surrogateKey - 1);
+    if (null == dictionaryValue) {
+      return -1;
+    }
+    return compareFilterKeyWithDictionaryKey(
+        new String(dictionaryValue, Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)),
+        valueAsString, getDataType());
+  }
+
+  @Override public int getSortedIndex(int surrogateKey) {
+    int[] sortIndex = sortReverseOrder;
+    if (surrogateKey > sortIndex.length || surrogateKey < MINIMUM_SURROGATE_KEY) {
+      return -1;
+    }
+    return sortIndex[surrogateKey - 1];
+  }
+
+  @Override public String getDictionaryValueFromSortedIndex(int sortedIndex) {
+    int[] sortedSurrogates = sortOrder;
+    if (sortedIndex > sortedSurrogates.length || sortedIndex < MINIMUM_SURROGATE_KEY) {
+      return null;
+    }
+    return getDictionaryValueForKey(sortedSurrogates[sortedIndex - 1]);
+  }
+
+  @Override protected byte[] getDictionaryBytesFromSurrogate(int surrogateKey) {
+    return valueStore.getValue(surrogateKey - 1);
+  }
+
+  /**
+   * Values of the chunk are copied to a new memory block
+   *
+   * @param newDictionaryChunk
+   */
+  @Override public void addDictionaryChunk(List<byte[]> newDictionaryChunk) {
+    valueStore.addValues(newDictionaryChunk);
+  }
+
+  /**
+   * Values are not kept in chunks of fixed size, so there is nothing to be filled in
+   * the last chunk
+   */
+  @Override public int getSizeOfLastDictionaryChunk() {
+    return 0;
+  }
+
+  @Override public void setSortOrderIndex(List<Integer> sortOrderIndex) {
+    sortOrder = toIntArray(sortOrderIndex);
+  }
+
+  @Override public void setSortReverseOrderIndex(List<Integer> sortReverseOrderIndex) {
+    sortReverseOrder = toIntArray(sortReverseOrderIndex);
+  }
+
+  private static int[] toIntArray(List<Integer> list) {
+    int[] array = new int[list.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = list.get(i);
+    }
+    return array;
+  }
+
+  @Override public DictionaryChunksWrapper getDictionaryChunks() {
+    return new DictionaryChunksWrapper(valueStore.getValueLists());
+  }
+
+  /**
+   * @return memory used by the dictionary values and sort indexes
+   */
+  public long getPackedMemorySize() {
+    return valueStore.getMemorySize() + (sortOrder.length + sortReverseOrder.length) * 4L;
+  }
+
+  /**
+   * Memory of the packed values is accounted in the cache instead of the size of the file read
+   */
+  @Override public long getMemorySize() {
+    return getPackedMemorySize();
+  }
+
+  /**
+   * Releases the dictionary after use, memory is freed by the last user of a dictionary which
+   * is already removed from the cache
+   */
+  @Override public void clear() {
+    super.clear();
+    synchronized (this) {
+      if (invalidated && getAccessCount() == 0) {
+        freeMemory();
+      }
+    }
+  }
+
+  /**
+   * Frees the memory blocks of the dictionary values if the dictionary is not in use, else
+   * they are freed when it is released by the last user
+   */
+  @Override public synchronized void invalidate() {
+    invalidated = true;
+    if (getAccessCount() == 0) {
+      freeMemory();
+    }
+  }
+
+  private void freeMemory() {
+    valueStore.freeMemory();
+    sortOrder = new int[0];
+    sortReverseOrder = new int[0];
+  }
+}
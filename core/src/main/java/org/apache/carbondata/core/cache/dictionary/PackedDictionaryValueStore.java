@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.cache.dictionary;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.memory.CarbonUnsafe;
+import org.apache.carbondata.core.memory.MemoryAllocator;
+import org.apache.carbondata.core.memory.MemoryAllocatorFactory;
+import org.apache.carbondata.core.memory.MemoryBlock;
+
+/**
+ * Stores dictionary values packed in memory blocks. Values added together are copied one after
+ * the other to one memory block and the start of each value is kept in an int offset array, so
+ * there is no object per value. Values added later, like in incremental load, are kept in a
+ * new block, existing blocks are never moved or changed, so values can be read while new values
+ * are added.
+ * Blocks are allocated off heap or on heap as per the query memory allocator, values are copied
+ * through the base object of the block so both work the same. In both cases the blocks are given
+ * back to the allocator by {@link #freeMemory()}, so it is called only when no reader is left.
+ */
+public class PackedDictionaryValueStore {
+
+  /**
+   * memory block holding the values added together
+   */
+  private static final class ValueBlock {
+
+    private MemoryBlock memoryBlock;
+
+    /**
+     * start of each value in the block, last entry is the end of the last value
+     */
+    private int[] offsets;
+
+    /**
+     * index of the first value of the block in the store
+     */
+    private int startIndex;
+
+    private ValueBlock(MemoryBlock memoryBlock, int[] offsets, int startIndex) {
+      this.memoryBlock = memoryBlock;
+      this.offsets = offsets;
+      this.startIndex = startIndex;
+    }
+
+    private int size() {
+      return offsets.length - 1;
+    }
+  }
+
+  private MemoryAllocator memoryAllocator;
+
+  /**
+   * blocks are replaced with a new array when a block is added, readers use the array they got
+   */
+  private volatile ValueBlock[] valueBlocks = new ValueBlock[0];
+
+  private volatile int size;
+
+  private long memorySize;
+
+  public PackedDictionaryValueStore() {
+    this.memoryAllocator = MemoryAllocatorFactory.INSATANCE.getMemoryAllocator();
+  }
+
+  /**
+   * Adds the values at the end of the store
+   *
+   * @param values values in the order of surrogate key
+   */
+  public synchronized void addValues(List<byte[]> values) {
+    int start = 0;
+    while (start < values.size()) {
+      // offsets are int, so a block can hold at most 2GB of values
+      long blockSize = 0;
+      int end = start;
+      while (end < values.size() && blockSize + values.get(end).length <= Integer.MAX_VALUE) {
+        blockSize += values.get(end).length;
+        end++;
+      }
+      addValueBlock(values.subList(start, end), (int) blockSize);
+      start = end;
+    }
+  }
+
+  private void addValueBlock(List<byte[]> values, int blockSize) {
+    MemoryBlock memoryBlock = memoryAllocator.allocate(Math.max(blockSize, 1));
+    int[] offsets = new int[values.size() + 1];
+    int offset = 0;
+    for (int i = 0; i < values.size(); i++) {
+      byte[] value = values.get(i);
+      offsets[i] = offset;
+      CarbonUnsafe.unsafe.copyMemory(value, CarbonUnsafe.BYTE_ARRAY_OFFSET,
+          memoryBlock.getBaseObject(), memoryBlock.getBaseOffset() + offset, value.length);
+      offset += value.length;
+    }
+    offsets[values.size()] = offset;
+    ValueBlock[] currentBlocks = valueBlocks;
+    ValueBlock[] newBlocks = new ValueBlock[currentBlocks.length + 1];
+    System.arraycopy(currentBlocks, 0, newBlocks, 0, currentBlocks.length);
+    newBlocks[currentBlocks.length] = new ValueBlock(memoryBlock, offsets, size);
+    valueBlocks = newBlocks;
+    memorySize += blockSize + offsets.length * 4L;
+    size += values.size();
+  }
+
+  /**
+   * @return number of values in the store
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return memory used by the values and offsets
+   */
+  public long getMemorySize() {
+    return memorySize;
+  }
+
+  /**
+   * @param index index of the value, surrogate key - 1
+   * @return value or null if index is not present
+   */
+  public byte[] getValue(int index) {
+    ValueBlock valueBlock = getValueBlock(index);
+    if (null == valueBlock) {
+      return null;
+    }
+    int indexInBlock = index - valueBlock.startIndex;
+    int offset = valueBlock.offsets[indexInBlock];
+    byte[] value = new byte[valueBlock.offsets[indexInBlock + 1] - offset];
+    CarbonUnsafe.unsafe.copyMemory(valueBlock.memoryBlock.getBaseObject(),
+        valueBlock.memoryBlock.getBaseOffset() + offset, value, CarbonUnsafe.BYTE_ARRAY_OFFSET,
+        value.length);
+    return value;
+  }
+
+  /**
+   * Compares the value with the key without copying the value
+   *
+   * @param index index of the value, surrogate key - 1
+   * @param key   key to be compared
+   * @return result as per unsigned lexicographic order of bytes, same as
+   * {@link org.apache.carbondata.core.util.ByteUtil.UnsafeComparer}
+   */
+  public int compareTo(int index, byte[] key) {
+    ValueBlock valueBlock = getValueBlock(index);
+    if (null == valueBlock) {
+      return -1;
+    }
+    int indexInBlock = index - valueBlock.startIndex;
+    int offset = valueBlock.offsets[indexInBlock];
+    int length = valueBlock.offsets[indexInBlock + 1] - offset;
+    Object baseObject = valueBlock.memoryBlock.getBaseObject();
+    long address = valueBlock.memoryBlock.getBaseOffset() + offset;
+    int minLength = Math.min(length, key.length);
+    for (int i = 0; i < minLength; i++) {
+      int a = CarbonUnsafe.unsafe.getByte(baseObject, address + i) & 0xff;
+      int b = key[i] & 0xff;
+      if (a != b) {
+        return a - b;
+      }
+    }
+    return length - key.length;
+  }
+
+  private ValueBlock getValueBlock(int index) {
+    ValueBlock[] blocks = valueBlocks;
+    if (index < 0) {
+      return null;
+    }
+    // most of the values are in the first block which is loaded in one go
+    for (int i = blocks.length - 1; i >= 0; i--) {
+      if (index >= blocks[i].startIndex) {
+        return index < blocks[i].startIndex + blocks[i].size() ? blocks[i] : null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return values of each block as a list, values are read from the store when accessed
+   */
+  public List<List<byte[]>> getValueLists() {
+    ValueBlock[] blocks = valueBlocks;
+    List<List<byte[]>> valueLists = new ArrayList<>(blocks.length);
+    for (final ValueBlock valueBlock : blocks) {
+      valueLists.add(new AbstractList<byte[]>() {
+        @Override public byte[] get(int index) {
+          return getValue(valueBlock.startIndex + index);
+        }
+
+        @Override public int size() {
+          return valueBlock.size();
+        }
+      });
+    }
+    return valueLists;
+  }
+
+  /**
+   * Frees the memory of all the blocks, store should not be used after this
+   */
+  public synchronized void freeMemory() {
+    ValueBlock[] blocks = valueBlocks;
+    valueBlocks = new ValueBlock[0];
+    size = 0;
+    memorySize = 0;
+    for (ValueBlock valueBlock : blocks) {
+      memoryAllocator.free(valueBlock.memoryBlock);
+    }
+  }
+}
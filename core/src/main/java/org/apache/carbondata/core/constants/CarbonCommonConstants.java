@@ -86,6 +86,39 @@ public final class CarbonCommonConstants {
    * max blocklet size
    */
   public static final int BLOCKLET_SIZE_MAX_VAL = 12000000;
+  /**
+   * target size of the encoded blocklet in MB, blocklet is cut when either the target size or
+   * the blocklet size in rows is reached. 0 disables the size based cut
+   */
+  public static final String BLOCKLET_SIZE_IN_MB = "carbon.blocklet.size.inmb";
+  /**
+   * default target size of the encoded blocklet in MB
+   */
+  public static final String BLOCKLET_SIZE_IN_MB_DEFAULT_VAL = "64";
+  /**
+   * whether the integral values of a measure page are stored bit packed with frame of
+   * reference or delta of delta encoding when it is smaller than the plain values. Files
+   * written with packing can be read only by the versions knowing these encodings, so it is
+   * disabled by default
+   */
+  public static final String ENABLE_MEASURE_INTEGER_PACKING =
+      "carbon.enable.measure.integer.packing";
+  /**
+   * default value of the measure integer packing
+   */
+  public static final String ENABLE_MEASURE_INTEGER_PACKING_DEFAULT = "false";
+  /**
+   * maximum number of distinct values of a measure page which is stored as a dictionary of the
+   * values and the packed index of the value of each row, 0 disables the page dictionary. Files
+   * written with the page dictionary can be read only by the versions knowing this encoding, so
+   * it is disabled by default
+   */
+  public static final String MEASURE_PAGE_DICTIONARY_THRESHOLD =
+      "carbon.measure.page.dictionary.threshold";
+  /**
+   * default maximum number of distinct values of a dictionary encoded measure page
+   */
+  public static final String MEASURE_PAGE_DICTIONARY_THRESHOLD_DEFAULT = "0";
   /**
    * default block size in MB
    */
@@ -425,6 +458,15 @@ public final class CarbonCommonConstants {
    * ENABLE_QUERY_STATISTICS_DEFAULT
    */
   public static final String ENABLE_QUERY_STATISTICS_DEFAULT = "false";
+  /**
+   * whether the bytes read and decompressed, the filter time, the rows and the blocklets
+   * of each query are collected and aggregated in the QueryScanMetrics MBean
+   */
+  public static final String ENABLE_QUERY_SCAN_METRICS = "enable.query.scan.metrics";
+  /**
+   * ENABLE_QUERY_SCAN_METRICS_DEFAULT
+   */
+  public static final String ENABLE_QUERY_SCAN_METRICS_DEFAULT = "true";
   /**
    * TIME_STAT_UTIL_TYPE
    */
@@ -524,6 +566,19 @@ public final class CarbonCommonConstants {
    */
   public static final String MAX_TIMEOUT_FOR_LOAD_METADATA_LOCK =
       "carbon.load.metadata.lock.retry.timeout.sec";
+  /**
+   * whether the details of a load are committed to the table status as a versioned entry
+   * created only if absent, instead of rewriting the table status file under the table
+   * status lock. The commit of a load then does not wait for the compaction, delete, update
+   * or clean files holding the table status lock. Loads of the same table do not hold the
+   * metadata lock and run in parallel, each load writing the segment claimed with its entry
+   */
+  public static final String CARBON_TABLE_STATUS_OPTIMISTIC_COMMIT_ENABLE =
+      "carbon.tablestatus.optimistic.commit.enable";
+  /**
+   * default value of CARBON_TABLE_STATUS_OPTIMISTIC_COMMIT_ENABLE
+   */
+  public static final String CARBON_TABLE_STATUS_OPTIMISTIC_COMMIT_ENABLE_DEFAULT = "false";
 
   /**
    * compressor for writing/reading carbondata file
@@ -597,6 +652,17 @@ public final class CarbonCommonConstants {
    * max driver lru cache size upto which lru cache will be loaded in memory
    */
   public static final String CARBON_MAX_DRIVER_LRU_CACHE_SIZE = "carbon.max.driver.lru.cache.size";
+  /**
+   * whether the driver persists the index of every segment it loads as a snapshot file in the
+   * segment folder, so that a restarted driver can load the index from the snapshot instead of
+   * listing the segment and reading all its carbon index files
+   */
+  public static final String CARBON_DRIVER_INDEX_SNAPSHOT_ENABLE =
+      "carbon.driver.index.snapshot.enable";
+  /**
+   * default value of driver index snapshot
+   */
+  public static final String CARBON_DRIVER_INDEX_SNAPSHOT_ENABLE_DEFAULT = "false";
   public static final String POSITION_REFERENCE = "positionReference";
   /**
    * implicit column which will be added to each carbon table
@@ -1065,6 +1131,17 @@ public final class CarbonCommonConstants {
    */
   public static final String ENABLE_OFFHEAP_SORT_DEFAULT = "true";
 
+  /**
+   * to keep the forward dictionary values packed in memory blocks instead of an object
+   * for each value
+   */
+  public static final String ENABLE_PACKED_DICTIONARY = "carbon.dictionary.packed.enable";
+
+  /**
+   * default value for packed forward dictionary
+   */
+  public static final String ENABLE_PACKED_DICTIONARY_DEFAULT = "false";
+
   public static final String ENABLE_INMEMORY_MERGE_SORT = "enable.inmemory.merge.sort";
 
   public static final String ENABLE_INMEMORY_MERGE_SORT_DEFAULT = "true";
@@ -1077,6 +1154,113 @@ public final class CarbonCommonConstants {
 
   public static final String IN_MEMORY_FOR_SORT_DATA_IN_MB_DEFAULT = "1024";
 
+  /**
+   * memory budget shared by all the loads running in the executor, it covers input buffers,
+   * sort pages, blocklet holders and writer buffers
+   */
+  public static final String LOAD_MEMORY_BUDGET_IN_MB = "carbon.load.memory.budget.inmb";
+
+  /**
+   * maximum time a load step waits for memory from the load memory budget before going ahead
+   * without it
+   */
+  public static final String LOAD_MEMORY_MAX_WAIT_IN_MS = "carbon.load.memory.max.wait.inms";
+
+  public static final String LOAD_MEMORY_MAX_WAIT_IN_MS_DEFAULT = "10000";
+
+  /**
+   * number of carbondata files written in parallel by each load task, the sorted data of the
+   * task is split in ranges and each range is written to its own file
+   */
+  public static final String NUMBER_OF_PARALLEL_WRITERS =
+      "carbon.load.number.of.parallel.writers";
+
+  public static final String NUMBER_OF_PARALLEL_WRITERS_DEFAULT = "1";
+
+  /**
+   * whether carbon data and index files are written directly to the carbon store instead of
+   * writing to local disk and copying to the store
+   */
+  public static final String LOAD_DIRECT_WRITE_ENABLE = "carbon.load.direct.write.enable";
+
+  public static final String LOAD_DIRECT_WRITE_ENABLE_DEFAULT = "false";
+
+  /**
+   * maximum data buffered by each writer while writing directly to the carbon store
+   */
+  public static final String LOAD_DIRECT_WRITE_BUFFER_SIZE_IN_MB =
+      "carbon.load.direct.write.buffer.size.inmb";
+
+  public static final String LOAD_DIRECT_WRITE_BUFFER_SIZE_IN_MB_DEFAULT = "64";
+
+  /**
+   * whether compaction copies the blocklets whose key range does not overlap with the other
+   * segments to the merged segment without decoding them
+   */
+  public static final String COMPACTION_PASS_THROUGH_ENABLE =
+      "carbon.compaction.passthrough.enable";
+
+  public static final String COMPACTION_PASS_THROUGH_ENABLE_DEFAULT = "true";
+
+  /**
+   * whether the driver merges the segments of the tables continuously in background
+   */
+  public static final String CARBON_BACKGROUND_COMPACTION_ENABLE =
+      "carbon.background.compaction.enable";
+
+  public static final String CARBON_BACKGROUND_COMPACTION_ENABLE_DEFAULT = "false";
+
+  /**
+   * interval in seconds at which background compaction checks the tables when no segments
+   * are waiting to be merged
+   */
+  public static final String CARBON_BACKGROUND_COMPACTION_INTERVAL =
+      "carbon.background.compaction.interval";
+
+  public static final String CARBON_BACKGROUND_COMPACTION_INTERVAL_DEFAULT = "60";
+
+  /**
+   * fraction of the wall clock time the single driver thread of background compaction is
+   * allowed to spend merging. It is a duty cycle of that thread, the merge itself runs on the
+   * executors and is not limited to this fraction of their CPU.
+   */
+  public static final String CARBON_BACKGROUND_COMPACTION_CPU_BUDGET =
+      "carbon.background.compaction.cpu.budget";
+
+  public static final String CARBON_BACKGROUND_COMPACTION_CPU_BUDGET_DEFAULT = "0.25";
+
+  /**
+   * MB per second background compaction is allowed to read and write
+   */
+  public static final String CARBON_BACKGROUND_COMPACTION_IO_BUDGET =
+      "carbon.background.compaction.io.budget.mb";
+
+  public static final String CARBON_BACKGROUND_COMPACTION_IO_BUDGET_DEFAULT = "64";
+
+  /**
+   * size in MB of the segments in the first tier of background compaction
+   */
+  public static final String CARBON_BACKGROUND_COMPACTION_TIER_BASE_SIZE =
+      "carbon.background.compaction.tier.base.size";
+
+  public static final String CARBON_BACKGROUND_COMPACTION_TIER_BASE_SIZE_DEFAULT = "64";
+
+  /**
+   * number of segments of a tier merged to a segment of the next tier
+   */
+  public static final String CARBON_BACKGROUND_COMPACTION_TIER_FANOUT =
+      "carbon.background.compaction.tier.fanout";
+
+  public static final String CARBON_BACKGROUND_COMPACTION_TIER_FANOUT_DEFAULT = "4";
+
+  /**
+   * maximum number of segments merged together by background compaction
+   */
+  public static final String CARBON_BACKGROUND_COMPACTION_MAX_SEGMENTS =
+      "carbon.background.compaction.max.segments";
+
+  public static final String CARBON_BACKGROUND_COMPACTION_MAX_SEGMENTS_DEFAULT = "10";
+
   public static final String ENABLE_VECTOR_READER = "carbon.enable.vector.reader";
 
   public static final String ENABLE_VECTOR_READER_DEFAULT = "false";
@@ -1122,6 +1306,66 @@ public final class CarbonCommonConstants {
    */
   public static final String USE_OFFHEAP_IN_QUERY_PROCSSING_DEFAULT = "true";
 
+  /**
+   * size in MB of the free memory blocks of the unsafe column chunk stores which are kept
+   * for reuse by the next blocklets
+   */
+  public static final String QUERY_CHUNK_MEMORY_POOL_SIZE_IN_MB =
+      "carbon.query.chunk.memory.pool.size.inmb";
+
+  /**
+   * default size in MB of the chunk memory pool
+   */
+  public static final String QUERY_CHUNK_MEMORY_POOL_SIZE_IN_MB_DEFAULT = "64";
+
+  /**
+   * size in MB of the executor wide cache of the uncompressed column chunks of the blocklets,
+   * which are shared by the tasks scanning the same blocklets. 0 disables the cache
+   */
+  public static final String QUERY_CHUNK_CACHE_SIZE_IN_MB = "carbon.query.chunk.cache.size.inmb";
+
+  /**
+   * default size in MB of the chunk cache
+   */
+  public static final String QUERY_CHUNK_CACHE_SIZE_IN_MB_DEFAULT = "0";
+
+  /**
+   * size in MB of the data to be scanned by a query split, blocks bigger than this are split
+   * at blocklet boundaries. 0 disables splitting of blocks
+   */
+  public static final String CARBON_QUERY_SPLIT_SIZE_IN_MB = "carbon.query.split.size.inmb";
+
+  /**
+   * default size in MB of the data to be scanned by a query split
+   */
+  public static final String CARBON_QUERY_SPLIT_SIZE_IN_MB_DEFAULT = "256";
+
+  /**
+   * whether the blocks of a query are pruned on the executors, each executor caching the index
+   * of the segments assigned to it, instead of pruning the index of all the segments in the
+   * driver
+   */
+  public static final String CARBON_DISTRIBUTED_INDEX_PRUNING_ENABLE =
+      "carbon.query.distributed.index.pruning.enable";
+
+  /**
+   * default value of distributed index pruning
+   */
+  public static final String CARBON_DISTRIBUTED_INDEX_PRUNING_ENABLE_DEFAULT = "false";
+
+  /**
+   * number of threads of the pool pruning the segments of the queries in the driver, it is
+   * also the maximum number of threads used by one query. 1 prunes the segments serially.
+   * A change is applied to the pool by the next query
+   */
+  public static final String CARBON_DRIVER_SEGMENT_PRUNING_THREADS =
+      "carbon.driver.segment.pruning.threads";
+
+  /**
+   * default number of segment pruning threads
+   */
+  public static final String CARBON_DRIVER_SEGMENT_PRUNING_THREADS_DEFAULT = "4";
+
   /**
    * whether to prefetch data while loading.
    */
@@ -1132,6 +1376,18 @@ public final class CarbonCommonConstants {
    */
   public static final String USE_PREFETCH_WHILE_LOADING_DEFAULT = "false";
 
+  /**
+   * maximum number of values kept in the per thread surrogate key cache of each dictionary
+   * column while loading, 0 disables the cache
+   */
+  public static final String LOAD_DICTIONARY_LOCAL_CACHE_SIZE =
+      "carbon.load.dictionary.local.cache.size";
+
+  /**
+   * default value for per thread surrogate key cache size
+   */
+  public static final String LOAD_DICTIONARY_LOCAL_CACHE_SIZE_DEFAULT = "10000";
+
   public static final String MINOR = "minor";
 
   public static final String MAJOR = "major";
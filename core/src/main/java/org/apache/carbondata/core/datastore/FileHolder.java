@@ -19,6 +19,8 @@ package org.apache.carbondata.core.datastore;
 
 import java.io.IOException;
 
+import org.apache.carbondata.core.stats.QueryScanMetrics;
+
 public interface FileHolder {
   /**
    * This method will be used to read the byte array from file based on offset
@@ -83,4 +85,17 @@ public interface FileHolder {
    * This method will be used to close all the streams currently present in the cache
    */
   void finish() throws IOException;
+
+  /**
+   * This method will be used to set the scan metrics of the query reading through this holder
+   *
+   * @param scanMetrics metrics of the query, null if they are not collected
+   */
+  void setScanMetrics(QueryScanMetrics scanMetrics);
+
+  /**
+   * @return scan metrics of the query reading through this holder, null if they are not
+   * collected
+   */
+  QueryScanMetrics getScanMetrics();
 }
\ No newline at end of file
@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.block.BlockInfo;
+import org.apache.carbondata.core.datastore.block.BlockletInfos;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.metadata.blocklet.SegmentInfo;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletBTreeIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.path.CarbonStorePath;
+
+/**
+ * Snapshot of the driver index of a segment. It holds the block details, start and end keys
+ * and min max of all the blocks of the segment in one file in the segment folder, so a
+ * restarted driver can build the segment index from one read of the snapshot instead of
+ * listing the segment and reading the carbon index file of every task.
+ * <p>
+ * The snapshot is written for a load or update of the segment and is only used while the
+ * segment has the same load or update time stamp. Local snapshot files are memory mapped.
+ */
+public class SegmentIndexSnapshot {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(SegmentIndexSnapshot.class.getName());
+
+  /**
+   * magic number at the start of the snapshot file
+   */
+  private static final int MAGIC_NUMBER = 0x43534E50;
+
+  /**
+   * version of the snapshot format
+   */
+  private static final int SNAPSHOT_VERSION = 1;
+
+  private static final Charset CHARSET = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+
+  /**
+   * footers of all the blocks of the segment, in the order of the index files
+   */
+  private List<DataFileFooter> dataFileFooters;
+
+  /**
+   * size of the snapshot file
+   */
+  private long size;
+
+  private SegmentIndexSnapshot(List<DataFileFooter> dataFileFooters, long size) {
+    this.dataFileFooters = dataFileFooters;
+    this.size = size;
+  }
+
+  /**
+   * @return true if the driver index snapshot is enabled
+   */
+  public static boolean isEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_DRIVER_INDEX_SNAPSHOT_ENABLE,
+            CarbonCommonConstants.CARBON_DRIVER_INDEX_SNAPSHOT_ENABLE_DEFAULT));
+  }
+
+  /**
+   * @return footers of all the blocks of the segment
+   */
+  public List<DataFileFooter> getDataFileFooters() {
+    return dataFileFooters;
+  }
+
+  /**
+   * @return size of the snapshot file, used as the memory size of the segment index
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * @return block details of all the blocks of the segment
+   */
+  public List<TableBlockInfo> getTableBlockInfos() {
+    List<TableBlockInfo> tableBlockInfos = new ArrayList<>(dataFileFooters.size());
+    for (DataFileFooter footer : dataFileFooters) {
+      tableBlockInfos.add(footer.getBlockInfo().getTableBlockInfo());
+    }
+    return tableBlockInfos;
+  }
+
+  /**
+   * Below method will be used to read the snapshot of a segment
+   *
+   * @param absoluteTableIdentifier table identifier
+   * @param segmentId               segment id
+   * @param segmentTimeStamp        current load or update time stamp of the segment
+   * @return snapshot, null if the segment has no snapshot of the time stamp
+   */
+  public static SegmentIndexSnapshot read(AbsoluteTableIdentifier absoluteTableIdentifier,
+      String segmentId, Long segmentTimeStamp) {
+    if (null == segmentTimeStamp) {
+      return null;
+    }
+    String filePath = getFilePath(absoluteTableIdentifier, segmentId);
+    FileFactory.FileType fileType = FileFactory.getFileType(filePath);
+    try {
+      if (!FileFactory.isFileExist(filePath, fileType)) {
+        return null;
+      }
+      ByteBuffer buffer = readFile(filePath, fileType);
+      if (buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != SNAPSHOT_VERSION) {
+        LOGGER.warn("Ignoring index snapshot of unknown format: " + filePath);
+        return null;
+      }
+      if (buffer.getLong() != segmentTimeStamp) {
+        LOGGER.info("Ignoring stale index snapshot: " + filePath);
+        return null;
+      }
+      return new SegmentIndexSnapshot(readFooters(buffer, segmentId), buffer.limit());
+    } catch (Exception e) {
+      LOGGER.error(e, "Problem while reading index snapshot: " + filePath);
+      return null;
+    }
+  }
+
+  /**
+   * Below method will be used to write the snapshot of a segment. The snapshot is written to a
+   * temporary file which is renamed, so a reader never sees a partially written snapshot.
+   * Failures are only logged as the segment index can always be loaded from the index files.
+   *
+   * @param absoluteTableIdentifier table identifier
+   * @param segmentId               segment id
+   * @param segmentTimeStamp        load or update time stamp of the segment
+   * @param dataFileFooters         footers of all the blocks of the segment
+   */
+  public static void write(AbsoluteTableIdentifier absoluteTableIdentifier, String segmentId,
+      Long segmentTimeStamp, List<DataFileFooter> dataFileFooters) {
+    if (null == segmentTimeStamp || dataFileFooters.isEmpty()) {
+      return;
+    }
+    String filePath = getFilePath(absoluteTableIdentifier, segmentId);
+    DataFileFooter firstFooter = dataFileFooters.get(0);
+    for (DataFileFooter footer : dataFileFooters) {
+      // the schema and cardinality are written once, so all the blocks must have the same
+      if (!firstFooter.getColumnInTable().equals(footer.getColumnInTable()) || !Arrays
+          .equals(firstFooter.getSegmentInfo().getColumnCardinality(),
+              footer.getSegmentInfo().getColumnCardinality())) {
+        LOGGER.info("Index snapshot is not written as the segment has different schemas: "
+            + filePath);
+        return;
+      }
+    }
+    String tempFilePath =
+        filePath + '.' + System.nanoTime() + CarbonCommonConstants.TEMPWRITEFILEEXTENSION;
+    FileFactory.FileType fileType = FileFactory.getFileType(filePath);
+    DataOutputStream stream = null;
+    try {
+      stream = FileFactory.getDataOutputStream(tempFilePath, fileType);
+      stream.writeInt(MAGIC_NUMBER);
+      stream.writeInt(SNAPSHOT_VERSION);
+      stream.writeLong(segmentTimeStamp);
+      writeFooters(stream, dataFileFooters);
+      stream.close();
+      stream = null;
+      CarbonFile tempFile = FileFactory.getCarbonFile(tempFilePath, fileType);
+      if (!tempFile.renameForce(filePath)) {
+        LOGGER.warn("Problem while renaming index snapshot: " + tempFilePath);
+        tempFile.delete();
+      }
+    } catch (IOException e) {
+      LOGGER.error(e, "Problem while writing index snapshot: " + filePath);
+      CarbonUtil.closeStreams(stream);
+      try {
+        FileFactory.deleteFile(tempFilePath, fileType);
+      } catch (IOException ex) {
+        LOGGER.error(ex, "Problem while deleting index snapshot: " + tempFilePath);
+      }
+    }
+  }
+
+  private static String getFilePath(AbsoluteTableIdentifier absoluteTableIdentifier,
+      String segmentId) {
+    //TODO need to pass proper partition number when partiton will be supported
+    return CarbonStorePath.getCarbonTablePath(absoluteTableIdentifier)
+        .getSegmentIndexSnapshotFilePath("0", segmentId);
+  }
+
+  /**
+   * local files are memory mapped, other files are read completely as they can not be mapped
+   */
+  private static ByteBuffer readFile(String filePath, FileFactory.FileType fileType)
+      throws IOException {
+    if (fileType == FileFactory.FileType.LOCAL) {
+      RandomAccessFile file = new RandomAccessFile(FileFactory.getUpdatedFilePath(filePath), "r");
+      try {
+        FileChannel channel = file.getChannel();
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      } finally {
+        file.close();
+      }
+    }
+    CarbonFile carbonFile = FileFactory.getCarbonFile(filePath, fileType);
+    byte[] data = new byte[(int) carbonFile.getSize()];
+    DataInputStream stream = FileFactory.getDataInputStream(filePath, fileType);
+    try {
+      stream.readFully(data);
+    } finally {
+      CarbonUtil.closeStreams(stream);
+    }
+    return ByteBuffer.wrap(data);
+  }
+
+  private static void writeFooters(DataOutputStream stream, List<DataFileFooter> dataFileFooters)
+      throws IOException {
+    DataFileFooter firstFooter = dataFileFooters.get(0);
+    ByteArrayOutputStream schemaStream = new ByteArrayOutputStream();
+    ObjectOutputStream objectStream = new ObjectOutputStream(schemaStream);
+    objectStream.writeObject(new ArrayList<>(firstFooter.getColumnInTable()));
+    objectStream.close();
+    writeBytes(stream, schemaStream.toByteArray());
+    int[] cardinality = firstFooter.getSegmentInfo().getColumnCardinality();
+    stream.writeInt(cardinality.length);
+    for (int value : cardinality) {
+      stream.writeInt(value);
+    }
+    stream.writeInt(dataFileFooters.size());
+    for (DataFileFooter footer : dataFileFooters) {
+      TableBlockInfo tableBlockInfo = footer.getBlockInfo().getTableBlockInfo();
+      writeString(stream, tableBlockInfo.getFilePath());
+      stream.writeLong(tableBlockInfo.getBlockOffset());
+      stream.writeLong(tableBlockInfo.getBlockLength());
+      stream.writeShort(tableBlockInfo.getVersion().number());
+      stream.writeInt(tableBlockInfo.getBlockletInfos().getNoOfBlockLets());
+      stream.writeLong(footer.getNumberOfRows());
+      String[] locations = tableBlockInfo.getLocations();
+      stream.writeInt(null == locations ? 0 : locations.length);
+      for (int i = 0; null != locations && i < locations.length; i++) {
+        writeString(stream, locations[i]);
+      }
+      Map<String, String> blockStorageIdMap = tableBlockInfo.getBlockStorageIdMap();
+      stream.writeInt(null == blockStorageIdMap ? 0 : blockStorageIdMap.size());
+      if (null != blockStorageIdMap) {
+        for (Map.Entry<String, String> entry : blockStorageIdMap.entrySet()) {
+          writeString(stream, entry.getKey());
+          writeString(stream, entry.getValue());
+        }
+      }
+      BlockletIndex blockletIndex = footer.getBlockletIndex();
+      writeBytes(stream, blockletIndex.getBtreeIndex().getStartKey());
+      writeBytes(stream, blockletIndex.getBtreeIndex().getEndKey());
+      writeByteArrays(stream, blockletIndex.getMinMaxIndex().getMinValues());
+      writeByteArrays(stream, blockletIndex.getMinMaxIndex().getMaxValues());
+    }
+  }
+
+  private static List<DataFileFooter> readFooters(ByteBuffer buffer, String segmentId)
+      throws IOException, ClassNotFoundException {
+    ObjectInputStream objectStream =
+        new ObjectInputStream(new ByteArrayInputStream(readBytes(buffer)));
+    List<ColumnSchema> columnInTable;
+    try {
+      columnInTable = (List<ColumnSchema>) objectStream.readObject();
+    } finally {
+      objectStream.close();
+    }
+    int[] cardinality = new int[buffer.getInt()];
+    for (int i = 0; i < cardinality.length; i++) {
+      cardinality[i] = buffer.getInt();
+    }
+    SegmentInfo segmentInfo = new SegmentInfo();
+    segmentInfo.setColumnCardinality(cardinality);
+    segmentInfo.setNumberOfColumns(cardinality.length);
+    int numberOfBlocks = buffer.getInt();
+    List<DataFileFooter> dataFileFooters = new ArrayList<>(numberOfBlocks);
+    for (int i = 0; i < numberOfBlocks; i++) {
+      String filePath = readString(buffer);
+      long blockOffset = buffer.getLong();
+      long blockLength = buffer.getLong();
+      ColumnarFormatVersion version = ColumnarFormatVersion.valueOf(buffer.getShort());
+      int numberOfBlocklets = buffer.getInt();
+      long numberOfRows = buffer.getLong();
+      String[] locations = new String[buffer.getInt()];
+      for (int j = 0; j < locations.length; j++) {
+        locations[j] = readString(buffer);
+      }
+      int numberOfStorageIds = buffer.getInt();
+      Map<String, String> blockStorageIdMap = new HashMap<>(numberOfStorageIds);
+      for (int j = 0; j < numberOfStorageIds; j++) {
+        blockStorageIdMap.put(readString(buffer), readString(buffer));
+      }
+      BlockletBTreeIndex btreeIndex =
+          new BlockletBTreeIndex(readBytes(buffer), readBytes(buffer));
+      BlockletMinMaxIndex minMaxIndex = new BlockletMinMaxIndex();
+      minMaxIndex.setMinValues(readByteArrays(buffer));
+      minMaxIndex.setMaxValues(readByteArrays(buffer));
+      TableBlockInfo tableBlockInfo =
+          new TableBlockInfo(filePath, blockOffset, segmentId, locations, blockLength,
+              new BlockletInfos(numberOfBlocklets, 0, numberOfBlocklets), version,
+              blockStorageIdMap);
+      DataFileFooter footer = new DataFileFooter();
+      footer.setBlockletIndex(new BlockletIndex(btreeIndex, minMaxIndex));
+      footer.setColumnInTable(columnInTable);
+      footer.setNumberOfRows(numberOfRows);
+      footer.setBlockInfo(new BlockInfo(tableBlockInfo));
+      footer.setSegmentInfo(segmentInfo);
+      dataFileFooters.add(footer);
+    }
+    return dataFileFooters;
+  }
+
+  private static void writeString(DataOutputStream stream, String value) throws IOException {
+    writeBytes(stream, value.getBytes(CHARSET));
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    return new String(readBytes(buffer), CHARSET);
+  }
+
+  private static void writeBytes(DataOutputStream stream, byte[] value) throws IOException {
+    stream.writeInt(value.length);
+    stream.write(value);
+  }
+
+  private static byte[] readBytes(ByteBuffer buffer) {
+    byte[] value = new byte[buffer.getInt()];
+    buffer.get(value);
+    return value;
+  }
+
+  private static void writeByteArrays(DataOutputStream stream, byte[][] values)
+      throws IOException {
+    stream.writeInt(values.length);
+    for (byte[] value : values) {
+      writeBytes(stream, value);
+    }
+  }
+
+  private static byte[][] readByteArrays(ByteBuffer buffer) {
+    byte[][] values = new byte[buffer.getInt()][];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = readBytes(buffer);
+    }
+    return values;
+  }
+}
@@ -219,20 +219,34 @@ public class SegmentTaskIndexStore
               }
               Iterator<Map.Entry<TaskBucketHolder, List<TableBlockInfo>>> iterator =
                   taskIdToTableBlockInfoMap.entrySet().iterator();
-              long requiredSize =
+              SegmentIndexSnapshot indexSnapshot =
+                  tableSegmentUniqueIdentifier.getIndexSnapshot();
+              // footers are collected to write the index snapshot only when the complete
+              // segment is loaded from the index files
+              List<DataFileFooter> loadedFooters = null;
+              if (null == indexSnapshot && !tableSegmentUniqueIdentifier.isSegmentUpdated()
+                  && SegmentIndexSnapshot.isEnabled()) {
+                loadedFooters = new ArrayList<DataFileFooter>();
+              }
+              long requiredSize = null != indexSnapshot ?
+                  indexSnapshot.getSize() :
                   calculateRequiredSize(taskIdToTableBlockInfoMap, absoluteTableIdentifier);
               segmentTaskIndexWrapper
                   .setMemorySize(requiredSize + segmentTaskIndexWrapper.getMemorySize());
               boolean isAddedToLruCache =
                   lruCache.put(lruCacheKey, segmentTaskIndexWrapper, requiredSize);
               if (isAddedToLruCache) {
-                while (iterator.hasNext()) {
-                  Map.Entry<TaskBucketHolder, List<TableBlockInfo>> taskToBlockInfoList =
-                      iterator.next();
-                  taskBucketHolder = taskToBlockInfoList.getKey();
-                  taskIdToSegmentIndexMap.put(taskBucketHolder,
-                      loadBlocks(taskBucketHolder, taskToBlockInfoList.getValue(),
-                          absoluteTableIdentifier));
+                if (null != indexSnapshot) {
+                  loadBlocksFromSnapshot(indexSnapshot, taskIdToSegmentIndexMap);
+                } else {
+                  while (iterator.hasNext()) {
+                    Map.Entry<TaskBucketHolder, List<TableBlockInfo>> taskToBlockInfoList =
+                        iterator.next();
+                    taskBucketHolder = taskToBlockInfoList.getKey();
+                    taskIdToSegmentIndexMap.put(taskBucketHolder,
+                        loadBlocks(taskBucketHolder, taskToBlockInfoList.getValue(),
+                            absoluteTableIdentifier, loadedFooters));
+                  }
                 }
               } else {
                 throw new IndexBuilderException(
@@ -242,6 +256,10 @@ public class SegmentTaskIndexStore
               // set the latest timestamp.
               segmentTaskIndexWrapper
                   .setRefreshedTimeStamp(updateVO.getCreatedOrUpdatedTimeStamp());
+              if (null != loadedFooters) {
+                SegmentIndexSnapshot.write(absoluteTableIdentifier, segmentId,
+                    updateVO.getCreatedOrUpdatedTimeStamp(), loadedFooters);
+              }
               // tableSegmentMapTemp.put(next.getKey(), taskIdToSegmentIndexMap);
               // removing from segment lock map as once segment is loaded
               // if concurrent query is coming for same segment
@@ -334,17 +352,22 @@ public class SegmentTaskIndexStore
    * Below method will be used to load the blocks
    *
    * @param tableBlockInfoList
+   * @param loadedFooters      list to which the footers read from the index file are added,
+   *                           null if they are not needed
    * @return loaded segment
    * @throws IOException
    */
   private AbstractIndex loadBlocks(TaskBucketHolder taskBucketHolder,
-      List<TableBlockInfo> tableBlockInfoList, AbsoluteTableIdentifier tableIdentifier)
-      throws IOException {
+      List<TableBlockInfo> tableBlockInfoList, AbsoluteTableIdentifier tableIdentifier,
+      List<DataFileFooter> loadedFooters) throws IOException {
     // all the block of one task id will be loaded together
     // so creating a list which will have all the data file meta data to of one task
     List<DataFileFooter> footerList = CarbonUtil
         .readCarbonIndexFile(taskBucketHolder.taskNo, taskBucketHolder.bucketNumber,
             tableBlockInfoList, tableIdentifier);
+    if (null != loadedFooters) {
+      loadedFooters.addAll(footerList);
+    }
     AbstractIndex segment = new SegmentTaskIndex();
     // file path of only first block is passed as it all table block info path of
     // same task id will be same
@@ -352,6 +375,36 @@ public class SegmentTaskIndexStore
     return segment;
   }
 
+  /**
+   * Below method will be used to load the blocks of all the tasks of the segment from the
+   * index snapshot, the footers of each task are in the order of its index file
+   *
+   * @param indexSnapshot           index snapshot of the segment
+   * @param taskIdToSegmentIndexMap map to which the index of each task is added
+   */
+  private void loadBlocksFromSnapshot(SegmentIndexSnapshot indexSnapshot,
+      Map<TaskBucketHolder, AbstractIndex> taskIdToSegmentIndexMap) {
+    Map<TaskBucketHolder, List<DataFileFooter>> taskIdToFooterMap =
+        new HashMap<TaskBucketHolder, List<DataFileFooter>>();
+    for (DataFileFooter footer : indexSnapshot.getDataFileFooters()) {
+      String filePath = footer.getBlockInfo().getTableBlockInfo().getFilePath();
+      TaskBucketHolder bucketHolder = new TaskBucketHolder(DataFileUtil.getTaskNo(filePath),
+          DataFileUtil.getBucketNo(filePath));
+      List<DataFileFooter> footerList = taskIdToFooterMap.get(bucketHolder);
+      if (null == footerList) {
+        footerList = new ArrayList<DataFileFooter>();
+        taskIdToFooterMap.put(bucketHolder, footerList);
+      }
+      footerList.add(footer);
+    }
+    for (Map.Entry<TaskBucketHolder, List<DataFileFooter>> entry : taskIdToFooterMap
+        .entrySet()) {
+      AbstractIndex segment = new SegmentTaskIndex();
+      segment.buildIndex(entry.getValue());
+      taskIdToSegmentIndexMap.put(entry.getKey(), segment);
+    }
+  }
+
   /**
    * The method clears the access count of table segments
    *
@@ -42,6 +42,11 @@ public class TableSegmentUniqueIdentifier {
   private String segmentId;
   private  boolean isSegmentUpdated;
 
+  /**
+   * index snapshot of the segment, the segment index is built from it when it is set
+   */
+  private SegmentIndexSnapshot indexSnapshot;
+
   /**
    * Constructor to initialize the class instance
    * @param absoluteTableIdentifier
@@ -113,6 +118,14 @@ public class TableSegmentUniqueIdentifier {
     return isSegmentUpdated;
   }
 
+  public SegmentIndexSnapshot getIndexSnapshot() {
+    return indexSnapshot;
+  }
+
+  public void setIndexSnapshot(SegmentIndexSnapshot indexSnapshot) {
+    this.indexSnapshot = indexSnapshot;
+  }
+
   /**
    * equals method to compare two objects having same
    * absoluteIdentifier and segmentId
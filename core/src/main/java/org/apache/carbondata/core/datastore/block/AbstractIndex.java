@@ -40,6 +40,11 @@ public abstract class AbstractIndex implements Cacheable {
    */
   protected long totalNumberOfRows;
 
+  /**
+   * number of data blocks in the btree
+   */
+  protected int numberOfDataBlocks;
+
   /**
    * atomic integer to maintain the access count for a column access
    */
@@ -64,6 +69,13 @@ public abstract class AbstractIndex implements Cacheable {
     return dataRefNode;
   }
 
+  /**
+   * @return number of data blocks in the btree
+   */
+  public int getNumberOfDataBlocks() {
+    return numberOfDataBlocks;
+  }
+
   @Override public long getFileTimeStamp() {
     return 0;
   }
@@ -93,6 +105,9 @@ public abstract class AbstractIndex implements Cacheable {
     return this.memorySize;
   }
 
+  @Override public void invalidate() {
+  }
+
   /**
    * The method is used to set the access count
    */
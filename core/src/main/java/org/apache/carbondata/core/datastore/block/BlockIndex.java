@@ -45,6 +45,8 @@ public class BlockIndex extends AbstractIndex {
     // load the metadata
     blocksBuilder.build(indexBuilderInfo);
     dataRefNode = blocksBuilder.get();
+    // one data block is built for each blocklet
+    numberOfDataBlocks = footerList.get(0).getBlockletList().size();
     totalNumberOfRows = footerList.get(0).getNumberOfRows();
   }
 }
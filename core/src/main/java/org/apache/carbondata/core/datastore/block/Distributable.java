@@ -25,4 +25,9 @@ import java.io.IOException;
 public interface Distributable extends Comparable<Distributable> {
 
   String[] getLocations() throws IOException;
+
+  /**
+   * @return estimated number of bytes to be scanned, used to balance the tasks
+   */
+  long getEstimatedScanSize();
 }
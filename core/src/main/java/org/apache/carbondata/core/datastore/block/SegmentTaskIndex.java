@@ -48,6 +48,8 @@ public class SegmentTaskIndex extends AbstractIndex {
     // load the metadata
     blocksBuilder.build(btreeBuilderInfo);
     dataRefNode = blocksBuilder.get();
+    // one data block is built for each file
+    numberOfDataBlocks = footerList.size();
     for (DataFileFooter footer : footerList) {
       totalNumberOfRows += footer.getNumberOfRows();
     }
@@ -96,6 +96,9 @@ public class SegmentTaskIndexWrapper implements Cacheable {
     return memorySize.get();
   }
 
+  @Override public void invalidate() {
+  }
+
   /**
    * The method is used to set the access count
    */
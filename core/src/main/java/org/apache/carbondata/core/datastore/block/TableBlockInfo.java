@@ -263,6 +263,25 @@ public class TableBlockInfo implements Distributable, Serializable {
     return locations;
   }
 
+  /**
+   * Below method will be used to get the estimated scan size, the part of the block length
+   * of the blocklets to be scanned
+   *
+   * @return estimated number of bytes to be scanned
+   */
+  @Override public long getEstimatedScanSize() {
+    int numberOfBlocklets = blockletInfos.getNoOfBlockLets();
+    if (numberOfBlocklets <= 0) {
+      return blockLength;
+    }
+    // blocklets are scanned till the end of the block when the number to scan is not set
+    int numberOfBlockletsToScan = blockletInfos.getNumberOfBlockletToScan() > 0 ?
+        blockletInfos.getNumberOfBlockletToScan() :
+        numberOfBlocklets - blockletInfos.getStartBlockletNumber();
+    numberOfBlockletsToScan = Math.max(0, Math.min(numberOfBlockletsToScan, numberOfBlocklets));
+    return blockLength * numberOfBlockletsToScan / numberOfBlocklets;
+  }
+
   /**
    * returns BlockletInfos
    *
@@ -56,6 +56,14 @@ public class TableTaskInfo implements Distributable {
     return nodes.toArray(new String[nodes.size()]);
   }
 
+  @Override public long getEstimatedScanSize() {
+    long estimatedScanSize = 0;
+    for (TableBlockInfo tableBlockInfo : tableBlockInfoList) {
+      estimatedScanSize += tableBlockInfo.getEstimatedScanSize();
+    }
+    return estimatedScanSize;
+  }
+
   @Override public int compareTo(Distributable o) {
     return taskId.compareTo(((TableTaskInfo)o).getTaskId());
   }
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore.chunk;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+/**
+ * Executor wide cache of the uncompressed column chunks of the blocklets. The chunks of a hot
+ * blocklet are read and uncompressed once and shared by all the tasks scanning it. A chunk is
+ * reference counted by the tasks using it and only the chunks which are not in use are evicted,
+ * least recently used first, when a new chunk does not fit in the configured size. The memory of
+ * an evicted chunk is freed by the cache, so the unsafe stores go back to the chunk memory pool.
+ */
+public final class ColumnChunkCache {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(ColumnChunkCache.class.getName());
+
+  public static final ColumnChunkCache INSTANCE = new ColumnChunkCache(getConfiguredSize());
+
+  /**
+   * maximum number of bytes of the cached chunks
+   */
+  private final long maxSize;
+
+  /**
+   * cached chunks by key in the order of their access
+   */
+  private final LinkedHashMap<String, CachedChunk> cachedChunks =
+      new LinkedHashMap<String, CachedChunk>(16, 0.75f, true);
+
+  /**
+   * number of bytes of the cached chunks
+   */
+  private long currentSize;
+
+  /**
+   * @param maxSize maximum number of bytes of the cached chunks, 0 to disable the cache
+   */
+  public ColumnChunkCache(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  private static long getConfiguredSize() {
+    long cacheSizeInMB;
+    try {
+      cacheSizeInMB = Long.parseLong(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.QUERY_CHUNK_CACHE_SIZE_IN_MB,
+              CarbonCommonConstants.QUERY_CHUNK_CACHE_SIZE_IN_MB_DEFAULT));
+    } catch (NumberFormatException e) {
+      LOGGER.error("Invalid value for " + CarbonCommonConstants.QUERY_CHUNK_CACHE_SIZE_IN_MB
+          + ", using default value");
+      cacheSizeInMB = Long.parseLong(CarbonCommonConstants.QUERY_CHUNK_CACHE_SIZE_IN_MB_DEFAULT);
+    }
+    return Math.max(0, cacheSizeInMB) * 1024 * 1024;
+  }
+
+  /**
+   * @return true if the chunks are cached
+   */
+  public boolean isEnabled() {
+    return maxSize > 0;
+  }
+
+  /**
+   * Below method will be used to get a cached dimension chunk, which must be released once it
+   * is not used anymore
+   *
+   * @param key key of the chunk
+   * @return cached chunk, null if it is not cached
+   */
+  public DimensionColumnDataChunk acquireDimensionChunk(String key) {
+    CachedChunk cachedChunk = acquire(key);
+    return null == cachedChunk ? null : cachedChunk.dimensionChunk;
+  }
+
+  /**
+   * Below method will be used to get a cached measure chunk, which must be released once it
+   * is not used anymore
+   *
+   * @param key key of the chunk
+   * @return cached chunk, null if it is not cached
+   */
+  public MeasureColumnDataChunk acquireMeasureChunk(String key) {
+    CachedChunk cachedChunk = acquire(key);
+    return null == cachedChunk ? null : cachedChunk.measureChunk;
+  }
+
+  /**
+   * Below method will be used to add a dimension chunk to the cache. The added chunk is
+   * acquired by the caller and must be released once it is not used anymore.
+   *
+   * @param key            key of the chunk
+   * @param dimensionChunk chunk read from the file
+   * @param size           number of bytes of the chunk
+   * @return true if the chunk is cached, false if it is not cached and is owned by the caller
+   */
+  public boolean putDimensionChunk(String key, DimensionColumnDataChunk dimensionChunk,
+      long size) {
+    return put(key, new CachedChunk(dimensionChunk, null, size));
+  }
+
+  /**
+   * Below method will be used to add a measure chunk to the cache. The added chunk is
+   * acquired by the caller and must be released once it is not used anymore.
+   *
+   * @param key          key of the chunk
+   * @param measureChunk chunk read from the file
+   * @param size         number of bytes of the chunk
+   * @return true if the chunk is cached, false if it is not cached and is owned by the caller
+   */
+  public boolean putMeasureChunk(String key, MeasureColumnDataChunk measureChunk, long size) {
+    return put(key, new CachedChunk(null, measureChunk, size));
+  }
+
+  /**
+   * Below method will be used to release a chunk acquired from the cache or added to it
+   *
+   * @param key key of the chunk
+   */
+  public void release(String key) {
+    synchronized (cachedChunks) {
+      // chunks in use are never evicted, so an acquired chunk is always present
+      CachedChunk cachedChunk = cachedChunks.get(key);
+      if (null != cachedChunk && cachedChunk.referenceCount > 0) {
+        cachedChunk.referenceCount--;
+      }
+    }
+  }
+
+  /**
+   * Below method will be used to evict all the chunks which are not in use
+   */
+  public void clear() {
+    synchronized (cachedChunks) {
+      evict(Long.MAX_VALUE);
+    }
+  }
+
+  /**
+   * @return number of bytes of the cached chunks
+   */
+  public long getCurrentSize() {
+    synchronized (cachedChunks) {
+      return currentSize;
+    }
+  }
+
+  private CachedChunk acquire(String key) {
+    synchronized (cachedChunks) {
+      CachedChunk cachedChunk = cachedChunks.get(key);
+      if (null != cachedChunk) {
+        cachedChunk.referenceCount++;
+      }
+      return cachedChunk;
+    }
+  }
+
+  private boolean put(String key, CachedChunk cachedChunk) {
+    if (cachedChunk.size > maxSize) {
+      return false;
+    }
+    synchronized (cachedChunks) {
+      // the chunk may have been added by another task scanning the same blocklet
+      if (cachedChunks.containsKey(key)) {
+        return false;
+      }
+      evict(currentSize + cachedChunk.size - maxSize);
+      if (currentSize + cachedChunk.size > maxSize) {
+        return false;
+      }
+      cachedChunk.referenceCount = 1;
+      cachedChunks.put(key, cachedChunk);
+      currentSize += cachedChunk.size;
+      return true;
+    }
+  }
+
+  /**
+   * Evicts the least recently used chunks which are not in use till the given number of bytes
+   * is freed. Must be called holding the lock of the cached chunks.
+   *
+   * @param bytesToFree number of bytes to be freed
+   */
+  private void evict(long bytesToFree) {
+    long freedBytes = 0;
+    Iterator<CachedChunk> iterator = cachedChunks.values().iterator();
+    while (freedBytes < bytesToFree && iterator.hasNext()) {
+      CachedChunk cachedChunk = iterator.next();
+      if (cachedChunk.referenceCount == 0) {
+        iterator.remove();
+        currentSize -= cachedChunk.size;
+        freedBytes += cachedChunk.size;
+        cachedChunk.freeMemory();
+      }
+    }
+  }
+
+  /**
+   * Cached chunk with the number of tasks using it
+   */
+  private static final class CachedChunk {
+
+    private final DimensionColumnDataChunk dimensionChunk;
+
+    private final MeasureColumnDataChunk measureChunk;
+
+    private final long size;
+
+    private int referenceCount;
+
+    private CachedChunk(DimensionColumnDataChunk dimensionChunk,
+        MeasureColumnDataChunk measureChunk, long size) {
+      this.dimensionChunk = dimensionChunk;
+      this.measureChunk = measureChunk;
+      this.size = size;
+    }
+
+    private void freeMemory() {
+      if (null != dimensionChunk) {
+        dimensionChunk.freeMemory();
+      } else {
+        measureChunk.freeMemory();
+      }
+    }
+  }
+}
@@ -106,4 +106,9 @@ public interface DimensionColumnDataChunk {
    */
   void freeMemory();
 
+  /**
+   * @return number of bytes of the memory occupied by the uncompressed chunk
+   */
+  long getMemorySize();
+
 }
@@ -69,4 +69,11 @@ public class MeasureColumnDataChunk {
   public void freeMemory() {
     this.measureDataHolder.freeMemory();
   }
+
+  /**
+   * @return number of bytes of the memory occupied by the uncompressed values of the chunk
+   */
+  public long getMemorySize() {
+    return this.measureDataHolder.getMemorySize();
+  }
 }
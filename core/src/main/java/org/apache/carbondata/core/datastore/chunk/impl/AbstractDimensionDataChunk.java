@@ -79,6 +79,10 @@ public abstract class AbstractDimensionDataChunk implements DimensionColumnDataC
     dataChunkStore.freeMemory();
   }
 
+  @Override public long getMemorySize() {
+    return dataChunkStore.getMemorySize();
+  }
+
   /**
    * @return column is dictionary column or not
    */
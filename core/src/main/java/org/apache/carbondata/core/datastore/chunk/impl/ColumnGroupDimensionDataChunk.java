@@ -18,6 +18,7 @@ package org.apache.carbondata.core.datastore.chunk.impl;
 
 import org.apache.carbondata.core.datastore.chunk.store.DimensionChunkStoreFactory;
 import org.apache.carbondata.core.datastore.chunk.store.DimensionChunkStoreFactory.DimensionStoreType;
+import org.apache.carbondata.core.keygenerator.KeyGenerator;
 import org.apache.carbondata.core.scan.executor.infos.KeyStructureInfo;
 import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
 
@@ -67,10 +68,10 @@ public class ColumnGroupDimensionDataChunk extends AbstractDimensionDataChunk {
   @Override public int fillConvertedChunkData(int rowId, int columnIndex, int[] row,
       KeyStructureInfo info) {
     byte[] data = dataChunkStore.getRow(rowId);
-    long[] keyArray = info.getKeyGenerator().getKeyArray(data);
+    KeyGenerator keyGenerator = info.getKeyGenerator();
     int[] ordinal = info.getMdkeyQueryDimensionOrdinal();
     for (int i = 0; i < ordinal.length; i++) {
-      row[columnIndex++] = (int) keyArray[ordinal[i]];
+      row[columnIndex++] = (int) keyGenerator.getKey(data, 0, ordinal[i]);
     }
     return columnIndex;
   }
@@ -131,23 +132,10 @@ public class ColumnGroupDimensionDataChunk extends AbstractDimensionDataChunk {
       KeyStructureInfo restructuringInfo) {
     ColumnVectorInfo columnVectorInfo = vectorInfo[column];
     int offset = columnVectorInfo.offset;
-    int vectorOffset = columnVectorInfo.vectorOffset;
-    int len = offset + columnVectorInfo.size;
-    int[] ordinal = restructuringInfo.getMdkeyQueryDimensionOrdinal();
-    for (int k = offset; k < len; k++) {
-      long[] keyArray = restructuringInfo.getKeyGenerator().getKeyArray(dataChunkStore.getRow(k));
-      int index = 0;
-      for (int i = column; i < column + ordinal.length; i++) {
-        if (vectorInfo[i].directDictionaryGenerator == null) {
-          vectorInfo[i].vector.putInt(vectorOffset, (int) keyArray[ordinal[index++]]);
-        } else {
-          vectorInfo[i].vector.putLong(vectorOffset, (long) vectorInfo[i].directDictionaryGenerator
-              .getValueFromSurrogate((int) keyArray[ordinal[index++]]));
-        }
-      }
-      vectorOffset++;
-    }
-    return column + ordinal.length;
+    int[][] keys =
+        getQueryDimensionKeys(null, offset, columnVectorInfo.size, restructuringInfo);
+    fillVector(vectorInfo, column, columnVectorInfo.vectorOffset, keys);
+    return column + keys.length;
   }
 
   /**
@@ -163,22 +151,52 @@ public class ColumnGroupDimensionDataChunk extends AbstractDimensionDataChunk {
       int column, KeyStructureInfo restructuringInfo) {
     ColumnVectorInfo columnVectorInfo = vectorInfo[column];
     int offset = columnVectorInfo.offset;
-    int vectorOffset = columnVectorInfo.vectorOffset;
-    int len = offset + columnVectorInfo.size;
-    int[] ordinal = restructuringInfo.getMdkeyQueryDimensionOrdinal();
-    for (int k = offset; k < len; k++) {
-      long[] keyArray = restructuringInfo.getKeyGenerator().getKeyArray(dataChunkStore.getRow(k));
-      int index = 0;
-      for (int i = column; i < column + ordinal.length; i++) {
-        if (vectorInfo[i].directDictionaryGenerator == null) {
-          vectorInfo[i].vector.putInt(vectorOffset, (int) keyArray[ordinal[index++]]);
-        } else {
-          vectorInfo[i].vector.putLong(vectorOffset, (long) vectorInfo[i].directDictionaryGenerator
-              .getValueFromSurrogate((int) keyArray[ordinal[index++]]));
+    int[][] keys =
+        getQueryDimensionKeys(rowMapping, offset, columnVectorInfo.size, restructuringInfo);
+    fillVector(vectorInfo, column, columnVectorInfo.vectorOffset, keys);
+    return column + keys.length;
+  }
+
+  /**
+   * Unpacks the keys of the query dimensions from the rows of the page. Rows are copied to one
+   * buffer and unpacked together, so no array is created for each row.
+   *
+   * @param rowMapping   row id of each row to be read, null if rows are read in page order
+   * @param offset       index of the first row to be read
+   * @param numberOfRows number of rows to be read
+   * @param info         structure of the key
+   * @return keys of each query dimension
+   */
+  private int[][] getQueryDimensionKeys(int[] rowMapping, int offset, int numberOfRows,
+      KeyStructureInfo info) {
+    int columnValueSize = dataChunkStore.getColumnValueSize();
+    byte[] rows = new byte[numberOfRows * columnValueSize];
+    for (int i = 0; i < numberOfRows; i++) {
+      int rowId = null == rowMapping ? offset + i : rowMapping[offset + i];
+      dataChunkStore.fillRow(rowId, rows, i * columnValueSize);
+    }
+    int[] ordinal = info.getMdkeyQueryDimensionOrdinal();
+    int[][] keys = new int[ordinal.length][numberOfRows];
+    info.getKeyGenerator().getKeyArray(rows, numberOfRows, ordinal, keys);
+    return keys;
+  }
+
+  private void fillVector(ColumnVectorInfo[] vectorInfo, int column, int vectorOffset,
+      int[][] keys) {
+    for (int i = 0; i < keys.length; i++) {
+      ColumnVectorInfo columnVectorInfo = vectorInfo[column + i];
+      int[] columnKeys = keys[i];
+      if (columnVectorInfo.directDictionaryGenerator == null) {
+        for (int j = 0; j < columnKeys.length; j++) {
+          columnVectorInfo.vector.putInt(vectorOffset + j, columnKeys[j]);
+        }
+      } else {
+        for (int j = 0; j < columnKeys.length; j++) {
+          columnVectorInfo.vector.putLong(vectorOffset + j,
+              (long) columnVectorInfo.directDictionaryGenerator
+                  .getValueFromSurrogate(columnKeys[j]));
         }
       }
-      vectorOffset++;
     }
-    return column + ordinal.length;
   }
 }
@@ -19,6 +19,7 @@ package org.apache.carbondata.core.datastore.chunk.impl;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.chunk.store.DimensionChunkStoreFactory;
 import org.apache.carbondata.core.datastore.chunk.store.DimensionChunkStoreFactory.DimensionStoreType;
+import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.scan.executor.infos.KeyStructureInfo;
 import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
@@ -48,6 +49,35 @@ public class FixedLengthDimensionDataChunk extends AbstractDimensionDataChunk {
     dataChunkStore.putArray(invertedIndex, invertedIndexReverse, dataChunk);
   }
 
+  /**
+   * Constructor which uncompresses the data page straight into the chunk store when the store
+   * supports it, so that no intermediate array of the page is created
+   *
+   * @param compressor           compressor of the data page
+   * @param data                 compressed data page
+   * @param offset               offset of the compressed data page
+   * @param length               length of the compressed data page
+   * @param invertedIndex        inverted index
+   * @param invertedIndexReverse reverse inverted index
+   * @param numberOfRows         number of rows
+   * @param columnValueSize      size of each column value
+   */
+  public FixedLengthDimensionDataChunk(Compressor compressor, byte[] data, int offset, int length,
+      int[] invertedIndex, int[] invertedIndexReverse, int numberOfRows, int columnValueSize) {
+    long dataLength = compressor.unCompressedLength(data, offset, length);
+    long totalSize = null != invertedIndex ?
+        dataLength + (2 * numberOfRows * CarbonCommonConstants.INT_SIZE_IN_BYTE) :
+        dataLength;
+    dataChunkStore = DimensionChunkStoreFactory.INSTANCE
+        .getDimensionChunkStore(columnValueSize, null != invertedIndex, numberOfRows, totalSize,
+            DimensionStoreType.FIXEDLENGTH);
+    if (!dataChunkStore.putCompressedArray(invertedIndex, invertedIndexReverse, compressor, data,
+        offset, length)) {
+      dataChunkStore.putArray(invertedIndex, invertedIndexReverse,
+          compressor.unCompressByte(data, offset, length));
+    }
+  }
+
   /**
    * Below method will be used to fill the data based on offset and row id
    *
@@ -17,10 +17,12 @@
 package org.apache.carbondata.core.datastore.chunk.reader.dimension;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.FileHolder;
 import org.apache.carbondata.core.datastore.chunk.reader.DimensionColumnChunkReader;
 import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.datastore.compression.CompressorFactory;
 import org.apache.carbondata.core.keygenerator.mdkey.NumberCompressor;
+import org.apache.carbondata.core.stats.QueryScanMetrics;
 import org.apache.carbondata.core.util.CarbonProperties;
 
 /**
@@ -95,4 +97,28 @@ public abstract class AbstractChunkReader implements DimensionColumnChunkReader
     }
     return columnIndexTemp;
   }
+
+  /**
+   * Below method will be used to record the read of a chunk in the scan metrics of the query
+   *
+   * @param fileReader          file reader of the query
+   * @param blockIndex          index of the chunk in the blocklet
+   * @param bytesRead           bytes read from the file for the chunk
+   * @param dataLength          length of the uncompressed data of the chunk
+   * @param invertedIndexes     uncompressed inverted index of the chunk, null if there is none
+   * @param decompressStartTime time at which the decompression of the chunk started
+   */
+  protected void recordChunkRead(FileHolder fileReader, int blockIndex, long bytesRead,
+      long dataLength, int[] invertedIndexes, long decompressStartTime) {
+    QueryScanMetrics scanMetrics = fileReader.getScanMetrics();
+    if (null != scanMetrics) {
+      long bytesDecompressed = dataLength;
+      if (null != invertedIndexes) {
+        // inverted index and its reverse index
+        bytesDecompressed += invertedIndexes.length * 8L;
+      }
+      scanMetrics.recordDimensionChunk(blockIndex, bytesRead, bytesDecompressed,
+          System.nanoTime() - decompressStartTime);
+    }
+  }
 }
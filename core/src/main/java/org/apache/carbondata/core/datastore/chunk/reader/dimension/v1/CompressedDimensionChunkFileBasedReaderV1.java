@@ -88,46 +88,68 @@ public class CompressedDimensionChunkFileBasedReaderV1 extends AbstractChunkRead
     int[] invertedIndexes = null;
     int[] invertedIndexesReverse = null;
     int[] rlePage = null;
+    DataChunk dataChunk = dimensionColumnChunk.get(blockIndex);
+    boolean hasInvertedIndex =
+        CarbonUtil.hasEncoding(dataChunk.getEncodingList(), Encoding.INVERTED_INDEX);
+    boolean hasRle = CarbonUtil.hasEncoding(dataChunk.getEncodingList(), Encoding.RLE);
 
-    // first read the data and uncompressed it
-    dataPage = COMPRESSOR.unCompressByte(fileReader
-        .readByteArray(filePath, dimensionColumnChunk.get(blockIndex).getDataPageOffset(),
-            dimensionColumnChunk.get(blockIndex).getDataPageLength()));
-    // if row id block is present then read the row id chunk and uncompress it
-    if (CarbonUtil.hasEncoding(dimensionColumnChunk.get(blockIndex).getEncodingList(),
-        Encoding.INVERTED_INDEX)) {
+    // first read all the pages of the chunk
+    byte[] data = fileReader
+        .readByteArray(filePath, dataChunk.getDataPageOffset(), dataChunk.getDataPageLength());
+    long bytesRead = data.length;
+    byte[] rowIdData = null;
+    if (hasInvertedIndex) {
+      rowIdData = fileReader.readByteArray(filePath, dataChunk.getRowIdPageOffset(),
+          dataChunk.getRowIdPageLength());
+      bytesRead += rowIdData.length;
+    }
+    byte[] rleData = null;
+    if (hasRle) {
+      rleData = fileReader
+          .readByteArray(filePath, dataChunk.getRlePageOffset(), dataChunk.getRlePageLength());
+      bytesRead += rleData.length;
+    }
+    long decompressStartTime = System.nanoTime();
+    // if row id block is present then uncompress the row id chunk
+    if (hasInvertedIndex) {
       invertedIndexes = CarbonUtil
-          .getUnCompressColumnIndex(dimensionColumnChunk.get(blockIndex).getRowIdPageLength(),
-              fileReader.readByteArray(filePath,
-                  dimensionColumnChunk.get(blockIndex).getRowIdPageOffset(),
-                  dimensionColumnChunk.get(blockIndex).getRowIdPageLength()), numberComressor, 0);
+          .getUnCompressColumnIndex(dataChunk.getRowIdPageLength(), rowIdData, numberComressor,
+              0);
       // get the reverse index
       invertedIndexesReverse = getInvertedReverseIndex(invertedIndexes);
     }
-    // if rle is applied then read the rle block chunk and then uncompress
+    boolean hasDictionary =
+        CarbonUtil.hasEncoding(dataChunk.getEncodingList(), Encoding.DICTIONARY);
+    if (!hasRle && hasDictionary && !dataChunk.isRowMajor()) {
+      // fixed length page is uncompressed straight into the chunk store
+      DimensionColumnDataChunk columnDataChunk =
+          new FixedLengthDimensionDataChunk(COMPRESSOR, data, 0, data.length, invertedIndexes,
+              invertedIndexesReverse, numberOfRows, eachColumnValueSize[blockIndex]);
+      recordChunkRead(fileReader, blockIndex, bytesRead,
+          (long) numberOfRows * eachColumnValueSize[blockIndex], invertedIndexes,
+          decompressStartTime);
+      return columnDataChunk;
+    }
+    // uncompress the data
+    dataPage = COMPRESSOR.unCompressByte(data);
+    // if rle is applied then uncompress the rle block chunk and then uncompress
     //then actual data based on rle block
-    if (CarbonUtil
-        .hasEncoding(dimensionColumnChunk.get(blockIndex).getEncodingList(), Encoding.RLE)) {
-      // read and uncompress the rle block
-      rlePage = numberComressor.unCompress(fileReader
-              .readByteArray(filePath, dimensionColumnChunk.get(blockIndex).getRlePageOffset(),
-                  dimensionColumnChunk.get(blockIndex).getRlePageLength()), 0,
-          dimensionColumnChunk.get(blockIndex).getRlePageLength());
+    if (hasRle) {
+      rlePage = numberComressor.unCompress(rleData, 0, dataChunk.getRlePageLength());
       // uncompress the data with rle indexes
       dataPage = UnBlockIndexer.uncompressData(dataPage, rlePage, eachColumnValueSize[blockIndex]);
       rlePage = null;
     }
     // fill chunk attributes
     DimensionColumnDataChunk columnDataChunk = null;
-    if (dimensionColumnChunk.get(blockIndex).isRowMajor()) {
+    if (dataChunk.isRowMajor()) {
       // to store fixed length column chunk values
       columnDataChunk = new ColumnGroupDimensionDataChunk(dataPage, eachColumnValueSize[blockIndex],
           numberOfRows);
     }
     // if no dictionary column then first create a no dictionary column chunk
     // and set to data chunk instance
-    else if (!CarbonUtil
-        .hasEncoding(dimensionColumnChunk.get(blockIndex).getEncodingList(), Encoding.DICTIONARY)) {
+    else if (!hasDictionary) {
       columnDataChunk =
           new VariableLengthDimensionDataChunk(dataPage, invertedIndexes, invertedIndexesReverse,
               numberOfRows);
@@ -137,6 +159,8 @@ public class CompressedDimensionChunkFileBasedReaderV1 extends AbstractChunkRead
           new FixedLengthDimensionDataChunk(dataPage, invertedIndexes, invertedIndexesReverse,
               numberOfRows, eachColumnValueSize[blockIndex]);
     }
+    recordChunkRead(fileReader, blockIndex, bytesRead, dataPage.length, invertedIndexes,
+        decompressStartTime);
     return columnDataChunk;
   }
 
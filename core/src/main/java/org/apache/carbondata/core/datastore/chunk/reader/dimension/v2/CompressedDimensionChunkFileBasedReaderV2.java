@@ -128,6 +128,7 @@ public class CompressedDimensionChunkFileBasedReaderV2 extends AbstractChunkRead
     byte[] data = null;
     int copySourcePoint = 0;
     byte[] dimensionChunk = null;
+    long bytesRead;
     if (dimensionChunksOffset.size() - 1 == blockIndex) {
       dimensionChunk = fileReader.readByteArray(filePath, dimensionChunksOffset.get(blockIndex),
           dimensionChunksLength.get(blockIndex));
@@ -139,18 +140,19 @@ public class CompressedDimensionChunkFileBasedReaderV2 extends AbstractChunkRead
       data = fileReader.readByteArray(filePath,
           dimensionChunksOffset.get(blockIndex) + dimensionChunksLength.get(blockIndex),
           totalDimensionDataLength);
+      bytesRead = dimensionChunk.length + data.length;
     } else {
       long currentDimensionOffset = dimensionChunksOffset.get(blockIndex);
       data = fileReader.readByteArray(filePath, currentDimensionOffset,
           (int) (dimensionChunksOffset.get(blockIndex + 1) - currentDimensionOffset));
+      bytesRead = data.length;
       dimensionColumnChunk =
           CarbonUtil.readDataChunk(data, copySourcePoint, dimensionChunksLength.get(blockIndex));
       copySourcePoint += dimensionChunksLength.get(blockIndex);
     }
 
-    // first read the data and uncompressed it
-    dataPage =
-        COMPRESSOR.unCompressByte(data, copySourcePoint, dimensionColumnChunk.data_page_length);
+    long decompressStartTime = System.nanoTime();
+    int dataPageOffset = copySourcePoint;
     copySourcePoint += dimensionColumnChunk.data_page_length;
     // if row id block is present then read the row id chunk and uncompress it
     if (hasEncoding(dimensionColumnChunk.encoders, Encoding.INVERTED_INDEX)) {
@@ -161,6 +163,20 @@ public class CompressedDimensionChunkFileBasedReaderV2 extends AbstractChunkRead
       // get the reverse index
       invertedIndexesReverse = getInvertedReverseIndex(invertedIndexes);
     }
+    if (isFixedLengthPage(dimensionColumnChunk)) {
+      // fixed length page is uncompressed straight into the chunk store
+      DimensionColumnDataChunk columnDataChunk =
+          new FixedLengthDimensionDataChunk(COMPRESSOR, data, dataPageOffset,
+              dimensionColumnChunk.data_page_length, invertedIndexes, invertedIndexesReverse,
+              numberOfRows, eachColumnValueSize[blockIndex]);
+      recordChunkRead(fileReader, blockIndex, bytesRead,
+          (long) numberOfRows * eachColumnValueSize[blockIndex], invertedIndexes,
+          decompressStartTime);
+      return columnDataChunk;
+    }
+    // read the data and uncompress it
+    dataPage =
+        COMPRESSOR.unCompressByte(data, dataPageOffset, dimensionColumnChunk.data_page_length);
     // if rle is applied then read the rle block chunk and then uncompress
     //then actual data based on rle block
     if (hasEncoding(dimensionColumnChunk.encoders, Encoding.RLE)) {
@@ -190,6 +206,8 @@ public class CompressedDimensionChunkFileBasedReaderV2 extends AbstractChunkRead
           new FixedLengthDimensionDataChunk(dataPage, invertedIndexes, invertedIndexesReverse,
               numberOfRows, eachColumnValueSize[blockIndex]);
     }
+    recordChunkRead(fileReader, blockIndex, bytesRead, dataPage.length, invertedIndexes,
+        decompressStartTime);
     return columnDataChunk;
   }
 
@@ -221,12 +239,11 @@ public class CompressedDimensionChunkFileBasedReaderV2 extends AbstractChunkRead
     for (int i = startBlockIndex; i <= endBlockIndex; i++) {
       invertedIndexes = null;
       invertedIndexesReverse = null;
+      long decompressStartTime = System.nanoTime();
       dimensionColumnChunk =
           CarbonUtil.readDataChunk(data, copySourcePoint, dimensionChunksLength.get(i));
       copySourcePoint += dimensionChunksLength.get(i);
-      // first read the data and uncompressed it
-      dataPage =
-          COMPRESSOR.unCompressByte(data, copySourcePoint, dimensionColumnChunk.data_page_length);
+      int dataPageOffset = copySourcePoint;
       copySourcePoint += dimensionColumnChunk.data_page_length;
       // if row id block is present then read the row id chunk and uncompress it
       if (hasEncoding(dimensionColumnChunk.encoders, Encoding.INVERTED_INDEX)) {
@@ -237,6 +254,20 @@ public class CompressedDimensionChunkFileBasedReaderV2 extends AbstractChunkRead
         // get the reverse index
         invertedIndexesReverse = getInvertedReverseIndex(invertedIndexes);
       }
+      long bytesRead = dimensionChunksOffset.get(i + 1) - dimensionChunksOffset.get(i);
+      if (isFixedLengthPage(dimensionColumnChunk)) {
+        // fixed length page is uncompressed straight into the chunk store
+        dataChunks[index++] =
+            new FixedLengthDimensionDataChunk(COMPRESSOR, data, dataPageOffset,
+                dimensionColumnChunk.data_page_length, invertedIndexes, invertedIndexesReverse,
+                numberOfRows, eachColumnValueSize[i]);
+        recordChunkRead(fileReader, i, bytesRead, (long) numberOfRows * eachColumnValueSize[i],
+            invertedIndexes, decompressStartTime);
+        continue;
+      }
+      // read the data and uncompress it
+      dataPage =
+          COMPRESSOR.unCompressByte(data, dataPageOffset, dimensionColumnChunk.data_page_length);
       // if rle is applied then read the rle block chunk and then uncompress
       //then actual data based on rle block
       if (hasEncoding(dimensionColumnChunk.encoders, Encoding.RLE)) {
@@ -267,11 +298,23 @@ public class CompressedDimensionChunkFileBasedReaderV2 extends AbstractChunkRead
             new FixedLengthDimensionDataChunk(dataPage, invertedIndexes, invertedIndexesReverse,
                 numberOfRows, eachColumnValueSize[i]);
       }
+      recordChunkRead(fileReader, i, bytesRead, dataPage.length, invertedIndexes,
+          decompressStartTime);
       dataChunks[index++] = columnDataChunk;
     }
     return dataChunks;
   }
 
+  /**
+   * @return true if the page is of a dictionary column stored without rle, so its uncompressed
+   * data is the fixed length data of the chunk
+   */
+  private boolean isFixedLengthPage(DataChunk2 dimensionColumnChunk) {
+    return !dimensionColumnChunk.isRowMajor()
+        && hasEncoding(dimensionColumnChunk.encoders, Encoding.DICTIONARY)
+        && !hasEncoding(dimensionColumnChunk.encoders, Encoding.RLE);
+  }
+
   /**
    * Below method will be used to check whether particular encoding is present
    * in the dimension or not
@@ -16,7 +16,12 @@
  */
 package org.apache.carbondata.core.datastore.chunk.reader.measure;
 
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.FileHolder;
 import org.apache.carbondata.core.datastore.chunk.reader.MeasureColumnChunkReader;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.stats.QueryScanMetrics;
 
 /**
  * Measure block reader abstract class
@@ -42,4 +47,46 @@ public abstract class AbstractMeasureChunkReader implements MeasureColumnChunkRe
     this.filePath = filePath;
     this.numberOfRows = numberOfRows;
   }
+
+  /**
+   * Below method will be used to get the bit packed or dictionary encoding of the values of a
+   * measure page
+   *
+   * @param encodings encodings of the page
+   * @return FRAME_OF_REFERENCE, DELTA_OF_DELTA or PAGE_DICTIONARY, null if the values of the
+   * page are not encoded
+   */
+  protected static Encoding getPageEncoding(List<Encoding> encodings) {
+    if (null == encodings) {
+      return null;
+    }
+    if (encodings.contains(Encoding.FRAME_OF_REFERENCE)) {
+      return Encoding.FRAME_OF_REFERENCE;
+    }
+    if (encodings.contains(Encoding.DELTA_OF_DELTA)) {
+      return Encoding.DELTA_OF_DELTA;
+    }
+    if (encodings.contains(Encoding.PAGE_DICTIONARY)) {
+      return Encoding.PAGE_DICTIONARY;
+    }
+    return null;
+  }
+
+  /**
+   * Below method will be used to record the read of a chunk in the scan metrics of the query.
+   * Values of the measure are decompressed to 8 bytes each.
+   *
+   * @param fileReader          file reader of the query
+   * @param blockIndex          index of the chunk in the blocklet
+   * @param bytesRead           bytes read from the file for the chunk
+   * @param decompressStartTime time at which the decompression of the chunk started
+   */
+  protected void recordChunkRead(FileHolder fileReader, int blockIndex, long bytesRead,
+      long decompressStartTime) {
+    QueryScanMetrics scanMetrics = fileReader.getScanMetrics();
+    if (null != scanMetrics) {
+      scanMetrics.recordMeasureChunk(blockIndex, bytesRead, numberOfRows * 8L,
+          System.nanoTime() - decompressStartTime);
+    }
+  }
 }
@@ -83,9 +83,11 @@ public class CompressedMeasureChunkFileBasedReaderV1 extends AbstractMeasureChun
     ReaderCompressModel compressModel = ValueCompressionUtil.getReaderCompressModel(meta);
 
     ValueCompressionHolder values = compressModel.getValueCompressionHolder();
+    values.setPageEncoding(getPageEncoding(measureColumnChunks.get(blockIndex).getEncodingList()));
     byte[] dataPage = fileReader
             .readByteArray(filePath, measureColumnChunks.get(blockIndex).getDataPageOffset(),
                     measureColumnChunks.get(blockIndex).getDataPageLength());
+    long decompressStartTime = System.nanoTime();
 
     // unCompress data
     values.uncompress(compressModel.getConvertedDataType(), dataPage, 0,
@@ -100,6 +102,7 @@ public class CompressedMeasureChunkFileBasedReaderV1 extends AbstractMeasureChun
     // set the enun value indexes
     datChunk
         .setNullValueIndexHolder(measureColumnChunks.get(blockIndex).getNullValueIndexForColumn());
+    recordChunkRead(fileReader, blockIndex, dataPage.length, decompressStartTime);
     return datChunk;
   }
 
@@ -31,6 +31,7 @@ import org.apache.carbondata.core.datastore.dataholder.CarbonReadDataHolder;
 import org.apache.carbondata.core.metadata.ValueEncoderMeta;
 import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
 import org.apache.carbondata.core.metadata.blocklet.datachunk.PresenceMeta;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.format.DataChunk2;
 
@@ -78,6 +79,30 @@ public class CompressedMeasureChunkFileBasedReaderV2 extends AbstractMeasureChun
     return presenceMeta;
   }
 
+  /**
+   * Below method will be used to get the bit packed or dictionary encoding of the page from the
+   * thrift encodings of the chunk
+   *
+   * @param measureColumnChunk thrift data chunk of the page
+   * @return page encoding, null if the values of the page are not encoded
+   */
+  private static Encoding getChunkPageEncoding(DataChunk2 measureColumnChunk) {
+    if (null == measureColumnChunk.getEncoders()) {
+      return null;
+    }
+    List<Encoding> encodings = new ArrayList<>();
+    for (org.apache.carbondata.format.Encoding encoding : measureColumnChunk.getEncoders()) {
+      if (encoding == org.apache.carbondata.format.Encoding.FRAME_OF_REFERENCE) {
+        encodings.add(Encoding.FRAME_OF_REFERENCE);
+      } else if (encoding == org.apache.carbondata.format.Encoding.DELTA_OF_DELTA) {
+        encodings.add(Encoding.DELTA_OF_DELTA);
+      } else if (encoding == org.apache.carbondata.format.Encoding.PAGE_DICTIONARY) {
+        encodings.add(Encoding.PAGE_DICTIONARY);
+      }
+    }
+    return getPageEncoding(encodings);
+  }
+
   /**
    * Below method will be used to read the chunk based on block indexes
    * Reading logic of below method is: Except last column all the column chunk
@@ -137,6 +162,7 @@ public class CompressedMeasureChunkFileBasedReaderV2 extends AbstractMeasureChun
     byte[] measureDataChunk = null;
     byte[] data = null;
     int copyPoint = 0;
+    long bytesRead;
     if (measureColumnChunkOffsets.size() - 1 == blockIndex) {
       measureDataChunk = fileReader
           .readByteArray(filePath, measureColumnChunkOffsets.get(blockIndex),
@@ -146,14 +172,17 @@ public class CompressedMeasureChunkFileBasedReaderV2 extends AbstractMeasureChun
       data = fileReader.readByteArray(filePath,
           measureColumnChunkOffsets.get(blockIndex) + measureColumnChunkLength.get(blockIndex),
           measureColumnChunk.data_page_length);
+      bytesRead = measureDataChunk.length + data.length;
     } else {
       long currentMeasureOffset = measureColumnChunkOffsets.get(blockIndex);
       data = fileReader.readByteArray(filePath, currentMeasureOffset,
           (int) (measureColumnChunkOffsets.get(blockIndex + 1) - currentMeasureOffset));
+      bytesRead = data.length;
       measureColumnChunk =
           CarbonUtil.readDataChunk(data, copyPoint, measureColumnChunkLength.get(blockIndex));
       copyPoint += measureColumnChunkLength.get(blockIndex);
     }
+    long decompressStartTime = System.nanoTime();
     List<ValueEncoderMeta> valueEncodeMeta = new ArrayList<>();
     for (int i = 0; i < measureColumnChunk.getEncoder_meta().size(); i++) {
       valueEncodeMeta.add(
@@ -162,6 +191,7 @@ public class CompressedMeasureChunkFileBasedReaderV2 extends AbstractMeasureChun
     WriterCompressModel compressionModel = CarbonUtil.getValueCompressionModel(valueEncodeMeta);
 
     ValueCompressionHolder values = compressionModel.getValueCompressionHolder()[0];
+    values.setPageEncoding(getChunkPageEncoding(measureColumnChunk));
 
     // uncompress
     values.uncompress(compressionModel.getConvertedDataType()[0], data,
@@ -175,6 +205,7 @@ public class CompressedMeasureChunkFileBasedReaderV2 extends AbstractMeasureChun
 
     // set the enun value indexes
     datChunk.setNullValueIndexHolder(getPresenceMeta(measureColumnChunk.presence));
+    recordChunkRead(fileReader, blockIndex, bytesRead, decompressStartTime);
     return datChunk;
   }
 
@@ -201,6 +232,7 @@ public class CompressedMeasureChunkFileBasedReaderV2 extends AbstractMeasureChun
     int copyPoint = 0;
     DataChunk2 measureColumnChunk = null;
     for (int i = startBlockIndex; i <= endBlockIndex; i++) {
+      long decompressStartTime = System.nanoTime();
       dataChunk = new MeasureColumnDataChunk();
       measureColumnChunk =
           CarbonUtil.readDataChunk(data, copyPoint, measureColumnChunkLength.get(i));
@@ -213,6 +245,7 @@ public class CompressedMeasureChunkFileBasedReaderV2 extends AbstractMeasureChun
       WriterCompressModel compressionModel = CarbonUtil.getValueCompressionModel(valueEncodeMeta);
 
       ValueCompressionHolder values = compressionModel.getValueCompressionHolder()[0];
+      values.setPageEncoding(getChunkPageEncoding(measureColumnChunk));
 
       // uncompress
       values.uncompress(compressionModel.getConvertedDataType()[0], data, copyPoint,
@@ -227,6 +260,9 @@ public class CompressedMeasureChunkFileBasedReaderV2 extends AbstractMeasureChun
 
       // set the enun value indexes
       dataChunk.setNullValueIndexHolder(getPresenceMeta(measureColumnChunk.presence));
+      recordChunkRead(fileReader, i,
+          measureColumnChunkOffsets.get(i + 1) - measureColumnChunkOffsets.get(i),
+          decompressStartTime);
       dataChunks[index++] = dataChunk;
     }
     return dataChunks;
@@ -17,6 +17,8 @@
 
 package org.apache.carbondata.core.datastore.chunk.store;
 
+import org.apache.carbondata.core.datastore.compression.Compressor;
+
 /**
  * Interface responsibility is to store dimension data in memory.
  * storage can be on heap or offheap.
@@ -32,6 +34,21 @@ public interface DimensionDataChunkStore {
    */
   void putArray(int[] invertedIndex, int[] invertedIndexReverse, byte[] data);
 
+  /**
+   * Below method will be used to uncompress the data straight into the memory of the store,
+   * without an intermediate array, and to put the inverted index after it
+   *
+   * @param invertedIndex        inverted index to be stored
+   * @param invertedIndexReverse inverted index reverse to be stored
+   * @param compressor           compressor of the data
+   * @param data                 compressed data
+   * @param offset               offset of the compressed data
+   * @param length               length of the compressed data
+   * @return false if the store can not be filled this way, in which case putArray has to be used
+   */
+  boolean putCompressedArray(int[] invertedIndex, int[] invertedIndexReverse,
+      Compressor compressor, byte[] data, int offset, int length);
+
   /**
    * Below method will be used to get the row
    * based on row id passed
@@ -83,6 +100,11 @@ public interface DimensionDataChunkStore {
    */
   void freeMemory();
 
+  /**
+   * @return number of bytes of the memory occupied by the data and the inverted index
+   */
+  long getMemorySize();
+
   /**
    * to compare the two byte array
    *
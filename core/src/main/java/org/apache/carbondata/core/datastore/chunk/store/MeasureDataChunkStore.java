@@ -19,6 +19,8 @@ package org.apache.carbondata.core.datastore.chunk.store;
 
 import java.math.BigDecimal;
 
+import org.apache.carbondata.core.datastore.compression.Compressor;
+
 /**
  * Responsibility is store the measure data in memory,
  * memory can be on heap or offheap based on the user configuration
@@ -32,6 +34,18 @@ public interface MeasureDataChunkStore<T> {
    */
   void putData(T data);
 
+  /**
+   * Below method will be used to uncompress the data straight into the memory of the store,
+   * without an intermediate array
+   *
+   * @param compressor compressor of the data
+   * @param data       compressed data
+   * @param offset     offset of the compressed data
+   * @param length     length of the compressed data
+   * @return false if the store can not be filled this way, in which case putData has to be used
+   */
+  boolean putCompressedData(Compressor compressor, byte[] data, int offset, int length);
+
   /**
    * to get byte value
    *
@@ -84,4 +98,9 @@ public interface MeasureDataChunkStore<T> {
    * To free the occupied memory
    */
   void freeMemory();
+
+  /**
+   * @return number of bytes of the memory occupied by the data
+   */
+  long getMemorySize();
 }
@@ -17,7 +17,9 @@
 
 package org.apache.carbondata.core.datastore.chunk.store.impl.safe;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.chunk.store.DimensionDataChunkStore;
+import org.apache.carbondata.core.datastore.compression.Compressor;
 
 /**
  * Responsibility is to store dimension data
@@ -55,6 +57,14 @@ public abstract class SafeAbsractDimensionDataChunkStore implements DimensionDat
     this.isExplictSorted = isInvertedIdex;
   }
 
+  /**
+   * data of the safe store is kept in an array, so it is filled by putArray
+   */
+  @Override public boolean putCompressedArray(int[] invertedIndex, int[] invertedIndexReverse,
+      Compressor compressor, byte[] data, int offset, int length) {
+    return false;
+  }
+
   /**
    * Below method will be used to put the rows and its metadata in offheap
    *
@@ -76,6 +86,17 @@ public abstract class SafeAbsractDimensionDataChunkStore implements DimensionDat
     // do nothing as GC will take care of freeing memory
   }
 
+  @Override public long getMemorySize() {
+    long memorySize = null == data ? 0L : data.length;
+    if (null != invertedIndex) {
+      memorySize += (long) invertedIndex.length * CarbonCommonConstants.INT_SIZE_IN_BYTE;
+    }
+    if (null != invertedIndexReverse) {
+      memorySize += (long) invertedIndexReverse.length * CarbonCommonConstants.INT_SIZE_IN_BYTE;
+    }
+    return memorySize;
+  }
+
   /**
    * Below method will be used to get the inverted index
    *
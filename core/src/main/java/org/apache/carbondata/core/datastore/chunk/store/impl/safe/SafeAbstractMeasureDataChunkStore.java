@@ -20,6 +20,7 @@ package org.apache.carbondata.core.datastore.chunk.store.impl.safe;
 import java.math.BigDecimal;
 
 import org.apache.carbondata.core.datastore.chunk.store.MeasureDataChunkStore;
+import org.apache.carbondata.core.datastore.compression.Compressor;
 
 /**
  * Responsibility is store the measure data in memory,
@@ -36,6 +37,14 @@ public abstract class SafeAbstractMeasureDataChunkStore<T> implements
     this.numberOfRows = numberOfRows;
   }
 
+  /**
+   * data of the safe store is kept in an array of its type, so it is filled by putData
+   */
+  @Override
+  public boolean putCompressedData(Compressor compressor, byte[] data, int offset, int length) {
+    return false;
+  }
+
   /**
    * to get the byte value
    *
@@ -95,4 +95,8 @@ public class SafeBigDecimalMeasureChunkStore extends SafeAbstractMeasureDataChun
     return DataTypeUtil.byteToBigDecimal(dataChunk, currentDataOffset, length);
   }
 
+  @Override public long getMemorySize() {
+    return (null == dataChunk ? 0L : dataChunk.length)
+        + (long) dataOffsets.length * CarbonCommonConstants.INT_SIZE_IN_BYTE;
+  }
 }
@@ -53,4 +53,8 @@ public class SafeByteMeasureChunkStore extends
     return this.data[index];
   }
 
+  @Override
+  public long getMemorySize() {
+    return null == data ? 0L : data.length;
+  }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.carbondata.core.datastore.chunk.store.impl.safe;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+
 /**
  * Below class will be used to store the measure values of double data type
  */
@@ -52,4 +54,9 @@ public class SafeDoubleMeasureChunkStore extends
   public double getDouble(int index) {
     return this.data[index];
   }
+
+  @Override
+  public long getMemorySize() {
+    return null == data ? 0L : (long) data.length * CarbonCommonConstants.DOUBLE_SIZE_IN_BYTE;
+  }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.carbondata.core.datastore.chunk.store.impl.safe;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+
 /**
  * Responsible for storing int array data to memory.
  */
@@ -52,4 +54,9 @@ public class SafeIntMeasureChunkStore extends
   public int getInt(int index) {
     return this.data[index];
   }
+
+  @Override
+  public long getMemorySize() {
+    return null == data ? 0L : (long) data.length * CarbonCommonConstants.INT_SIZE_IN_BYTE;
+  }
 }
@@ -17,6 +17,8 @@
 
 package org.apache.carbondata.core.datastore.chunk.store.impl.safe;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+
 /**
  * Below class will be used to store the measure values of long data type
  *
@@ -53,4 +55,9 @@ public class SafeLongMeasureChunkStore extends
   public long getLong(int index) {
     return this.data[index];
   }
+
+  @Override
+  public long getMemorySize() {
+    return null == data ? 0L : (long) data.length * CarbonCommonConstants.LONG_SIZE_IN_BYTE;
+  }
 }
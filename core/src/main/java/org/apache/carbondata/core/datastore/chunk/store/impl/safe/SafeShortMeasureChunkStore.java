@@ -17,6 +17,8 @@
 
 package org.apache.carbondata.core.datastore.chunk.store.impl.safe;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+
 /**
  * Below class will be used to store the measure values of short data type
  *
@@ -54,4 +56,8 @@ public class SafeShortMeasureChunkStore extends
     return data[index];
   }
 
+  @Override
+  public long getMemorySize() {
+    return null == data ? 0L : (long) data.length * CarbonCommonConstants.SHORT_SIZE_IN_BYTE;
+  }
 }
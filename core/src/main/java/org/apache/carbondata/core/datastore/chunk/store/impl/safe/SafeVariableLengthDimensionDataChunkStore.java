@@ -135,4 +135,10 @@ public class SafeVariableLengthDimensionDataChunkStore extends SafeAbsractDimens
     return ByteUtil.UnsafeComparer.INSTANCE
         .compareTo(data, currentDataOffset, length, compareValue, 0, compareValue.length);
   }
+
+  @Override public long getMemorySize() {
+    // offsets of the values with the data
+    return super.getMemorySize()
+        + (long) dataOffsets.length * CarbonCommonConstants.INT_SIZE_IN_BYTE;
+  }
 }
@@ -19,8 +19,9 @@ package org.apache.carbondata.core.datastore.chunk.store.impl.unsafe;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.chunk.store.DimensionDataChunkStore;
+import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
-import org.apache.carbondata.core.memory.MemoryAllocatorFactory;
+import org.apache.carbondata.core.memory.ChunkMemoryPool;
 import org.apache.carbondata.core.memory.MemoryBlock;
 
 /**
@@ -69,8 +70,7 @@ public abstract class UnsafeAbstractDimensionDataChunkStore implements Dimension
   public UnsafeAbstractDimensionDataChunkStore(long totalSize, boolean isInvertedIdex,
       int numberOfRows) {
     // allocating the data page
-    this.dataPageMemoryBlock =
-        MemoryAllocatorFactory.INSATANCE.getMemoryAllocator().allocate(totalSize);
+    this.dataPageMemoryBlock = ChunkMemoryPool.INSTANCE.allocate(totalSize);
     this.isExplicitSorted = isInvertedIdex;
   }
 
@@ -84,16 +84,50 @@ public abstract class UnsafeAbstractDimensionDataChunkStore implements Dimension
   @Override public void putArray(final int[] invertedIndex, final int[] invertedIndexReverse,
       final byte[] data) {
     assert (!isMemoryOccupied);
-    this.dataLength = data.length;
+    // copy the data to memory
+    CarbonUnsafe.unsafe
+        .copyMemory(data, CarbonUnsafe.BYTE_ARRAY_OFFSET, dataPageMemoryBlock.getBaseObject(),
+            dataPageMemoryBlock.getBaseOffset(), data.length);
+    putInvertedIndex(invertedIndex, invertedIndexReverse, data.length);
+  }
+
+  /**
+   * Below method will be used to uncompress the data straight into the memory block of the
+   * store, the data and inverted index are kept in the same layout as the one written by
+   * putArray
+   *
+   * @param invertedIndex        inverted index to be stored
+   * @param invertedIndexReverse inverted index reverse to be stored
+   * @param compressor           compressor of the data
+   * @param data                 compressed data
+   * @param offset               offset of the compressed data
+   * @param length               length of the compressed data
+   * @return true
+   */
+  @Override public boolean putCompressedArray(int[] invertedIndex, int[] invertedIndexReverse,
+      Compressor compressor, byte[] data, int offset, int length) {
+    assert (!isMemoryOccupied);
+    int uncompressedLength = compressor.rawUnCompress(data, offset, length,
+        dataPageMemoryBlock.getBaseObject(), dataPageMemoryBlock.getBaseOffset());
+    putInvertedIndex(invertedIndex, invertedIndexReverse, uncompressedLength);
+    return true;
+  }
+
+  /**
+   * Below method will be used to put the inverted index and its reverse after the data
+   *
+   * @param invertedIndex        inverted index to be stored
+   * @param invertedIndexReverse inverted index reverse to be stored
+   * @param dataLength           length of the data already in memory
+   */
+  private void putInvertedIndex(int[] invertedIndex, int[] invertedIndexReverse,
+      int dataLength) {
+    this.dataLength = dataLength;
     this.invertedIndexReverseOffset = dataLength;
     if (isExplicitSorted) {
       this.invertedIndexReverseOffset +=
           invertedIndex.length * CarbonCommonConstants.INT_SIZE_IN_BYTE;
     }
-    // copy the data to memory
-    CarbonUnsafe.unsafe
-        .copyMemory(data, CarbonUnsafe.BYTE_ARRAY_OFFSET, dataPageMemoryBlock.getBaseObject(),
-            dataPageMemoryBlock.getBaseOffset(), this.dataLength);
     // if inverted index is present then copy the inverted index
     // and reverse inverted index to memory
     if (isExplicitSorted) {
@@ -115,12 +149,16 @@ public abstract class UnsafeAbstractDimensionDataChunkStore implements Dimension
       return;
     }
     // free data page memory
-    MemoryAllocatorFactory.INSATANCE.getMemoryAllocator().free(dataPageMemoryBlock);
+    ChunkMemoryPool.INSTANCE.free(dataPageMemoryBlock);
     isMemoryReleased = true;
     this.dataPageMemoryBlock = null;
     this.isMemoryOccupied = false;
   }
 
+  @Override public long getMemorySize() {
+    return null == dataPageMemoryBlock ? 0L : dataPageMemoryBlock.size();
+  }
+
   /**
    * Below method will be used to get the inverted index
    *
@@ -20,7 +20,8 @@ package org.apache.carbondata.core.datastore.chunk.store.impl.unsafe;
 import java.math.BigDecimal;
 
 import org.apache.carbondata.core.datastore.chunk.store.MeasureDataChunkStore;
-import org.apache.carbondata.core.memory.MemoryAllocatorFactory;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.memory.ChunkMemoryPool;
 import org.apache.carbondata.core.memory.MemoryBlock;
 
 /**
@@ -53,6 +54,27 @@ public abstract class UnsafeAbstractMeasureDataChunkStore<T> implements MeasureD
     this.numberOfRows = numberOfRows;
   }
 
+  /**
+   * Below method will be used to uncompress the data straight into the memory block of the
+   * store, the values are kept in the same layout as the one written by putData
+   *
+   * @param compressor compressor of the data
+   * @param data       compressed data
+   * @param offset     offset of the compressed data
+   * @param length     length of the compressed data
+   * @return true
+   */
+  @Override
+  public boolean putCompressedData(Compressor compressor, byte[] data, int offset, int length) {
+    assert (!this.isMemoryOccupied);
+    this.dataPageMemoryBlock =
+        ChunkMemoryPool.INSTANCE.allocate(compressor.unCompressedLength(data, offset, length));
+    compressor.rawUnCompress(data, offset, length, dataPageMemoryBlock.getBaseObject(),
+        dataPageMemoryBlock.getBaseOffset());
+    this.isMemoryOccupied = true;
+    return true;
+  }
+
   /**
    * to get the byte value
    *
@@ -120,10 +142,14 @@ public abstract class UnsafeAbstractMeasureDataChunkStore<T> implements MeasureD
     if (isMemoryReleased) {
       return;
     }
-    MemoryAllocatorFactory.INSATANCE.getMemoryAllocator().free(dataPageMemoryBlock);
+    ChunkMemoryPool.INSTANCE.free(dataPageMemoryBlock);
     isMemoryReleased = true;
     this.dataPageMemoryBlock = null;
     this.isMemoryOccupied = false;
   }
 
+  @Override public long getMemorySize() {
+    return null == dataPageMemoryBlock ? 0L : dataPageMemoryBlock.size();
+  }
+
 }
@@ -20,8 +20,9 @@ import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
-import org.apache.carbondata.core.memory.MemoryAllocatorFactory;
+import org.apache.carbondata.core.memory.ChunkMemoryPool;
 import org.apache.carbondata.core.util.DataTypeUtil;
 
 /**
@@ -39,9 +40,17 @@ public class UnsafeBigDecimalMeasureChunkStore extends UnsafeAbstractMeasureData
     super(numberOfRows);
   }
 
+  /**
+   * offsets of the values are computed from the uncompressed data, so it is filled by putData
+   */
+  @Override
+  public boolean putCompressedData(Compressor compressor, byte[] data, int offset, int length) {
+    return false;
+  }
+
   @Override public void putData(byte[] data) {
     assert (!this.isMemoryOccupied);
-    this.dataPageMemoryBlock = MemoryAllocatorFactory.INSATANCE.getMemoryAllocator()
+    this.dataPageMemoryBlock = ChunkMemoryPool.INSTANCE
         .allocate(data.length + (numberOfRows * CarbonCommonConstants.INT_SIZE_IN_BYTE));
     this.offsetStartPosition = data.length;
     // copy the data to memory
@@ -18,7 +18,7 @@
 package org.apache.carbondata.core.datastore.chunk.store.impl.unsafe;
 
 import org.apache.carbondata.core.memory.CarbonUnsafe;
-import org.apache.carbondata.core.memory.MemoryAllocatorFactory;
+import org.apache.carbondata.core.memory.ChunkMemoryPool;
 
 /**
  * Responsible for storing Byte array data to memory. memory can be on heap or
@@ -37,8 +37,7 @@ public class UnsafeByteMeasureChunkStore extends UnsafeAbstractMeasureDataChunkS
    */
   @Override public void putData(byte[] data) {
     assert (!this.isMemoryOccupied);
-    this.dataPageMemoryBlock =
-        MemoryAllocatorFactory.INSATANCE.getMemoryAllocator().allocate(data.length);
+    this.dataPageMemoryBlock = ChunkMemoryPool.INSTANCE.allocate(data.length);
     // copy the data to memory
     CarbonUnsafe.unsafe
         .copyMemory(data, CarbonUnsafe.BYTE_ARRAY_OFFSET, dataPageMemoryBlock.getBaseObject(),
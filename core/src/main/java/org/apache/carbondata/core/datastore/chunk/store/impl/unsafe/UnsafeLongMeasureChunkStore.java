@@ -19,7 +19,7 @@ package org.apache.carbondata.core.datastore.chunk.store.impl.unsafe;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
-import org.apache.carbondata.core.memory.MemoryAllocatorFactory;
+import org.apache.carbondata.core.memory.ChunkMemoryPool;
 
 /**
  * Responsible for storing long array data to memory. memory can be on heap or
@@ -38,7 +38,7 @@ public class UnsafeLongMeasureChunkStore extends UnsafeAbstractMeasureDataChunkS
    */
   @Override public void putData(long[] data) {
     assert (!this.isMemoryOccupied);
-    this.dataPageMemoryBlock = MemoryAllocatorFactory.INSATANCE.getMemoryAllocator()
+    this.dataPageMemoryBlock = ChunkMemoryPool.INSTANCE
         .allocate(data.length * CarbonCommonConstants.LONG_SIZE_IN_BYTE);
     // copy the data to memory
     CarbonUnsafe.unsafe
@@ -20,6 +20,7 @@ package org.apache.carbondata.core.datastore.chunk.store.impl.unsafe;
 import java.nio.ByteBuffer;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
 
 /**
@@ -45,6 +46,14 @@ public class UnsafeVariableLengthDimesionDataChunkStore
     this.numberOfRows = numberOfRows;
   }
 
+  /**
+   * offsets of the values are computed from the uncompressed data, so it is filled by putArray
+   */
+  @Override public boolean putCompressedArray(int[] invertedIndex, int[] invertedIndexReverse,
+      Compressor compressor, byte[] data, int offset, int length) {
+    return false;
+  }
+
   /**
    * Below method will be used to put the rows and its metadata in offheap
    *
@@ -55,4 +55,20 @@ public interface Compressor {
 
   double[] unCompressDouble(byte[] compInput, int offset, int length);
 
+  /**
+   * @return length in bytes of the data once uncompressed
+   */
+  int unCompressedLength(byte[] compInput, int offset, int length);
+
+  /**
+   * Uncompresses the data straight into the memory given by the base object and offset, like
+   * the memory of a MemoryBlock, without allocating an intermediate array
+   *
+   * @param outputBase   array of an on heap block, null for an off heap address
+   * @param outputOffset offset of the block, the address for an off heap block
+   * @return length in bytes of the uncompressed data
+   */
+  int rawUnCompress(byte[] compInput, int offset, int length, Object outputBase,
+      long outputOffset);
+
 }
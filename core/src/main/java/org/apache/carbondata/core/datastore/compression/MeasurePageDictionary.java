@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore.compression;
+
+import java.nio.ByteBuffer;
+
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+
+/**
+ * Dictionary of the distinct values of a measure page. The page is stored as the distinct
+ * values followed by the index of the value of every row, both bit packed with frame of
+ * reference encoding, so a page with few distinct values needs only a few bits per row.
+ * <p>
+ * After decoding, the dictionary keeps the entry of every row and the first row of every entry,
+ * so that a filter can be evaluated once for each entry instead of once for each row.
+ */
+public final class MeasurePageDictionary {
+
+  /**
+   * first row having the value of each entry
+   */
+  private final int[] entryRows;
+
+  /**
+   * entry of the value of each row
+   */
+  private final int[] rowEntries;
+
+  /**
+   * distinct values of the page
+   */
+  private final long[] dictionary;
+
+  private MeasurePageDictionary(long[] dictionary, int[] entryRows, int[] rowEntries) {
+    this.dictionary = dictionary;
+    this.entryRows = entryRows;
+    this.rowEntries = rowEntries;
+  }
+
+  /**
+   * Below method will be used to encode a page with dictionary
+   *
+   * @param values             values of the page
+   * @param maxNumberOfEntries maximum number of distinct values of the page
+   * @return encoded page, null if the page has more distinct values than the maximum
+   */
+  public static byte[] encode(long[] values, int maxNumberOfEntries) {
+    if (values.length == 0 || maxNumberOfEntries <= 0) {
+      return null;
+    }
+    int maxEntries = Math.min(maxNumberOfEntries, values.length);
+    // open addressing table of the entries, at most half full, so the values are not boxed
+    int mask = (Integer.highestOneBit(maxEntries) << 2) - 1;
+    long[] slotValues = new long[mask + 1];
+    // entry of the value of each slot plus one, 0 for a free slot
+    int[] slotEntries = new int[mask + 1];
+    long[] dictionary = new long[maxEntries];
+    int numberOfEntries = 0;
+    long[] indexes = new long[values.length];
+    for (int i = 0; i < values.length; i++) {
+      long value = values[i];
+      int slot = (int) ((value * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+      while (slotEntries[slot] != 0 && slotValues[slot] != value) {
+        slot = (slot + 1) & mask;
+      }
+      if (slotEntries[slot] == 0) {
+        if (numberOfEntries == maxEntries) {
+          return null;
+        }
+        dictionary[numberOfEntries] = value;
+        slotValues[slot] = value;
+        slotEntries[slot] = ++numberOfEntries;
+      }
+      indexes[i] = slotEntries[slot] - 1;
+    }
+    long[] distinctValues = new long[numberOfEntries];
+    System.arraycopy(dictionary, 0, distinctValues, 0, numberOfEntries);
+    byte[] encodedDictionary =
+        PackedIntegerCodec.encode(Encoding.FRAME_OF_REFERENCE, distinctValues);
+    byte[] encodedIndexes = PackedIntegerCodec.encode(Encoding.FRAME_OF_REFERENCE, indexes);
+    byte[] page = new byte[encodedDictionary.length + encodedIndexes.length];
+    System.arraycopy(encodedDictionary, 0, page, 0, encodedDictionary.length);
+    System.arraycopy(encodedIndexes, 0, page, encodedDictionary.length, encodedIndexes.length);
+    return page;
+  }
+
+  /**
+   * Below method will be used to decode a page encoded with dictionary
+   *
+   * @param data encoded page
+   * @return page dictionary
+   */
+  public static MeasurePageDictionary decode(byte[] data) {
+    ByteBuffer buffer = ByteBuffer.wrap(data);
+    long[] dictionary = PackedIntegerCodec.decode(Encoding.FRAME_OF_REFERENCE, buffer);
+    long[] indexes = PackedIntegerCodec.decode(Encoding.FRAME_OF_REFERENCE, buffer);
+    int[] entryRows = new int[dictionary.length];
+    int[] rowEntries = new int[indexes.length];
+    for (int i = indexes.length - 1; i >= 0; i--) {
+      int entry = (int) indexes[i];
+      rowEntries[i] = entry;
+      entryRows[entry] = i;
+    }
+    return new MeasurePageDictionary(dictionary, entryRows, rowEntries);
+  }
+
+  /**
+   * @return number of distinct values of the page
+   */
+  public int getNumberOfEntries() {
+    return entryRows.length;
+  }
+
+  /**
+   * @param entry entry of the dictionary
+   * @return first row of the page having the value of the entry
+   */
+  public int getEntryRow(int entry) {
+    return entryRows[entry];
+  }
+
+  /**
+   * @param row row of the page
+   * @return entry of the value of the row
+   */
+  public int getRowEntry(int row) {
+    return rowEntries[row];
+  }
+
+  /**
+   * @return value of each row of the page
+   */
+  public long[] getValues() {
+    long[] values = new long[rowEntries.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = dictionary[rowEntries[i]];
+    }
+    return values;
+  }
+}
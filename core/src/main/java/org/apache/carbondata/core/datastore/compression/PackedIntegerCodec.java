@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore.compression;
+
+import java.nio.ByteBuffer;
+
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+
+/**
+ * Bit packed encodings of the integral values of a measure page.
+ * <p>
+ * FRAME_OF_REFERENCE stores the difference of every value to the minimum of the page with the
+ * number of bits needed for the range of the page. DELTA_OF_DELTA stores the first value and
+ * the first delta, followed by the differences between consecutive deltas packed in the same
+ * way, which needs very few bits for steadily increasing values like timestamps and counters.
+ * <p>
+ * Values are packed little endian into longs, value i starting at bit i * bitWidth. A value
+ * is extracted with two shifts of two consecutive longs without any branch, so the decoding
+ * loops have no data dependent branches and are unrolled.
+ * <p>
+ * Only measure pages are packed. The pages of the dictionary dimensions store every surrogate
+ * key byte aligned, with the bytes needed for the cardinality of the column, and the filters
+ * binary search and compare these keys in place at rowId * columnValueSize, also in the unsafe
+ * stores. Packing them to the exact bit width saves less than a byte per row, while every
+ * filter would have to unpack the page before it can compare the keys.
+ */
+public final class PackedIntegerCodec {
+
+  /**
+   * number of values, minimum and bit width
+   */
+  private static final int FRAME_OF_REFERENCE_HEADER_SIZE = 13;
+
+  /**
+   * number of values, first value, first delta, minimum delta of delta and bit width
+   */
+  private static final int DELTA_OF_DELTA_HEADER_SIZE = 29;
+
+  private PackedIntegerCodec() {
+  }
+
+  /**
+   * Below method will be used to select the encoding giving the smallest page
+   *
+   * @param values    values of the page
+   * @param valueSize size in bytes of the values when they are not packed
+   * @return FRAME_OF_REFERENCE or DELTA_OF_DELTA, null if packing does not make the page smaller
+   */
+  public static Encoding selectEncoding(long[] values, int valueSize) {
+    int count = values.length;
+    if (count == 0) {
+      return null;
+    }
+    long min = values[0];
+    long max = values[0];
+    for (int i = 1; i < count; i++) {
+      min = Math.min(min, values[i]);
+      max = Math.max(max, values[i]);
+    }
+    Encoding encoding = null;
+    long bestSize = (long) count * valueSize;
+    long frameOfReferenceSize =
+        FRAME_OF_REFERENCE_HEADER_SIZE + getPackedSize(count, getBitWidth(max - min));
+    if (frameOfReferenceSize < bestSize) {
+      encoding = Encoding.FRAME_OF_REFERENCE;
+      bestSize = frameOfReferenceSize;
+    }
+    if (count > 2) {
+      long previousDelta = values[1] - values[0];
+      long minDeltaOfDelta = Long.MAX_VALUE;
+      long maxDeltaOfDelta = Long.MIN_VALUE;
+      for (int i = 2; i < count; i++) {
+        long delta = values[i] - values[i - 1];
+        long deltaOfDelta = delta - previousDelta;
+        minDeltaOfDelta = Math.min(minDeltaOfDelta, deltaOfDelta);
+        maxDeltaOfDelta = Math.max(maxDeltaOfDelta, deltaOfDelta);
+        previousDelta = delta;
+      }
+      long deltaOfDeltaSize = DELTA_OF_DELTA_HEADER_SIZE
+          + getPackedSize(count - 2, getBitWidth(maxDeltaOfDelta - minDeltaOfDelta));
+      if (deltaOfDeltaSize < bestSize) {
+        encoding = Encoding.DELTA_OF_DELTA;
+      }
+    }
+    return encoding;
+  }
+
+  /**
+   * Below method will be used to encode the values of a page
+   *
+   * @param encoding FRAME_OF_REFERENCE or DELTA_OF_DELTA
+   * @param values   values of the page
+   * @return encoded page
+   */
+  public static byte[] encode(Encoding encoding, long[] values) {
+    switch (encoding) {
+      case FRAME_OF_REFERENCE:
+        return encodeFrameOfReference(values);
+      case DELTA_OF_DELTA:
+        return encodeDeltaOfDelta(values);
+      default:
+        throw new IllegalArgumentException("unsupported encoding: " + encoding);
+    }
+  }
+
+  /**
+   * Below method will be used to decode a page
+   *
+   * @param encoding encoding of the page
+   * @param data     encoded page
+   * @return values of the page
+   */
+  public static long[] decode(Encoding encoding, byte[] data) {
+    return decode(encoding, ByteBuffer.wrap(data));
+  }
+
+  /**
+   * Below method will be used to decode a page from the position of the buffer, which is moved
+   * to the end of the page
+   *
+   * @param encoding encoding of the page
+   * @param buffer   buffer holding the encoded page
+   * @return values of the page
+   */
+  public static long[] decode(Encoding encoding, ByteBuffer buffer) {
+    int count = buffer.getInt();
+    long[] values = new long[count];
+    switch (encoding) {
+      case FRAME_OF_REFERENCE:
+        return decodeFrameOfReference(buffer, values);
+      case DELTA_OF_DELTA:
+        return decodeDeltaOfDelta(buffer, values);
+      default:
+        throw new IllegalArgumentException("unsupported encoding: " + encoding);
+    }
+  }
+
+  private static byte[] encodeFrameOfReference(long[] values) {
+    long min = values[0];
+    long max = values[0];
+    for (int i = 1; i < values.length; i++) {
+      min = Math.min(min, values[i]);
+      max = Math.max(max, values[i]);
+    }
+    int bitWidth = getBitWidth(max - min);
+    ByteBuffer buffer = ByteBuffer.allocate(
+        FRAME_OF_REFERENCE_HEADER_SIZE + getPackedSize(values.length, bitWidth));
+    buffer.putInt(values.length);
+    buffer.putLong(min);
+    buffer.put((byte) bitWidth);
+    pack(values, 0, values.length, min, bitWidth, buffer);
+    return buffer.array();
+  }
+
+  private static byte[] encodeDeltaOfDelta(long[] values) {
+    int count = values.length;
+    long[] deltaOfDeltas = new long[count - 2];
+    long previousDelta = values[1] - values[0];
+    long minDeltaOfDelta = Long.MAX_VALUE;
+    long maxDeltaOfDelta = Long.MIN_VALUE;
+    for (int i = 2; i < count; i++) {
+      long delta = values[i] - values[i - 1];
+      long deltaOfDelta = delta - previousDelta;
+      deltaOfDeltas[i - 2] = deltaOfDelta;
+      minDeltaOfDelta = Math.min(minDeltaOfDelta, deltaOfDelta);
+      maxDeltaOfDelta = Math.max(maxDeltaOfDelta, deltaOfDelta);
+      previousDelta = delta;
+    }
+    int bitWidth = getBitWidth(maxDeltaOfDelta - minDeltaOfDelta);
+    ByteBuffer buffer = ByteBuffer
+        .allocate(DELTA_OF_DELTA_HEADER_SIZE + getPackedSize(deltaOfDeltas.length, bitWidth));
+    buffer.putInt(count);
+    buffer.putLong(values[0]);
+    buffer.putLong(values[1] - values[0]);
+    buffer.putLong(minDeltaOfDelta);
+    buffer.put((byte) bitWidth);
+    pack(deltaOfDeltas, 0, deltaOfDeltas.length, minDeltaOfDelta, bitWidth, buffer);
+    return buffer.array();
+  }
+
+  private static long[] decodeFrameOfReference(ByteBuffer buffer, long[] values) {
+    long min = buffer.getLong();
+    int bitWidth = buffer.get();
+    unpack(readWords(buffer, values.length, bitWidth), bitWidth, min, values, 0, values.length);
+    return values;
+  }
+
+  private static long[] decodeDeltaOfDelta(ByteBuffer buffer, long[] values) {
+    int count = values.length;
+    long firstValue = buffer.getLong();
+    long delta = buffer.getLong();
+    long minDeltaOfDelta = buffer.getLong();
+    int bitWidth = buffer.get();
+    values[0] = firstValue;
+    values[1] = firstValue + delta;
+    unpack(readWords(buffer, count - 2, bitWidth), bitWidth, minDeltaOfDelta, values, 2,
+        count - 2);
+    for (int i = 2; i < count; i++) {
+      delta += values[i];
+      values[i] = values[i - 1] + delta;
+    }
+    return values;
+  }
+
+  /**
+   * @param range unsigned difference between the biggest and the smallest value
+   * @return number of bits needed for the values of the range
+   */
+  private static int getBitWidth(long range) {
+    return 64 - Long.numberOfLeadingZeros(range);
+  }
+
+  /**
+   * @return number of bytes of the packed values, a multiple of 8
+   */
+  private static int getPackedSize(int count, int bitWidth) {
+    return (int) (((long) count * bitWidth + 63) >>> 6) << 3;
+  }
+
+  private static void pack(long[] values, int offset, int count, long base, int bitWidth,
+      ByteBuffer buffer) {
+    if (bitWidth == 0) {
+      return;
+    }
+    long[] words = new long[getPackedSize(count, bitWidth) >>> 3];
+    long bitIndex = 0;
+    for (int i = 0; i < count; i++) {
+      long value = values[offset + i] - base;
+      int wordIndex = (int) (bitIndex >>> 6);
+      int shift = (int) (bitIndex & 63);
+      words[wordIndex] |= value << shift;
+      if (shift + bitWidth > 64) {
+        words[wordIndex + 1] |= value >>> (64 - shift);
+      }
+      bitIndex += bitWidth;
+    }
+    buffer.asLongBuffer().put(words);
+  }
+
+  /**
+   * @return packed longs followed by one zero long, so that extraction can always read the
+   * long after the one holding the start of the value
+   */
+  private static long[] readWords(ByteBuffer buffer, int count, int bitWidth) {
+    int numberOfWords = getPackedSize(count, bitWidth) >>> 3;
+    long[] words = new long[numberOfWords + 1];
+    buffer.asLongBuffer().get(words, 0, numberOfWords);
+    buffer.position(buffer.position() + (numberOfWords << 3));
+    return words;
+  }
+
+  private static void unpack(long[] words, int bitWidth, long base, long[] output, int offset,
+      int count) {
+    if (bitWidth == 0) {
+      for (int i = 0; i < count; i++) {
+        output[offset + i] = base;
+      }
+      return;
+    }
+    long mask = bitWidth == 64 ? -1L : (1L << bitWidth) - 1;
+    long bitIndex = 0;
+    int i = 0;
+    for (; i + 4 <= count; i += 4) {
+      output[offset + i] = base + extract(words, bitIndex, mask);
+      output[offset + i + 1] = base + extract(words, bitIndex + bitWidth, mask);
+      output[offset + i + 2] = base + extract(words, bitIndex + 2 * bitWidth, mask);
+      output[offset + i + 3] = base + extract(words, bitIndex + 3 * bitWidth, mask);
+      bitIndex += 4 * bitWidth;
+    }
+    for (; i < count; i++) {
+      output[offset + i] = base + extract(words, bitIndex, mask);
+      bitIndex += bitWidth;
+    }
+  }
+
+  private static long extract(long[] words, long bitIndex, long mask) {
+    int wordIndex = (int) (bitIndex >>> 6);
+    int shift = (int) (bitIndex & 63);
+    // the next long is shifted in two steps, so that nothing is taken from it when shift is 0
+    return ((words[wordIndex] >>> shift) | ((words[wordIndex + 1] << 1) << (63 - shift))) & mask;
+  }
+}
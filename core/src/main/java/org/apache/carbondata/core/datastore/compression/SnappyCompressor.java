@@ -22,6 +22,9 @@ import java.lang.reflect.Field;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.memory.CarbonUnsafe;
+import org.apache.carbondata.core.memory.ChunkMemoryPool;
+import org.apache.carbondata.core.memory.MemoryBlock;
 
 import org.xerial.snappy.Snappy;
 import org.xerial.snappy.SnappyNative;
@@ -217,4 +220,35 @@ public class SnappyCompressor implements Compressor {
     }
     return null;
   }
+
+  @Override public int unCompressedLength(byte[] compInput, int offset, int length) {
+    try {
+      return Snappy.uncompressedLength(compInput, offset, length);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override public int rawUnCompress(byte[] compInput, int offset, int length, Object outputBase,
+      long outputOffset) {
+    try {
+      if (null != outputBase) {
+        // on heap block, snappy takes the offset relative to the start of the array
+        return snappyNative.rawUncompress(compInput, offset, length, outputBase,
+            (int) (outputOffset - CarbonUnsafe.unsafe.arrayBaseOffset(outputBase.getClass())));
+      }
+      // the address based api needs the compressed data off heap as well, so it is copied to
+      // a pooled block, which is smaller than the uncompressed data and reused across pages
+      MemoryBlock input = ChunkMemoryPool.INSTANCE.allocateScratch(length);
+      try {
+        CarbonUnsafe.unsafe.copyMemory(compInput, CarbonUnsafe.BYTE_ARRAY_OFFSET + offset, null,
+            input.getBaseOffset(), length);
+        return (int) Snappy.rawUncompress(input.getBaseOffset(), length, outputOffset);
+      } finally {
+        ChunkMemoryPool.INSTANCE.free(input);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
 }
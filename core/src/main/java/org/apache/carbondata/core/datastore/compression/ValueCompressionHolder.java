@@ -19,6 +19,12 @@ package org.apache.carbondata.core.datastore.compression;
 
 import java.math.BigDecimal;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.chunk.store.MeasureChunkStoreFactory;
+import org.apache.carbondata.core.datastore.chunk.store.MeasureDataChunkStore;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.ValueCompressionUtil;
 import org.apache.carbondata.core.util.ValueCompressionUtil.DataType;
 
 /**
@@ -32,6 +38,17 @@ public abstract class ValueCompressionHolder<T> {
    */
   protected byte[] compressedValue;
 
+  /**
+   * bit packed or dictionary encoding of the values of the page, null if the values are
+   * compressed at their data type width
+   */
+  private Encoding pageEncoding;
+
+  /**
+   * dictionary of the uncompressed page, null if the page is not dictionary encoded
+   */
+  private MeasurePageDictionary pageDictionary;
+
   /**
    * @param compressor the compressor used to decompress the data
    * @param dataType   data type of the data
@@ -39,6 +56,30 @@ public abstract class ValueCompressionHolder<T> {
    */
   protected void unCompress(Compressor compressor, DataType dataType, byte[] data, int offset,
       int length, int numberOfRows, Object maxValueObject, int decimalPlaces) {
+    if (null != pageEncoding) {
+      byte[] encodedPage = compressor.unCompressByte(data, offset, length);
+      long[] values;
+      if (pageEncoding == Encoding.PAGE_DICTIONARY) {
+        pageDictionary = MeasurePageDictionary.decode(encodedPage);
+        values = pageDictionary.getValues();
+      } else {
+        values = PackedIntegerCodec.decode(pageEncoding, encodedPage);
+      }
+      setValue((T) toDataTypeArray(dataType, values), numberOfRows, maxValueObject,
+          decimalPlaces);
+      return;
+    }
+    // unsafe stores are filled straight from the compressed data, without the on heap array
+    // of the values which would only be copied to the store
+    DataType storeDataType = getMeasureChunkStoreDataType(dataType);
+    if (null != storeDataType) {
+      MeasureDataChunkStore<T> measureChunkStore = MeasureChunkStoreFactory.INSTANCE
+          .getMeasureDataChunkStore(storeDataType, numberOfRows);
+      if (measureChunkStore.putCompressedData(compressor, data, offset, length)) {
+        setMeasureChunkStore(measureChunkStore, maxValueObject, decimalPlaces);
+        return;
+      }
+    }
     switch (dataType) {
       case DATA_BYTE:
         setValue((T) compressor.unCompressByte(data, offset, length), numberOfRows, maxValueObject,
@@ -74,6 +115,11 @@ public abstract class ValueCompressionHolder<T> {
    * @param data       original data
    */
   public byte[] compress(Compressor compressor, DataType dataType, Object data) {
+    pageEncoding = null;
+    byte[] encodedPage = encodePage(dataType, data);
+    if (null != encodedPage) {
+      return compressor.compressByte(encodedPage);
+    }
     switch (dataType) {
       case DATA_BYTE:
         return compressor.compressByte((byte[]) data);
@@ -92,10 +138,221 @@ public abstract class ValueCompressionHolder<T> {
     }
   }
 
+  /**
+   * Below method will be used to encode the page with the encoding giving the smallest page:
+   * bit packing of integral values, or a dictionary when the page has few distinct values
+   *
+   * @param dataType data type of the data
+   * @param data     original data
+   * @return encoded page, null if the values are to be compressed at their data type width
+   */
+  private byte[] encodePage(DataType dataType, Object data) {
+    boolean isPackingEnabled = isIntegral(dataType) && isIntegerPackingEnabled();
+    int dictionaryThreshold = getPageDictionaryThreshold();
+    if (!isPackingEnabled && dictionaryThreshold <= 0) {
+      return null;
+    }
+    long[] values = toLongArray(dataType, data);
+    if (null == values) {
+      return null;
+    }
+    int valueSize = ValueCompressionUtil.getSize(dataType);
+    byte[] encodedPage = null;
+    if (isPackingEnabled) {
+      Encoding packedEncoding = PackedIntegerCodec.selectEncoding(values, valueSize);
+      if (null != packedEncoding) {
+        encodedPage = PackedIntegerCodec.encode(packedEncoding, values);
+        pageEncoding = packedEncoding;
+      }
+    }
+    if (dictionaryThreshold > 0) {
+      byte[] dictionaryPage = MeasurePageDictionary.encode(values, dictionaryThreshold);
+      long bestSize = null == encodedPage ? (long) values.length * valueSize : encodedPage.length;
+      if (null != dictionaryPage && dictionaryPage.length < bestSize) {
+        encodedPage = dictionaryPage;
+        pageEncoding = Encoding.PAGE_DICTIONARY;
+      }
+    }
+    return encodedPage;
+  }
+
+  /**
+   * @return bit packed or dictionary encoding of the page, null if the values are not encoded
+   */
+  public Encoding getPageEncoding() {
+    return pageEncoding;
+  }
+
+  /**
+   * Below method will be used to set the encoding of the page to be uncompressed
+   *
+   * @param pageEncoding bit packed or dictionary encoding of the page, null if the values are
+   *                     not encoded
+   */
+  public void setPageEncoding(Encoding pageEncoding) {
+    this.pageEncoding = pageEncoding;
+  }
+
+  /**
+   * @return dictionary of the page, null if the page is not dictionary encoded
+   */
+  public MeasurePageDictionary getPageDictionary() {
+    return pageDictionary;
+  }
+
+  private static boolean isIntegerPackingEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.ENABLE_MEASURE_INTEGER_PACKING,
+            CarbonCommonConstants.ENABLE_MEASURE_INTEGER_PACKING_DEFAULT));
+  }
+
+  private static int getPageDictionaryThreshold() {
+    try {
+      return Integer.parseInt(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.MEASURE_PAGE_DICTIONARY_THRESHOLD,
+              CarbonCommonConstants.MEASURE_PAGE_DICTIONARY_THRESHOLD_DEFAULT));
+    } catch (NumberFormatException e) {
+      return Integer.parseInt(CarbonCommonConstants.MEASURE_PAGE_DICTIONARY_THRESHOLD_DEFAULT);
+    }
+  }
+
+  private static boolean isIntegral(DataType dataType) {
+    switch (dataType) {
+      case DATA_BYTE:
+      case DATA_SHORT:
+      case DATA_INT:
+      case DATA_LONG:
+      case DATA_BIGINT:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * @return values of the page as longs, floating point values as their bits, null if the
+   * values are not numbers
+   */
+  private static long[] toLongArray(DataType dataType, Object data) {
+    long[] values;
+    switch (dataType) {
+      case DATA_BYTE:
+        byte[] byteData = (byte[]) data;
+        values = new long[byteData.length];
+        for (int i = 0; i < byteData.length; i++) {
+          values[i] = byteData[i];
+        }
+        return values;
+      case DATA_SHORT:
+        short[] shortData = (short[]) data;
+        values = new long[shortData.length];
+        for (int i = 0; i < shortData.length; i++) {
+          values[i] = shortData[i];
+        }
+        return values;
+      case DATA_INT:
+        int[] intData = (int[]) data;
+        values = new long[intData.length];
+        for (int i = 0; i < intData.length; i++) {
+          values[i] = intData[i];
+        }
+        return values;
+      case DATA_LONG:
+      case DATA_BIGINT:
+        return (long[]) data;
+      case DATA_FLOAT:
+        float[] floatData = (float[]) data;
+        values = new long[floatData.length];
+        for (int i = 0; i < floatData.length; i++) {
+          values[i] = Float.floatToRawIntBits(floatData[i]);
+        }
+        return values;
+      case DATA_DOUBLE:
+        double[] doubleData = (double[]) data;
+        values = new long[doubleData.length];
+        for (int i = 0; i < doubleData.length; i++) {
+          values[i] = Double.doubleToRawLongBits(doubleData[i]);
+        }
+        return values;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * @return values converted back to the array type the page was compressed from
+   */
+  private static Object toDataTypeArray(DataType dataType, long[] values) {
+    switch (dataType) {
+      case DATA_BYTE:
+        byte[] byteData = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+          byteData[i] = (byte) values[i];
+        }
+        return byteData;
+      case DATA_SHORT:
+        short[] shortData = new short[values.length];
+        for (int i = 0; i < values.length; i++) {
+          shortData[i] = (short) values[i];
+        }
+        return shortData;
+      case DATA_INT:
+        int[] intData = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+          intData[i] = (int) values[i];
+        }
+        return intData;
+      case DATA_FLOAT:
+        float[] floatData = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+          floatData[i] = Float.intBitsToFloat((int) values[i]);
+        }
+        return floatData;
+      case DATA_DOUBLE:
+        double[] doubleData = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+          doubleData[i] = Double.longBitsToDouble(values[i]);
+        }
+        return doubleData;
+      default:
+        return values;
+    }
+  }
+
   public abstract void setValue(T value);
 
   public abstract void setValue(T data, int numberOfRows, Object maxValueObject, int decimalPlaces);
 
+  /**
+   * Below method will be used to set the store holding the uncompressed values
+   *
+   * @param measureChunkStore store filled with the values
+   * @param maxValueObject    max value of the chunk
+   * @param decimalPlaces     decimal places of the chunk
+   */
+  protected abstract void setMeasureChunkStore(MeasureDataChunkStore<T> measureChunkStore,
+      Object maxValueObject, int decimalPlaces);
+
+  /**
+   * @param dataType data type the values were compressed with
+   * @return data type of the store holding the values, null if the values can not be
+   * uncompressed straight into a store
+   */
+  protected DataType getMeasureChunkStoreDataType(DataType dataType) {
+    switch (dataType) {
+      case DATA_BYTE:
+      case DATA_SHORT:
+      case DATA_INT:
+      case DATA_LONG:
+      case DATA_DOUBLE:
+        return dataType;
+      case DATA_BIGINT:
+        return DataType.DATA_LONG;
+      default:
+        return null;
+    }
+  }
+
   public abstract T getValue();
 
   public abstract void setValueInBytes(byte[] value);
@@ -115,6 +372,37 @@ public abstract class ValueCompressionHolder<T> {
 
   public abstract BigDecimal getBigDecimalValue(int index);
 
+  /**
+   * Below method will be used to decode the double values of a range of rows in one call
+   *
+   * @param output array the values are written to, starting from index 0
+   * @param offset first row to decode
+   * @param count  number of rows to decode
+   */
+  public void decodeInto(double[] output, int offset, int count) {
+    for (int i = 0; i < count; i++) {
+      output[i] = getDoubleValue(offset + i);
+    }
+  }
+
+  /**
+   * Below method will be used to decode the long values of a range of rows in one call
+   *
+   * @param output array the values are written to, starting from index 0
+   * @param offset first row to decode
+   * @param count  number of rows to decode
+   */
+  public void decodeInto(long[] output, int offset, int count) {
+    for (int i = 0; i < count; i++) {
+      output[i] = getLongValue(offset + i);
+    }
+  }
+
   public abstract void freeMemory();
 
+  /**
+   * @return number of bytes of the memory occupied by the uncompressed values
+   */
+  public abstract long getMemorySize();
+
 }
@@ -59,6 +59,14 @@ public class CompressByteArray extends ValueCompressionHolder<byte[]> {
     compressedValue = compressor.compressByte(value);
   }
 
+  /**
+   * values are kept in the big decimal store, whose offsets are computed from the uncompressed
+   * data
+   */
+  @Override protected DataType getMeasureChunkStoreDataType(DataType dataType) {
+    return null;
+  }
+
   @Override public void uncompress(DataType dataType, byte[] compressedData, int offset, int length,
       int decimal, Object maxValueObject, int numberOfRows) {
     super.unCompress(compressor, dataType, compressedData, offset, length, numberOfRows,
@@ -98,10 +106,20 @@ public class CompressByteArray extends ValueCompressionHolder<byte[]> {
     this.measureChunkStore.freeMemory();
   }
 
+  @Override public long getMemorySize() {
+    return this.measureChunkStore.getMemorySize();
+  }
+
   @Override
   public void setValue(byte[] data, int numberOfRows, Object maxValueObject, int decimalPlaces) {
-    this.measureChunkStore = MeasureChunkStoreFactory.INSTANCE
+    MeasureDataChunkStore<byte[]> measureChunkStore = MeasureChunkStoreFactory.INSTANCE
         .getMeasureDataChunkStore(DataType.DATA_BIGDECIMAL, numberOfRows);
-    this.measureChunkStore.putData(data);
+    measureChunkStore.putData(data);
+    setMeasureChunkStore(measureChunkStore, maxValueObject, decimalPlaces);
+  }
+
+  @Override protected void setMeasureChunkStore(MeasureDataChunkStore<byte[]> measureChunkStore,
+      Object maxValueObject, int decimalPlaces) {
+    this.measureChunkStore = measureChunkStore;
   }
 }
@@ -100,16 +100,25 @@ public class CompressionMaxMinByte extends ValueCompressionHolder<byte[]> {
     this.measureChunkStore.freeMemory();
   }
 
+  @Override public long getMemorySize() {
+    return this.measureChunkStore.getMemorySize();
+  }
+
   @Override
   public void setValue(byte[] data, int numberOfRows, Object maxValueObject, int decimalPlaces) {
-    this.measureChunkStore = MeasureChunkStoreFactory.INSTANCE
+    MeasureDataChunkStore<byte[]> measureChunkStore = MeasureChunkStoreFactory.INSTANCE
         .getMeasureDataChunkStore(DataType.DATA_BYTE, numberOfRows);
-    this.measureChunkStore.putData(data);
+    measureChunkStore.putData(data);
+    setMeasureChunkStore(measureChunkStore, maxValueObject, decimalPlaces);
+  }
+
+  @Override protected void setMeasureChunkStore(MeasureDataChunkStore<byte[]> measureChunkStore,
+      Object maxValueObject, int decimalPlaces) {
+    this.measureChunkStore = measureChunkStore;
     if (maxValueObject instanceof Long) {
       this.maxValue = (long) maxValueObject;
     } else {
       this.maxValue = (double) maxValueObject;
     }
-
   }
 }
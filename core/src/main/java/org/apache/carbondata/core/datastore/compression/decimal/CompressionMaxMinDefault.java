@@ -103,16 +103,25 @@ public class CompressionMaxMinDefault extends ValueCompressionHolder<double[]> {
     this.measureChunkStore.freeMemory();
   }
 
+  @Override public long getMemorySize() {
+    return this.measureChunkStore.getMemorySize();
+  }
+
   @Override
   public void setValue(double[] data, int numberOfRows, Object maxValueObject, int decimalPlaces) {
-    this.measureChunkStore = MeasureChunkStoreFactory.INSTANCE
+    MeasureDataChunkStore<double[]> measureChunkStore = MeasureChunkStoreFactory.INSTANCE
         .getMeasureDataChunkStore(DataType.DATA_DOUBLE, numberOfRows);
-    this.measureChunkStore.putData(data);
+    measureChunkStore.putData(data);
+    setMeasureChunkStore(measureChunkStore, maxValueObject, decimalPlaces);
+  }
+
+  @Override protected void setMeasureChunkStore(MeasureDataChunkStore<double[]> measureChunkStore,
+      Object maxValueObject, int decimalPlaces) {
+    this.measureChunkStore = measureChunkStore;
     if (maxValueObject instanceof Long) {
       this.maxValue = (long) maxValueObject;
     } else {
       this.maxValue = (double) maxValueObject;
     }
-
   }
 }
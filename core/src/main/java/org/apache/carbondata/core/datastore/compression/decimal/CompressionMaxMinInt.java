@@ -99,11 +99,21 @@ public class CompressionMaxMinInt extends ValueCompressionHolder<int[]> {
     this.measureChunkStore.freeMemory();
   }
 
+  @Override public long getMemorySize() {
+    return this.measureChunkStore.getMemorySize();
+  }
+
   @Override
   public void setValue(int[] data, int numberOfRows, Object maxValueObject, int decimalPlaces) {
-    this.measureChunkStore =
+    MeasureDataChunkStore<int[]> measureChunkStore =
         MeasureChunkStoreFactory.INSTANCE.getMeasureDataChunkStore(DataType.DATA_INT, numberOfRows);
-    this.measureChunkStore.putData(data);
+    measureChunkStore.putData(data);
+    setMeasureChunkStore(measureChunkStore, maxValueObject, decimalPlaces);
+  }
+
+  @Override protected void setMeasureChunkStore(MeasureDataChunkStore<int[]> measureChunkStore,
+      Object maxValueObject, int decimalPlaces) {
+    this.measureChunkStore = measureChunkStore;
     if (maxValueObject instanceof Long) {
       this.maxValue = (long) maxValueObject;
     } else {
@@ -99,11 +99,21 @@ public class CompressionMaxMinLong extends ValueCompressionHolder<long[]> {
     this.measureChunkStore.freeMemory();
   }
 
+  @Override public long getMemorySize() {
+    return this.measureChunkStore.getMemorySize();
+  }
+
   @Override
   public void setValue(long[] data, int numberOfRows, Object maxValueObject, int decimalPlaces) {
-    this.measureChunkStore = MeasureChunkStoreFactory.INSTANCE
+    MeasureDataChunkStore<long[]> measureChunkStore = MeasureChunkStoreFactory.INSTANCE
         .getMeasureDataChunkStore(DataType.DATA_LONG, numberOfRows);
-    this.measureChunkStore.putData(data);
+    measureChunkStore.putData(data);
+    setMeasureChunkStore(measureChunkStore, maxValueObject, decimalPlaces);
+  }
+
+  @Override protected void setMeasureChunkStore(MeasureDataChunkStore<long[]> measureChunkStore,
+      Object maxValueObject, int decimalPlaces) {
+    this.measureChunkStore = measureChunkStore;
     if (maxValueObject instanceof Long) {
       this.maxValue = (long) maxValueObject;
     } else {
@@ -47,9 +47,7 @@ public class CompressionNonDecimalMaxMinByte extends ValueCompressionHolder<byte
 
   private MeasureDataChunkStore<byte[]> measureChunkStore;
 
-  private BigDecimal maxValue;
-
-  private double divisionFactor;
+  private NonDecimalMaxMinDecoder decoder;
 
   @Override public void uncompress(DataType dataType, byte[] compressedData, int offset, int length,
       int decimalPlaces, Object maxValueObject, int numberOfRows) {
@@ -75,10 +73,13 @@ public class CompressionNonDecimalMaxMinByte extends ValueCompressionHolder<byte
   }
 
   @Override public double getDoubleValue(int index) {
-    byte byteValue = measureChunkStore.getByte(index);
-    BigDecimal diff = BigDecimal.valueOf(byteValue / this.divisionFactor);
-    return maxValue.subtract(diff).doubleValue();
+    return decoder.decode(measureChunkStore.getByte(index));
+  }
 
+  @Override public void decodeInto(double[] output, int offset, int count) {
+    for (int i = 0; i < count; i++) {
+      output[i] = decoder.decode(measureChunkStore.getByte(offset + i));
+    }
   }
 
   @Override public BigDecimal getBigDecimalValue(int index) {
@@ -90,16 +91,25 @@ public class CompressionNonDecimalMaxMinByte extends ValueCompressionHolder<byte
     this.measureChunkStore.freeMemory();
   }
 
+  @Override public long getMemorySize() {
+    return this.measureChunkStore.getMemorySize();
+  }
+
   @Override public byte[] getValue() {
     return this.value;
   }
 
   @Override
   public void setValue(byte[] data, int numberOfRows, Object maxValueObject, int decimalPlaces) {
-    this.measureChunkStore = MeasureChunkStoreFactory.INSTANCE
+    MeasureDataChunkStore<byte[]> measureChunkStore = MeasureChunkStoreFactory.INSTANCE
         .getMeasureDataChunkStore(DataType.DATA_BYTE, numberOfRows);
-    this.measureChunkStore.putData(data);
-    this.maxValue = BigDecimal.valueOf((double) maxValueObject);
-    this.divisionFactor = Math.pow(10, decimalPlaces);
+    measureChunkStore.putData(data);
+    setMeasureChunkStore(measureChunkStore, maxValueObject, decimalPlaces);
+  }
+
+  @Override protected void setMeasureChunkStore(MeasureDataChunkStore<byte[]> measureChunkStore,
+      Object maxValueObject, int decimalPlaces) {
+    this.measureChunkStore = measureChunkStore;
+    this.decoder = new NonDecimalMaxMinDecoder((double) maxValueObject, decimalPlaces);
   }
 }
@@ -49,9 +49,7 @@ public class CompressionNonDecimalMaxMinDefault extends ValueCompressionHolder<d
 
   private MeasureDataChunkStore<double[]> measureChunkStore;
 
-  private BigDecimal maxValue;
-
-  private double divisionFactor;
+  private NonDecimalMaxMinDecoder decoder;
 
   @Override public void setValue(double[] value) {
     this.value = value;
@@ -82,9 +80,13 @@ public class CompressionNonDecimalMaxMinDefault extends ValueCompressionHolder<d
   }
 
   @Override public double getDoubleValue(int index) {
-    double doubleValue = measureChunkStore.getDouble(index);
-    BigDecimal diff = BigDecimal.valueOf(doubleValue / this.divisionFactor);
-    return maxValue.subtract(diff).doubleValue();
+    return decoder.decode(measureChunkStore.getDouble(index));
+  }
+
+  @Override public void decodeInto(double[] output, int offset, int count) {
+    for (int i = 0; i < count; i++) {
+      output[i] = decoder.decode(measureChunkStore.getDouble(offset + i));
+    }
   }
 
   @Override public BigDecimal getBigDecimalValue(int index) {
@@ -96,12 +98,21 @@ public class CompressionNonDecimalMaxMinDefault extends ValueCompressionHolder<d
     this.measureChunkStore.freeMemory();
   }
 
+  @Override public long getMemorySize() {
+    return this.measureChunkStore.getMemorySize();
+  }
+
   @Override
   public void setValue(double[] data, int numberOfRows, Object maxValueObject, int decimalPlaces) {
-    this.measureChunkStore = MeasureChunkStoreFactory.INSTANCE
+    MeasureDataChunkStore<double[]> measureChunkStore = MeasureChunkStoreFactory.INSTANCE
         .getMeasureDataChunkStore(DataType.DATA_DOUBLE, numberOfRows);
-    this.measureChunkStore.putData(data);
-    this.maxValue = BigDecimal.valueOf((double) maxValueObject);
-    this.divisionFactor = Math.pow(10, decimalPlaces);
+    measureChunkStore.putData(data);
+    setMeasureChunkStore(measureChunkStore, maxValueObject, decimalPlaces);
+  }
+
+  @Override protected void setMeasureChunkStore(MeasureDataChunkStore<double[]> measureChunkStore,
+      Object maxValueObject, int decimalPlaces) {
+    this.measureChunkStore = measureChunkStore;
+    this.decoder = new NonDecimalMaxMinDecoder((double) maxValueObject, decimalPlaces);
   }
 }
@@ -47,9 +47,7 @@ public class CompressionNonDecimalMaxMinInt extends ValueCompressionHolder<int[]
 
   private MeasureDataChunkStore<int[]> measureChunkStore;
 
-  private double divisionFactor;
-
-  private BigDecimal maxValue;
+  private NonDecimalMaxMinDecoder decoder;
 
   @Override public void setValue(int[] value) {
     this.value = value;
@@ -72,7 +70,6 @@ public class CompressionNonDecimalMaxMinInt extends ValueCompressionHolder<int[]
       int decimalPlaces, Object maxValueObject, int numberOfRows) {
     super.unCompress(compressor, dataType, compressedData, offset, length, numberOfRows,
         maxValueObject, decimalPlaces);
-    setUncompressedValues(value, decimalPlaces, maxValueObject);
   }
 
   @Override public long getLongValue(int index) {
@@ -81,9 +78,13 @@ public class CompressionNonDecimalMaxMinInt extends ValueCompressionHolder<int[]
   }
 
   @Override public double getDoubleValue(int index) {
-    int intValue = measureChunkStore.getInt(index);
-    BigDecimal diff = BigDecimal.valueOf(intValue / this.divisionFactor);
-    return maxValue.subtract(diff).doubleValue();
+    return decoder.decode(measureChunkStore.getInt(index));
+  }
+
+  @Override public void decodeInto(double[] output, int offset, int count) {
+    for (int i = 0; i < count; i++) {
+      output[i] = decoder.decode(measureChunkStore.getInt(offset + i));
+    }
   }
 
   @Override public BigDecimal getBigDecimalValue(int index) {
@@ -91,25 +92,25 @@ public class CompressionNonDecimalMaxMinInt extends ValueCompressionHolder<int[]
         "Big decimal value is not defined for CompressionNonDecimalMaxMinInt");
   }
 
-  private void setUncompressedValues(int[] data, int decimalPlaces, Object maxValueObject) {
-    this.measureChunkStore =
-        MeasureChunkStoreFactory.INSTANCE.getMeasureDataChunkStore(DataType.DATA_INT, data.length);
-    this.measureChunkStore.putData(data);
-    this.maxValue = BigDecimal.valueOf((double) maxValueObject);
-    this.divisionFactor = Math.pow(10, decimalPlaces);
-  }
-
   @Override public void freeMemory() {
     this.measureChunkStore.freeMemory();
   }
 
+  @Override public long getMemorySize() {
+    return this.measureChunkStore.getMemorySize();
+  }
+
   @Override
   public void setValue(int[] data, int numberOfRows, Object maxValueObject, int decimalPlaces) {
-    this.measureChunkStore =
+    MeasureDataChunkStore<int[]> measureChunkStore =
         MeasureChunkStoreFactory.INSTANCE.getMeasureDataChunkStore(DataType.DATA_INT, numberOfRows);
-    this.measureChunkStore.putData(data);
-    this.maxValue = BigDecimal.valueOf((double) maxValueObject);
-    this.divisionFactor = Math.pow(10, decimalPlaces);
+    measureChunkStore.putData(data);
+    setMeasureChunkStore(measureChunkStore, maxValueObject, decimalPlaces);
+  }
 
+  @Override protected void setMeasureChunkStore(MeasureDataChunkStore<int[]> measureChunkStore,
+      Object maxValueObject, int decimalPlaces) {
+    this.measureChunkStore = measureChunkStore;
+    this.decoder = new NonDecimalMaxMinDecoder((double) maxValueObject, decimalPlaces);
   }
 }
@@ -48,9 +48,7 @@ public class CompressionNonDecimalMaxMinLong extends ValueCompressionHolder<long
 
   private MeasureDataChunkStore<long[]> measureChunkStore;
 
-  private BigDecimal maxValue;
-
-  private double divisionFactor;
+  private NonDecimalMaxMinDecoder decoder;
 
   @Override public void setValue(long[] value) {
     this.value = value;
@@ -82,9 +80,13 @@ public class CompressionNonDecimalMaxMinLong extends ValueCompressionHolder<long
   }
 
   @Override public double getDoubleValue(int index) {
-    long longValue = measureChunkStore.getLong(index);
-    BigDecimal diff = BigDecimal.valueOf(longValue / this.divisionFactor);
-    return maxValue.subtract(diff).doubleValue();
+    return decoder.decode(measureChunkStore.getLong(index));
+  }
+
+  @Override public void decodeInto(double[] output, int offset, int count) {
+    for (int i = 0; i < count; i++) {
+      output[i] = decoder.decode(measureChunkStore.getLong(offset + i));
+    }
   }
 
   @Override public BigDecimal getBigDecimalValue(int index) {
@@ -95,12 +97,21 @@ public class CompressionNonDecimalMaxMinLong extends ValueCompressionHolder<long
     this.measureChunkStore.freeMemory();
   }
 
+  @Override public long getMemorySize() {
+    return this.measureChunkStore.getMemorySize();
+  }
+
   @Override
   public void setValue(long[] data, int numberOfRows, Object maxValueObject, int decimalPlaces) {
-    this.measureChunkStore = MeasureChunkStoreFactory.INSTANCE
+    MeasureDataChunkStore<long[]> measureChunkStore = MeasureChunkStoreFactory.INSTANCE
         .getMeasureDataChunkStore(DataType.DATA_LONG, numberOfRows);
-    this.measureChunkStore.putData(data);
-    this.maxValue = BigDecimal.valueOf((double) maxValueObject);
-    this.divisionFactor = Math.pow(10, decimalPlaces);
+    measureChunkStore.putData(data);
+    setMeasureChunkStore(measureChunkStore, maxValueObject, decimalPlaces);
+  }
+
+  @Override protected void setMeasureChunkStore(MeasureDataChunkStore<long[]> measureChunkStore,
+      Object maxValueObject, int decimalPlaces) {
+    this.measureChunkStore = measureChunkStore;
+    this.decoder = new NonDecimalMaxMinDecoder((double) maxValueObject, decimalPlaces);
   }
 }
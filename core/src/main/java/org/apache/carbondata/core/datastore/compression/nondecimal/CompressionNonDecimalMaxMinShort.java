@@ -47,9 +47,7 @@ public class CompressionNonDecimalMaxMinShort extends ValueCompressionHolder<sho
 
   private MeasureDataChunkStore<short[]> measureChunkStore;
 
-  private BigDecimal maxValue;
-
-  private double divisionFactor;
+  private NonDecimalMaxMinDecoder decoder;
 
   @Override public void setValue(short[] value) {
     this.value = value;
@@ -80,9 +78,13 @@ public class CompressionNonDecimalMaxMinShort extends ValueCompressionHolder<sho
   }
 
   @Override public double getDoubleValue(int index) {
-    short shortValue = measureChunkStore.getShort(index);
-    BigDecimal diff = BigDecimal.valueOf(shortValue / this.divisionFactor);
-    return maxValue.subtract(diff).doubleValue();
+    return decoder.decode(measureChunkStore.getShort(index));
+  }
+
+  @Override public void decodeInto(double[] output, int offset, int count) {
+    for (int i = 0; i < count; i++) {
+      output[i] = decoder.decode(measureChunkStore.getShort(offset + i));
+    }
   }
 
   @Override public BigDecimal getBigDecimalValue(int index) {
@@ -93,13 +95,21 @@ public class CompressionNonDecimalMaxMinShort extends ValueCompressionHolder<sho
     this.measureChunkStore.freeMemory();
   }
 
+  @Override public long getMemorySize() {
+    return this.measureChunkStore.getMemorySize();
+  }
+
   @Override
   public void setValue(short[] data, int numberOfRows, Object maxValueObject, int decimalPlaces) {
-    this.measureChunkStore = MeasureChunkStoreFactory.INSTANCE
+    MeasureDataChunkStore<short[]> measureChunkStore = MeasureChunkStoreFactory.INSTANCE
         .getMeasureDataChunkStore(DataType.DATA_SHORT, numberOfRows);
-    this.measureChunkStore.putData(data);
-    this.maxValue = BigDecimal.valueOf((double) maxValueObject);
-    this.divisionFactor = Math.pow(10, decimalPlaces);
+    measureChunkStore.putData(data);
+    setMeasureChunkStore(measureChunkStore, maxValueObject, decimalPlaces);
+  }
 
+  @Override protected void setMeasureChunkStore(MeasureDataChunkStore<short[]> measureChunkStore,
+      Object maxValueObject, int decimalPlaces) {
+    this.measureChunkStore = measureChunkStore;
+    this.decoder = new NonDecimalMaxMinDecoder((double) maxValueObject, decimalPlaces);
   }
 }
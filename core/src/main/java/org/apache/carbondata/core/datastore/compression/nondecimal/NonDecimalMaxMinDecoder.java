@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore.compression.nondecimal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Decodes the values of the non decimal max min codecs, which store
+ * (max - actual) * 10^decimalPlaces, to the value given by
+ * BigDecimal.valueOf(max).subtract(BigDecimal.valueOf(value / 10^decimalPlaces)).doubleValue().
+ * <p>
+ * The decimal of max is scaled once per chunk to a long with a scale that is also valid for the
+ * stored values, so that both sides of the subtraction are exact longs. The difference is
+ * converted to double by a single division by an exact power of ten, which is correctly rounded
+ * like BigDecimal.doubleValue(). Stored values are exact only when Double.toString of
+ * value / 10^decimalPlaces gives back the digits of the value, which holds up to 15 digits, so
+ * bigger values and chunks whose max can not be scaled to a long keep the BigDecimal path.
+ */
+final class NonDecimalMaxMinDecoder {
+
+  /**
+   * powers of ten which are exact doubles
+   */
+  private static final double[] POWERS_OF_TEN = new double[23];
+
+  /**
+   * values with more digits are not guaranteed to be printed back with the same digits
+   */
+  private static final long MAX_EXACT_VALUE = 999999999999999L;
+
+  /**
+   * differences above this can not be converted to double without rounding
+   */
+  private static final long MAX_EXACT_DIFFERENCE = (1L << 53) - 1;
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private final BigDecimal maxValue;
+
+  private final double divisionFactor;
+
+  /**
+   * max value scaled to a long, valid only if maxAbsValue is not negative
+   */
+  private long scaledMaxValue;
+
+  /**
+   * factor by which the stored values are multiplied to get the scale of scaledMaxValue
+   */
+  private long valueMultiplier;
+
+  /**
+   * power of ten by which the scaled difference is divided
+   */
+  private double scaleFactor;
+
+  /**
+   * biggest absolute stored value which can be decoded with primitives, -1 if none can be
+   */
+  private long maxAbsValue = -1;
+
+  NonDecimalMaxMinDecoder(double maxValue, int decimalPlaces) {
+    this.maxValue = BigDecimal.valueOf(maxValue);
+    this.divisionFactor = Math.pow(10, decimalPlaces);
+    if (decimalPlaces < 0 || decimalPlaces >= POWERS_OF_TEN.length
+        || divisionFactor != POWERS_OF_TEN[decimalPlaces]) {
+      return;
+    }
+    BigInteger unscaledMaxValue = this.maxValue.unscaledValue();
+    int maxValueScale = this.maxValue.scale();
+    if (maxValueScale < 0) {
+      unscaledMaxValue = unscaledMaxValue.multiply(BigInteger.TEN.pow(-maxValueScale));
+      maxValueScale = 0;
+    }
+    int scale = Math.max(maxValueScale, decimalPlaces);
+    // 10^18 is the biggest power of ten which fits in a long
+    if (scale > 18) {
+      return;
+    }
+    unscaledMaxValue = unscaledMaxValue.multiply(BigInteger.TEN.pow(scale - maxValueScale));
+    if (unscaledMaxValue.abs().compareTo(BigInteger.valueOf(MAX_EXACT_DIFFERENCE)) > 0) {
+      return;
+    }
+    this.scaledMaxValue = unscaledMaxValue.longValue();
+    this.valueMultiplier = BigInteger.TEN.pow(scale - decimalPlaces).longValue();
+    this.scaleFactor = POWERS_OF_TEN[scale];
+    this.maxAbsValue = Math.min(MAX_EXACT_VALUE,
+        (MAX_EXACT_DIFFERENCE - Math.abs(scaledMaxValue)) / valueMultiplier);
+  }
+
+  /**
+   * @param value stored integral value
+   * @return actual value
+   */
+  double decode(long value) {
+    if (value <= maxAbsValue && value >= -maxAbsValue) {
+      return (scaledMaxValue - value * valueMultiplier) / scaleFactor;
+    }
+    return maxValue.subtract(BigDecimal.valueOf(value / divisionFactor)).doubleValue();
+  }
+
+  /**
+   * @param value stored value of the double codec
+   * @return actual value
+   */
+  double decode(double value) {
+    long longValue = (long) value;
+    if (longValue == value && longValue <= maxAbsValue && longValue >= -maxAbsValue) {
+      return (scaledMaxValue - longValue * valueMultiplier) / scaleFactor;
+    }
+    return maxValue.subtract(BigDecimal.valueOf(value / divisionFactor)).doubleValue();
+  }
+}
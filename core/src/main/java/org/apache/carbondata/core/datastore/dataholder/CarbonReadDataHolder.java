@@ -19,6 +19,7 @@ package org.apache.carbondata.core.datastore.dataholder;
 
 import java.math.BigDecimal;
 
+import org.apache.carbondata.core.datastore.compression.MeasurePageDictionary;
 import org.apache.carbondata.core.datastore.compression.ValueCompressionHolder;
 
 // This class is used with Uncompressor to hold the decompressed column chunk in memory
@@ -42,7 +43,27 @@ public class CarbonReadDataHolder {
     return this.unCompressValue.getDoubleValue(index);
   }
 
+  public void getReadableDoubleValues(double[] output, int offset, int count) {
+    this.unCompressValue.decodeInto(output, offset, count);
+  }
+
+  public void getReadableLongValues(long[] output, int offset, int count) {
+    this.unCompressValue.decodeInto(output, offset, count);
+  }
+
+  /**
+   * @return dictionary of the distinct values of the page, null if the page is not
+   * dictionary encoded
+   */
+  public MeasurePageDictionary getPageDictionary() {
+    return this.unCompressValue.getPageDictionary();
+  }
+
   public void freeMemory() {
     unCompressValue.freeMemory();
   }
+
+  public long getMemorySize() {
+    return unCompressValue.getMemorySize();
+  }
 }
@@ -23,6 +23,7 @@ import java.util.Map.Entry;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.FileHolder;
+import org.apache.carbondata.core.stats.QueryScanMetrics;
 
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
@@ -35,6 +36,11 @@ public class DFSFileHolderImpl implements FileHolder {
    */
   private Map<String, FSDataInputStream> fileNameAndStreamCache;
 
+  /**
+   * scan metrics of the query reading through this holder
+   */
+  private QueryScanMetrics scanMetrics;
+
   public DFSFileHolderImpl() {
     this.fileNameAndStreamCache =
         new HashMap<String, FSDataInputStream>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
@@ -129,4 +135,12 @@ public class DFSFileHolderImpl implements FileHolder {
     FSDataInputStream fileChannel = updateCache(filePath);
     return fileChannel.readInt();
   }
+
+  @Override public void setScanMetrics(QueryScanMetrics scanMetrics) {
+    this.scanMetrics = scanMetrics;
+  }
+
+  @Override public QueryScanMetrics getScanMetrics() {
+    return scanMetrics;
+  }
 }
@@ -28,6 +28,7 @@ import java.util.Map.Entry;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.FileHolder;
+import org.apache.carbondata.core.stats.QueryScanMetrics;
 
 public class FileHolderImpl implements FileHolder {
   /**
@@ -35,6 +36,11 @@ public class FileHolderImpl implements FileHolder {
    */
   private Map<String, FileChannel> fileNameAndStreamCache;
 
+  /**
+   * scan metrics of the query reading through this holder
+   */
+  private QueryScanMetrics scanMetrics;
+
   /**
    * FileHolderImpl Constructor
    * It will create the cache
@@ -193,4 +199,11 @@ public class FileHolderImpl implements FileHolder {
     return byteBffer.getLong();
   }
 
+  @Override public void setScanMetrics(QueryScanMetrics scanMetrics) {
+    this.scanMetrics = scanMetrics;
+  }
+
+  @Override public QueryScanMetrics getScanMetrics() {
+    return scanMetrics;
+  }
 }
@@ -26,6 +26,7 @@ import org.apache.carbondata.core.datastore.chunk.reader.CarbonDataReaderFactory
 import org.apache.carbondata.core.datastore.chunk.reader.DimensionColumnChunkReader;
 import org.apache.carbondata.core.datastore.chunk.reader.MeasureColumnChunkReader;
 import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+import org.apache.carbondata.core.stats.QueryScanMetrics;
 
 /**
  * Leaf node class of a Blocklet btree
@@ -86,7 +87,12 @@ public class BlockletBTreeLeafNode extends AbstractBTreeLeafNode {
    */
   @Override public DimensionColumnDataChunk[] getDimensionChunks(FileHolder fileReader,
       int[][] blockIndexes) throws IOException {
-    return dimensionChunksReader.readDimensionChunks(fileReader, blockIndexes);
+    long startTime = System.nanoTime();
+    try {
+      return dimensionChunksReader.readDimensionChunks(fileReader, blockIndexes);
+    } finally {
+      recordChunkLoadTime(fileReader, startTime);
+    }
   }
 
   /**
@@ -98,7 +104,12 @@ public class BlockletBTreeLeafNode extends AbstractBTreeLeafNode {
    */
   @Override public DimensionColumnDataChunk getDimensionChunk(FileHolder fileReader,
       int blockIndex) throws IOException {
-    return dimensionChunksReader.readDimensionChunk(fileReader, blockIndex);
+    long startTime = System.nanoTime();
+    try {
+      return dimensionChunksReader.readDimensionChunk(fileReader, blockIndex);
+    } finally {
+      recordChunkLoadTime(fileReader, startTime);
+    }
   }
 
   /**
@@ -110,7 +121,12 @@ public class BlockletBTreeLeafNode extends AbstractBTreeLeafNode {
    */
   @Override public MeasureColumnDataChunk[] getMeasureChunks(FileHolder fileReader,
       int[][] blockIndexes) throws IOException {
-    return measureColumnChunkReader.readMeasureChunks(fileReader, blockIndexes);
+    long startTime = System.nanoTime();
+    try {
+      return measureColumnChunkReader.readMeasureChunks(fileReader, blockIndexes);
+    } finally {
+      recordChunkLoadTime(fileReader, startTime);
+    }
   }
 
   /**
@@ -122,6 +138,17 @@ public class BlockletBTreeLeafNode extends AbstractBTreeLeafNode {
    */
   @Override public MeasureColumnDataChunk getMeasureChunk(FileHolder fileReader, int blockIndex)
       throws IOException {
-    return measureColumnChunkReader.readMeasureChunk(fileReader, blockIndex);
+    long startTime = System.nanoTime();
+    try {
+      return measureColumnChunkReader.readMeasureChunk(fileReader, blockIndex);
+    } finally {
+      recordChunkLoadTime(fileReader, startTime);
+    }
+  }
+
+  private static void recordChunkLoadTime(FileHolder fileReader, long startTime) {
+    if (null != fileReader.getScanMetrics()) {
+      QueryScanMetrics.recordChunkLoadTime(System.nanoTime() - startTime);
+    }
   }
 }
@@ -79,6 +79,38 @@ public interface KeyGenerator extends Serializable, Comparator<byte[]> {
    */
   long getKey(byte[] key, int index);
 
+  /**
+   * It gets the key in the specified index from the single key aka byte array, without
+   * decoding the other keys
+   *
+   * @param key
+   * @param offset offset of the single key in the byte array
+   * @param index  of key.
+   * @return key
+   */
+  long getKey(byte[] key, int offset, int index);
+
+  /**
+   * It fills the keys out of single key aka byte array in the given array, so no array is
+   * created for each key
+   *
+   * @param key
+   * @param offset offset of the single key in the byte array
+   * @param keys   array to be filled, with length at least the dimension count
+   */
+  void getKeyArray(byte[] key, int offset, int[] keys);
+
+  /**
+   * It unpacks the keys of the given indexes out of the single keys stored one after the other
+   * in the byte array, like the rows of a column group page
+   *
+   * @param data         single keys of all the rows
+   * @param numberOfRows number of single keys to be read from the start of the data
+   * @param indexes      indexes of the keys to be unpacked
+   * @param keys         keys of each index, keys[i][row] is filled with key indexes[i] of row
+   */
+  void getKeyArray(byte[] data, int numberOfRows, int[] indexes, int[][] keys);
+
   /**
    * Set any extra properties if required.
    */
@@ -51,6 +51,10 @@ public class Bits implements Serializable {
    * byteSize.
    */
   private int byteSize;
+  /**
+   * position of the lowest bit of each key, counted from the last bit of the mdkey
+   */
+  private int[] keyBitPositions;
 
   public Bits(int[] lens) {
     this.lens = lens;
@@ -66,6 +70,13 @@ public class Bits implements Serializable {
     if (length % 8 != 0) {
       byteSize++;
     }
+
+    keyBitPositions = new int[lens.length];
+    int position = 0;
+    for (int i = lens.length - 1; i >= 0; i--) {
+      keyBitPositions[i] = position;
+      position += lens[i];
+    }
   }
 
   public int getByteSize() {
@@ -311,6 +322,31 @@ public class Bits implements Serializable {
 
   }
 
+  /**
+   * Gets the key of one dimension from the mdkey without decoding the other keys. Only the
+   * bytes having the bits of the key are read.
+   *
+   * @param key    mdkey
+   * @param offset offset of the mdkey in the array
+   * @param index  index of the dimension in the mdkey
+   * @return key of the dimension
+   */
+  public long getKey(byte[] key, int offset, int index) {
+    int position = keyBitPositions[index];
+    int keyLength = lens[index];
+    int lastByte = offset + byteSize - 1 - (position >> 3);
+    int firstByte = offset + byteSize - 1 - ((position + keyLength - 1) >> 3);
+    if (lastByte - firstByte >= 8) {
+      // bits of the key are spread over more than 8 bytes, so they do not fit in a long
+      return getKeyArray(key, offset)[index];
+    }
+    long value = 0;
+    for (int i = firstByte; i <= lastByte; i++) {
+      value = (value << 8) | (key[i] & 0xFF);
+    }
+    return (value >>> (position & 0x7)) & (LONG_MAX >>> (MAX_LENGTH - keyLength));
+  }
+
   @Override public boolean equals(Object obj) {
     if (obj instanceof Bits) {
       Bits other = (Bits) obj;
@@ -59,7 +59,31 @@ public class MultiDimKeyVarLengthGenerator extends AbstractKeyGenerator {
 
   @Override public long getKey(byte[] key, int index) {
 
-    return bits.getKeyArray(key, 0)[index];
+    return bits.getKey(key, 0, index);
+  }
+
+  @Override public long getKey(byte[] key, int offset, int index) {
+    return bits.getKey(key, offset, index);
+  }
+
+  @Override public void getKeyArray(byte[] key, int offset, int[] keys) {
+    int dimCount = bits.getDimCount();
+    for (int i = 0; i < dimCount; i++) {
+      keys[i] = (int) bits.getKey(key, offset, i);
+    }
+  }
+
+  @Override public void getKeyArray(byte[] data, int numberOfRows, int[] indexes, int[][] keys) {
+    int keySize = bits.getByteSize();
+    for (int i = 0; i < indexes.length; i++) {
+      int index = indexes[i];
+      int[] columnKeys = keys[i];
+      int offset = 0;
+      for (int row = 0; row < numberOfRows; row++) {
+        columnKeys[row] = (int) bits.getKey(data, offset, index);
+        offset += keySize;
+      }
+    }
   }
 
   public int getKeySizeInBytes() {
@@ -70,9 +94,10 @@ public class MultiDimKeyVarLengthGenerator extends AbstractKeyGenerator {
     if (index < 0 || size == 0) {
       return null;
     }
-    long[] keys = bits.getKeyArray(key, 0);
     long[] rtn = new long[size];
-    System.arraycopy(keys, index, rtn, 0, size);
+    for (int i = 0; i < size; i++) {
+      rtn[i] = bits.getKey(key, 0, index + i);
+    }
     return rtn;
   }
 
@@ -17,6 +17,10 @@
 
 package org.apache.carbondata.core.locks;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.util.CarbonProperties;
 
@@ -25,6 +29,15 @@ import org.apache.carbondata.core.util.CarbonProperties;
  * retrying part of the locking.
  */
 public abstract class AbstractCarbonLock implements ICarbonLock {
+
+  /**
+   * number of times each lock is released in this process, by the key of the lock. The retries
+   * waiting for a lock wait on its counter, so they are woken up when the lock is released
+   * instead of sleeping for the whole retry timeout.
+   */
+  private static final ConcurrentMap<String, AtomicLong> RELEASE_COUNTERS =
+      new ConcurrentHashMap<>();
+
   private int retryCount;
 
   private int retryTimeout;
@@ -32,21 +45,75 @@ public abstract class AbstractCarbonLock implements ICarbonLock {
   public abstract boolean lock();
 
   /**
-   * API for enabling the locking of file with retries.
+   * @return key identifying the lock, same for all the instances of the same lock
+   */
+  protected abstract String getLockKey();
+
+  /**
+   * API for enabling the locking of file with retries. The lock is retried as soon as it is
+   * released or after the retry timeout, till the time of all the retries is elapsed.
    */
   public boolean lockWithRetries() {
+    AtomicLong releaseCounter = getReleaseCounter();
+    long deadline = System.currentTimeMillis() + retryCount * retryTimeout * 1000L;
     try {
-      for (int i = 0; i < retryCount; i++) {
+      while (true) {
+        long releases = releaseCounter.get();
         if (lock()) {
           return true;
-        } else {
-          Thread.sleep(retryTimeout * 1000L);
         }
+        long remainingTime = deadline - System.currentTimeMillis();
+        if (remainingTime <= 0) {
+          return false;
+        }
+        waitForRelease(releaseCounter, releases, Math.min(remainingTime, retryTimeout * 1000L));
       }
     } catch (InterruptedException e) {
       return false;
     }
-    return false;
+  }
+
+  /**
+   * Waits till the lock is released or the timeout is elapsed
+   *
+   * @param releaseCounter release counter of the lock
+   * @param releases       number of releases of the lock before it was tried
+   * @param timeout        maximum time to wait in milliseconds
+   * @throws InterruptedException
+   */
+  protected void waitForRelease(AtomicLong releaseCounter, long releases, long timeout)
+      throws InterruptedException {
+    synchronized (releaseCounter) {
+      // the lock may be released after it was tried, then it is retried without waiting
+      if (releaseCounter.get() == releases) {
+        releaseCounter.wait(timeout);
+      }
+    }
+  }
+
+  /**
+   * Wakes up the retries waiting for the lock in this process. To be called when the lock is
+   * released.
+   */
+  protected void notifyReleased() {
+    AtomicLong releaseCounter = getReleaseCounter();
+    synchronized (releaseCounter) {
+      releaseCounter.incrementAndGet();
+      releaseCounter.notifyAll();
+    }
+  }
+
+  private AtomicLong getReleaseCounter() {
+    String lockKey = getLockKey();
+    AtomicLong releaseCounter = RELEASE_COUNTERS.get(lockKey);
+    if (null == releaseCounter) {
+      AtomicLong newReleaseCounter = new AtomicLong();
+      releaseCounter = RELEASE_COUNTERS.putIfAbsent(lockKey, newReleaseCounter);
+      if (null == releaseCounter) {
+        releaseCounter = newReleaseCounter;
+      }
+    }
+    return releaseCounter;
   }
 
   /**
@@ -79,6 +79,10 @@ public class HdfsFileLock extends AbstractCarbonLock {
         .getTableName(), lockFile);
   }
 
+  @Override protected String getLockKey() {
+    return location;
+  }
+
   /* (non-Javadoc)
    * @see org.apache.carbondata.core.locks.ICarbonLock#lock()
    */
@@ -120,6 +124,7 @@ public class HdfsFileLock extends AbstractCarbonLock {
           LOGGER.error("Not able to delete the lock file because "
               + "it is not existed in location " + location);
         }
+        notifyReleased();
       }
     }
     return true;
@@ -93,6 +93,10 @@ public class LocalFileLock extends AbstractCarbonLock {
     initRetry();
   }
 
+  @Override protected String getLockKey() {
+    return location + CarbonCommonConstants.FILE_SEPARATOR + lockFile;
+  }
+
   /**
    * Lock API for locking of the file channel of the lock file.
    *
@@ -156,6 +160,7 @@ public class LocalFileLock extends AbstractCarbonLock {
           LOGGER.error(e.getMessage());
         }
       }
+      notifyReleased();
     }
     return status;
   }
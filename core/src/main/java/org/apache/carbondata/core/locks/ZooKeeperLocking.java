@@ -20,6 +20,7 @@ package org.apache.carbondata.core.locks;
 import java.io.File;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -29,6 +30,8 @@ import org.apache.carbondata.core.util.CarbonProperties;
 
 import org.apache.zookeeper.CreateMode;
 import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.WatchedEvent;
+import org.apache.zookeeper.Watcher;
 import org.apache.zookeeper.ZooDefs.Ids;
 import org.apache.zookeeper.ZooKeeper;
 
@@ -188,7 +191,41 @@ public class ZooKeeperLocking extends AbstractCarbonLock {
       LOGGER.error(e, e.getMessage());
       return false;
     }
+    notifyReleased();
     return true;
   }
 
+  @Override protected String getLockKey() {
+    return lockTypeFolder;
+  }
+
+  /**
+   * Watches the node of the process holding the lock, so that the retry is woken up as soon as
+   * the lock is released by any process.
+   */
+  @Override protected void waitForRelease(AtomicLong releaseCounter, long releases, long timeout)
+      throws InterruptedException {
+    try {
+      List<String> nodes = zk.getChildren(this.lockTypeFolder, null);
+      if (nodes.isEmpty()) {
+        // the lock is already released
+        return;
+      }
+      Collections.sort(nodes);
+      String holderPath = this.lockTypeFolder + CarbonCommonConstants.FILE_SEPARATOR + nodes.get(0);
+      Watcher releaseWatcher = new Watcher() {
+        @Override public void process(WatchedEvent event) {
+          notifyReleased();
+        }
+      };
+      if (null == zk.exists(holderPath, releaseWatcher)) {
+        // the lock is already released
+        return;
+      }
+    } catch (KeeperException e) {
+      LOGGER.error(e, e.getMessage());
+    }
+    super.waitForRelease(releaseCounter, releases, timeout);
+  }
+
 }
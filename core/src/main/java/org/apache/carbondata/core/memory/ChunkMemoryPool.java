@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.memory;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+/**
+ * Pool of the memory blocks of the unsafe column chunk stores. The pages of a column have the
+ * same number of rows in every blocklet, so a block freed after a blocklet is scanned is reused
+ * by the same column of the next blocklet instead of being allocated again. Free blocks are
+ * kept by size up to the configured number of bytes, above which they are released to the
+ * allocator.
+ */
+public final class ChunkMemoryPool {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(ChunkMemoryPool.class.getName());
+
+  /**
+   * size of which the scratch blocks are a multiple
+   */
+  private static final long SCRATCH_PAGE_SIZE = 4096;
+
+  public static final ChunkMemoryPool INSTANCE = new ChunkMemoryPool();
+
+  private final MemoryAllocator allocator;
+
+  /**
+   * maximum number of bytes kept in free blocks
+   */
+  private final long maxPooledBytes;
+
+  /**
+   * free blocks by size
+   */
+  private final Map<Long, ArrayDeque<MemoryBlock>> freeBlocks =
+      new HashMap<Long, ArrayDeque<MemoryBlock>>();
+
+  /**
+   * number of bytes kept in free blocks
+   */
+  private long pooledBytes;
+
+  private ChunkMemoryPool() {
+    this.allocator = MemoryAllocatorFactory.INSATANCE.getMemoryAllocator();
+    long poolSizeInMB;
+    try {
+      poolSizeInMB = Long.parseLong(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.QUERY_CHUNK_MEMORY_POOL_SIZE_IN_MB,
+              CarbonCommonConstants.QUERY_CHUNK_MEMORY_POOL_SIZE_IN_MB_DEFAULT));
+    } catch (NumberFormatException e) {
+      LOGGER.error("Invalid value for " + CarbonCommonConstants.QUERY_CHUNK_MEMORY_POOL_SIZE_IN_MB
+          + ", using default value");
+      poolSizeInMB =
+          Long.parseLong(CarbonCommonConstants.QUERY_CHUNK_MEMORY_POOL_SIZE_IN_MB_DEFAULT);
+    }
+    this.maxPooledBytes = Math.max(0, poolSizeInMB) * 1024 * 1024;
+  }
+
+  /**
+   * Below method will be used to get a block of the given size, from the pool if a free
+   * block of that size is present
+   *
+   * @param size size of the block in bytes
+   * @return memory block
+   */
+  public MemoryBlock allocate(long size) {
+    synchronized (freeBlocks) {
+      ArrayDeque<MemoryBlock> blocks = freeBlocks.get(size);
+      if (null != blocks && !blocks.isEmpty()) {
+        pooledBytes -= size;
+        return blocks.pop();
+      }
+    }
+    return allocator.allocate(size);
+  }
+
+  /**
+   * Below method will be used to get a scratch block of at least the given size. The size is
+   * rounded up to a multiple of the page size, so that the blocks are reused for data of
+   * different sizes, wasting less than a page.
+   *
+   * @param size minimum size of the block in bytes
+   * @return memory block
+   */
+  public MemoryBlock allocateScratch(long size) {
+    return allocate((size + SCRATCH_PAGE_SIZE - 1) / SCRATCH_PAGE_SIZE * SCRATCH_PAGE_SIZE);
+  }
+
+  /**
+   * Below method will be used to give back a block, which is kept for reuse if the pool is not
+   * full and released otherwise
+   *
+   * @param memoryBlock block which is not used anymore
+   */
+  public void free(MemoryBlock memoryBlock) {
+    long size = memoryBlock.size();
+    synchronized (freeBlocks) {
+      if (pooledBytes + size <= maxPooledBytes) {
+        ArrayDeque<MemoryBlock> blocks = freeBlocks.get(size);
+        if (null == blocks) {
+          blocks = new ArrayDeque<MemoryBlock>();
+          freeBlocks.put(size, blocks);
+        }
+        blocks.push(memoryBlock);
+        pooledBytes += size;
+        return;
+      }
+    }
+    allocator.free(memoryBlock);
+  }
+
+  /**
+   * Below method will be used to release all the free blocks to the allocator
+   */
+  public void clear() {
+    synchronized (freeBlocks) {
+      for (ArrayDeque<MemoryBlock> blocks : freeBlocks.values()) {
+        for (MemoryBlock memoryBlock : blocks) {
+          allocator.free(memoryBlock);
+        }
+      }
+      freeBlocks.clear();
+      pooledBytes = 0;
+    }
+  }
+}
@@ -26,5 +26,8 @@ public enum Encoding {
   INVERTED_INDEX,
   BIT_PACKED,
   DIRECT_DICTIONARY,
-  IMPLICIT;
+  IMPLICIT,
+  FRAME_OF_REFERENCE,
+  DELTA_OF_DELTA,
+  PAGE_DICTIONARY;
 }
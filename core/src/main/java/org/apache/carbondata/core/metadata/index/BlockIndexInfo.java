@@ -44,6 +44,11 @@ public class BlockIndexInfo {
    */
   private BlockletIndex blockletIndex;
 
+  /**
+   * number of blocklets in the file, blocklets can have different number of rows
+   */
+  private int numberOfBlocklets;
+
   /**
    * Constructor
    *
@@ -60,6 +65,21 @@ public class BlockIndexInfo {
     this.blockletIndex = blockletIndex;
   }
 
+  /**
+   * Constructor
+   *
+   * @param numberOfRows      number of rows
+   * @param fileName          full qualified name
+   * @param offset            offset of the metadata in data file
+   * @param blockletIndex     block let index
+   * @param numberOfBlocklets number of blocklets in the file
+   */
+  public BlockIndexInfo(long numberOfRows, String fileName, long offset,
+      BlockletIndex blockletIndex, int numberOfBlocklets) {
+    this(numberOfRows, fileName, offset, blockletIndex);
+    this.numberOfBlocklets = numberOfBlocklets;
+  }
+
   /**
    * @return the numberOfRows
    */
@@ -87,4 +107,11 @@ public class BlockIndexInfo {
   public BlockletIndex getBlockletIndex() {
     return blockletIndex;
   }
+
+  /**
+   * @return the numberOfBlocklets, 0 if not known
+   */
+  public int getNumberOfBlocklets() {
+    return numberOfBlocklets;
+  }
 }
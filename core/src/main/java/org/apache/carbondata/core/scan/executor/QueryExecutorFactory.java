@@ -16,6 +16,7 @@
  */
 package org.apache.carbondata.core.scan.executor;
 
+import org.apache.carbondata.core.scan.executor.impl.AggregateQueryExecutor;
 import org.apache.carbondata.core.scan.executor.impl.DetailQueryExecutor;
 import org.apache.carbondata.core.scan.executor.impl.VectorDetailQueryExecutor;
 import org.apache.carbondata.core.scan.model.QueryModel;
@@ -27,7 +28,9 @@ import org.apache.carbondata.core.scan.model.QueryModel;
 public class QueryExecutorFactory {
 
   public static QueryExecutor getQueryExecutor(QueryModel queryModel) {
-    if (queryModel.isVectorReader()) {
+    if (queryModel.isAggregateQuery()) {
+      return new AggregateQueryExecutor();
+    } else if (queryModel.isVectorReader()) {
       return new VectorDetailQueryExecutor();
     } else {
       return new DetailQueryExecutor();
@@ -57,6 +57,7 @@ import org.apache.carbondata.core.scan.filter.FilterUtil;
 import org.apache.carbondata.core.scan.model.QueryDimension;
 import org.apache.carbondata.core.scan.model.QueryMeasure;
 import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.stats.QueryScanMetricsRegistry;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
@@ -109,6 +110,9 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
     queryProperties.queryStatisticsRecorder =
         CarbonTimeStatisticsFactory.createExecutorRecorder(queryModel.getQueryId());
     queryModel.setStatisticsRecorder(queryProperties.queryStatisticsRecorder);
+    queryProperties.queryScanMetrics =
+        QueryScanMetricsRegistry.createQueryScanMetrics(queryModel.getQueryId());
+    queryModel.setScanMetrics(queryProperties.queryScanMetrics);
     QueryUtil.resolveQueryModel(queryModel);
     QueryStatistic queryStatistic = new QueryStatistic();
     // sort the block info
@@ -304,7 +308,7 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
       // loading the filter executer tree for filter evaluation
       blockExecutionInfo.setFilterExecuterTree(FilterUtil
           .getFilterExecuterTree(queryModel.getFilterExpressionResolverTree(), segmentProperties,
-              blockExecutionInfo.getComlexDimensionInfoMap()));
+              blockExecutionInfo.getComlexDimensionInfoMap(), queryModel.getScanMetrics()));
       List<IndexKey> listOfStartEndKeys = new ArrayList<IndexKey>(2);
       FilterUtil.traverseResolverTreeAndGetStartAndEndKey(segmentProperties,
           queryModel.getFilterExpressionResolverTree(), listOfStartEndKeys);
@@ -391,6 +395,11 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
     blockExecutionInfo.setComplexColumnParentBlockIndexes(
         getComplexDimensionParentBlockIndexes(updatedQueryDimension));
     blockExecutionInfo.setVectorBatchCollector(queryModel.isVectorReader());
+    // rows of the block are in sort order, so only the first rows of the block are needed
+    // for the limit, aggregate query has to read all the rows to compute the limited groups
+    if (!queryModel.isAggregateQuery()) {
+      blockExecutionInfo.setLimit(queryModel.getLimit());
+    }
     try {
       // to set column group and its key structure info which will be used
       // to
@@ -486,6 +495,7 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
         throw new QueryExecutionException(e);
       }
     }
+    QueryScanMetricsRegistry.getInstance().addQueryScanMetrics(queryProperties.queryScanMetrics);
   }
 
 }
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.executor.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.update.BlockletLevelDeleteDeltaDataCache;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.DataRefNodeFinder;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.impl.btree.BTreeDataRefNodeFinder;
+import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryKeyGeneratorFactory;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.mutate.data.BlockletDeleteDeltaCacheLoader;
+import org.apache.carbondata.core.scan.executor.exception.QueryExecutionException;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.executor.util.QueryUtil;
+import org.apache.carbondata.core.scan.model.QueryAggregate;
+import org.apache.carbondata.core.scan.model.QueryAggregate.AggregateType;
+import org.apache.carbondata.core.scan.model.QueryDimension;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.result.BatchResult;
+import org.apache.carbondata.core.scan.result.iterator.DetailQueryResultIterator;
+import org.apache.carbondata.core.scan.result.iterator.PartialAggregateResultIterator;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+/**
+ * Below class will be used to execute the aggregate query. Rows selected by the detail query
+ * are aggregated in the executor, so only one row for each group is returned. Count star, min
+ * and max without filter and group by are answered from the row count and the min and max of
+ * the blocklets in the index, without reading the blocklet data.
+ */
+public class AggregateQueryExecutor extends AbstractQueryExecutor<BatchResult> {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(AggregateQueryExecutor.class.getName());
+
+  @Override
+  public CarbonIterator<BatchResult> execute(QueryModel queryModel)
+      throws QueryExecutionException, IOException {
+    List<BlockExecutionInfo> blockExecutionInfoList = getBlockExecutionInfos(queryModel);
+    Object[] row = null;
+    if (isAnsweredFromMetadata(queryModel)) {
+      row = getAggregatesFromMetadata(blockExecutionInfoList, queryModel);
+    }
+    if (null != row) {
+      LOGGER.info("Aggregates are answered from metadata");
+      List<Object[]> rows = new ArrayList<>(1);
+      rows.add(row);
+      BatchResult batchResult = new BatchResult();
+      batchResult.setRows(rows);
+      this.queryIterator = new SingleBatchResultIterator(batchResult);
+    } else {
+      this.queryIterator = new PartialAggregateResultIterator(
+          new DetailQueryResultIterator(blockExecutionInfoList, queryModel,
+              queryProperties.executorService), queryModel);
+    }
+    return queryIterator;
+  }
+
+  /**
+   * Row count of blocklet is present in the index, and so is the min and max of each dimension.
+   * Only direct dictionary dimensions are considered for min and max, as their surrogate keys
+   * are in the order of the values, unlike the keys of the global dictionary.
+   */
+  private boolean isAnsweredFromMetadata(QueryModel queryModel) {
+    if (null != queryModel.getFilterExpressionResolverTree()
+        || queryModel.getGroupByDimensions().length > 0) {
+      return false;
+    }
+    for (QueryAggregate queryAggregate : queryModel.getQueryAggregates()) {
+      switch (queryAggregate.getAggregateType()) {
+        case COUNT_STAR:
+          break;
+        case MIN:
+        case MAX:
+          CarbonDimension dimension =
+              getQueryDimension(queryModel, queryAggregate.getColumnName());
+          if (null == dimension || !dimension.hasEncoding(Encoding.DIRECT_DICTIONARY)) {
+            return false;
+          }
+          break;
+        default:
+          return false;
+      }
+    }
+    return true;
+  }
+
+  private static CarbonDimension getQueryDimension(QueryModel queryModel, String columnName) {
+    for (QueryDimension queryDimension : queryModel.getQueryDimension()) {
+      if (queryDimension.getColumnName().equalsIgnoreCase(columnName)) {
+        return queryDimension.getDimension();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return aggregates of the blocklets to be scanned computed from the index, null if the
+   * index is not enough for any of them, in which case the blocklets have to be scanned
+   */
+  private Object[] getAggregatesFromMetadata(List<BlockExecutionInfo> blockExecutionInfoList,
+      QueryModel queryModel) {
+    List<QueryAggregate> queryAggregates = queryModel.getQueryAggregates();
+    AggregateType[] aggregateTypes = new AggregateType[queryAggregates.size()];
+    CarbonDimension[] dimensions = new CarbonDimension[aggregateTypes.length];
+    for (int i = 0; i < aggregateTypes.length; i++) {
+      aggregateTypes[i] = queryAggregates.get(i).getAggregateType();
+      dimensions[i] = getQueryDimension(queryModel, queryAggregates.get(i).getColumnName());
+    }
+    long rowCount = 0;
+    // surrogate key of min or max of each aggregate, -1 till a non null key is found
+    int[] keys = new int[aggregateTypes.length];
+    Arrays.fill(keys, -1);
+    ByteBuffer buffer = ByteBuffer.allocate(CarbonCommonConstants.INT_SIZE_IN_BYTE);
+    for (BlockExecutionInfo blockInfo : blockExecutionInfoList) {
+      int[] blockIndexes = getBlockIndexes(blockInfo, dimensions);
+      if (null == blockIndexes) {
+        return null;
+      }
+      for (DataRefNode dataBlock : getBlockletsToScan(blockInfo)) {
+        int deletedRowCount = getDeletedRowCount(blockInfo, dataBlock);
+        rowCount += dataBlock.nodeSize() - deletedRowCount;
+        for (int i = 0; i < aggregateTypes.length; i++) {
+          if (aggregateTypes[i] == AggregateType.COUNT_STAR) {
+            continue;
+          }
+          // min or max of the blocklet may be a deleted row
+          if (deletedRowCount > 0) {
+            return null;
+          }
+          if (aggregateTypes[i] == AggregateType.MIN) {
+            int key = CarbonUtil
+                .getSurrogateKey(dataBlock.getColumnsMinValue()[blockIndexes[i]], buffer);
+            // null is the least key, so min of the other values of the blocklet is not known
+            if (key == CarbonCommonConstants.MEMBER_DEFAULT_VAL_SURROGATE_KEY) {
+              return null;
+            }
+            keys[i] = keys[i] < 0 ? key : Math.min(keys[i], key);
+          } else {
+            int key = CarbonUtil
+                .getSurrogateKey(dataBlock.getColumnsMaxValue()[blockIndexes[i]], buffer);
+            // max is null only if all the values of the blocklet are null
+            if (key != CarbonCommonConstants.MEMBER_DEFAULT_VAL_SURROGATE_KEY) {
+              keys[i] = Math.max(keys[i], key);
+            }
+          }
+        }
+      }
+    }
+    Object[] row = new Object[aggregateTypes.length];
+    for (int i = 0; i < row.length; i++) {
+      if (aggregateTypes[i] == AggregateType.COUNT_STAR) {
+        row[i] = rowCount;
+      } else if (keys[i] >= 0) {
+        row[i] = DirectDictionaryKeyGeneratorFactory
+            .getDirectDictionaryGenerator(dimensions[i].getDataType())
+            .getValueFromSurrogate(keys[i]);
+      }
+    }
+    return row;
+  }
+
+  /**
+   * @return index of the column chunk of each aggregated dimension in the block, null if a
+   * dimension is not present in the block or is stored in a column group
+   */
+  private int[] getBlockIndexes(BlockExecutionInfo blockInfo, CarbonDimension[] dimensions) {
+    SegmentProperties segmentProperties = blockInfo.getDataBlock().getSegmentProperties();
+    int[] blockIndexes = new int[dimensions.length];
+    for (int i = 0; i < dimensions.length; i++) {
+      if (null == dimensions[i]) {
+        continue;
+      }
+      CarbonDimension blockDimension = null;
+      for (CarbonDimension dimension : segmentProperties.getDimensions()) {
+        if (dimension.getColumnId().equals(dimensions[i].getColumnId())) {
+          blockDimension = dimension;
+          break;
+        }
+      }
+      if (null == blockDimension || !blockDimension.isColumnar()) {
+        return null;
+      }
+      blockIndexes[i] =
+          segmentProperties.getDimensionOrdinalToBlockMapping().get(blockDimension.getOrdinal());
+    }
+    return blockIndexes;
+  }
+
+  /**
+   * @return blocklets of the block to be scanned by the task
+   */
+  private List<DataRefNode> getBlockletsToScan(BlockExecutionInfo blockInfo) {
+    List<DataRefNode> blocklets = new ArrayList<>();
+    DataRefNodeFinder finder = new BTreeDataRefNodeFinder(blockInfo.getEachColumnValueSize());
+    DataRefNode dataBlock = finder
+        .findFirstDataBlock(blockInfo.getDataBlock().getDataRefNode(), blockInfo.getStartKey());
+    while (null != dataBlock && dataBlock.nodeNumber() < blockInfo.getStartBlockletIndex()) {
+      dataBlock = dataBlock.getNextDataRefNode();
+    }
+    if (null == dataBlock) {
+      return blocklets;
+    }
+    DataRefNode endDataBlock = finder
+        .findLastDataBlock(blockInfo.getDataBlock().getDataRefNode(), blockInfo.getEndKey());
+    long numberOfBlockletToScan = QueryUtil
+        .getNumberOfBlockletsToScan(blockInfo, dataBlock.nodeNumber(), endDataBlock.nodeNumber());
+    for (long i = 0; i < numberOfBlockletToScan && null != dataBlock; i++) {
+      blocklets.add(dataBlock);
+      dataBlock = dataBlock.getNextDataRefNode();
+    }
+    return blocklets;
+  }
+
+  private int getDeletedRowCount(BlockExecutionInfo blockInfo, DataRefNode dataBlock) {
+    String blockletId =
+        blockInfo.getBlockId() + CarbonCommonConstants.FILE_SEPARATOR + dataBlock.nodeNumber();
+    new BlockletDeleteDeltaCacheLoader(blockletId, dataBlock,
+        blockInfo.getAbsoluteTableIdentifier()).loadDeleteDeltaFileDataToCache();
+    BlockletLevelDeleteDeltaDataCache deleteDeltaDataCache = dataBlock.getDeleteDeltaDataCache();
+    return null == deleteDeltaDataCache ? 0 : deleteDeltaDataCache.getSize();
+  }
+
+  /**
+   * Iterator over the result computed without scan
+   */
+  private static final class SingleBatchResultIterator extends CarbonIterator<BatchResult> {
+
+    private BatchResult batchResult;
+
+    private SingleBatchResultIterator(BatchResult batchResult) {
+      this.batchResult = batchResult;
+    }
+
+    @Override public boolean hasNext() {
+      return null != batchResult;
+    }
+
+    @Override public BatchResult next() {
+      if (null == batchResult) {
+        throw new NoSuchElementException();
+      }
+      BatchResult result = batchResult;
+      batchResult = null;
+      return result;
+    }
+  }
+}
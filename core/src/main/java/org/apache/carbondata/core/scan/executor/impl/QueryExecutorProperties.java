@@ -27,6 +27,7 @@ import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
 import org.apache.carbondata.core.scan.executor.infos.KeyStructureInfo;
+import org.apache.carbondata.core.stats.QueryScanMetrics;
 import org.apache.carbondata.core.stats.QueryStatisticsRecorder;
 
 /**
@@ -60,6 +61,10 @@ public class QueryExecutorProperties {
    * to record the query execution details phase wise
    */
   public QueryStatisticsRecorder queryStatisticsRecorder;
+  /**
+   * metrics of the scan of the query, null if they are not collected
+   */
+  public QueryScanMetrics queryScanMetrics;
   /**
    * executor service to execute the query
    */
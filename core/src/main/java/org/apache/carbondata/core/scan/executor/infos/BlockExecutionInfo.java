@@ -200,6 +200,11 @@ public class BlockExecutionInfo {
    */
   private boolean vectorBatchCollector;
 
+  /**
+   * maximum number of rows to be read from the block, -1 if all the rows have to be read
+   */
+  private int limit = -1;
+
   /**
    * absolute table identifier
    */
@@ -599,4 +604,12 @@ public class BlockExecutionInfo {
   public void setBlockId(String blockId) {
     this.blockId = blockId;
   }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public void setLimit(int limit) {
+    this.limit = limit;
+  }
 }
@@ -50,6 +50,7 @@ import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
 import org.apache.carbondata.core.scan.complextypes.ArrayQueryType;
 import org.apache.carbondata.core.scan.complextypes.PrimitiveQueryType;
 import org.apache.carbondata.core.scan.complextypes.StructQueryType;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
 import org.apache.carbondata.core.scan.executor.infos.KeyStructureInfo;
 import org.apache.carbondata.core.scan.expression.ColumnExpression;
 import org.apache.carbondata.core.scan.expression.Expression;
@@ -862,6 +863,26 @@ public class QueryUtil {
     return filterDimensionsOrdinal;
   }
 
+  /**
+   * Below method will be used to get the number of blocklets to be scanned from the first
+   * blocklet found by the start key. If the block is split at blocklet boundaries then the
+   * blocklets of the next split are not scanned, even when the start key is after the start
+   * of the split
+   *
+   * @param blockInfo          block execution info of the split
+   * @param startBlockletIndex first blocklet to be scanned
+   * @param endBlockletIndex   last blocklet found by the end key
+   * @return number of blocklets to be scanned
+   */
+  public static long getNumberOfBlockletsToScan(BlockExecutionInfo blockInfo,
+      long startBlockletIndex, long endBlockletIndex) {
+    if (blockInfo.getNumberOfBlockletToScan() > 0) {
+      endBlockletIndex = Math.min(endBlockletIndex,
+          blockInfo.getStartBlockletIndex() + blockInfo.getNumberOfBlockletToScan() - 1);
+    }
+    return Math.max(0, endBlockletIndex - startBlockletIndex + 1);
+  }
+
   /**
    * Below method will be used to fill the children dimension column id
    */
@@ -71,6 +71,7 @@ import org.apache.carbondata.core.scan.filter.executer.OrFilterExecuterImpl;
 import org.apache.carbondata.core.scan.filter.executer.RestructureFilterExecuterImpl;
 import org.apache.carbondata.core.scan.filter.executer.RowLevelFilterExecuterImpl;
 import org.apache.carbondata.core.scan.filter.executer.RowLevelRangeTypeExecuterFacory;
+import org.apache.carbondata.core.scan.filter.executer.TimedFilterExecuterImpl;
 import org.apache.carbondata.core.scan.filter.intf.ExpressionType;
 import org.apache.carbondata.core.scan.filter.intf.FilterExecuterType;
 import org.apache.carbondata.core.scan.filter.intf.RowImpl;
@@ -78,6 +79,7 @@ import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
 import org.apache.carbondata.core.scan.filter.resolver.RowLevelFilterResolverImpl;
 import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.DimColumnResolvedFilterInfo;
+import org.apache.carbondata.core.stats.QueryScanMetrics;
 import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
@@ -99,65 +101,84 @@ public final class FilterUtil {
    *
    * @param filterExpressionResolverTree
    * @param segmentProperties
+   * @param scanMetrics metrics the time of the leaf executers is recorded in, can be null
    * @return FilterExecuter instance
    */
   private static FilterExecuter createFilterExecuterTree(
       FilterResolverIntf filterExpressionResolverTree, SegmentProperties segmentProperties,
-      Map<Integer, GenericQueryType> complexDimensionInfoMap) {
+      Map<Integer, GenericQueryType> complexDimensionInfoMap, QueryScanMetrics scanMetrics) {
     FilterExecuterType filterExecuterType = filterExpressionResolverTree.getFilterExecuterType();
     if (null != filterExecuterType) {
       switch (filterExecuterType) {
         case INCLUDE:
-          return getIncludeFilterExecuter(
-              filterExpressionResolverTree.getDimColResolvedFilterInfo(), segmentProperties);
+          return getTimedFilterExecuter(getIncludeFilterExecuter(
+              filterExpressionResolverTree.getDimColResolvedFilterInfo(), segmentProperties),
+              scanMetrics);
         case EXCLUDE:
-          return getExcludeFilterExecuter(
-              filterExpressionResolverTree.getDimColResolvedFilterInfo(), segmentProperties);
+          return getTimedFilterExecuter(getExcludeFilterExecuter(
+              filterExpressionResolverTree.getDimColResolvedFilterInfo(), segmentProperties),
+              scanMetrics);
         case OR:
           return new OrFilterExecuterImpl(
               createFilterExecuterTree(filterExpressionResolverTree.getLeft(), segmentProperties,
-                  complexDimensionInfoMap),
+                  complexDimensionInfoMap, scanMetrics),
               createFilterExecuterTree(filterExpressionResolverTree.getRight(), segmentProperties,
-                  complexDimensionInfoMap));
+                  complexDimensionInfoMap, scanMetrics));
         case AND:
           return new AndFilterExecuterImpl(
               createFilterExecuterTree(filterExpressionResolverTree.getLeft(), segmentProperties,
-                  complexDimensionInfoMap),
+                  complexDimensionInfoMap, scanMetrics),
               createFilterExecuterTree(filterExpressionResolverTree.getRight(), segmentProperties,
-                  complexDimensionInfoMap));
+                  complexDimensionInfoMap, scanMetrics));
         case RESTRUCTURE:
-          return new RestructureFilterExecuterImpl(
+          return getTimedFilterExecuter(new RestructureFilterExecuterImpl(
               filterExpressionResolverTree.getDimColResolvedFilterInfo(),
-              segmentProperties);
+              segmentProperties), scanMetrics);
         case ROWLEVEL_LESSTHAN:
         case ROWLEVEL_LESSTHAN_EQUALTO:
         case ROWLEVEL_GREATERTHAN_EQUALTO:
         case ROWLEVEL_GREATERTHAN:
-          return RowLevelRangeTypeExecuterFacory
+          return getTimedFilterExecuter(RowLevelRangeTypeExecuterFacory
               .getRowLevelRangeTypeExecuter(filterExecuterType, filterExpressionResolverTree,
-                  segmentProperties);
+                  segmentProperties), scanMetrics);
         case ROWLEVEL:
         default:
-          return new RowLevelFilterExecuterImpl(
+          return getTimedFilterExecuter(new RowLevelFilterExecuterImpl(
               ((RowLevelFilterResolverImpl) filterExpressionResolverTree)
                   .getDimColEvaluatorInfoList(),
               ((RowLevelFilterResolverImpl) filterExpressionResolverTree)
                   .getMsrColEvalutorInfoList(),
               ((RowLevelFilterResolverImpl) filterExpressionResolverTree).getFilterExpresion(),
               ((RowLevelFilterResolverImpl) filterExpressionResolverTree).getTableIdentifier(),
-              segmentProperties, complexDimensionInfoMap);
+              segmentProperties, complexDimensionInfoMap), scanMetrics);
 
       }
     }
-    return new RowLevelFilterExecuterImpl(
+    return getTimedFilterExecuter(new RowLevelFilterExecuterImpl(
         ((RowLevelFilterResolverImpl) filterExpressionResolverTree).getDimColEvaluatorInfoList(),
         ((RowLevelFilterResolverImpl) filterExpressionResolverTree).getMsrColEvalutorInfoList(),
         ((RowLevelFilterResolverImpl) filterExpressionResolverTree).getFilterExpresion(),
         ((RowLevelFilterResolverImpl) filterExpressionResolverTree).getTableIdentifier(),
-        segmentProperties, complexDimensionInfoMap);
+        segmentProperties, complexDimensionInfoMap), scanMetrics);
 
   }
 
+  /**
+   * Below method will be used to wrap a leaf executer so that the time it takes to apply
+   * the filter is recorded
+   *
+   * @param filterExecuter leaf executer
+   * @param scanMetrics metrics of the query, null if they are not collected
+   * @return executer to be added to the tree
+   */
+  private static FilterExecuter getTimedFilterExecuter(FilterExecuter filterExecuter,
+      QueryScanMetrics scanMetrics) {
+    if (null == scanMetrics) {
+      return filterExecuter;
+    }
+    return new TimedFilterExecuterImpl(filterExecuter, scanMetrics);
+  }
+
   /**
    * It gives filter executer based on columnar or column group
    *
@@ -940,7 +961,24 @@ public final class FilterUtil {
       FilterResolverIntf filterExpressionResolverTree, SegmentProperties segmentProperties,
       Map<Integer, GenericQueryType> complexDimensionInfoMap) {
     return createFilterExecuterTree(filterExpressionResolverTree, segmentProperties,
-        complexDimensionInfoMap);
+        complexDimensionInfoMap, null);
+  }
+
+  /**
+   * Below method will be used to get the filter executer tree whose leaf executers record
+   * the time taken to apply the filter in the scan metrics of the query
+   *
+   * @param filterExpressionResolverTree
+   * @param segmentProperties
+   * @param complexDimensionInfoMap
+   * @param scanMetrics metrics of the query, null if they are not collected
+   * @return FilterExecuter instance
+   */
+  public static FilterExecuter getFilterExecuterTree(
+      FilterResolverIntf filterExpressionResolverTree, SegmentProperties segmentProperties,
+      Map<Integer, GenericQueryType> complexDimensionInfoMap, QueryScanMetrics scanMetrics) {
+    return createFilterExecuterTree(filterExpressionResolverTree, segmentProperties,
+        complexDimensionInfoMap, scanMetrics);
   }
 
   /**
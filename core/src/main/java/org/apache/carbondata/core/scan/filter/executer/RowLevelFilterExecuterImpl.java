@@ -31,14 +31,15 @@ import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.cache.dictionary.Dictionary;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.chunk.MeasureColumnDataChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.VariableLengthDimensionDataChunk;
-import org.apache.carbondata.core.keygenerator.KeyGenException;
+import org.apache.carbondata.core.datastore.compression.MeasurePageDictionary;
+import org.apache.carbondata.core.keygenerator.KeyGenerator;
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryGenerator;
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryKeyGeneratorFactory;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.encoder.Encoding;
-import org.apache.carbondata.core.scan.executor.infos.KeyStructureInfo;
 import org.apache.carbondata.core.scan.executor.util.QueryUtil;
 import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.expression.exception.FilterIllegalMemberException;
@@ -119,6 +120,16 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
     }
     // CHECKSTYLE:ON
 
+    if (dimColEvaluatorInfoList.isEmpty() && msrColEvalutorInfoList.size() == 1) {
+      MeasureColumnDataChunk measureDataChunk =
+          blockChunkHolder.getMeasureDataChunk()[msrColEvalutorInfoList.get(0).getColumnIndex()];
+      MeasurePageDictionary pageDictionary =
+          measureDataChunk.getMeasureDataHolder().getPageDictionary();
+      if (null != pageDictionary) {
+        return applyFilterOnPageDictionary(blockChunkHolder, measureDataChunk, pageDictionary);
+      }
+    }
+
     int numberOfRows = blockChunkHolder.getDataBlock().nodeSize();
     BitSet set = new BitSet(numberOfRows);
     RowIntf row = new RowImpl();
@@ -142,6 +153,59 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
     return set;
   }
 
+  /**
+   * Below method will be used to apply the filter on a single measure whose page is dictionary
+   * encoded. The expression is evaluated once for each distinct value of the page and once
+   * for null, and every row takes the result of its value
+   *
+   * @param blockChunkHolder
+   * @param measureDataChunk
+   * @param pageDictionary
+   * @return filtered rows
+   */
+  private BitSet applyFilterOnPageDictionary(BlocksChunkHolder blockChunkHolder,
+      MeasureColumnDataChunk measureDataChunk, MeasurePageDictionary pageDictionary) {
+    MeasureColumnResolvedFilterInfo msrColumnEvalutorInfo = msrColEvalutorInfoList.get(0);
+    BitSet nullBitSet = measureDataChunk.getNullValueIndexHolder().getBitSet();
+    int numberOfRows = blockChunkHolder.getDataBlock().nodeSize();
+    RowIntf row = new RowImpl();
+    boolean invalidRowsPresent = false;
+    boolean[] entryResults = new boolean[pageDictionary.getNumberOfEntries()];
+    for (int entry = 0; entry < entryResults.length; entry++) {
+      Object[] record = new Object[msrColEvalutorInfoList.size()];
+      record[msrColumnEvalutorInfo.getRowIndex()] = getMeasureValue(blockChunkHolder,
+          msrColumnEvalutorInfo, pageDictionary.getEntryRow(entry));
+      row.setValues(record);
+      entryResults[entry] = evaluateRow(row, invalidRowsPresent);
+    }
+    boolean nullResult = false;
+    if (!nullBitSet.isEmpty()) {
+      row.setValues(new Object[msrColEvalutorInfoList.size()]);
+      nullResult = evaluateRow(row, invalidRowsPresent);
+    }
+    BitSet set = new BitSet(numberOfRows);
+    for (int index = 0; index < numberOfRows; index++) {
+      if (nullBitSet.get(index) ? nullResult : entryResults[pageDictionary.getRowEntry(index)]) {
+        set.set(index);
+      }
+    }
+    return set;
+  }
+
+  private boolean evaluateRow(RowIntf row, boolean invalidRowsPresent) {
+    Boolean rslt = false;
+    try {
+      rslt = exp.evaluate(row).getBoolean();
+    }
+    // Any invalid member while evaluation shall be ignored, system will log the
+    // error only once since all rows the evaluation happens so inorder to avoid
+    // too much log inforation only once the log will be printed.
+    catch (FilterIllegalMemberException e) {
+      FilterUtil.logError(e, invalidRowsPresent);
+    }
+    return null != rslt && rslt;
+  }
+
   /**
    * Method will read the members of particular dimension block and create
    * a row instance for further processing of the filters
@@ -216,43 +280,52 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
       }
     }
 
-    DataType msrType;
-
     for (MeasureColumnResolvedFilterInfo msrColumnEvalutorInfo : msrColEvalutorInfoList) {
-      switch (msrColumnEvalutorInfo.getType()) {
-        case INT:
-        case LONG:
-          msrType = DataType.LONG;
-          break;
-        case DECIMAL:
-          msrType = DataType.DECIMAL;
-          break;
-        default:
-          msrType = DataType.DOUBLE;
-      }
-      // if measure doesnt exist then set the default value.
-      Object msrValue;
-      switch (msrType) {
-        case INT:
-        case LONG:
-          msrValue = blockChunkHolder.getMeasureDataChunk()[msrColumnEvalutorInfo.getColumnIndex()]
-              .getMeasureDataHolder().getReadableLongValueByIndex(index);
-          break;
-        case DECIMAL:
-          msrValue = blockChunkHolder.getMeasureDataChunk()[msrColumnEvalutorInfo.getColumnIndex()]
-              .getMeasureDataHolder().getReadableBigDecimalValueByIndex(index);
-          break;
-        default:
-          msrValue = blockChunkHolder.getMeasureDataChunk()[msrColumnEvalutorInfo.getColumnIndex()]
-              .getMeasureDataHolder().getReadableDoubleValueByIndex(index);
-      }
       record[msrColumnEvalutorInfo.getRowIndex()] =
           blockChunkHolder.getMeasureDataChunk()[msrColumnEvalutorInfo.getColumnIndex()]
-              .getNullValueIndexHolder().getBitSet().get(index) ? null : msrValue;
+              .getNullValueIndexHolder().getBitSet().get(index) ?
+              null :
+              getMeasureValue(blockChunkHolder, msrColumnEvalutorInfo, index);
     }
     row.setValues(record);
   }
 
+  /**
+   * Method will read the value of the measure in the given row
+   *
+   * @param blockChunkHolder
+   * @param msrColumnEvalutorInfo
+   * @param index
+   * @return measure value
+   */
+  private Object getMeasureValue(BlocksChunkHolder blockChunkHolder,
+      MeasureColumnResolvedFilterInfo msrColumnEvalutorInfo, int index) {
+    DataType msrType;
+    switch (msrColumnEvalutorInfo.getType()) {
+      case INT:
+      case LONG:
+        msrType = DataType.LONG;
+        break;
+      case DECIMAL:
+        msrType = DataType.DECIMAL;
+        break;
+      default:
+        msrType = DataType.DOUBLE;
+    }
+    switch (msrType) {
+      case INT:
+      case LONG:
+        return blockChunkHolder.getMeasureDataChunk()[msrColumnEvalutorInfo.getColumnIndex()]
+            .getMeasureDataHolder().getReadableLongValueByIndex(index);
+      case DECIMAL:
+        return blockChunkHolder.getMeasureDataChunk()[msrColumnEvalutorInfo.getColumnIndex()]
+            .getMeasureDataHolder().getReadableBigDecimalValueByIndex(index);
+      default:
+        return blockChunkHolder.getMeasureDataChunk()[msrColumnEvalutorInfo.getColumnIndex()]
+            .getMeasureDataHolder().getReadableDoubleValueByIndex(index);
+    }
+  }
+
   /**
    * method will read the actual data from the direct dictionary generator
    * by passing direct dictionary value.
@@ -327,20 +400,13 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
    */
   private int readSurrogatesFromColumnGroupBlock(BlocksChunkHolder blockChunkHolder, int index,
       DimColumnResolvedFilterInfo dimColumnEvaluatorInfo, int blockIndex) {
-    try {
-      KeyStructureInfo keyStructureInfo =
-          QueryUtil.getKeyStructureInfo(segmentProperties, dimColumnEvaluatorInfo);
-      byte[] colData = blockChunkHolder.getDimensionDataChunk()[blockIndex].getChunkData(index);
-      long[] result = keyStructureInfo.getKeyGenerator().getKeyArray(colData);
-      int colGroupId =
-          QueryUtil.getColumnGroupId(segmentProperties, dimColumnEvaluatorInfo.getColumnIndex());
-      int dictionaryValue = (int) result[segmentProperties
-          .getColumnGroupMdKeyOrdinal(colGroupId, dimColumnEvaluatorInfo.getColumnIndex())];
-      return dictionaryValue;
-    } catch (KeyGenException e) {
-      LOGGER.error(e);
-    }
-    return 0;
+    int colGroupId =
+        QueryUtil.getColumnGroupId(segmentProperties, dimColumnEvaluatorInfo.getColumnIndex());
+    KeyGenerator keyGenerator =
+        segmentProperties.getColumnGroupAndItsKeygenartor().get(colGroupId);
+    byte[] colData = blockChunkHolder.getDimensionDataChunk()[blockIndex].getChunkData(index);
+    return (int) keyGenerator.getKey(colData, 0, segmentProperties
+        .getColumnGroupMdKeyOrdinal(colGroupId, dimColumnEvaluatorInfo.getColumnIndex()));
   }
 
   /**
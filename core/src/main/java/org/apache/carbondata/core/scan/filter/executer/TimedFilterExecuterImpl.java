@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.io.IOException;
+import java.util.BitSet;
+
+import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
+import org.apache.carbondata.core.stats.QueryScanMetrics;
+
+/**
+ * Executer which records the time taken by the leaf executer it wraps to apply the filter on
+ * a blocklet, by type of the executer. And and or executers are not wrapped, so the time of
+ * the filter is the sum of the time of its leaves. Column chunks read by the executer are
+ * already counted in the read and decompress metrics, so their load time is not included.
+ */
+public class TimedFilterExecuterImpl implements FilterExecuter {
+
+  private FilterExecuter executer;
+
+  private String executerType;
+
+  private QueryScanMetrics scanMetrics;
+
+  public TimedFilterExecuterImpl(FilterExecuter executer, QueryScanMetrics scanMetrics) {
+    this.executer = executer;
+    this.executerType = executer.getClass().getSimpleName();
+    this.scanMetrics = scanMetrics;
+  }
+
+  @Override public BitSet applyFilter(BlocksChunkHolder blockChunkHolder)
+      throws FilterUnsupportedException, IOException {
+    long chunkLoadTime = QueryScanMetrics.getChunkLoadTimeOfThread();
+    long startTime = System.nanoTime();
+    try {
+      return executer.applyFilter(blockChunkHolder);
+    } finally {
+      long filterTime = System.nanoTime() - startTime;
+      scanMetrics.recordFilterTime(executerType,
+          filterTime - (QueryScanMetrics.getChunkLoadTimeOfThread() - chunkLoadTime));
+    }
+  }
+
+  @Override public BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue) {
+    return executer.isScanRequired(blockMaxValue, blockMinValue);
+  }
+}
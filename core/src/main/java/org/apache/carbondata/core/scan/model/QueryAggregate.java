@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.model;
+
+import java.io.Serializable;
+
+/**
+ * Aggregate function pushed down to the scan. Aggregates are computed for each group of the
+ * query dimensions which are not aggregated, on the columns selected in the query.
+ */
+public class QueryAggregate implements Serializable {
+
+  /**
+   * serialVersionUID
+   */
+  private static final long serialVersionUID = 4581365127694852314L;
+
+  public enum AggregateType {
+    COUNT_STAR, COUNT, SUM, MIN, MAX
+  }
+
+  private AggregateType aggregateType;
+
+  /**
+   * name of the column to be aggregated, null in case of count star
+   */
+  private String columnName;
+
+  public QueryAggregate(AggregateType aggregateType, String columnName) {
+    this.aggregateType = aggregateType;
+    this.columnName = columnName;
+  }
+
+  public AggregateType getAggregateType() {
+    return aggregateType;
+  }
+
+  public String getColumnName() {
+    return columnName;
+  }
+}
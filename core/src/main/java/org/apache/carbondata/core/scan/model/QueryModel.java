@@ -19,6 +19,8 @@ package org.apache.carbondata.core.scan.model;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +39,7 @@ import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.expression.UnknownExpression;
 import org.apache.carbondata.core.scan.expression.conditional.ConditionalExpression;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
+import org.apache.carbondata.core.stats.QueryScanMetrics;
 import org.apache.carbondata.core.stats.QueryStatisticsRecorder;
 import org.apache.carbondata.core.util.CarbonUtil;
 
@@ -95,8 +98,29 @@ public class QueryModel implements Serializable {
 
   private QueryStatisticsRecorder statisticsRecorder;
 
+  /**
+   * bytes, time, rows and blocklets of the scan of the query, null if they are not collected
+   */
+  private QueryScanMetrics scanMetrics;
+
   private boolean vectorReader;
 
+  /**
+   * aggregates to be computed by the scan, empty in case of detail query
+   */
+  private List<QueryAggregate> queryAggregates;
+
+  /**
+   * maximum number of rows to be returned by the query, -1 if there is no limit
+   */
+  private int limit = -1;
+
+  /**
+   * true if the query is ordered on the first sort column of the table, in that case the
+   * limit is applied to each block, as the first rows of each block are the candidates
+   */
+  private boolean orderBySortColumn;
+
   /**
    * Invalid table blocks, which need to be removed from
    * memory, invalid blocks can be segment which are deleted
@@ -111,6 +135,7 @@ public class QueryModel implements Serializable {
     queryDimension = new ArrayList<QueryDimension>();
     queryMeasures = new ArrayList<QueryMeasure>();
     invalidSegmentIds = new ArrayList<>();
+    queryAggregates = new ArrayList<>();
   }
 
   public static QueryModel createModel(AbsoluteTableIdentifier absoluteTableIdentifier,
@@ -211,6 +236,52 @@ public class QueryModel implements Serializable {
     return carbonColumns;
   }
 
+  /**
+   * @return query dimensions which are not aggregated, in query order. Rows of the aggregate
+   * query are grouped on these.
+   */
+  public QueryDimension[] getGroupByDimensions() {
+    List<QueryDimension> groupByDimensions = new ArrayList<>(queryDimension.size());
+    for (QueryDimension dimension : queryDimension) {
+      if (!isAggregatedColumn(dimension.getColumnName())) {
+        groupByDimensions.add(dimension);
+      }
+    }
+    QueryDimension[] sortedDimensions =
+        groupByDimensions.toArray(new QueryDimension[groupByDimensions.size()]);
+    Arrays.sort(sortedDimensions, new Comparator<QueryDimension>() {
+      @Override public int compare(QueryDimension o1, QueryDimension o2) {
+        return o1.getQueryOrder() - o2.getQueryOrder();
+      }
+    });
+    return sortedDimensions;
+  }
+
+  private boolean isAggregatedColumn(String columnName) {
+    for (QueryAggregate queryAggregate : queryAggregates) {
+      if (columnName.equalsIgnoreCase(queryAggregate.getColumnName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return columns of the rows given by the scan, in case of aggregate query the group by
+   * columns, which are followed by the aggregates in the row
+   */
+  public CarbonColumn[] getResultColumns() {
+    if (!isAggregateQuery()) {
+      return getProjectionColumns();
+    }
+    QueryDimension[] groupByDimensions = getGroupByDimensions();
+    CarbonColumn[] carbonColumns = new CarbonColumn[groupByDimensions.length];
+    for (int i = 0; i < groupByDimensions.length; i++) {
+      carbonColumns[i] = groupByDimensions[i].getDimension();
+    }
+    return carbonColumns;
+  }
+
   /**
    * @return the queryDimension
    */
@@ -336,6 +407,14 @@ public class QueryModel implements Serializable {
     this.statisticsRecorder = statisticsRecorder;
   }
 
+  public QueryScanMetrics getScanMetrics() {
+    return scanMetrics;
+  }
+
+  public void setScanMetrics(QueryScanMetrics scanMetrics) {
+    this.scanMetrics = scanMetrics;
+  }
+
   public List<String> getInvalidSegmentIds() {
     return invalidSegmentIds;
   }
@@ -351,6 +430,38 @@ public class QueryModel implements Serializable {
   public void setVectorReader(boolean vectorReader) {
     this.vectorReader = vectorReader;
   }
+
+  public List<QueryAggregate> getQueryAggregates() {
+    return queryAggregates;
+  }
+
+  public void setQueryAggregates(List<QueryAggregate> queryAggregates) {
+    this.queryAggregates = queryAggregates;
+  }
+
+  /**
+   * @return true if the scan has to give the aggregated rows instead of detail rows
+   */
+  public boolean isAggregateQuery() {
+    return !queryAggregates.isEmpty();
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public void setLimit(int limit) {
+    this.limit = limit;
+  }
+
+  public boolean isOrderBySortColumn() {
+    return orderBySortColumn;
+  }
+
+  public void setOrderBySortColumn(boolean orderBySortColumn) {
+    this.orderBySortColumn = orderBySortColumn;
+  }
+
   public void setInvalidBlockForSegmentId(List<UpdateVO> invalidSegmentTimestampList) {
     for (UpdateVO anUpdateVO : invalidSegmentTimestampList) {
       this.invalidSegmentBlockIdMap.put(anUpdateVO.getSegmentId(), anUpdateVO);
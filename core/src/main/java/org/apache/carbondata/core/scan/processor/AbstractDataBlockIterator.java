@@ -22,6 +22,7 @@ import java.util.List;
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.DataRefNode;
 import org.apache.carbondata.core.datastore.FileHolder;
 import org.apache.carbondata.core.scan.collector.ScannedResultCollector;
@@ -74,12 +75,20 @@ public abstract class AbstractDataBlockIterator extends CarbonIterator<List<Obje
 
   protected AbstractScannedResult scannedResult;
 
+  /**
+   * number of rows which can still be returned from the block, -1 if there is no limit
+   */
+  protected int remainingRows;
+
   public AbstractDataBlockIterator(BlockExecutionInfo blockExecutionInfo, FileHolder fileReader,
       int batchSize, QueryStatisticsModel queryStatisticsModel,
       BlocksChunkHolder blockChunkHolder) {
     dataBlockIterator = new BlockletIterator(blockExecutionInfo.getFirstDataBlock(),
         blockExecutionInfo.getNumberOfBlockToScan());
     blocksChunkHolder = blockChunkHolder;
+    blocksChunkHolder.setBlockId(
+        blockExecutionInfo.getAbsoluteTableIdentifier().getCarbonTableIdentifier().getTableId()
+            + CarbonCommonConstants.FILE_SEPARATOR + blockExecutionInfo.getBlockId());
     if (blockExecutionInfo.getFilterExecuterTree() != null) {
       blockletScanner = new FilterScanner(blockExecutionInfo, queryStatisticsModel);
     } else {
@@ -99,10 +108,13 @@ public abstract class AbstractDataBlockIterator extends CarbonIterator<List<Obje
           new DictionaryBasedResultCollector(blockExecutionInfo);
     }
     this.batchSize = batchSize;
+    this.remainingRows = blockExecutionInfo.getLimit();
   }
 
   public boolean hasNext() {
-    if (scannedResult != null && scannedResult.hasNext()) {
+    if (remainingRows == 0) {
+      return false;
+    } else if (scannedResult != null && scannedResult.hasNext()) {
       return true;
     } else {
       return dataBlockIterator.hasNext();
@@ -110,6 +122,9 @@ public abstract class AbstractDataBlockIterator extends CarbonIterator<List<Obje
   }
 
   protected boolean updateScanner() {
+    if (remainingRows == 0) {
+      return false;
+    }
     try {
       if (scannedResult != null && scannedResult.hasNext()) {
         return true;
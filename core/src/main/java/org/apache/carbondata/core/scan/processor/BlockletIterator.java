@@ -52,6 +52,7 @@ public class BlockletIterator extends CarbonIterator<DataRefNode> {
   public BlockletIterator(DataRefNode datablock, long totalNumberOfBlocksToScan) {
     this.datablock = datablock;
     this.totalNumberOfBlocksToScan = totalNumberOfBlocksToScan;
+    this.hasNext = null != datablock && totalNumberOfBlocksToScan > 0;
   }
 
   /**
@@ -18,6 +18,7 @@ package org.apache.carbondata.core.scan.processor;
 
 import org.apache.carbondata.core.datastore.DataRefNode;
 import org.apache.carbondata.core.datastore.FileHolder;
+import org.apache.carbondata.core.datastore.chunk.ColumnChunkCache;
 import org.apache.carbondata.core.datastore.chunk.DimensionColumnDataChunk;
 import org.apache.carbondata.core.datastore.chunk.MeasureColumnDataChunk;
 
@@ -47,9 +48,25 @@ public class BlocksChunkHolder {
    */
   private DataRefNode dataBlock;
 
+  /**
+   * unique id of the block of the data blocks, used to key their chunks in the chunk cache
+   */
+  private String blockId;
+
+  /**
+   * cache through which the chunks of the data blocks are read
+   */
+  private final ColumnChunkCache chunkCache;
+
   public BlocksChunkHolder(int numberOfDimensionBlock, int numberOfMeasureBlock) {
+    this(numberOfDimensionBlock, numberOfMeasureBlock, ColumnChunkCache.INSTANCE);
+  }
+
+  BlocksChunkHolder(int numberOfDimensionBlock, int numberOfMeasureBlock,
+      ColumnChunkCache chunkCache) {
     dimensionDataChunk = new DimensionColumnDataChunk[numberOfDimensionBlock];
     measureDataChunk = new MeasureColumnDataChunk[numberOfMeasureBlock];
+    this.chunkCache = chunkCache;
   }
 
   /**
@@ -105,9 +122,21 @@ public class BlocksChunkHolder {
    * @param dataBlock the dataBlock to set
    */
   public void setDataBlock(DataRefNode dataBlock) {
+    // the previous data block is scanned, so its cached chunks are not used anymore
+    releaseCachedChunks();
+    if (null != blockId && chunkCache.isEnabled()) {
+      dataBlock = new CachedChunksDataRefNode(dataBlock, blockId, chunkCache);
+    }
     this.dataBlock = dataBlock;
   }
 
+  /**
+   * @param blockId unique id of the block of the next data blocks
+   */
+  public void setBlockId(String blockId) {
+    this.blockId = blockId;
+  }
+
   /***
    * To reset the measure chunk and dimension chunk
    * array
@@ -120,4 +149,33 @@ public class BlocksChunkHolder {
       this.dimensionDataChunk[i] = null;
     }
   }
+
+  /**
+   * Below method will be used to free the memory of the chunks read by the holder. The chunks
+   * shared through the chunk cache are released to the cache instead of being freed.
+   */
+  public void freeMemory() {
+    for (int i = 0; i < measureDataChunk.length; i++) {
+      if (null != measureDataChunk[i] && !isCached(measureDataChunk[i])) {
+        measureDataChunk[i].freeMemory();
+      }
+    }
+    for (int i = 0; i < dimensionDataChunk.length; i++) {
+      if (null != dimensionDataChunk[i] && !isCached(dimensionDataChunk[i])) {
+        dimensionDataChunk[i].freeMemory();
+      }
+    }
+    releaseCachedChunks();
+  }
+
+  private boolean isCached(Object chunk) {
+    return dataBlock instanceof CachedChunksDataRefNode && ((CachedChunksDataRefNode) dataBlock)
+        .isCached(chunk);
+  }
+
+  private void releaseCachedChunks() {
+    if (dataBlock instanceof CachedChunksDataRefNode) {
+      ((CachedChunksDataRefNode) dataBlock).releaseChunks();
+    }
+  }
 }
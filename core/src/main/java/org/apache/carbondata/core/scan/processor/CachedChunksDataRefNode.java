@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.processor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.carbondata.core.cache.update.BlockletLevelDeleteDeltaDataCache;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.FileHolder;
+import org.apache.carbondata.core.datastore.chunk.ColumnChunkCache;
+import org.apache.carbondata.core.datastore.chunk.DimensionColumnDataChunk;
+import org.apache.carbondata.core.datastore.chunk.MeasureColumnDataChunk;
+
+/**
+ * Data block which reads the column chunks of a blocklet through the executor wide column chunk
+ * cache. Only the chunks missing in the cache are read from the file, and they are added to the
+ * cache for the other tasks scanning the same blocklet. The chunks acquired from the cache are
+ * owned by it, so they are released instead of being freed once the blocklet is scanned.
+ */
+final class CachedChunksDataRefNode implements DataRefNode {
+
+  private final DataRefNode dataRefNode;
+
+  private final ColumnChunkCache chunkCache;
+
+  /**
+   * prefix of the keys of the chunks of this blocklet
+   */
+  private final String keyPrefix;
+
+  /**
+   * keys of the chunks acquired from the cache
+   */
+  private final List<String> acquiredKeys = new ArrayList<>();
+
+  /**
+   * chunks acquired from the cache
+   */
+  private final Set<Object> acquiredChunks =
+      Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+  CachedChunksDataRefNode(DataRefNode dataRefNode, String blockId, ColumnChunkCache chunkCache) {
+    this.dataRefNode = dataRefNode;
+    this.chunkCache = chunkCache;
+    this.keyPrefix = blockId + CarbonCommonConstants.FILE_SEPARATOR + dataRefNode.nodeNumber()
+        + CarbonCommonConstants.FILE_SEPARATOR;
+  }
+
+  @Override public DataRefNode getNextDataRefNode() {
+    return dataRefNode.getNextDataRefNode();
+  }
+
+  @Override public int nodeSize() {
+    return dataRefNode.nodeSize();
+  }
+
+  @Override public long nodeNumber() {
+    return dataRefNode.nodeNumber();
+  }
+
+  @Override public byte[][] getColumnsMaxValue() {
+    return dataRefNode.getColumnsMaxValue();
+  }
+
+  @Override public byte[][] getColumnsMinValue() {
+    return dataRefNode.getColumnsMinValue();
+  }
+
+  @Override public DimensionColumnDataChunk[] getDimensionChunks(FileHolder fileReader,
+      int[][] blockIndexes) throws IOException {
+    List<DimensionColumnDataChunk> cachedChunks = new ArrayList<>();
+    List<Integer> cachedIndexes = new ArrayList<>();
+    List<int[]> missingIndexes = new ArrayList<>();
+    for (int[] blockIndex : blockIndexes) {
+      int missingStart = -1;
+      for (int i = blockIndex[0]; i <= blockIndex[1]; i++) {
+        DimensionColumnDataChunk dimensionChunk = acquireDimensionChunk(i);
+        if (null == dimensionChunk) {
+          if (missingStart < 0) {
+            missingStart = i;
+          }
+        } else {
+          cachedChunks.add(dimensionChunk);
+          cachedIndexes.add(i);
+          if (missingStart >= 0) {
+            missingIndexes.add(new int[] { missingStart, i - 1 });
+            missingStart = -1;
+          }
+        }
+      }
+      if (missingStart >= 0) {
+        missingIndexes.add(new int[] { missingStart, blockIndex[1] });
+      }
+    }
+    // the missing chunks are read keeping the ranges, so they are still read in few IOs
+    DimensionColumnDataChunk[] dimensionChunks = dataRefNode
+        .getDimensionChunks(fileReader, missingIndexes.toArray(new int[missingIndexes.size()][]));
+    for (int[] missingIndex : missingIndexes) {
+      for (int i = missingIndex[0]; i <= missingIndex[1]; i++) {
+        putDimensionChunk(i, dimensionChunks[i]);
+      }
+    }
+    for (int i = 0; i < cachedIndexes.size(); i++) {
+      dimensionChunks[cachedIndexes.get(i)] = cachedChunks.get(i);
+    }
+    return dimensionChunks;
+  }
+
+  @Override public DimensionColumnDataChunk getDimensionChunk(FileHolder fileReader,
+      int blockIndex) throws IOException {
+    DimensionColumnDataChunk dimensionChunk = acquireDimensionChunk(blockIndex);
+    if (null == dimensionChunk) {
+      dimensionChunk = dataRefNode.getDimensionChunk(fileReader, blockIndex);
+      putDimensionChunk(blockIndex, dimensionChunk);
+    }
+    return dimensionChunk;
+  }
+
+  @Override public MeasureColumnDataChunk[] getMeasureChunks(FileHolder fileReader,
+      int[][] blockIndexes) throws IOException {
+    List<MeasureColumnDataChunk> cachedChunks = new ArrayList<>();
+    List<Integer> cachedIndexes = new ArrayList<>();
+    List<int[]> missingIndexes = new ArrayList<>();
+    for (int[] blockIndex : blockIndexes) {
+      int missingStart = -1;
+      for (int i = blockIndex[0]; i <= blockIndex[1]; i++) {
+        MeasureColumnDataChunk measureChunk = acquireMeasureChunk(i);
+        if (null == measureChunk) {
+          if (missingStart < 0) {
+            missingStart = i;
+          }
+        } else {
+          cachedChunks.add(measureChunk);
+          cachedIndexes.add(i);
+          if (missingStart >= 0) {
+            missingIndexes.add(new int[] { missingStart, i - 1 });
+            missingStart = -1;
+          }
+        }
+      }
+      if (missingStart >= 0) {
+        missingIndexes.add(new int[] { missingStart, blockIndex[1] });
+      }
+    }
+    MeasureColumnDataChunk[] measureChunks = dataRefNode
+        .getMeasureChunks(fileReader, missingIndexes.toArray(new int[missingIndexes.size()][]));
+    for (int[] missingIndex : missingIndexes) {
+      for (int i = missingIndex[0]; i <= missingIndex[1]; i++) {
+        putMeasureChunk(i, measureChunks[i]);
+      }
+    }
+    for (int i = 0; i < cachedIndexes.size(); i++) {
+      measureChunks[cachedIndexes.get(i)] = cachedChunks.get(i);
+    }
+    return measureChunks;
+  }
+
+  @Override public MeasureColumnDataChunk getMeasureChunk(FileHolder fileReader, int blockIndex)
+      throws IOException {
+    MeasureColumnDataChunk measureChunk = acquireMeasureChunk(blockIndex);
+    if (null == measureChunk) {
+      measureChunk = dataRefNode.getMeasureChunk(fileReader, blockIndex);
+      putMeasureChunk(blockIndex, measureChunk);
+    }
+    return measureChunk;
+  }
+
+  @Override public void setDeleteDeltaDataCache(
+      BlockletLevelDeleteDeltaDataCache deleteDeltaDataCache) {
+    dataRefNode.setDeleteDeltaDataCache(deleteDeltaDataCache);
+  }
+
+  @Override public BlockletLevelDeleteDeltaDataCache getDeleteDeltaDataCache() {
+    return dataRefNode.getDeleteDeltaDataCache();
+  }
+
+  /**
+   * @param chunk dimension or measure chunk
+   * @return true if the chunk is owned by the cache
+   */
+  boolean isCached(Object chunk) {
+    return acquiredChunks.contains(chunk);
+  }
+
+  /**
+   * Below method will be used to release the chunks acquired from the cache
+   */
+  void releaseChunks() {
+    for (String key : acquiredKeys) {
+      chunkCache.release(key);
+    }
+    acquiredKeys.clear();
+    acquiredChunks.clear();
+  }
+
+  private DimensionColumnDataChunk acquireDimensionChunk(int blockIndex) {
+    String key = keyPrefix + 'd' + blockIndex;
+    DimensionColumnDataChunk dimensionChunk = chunkCache.acquireDimensionChunk(key);
+    if (null != dimensionChunk) {
+      acquiredKeys.add(key);
+      acquiredChunks.add(dimensionChunk);
+    }
+    return dimensionChunk;
+  }
+
+  private MeasureColumnDataChunk acquireMeasureChunk(int blockIndex) {
+    String key = keyPrefix + 'm' + blockIndex;
+    MeasureColumnDataChunk measureChunk = chunkCache.acquireMeasureChunk(key);
+    if (null != measureChunk) {
+      acquiredKeys.add(key);
+      acquiredChunks.add(measureChunk);
+    }
+    return measureChunk;
+  }
+
+  private void putDimensionChunk(int blockIndex, DimensionColumnDataChunk dimensionChunk) {
+    String key = keyPrefix + 'd' + blockIndex;
+    if (null != dimensionChunk && chunkCache
+        .putDimensionChunk(key, dimensionChunk, dimensionChunk.getMemorySize())) {
+      acquiredKeys.add(key);
+      acquiredChunks.add(dimensionChunk);
+    }
+  }
+
+  private void putMeasureChunk(int blockIndex, MeasureColumnDataChunk measureChunk) {
+    String key = keyPrefix + 'm' + blockIndex;
+    if (null != measureChunk && chunkCache
+        .putMeasureChunk(key, measureChunk, measureChunk.getMemorySize())) {
+      acquiredKeys.add(key);
+      acquiredChunks.add(measureChunk);
+    }
+  }
+}
@@ -48,13 +48,17 @@ public class DataBlockIteratorImpl extends AbstractDataBlockIterator {
    */
   public List<Object[]> next() {
     List<Object[]> collectedResult = null;
+    int rowsToCollect = remainingRows < 0 ? batchSize : Math.min(batchSize, remainingRows);
     if (updateScanner()) {
-      collectedResult = this.scannerResultAggregator.collectData(scannedResult, batchSize);
-      while (collectedResult.size() < batchSize && updateScanner()) {
+      collectedResult = this.scannerResultAggregator.collectData(scannedResult, rowsToCollect);
+      while (collectedResult.size() < rowsToCollect && updateScanner()) {
         List<Object[]> data = this.scannerResultAggregator
-            .collectData(scannedResult, batchSize - collectedResult.size());
+            .collectData(scannedResult, rowsToCollect - collectedResult.size());
         collectedResult.addAll(data);
       }
+      if (remainingRows > 0) {
+        remainingRows -= collectedResult.size();
+      }
     } else {
       collectedResult = new ArrayList<>();
     }
@@ -62,12 +66,25 @@ public class DataBlockIteratorImpl extends AbstractDataBlockIterator {
   }
 
   public void processNextBatch(CarbonColumnarBatch columnarBatch) {
+    int startSize = columnarBatch.getActualSize();
     if (updateScanner()) {
       this.scannerResultAggregator.collectVectorBatch(scannedResult, columnarBatch);
-      while (columnarBatch.getActualSize() < columnarBatch.getBatchSize() && updateScanner()) {
+      while (columnarBatch.getActualSize() < columnarBatch.getBatchSize() && !isLimitReached(
+          columnarBatch, startSize) && updateScanner()) {
         this.scannerResultAggregator.collectVectorBatch(scannedResult, columnarBatch);
       }
+      if (remainingRows > 0) {
+        // rows collected after the limit are dropped from the batch
+        int collectedRows = Math.min(columnarBatch.getActualSize() - startSize, remainingRows);
+        columnarBatch.setActualSize(startSize + collectedRows);
+        columnarBatch.setRowCounter(startSize + collectedRows);
+        remainingRows -= collectedRows;
+      }
     }
   }
 
+  private boolean isLimitReached(CarbonColumnarBatch columnarBatch, int startSize) {
+    return remainingRows >= 0 && columnarBatch.getActualSize() - startSize >= remainingRows;
+  }
+
 }
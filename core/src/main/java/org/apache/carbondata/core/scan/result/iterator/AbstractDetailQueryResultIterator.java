@@ -29,17 +29,18 @@ import org.apache.carbondata.core.datastore.FileHolder;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.datastore.impl.btree.BTreeDataRefNodeFinder;
 import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.executor.util.QueryUtil;
 import org.apache.carbondata.core.scan.model.QueryModel;
 import org.apache.carbondata.core.scan.processor.AbstractDataBlockIterator;
 import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
 import org.apache.carbondata.core.scan.processor.impl.DataBlockIteratorImpl;
 import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
+import org.apache.carbondata.core.stats.QueryScanMetrics;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
 import org.apache.carbondata.core.stats.QueryStatisticsRecorder;
 import org.apache.carbondata.core.util.CarbonProperties;
-import org.apache.carbondata.core.util.CarbonUtil;
 
 /**
  * In case of detail query we cannot keep all the records in memory so for
@@ -89,6 +90,16 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
 
   private BlocksChunkHolder blocksChunkHolder;
 
+  /**
+   * number of rows which can still be returned by the query, -1 if there is no limit
+   */
+  private int remainingRows;
+
+  /**
+   * scan metrics of the query, null if they are not collected
+   */
+  private QueryScanMetrics scanMetrics;
+
   public AbstractDetailQueryResultIterator(List<BlockExecutionInfo> infos, QueryModel queryModel,
       ExecutorService execService) {
     String batchSizeString =
@@ -106,11 +117,20 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     this.blocksChunkHolder = new BlocksChunkHolder(infos.get(0).getTotalNumberDimensionBlock(),
         infos.get(0).getTotalNumberOfMeasureBlock());
     this.recorder = queryModel.getStatisticsRecorder();
+    this.scanMetrics = queryModel.getScanMetrics();
     this.blockExecutionInfos = infos;
     this.fileReader = FileFactory.getFileHolder(
         FileFactory.getFileType(queryModel.getAbsoluteTableIdentifier().getStorePath()));
+    this.fileReader.setScanMetrics(scanMetrics);
     this.blocksChunkHolder.setFileReader(fileReader);
     this.execService = execService;
+    // in case of order by sort column or aggregation, the limit is applied to the sorted
+    // or aggregated rows and not to the rows of the scan
+    if (queryModel.isOrderBySortColumn() || queryModel.isAggregateQuery()) {
+      this.remainingRows = -1;
+    } else {
+      this.remainingRows = queryModel.getLimit();
+    }
     intialiseInfos();
     initQueryStatiticsModel();
   }
@@ -121,16 +141,17 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
       DataRefNodeFinder finder = new BTreeDataRefNodeFinder(blockInfo.getEachColumnValueSize());
       DataRefNode startDataBlock = finder
           .findFirstDataBlock(blockInfo.getDataBlock().getDataRefNode(), blockInfo.getStartKey());
-      while (startDataBlock.nodeNumber() < blockInfo.getStartBlockletIndex()) {
+      while (null != startDataBlock
+          && startDataBlock.nodeNumber() < blockInfo.getStartBlockletIndex()) {
         startDataBlock = startDataBlock.getNextDataRefNode();
       }
-
-      long numberOfBlockToScan = blockInfo.getNumberOfBlockletToScan();
-      //if number of block is less than 0 then take end block.
-      if (numberOfBlockToScan <= 0) {
+      long numberOfBlockToScan = 0;
+      if (null != startDataBlock) {
         DataRefNode endDataBlock = finder
             .findLastDataBlock(blockInfo.getDataBlock().getDataRefNode(), blockInfo.getEndKey());
-        numberOfBlockToScan = endDataBlock.nodeNumber() - startDataBlock.nodeNumber() + 1;
+        numberOfBlockToScan = QueryUtil
+            .getNumberOfBlockletsToScan(blockInfo, startDataBlock.nodeNumber(),
+                endDataBlock.nodeNumber());
       }
       blockInfo.setFirstDataBlock(startDataBlock);
       blockInfo.setNumberOfBlockToScan(numberOfBlockToScan);
@@ -138,9 +159,10 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
   }
 
   @Override public boolean hasNext() {
-    if ((dataBlockIterator != null && dataBlockIterator.hasNext()) || nextBatch) {
+    if (remainingRows != 0 && ((dataBlockIterator != null && dataBlockIterator.hasNext())
+        || nextBatch)) {
       return true;
-    } else if (blockExecutionInfos.size() > 0) {
+    } else if (remainingRows != 0 && blockExecutionInfos.size() > 0) {
       return true;
     } else {
       if (!isStatisticsRecorded) {
@@ -168,8 +190,7 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
       BlockExecutionInfo executionInfo = blockExecutionInfos.get(0);
       blockExecutionInfos.remove(executionInfo);
       queryStatisticsModel.setRecorder(recorder);
-      CarbonUtil.freeMemory(blocksChunkHolder.getDimensionDataChunk(),
-          blocksChunkHolder.getMeasureDataChunk());
+      blocksChunkHolder.freeMemory();
       return new DataBlockIteratorImpl(executionInfo, fileReader, batchSize, queryStatisticsModel,
           blocksChunkHolder);
     }
@@ -178,6 +199,7 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
 
   protected void initQueryStatiticsModel() {
     this.queryStatisticsModel = new QueryStatisticsModel();
+    queryStatisticsModel.setScanMetrics(scanMetrics);
     QueryStatistic queryStatisticTotalBlocklet = new QueryStatistic();
     queryStatisticsModel.getStatisticsTypeAndObjMap()
         .put(QueryStatisticsConstants.TOTAL_BLOCKLET_NUM, queryStatisticTotalBlocklet);
@@ -190,9 +212,48 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     throw new UnsupportedOperationException("Please use VectorDetailQueryResultIterator");
   }
 
+  /**
+   * Removes the rows after the limit of the query
+   *
+   * @param rows rows read from the block
+   * @return rows within the limit
+   */
+  protected List<Object[]> applyLimit(List<Object[]> rows) {
+    int collectedRows = rows.size();
+    if (remainingRows >= 0) {
+      if (rows.size() > remainingRows) {
+        rows = rows.subList(0, remainingRows);
+      }
+      remainingRows -= rows.size();
+    }
+    if (null != scanMetrics) {
+      scanMetrics.recordCollectedRows(collectedRows, rows.size());
+    }
+    return rows;
+  }
+
+  /**
+   * Removes the rows added to the batch after the limit of the query
+   *
+   * @param columnarBatch batch filled from the block
+   * @param startSize     size of the batch before it was filled
+   */
+  protected void applyLimit(CarbonColumnarBatch columnarBatch, int startSize) {
+    int collectedRows = columnarBatch.getActualSize() - startSize;
+    int returnedRows = collectedRows;
+    if (remainingRows >= 0) {
+      returnedRows = Math.min(collectedRows, remainingRows);
+      columnarBatch.setActualSize(startSize + returnedRows);
+      columnarBatch.setRowCounter(startSize + returnedRows);
+      remainingRows -= returnedRows;
+    }
+    if (null != scanMetrics) {
+      scanMetrics.recordCollectedRows(collectedRows, returnedRows);
+    }
+  }
+
   @Override public void close() {
-    CarbonUtil.freeMemory(blocksChunkHolder.getDimensionDataChunk(),
-        blocksChunkHolder.getMeasureDataChunk());
+    blocksChunkHolder.freeMemory();
   }
 
 }
@@ -73,7 +73,7 @@ public class DetailQueryResultIterator extends AbstractDetailQueryResultIterator
         synchronized (lock) {
           updateDataBlockIterator();
           if (dataBlockIterator != null) {
-            batchResult.setRows(dataBlockIterator.next());
+            batchResult.setRows(applyLimit(dataBlockIterator.next()));
           }
         }
         return batchResult;
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.result.iterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.core.scan.model.QueryAggregate;
+import org.apache.carbondata.core.scan.model.QueryAggregate.AggregateType;
+import org.apache.carbondata.core.scan.model.QueryDimension;
+import org.apache.carbondata.core.scan.model.QueryMeasure;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.result.BatchResult;
+
+import org.apache.spark.sql.types.Decimal;
+
+/**
+ * Iterator which aggregates the rows of the detail query for each group of query dimension
+ * values. Dictionary dimensions are grouped on surrogate keys, so the dictionary is not
+ * needed for aggregation. Result is the partial aggregate of the task, each row has the values
+ * of group by dimensions in query order followed by the aggregates in the order of
+ * {@link QueryModel#getQueryAggregates()}.
+ */
+public class PartialAggregateResultIterator extends CarbonIterator<BatchResult> {
+
+  private CarbonIterator<BatchResult> detailResultIterator;
+
+  /**
+   * position of each group by dimension in the detail row
+   */
+  private int[] groupByOrdinals;
+
+  private AggregateType[] aggregateTypes;
+
+  /**
+   * position of the aggregated column in the detail row, -1 for count star
+   */
+  private int[] aggregateOrdinals;
+
+  private BatchResult aggregatedResult;
+
+  private boolean isResultReturned;
+
+  public PartialAggregateResultIterator(CarbonIterator<BatchResult> detailResultIterator,
+      QueryModel queryModel) {
+    this.detailResultIterator = detailResultIterator;
+    QueryDimension[] groupByDimensions = queryModel.getGroupByDimensions();
+    groupByOrdinals = new int[groupByDimensions.length];
+    for (int i = 0; i < groupByDimensions.length; i++) {
+      groupByOrdinals[i] = groupByDimensions[i].getQueryOrder();
+    }
+    List<QueryAggregate> queryAggregates = queryModel.getQueryAggregates();
+    aggregateTypes = new AggregateType[queryAggregates.size()];
+    aggregateOrdinals = new int[queryAggregates.size()];
+    for (int i = 0; i < aggregateTypes.length; i++) {
+      aggregateTypes[i] = queryAggregates.get(i).getAggregateType();
+      aggregateOrdinals[i] = -1;
+      if (aggregateTypes[i] != AggregateType.COUNT_STAR) {
+        aggregateOrdinals[i] =
+            getColumnOrdinal(queryModel, queryAggregates.get(i).getColumnName());
+      }
+    }
+  }
+
+  private static int getColumnOrdinal(QueryModel queryModel, String columnName) {
+    for (QueryMeasure queryMeasure : queryModel.getQueryMeasures()) {
+      if (queryMeasure.getColumnName().equalsIgnoreCase(columnName)) {
+        return queryMeasure.getQueryOrder();
+      }
+    }
+    for (QueryDimension queryDimension : queryModel.getQueryDimension()) {
+      if (queryDimension.getColumnName().equalsIgnoreCase(columnName)) {
+        return queryDimension.getQueryOrder();
+      }
+    }
+    throw new IllegalArgumentException(
+        "Aggregated column " + columnName + " is not selected in the query");
+  }
+
+  @Override public boolean hasNext() {
+    return !isResultReturned;
+  }
+
+  @Override public BatchResult next() {
+    if (isResultReturned) {
+      throw new NoSuchElementException();
+    }
+    if (null == aggregatedResult) {
+      aggregatedResult = aggregate();
+    }
+    isResultReturned = true;
+    return aggregatedResult;
+  }
+
+  private BatchResult aggregate() {
+    Map<GroupKey, Object[]> groups = new LinkedHashMap<>();
+    while (detailResultIterator.hasNext()) {
+      BatchResult batchResult = detailResultIterator.next();
+      while (batchResult.hasNext()) {
+        Object[] row = batchResult.next();
+        Object[] groupValues = new Object[groupByOrdinals.length];
+        for (int i = 0; i < groupByOrdinals.length; i++) {
+          groupValues[i] = row[groupByOrdinals[i]];
+        }
+        GroupKey groupKey = new GroupKey(groupValues);
+        Object[] aggregates = groups.get(groupKey);
+        if (null == aggregates) {
+          aggregates = newAggregates();
+          groups.put(groupKey, aggregates);
+        }
+        for (int i = 0; i < aggregateTypes.length; i++) {
+          Object value = aggregateOrdinals[i] < 0 ? null : row[aggregateOrdinals[i]];
+          aggregates[i] = aggregate(aggregateTypes[i], aggregates[i], value);
+        }
+      }
+    }
+    // aggregate without group by gives one row even if no row is selected
+    if (groups.isEmpty() && groupByOrdinals.length == 0) {
+      groups.put(new GroupKey(new Object[0]), newAggregates());
+    }
+    List<Object[]> rows = new ArrayList<>(groups.size());
+    for (Map.Entry<GroupKey, Object[]> group : groups.entrySet()) {
+      Object[] row = new Object[groupByOrdinals.length + aggregateTypes.length];
+      System.arraycopy(group.getKey().values, 0, row, 0, groupByOrdinals.length);
+      System.arraycopy(group.getValue(), 0, row, groupByOrdinals.length, aggregateTypes.length);
+      rows.add(row);
+    }
+    BatchResult batchResult = new BatchResult();
+    batchResult.setRows(rows);
+    return batchResult;
+  }
+
+  private Object[] newAggregates() {
+    Object[] aggregates = new Object[aggregateTypes.length];
+    for (int i = 0; i < aggregateTypes.length; i++) {
+      if (aggregateTypes[i] == AggregateType.COUNT_STAR
+          || aggregateTypes[i] == AggregateType.COUNT) {
+        aggregates[i] = 0L;
+      }
+    }
+    return aggregates;
+  }
+
+  /**
+   * Adds the value to the aggregate, null values are ignored except for count star
+   */
+  @SuppressWarnings("unchecked")
+  static Object aggregate(AggregateType aggregateType, Object aggregate, Object value) {
+    if (aggregateType == AggregateType.COUNT_STAR) {
+      return (Long) aggregate + 1;
+    }
+    if (null == value) {
+      return aggregate;
+    }
+    switch (aggregateType) {
+      case COUNT:
+        return (Long) aggregate + 1;
+      case SUM:
+        return null == aggregate ? value : add(aggregate, value);
+      case MIN:
+        return null == aggregate || ((Comparable<Object>) value).compareTo(aggregate) < 0 ?
+            value :
+            aggregate;
+      case MAX:
+        return null == aggregate || ((Comparable<Object>) value).compareTo(aggregate) > 0 ?
+            value :
+            aggregate;
+      default:
+        throw new UnsupportedOperationException("Unsupported aggregate " + aggregateType);
+    }
+  }
+
+  private static Object add(Object aggregate, Object value) {
+    if (value instanceof Long) {
+      return (Long) aggregate + (Long) value;
+    } else if (value instanceof Double) {
+      return (Double) aggregate + (Double) value;
+    } else if (value instanceof Decimal) {
+      return ((Decimal) aggregate).$plus((Decimal) value);
+    }
+    throw new UnsupportedOperationException("Sum of " + value.getClass() + " is not supported");
+  }
+
+  @Override public void close() {
+    detailResultIterator.close();
+  }
+
+  /**
+   * Values of the group by dimensions of a row
+   */
+  private static final class GroupKey {
+
+    private Object[] values;
+
+    private GroupKey(Object[] values) {
+      this.values = values;
+    }
+
+    @Override public boolean equals(Object obj) {
+      return obj instanceof GroupKey && Arrays.deepEquals(values, ((GroupKey) obj).values);
+    }
+
+    @Override public int hashCode() {
+      return Arrays.deepHashCode(values);
+    }
+  }
+}
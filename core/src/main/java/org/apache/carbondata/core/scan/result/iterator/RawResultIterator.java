@@ -57,11 +57,17 @@ public class RawResultIterator extends CarbonIterator<Object[]> {
    */
   private BatchResult batch;
 
+  /**
+   * keys of the row being converted, reused for all the rows
+   */
+  private int[] keyArray;
+
   public RawResultIterator(CarbonIterator<BatchResult> detailRawQueryResultIterator,
       SegmentProperties sourceSegProperties, SegmentProperties destinationSegProperties) {
     this.detailRawQueryResultIterator = detailRawQueryResultIterator;
     this.sourceSegProperties = sourceSegProperties;
     this.destinationSegProperties = destinationSegProperties;
+    this.keyArray = new int[sourceSegProperties.getDimensionKeyGenerator().getDimCount()];
   }
 
   @Override public boolean hasNext() {
@@ -143,7 +149,7 @@ public class RawResultIterator extends CarbonIterator<Object[]> {
 
   private Object[] convertRow(Object[] rawRow) throws KeyGenException {
     byte[] dims = ((ByteArrayWrapper) rawRow[0]).getDictionaryKey();
-    long[] keyArray = sourceSegProperties.getDimensionKeyGenerator().getKeyArray(dims);
+    sourceSegProperties.getDimensionKeyGenerator().getKeyArray(dims, 0, keyArray);
     byte[] covertedBytes =
         destinationSegProperties.getDimensionKeyGenerator().generateKey(keyArray);
     ((ByteArrayWrapper) rawRow[0]).setDictionaryKey(covertedBytes);
@@ -43,7 +43,9 @@ public class VectorDetailQueryResultIterator extends AbstractDetailQueryResultIt
     synchronized (lock) {
       updateDataBlockIterator();
       if (dataBlockIterator != null) {
+        int startSize = columnarBatch.getActualSize();
         dataBlockIterator.processNextBatch(columnarBatch);
+        applyLimit(columnarBatch, startSize);
       }
     }
   }
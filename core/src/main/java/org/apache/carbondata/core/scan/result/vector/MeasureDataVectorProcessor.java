@@ -36,13 +36,30 @@ public class MeasureDataVectorProcessor {
 
   public static class IntegralMeasureVectorFiller implements MeasureVectorFiller {
 
+    /**
+     * values of the rows decoded in one call, reused across the batches of the query
+     */
+    private long[] values = new long[0];
+
     @Override
     public void fillMeasureVector(MeasureColumnDataChunk dataChunk, ColumnVectorInfo info) {
+      BitSet nullBitSet = dataChunk.getNullValueIndexHolder().getBitSet();
+      if (nullBitSet.isEmpty()) {
+        if (values.length < info.size) {
+          values = new long[info.size];
+        }
+        dataChunk.getMeasureDataHolder().getReadableLongValues(values, info.offset, info.size);
+        CarbonColumnVector vector = info.vector;
+        int vectorOffset = info.vectorOffset;
+        for (int i = 0; i < info.size; i++) {
+          vector.putInt(vectorOffset++, (int)values[i]);
+        }
+        return;
+      }
       int offset = info.offset;
       int len = offset + info.size;
       int vectorOffset = info.vectorOffset;
       CarbonColumnVector vector = info.vector;
-      BitSet nullBitSet = dataChunk.getNullValueIndexHolder().getBitSet();
       for (int i = offset; i < len; i++) {
         if (nullBitSet.get(i)) {
           vector.putNull(vectorOffset);
@@ -77,13 +94,30 @@ public class MeasureDataVectorProcessor {
 
   public static class ShortMeasureVectorFiller implements MeasureVectorFiller {
 
+    /**
+     * values of the rows decoded in one call, reused across the batches of the query
+     */
+    private long[] values = new long[0];
+
     @Override
     public void fillMeasureVector(MeasureColumnDataChunk dataChunk, ColumnVectorInfo info) {
+      BitSet nullBitSet = dataChunk.getNullValueIndexHolder().getBitSet();
+      if (nullBitSet.isEmpty()) {
+        if (values.length < info.size) {
+          values = new long[info.size];
+        }
+        dataChunk.getMeasureDataHolder().getReadableLongValues(values, info.offset, info.size);
+        CarbonColumnVector vector = info.vector;
+        int vectorOffset = info.vectorOffset;
+        for (int i = 0; i < info.size; i++) {
+          vector.putShort(vectorOffset++, (short) values[i]);
+        }
+        return;
+      }
       int offset = info.offset;
       int len = offset + info.size;
       int vectorOffset = info.vectorOffset;
       CarbonColumnVector vector = info.vector;
-      BitSet nullBitSet = dataChunk.getNullValueIndexHolder().getBitSet();
       for (int i = offset; i < len; i++) {
         if (nullBitSet.get(i)) {
           vector.putNull(vectorOffset);
@@ -118,13 +152,30 @@ public class MeasureDataVectorProcessor {
 
   public static class LongMeasureVectorFiller implements MeasureVectorFiller {
 
+    /**
+     * values of the rows decoded in one call, reused across the batches of the query
+     */
+    private long[] values = new long[0];
+
     @Override
     public void fillMeasureVector(MeasureColumnDataChunk dataChunk, ColumnVectorInfo info) {
+      BitSet nullBitSet = dataChunk.getNullValueIndexHolder().getBitSet();
+      if (nullBitSet.isEmpty()) {
+        if (values.length < info.size) {
+          values = new long[info.size];
+        }
+        dataChunk.getMeasureDataHolder().getReadableLongValues(values, info.offset, info.size);
+        CarbonColumnVector vector = info.vector;
+        int vectorOffset = info.vectorOffset;
+        for (int i = 0; i < info.size; i++) {
+          vector.putLong(vectorOffset++, values[i]);
+        }
+        return;
+      }
       int offset = info.offset;
       int len = offset + info.size;
       int vectorOffset = info.vectorOffset;
       CarbonColumnVector vector = info.vector;
-      BitSet nullBitSet = dataChunk.getNullValueIndexHolder().getBitSet();
       for (int i = offset; i < len; i++) {
         if (nullBitSet.get(i)) {
           vector.putNull(vectorOffset);
@@ -206,13 +257,30 @@ public class MeasureDataVectorProcessor {
 
   public static class DefaultMeasureVectorFiller implements MeasureVectorFiller {
 
+    /**
+     * values of the rows decoded in one call, reused across the batches of the query
+     */
+    private double[] values = new double[0];
+
     @Override
     public void fillMeasureVector(MeasureColumnDataChunk dataChunk, ColumnVectorInfo info) {
+      BitSet nullBitSet = dataChunk.getNullValueIndexHolder().getBitSet();
+      if (nullBitSet.isEmpty()) {
+        if (values.length < info.size) {
+          values = new double[info.size];
+        }
+        dataChunk.getMeasureDataHolder().getReadableDoubleValues(values, info.offset, info.size);
+        CarbonColumnVector vector = info.vector;
+        int vectorOffset = info.vectorOffset;
+        for (int i = 0; i < info.size; i++) {
+          vector.putDouble(vectorOffset++, values[i]);
+        }
+        return;
+      }
       int offset = info.offset;
       int len = offset + info.size;
       int vectorOffset = info.vectorOffset;
       CarbonColumnVector vector = info.vector;
-      BitSet nullBitSet = dataChunk.getNullValueIndexHolder().getBitSet();
       for (int i = offset; i < len; i++) {
         if (nullBitSet.get(i)) {
           vector.putNull(vectorOffset);
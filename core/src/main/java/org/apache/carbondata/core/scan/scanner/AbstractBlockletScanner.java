@@ -69,6 +69,11 @@ public abstract class AbstractBlockletScanner implements BlockletScanner {
             .addCountStatistic(QueryStatisticsConstants.VALID_SCAN_BLOCKLET_NUM,
                     validScannedBlockletStatistic.getCount() + 1);
     queryStatisticsModel.getRecorder().recordStatistics(validScannedBlockletStatistic);
+    if (null != queryStatisticsModel.getScanMetrics()) {
+      queryStatisticsModel.getScanMetrics()
+          .recordScannedBlocklet(blocksChunkHolder.getDataBlock().nodeSize(),
+              blocksChunkHolder.getDataBlock().nodeSize());
+    }
     scannedResult.reset();
     scannedResult.setNumberOfRows(blocksChunkHolder.getDataBlock().nodeSize());
     scannedResult.setBlockletId(
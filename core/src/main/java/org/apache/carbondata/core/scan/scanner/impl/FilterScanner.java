@@ -37,7 +37,6 @@ import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
 import org.apache.carbondata.core.util.CarbonProperties;
-import org.apache.carbondata.core.util.CarbonUtil;
 
 /**
  * Below class will be used for filter query processing
@@ -121,19 +120,26 @@ public class FilterScanner extends AbstractBlockletScanner {
       if (bitSet.isEmpty()) {
         scannedResult.setNumberOfRows(0);
         scannedResult.setIndexes(new int[0]);
-        CarbonUtil.freeMemory(blocksChunkHolder.getDimensionDataChunk(),
-            blocksChunkHolder.getMeasureDataChunk());
+        blocksChunkHolder.freeMemory();
+        if (null != queryStatisticsModel.getScanMetrics()) {
+          queryStatisticsModel.getScanMetrics()
+              .recordBlockletPrunedByMinMax(blocksChunkHolder.getDataBlock().nodeSize());
+        }
         return;
       }
     }
     // apply filter on actual data
     BitSet bitSet = this.filterExecuter.applyFilter(blocksChunkHolder);
     // if indexes is empty then return with empty result
+    if (null != queryStatisticsModel.getScanMetrics()) {
+      queryStatisticsModel.getScanMetrics()
+          .recordScannedBlocklet(blocksChunkHolder.getDataBlock().nodeSize(),
+              bitSet.cardinality());
+    }
     if (bitSet.isEmpty()) {
       scannedResult.setNumberOfRows(0);
       scannedResult.setIndexes(new int[0]);
-      CarbonUtil.freeMemory(blocksChunkHolder.getDimensionDataChunk(),
-          blocksChunkHolder.getMeasureDataChunk());
+      blocksChunkHolder.freeMemory();
       return;
     }
     // valid scanned blocklet
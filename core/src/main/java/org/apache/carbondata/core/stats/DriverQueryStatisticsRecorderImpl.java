@@ -136,6 +136,8 @@ public class DriverQueryStatisticsRecorderImpl implements QueryStatisticsRecorde
     long driver_part_time_tmp = 0L;
     long driver_part_time_tmp2 = 0L;
     long load_blocks_time_tmp = 0L;
+    long segment_prune_time_tmp = 0L;
+    int number_of_pruned_segments = 0;
     String splitChar = " ";
     try {
       // get statistic time from the QueryStatistic
@@ -155,6 +157,11 @@ public class DriverQueryStatisticsRecorderImpl implements QueryStatisticsRecorde
             driver_part_time_tmp += statistic.getTimeTaken();
             driver_part_time_tmp2 += statistic.getTimeTaken();
             break;
+          case QueryStatisticsConstants.PRUNE_SEGMENT_DRIVER:
+            // segments are pruned in parallel, so the slowest segment is shown
+            segment_prune_time_tmp = Math.max(segment_prune_time_tmp, statistic.getTimeTaken());
+            number_of_pruned_segments++;
+            break;
           case QueryStatisticsConstants.BLOCK_ALLOCATION:
             block_allocation_time += statistic.getTimeTaken() + splitChar;
             driver_part_time_tmp += statistic.getTimeTaken();
@@ -170,6 +177,9 @@ public class DriverQueryStatisticsRecorderImpl implements QueryStatisticsRecorde
         }
       }
       load_blocks_time = load_blocks_time_tmp + splitChar;
+      String segment_prune_time = number_of_pruned_segments > 0 ?
+          segment_prune_time_tmp + splitChar :
+          "";
       String driver_part_time = driver_part_time_tmp + splitChar;
       // structure the query statistics info table
       StringBuilder tableInfo = new StringBuilder();
@@ -211,6 +221,7 @@ public class DriverQueryStatisticsRecorderImpl implements QueryStatisticsRecorde
                 printLine(" ", (len4 - load_blocks_time.length())) +
                 load_blocks_time + "|" + "\n");
         tableInfo.append(line2).append("\n");
+        appendSegmentPruneTime(tableInfo, segment_prune_time, line2, len1, len2, len3, len4);
         tableInfo.append("|" + printLine(" ", len1) + "|" +
             printLine(" ", (len2 - "Block allocation".length())) + "Block allocation" + "|" +
             printLine(" ", len3) + "|" +
@@ -239,6 +250,7 @@ public class DriverQueryStatisticsRecorderImpl implements QueryStatisticsRecorde
                 printLine(" ", (len4 - load_blocks_time.length())) +
                 load_blocks_time + "|" + "\n");
         tableInfo.append(line2).append("\n");
+        appendSegmentPruneTime(tableInfo, segment_prune_time, line2, len1, len2, len3, len4);
         tableInfo.append("|" + printLine(" ", (len1 - "Part".length())) + "Part" + "|" +
             printLine(" ", (len2 - "Block allocation".length())) + "Block allocation" + "|" +
             printLine(" ", (len3 - driver_part_time.length())) + driver_part_time + "|" +
@@ -263,4 +275,20 @@ public class DriverQueryStatisticsRecorderImpl implements QueryStatisticsRecorde
       return "Put statistics into table failed, catch exception: " + ex.getMessage();
     }
   }
+
+  /**
+   * Below method will add the pruning time of the slowest segment to the table, if the segments
+   * were pruned
+   */
+  private void appendSegmentPruneTime(StringBuilder tableInfo, String segmentPruneTime,
+      String line, int len1, int len2, int len3, int len4) {
+    if (StringUtils.isEmpty(segmentPruneTime)) {
+      return;
+    }
+    tableInfo.append("|" + printLine(" ", len1) + "|" +
+        printLine(" ", (len2 - "Max segment prune".length())) + "Max segment prune" + "|" +
+        printLine(" ", len3) + "|" +
+        printLine(" ", (len4 - segmentPruneTime.length())) + segmentPruneTime + "|" + "\n");
+    tableInfo.append(line).append("\n");
+  }
 }
@@ -0,0 +1,437 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.stats;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of the scan of one query: bytes read and decompressed for each column chunk, time
+ * spent in decompression and in each type of filter executer, rows going in and out of each
+ * stage of the scan, and the blocks and blocklets pruned by the driver and by the executor.
+ *
+ * Counters are updated once per column chunk or blocklet and not per row, so they are cheap
+ * enough to be always collected. All the methods can be called by concurrent threads.
+ */
+public class QueryScanMetrics implements Serializable {
+
+  /**
+   * serialization version
+   */
+  private static final long serialVersionUID = 2716283529087635412L;
+
+  /**
+   * time spent by each thread in reading and decompressing column chunks, so that the chunks
+   * read lazily by a filter executer can be kept out of its filter time
+   */
+  private static final ThreadLocal<long[]> CHUNK_LOAD_NANOS = new ThreadLocal<long[]>() {
+    @Override protected long[] initialValue() {
+      return new long[1];
+    }
+  };
+
+  private final String queryId;
+
+  /**
+   * metrics of the dimension columns, by index of the column chunk in the blocklet
+   */
+  private final Map<Integer, ColumnScanMetrics> dimensionColumns =
+      new ConcurrentHashMap<Integer, ColumnScanMetrics>();
+
+  /**
+   * metrics of the measure columns, by index of the column chunk in the blocklet
+   */
+  private final Map<Integer, ColumnScanMetrics> measureColumns =
+      new ConcurrentHashMap<Integer, ColumnScanMetrics>();
+
+  /**
+   * time spent in applying the filter, by type of the filter executer
+   */
+  private final Map<String, AtomicLong> filterTimeNanos =
+      new ConcurrentHashMap<String, AtomicLong>();
+
+  /**
+   * rows of the blocklets given to the scanner
+   */
+  private final AtomicLong rowsScanned = new AtomicLong();
+
+  /**
+   * rows selected by the filter, all the rows scanned when there is no filter
+   */
+  private final AtomicLong rowsSelected = new AtomicLong();
+
+  /**
+   * rows collected from the selected rows, without the deleted rows
+   */
+  private final AtomicLong rowsCollected = new AtomicLong();
+
+  /**
+   * rows returned by the scan after the limit of the query
+   */
+  private final AtomicLong rowsReturned = new AtomicLong();
+
+  private final AtomicLong blockletsScanned = new AtomicLong();
+
+  /**
+   * blocklets not read as the min max of the blocklet does not match the filter
+   */
+  private final AtomicLong blockletsPrunedByMinMax = new AtomicLong();
+
+  /**
+   * blocklets read in which the filter did not select any row
+   */
+  private final AtomicLong blockletsWithoutRows = new AtomicLong();
+
+  private final AtomicLong driverBlocksTotal = new AtomicLong();
+
+  private final AtomicLong driverBlocksSelected = new AtomicLong();
+
+  public QueryScanMetrics(String queryId) {
+    this.queryId = queryId;
+  }
+
+  public String getQueryId() {
+    return queryId;
+  }
+
+  /**
+   * Below method will be used to record the read of a dimension column chunk
+   *
+   * @param blockIndex        index of the column chunk in the blocklet
+   * @param bytesRead         bytes read from the file for the chunk
+   * @param bytesDecompressed size of the chunk once decompressed
+   * @param decompressNanos   time taken to decompress the chunk
+   */
+  public void recordDimensionChunk(int blockIndex, long bytesRead, long bytesDecompressed,
+      long decompressNanos) {
+    getColumnMetrics(dimensionColumns, blockIndex)
+        .record(bytesRead, bytesDecompressed, decompressNanos);
+  }
+
+  /**
+   * Below method will be used to record the read of a measure column chunk
+   *
+   * @param blockIndex        index of the column chunk in the blocklet
+   * @param bytesRead         bytes read from the file for the chunk
+   * @param bytesDecompressed size of the chunk once decompressed
+   * @param decompressNanos   time taken to decompress the chunk
+   */
+  public void recordMeasureChunk(int blockIndex, long bytesRead, long bytesDecompressed,
+      long decompressNanos) {
+    getColumnMetrics(measureColumns, blockIndex)
+        .record(bytesRead, bytesDecompressed, decompressNanos);
+  }
+
+  private static ColumnScanMetrics getColumnMetrics(Map<Integer, ColumnScanMetrics> columns,
+      int blockIndex) {
+    ColumnScanMetrics columnMetrics = columns.get(blockIndex);
+    if (null == columnMetrics) {
+      synchronized (columns) {
+        columnMetrics = columns.get(blockIndex);
+        if (null == columnMetrics) {
+          columnMetrics = new ColumnScanMetrics();
+          columns.put(blockIndex, columnMetrics);
+        }
+      }
+    }
+    return columnMetrics;
+  }
+
+  /**
+   * Below method will be used to record the time taken by the current thread to read and
+   * decompress a column chunk
+   */
+  public static void recordChunkLoadTime(long nanos) {
+    CHUNK_LOAD_NANOS.get()[0] += nanos;
+  }
+
+  /**
+   * @return time taken by the current thread to read and decompress all its column chunks
+   */
+  public static long getChunkLoadTimeOfThread() {
+    return CHUNK_LOAD_NANOS.get()[0];
+  }
+
+  /**
+   * Below method will be used to record the time taken by a filter executer on a blocklet
+   *
+   * @param executerType type of the filter executer
+   * @param nanos        time taken to apply the filter
+   */
+  public void recordFilterTime(String executerType, long nanos) {
+    AtomicLong time = filterTimeNanos.get(executerType);
+    if (null == time) {
+      synchronized (filterTimeNanos) {
+        time = filterTimeNanos.get(executerType);
+        if (null == time) {
+          time = new AtomicLong();
+          filterTimeNanos.put(executerType, time);
+        }
+      }
+    }
+    time.addAndGet(nanos);
+  }
+
+  /**
+   * Below method will be used to record a blocklet scanned by the executor
+   *
+   * @param rows         rows of the blocklet
+   * @param selectedRows rows selected by the filter
+   */
+  public void recordScannedBlocklet(long rows, long selectedRows) {
+    rowsScanned.addAndGet(rows);
+    rowsSelected.addAndGet(selectedRows);
+    if (selectedRows == 0) {
+      blockletsWithoutRows.incrementAndGet();
+    } else {
+      blockletsScanned.incrementAndGet();
+    }
+  }
+
+  /**
+   * Below method will be used to record a blocklet skipped by the min max of the filter
+   *
+   * @param rows rows of the blocklet
+   */
+  public void recordBlockletPrunedByMinMax(long rows) {
+    rowsScanned.addAndGet(rows);
+    blockletsPrunedByMinMax.incrementAndGet();
+  }
+
+  /**
+   * Below method will be used to record the rows collected by the scan and the rows which
+   * are returned after the limit of the query
+   */
+  public void recordCollectedRows(long collectedRows, long returnedRows) {
+    rowsCollected.addAndGet(collectedRows);
+    rowsReturned.addAndGet(returnedRows);
+  }
+
+  /**
+   * Below method will be used to record the blocks selected by the driver
+   *
+   * @param totalBlocks    blocks of the segments of the query
+   * @param selectedBlocks blocks which match the filter of the query
+   */
+  public void recordDriverPruning(long totalBlocks, long selectedBlocks) {
+    driverBlocksTotal.addAndGet(totalBlocks);
+    driverBlocksSelected.addAndGet(selectedBlocks);
+  }
+
+  /**
+   * Below method will be used to add the metrics of another query to this one
+   */
+  public void add(QueryScanMetrics metrics) {
+    for (Map.Entry<Integer, ColumnScanMetrics> entry : metrics.dimensionColumns.entrySet()) {
+      getColumnMetrics(dimensionColumns, entry.getKey()).add(entry.getValue());
+    }
+    for (Map.Entry<Integer, ColumnScanMetrics> entry : metrics.measureColumns.entrySet()) {
+      getColumnMetrics(measureColumns, entry.getKey()).add(entry.getValue());
+    }
+    for (Map.Entry<String, AtomicLong> entry : metrics.filterTimeNanos.entrySet()) {
+      recordFilterTime(entry.getKey(), entry.getValue().get());
+    }
+    rowsScanned.addAndGet(metrics.rowsScanned.get());
+    rowsSelected.addAndGet(metrics.rowsSelected.get());
+    rowsCollected.addAndGet(metrics.rowsCollected.get());
+    rowsReturned.addAndGet(metrics.rowsReturned.get());
+    blockletsScanned.addAndGet(metrics.blockletsScanned.get());
+    blockletsPrunedByMinMax.addAndGet(metrics.blockletsPrunedByMinMax.get());
+    blockletsWithoutRows.addAndGet(metrics.blockletsWithoutRows.get());
+    driverBlocksTotal.addAndGet(metrics.driverBlocksTotal.get());
+    driverBlocksSelected.addAndGet(metrics.driverBlocksSelected.get());
+  }
+
+  public Map<Integer, ColumnScanMetrics> getDimensionColumnMetrics() {
+    return Collections.unmodifiableMap(dimensionColumns);
+  }
+
+  public Map<Integer, ColumnScanMetrics> getMeasureColumnMetrics() {
+    return Collections.unmodifiableMap(measureColumns);
+  }
+
+  public long getBytesRead() {
+    long bytesRead = 0;
+    for (ColumnScanMetrics columnMetrics : dimensionColumns.values()) {
+      bytesRead += columnMetrics.getBytesRead();
+    }
+    for (ColumnScanMetrics columnMetrics : measureColumns.values()) {
+      bytesRead += columnMetrics.getBytesRead();
+    }
+    return bytesRead;
+  }
+
+  public long getBytesDecompressed() {
+    long bytesDecompressed = 0;
+    for (ColumnScanMetrics columnMetrics : dimensionColumns.values()) {
+      bytesDecompressed += columnMetrics.getBytesDecompressed();
+    }
+    for (ColumnScanMetrics columnMetrics : measureColumns.values()) {
+      bytesDecompressed += columnMetrics.getBytesDecompressed();
+    }
+    return bytesDecompressed;
+  }
+
+  public long getDecompressTimeNanos() {
+    long decompressNanos = 0;
+    for (ColumnScanMetrics columnMetrics : dimensionColumns.values()) {
+      decompressNanos += columnMetrics.getDecompressTimeNanos();
+    }
+    for (ColumnScanMetrics columnMetrics : measureColumns.values()) {
+      decompressNanos += columnMetrics.getDecompressTimeNanos();
+    }
+    return decompressNanos;
+  }
+
+  /**
+   * @return time spent in applying the filter by type of filter executer. Only the leaf
+   * executers are timed, the and and or executers only combine the result of their children.
+   */
+  public Map<String, Long> getFilterTimeNanos() {
+    Map<String, Long> times = new HashMap<String, Long>();
+    for (Map.Entry<String, AtomicLong> entry : filterTimeNanos.entrySet()) {
+      times.put(entry.getKey(), entry.getValue().get());
+    }
+    return times;
+  }
+
+  public long getTotalFilterTimeNanos() {
+    long nanos = 0;
+    for (AtomicLong time : filterTimeNanos.values()) {
+      nanos += time.get();
+    }
+    return nanos;
+  }
+
+  public long getRowsScanned() {
+    return rowsScanned.get();
+  }
+
+  public long getRowsSelected() {
+    return rowsSelected.get();
+  }
+
+  public long getRowsCollected() {
+    return rowsCollected.get();
+  }
+
+  public long getRowsReturned() {
+    return rowsReturned.get();
+  }
+
+  public long getBlockletsTotal() {
+    return blockletsScanned.get() + blockletsPrunedByMinMax.get() + blockletsWithoutRows.get();
+  }
+
+  public long getBlockletsScanned() {
+    return blockletsScanned.get();
+  }
+
+  public long getBlockletsPrunedByMinMax() {
+    return blockletsPrunedByMinMax.get();
+  }
+
+  public long getBlockletsWithoutRows() {
+    return blockletsWithoutRows.get();
+  }
+
+  public long getDriverBlocksTotal() {
+    return driverBlocksTotal.get();
+  }
+
+  public long getDriverBlocksSelected() {
+    return driverBlocksSelected.get();
+  }
+
+  /**
+   * @return fraction of the blocks of the segments which are pruned by the driver
+   */
+  public double getDriverPruningRatio() {
+    long total = driverBlocksTotal.get();
+    return total == 0 ? 0 : (double) (total - driverBlocksSelected.get()) / total;
+  }
+
+  /**
+   * @return fraction of the blocklets given to the executor which are not read as their min
+   * max does not match the filter
+   */
+  public double getBlockletPruningRatio() {
+    long total = getBlockletsTotal();
+    return total == 0 ? 0 : (double) blockletsPrunedByMinMax.get() / total;
+  }
+
+  @Override public String toString() {
+    return "query_id=" + queryId + ", bytes_read=" + getBytesRead() + ", bytes_decompressed="
+        + getBytesDecompressed() + ", decompress_time_ms=" + getDecompressTimeNanos() / 1000000
+        + ", filter_time_ms=" + getTotalFilterTimeNanos() / 1000000 + ", rows_scanned="
+        + getRowsScanned() + ", rows_selected=" + getRowsSelected() + ", rows_returned="
+        + getRowsReturned() + ", blocklets_scanned=" + getBlockletsScanned()
+        + ", blocklets_pruned=" + getBlockletsPrunedByMinMax() + ", blocklets_without_rows="
+        + getBlockletsWithoutRows() + ", driver_blocks_selected=" + getDriverBlocksSelected()
+        + "/" + getDriverBlocksTotal();
+  }
+
+  /**
+   * Metrics of the chunks read for one column
+   */
+  public static class ColumnScanMetrics implements Serializable {
+
+    private static final long serialVersionUID = -3169474633519853317L;
+
+    private final AtomicLong chunksRead = new AtomicLong();
+
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    private final AtomicLong bytesDecompressed = new AtomicLong();
+
+    private final AtomicLong decompressTimeNanos = new AtomicLong();
+
+    void record(long bytesRead, long bytesDecompressed, long decompressNanos) {
+      this.chunksRead.incrementAndGet();
+      this.bytesRead.addAndGet(bytesRead);
+      this.bytesDecompressed.addAndGet(bytesDecompressed);
+      this.decompressTimeNanos.addAndGet(decompressNanos);
+    }
+
+    void add(ColumnScanMetrics columnMetrics) {
+      chunksRead.addAndGet(columnMetrics.chunksRead.get());
+      bytesRead.addAndGet(columnMetrics.bytesRead.get());
+      bytesDecompressed.addAndGet(columnMetrics.bytesDecompressed.get());
+      decompressTimeNanos.addAndGet(columnMetrics.decompressTimeNanos.get());
+    }
+
+    public long getChunksRead() {
+      return chunksRead.get();
+    }
+
+    public long getBytesRead() {
+      return bytesRead.get();
+    }
+
+    public long getBytesDecompressed() {
+      return bytesDecompressed.get();
+    }
+
+    public long getDecompressTimeNanos() {
+      return decompressTimeNanos.get();
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.stats;
+
+import java.util.Map;
+
+/**
+ * Scan metrics of all the queries finished in this JVM, exposed through JMX
+ */
+public interface QueryScanMetricsMXBean {
+
+  long getQueryCount();
+
+  long getBytesRead();
+
+  long getBytesDecompressed();
+
+  long getDecompressTimeNanos();
+
+  Map<String, Long> getFilterTimeNanos();
+
+  long getRowsScanned();
+
+  long getRowsSelected();
+
+  long getRowsCollected();
+
+  long getRowsReturned();
+
+  long getBlockletsTotal();
+
+  long getBlockletsScanned();
+
+  long getBlockletsPrunedByMinMax();
+
+  long getBlockletsWithoutRows();
+
+  long getDriverBlocksTotal();
+
+  long getDriverBlocksSelected();
+
+  double getDriverPruningRatio();
+
+  double getBlockletPruningRatio();
+
+  /**
+   * Clears the metrics collected so far
+   */
+  void reset();
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.stats;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+/**
+ * Aggregates the scan metrics of the queries finished in this JVM. The aggregate is
+ * registered in the platform MBean server, so that it can be read by any JMX client or
+ * metrics reporter.
+ */
+public final class QueryScanMetricsRegistry implements QueryScanMetricsMXBean {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(QueryScanMetricsRegistry.class.getName());
+
+  /**
+   * name of the MBean of the aggregated metrics
+   */
+  public static final String OBJECT_NAME = "org.apache.carbondata:type=QueryScanMetrics";
+
+  private static final QueryScanMetricsRegistry INSTANCE = new QueryScanMetricsRegistry();
+
+  static {
+    try {
+      ManagementFactory.getPlatformMBeanServer()
+          .registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      LOGGER.warn("Query scan metrics are not registered in JMX: " + e.getMessage());
+    }
+  }
+
+  private final AtomicLong queryCount = new AtomicLong();
+
+  private volatile QueryScanMetrics total = new QueryScanMetrics(null);
+
+  /**
+   * metrics are added under the read lock, as the counters are atomic, and reset under the
+   * write lock, so that no metrics are added to the aggregate being replaced
+   */
+  private final ReadWriteLock resetLock = new ReentrantReadWriteLock();
+
+  private QueryScanMetricsRegistry() {
+  }
+
+  public static QueryScanMetricsRegistry getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * @return whether the scan metrics of the queries are collected
+   */
+  public static boolean isEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.ENABLE_QUERY_SCAN_METRICS,
+            CarbonCommonConstants.ENABLE_QUERY_SCAN_METRICS_DEFAULT));
+  }
+
+  /**
+   * @return new metrics for the query, null if metrics are not collected
+   */
+  public static QueryScanMetrics createQueryScanMetrics(String queryId) {
+    return isEnabled() ? new QueryScanMetrics(queryId) : null;
+  }
+
+  /**
+   * Below method will be used to add the metrics of a finished query to the aggregate
+   */
+  public void addQueryScanMetrics(QueryScanMetrics metrics) {
+    if (null == metrics) {
+      return;
+    }
+    resetLock.readLock().lock();
+    try {
+      queryCount.incrementAndGet();
+      total.add(metrics);
+    } finally {
+      resetLock.readLock().unlock();
+    }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Query scan metrics: " + metrics);
+    }
+  }
+
+  /**
+   * Below method will be used to add the pruning done by the driver for a query
+   */
+  public void addDriverPruning(String queryId, long totalBlocks, long selectedBlocks) {
+    resetLock.readLock().lock();
+    try {
+      total.recordDriverPruning(totalBlocks, selectedBlocks);
+    } finally {
+      resetLock.readLock().unlock();
+    }
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Driver pruning of query_id=" + queryId + ", blocks_selected="
+          + selectedBlocks + "/" + totalBlocks);
+    }
+  }
+
+  @Override public long getQueryCount() {
+    return queryCount.get();
+  }
+
+  @Override public long getBytesRead() {
+    return total.getBytesRead();
+  }
+
+  @Override public long getBytesDecompressed() {
+    return total.getBytesDecompressed();
+  }
+
+  @Override public long getDecompressTimeNanos() {
+    return total.getDecompressTimeNanos();
+  }
+
+  @Override public Map<String, Long> getFilterTimeNanos() {
+    return total.getFilterTimeNanos();
+  }
+
+  @Override public long getRowsScanned() {
+    return total.getRowsScanned();
+  }
+
+  @Override public long getRowsSelected() {
+    return total.getRowsSelected();
+  }
+
+  @Override public long getRowsCollected() {
+    return total.getRowsCollected();
+  }
+
+  @Override public long getRowsReturned() {
+    return total.getRowsReturned();
+  }
+
+  @Override public long getBlockletsTotal() {
+    return total.getBlockletsTotal();
+  }
+
+  @Override public long getBlockletsScanned() {
+    return total.getBlockletsScanned();
+  }
+
+  @Override public long getBlockletsPrunedByMinMax() {
+    return total.getBlockletsPrunedByMinMax();
+  }
+
+  @Override public long getBlockletsWithoutRows() {
+    return total.getBlockletsWithoutRows();
+  }
+
+  @Override public long getDriverBlocksTotal() {
+    return total.getDriverBlocksTotal();
+  }
+
+  @Override public long getDriverBlocksSelected() {
+    return total.getDriverBlocksSelected();
+  }
+
+  @Override public double getDriverPruningRatio() {
+    return total.getDriverPruningRatio();
+  }
+
+  @Override public double getBlockletPruningRatio() {
+    return total.getBlockletPruningRatio();
+  }
+
+  @Override public void reset() {
+    resetLock.writeLock().lock();
+    try {
+      queryCount.set(0);
+      total = new QueryScanMetrics(null);
+    } finally {
+      resetLock.writeLock().unlock();
+    }
+  }
+}
@@ -26,6 +26,8 @@ public interface QueryStatisticsConstants {
 
   String LOAD_BLOCKS_DRIVER = "Time taken to load the Block(s) In Driver Side";
 
+  String PRUNE_SEGMENT_DRIVER = "Time taken to prune a segment In Driver Side";
+
   String BLOCK_ALLOCATION = "Total Time taken in block(s) allocation";
 
   String BLOCK_IDENTIFICATION = "Time taken to identify Block(s) to scan";
@@ -24,6 +24,7 @@ public class QueryStatisticsModel {
   private QueryStatisticsRecorder recorder;
   private Map<String, QueryStatistic> statisticsTypeAndObjMap =
       new HashMap<String, QueryStatistic>();
+  private QueryScanMetrics scanMetrics;
 
   public QueryStatisticsRecorder getRecorder() {
     return recorder;
@@ -40,4 +41,15 @@ public class QueryStatisticsModel {
   public void setStatisticsTypeAndObjMap(Map<String, QueryStatistic> statisticsTypeAndObjMap) {
     this.statisticsTypeAndObjMap = statisticsTypeAndObjMap;
   }
+
+  /**
+   * @return scan metrics of the query, null if they are not collected
+   */
+  public QueryScanMetrics getScanMetrics() {
+    return scanMetrics;
+  }
+
+  public void setScanMetrics(QueryScanMetrics scanMetrics) {
+    this.scanMetrics = scanMetrics;
+  }
 }
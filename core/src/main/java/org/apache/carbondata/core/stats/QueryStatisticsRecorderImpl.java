@@ -64,6 +64,15 @@ public class QueryStatisticsRecorderImpl implements QueryStatisticsRecorder,Seri
     queryStatistics.add(statistic);
   }
 
+  /**
+   * Below method will be used to get the statistics recorded so far
+   *
+   * @return copy of the recorded statistics
+   */
+  public synchronized List<QueryStatistic> getQueryStatistics() {
+    return new ArrayList<QueryStatistic>(queryStatistics);
+  }
+
   /**
    * Below method will be used to log the statistic
    */
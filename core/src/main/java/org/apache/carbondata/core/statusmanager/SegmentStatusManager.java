@@ -75,19 +75,25 @@ public class SegmentStatusManager {
   }
 
   /**
-   * This method will return last modified time of tablestatus file
+   * This method will return last modified time of tablestatus file, or of the latest table
+   * status entry if it is modified later
    */
   public static long getTableStatusLastModifiedTime(AbsoluteTableIdentifier identifier)
       throws IOException {
-    String tableStatusPath = CarbonStorePath
-        .getCarbonTablePath(identifier.getStorePath(), identifier.getCarbonTableIdentifier())
-        .getTableStatusFilePath();
-    if (!FileFactory.isFileExist(tableStatusPath, FileFactory.getFileType(tableStatusPath))) {
-      return 0L;
-    } else {
-      return FileFactory.getCarbonFile(tableStatusPath, FileFactory.getFileType(tableStatusPath))
-          .getLastModifiedTime();
+    CarbonTablePath carbonTablePath = CarbonStorePath
+        .getCarbonTablePath(identifier.getStorePath(), identifier.getCarbonTableIdentifier());
+    String tableStatusPath = carbonTablePath.getTableStatusFilePath();
+    long lastModifiedTime = 0L;
+    if (FileFactory.isFileExist(tableStatusPath, FileFactory.getFileType(tableStatusPath))) {
+      lastModifiedTime =
+          FileFactory.getCarbonFile(tableStatusPath, FileFactory.getFileType(tableStatusPath))
+              .getLastModifiedTime();
+    }
+    if (TableStatusLog.isOptimisticCommitEnabled()) {
+      lastModifiedTime = Math.max(lastModifiedTime,
+          TableStatusLog.getLastModifiedTime(carbonTablePath.getMetadataDirectoryPath()));
     }
+    return lastModifiedTime;
   }
 
   /**
@@ -112,46 +118,53 @@ public class SegmentStatusManager {
             new AtomicFileOperationsImpl(dataPath, FileFactory.getFileType(dataPath));
     LoadMetadataDetails[] loadFolderDetailsArray;
     try {
+      // entries are read first, a load folded into the table status meanwhile is in the file
+      List<LoadMetadataDetails> tableStatusEntries = TableStatusLog.isOptimisticCommitEnabled() ?
+          TableStatusLog.readEntries(carbonTablePath.getMetadataDirectoryPath()) :
+          new ArrayList<LoadMetadataDetails>(0);
       if (FileFactory.isFileExist(dataPath, FileFactory.getFileType(dataPath))) {
         dataInputStream = fileOperation.openForRead();
         BufferedReader buffReader =
                 new BufferedReader(new InputStreamReader(dataInputStream, "UTF-8"));
         loadFolderDetailsArray = gsonObjectToRead.fromJson(buffReader, LoadMetadataDetails[].class);
-        //just directly iterate Array
-        for (LoadMetadataDetails loadMetadataDetails : loadFolderDetailsArray) {
-          if (CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS
-                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
-                  || CarbonCommonConstants.MARKED_FOR_UPDATE
-                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
-                  || CarbonCommonConstants.STORE_LOADSTATUS_PARTIAL_SUCCESS
-                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())) {
-            // check for merged loads.
-            if (null != loadMetadataDetails.getMergedLoadName()) {
-              if (!listOfValidSegments.contains(loadMetadataDetails.getMergedLoadName())) {
-                listOfValidSegments.add(loadMetadataDetails.getMergedLoadName());
-              }
-              // if merged load is updated then put it in updated list
-              if (CarbonCommonConstants.MARKED_FOR_UPDATE
-                      .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())) {
-                listOfValidUpdatedSegments.add(loadMetadataDetails.getMergedLoadName());
-              }
-              continue;
+      } else {
+        loadFolderDetailsArray = new LoadMetadataDetails[0];
+      }
+      loadFolderDetailsArray = TableStatusLog.merge(loadFolderDetailsArray, tableStatusEntries);
+      //just directly iterate Array
+      for (LoadMetadataDetails loadMetadataDetails : loadFolderDetailsArray) {
+        if (CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS
+                .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
+                || CarbonCommonConstants.MARKED_FOR_UPDATE
+                .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
+                || CarbonCommonConstants.STORE_LOADSTATUS_PARTIAL_SUCCESS
+                .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())) {
+          // check for merged loads.
+          if (null != loadMetadataDetails.getMergedLoadName()) {
+            if (!listOfValidSegments.contains(loadMetadataDetails.getMergedLoadName())) {
+              listOfValidSegments.add(loadMetadataDetails.getMergedLoadName());
             }
-
+            // if merged load is updated then put it in updated list
             if (CarbonCommonConstants.MARKED_FOR_UPDATE
                     .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())) {
-
-              listOfValidUpdatedSegments.add(loadMetadataDetails.getLoadName());
+              listOfValidUpdatedSegments.add(loadMetadataDetails.getMergedLoadName());
             }
-            listOfValidSegments.add(loadMetadataDetails.getLoadName());
-          } else if ((CarbonCommonConstants.STORE_LOADSTATUS_FAILURE
-                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
-                  || CarbonCommonConstants.COMPACTED
-                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
-                  || CarbonCommonConstants.MARKED_FOR_DELETE
-                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus()))) {
-            listOfInvalidSegments.add(loadMetadataDetails.getLoadName());
+            continue;
           }
+
+          if (CarbonCommonConstants.MARKED_FOR_UPDATE
+                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())) {
+
+            listOfValidUpdatedSegments.add(loadMetadataDetails.getLoadName());
+          }
+          listOfValidSegments.add(loadMetadataDetails.getLoadName());
+        } else if ((CarbonCommonConstants.STORE_LOADSTATUS_FAILURE
+                .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
+                || CarbonCommonConstants.COMPACTED
+                .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
+                || CarbonCommonConstants.MARKED_FOR_DELETE
+                .equalsIgnoreCase(loadMetadataDetails.getLoadStatus()))) {
+          listOfInvalidSegments.add(loadMetadataDetails.getLoadName());
         }
       }
     } catch (IOException e) {
@@ -184,26 +197,32 @@ public class SegmentStatusManager {
     InputStreamReader inStream = null;
     String metadataFileName = tableFolderPath + CarbonCommonConstants.FILE_SEPARATOR
         + CarbonCommonConstants.LOADMETADATA_FILENAME;
-    LoadMetadataDetails[] listOfLoadFolderDetailsArray;
+    LoadMetadataDetails[] listOfLoadFolderDetailsArray = new LoadMetadataDetails[0];
     AtomicFileOperations fileOperation =
         new AtomicFileOperationsImpl(metadataFileName, FileFactory.getFileType(metadataFileName));
+    // entries are read first, a load folded into the table status meanwhile is in the file
+    List<LoadMetadataDetails> tableStatusEntries = TableStatusLog.isOptimisticCommitEnabled() ?
+        TableStatusLog.readEntries(tableFolderPath) : new ArrayList<LoadMetadataDetails>(0);
 
     try {
-      if (!FileFactory.isFileExist(metadataFileName, FileFactory.getFileType(metadataFileName))) {
-        return new LoadMetadataDetails[0];
+      if (FileFactory.isFileExist(metadataFileName, FileFactory.getFileType(metadataFileName))) {
+        dataInputStream = fileOperation.openForRead();
+        inStream = new InputStreamReader(dataInputStream,
+            Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
+        buffReader = new BufferedReader(inStream);
+        listOfLoadFolderDetailsArray =
+            gsonObjectToRead.fromJson(buffReader, LoadMetadataDetails[].class);
       }
-      dataInputStream = fileOperation.openForRead();
-      inStream = new InputStreamReader(dataInputStream,
-              Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
-      buffReader = new BufferedReader(inStream);
-      listOfLoadFolderDetailsArray =
-          gsonObjectToRead.fromJson(buffReader, LoadMetadataDetails[].class);
     } catch (IOException e) {
       return new LoadMetadataDetails[0];
     } finally {
       closeStreams(buffReader, inStream, dataInputStream);
     }
 
+    if (null != listOfLoadFolderDetailsArray) {
+      listOfLoadFolderDetailsArray =
+          TableStatusLog.merge(listOfLoadFolderDetailsArray, tableStatusEntries);
+    }
     return listOfLoadFolderDetailsArray;
   }
 
@@ -244,7 +263,8 @@ public class SegmentStatusManager {
             identifier.getStorePath(), identifier.getCarbonTableIdentifier());
         String dataLoadLocation = carbonTablePath.getTableStatusFilePath();
         LoadMetadataDetails[] listOfLoadFolderDetailsArray = null;
-        if (!FileFactory.isFileExist(dataLoadLocation, FileFactory.getFileType(dataLoadLocation))) {
+        if (!FileFactory.isFileExist(dataLoadLocation, FileFactory.getFileType(dataLoadLocation))
+            && !TableStatusLog.isOptimisticCommitEnabled()) {
           // log error.
           LOG.error("Load metadata file is not present.");
           return loadIds;
@@ -326,7 +346,8 @@ public class SegmentStatusManager {
         String dataLoadLocation = carbonTablePath.getTableStatusFilePath();
         LoadMetadataDetails[] listOfLoadFolderDetailsArray = null;
 
-        if (!FileFactory.isFileExist(dataLoadLocation, FileFactory.getFileType(dataLoadLocation))) {
+        if (!FileFactory.isFileExist(dataLoadLocation, FileFactory.getFileType(dataLoadLocation))
+            && !TableStatusLog.isOptimisticCommitEnabled()) {
           // log error.
           LOG.error("Error message: " + "Load metadata file is not present.");
           invalidLoadTimestamps.add(loadDate);
@@ -399,6 +420,7 @@ public class SegmentStatusManager {
     BufferedWriter brWriter = null;
     DataOutputStream dataOutputStream = null;
     Gson gsonObjectToWrite = new Gson();
+    boolean isWritten = false;
     // write the updated data into the metadata file.
 
     try {
@@ -408,6 +430,7 @@ public class SegmentStatusManager {
 
       String metadataInstance = gsonObjectToWrite.toJson(listOfLoadFolderDetailsArray);
       brWriter.write(metadataInstance);
+      isWritten = true;
     } catch (IOException ioe) {
       LOG.error("Error message: " + ioe.getLocalizedMessage());
     } finally {
@@ -417,7 +440,12 @@ public class SegmentStatusManager {
       CarbonUtil.closeStreams(brWriter);
       fileWrite.close();
     }
-
+    // the loads committed as table status entries are now present in the table status file
+    if (isWritten && TableStatusLog.isOptimisticCommitEnabled()) {
+      TableStatusLog.deleteFoldedEntries(dataLoadLocation
+              .substring(0, dataLoadLocation.lastIndexOf(CarbonCommonConstants.FILE_SEPARATOR)),
+          listOfLoadFolderDetailsArray);
+    }
   }
 
   /**
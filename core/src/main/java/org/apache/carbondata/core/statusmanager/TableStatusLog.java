@@ -0,0 +1,341 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.statusmanager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFileFilter;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Commits the details of the loads to the table status without the table status lock.
+ * Every load appends its details as a versioned entry file next to the table status file, the
+ * version of the entry is the id of the segment of the load. A load claims its segment id before
+ * writing its data by creating the empty entry file only if it is absent, so concurrent loads
+ * never get the same segment id: a load losing the race for an id retries with the next one.
+ * Readers merge the entries to the details of the table status file, and the operations which
+ * rewrite the table status file under the table status lock fold the entries into it.
+ */
+public final class TableStatusLog {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(TableStatusLog.class.getName());
+
+  /**
+   * number of times the creation of an entry is retried when it fails without a conflict
+   */
+  private static final int MAX_CREATE_FAILURES = 3;
+
+  private TableStatusLog() {
+  }
+
+  /**
+   * @return true if the loads commit their details as table status entries
+   */
+  public static boolean isOptimisticCommitEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_OPTIMISTIC_COMMIT_ENABLE,
+            CarbonCommonConstants.CARBON_TABLE_STATUS_OPTIMISTIC_COMMIT_ENABLE_DEFAULT));
+  }
+
+  /**
+   * Claims the segment id of a new load, which is after the ids of the loads of the table status
+   * and of the ids claimed by the other loads. The claim is the empty entry of the load, it is
+   * ignored by the readers till the load is committed by {@link #append}.
+   *
+   * @param metadataPath metadata directory of the table
+   * @return claimed segment id
+   * @throws IOException
+   */
+  public static int claimSegmentId(String metadataPath) throws IOException {
+    long segmentId = getLatestVersion(metadataPath);
+    for (LoadMetadataDetails loadMetadataDetails : SegmentStatusManager
+        .readLoadMetadata(metadataPath)) {
+      try {
+        segmentId = Math.max(segmentId, Long.parseLong(loadMetadataDetails.getLoadName()));
+      } catch (NumberFormatException e) {
+        // segment created by compaction, the id of its first segment is already counted
+      }
+    }
+    segmentId++;
+    FileFactory.FileType fileType = FileFactory.getFileType(metadataPath);
+    int failures = 0;
+    String entryPath = CarbonTablePath.getTableStatusEntryFilePath(metadataPath, segmentId);
+    while (!FileFactory.createNewFile(entryPath, fileType)) {
+      if (FileFactory.isFileExist(entryPath, fileType)) {
+        // another load has claimed this segment id, retry with the next one
+        segmentId++;
+      } else if (++failures >= MAX_CREATE_FAILURES) {
+        throw new IOException("Not able to create the table status entry " + entryPath);
+      }
+      entryPath = CarbonTablePath.getTableStatusEntryFilePath(metadataPath, segmentId);
+    }
+    LOGGER.info("Claimed segment id " + segmentId + " for the new load");
+    return (int) segmentId;
+  }
+
+  /**
+   * Releases the segment id claimed by a load which is not committed
+   *
+   * @param metadataPath metadata directory of the table
+   * @param segmentId    claimed segment id
+   */
+  public static void releaseSegmentId(String metadataPath, int segmentId) {
+    String entryPath = CarbonTablePath.getTableStatusEntryFilePath(metadataPath, segmentId);
+    FileFactory.FileType fileType = FileFactory.getFileType(entryPath);
+    try {
+      // a committed entry is not a claim any more, it is kept
+      if (FileFactory.isFileExist(entryPath, fileType)
+          && FileFactory.getCarbonFile(entryPath, fileType).getSize() == 0) {
+        FileFactory.deleteFile(entryPath, fileType);
+      }
+    } catch (IOException e) {
+      LOGGER.error("Not able to delete the table status entry " + entryPath);
+    }
+  }
+
+  /**
+   * Appends the details of a load to the table status by writing them to the entry claimed for
+   * its segment id. A load whose segment id is not claimed or is already committed is rejected,
+   * so two loads never commit the same load name.
+   *
+   * @param metadataPath        metadata directory of the table
+   * @param loadMetadataDetails details of the load
+   * @return version of the committed entry
+   * @throws IOException
+   */
+  public static long append(String metadataPath, LoadMetadataDetails loadMetadataDetails)
+      throws IOException {
+    long version;
+    try {
+      version = Long.parseLong(loadMetadataDetails.getLoadName());
+    } catch (NumberFormatException e) {
+      throw new IOException("Load " + loadMetadataDetails.getLoadName()
+          + " is not a new load and can not be appended to the table status");
+    }
+    String entryPath = CarbonTablePath.getTableStatusEntryFilePath(metadataPath, version);
+    FileFactory.FileType fileType = FileFactory.getFileType(entryPath);
+    if (!FileFactory.isFileExist(entryPath, fileType)) {
+      throw new IOException("Segment id " + version + " is not claimed by the load");
+    }
+    if (FileFactory.getCarbonFile(entryPath, fileType).getSize() > 0) {
+      throw new IOException("Load " + version + " is already committed to the table status");
+    }
+    BufferedWriter brWriter = null;
+    try {
+      DataOutputStream dataOutputStream = FileFactory.getDataOutputStream(entryPath, fileType);
+      brWriter = new BufferedWriter(new OutputStreamWriter(dataOutputStream,
+          Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)));
+      brWriter.write(new Gson().toJson(loadMetadataDetails));
+      brWriter.flush();
+    } finally {
+      // an entry which is not completely written is ignored by the readers like the claim
+      CarbonUtil.closeStreams(brWriter);
+    }
+    LOGGER.info("Committed load " + loadMetadataDetails.getLoadName()
+        + " as table status entry " + version);
+    return version;
+  }
+
+  /**
+   * Reads the details of the loads committed as table status entries. The readers have to read
+   * them before the table status file: an entry is deleted only after its load is written to
+   * the table status file, so the load is present in one of them.
+   *
+   * @param metadataPath metadata directory of the table
+   * @return details of the loads of the entries in the order of their versions
+   */
+  public static List<LoadMetadataDetails> readEntries(String metadataPath) {
+    return new ArrayList<>(readEntryFiles(metadataPath).values());
+  }
+
+  /**
+   * Lists the segment ids of the table status entries, claimed or committed. A load claims its
+   * segment id before writing its segment, so a segment listed before these ids and absent from
+   * them and from the table status read after them is not being written by a concurrent load.
+   *
+   * @param metadataPath metadata directory of the table
+   * @return segment ids of the entries
+   */
+  public static Set<String> getEntrySegmentIds(String metadataPath) {
+    Set<String> segmentIds = new HashSet<>();
+    for (CarbonFile entryFile : listEntryFiles(metadataPath)) {
+      segmentIds
+          .add(String.valueOf(CarbonTablePath.getTableStatusEntryVersion(entryFile.getName())));
+    }
+    return segmentIds;
+  }
+
+  /**
+   * Merges the details of the loads present only in the table status entries to the details
+   * read from the table status file. The loads of the entries are added in the order of their
+   * versions after the loads of the table status file. A load present in both was folded into
+   * the table status file after its entry was read, the table status file has its latest
+   * details.
+   *
+   * @param details details read from the table status file
+   * @param entries details of the entries read before the table status file
+   * @return merged details
+   */
+  public static LoadMetadataDetails[] merge(LoadMetadataDetails[] details,
+      List<LoadMetadataDetails> entries) {
+    if (entries.isEmpty()) {
+      return details;
+    }
+    List<LoadMetadataDetails> mergedDetails = new ArrayList<>(Arrays.asList(details));
+    Set<String> loadNames = new HashSet<>(details.length);
+    for (LoadMetadataDetails loadMetadataDetails : details) {
+      loadNames.add(loadMetadataDetails.getLoadName());
+    }
+    for (LoadMetadataDetails entry : entries) {
+      if (loadNames.add(entry.getLoadName())) {
+        mergedDetails.add(entry);
+      }
+    }
+    return mergedDetails.toArray(new LoadMetadataDetails[mergedDetails.size()]);
+  }
+
+  /**
+   * Deletes the entries of the loads written to the table status file. The entries committed
+   * after the details were read are not present in them, so they are kept.
+   *
+   * @param metadataPath metadata directory of the table
+   * @param details      details written to the table status file
+   */
+  public static void deleteFoldedEntries(String metadataPath, LoadMetadataDetails[] details) {
+    Map<Long, LoadMetadataDetails> entries = readEntryFiles(metadataPath);
+    if (entries.isEmpty()) {
+      return;
+    }
+    Set<String> loadNames = new HashSet<>(details.length);
+    for (LoadMetadataDetails loadMetadataDetails : details) {
+      loadNames.add(loadMetadataDetails.getLoadName());
+    }
+    FileFactory.FileType fileType = FileFactory.getFileType(metadataPath);
+    for (Map.Entry<Long, LoadMetadataDetails> entry : entries.entrySet()) {
+      if (loadNames.contains(entry.getValue().getLoadName())) {
+        String entryPath =
+            CarbonTablePath.getTableStatusEntryFilePath(metadataPath, entry.getKey());
+        try {
+          FileFactory.deleteFile(entryPath, fileType);
+        } catch (IOException e) {
+          // the load is read from the table status file even if its entry is left
+          LOGGER.error("Not able to delete the table status entry " + entryPath);
+        }
+      }
+    }
+  }
+
+  /**
+   * @param metadataPath metadata directory of the table
+   * @return latest modified time of the table status entries, 0 if there are no entries
+   */
+  public static long getLastModifiedTime(String metadataPath) {
+    long lastModifiedTime = 0L;
+    for (CarbonFile entryFile : listEntryFiles(metadataPath)) {
+      lastModifiedTime = Math.max(lastModifiedTime, entryFile.getLastModifiedTime());
+    }
+    return lastModifiedTime;
+  }
+
+  /**
+   * @param metadataPath metadata directory of the table
+   * @return latest version of the table status entries including the claims, -1 if there are
+   * no entries
+   */
+  private static long getLatestVersion(String metadataPath) {
+    long latestVersion = -1L;
+    for (CarbonFile entryFile : listEntryFiles(metadataPath)) {
+      latestVersion =
+          Math.max(latestVersion, CarbonTablePath.getTableStatusEntryVersion(entryFile.getName()));
+    }
+    return latestVersion;
+  }
+
+  /**
+   * Reads the committed table status entries. The claims are empty, the entries being written
+   * are not complete and the entries deleted after they were listed are not present, they are
+   * all skipped.
+   *
+   * @param metadataPath metadata directory of the table
+   * @return details of the loads of the entries sorted by version
+   */
+  private static Map<Long, LoadMetadataDetails> readEntryFiles(String metadataPath) {
+    Map<Long, LoadMetadataDetails> entries = new TreeMap<>();
+    Gson gson = new Gson();
+    for (CarbonFile entryFile : listEntryFiles(metadataPath)) {
+      if (entryFile.getSize() == 0) {
+        continue;
+      }
+      String entryPath = entryFile.getAbsolutePath();
+      BufferedReader buffReader = null;
+      try {
+        DataInputStream dataInputStream =
+            FileFactory.getDataInputStream(entryPath, FileFactory.getFileType(entryPath));
+        buffReader = new BufferedReader(new InputStreamReader(dataInputStream,
+            Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)));
+        LoadMetadataDetails loadMetadataDetails =
+            gson.fromJson(buffReader, LoadMetadataDetails.class);
+        if (null != loadMetadataDetails && null != loadMetadataDetails.getLoadName()) {
+          entries.put(CarbonTablePath.getTableStatusEntryVersion(entryFile.getName()),
+              loadMetadataDetails);
+        }
+      } catch (IOException | JsonParseException e) {
+        LOGGER.info("Skipping the table status entry " + entryPath + " : " + e.getMessage());
+      } finally {
+        CarbonUtil.closeStreams(buffReader);
+      }
+    }
+    return entries;
+  }
+
+  private static CarbonFile[] listEntryFiles(String metadataPath) {
+    CarbonFile metadataDir =
+        FileFactory.getCarbonFile(metadataPath, FileFactory.getFileType(metadataPath));
+    CarbonFile[] entryFiles = metadataDir.listFiles(new CarbonFileFilter() {
+      @Override public boolean accept(CarbonFile file) {
+        return CarbonTablePath.getTableStatusEntryVersion(file.getName()) >= 0;
+      }
+    });
+    return null == entryFiles ? new CarbonFile[0] : entryFiles;
+  }
+}
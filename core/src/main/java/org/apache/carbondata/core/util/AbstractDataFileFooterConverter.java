@@ -97,7 +97,11 @@ public abstract class AbstractDataFileFooterConverter {
         tableBlockInfo.setBlockOffset(readBlockIndexInfo.getOffset());
         tableBlockInfo.setVersion(
             ColumnarFormatVersion.valueOf((short) readIndexHeader.getVersion()));
-        int blockletSize = getBlockletSize(readBlockIndexInfo);
+        // blocklets can be cut before reaching the blocklet size, so the number of blocklets
+        // is taken from index if it is written
+        int blockletSize = readBlockIndexInfo.isSetNum_blocklets() ?
+            readBlockIndexInfo.getNum_blocklets() :
+            getBlockletSize(readBlockIndexInfo);
         tableBlockInfo.getBlockletInfos().setNoOfBlockLets(blockletSize);
         dataFileFooter.setBlockletIndex(blockletIndex);
         dataFileFooter.setColumnInTable(columnSchemaList);
@@ -219,6 +223,12 @@ public abstract class AbstractDataFileFooterConverter {
         return Encoding.BIT_PACKED;
       case DIRECT_DICTIONARY:
         return Encoding.DIRECT_DICTIONARY;
+      case FRAME_OF_REFERENCE:
+        return Encoding.FRAME_OF_REFERENCE;
+      case DELTA_OF_DELTA:
+        return Encoding.DELTA_OF_DELTA;
+      case PAGE_DICTIONARY:
+        return Encoding.PAGE_DICTIONARY;
       default:
         throw new IllegalArgumentException(encoderThrift.toString() + " is not supported");
     }
@@ -87,6 +87,12 @@ public class CarbonLoadStatisticsDummy implements LoadStatistics {
 
   }
 
+  @Override
+  public void recordDictionaryLocalCacheHits(String tableUniqueName, String columnName,
+      long lookupCount, long hitCount) {
+
+  }
+
   @Override
   public void recordHostBlockMap(String host, Integer numBlocks) {
 
@@ -17,6 +17,8 @@
 
 package org.apache.carbondata.core.util;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.carbondata.common.logging.LogService;
@@ -79,6 +81,11 @@ public class CarbonLoadStatisticsImpl implements LoadStatistics {
   private ConcurrentHashMap<String, Integer> partitionBlockMap =
           new ConcurrentHashMap<String, Integer>();
 
+  //Local surrogate key cache lookups and hits for each dictionary column of each table, summed
+  //over the partitions and loads which recorded them
+  private ConcurrentHashMap<String, long[]> dictionaryLocalCacheHitsMap =
+          new ConcurrentHashMap<String, long[]>();
+
   private long totalRecords = 0;
   private double totalTime = 0;
 
@@ -233,6 +240,36 @@ public class CarbonLoadStatisticsImpl implements LoadStatistics {
     this.totalRecords = totalRecords;
   }
 
+  public void recordDictionaryLocalCacheHits(String tableUniqueName, String columnName,
+      long lookupCount, long hitCount) {
+    String key = tableUniqueName + "." + columnName;
+    long[] lookupsAndHits = dictionaryLocalCacheHitsMap.get(key);
+    if (null == lookupsAndHits) {
+      long[] newLookupsAndHits = new long[2];
+      lookupsAndHits = dictionaryLocalCacheHitsMap.putIfAbsent(key, newLookupsAndHits);
+      if (null == lookupsAndHits) {
+        lookupsAndHits = newLookupsAndHits;
+      }
+    }
+    synchronized (lookupsAndHits) {
+      lookupsAndHits[0] += lookupCount;
+      lookupsAndHits[1] += hitCount;
+    }
+  }
+
+  /**
+   * @return lookups and hits of the local surrogate key cache of the column
+   */
+  long[] getDictionaryLocalCacheHits(String tableUniqueName, String columnName) {
+    long[] lookupsAndHits = dictionaryLocalCacheHitsMap.get(tableUniqueName + "." + columnName);
+    if (null == lookupsAndHits) {
+      return new long[2];
+    }
+    synchronized (lookupsAndHits) {
+      return lookupsAndHits.clone();
+    }
+  }
+
   //Get the time
   private double getDicShuffleAndWriteFileTotalTime() {
     return dicShuffleAndWriteFileTotalCostTime / 1000.0;
@@ -308,6 +345,29 @@ public class CarbonLoadStatisticsImpl implements LoadStatistics {
     return totalTime;
   }
 
+  /**
+   * Returns the records processed per second by each step of the load of the partition, in
+   * the order of the steps. Speed of a step which is not recorded is 0. Statistics are reset
+   * by printStatisticsInfo, so this has to be called before it.
+   */
+  public Map<String, Long> getStepSpeeds(String partitionID) {
+    Map<String, Long> stepSpeeds = new LinkedHashMap<String, Long>();
+    stepSpeeds.put("Read input", getSpeed(parCsvInputStepTimeMap.get(partitionID)));
+    stepSpeeds.put("Generate surrogate key",
+        getSpeed(parGeneratingDictionaryValuesTimeMap.get(partitionID)));
+    stepSpeeds.put("Sort rows", getSpeed(parSortRowsStepTotalTimeMap.get(partitionID)));
+    stepSpeeds.put("Write fact files",
+        getSpeed(parDictionaryValue2MdkAdd2FileTime.get(partitionID)));
+    return stepSpeeds;
+  }
+
+  private long getSpeed(Long[] timeOfStep) {
+    if (null == timeOfStep || null == timeOfStep[1] || timeOfStep[1] <= 0) {
+      return 0;
+    }
+    return totalRecords * 1000 / timeOfStep[1];
+  }
+
   //Print the statistics information
   private void printDicGenStatisticsInfo() {
     double loadCsvfilesToDfTime = getLoadCsvfilesToDfTime();
@@ -333,6 +393,19 @@ public class CarbonLoadStatisticsImpl implements LoadStatistics {
             + generatingDictionaryValuesTime + "(s)");
   }
 
+  private void printDictionaryLocalCacheInfo() {
+    for (Map.Entry<String, long[]> entry : dictionaryLocalCacheHitsMap.entrySet()) {
+      String columnName = entry.getKey();
+      long[] lookupsAndHits;
+      synchronized (entry.getValue()) {
+        lookupsAndHits = entry.getValue().clone();
+      }
+      double hitRate = lookupsAndHits[0] == 0 ? 0 : lookupsAndHits[1] * 100.0 / lookupsAndHits[0];
+      LOGGER.audit("STAGE 4.2 ->    |_local dictionary cache of " + columnName + ": "
+          + lookupsAndHits[1] + "/" + lookupsAndHits[0] + " hits (" + hitRate + "%)");
+    }
+  }
+
   private void printSortRowsStepStatisticsInfo(String partitionID) {
     double sortRowsStepTotalTime = getSortRowsStepTotalTime(partitionID);
     LOGGER.audit("STAGE 4.3 ->  |_sort rows and write to temp file: "
@@ -382,6 +455,7 @@ public class CarbonLoadStatisticsImpl implements LoadStatistics {
       printDicGenStatisticsInfo();
       printLruCacheLoadTimeInfo();
       printDictionaryValuesGenStatisticsInfo(partitionID);
+      printDictionaryLocalCacheInfo();
       printSortRowsStepStatisticsInfo(partitionID);
       printGenMdkStatisticsInfo(partitionID);
       printHostBlockMapInfo();
@@ -408,6 +482,7 @@ public class CarbonLoadStatisticsImpl implements LoadStatistics {
     parGeneratingDictionaryValuesTimeMap.clear();
     parMdkGenerateTotalTimeMap.clear();
     parDictionaryValue2MdkAdd2FileTime.clear();
+    dictionaryLocalCacheHitsMap.clear();
   }
 
 }
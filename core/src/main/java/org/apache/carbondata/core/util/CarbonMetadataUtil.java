@@ -257,9 +257,7 @@ public class CarbonMetadataUtil {
       dataChunk.setData_page_length(blockletInfoColumnar.getMeasureLength()[i]);
       dataChunk.setData_page_offset(blockletInfoColumnar.getMeasureOffset()[i]);
       //TODO : Right now the encodings are happening at runtime. change as per this encoders.
-      List<Encoding> encodings = new ArrayList<Encoding>();
-      encodings.add(Encoding.DELTA);
-      dataChunk.setEncoders(encodings);
+      dataChunk.setEncoders(getMeasureEncodings(blockletInfoColumnar.getCompressionModel(), i));
       //TODO writing dummy presence meta need to set actual presence
       //meta
       PresenceMeta presenceMeta = new PresenceMeta();
@@ -312,6 +310,41 @@ public class CarbonMetadataUtil {
     return aos.toByteArray();
   }
 
+  /**
+   * Below method will be used to get the encodings of a measure page, the bit packed or
+   * dictionary encoding is added when the page was encoded by the value compression holder
+   *
+   * @param compressionModel compression model the measure pages were compressed with
+   * @param index            index of the measure
+   * @return encodings of the page
+   */
+  private static List<Encoding> getMeasureEncodings(WriterCompressModel compressionModel,
+      int index) {
+    List<Encoding> encodings = new ArrayList<Encoding>();
+    encodings.add(Encoding.DELTA);
+    if (null == compressionModel.getValueCompressionHolder()) {
+      return encodings;
+    }
+    org.apache.carbondata.core.metadata.encoder.Encoding pageEncoding =
+        compressionModel.getValueCompressionHolder()[index].getPageEncoding();
+    if (null != pageEncoding) {
+      switch (pageEncoding) {
+        case FRAME_OF_REFERENCE:
+          encodings.add(Encoding.FRAME_OF_REFERENCE);
+          break;
+        case DELTA_OF_DELTA:
+          encodings.add(Encoding.DELTA_OF_DELTA);
+          break;
+        case PAGE_DICTIONARY:
+          encodings.add(Encoding.PAGE_DICTIONARY);
+          break;
+        default:
+          throw new IllegalArgumentException("unsupported page encoding: " + pageEncoding);
+      }
+    }
+    return encodings;
+  }
+
   private static ValueEncoderMeta createValueEncoderMeta(WriterCompressModel compressionModel,
       int index) {
     ValueEncoderMeta encoderMeta = new ValueEncoderMeta();
@@ -502,6 +535,9 @@ public class CarbonMetadataUtil {
       blockIndex.setOffset(blockIndexInfo.getOffset());
       blockIndex.setFile_name(blockIndexInfo.getFileName());
       blockIndex.setBlock_index(getBlockletIndex(blockIndexInfo.getBlockletIndex()));
+      if (blockIndexInfo.getNumberOfBlocklets() > 0) {
+        blockIndex.setNum_blocklets(blockIndexInfo.getNumberOfBlocklets());
+      }
       thriftBlockIndexList.add(blockIndex);
     }
     return thriftBlockIndexList;
@@ -565,9 +601,7 @@ public class CarbonMetadataUtil {
       //TODO : Once schema PR is merged and information needs to be passed here.
       dataChunk.setData_page_length(blockletInfoColumnar.getMeasureLength()[i]);
       //TODO : Right now the encodings are happening at runtime. change as per this encoders.
-      List<Encoding> encodings = new ArrayList<Encoding>();
-      encodings.add(Encoding.DELTA);
-      dataChunk.setEncoders(encodings);
+      dataChunk.setEncoders(getMeasureEncodings(blockletInfoColumnar.getCompressionModel(), i));
       //TODO writing dummy presence meta need to set actual presence
       //meta
       PresenceMeta presenceMeta = new PresenceMeta();
@@ -52,6 +52,11 @@ public interface LoadStatistics {
   //Record the partition blocks information map
   void recordPartitionBlockMap(String partitionID, Integer numBlocks);
 
+  //Record the lookups and hits of the local surrogate key cache of a dictionary column, they are
+  //added to the lookups and hits recorded by the other partitions and loads of the table
+  void recordDictionaryLocalCacheHits(String tableUniqueName, String columnName, long lookupCount,
+      long hitCount);
+
   //Record total num of records processed
   void recordTotalRecords(long totalRecords);
 
@@ -48,6 +48,8 @@ public class CarbonTablePath extends Path {
   protected static final String DATA_PART_PREFIX = "part-";
   protected static final String INDEX_FILE_EXT = ".carbonindex";
   protected static final String DELETE_DELTA_FILE_EXT = ".deletedelta";
+  protected static final String INDEX_SNAPSHOT_FILE_NAME = "segment.indexsnapshot";
+  protected static final String TABLE_STATUS_ENTRY_PREFIX = "tablestatus_entry_";
 
   protected String tablePath;
   protected CarbonTableIdentifier carbonTableIdentifier;
@@ -219,6 +221,35 @@ public class CarbonTablePath extends Path {
     return getMetaDataDir() + File.separator + TABLE_STATUS_FILE;
   }
 
+  /**
+   * Gets the path of a table status entry file, which holds the details of one load committed
+   * without rewriting the table status file
+   *
+   * @param metadataPath metadata directory of the table
+   * @param version      version of the entry
+   * @return absolute path of the table status entry file
+   */
+  public static String getTableStatusEntryFilePath(String metadataPath, long version) {
+    return metadataPath + File.separator + TABLE_STATUS_ENTRY_PREFIX + version;
+  }
+
+  /**
+   * Gets the version of a table status entry file
+   *
+   * @param fileName name of the file
+   * @return version of the entry or -1 if the file is not a table status entry file
+   */
+  public static long getTableStatusEntryVersion(String fileName) {
+    if (!fileName.startsWith(TABLE_STATUS_ENTRY_PREFIX)) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(fileName.substring(TABLE_STATUS_ENTRY_PREFIX.length()));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
   /**
    * @return absolute path of table update status file
    */
@@ -343,6 +374,17 @@ public class CarbonTablePath extends Path {
     return getSegmentDir(partitionId, segmentId);
   }
 
+  /**
+   * Gets absolute path of the index snapshot file of the segment
+   *
+   * @param partitionId unique partition identifier
+   * @param segmentId   unique partition identifier
+   * @return absolute path of the index snapshot file
+   */
+  public String getSegmentIndexSnapshotFilePath(String partitionId, String segmentId) {
+    return getSegmentDir(partitionId, segmentId) + File.separator + INDEX_SNAPSHOT_FILE_NAME;
+  }
+
   /**
    * Gets data file name only with out path
    *
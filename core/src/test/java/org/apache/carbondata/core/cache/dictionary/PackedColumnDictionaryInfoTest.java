@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.cache.dictionary;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PackedColumnDictionaryInfoTest {
+
+  private PackedColumnDictionaryInfo columnDictionaryInfo;
+
+  @Before public void setUp() {
+    columnDictionaryInfo = new PackedColumnDictionaryInfo(DataType.STRING);
+    // surrogate keys 1 to 3 loaded first and 4 to 5 in incremental load
+    columnDictionaryInfo.addDictionaryChunk(toBytes("india", "china", "brazil"));
+    columnDictionaryInfo.addDictionaryChunk(toBytes("usa", "austria"));
+    columnDictionaryInfo.setSortOrderIndex(Arrays.asList(5, 3, 2, 1, 4));
+    columnDictionaryInfo.setSortReverseOrderIndex(Arrays.asList(4, 3, 2, 5, 1));
+  }
+
+  @After public void tearDown() {
+    columnDictionaryInfo.invalidate();
+  }
+
+  @Test public void testGetDictionaryValueForKey() {
+    assertThat(columnDictionaryInfo.getDictionaryValueForKey(1), is(equalTo("india")));
+    assertThat(columnDictionaryInfo.getDictionaryValueForKey(3), is(equalTo("brazil")));
+    assertThat(columnDictionaryInfo.getDictionaryValueForKey(4), is(equalTo("usa")));
+    assertThat(columnDictionaryInfo.getDictionaryValueForKey(6), is(nullValue()));
+  }
+
+  @Test public void testGetSurrogateKey() {
+    assertThat(columnDictionaryInfo.getSurrogateKey(toBytes("austria").get(0)), is(equalTo(5)));
+    assertThat(columnDictionaryInfo.getSurrogateKey(toBytes("usa").get(0)), is(equalTo(4)));
+    assertThat(columnDictionaryInfo.getSurrogateKey(toBytes("china").get(0)), is(equalTo(2)));
+    assertThat(columnDictionaryInfo.getSurrogateKey(toBytes("japan").get(0)),
+        is(equalTo(CarbonCommonConstants.INVALID_SURROGATE_KEY)));
+  }
+
+  @Test public void testGetIncrementalSurrogateKeyFromDictionary() {
+    List<Integer> surrogates = new ArrayList<>();
+    columnDictionaryInfo
+        .getIncrementalSurrogateKeyFromDictionary(toBytes("brazil", "india", "usa"), surrogates);
+    assertThat(surrogates, is(equalTo(Arrays.asList(3, 1, 4))));
+  }
+
+  @Test public void testSortIndex() {
+    assertThat(columnDictionaryInfo.getSortedIndex(1), is(equalTo(4)));
+    assertThat(columnDictionaryInfo.getSortedIndex(6), is(equalTo(-1)));
+    assertThat(columnDictionaryInfo.getDictionaryValueFromSortedIndex(1), is(equalTo("austria")));
+    assertThat(columnDictionaryInfo.getDictionaryValueFromSortedIndex(0), is(nullValue()));
+  }
+
+  @Test public void testGetDictionaryChunks() {
+    DictionaryChunksWrapper dictionaryChunks = columnDictionaryInfo.getDictionaryChunks();
+    assertThat(dictionaryChunks.getSize(), is(equalTo(5)));
+    List<String> values = new ArrayList<>();
+    while (dictionaryChunks.hasNext()) {
+      values.add(new String(dictionaryChunks.next(),
+          Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)));
+    }
+    assertThat(values, is(equalTo(Arrays.asList("india", "china", "brazil", "usa", "austria"))));
+  }
+
+  @Test public void testGetSurrogateKeyOfNonAsciiNumber() {
+    PackedColumnDictionaryInfo intDictionaryInfo = new PackedColumnDictionaryInfo(DataType.INT);
+    try {
+      // arabic-indic digits of 12, which are decoded as UTF-8 irrespective of the platform
+      intDictionaryInfo.addDictionaryChunk(toBytes("\u0661\u0662", "5"));
+      intDictionaryInfo.setSortOrderIndex(Arrays.asList(2, 1));
+      intDictionaryInfo.setSortReverseOrderIndex(Arrays.asList(2, 1));
+      assertThat(intDictionaryInfo.getSurrogateKey(toBytes("12").get(0)), is(equalTo(1)));
+      assertThat(intDictionaryInfo.getSurrogateKey(toBytes("5").get(0)), is(equalTo(2)));
+    } finally {
+      intDictionaryInfo.invalidate();
+    }
+  }
+
+  @Test public void testGetMemorySize() {
+    // values with offsets of each block and the two sort indexes
+    long memorySize = (16 + 4 * 4) + (10 + 3 * 4) + 10 * 4;
+    assertThat(columnDictionaryInfo.getPackedMemorySize(), is(equalTo(memorySize)));
+    assertThat(columnDictionaryInfo.getMemorySize(), is(equalTo(memorySize)));
+  }
+
+  @Test public void testMemoryIsFreedOnInvalidateWhenNotInUse() {
+    columnDictionaryInfo.invalidate();
+    assertThat(columnDictionaryInfo.getDictionaryValueForKey(1), is(nullValue()));
+    assertThat(columnDictionaryInfo.getMemorySize(), is(equalTo(0L)));
+  }
+
+  @Test public void testMemoryIsFreedByLastUserAfterInvalidate() {
+    columnDictionaryInfo.incrementAccessCount();
+    columnDictionaryInfo.incrementAccessCount();
+    columnDictionaryInfo.invalidate();
+    assertThat(columnDictionaryInfo.getDictionaryValueForKey(1), is(equalTo("india")));
+    columnDictionaryInfo.clear();
+    assertThat(columnDictionaryInfo.getDictionaryValueForKey(4), is(equalTo("usa")));
+    columnDictionaryInfo.clear();
+    assertThat(columnDictionaryInfo.getDictionaryValueForKey(1), is(nullValue()));
+    assertThat(columnDictionaryInfo.getMemorySize(), is(equalTo(0L)));
+  }
+
+  @Test public void testMemoryIsNotFreedOnReleaseWhileCached() {
+    columnDictionaryInfo.incrementAccessCount();
+    columnDictionaryInfo.clear();
+    assertThat(columnDictionaryInfo.getDictionaryValueForKey(1), is(equalTo("india")));
+  }
+
+  private static List<byte[]> toBytes(String... values) {
+    List<byte[]> bytes = new ArrayList<>(values.length);
+    for (String value : values) {
+      bytes.add(value.getBytes(Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)));
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.block.BlockInfo;
+import org.apache.carbondata.core.datastore.block.BlockletInfos;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.metadata.blocklet.SegmentInfo;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletBTreeIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.path.CarbonStorePath;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class SegmentIndexSnapshotTest {
+
+  private static String storePath;
+  private static AbsoluteTableIdentifier absoluteTableIdentifier;
+
+  @BeforeClass public static void setUp() {
+    storePath = new File("target/indexsnapshot").getAbsolutePath();
+    absoluteTableIdentifier = new AbsoluteTableIdentifier(storePath,
+        new CarbonTableIdentifier("testdatabase", "testtable", "TB100"));
+    new File(CarbonStorePath.getCarbonTablePath(absoluteTableIdentifier)
+        .getCarbonDataDirectoryPath("0", "0")).mkdirs();
+  }
+
+  @AfterClass public static void tearDown() {
+    FileFactory.deleteAllFilesOfDir(new File(storePath));
+  }
+
+  private List<DataFileFooter> getDataFileFooters() {
+    List<ColumnSchema> columnSchemaList = new ArrayList<ColumnSchema>();
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName("employeeName");
+    columnSchemaList.add(columnSchema);
+    SegmentInfo segmentInfo = new SegmentInfo();
+    segmentInfo.setColumnCardinality(new int[] { 10 });
+    List<DataFileFooter> footerList = new ArrayList<DataFileFooter>();
+    for (int i = 0; i < 3; i++) {
+      TableBlockInfo tableBlockInfo =
+          new TableBlockInfo(storePath + "/part-0-" + i + "-0-0.carbondata", 0L, "0",
+              new String[] { "host" + i }, 100L * (i + 1), new BlockletInfos(i + 1, 0, i + 1),
+              ColumnarFormatVersion.V2);
+      BlockletMinMaxIndex minMaxIndex = new BlockletMinMaxIndex();
+      minMaxIndex.setMinValues(new byte[][] { { (byte) i } });
+      minMaxIndex.setMaxValues(new byte[][] { { (byte) (i + 5) } });
+      DataFileFooter footer = new DataFileFooter();
+      footer.setBlockletIndex(new BlockletIndex(
+          new BlockletBTreeIndex(new byte[] { (byte) i }, new byte[] { (byte) (i + 5) }),
+          minMaxIndex));
+      footer.setColumnInTable(columnSchemaList);
+      footer.setSegmentInfo(segmentInfo);
+      footer.setNumberOfRows(1000L * (i + 1));
+      footer.setBlockInfo(new BlockInfo(tableBlockInfo));
+      footerList.add(footer);
+    }
+    return footerList;
+  }
+
+  @Test public void testSnapshotIsReadBackForSameTimeStamp() {
+    List<DataFileFooter> footers = getDataFileFooters();
+    SegmentIndexSnapshot.write(absoluteTableIdentifier, "0", 10L, footers);
+    SegmentIndexSnapshot snapshot = SegmentIndexSnapshot.read(absoluteTableIdentifier, "0", 10L);
+    List<DataFileFooter> readFooters = snapshot.getDataFileFooters();
+    assertEquals(footers.size(), readFooters.size());
+    for (int i = 0; i < footers.size(); i++) {
+      DataFileFooter footer = footers.get(i);
+      DataFileFooter readFooter = readFooters.get(i);
+      assertEquals(footer.getBlockInfo().getTableBlockInfo(),
+          readFooter.getBlockInfo().getTableBlockInfo());
+      assertArrayEquals(footer.getBlockInfo().getTableBlockInfo().getLocations(),
+          readFooter.getBlockInfo().getTableBlockInfo().getLocations());
+      assertEquals(i + 1,
+          readFooter.getBlockInfo().getTableBlockInfo().getBlockletInfos().getNoOfBlockLets());
+      assertEquals(footer.getNumberOfRows(), readFooter.getNumberOfRows());
+      assertEquals(footer.getColumnInTable(), readFooter.getColumnInTable());
+      assertArrayEquals(footer.getSegmentInfo().getColumnCardinality(),
+          readFooter.getSegmentInfo().getColumnCardinality());
+      assertArrayEquals(footer.getBlockletIndex().getBtreeIndex().getStartKey(),
+          readFooter.getBlockletIndex().getBtreeIndex().getStartKey());
+      assertArrayEquals(footer.getBlockletIndex().getBtreeIndex().getEndKey(),
+          readFooter.getBlockletIndex().getBtreeIndex().getEndKey());
+      assertArrayEquals(footer.getBlockletIndex().getMinMaxIndex().getMinValues(),
+          readFooter.getBlockletIndex().getMinMaxIndex().getMinValues());
+      assertArrayEquals(footer.getBlockletIndex().getMinMaxIndex().getMaxValues(),
+          readFooter.getBlockletIndex().getMinMaxIndex().getMaxValues());
+    }
+  }
+
+  @Test public void testSnapshotIsNotReadForOtherTimeStamp() {
+    SegmentIndexSnapshot.write(absoluteTableIdentifier, "0", 10L, getDataFileFooters());
+    assertNull(SegmentIndexSnapshot.read(absoluteTableIdentifier, "0", 11L));
+    assertNull(SegmentIndexSnapshot.read(absoluteTableIdentifier, "1", 10L));
+  }
+}
@@ -70,6 +70,8 @@ public class SegmentTaskIndexTest {
 
     segmentTaskIndex.buildIndex(footerList);
     assertEquals(footerList.get(0).getNumberOfRows(), numberOfRows);
+    // one data block for each file
+    assertEquals(footerList.size(), segmentTaskIndex.getNumberOfDataBlocks());
 
   }
 }
@@ -171,4 +171,16 @@ public class TableBlockInfoTest {
     int expectedResult = 1041505621;
     assertEquals(res, expectedResult);
   }
+
+  @Test public void estimatedScanSizeTest() {
+    TableBlockInfo blockletRange =
+        new TableBlockInfo("filepath", 0, "5", null, 600, new BlockletInfos(6, 2, 2), ColumnarFormatVersion.V1);
+    assertEquals(200, blockletRange.getEstimatedScanSize());
+    TableBlockInfo tillEndOfBlock =
+        new TableBlockInfo("filepath", 0, "5", null, 600, new BlockletInfos(6, 2, 0), ColumnarFormatVersion.V1);
+    assertEquals(400, tillEndOfBlock.getEstimatedScanSize());
+    TableBlockInfo unknownBlocklets =
+        new TableBlockInfo("filepath", 0, "5", null, 600, new BlockletInfos(0, 0, 0), ColumnarFormatVersion.V1);
+    assertEquals(600, unknownBlocklets.getEstimatedScanSize());
+  }
 }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore.chunk;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnChunkCacheTest {
+
+  private static class TestMeasureChunk extends MeasureColumnDataChunk {
+
+    private boolean isFreed;
+
+    @Override public void freeMemory() {
+      isFreed = true;
+    }
+  }
+
+  @Test public void testCachedChunkIsShared() {
+    ColumnChunkCache chunkCache = new ColumnChunkCache(100);
+    TestMeasureChunk measureChunk = new TestMeasureChunk();
+    assertTrue(chunkCache.putMeasureChunk("m0", measureChunk, 40));
+    assertSame(measureChunk, chunkCache.acquireMeasureChunk("m0"));
+    assertNull(chunkCache.acquireMeasureChunk("m1"));
+    // a chunk added by another task is not replaced
+    assertFalse(chunkCache.putMeasureChunk("m0", new TestMeasureChunk(), 40));
+    assertEquals(40, chunkCache.getCurrentSize());
+  }
+
+  @Test public void testChunksInUseAreNotEvicted() {
+    ColumnChunkCache chunkCache = new ColumnChunkCache(100);
+    TestMeasureChunk first = new TestMeasureChunk();
+    TestMeasureChunk second = new TestMeasureChunk();
+    chunkCache.putMeasureChunk("m0", first, 60);
+    chunkCache.putMeasureChunk("m1", second, 40);
+    chunkCache.release("m1");
+    // the least recently used chunk is in use, so the next one is evicted
+    assertTrue(chunkCache.putMeasureChunk("m2", new TestMeasureChunk(), 40));
+    assertFalse(first.isFreed);
+    assertTrue(second.isFreed);
+    // nothing can be evicted while all the chunks are in use
+    assertFalse(chunkCache.putMeasureChunk("m3", new TestMeasureChunk(), 10));
+    chunkCache.release("m0");
+    assertTrue(chunkCache.putMeasureChunk("m3", new TestMeasureChunk(), 10));
+    assertTrue(first.isFreed);
+    assertEquals(50, chunkCache.getCurrentSize());
+  }
+
+  @Test public void testChunkBiggerThanCacheIsNotCached() {
+    ColumnChunkCache chunkCache = new ColumnChunkCache(100);
+    assertFalse(chunkCache.putMeasureChunk("m0", new TestMeasureChunk(), 101));
+    assertEquals(0, chunkCache.getCurrentSize());
+  }
+}
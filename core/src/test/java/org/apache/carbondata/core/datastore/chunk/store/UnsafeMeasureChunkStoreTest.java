@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore.chunk.store;
+
+import org.apache.carbondata.core.datastore.chunk.store.impl.unsafe.UnsafeDoubleMeasureChunkStore;
+import org.apache.carbondata.core.datastore.chunk.store.impl.unsafe.UnsafeFixedLengthDimensionDataChunkStore;
+import org.apache.carbondata.core.datastore.chunk.store.impl.unsafe.UnsafeIntMeasureChunkStore;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.memory.ChunkMemoryPool;
+import org.apache.carbondata.core.memory.MemoryBlock;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class UnsafeMeasureChunkStoreTest {
+
+  private static final Compressor COMPRESSOR = CompressorFactory.getInstance().getCompressor();
+
+  @Test public void testIntDataIsUncompressedIntoStore() {
+    int[] data = new int[1000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = i * 31 - 7000;
+    }
+    byte[] compressed = COMPRESSOR.compressInt(data);
+    byte[] page = new byte[compressed.length + 5];
+    System.arraycopy(compressed, 0, page, 5, compressed.length);
+    UnsafeIntMeasureChunkStore store = new UnsafeIntMeasureChunkStore(data.length);
+    assertTrue(store.putCompressedData(COMPRESSOR, page, 5, compressed.length));
+    for (int i = 0; i < data.length; i++) {
+      assertEquals(data[i], store.getInt(i));
+    }
+    store.freeMemory();
+  }
+
+  @Test public void testDoubleDataIsUncompressedIntoStore() {
+    double[] data = new double[1000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = i / 3.0;
+    }
+    byte[] compressed = COMPRESSOR.compressDouble(data);
+    UnsafeDoubleMeasureChunkStore store = new UnsafeDoubleMeasureChunkStore(data.length);
+    assertTrue(store.putCompressedData(COMPRESSOR, compressed, 0, compressed.length));
+    for (int i = 0; i < data.length; i++) {
+      assertEquals(data[i], store.getDouble(i), 0);
+    }
+    store.freeMemory();
+  }
+
+  @Test public void testDimensionDataIsUncompressedIntoStore() {
+    int numberOfRows = 1000;
+    // values of 2 bytes, sorted through the inverted index
+    byte[] data = new byte[numberOfRows * 2];
+    int[] invertedIndex = new int[numberOfRows];
+    int[] invertedIndexReverse = new int[numberOfRows];
+    for (int i = 0; i < numberOfRows; i++) {
+      data[i * 2] = (byte) (i >> 8);
+      data[i * 2 + 1] = (byte) i;
+      invertedIndex[i] = numberOfRows - 1 - i;
+      invertedIndexReverse[numberOfRows - 1 - i] = i;
+    }
+    byte[] compressed = COMPRESSOR.compressByte(data);
+    UnsafeFixedLengthDimensionDataChunkStore store =
+        new UnsafeFixedLengthDimensionDataChunkStore(data.length + numberOfRows * 8, 2, true,
+            numberOfRows);
+    assertTrue(store.putCompressedArray(invertedIndex, invertedIndexReverse, COMPRESSOR,
+        compressed, 0, compressed.length));
+    for (int i = 0; i < numberOfRows; i++) {
+      assertEquals(numberOfRows - 1 - i, store.getSurrogate(i));
+      assertEquals(numberOfRows - 1 - i, store.getInvertedIndex(i));
+    }
+    store.freeMemory();
+  }
+
+  @Test public void testScratchSizeIsRoundedToPages() {
+    MemoryBlock memoryBlock = ChunkMemoryPool.INSTANCE.allocateScratch(1);
+    assertEquals(4096, memoryBlock.size());
+    ChunkMemoryPool.INSTANCE.free(memoryBlock);
+    memoryBlock = ChunkMemoryPool.INSTANCE.allocateScratch(4096);
+    assertEquals(4096, memoryBlock.size());
+    ChunkMemoryPool.INSTANCE.free(memoryBlock);
+    memoryBlock = ChunkMemoryPool.INSTANCE.allocateScratch(4097);
+    assertEquals(8192, memoryBlock.size());
+    ChunkMemoryPool.INSTANCE.free(memoryBlock);
+    ChunkMemoryPool.INSTANCE.clear();
+  }
+
+  @Test public void testFreedBlockIsReused() {
+    MemoryBlock memoryBlock = ChunkMemoryPool.INSTANCE.allocate(12345);
+    ChunkMemoryPool.INSTANCE.free(memoryBlock);
+    assertSame(memoryBlock, ChunkMemoryPool.INSTANCE.allocate(12345));
+    ChunkMemoryPool.INSTANCE.free(memoryBlock);
+    ChunkMemoryPool.INSTANCE.clear();
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore.compression;
+
+import java.util.Random;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.compression.none.CompressionNoneDefault;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.ValueCompressionUtil.DataType;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class MeasurePageDictionaryTest {
+
+  @Test public void testDictionaryDecodesToSameValues() {
+    Random random = new Random(3);
+    long[] values = new long[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt(50) * 1000003L - 7;
+    }
+    MeasurePageDictionary pageDictionary =
+        MeasurePageDictionary.decode(MeasurePageDictionary.encode(values, 256));
+    assertArrayEquals(values, pageDictionary.getValues());
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(values[i],
+          values[pageDictionary.getEntryRow(pageDictionary.getRowEntry(i))]);
+    }
+  }
+
+  @Test public void testPageWithTooManyDistinctValuesIsNotEncoded() {
+    long[] values = new long[300];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i;
+    }
+    assertNull(MeasurePageDictionary.encode(values, 256));
+    assertNotNull(MeasurePageDictionary.encode(values, 300));
+    assertNull(MeasurePageDictionary.encode(values, 0));
+  }
+
+  @Test public void testPageIsNotDictionaryEncodedByDefault() {
+    CompressionNoneDefault writer = new CompressionNoneDefault(DataType.DATA_DOUBLE);
+    writer.setValue(getLowCardinalityPage());
+    writer.compress();
+    assertNull(writer.getPageEncoding());
+  }
+
+  @Test public void testDictionaryPageIsUncompressedByHolder() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.MEASURE_PAGE_DICTIONARY_THRESHOLD, "256");
+    try {
+      double[] data = getLowCardinalityPage();
+      CompressionNoneDefault writer = new CompressionNoneDefault(DataType.DATA_DOUBLE);
+      writer.setValue(data);
+      writer.compress();
+      assertEquals(Encoding.PAGE_DICTIONARY, writer.getPageEncoding());
+      byte[] page = writer.getCompressedData();
+      CompressionNoneDefault reader = new CompressionNoneDefault(DataType.DATA_DOUBLE);
+      reader.setPageEncoding(writer.getPageEncoding());
+      reader.uncompress(DataType.DATA_DOUBLE, page, 0, page.length, 0, 0, data.length);
+      assertEquals(200, reader.getPageDictionary().getNumberOfEntries());
+      for (int i = 0; i < data.length; i++) {
+        assertEquals(data[i], reader.getDoubleValue(i), 0);
+      }
+      reader.freeMemory();
+    } finally {
+      CarbonProperties.getInstance().addProperty(
+          CarbonCommonConstants.MEASURE_PAGE_DICTIONARY_THRESHOLD,
+          CarbonCommonConstants.MEASURE_PAGE_DICTIONARY_THRESHOLD_DEFAULT);
+    }
+  }
+
+  private static double[] getLowCardinalityPage() {
+    double[] data = new double[1000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (i % 200) / 7.0;
+    }
+    return data;
+  }
+}
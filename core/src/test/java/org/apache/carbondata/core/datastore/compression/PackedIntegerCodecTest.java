@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore.compression;
+
+import java.util.Random;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.compression.none.CompressionNoneInt;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.ValueCompressionUtil.DataType;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PackedIntegerCodecTest {
+
+  @Test public void testEncodingsDecodeToSameValues() {
+    Random random = new Random(1);
+    for (int count = 1; count < 200; count++) {
+      long[] values = new long[count];
+      for (int bitWidth = 0; bitWidth <= 64; bitWidth++) {
+        for (int i = 0; i < count; i++) {
+          values[i] = bitWidth == 64 ?
+              random.nextLong() :
+              (random.nextLong() & ((1L << bitWidth) - 1)) - 1000;
+        }
+        assertArrayEquals(values, PackedIntegerCodec.decode(Encoding.FRAME_OF_REFERENCE,
+            PackedIntegerCodec.encode(Encoding.FRAME_OF_REFERENCE, values)));
+        if (count > 2) {
+          assertArrayEquals(values, PackedIntegerCodec.decode(Encoding.DELTA_OF_DELTA,
+              PackedIntegerCodec.encode(Encoding.DELTA_OF_DELTA, values)));
+        }
+      }
+    }
+  }
+
+  @Test public void testExtremeValues() {
+    long[] values = { Long.MIN_VALUE, Long.MAX_VALUE, 0, -1, Long.MAX_VALUE, Long.MIN_VALUE };
+    assertArrayEquals(values, PackedIntegerCodec.decode(Encoding.FRAME_OF_REFERENCE,
+        PackedIntegerCodec.encode(Encoding.FRAME_OF_REFERENCE, values)));
+    assertArrayEquals(values, PackedIntegerCodec.decode(Encoding.DELTA_OF_DELTA,
+        PackedIntegerCodec.encode(Encoding.DELTA_OF_DELTA, values)));
+  }
+
+  @Test public void testSmallestEncodingIsSelected() {
+    long[] timestamps = new long[1000];
+    long[] smallRange = new long[1000];
+    long[] randomValues = new long[1000];
+    Random random = new Random(2);
+    for (int i = 0; i < timestamps.length; i++) {
+      timestamps[i] = 1490000000000L + i * 1000L;
+      smallRange[i] = random.nextInt(1001);
+      randomValues[i] = random.nextLong();
+    }
+    assertEquals(Encoding.DELTA_OF_DELTA, PackedIntegerCodec.selectEncoding(timestamps, 8));
+    assertEquals(Encoding.FRAME_OF_REFERENCE, PackedIntegerCodec.selectEncoding(smallRange, 2));
+    assertTrue(PackedIntegerCodec.encode(Encoding.FRAME_OF_REFERENCE, smallRange).length
+        < smallRange.length * 2);
+    assertNull(PackedIntegerCodec.selectEncoding(randomValues, 8));
+  }
+
+  @Test public void testPageIsNotPackedByDefault() {
+    CompressionNoneInt writer = new CompressionNoneInt(DataType.DATA_DOUBLE);
+    writer.setValue(getSmallRangePage());
+    writer.compress();
+    assertNull(writer.getPageEncoding());
+  }
+
+  @Test public void testPackedPageIsUncompressedByHolder() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.ENABLE_MEASURE_INTEGER_PACKING, "true");
+    try {
+      int[] data = getSmallRangePage();
+      CompressionNoneInt writer = new CompressionNoneInt(DataType.DATA_DOUBLE);
+      writer.setValue(data);
+      writer.compress();
+      assertEquals(Encoding.FRAME_OF_REFERENCE, writer.getPageEncoding());
+      byte[] page = writer.getCompressedData();
+      CompressionNoneInt reader = new CompressionNoneInt(DataType.DATA_DOUBLE);
+      reader.setPageEncoding(writer.getPageEncoding());
+      reader.uncompress(DataType.DATA_INT, page, 0, page.length, 0, 0, data.length);
+      for (int i = 0; i < data.length; i++) {
+        assertEquals(data[i], reader.getLongValue(i));
+      }
+      reader.freeMemory();
+    } finally {
+      CarbonProperties.getInstance().addProperty(
+          CarbonCommonConstants.ENABLE_MEASURE_INTEGER_PACKING,
+          CarbonCommonConstants.ENABLE_MEASURE_INTEGER_PACKING_DEFAULT);
+    }
+  }
+
+  private static int[] getSmallRangePage() {
+    int[] data = new int[1000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = 20000 + i % 700;
+    }
+    return data;
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore.compression.nondecimal;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.apache.carbondata.core.datastore.compression.ValueCompressionHolder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Verifies that the non decimal max min codecs decode every value to the same bits as the
+ * BigDecimal based decoding
+ */
+public class CompressionNonDecimalMaxMinTest {
+
+  private static final double[] MAX_VALUES =
+      { 0, 0.1, 0.3, 1.5, -1.5, 123.456, -987.65, 99999.999, 12345678.9, 1.0E7, 1.0E-5, 2.5E-10,
+          3.141592653589793, 123456789012.345, 1.0E15, -4.0E18, 1.0E300, 4.9E-324 };
+
+  private static final int MAX_DECIMAL_PLACES = 12;
+
+  private static final int NUMBER_OF_ROWS = 200;
+
+  @Test public void testByteDecodingIsSameAsBigDecimalDecoding() {
+    Random random = new Random(1);
+    for (double maxValue : MAX_VALUES) {
+      for (int decimalPlaces = 0; decimalPlaces <= MAX_DECIMAL_PLACES; decimalPlaces++) {
+        byte[] data = new byte[NUMBER_OF_ROWS];
+        random.nextBytes(data);
+        data[0] = Byte.MIN_VALUE;
+        data[1] = Byte.MAX_VALUE;
+        double[] values = new double[NUMBER_OF_ROWS];
+        for (int i = 0; i < data.length; i++) {
+          values[i] = data[i];
+        }
+        CompressionNonDecimalMaxMinByte codec = new CompressionNonDecimalMaxMinByte();
+        codec.setValue(data, data.length, maxValue, decimalPlaces);
+        assertSameDecoding(codec, values, maxValue, decimalPlaces);
+      }
+    }
+  }
+
+  @Test public void testShortDecodingIsSameAsBigDecimalDecoding() {
+    Random random = new Random(2);
+    for (double maxValue : MAX_VALUES) {
+      for (int decimalPlaces = 0; decimalPlaces <= MAX_DECIMAL_PLACES; decimalPlaces++) {
+        short[] data = new short[NUMBER_OF_ROWS];
+        double[] values = new double[NUMBER_OF_ROWS];
+        for (int i = 0; i < data.length; i++) {
+          data[i] = (short) random.nextInt();
+        }
+        data[0] = Short.MIN_VALUE;
+        data[1] = Short.MAX_VALUE;
+        for (int i = 0; i < data.length; i++) {
+          values[i] = data[i];
+        }
+        CompressionNonDecimalMaxMinShort codec = new CompressionNonDecimalMaxMinShort();
+        codec.setValue(data, data.length, maxValue, decimalPlaces);
+        assertSameDecoding(codec, values, maxValue, decimalPlaces);
+      }
+    }
+  }
+
+  @Test public void testIntDecodingIsSameAsBigDecimalDecoding() {
+    Random random = new Random(3);
+    for (double maxValue : MAX_VALUES) {
+      for (int decimalPlaces = 0; decimalPlaces <= MAX_DECIMAL_PLACES; decimalPlaces++) {
+        int[] data = new int[NUMBER_OF_ROWS];
+        double[] values = new double[NUMBER_OF_ROWS];
+        for (int i = 0; i < data.length; i++) {
+          data[i] = i % 2 == 0 ? random.nextInt() : random.nextInt(100000) - 50000;
+        }
+        data[0] = Integer.MIN_VALUE;
+        data[1] = Integer.MAX_VALUE;
+        for (int i = 0; i < data.length; i++) {
+          values[i] = data[i];
+        }
+        CompressionNonDecimalMaxMinInt codec = new CompressionNonDecimalMaxMinInt();
+        codec.setValue(data, data.length, maxValue, decimalPlaces);
+        assertSameDecoding(codec, values, maxValue, decimalPlaces);
+      }
+    }
+  }
+
+  @Test public void testLongDecodingIsSameAsBigDecimalDecoding() {
+    Random random = new Random(4);
+    for (double maxValue : MAX_VALUES) {
+      for (int decimalPlaces = 0; decimalPlaces <= MAX_DECIMAL_PLACES; decimalPlaces++) {
+        long[] data = new long[NUMBER_OF_ROWS];
+        double[] values = new double[NUMBER_OF_ROWS];
+        for (int i = 0; i < data.length; i++) {
+          // spread the values over all the magnitudes, including the ones above 15 digits
+          data[i] = random.nextLong() >> random.nextInt(64);
+        }
+        data[0] = Long.MIN_VALUE;
+        data[1] = Long.MAX_VALUE;
+        data[2] = 999999999999999L;
+        data[3] = -1000000000000000L;
+        for (int i = 0; i < data.length; i++) {
+          values[i] = data[i];
+        }
+        CompressionNonDecimalMaxMinLong codec = new CompressionNonDecimalMaxMinLong();
+        codec.setValue(data, data.length, maxValue, decimalPlaces);
+        assertSameDecoding(codec, values, maxValue, decimalPlaces);
+      }
+    }
+  }
+
+  @Test public void testDoubleDecodingIsSameAsBigDecimalDecoding() {
+    Random random = new Random(5);
+    for (double maxValue : MAX_VALUES) {
+      for (int decimalPlaces = 0; decimalPlaces <= MAX_DECIMAL_PLACES; decimalPlaces++) {
+        double[] data = new double[NUMBER_OF_ROWS];
+        for (int i = 0; i < data.length; i++) {
+          // integral values take the primitive path, fractional ones the BigDecimal path
+          data[i] = i % 3 == 0 ?
+              random.nextGaussian() * 1000 :
+              Math.rint(random.nextGaussian() * Math.pow(10, random.nextInt(18)));
+        }
+        data[0] = -0.0;
+        data[1] = Double.MAX_VALUE;
+        CompressionNonDecimalMaxMinDefault codec = new CompressionNonDecimalMaxMinDefault();
+        codec.setValue(data, data.length, maxValue, decimalPlaces);
+        assertSameDecoding(codec, data, maxValue, decimalPlaces);
+      }
+    }
+  }
+
+  private static void assertSameDecoding(ValueCompressionHolder codec, double[] values,
+      double maxValue, int decimalPlaces) {
+    double[] decoded = new double[values.length - 10];
+    codec.decodeInto(decoded, 10, decoded.length);
+    for (int i = 0; i < values.length; i++) {
+      double expected = decodeWithBigDecimal(values[i], maxValue, decimalPlaces);
+      String message = "max " + maxValue + ", decimal places " + decimalPlaces + ", value "
+          + values[i];
+      assertEquals(message, Double.doubleToRawLongBits(expected),
+          Double.doubleToRawLongBits(codec.getDoubleValue(i)));
+      if (i >= 10) {
+        assertEquals(message, Double.doubleToRawLongBits(expected),
+            Double.doubleToRawLongBits(decoded[i - 10]));
+      }
+    }
+  }
+
+  private static double decodeWithBigDecimal(double value, double maxValue, int decimalPlaces) {
+    BigDecimal diff = BigDecimal.valueOf(value / Math.pow(10, decimalPlaces));
+    return BigDecimal.valueOf(maxValue).subtract(diff).doubleValue();
+  }
+}
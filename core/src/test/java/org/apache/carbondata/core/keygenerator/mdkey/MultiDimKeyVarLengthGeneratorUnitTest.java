@@ -86,4 +86,42 @@ public class MultiDimKeyVarLengthGeneratorUnitTest {
     int result = multiDimKeyVarLengthGenerator.compare(byteArray1, byteArray2);
     assertThat(result, is(equalTo(expected)));
   }
+
+  @Test public void testGetKeyWithOffset() throws Exception {
+    MultiDimKeyVarLengthGenerator keyGenerator =
+        new MultiDimKeyVarLengthGenerator(new int[] { 3, 10, 17, 1, 9, 32 });
+    long[] keys = new long[] { 5, 1000, 100000, 1, 300, 4000000000L };
+    byte[] key = keyGenerator.generateKey(keys);
+    byte[] data = new byte[key.length + 2];
+    System.arraycopy(key, 0, data, 2, key.length);
+    for (int i = 0; i < keys.length; i++) {
+      assertEquals(keys[i], keyGenerator.getKey(key, i));
+      assertEquals(keys[i], keyGenerator.getKey(data, 2, i));
+    }
+  }
+
+  @Test public void testGetKeyArrayInGivenArray() throws Exception {
+    MultiDimKeyVarLengthGenerator keyGenerator =
+        new MultiDimKeyVarLengthGenerator(new int[] { 3, 10, 17, 1, 9 });
+    int[] keys = new int[] { 5, 1000, 100000, 1, 300 };
+    int[] result = new int[keys.length];
+    keyGenerator.getKeyArray(keyGenerator.generateKey(keys), 0, result);
+    assertThat(result, is(equalTo(keys)));
+  }
+
+  @Test public void testGetKeyArrayOfAllRows() throws Exception {
+    MultiDimKeyVarLengthGenerator keyGenerator =
+        new MultiDimKeyVarLengthGenerator(new int[] { 3, 10, 17 });
+    int keySize = keyGenerator.getKeySizeInBytes();
+    int numberOfRows = 4;
+    byte[] data = new byte[keySize * numberOfRows];
+    for (int row = 0; row < numberOfRows; row++) {
+      byte[] key = keyGenerator.generateKey(new int[] { row, row * 100, row * 10000 });
+      System.arraycopy(key, 0, data, row * keySize, keySize);
+    }
+    int[][] keys = new int[2][numberOfRows];
+    keyGenerator.getKeyArray(data, numberOfRows, new int[] { 2, 0 }, keys);
+    assertThat(keys[0], is(equalTo(new int[] { 0, 10000, 20000, 30000 })));
+    assertThat(keys[1], is(equalTo(new int[] { 0, 1, 2, 3 })));
+  }
 }
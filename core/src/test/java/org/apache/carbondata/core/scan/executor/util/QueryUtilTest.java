@@ -23,6 +23,7 @@ import java.util.List;
 import org.apache.carbondata.core.datastore.block.SegmentProperties;
 import org.apache.carbondata.core.datastore.block.SegmentPropertiesTestUtil;
 import org.apache.carbondata.core.keygenerator.KeyGenException;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
 import org.apache.carbondata.core.scan.model.QueryDimension;
 
 import junit.framework.TestCase;
@@ -233,6 +234,28 @@ public class QueryUtilTest extends TestCase {
     assertArrayEquals(expectedValue, actualValue);
   }
 
+  @Test public void testNumberOfBlockletsToScanStopsAtEndOfSplit() {
+    // split scanning blocklets 3 to 5 of the block
+    BlockExecutionInfo blockInfo = new BlockExecutionInfo();
+    blockInfo.setStartBlockletIndex(3);
+    blockInfo.setNumberOfBlockletToScan(3);
+    assertEquals(3, QueryUtil.getNumberOfBlockletsToScan(blockInfo, 3, 9));
+    // start key is after the start of the split, blocklets of the next split are not scanned
+    assertEquals(2, QueryUtil.getNumberOfBlockletsToScan(blockInfo, 4, 9));
+    // end key is before the end of the split
+    assertEquals(1, QueryUtil.getNumberOfBlockletsToScan(blockInfo, 3, 3));
+    // start key is after the end of the split
+    assertEquals(0, QueryUtil.getNumberOfBlockletsToScan(blockInfo, 7, 9));
+  }
+
+  @Test public void testNumberOfBlockletsToScanTillEndKeyWhenBlockIsNotSplit() {
+    BlockExecutionInfo blockInfo = new BlockExecutionInfo();
+    blockInfo.setStartBlockletIndex(6);
+    blockInfo.setNumberOfBlockletToScan(0);
+    assertEquals(4, QueryUtil.getNumberOfBlockletsToScan(blockInfo, 6, 9));
+    assertEquals(1, QueryUtil.getNumberOfBlockletsToScan(blockInfo, 9, 9));
+  }
+
   @AfterClass public void tearDown() {
     segmentProperties = null;
   }
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+
+import org.apache.carbondata.core.cache.update.BlockletLevelDeleteDeltaDataCache;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.FileHolder;
+import org.apache.carbondata.core.datastore.chunk.DimensionColumnDataChunk;
+import org.apache.carbondata.core.datastore.chunk.MeasureColumnDataChunk;
+import org.apache.carbondata.core.datastore.compression.none.CompressionNoneDefault;
+import org.apache.carbondata.core.datastore.dataholder.CarbonReadDataHolder;
+import org.apache.carbondata.core.metadata.blocklet.datachunk.PresenceMeta;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.ExpressionResult;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.filter.intf.RowIntf;
+import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.DimColumnResolvedFilterInfo;
+import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.MeasureColumnResolvedFilterInfo;
+import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.ValueCompressionUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class RowLevelFilterExecuterImplTest {
+
+  private static final int NUMBER_OF_ROWS = 1000;
+
+  /**
+   * number of distinct values of the measure page
+   */
+  private static final int NUMBER_OF_VALUES = 5;
+
+  /**
+   * number of times the measure column is read by the expression
+   */
+  private int numberOfEvaluations;
+
+  private BlocksChunkHolder blocksChunkHolder;
+
+  private MeasureColumnDataChunk measureChunk;
+
+  @Before public void setUp() {
+    // low cardinality page, every 100th row is null
+    double[] data = new double[NUMBER_OF_ROWS];
+    BitSet nullBitSet = new BitSet(NUMBER_OF_ROWS);
+    for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+      data[i] = getValue(i);
+      if (i % 100 == 0) {
+        nullBitSet.set(i);
+      }
+    }
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.MEASURE_PAGE_DICTIONARY_THRESHOLD, "256");
+    CompressionNoneDefault writer =
+        new CompressionNoneDefault(ValueCompressionUtil.DataType.DATA_DOUBLE);
+    writer.setValue(data);
+    writer.compress();
+    assertEquals(Encoding.PAGE_DICTIONARY, writer.getPageEncoding());
+    byte[] page = writer.getCompressedData();
+    CompressionNoneDefault reader =
+        new CompressionNoneDefault(ValueCompressionUtil.DataType.DATA_DOUBLE);
+    reader.setPageEncoding(writer.getPageEncoding());
+    reader.uncompress(ValueCompressionUtil.DataType.DATA_DOUBLE, page, 0, page.length, 0, 0,
+        NUMBER_OF_ROWS);
+    measureChunk = new MeasureColumnDataChunk();
+    measureChunk.setMeasureDataHolder(new CarbonReadDataHolder(reader));
+    PresenceMeta presenceMeta = new PresenceMeta();
+    presenceMeta.setBitSet(nullBitSet);
+    measureChunk.setNullValueIndexHolder(presenceMeta);
+    assertNotNull(measureChunk.getMeasureDataHolder().getPageDictionary());
+
+    blocksChunkHolder = new BlocksChunkHolder(0, 1);
+    blocksChunkHolder.setDataBlock(new SingleBlockletNode());
+    blocksChunkHolder.getMeasureDataChunk()[0] = measureChunk;
+  }
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.MEASURE_PAGE_DICTIONARY_THRESHOLD,
+        CarbonCommonConstants.MEASURE_PAGE_DICTIONARY_THRESHOLD_DEFAULT);
+    measureChunk.freeMemory();
+  }
+
+  @Test public void testFilterMatchingValueOfDictionaryPage() throws Exception {
+    BitSet bitSet = getFilterExecuter(new EqualToExpression(new CountingColumnExpression(),
+        new LiteralExpression(getValue(2), DataType.DOUBLE))).applyFilter(blocksChunkHolder);
+    BitSet expected = new BitSet(NUMBER_OF_ROWS);
+    for (int i = 2; i < NUMBER_OF_ROWS; i += NUMBER_OF_VALUES) {
+      expected.set(i);
+    }
+    assertEquals(expected, bitSet);
+    // the value of each distinct entry and null are evaluated, not every row
+    assertEquals(NUMBER_OF_VALUES + 1, numberOfEvaluations);
+  }
+
+  @Test public void testNullRowsAreNotMatchedByTheirStoredValue() throws Exception {
+    BitSet bitSet = getFilterExecuter(new EqualToExpression(new CountingColumnExpression(),
+        new LiteralExpression(getValue(0), DataType.DOUBLE))).applyFilter(blocksChunkHolder);
+    assertEquals(NUMBER_OF_ROWS / NUMBER_OF_VALUES - NUMBER_OF_ROWS / 100, bitSet.cardinality());
+    for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+      assertEquals(0, i % NUMBER_OF_VALUES);
+      assertTrue(i % 100 != 0);
+    }
+  }
+
+  @Test public void testFilterMatchingNull() throws Exception {
+    BitSet bitSet = getFilterExecuter(new EqualToExpression(new CountingColumnExpression(),
+        new LiteralExpression(null, DataType.DOUBLE), true)).applyFilter(blocksChunkHolder);
+    assertEquals(measureChunk.getNullValueIndexHolder().getBitSet(), bitSet);
+  }
+
+  @Test public void testFilterNotMatchingAnyValueOfDictionaryPage() throws Exception {
+    BitSet bitSet = getFilterExecuter(new EqualToExpression(new CountingColumnExpression(),
+        new LiteralExpression(-1.0, DataType.DOUBLE))).applyFilter(blocksChunkHolder);
+    assertTrue(bitSet.isEmpty());
+    assertEquals(NUMBER_OF_VALUES + 1, numberOfEvaluations);
+  }
+
+  private static double getValue(int row) {
+    return (row % NUMBER_OF_VALUES) * 1.5;
+  }
+
+  private RowLevelFilterExecuterImpl getFilterExecuter(Expression expression) {
+    MeasureColumnResolvedFilterInfo msrColumnEvaluatorInfo = new MeasureColumnResolvedFilterInfo();
+    msrColumnEvaluatorInfo.setColumnIndex(0);
+    msrColumnEvaluatorInfo.setRowIndex(0);
+    msrColumnEvaluatorInfo.setType(DataType.DOUBLE);
+    return new RowLevelFilterExecuterImpl(new ArrayList<DimColumnResolvedFilterInfo>(),
+        Collections.singletonList(msrColumnEvaluatorInfo), expression, null, null, null);
+  }
+
+  /**
+   * Measure column of the filter counting how many times it is evaluated
+   */
+  private final class CountingColumnExpression extends ColumnExpression {
+
+    private CountingColumnExpression() {
+      super("m0", DataType.DOUBLE);
+    }
+
+    @Override public ExpressionResult evaluate(RowIntf value) {
+      numberOfEvaluations++;
+      return super.evaluate(value);
+    }
+  }
+
+  /**
+   * Data block whose chunks are already in the holder
+   */
+  private static final class SingleBlockletNode implements DataRefNode {
+
+    @Override public DataRefNode getNextDataRefNode() {
+      return null;
+    }
+
+    @Override public int nodeSize() {
+      return NUMBER_OF_ROWS;
+    }
+
+    @Override public long nodeNumber() {
+      return 0;
+    }
+
+    @Override public byte[][] getColumnsMaxValue() {
+      return null;
+    }
+
+    @Override public byte[][] getColumnsMinValue() {
+      return null;
+    }
+
+    @Override public DimensionColumnDataChunk[] getDimensionChunks(FileHolder fileReader,
+        int[][] blockIndexes) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public DimensionColumnDataChunk getDimensionChunk(FileHolder fileReader,
+        int blockIndexes) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public MeasureColumnDataChunk[] getMeasureChunks(FileHolder fileReader,
+        int[][] blockIndexes) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public MeasureColumnDataChunk getMeasureChunk(FileHolder fileReader,
+        int blockIndex) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public void setDeleteDeltaDataCache(
+        BlockletLevelDeleteDeltaDataCache deleteDeltaDataCache) {
+    }
+
+    @Override public BlockletLevelDeleteDeltaDataCache getDeleteDeltaDataCache() {
+      return null;
+    }
+  }
+}
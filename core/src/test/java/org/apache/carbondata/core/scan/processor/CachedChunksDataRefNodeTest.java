@@ -0,0 +1,482 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.processor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.carbondata.core.cache.update.BlockletLevelDeleteDeltaDataCache;
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.FileHolder;
+import org.apache.carbondata.core.datastore.chunk.ColumnChunkCache;
+import org.apache.carbondata.core.datastore.chunk.DimensionColumnDataChunk;
+import org.apache.carbondata.core.datastore.chunk.MeasureColumnDataChunk;
+import org.apache.carbondata.core.datastore.chunk.reader.CarbonDataReaderFactory;
+import org.apache.carbondata.core.datastore.chunk.reader.DimensionColumnChunkReader;
+import org.apache.carbondata.core.datastore.chunk.reader.MeasureColumnChunkReader;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.impl.FileHolderImpl;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.ValueEncoderMeta;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.metadata.blocklet.datachunk.DataChunk;
+import org.apache.carbondata.core.metadata.blocklet.datachunk.PresenceMeta;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.format.ChunkCompressionMeta;
+import org.apache.carbondata.format.CompressionCodec;
+import org.apache.carbondata.format.DataChunk2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CachedChunksDataRefNodeTest {
+
+  private static final int NUMBER_OF_ROWS = 100;
+
+  private static final Compressor COMPRESSOR = CompressorFactory.getInstance().getCompressor();
+
+  /**
+   * dictionary dimensions of 1 byte and no dictionary dimensions, the last one is read alone
+   * by the V2 reader
+   */
+  private static final boolean[] IS_DICTIONARY = { true, false, true, false };
+
+  private byte[][] dimensionPages;
+
+  private long[] longValues;
+
+  private byte[] decimalPage;
+
+  private File blockletFile;
+
+  private FileHolder fileReader;
+
+  @Before public void setUp() throws IOException {
+    dimensionPages = new byte[IS_DICTIONARY.length][];
+    for (int i = 0; i < IS_DICTIONARY.length; i++) {
+      ByteArrayOutputStream page = new ByteArrayOutputStream();
+      for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+        if (IS_DICTIONARY[i]) {
+          page.write(getDictionaryValue(i, row));
+        } else {
+          // variable length values are stored with their length in short
+          byte[] value = getNoDictionaryValue(i, row);
+          page.write(ByteBuffer.allocate(2).putShort((short) value.length).array());
+          page.write(value);
+        }
+      }
+      dimensionPages[i] = page.toByteArray();
+    }
+    longValues = new long[NUMBER_OF_ROWS];
+    ByteArrayOutputStream page = new ByteArrayOutputStream();
+    for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+      longValues[row] = row * 1000L;
+      // decimal values are stored with their length in int
+      byte[] value = DataTypeUtil.bigDecimalToByte(getDecimalValue(row));
+      page.write(ByteBuffer.allocate(4).putInt(value.length).array());
+      page.write(value);
+    }
+    decimalPage = page.toByteArray();
+    blockletFile = File.createTempFile("cachedchunks", ".carbondata");
+    fileReader = new FileHolderImpl();
+  }
+
+  @After public void tearDown() throws IOException {
+    fileReader.finish();
+    assertTrue(blockletFile.delete());
+  }
+
+  @Test public void testBlockletIsSharedByHoldersWithV1Reader() throws Exception {
+    assertBlockletIsSharedByHolders(ColumnarFormatVersion.V1);
+  }
+
+  @Test public void testBlockletIsSharedByHoldersWithV2Reader() throws Exception {
+    assertBlockletIsSharedByHolders(ColumnarFormatVersion.V2);
+  }
+
+  @Test public void testHolderFreesOnlyTheChunksItOwns() throws Exception {
+    BlockletNode blocklet = writeBlocklet(ColumnarFormatVersion.V2);
+    // only the long measure fits in the cache, the decimal measure is owned by the holder
+    ColumnChunkCache chunkCache = new ColumnChunkCache(NUMBER_OF_ROWS * 8);
+    BlocksChunkHolder first = getHolder(chunkCache, blocklet);
+    first.setMeasureDataChunk(
+        first.getDataBlock().getMeasureChunks(fileReader, new int[][] { { 0, 1 } }));
+    TrackingMeasureChunk cachedChunk = (TrackingMeasureChunk) first.getMeasureDataChunk()[0];
+    TrackingMeasureChunk ownedChunk = (TrackingMeasureChunk) first.getMeasureDataChunk()[1];
+    assertEquals(NUMBER_OF_ROWS * 8, chunkCache.getCurrentSize());
+    first.freeMemory();
+    assertTrue(ownedChunk.isFreed);
+    assertFalse(cachedChunk.isFreed);
+
+    BlocksChunkHolder second = getHolder(chunkCache, blocklet);
+    second.setMeasureDataChunk(
+        second.getDataBlock().getMeasureChunks(fileReader, new int[][] { { 0, 1 } }));
+    assertSame(cachedChunk, second.getMeasureDataChunk()[0]);
+    assertNotSame(ownedChunk, second.getMeasureDataChunk()[1]);
+    assertEquals(Arrays.asList(0, 1, 1), blocklet.readMeasureIndexes);
+    assertMeasureValues(second.getMeasureDataChunk());
+    second.freeMemory();
+    assertFalse(cachedChunk.isFreed);
+    assertTrue(((TrackingMeasureChunk) second.getMeasureDataChunk()[1]).isFreed);
+    // the cached chunk is freed by the cache once it is not in use
+    chunkCache.clear();
+    assertTrue(cachedChunk.isFreed);
+    assertEquals(0, chunkCache.getCurrentSize());
+  }
+
+  private void assertBlockletIsSharedByHolders(ColumnarFormatVersion version) throws IOException {
+    BlockletNode blocklet = writeBlocklet(version);
+    ColumnChunkCache chunkCache = new ColumnChunkCache(1024 * 1024);
+    BlocksChunkHolder first = getHolder(chunkCache, blocklet);
+    BlocksChunkHolder second = getHolder(chunkCache, blocklet);
+
+    first.setDimensionDataChunk(first.getDataBlock()
+        .getDimensionChunks(fileReader, new int[][] { { 0, 0 }, { 2, 2 } }));
+    first.setMeasureDataChunk(
+        first.getDataBlock().getMeasureChunks(fileReader, new int[][] { { 0, 0 } }));
+    // the second holder reads only the chunks missing in the cache, in the ranges between the
+    // cached chunks
+    second.setDimensionDataChunk(
+        second.getDataBlock().getDimensionChunks(fileReader, new int[][] { { 0, 3 } }));
+    second.setMeasureDataChunk(
+        second.getDataBlock().getMeasureChunks(fileReader, new int[][] { { 0, 1 } }));
+    assertEquals(Arrays.asList(0, 2, 1, 3), blocklet.readDimensionIndexes);
+    assertEquals(Arrays.asList(0, 1), blocklet.readMeasureIndexes);
+    DimensionColumnDataChunk[] dimensionChunks = second.getDimensionDataChunk();
+    MeasureColumnDataChunk[] measureChunks = second.getMeasureDataChunk();
+    assertSame(first.getDimensionDataChunk()[0], dimensionChunks[0]);
+    assertSame(first.getDimensionDataChunk()[2], dimensionChunks[2]);
+    assertSame(first.getMeasureDataChunk()[0], measureChunks[0]);
+
+    // chunks are sized from their stores, variable length values with their offsets
+    assertEquals(NUMBER_OF_ROWS, dimensionChunks[0].getMemorySize());
+    assertEquals(dimensionPages[1].length + NUMBER_OF_ROWS * 4,
+        dimensionChunks[1].getMemorySize());
+    assertEquals(NUMBER_OF_ROWS * 8, measureChunks[0].getMemorySize());
+    assertEquals(decimalPage.length + NUMBER_OF_ROWS * 4, measureChunks[1].getMemorySize());
+    long cachedSize = 0;
+    for (DimensionColumnDataChunk dimensionChunk : dimensionChunks) {
+      cachedSize += dimensionChunk.getMemorySize();
+    }
+    for (MeasureColumnDataChunk measureChunk : measureChunks) {
+      cachedSize += measureChunk.getMemorySize();
+    }
+    assertEquals(cachedSize, chunkCache.getCurrentSize());
+
+    // the shared chunks are not freed by the first holder while the second one scans them
+    first.freeMemory();
+    assertFalse(((TrackingMeasureChunk) measureChunks[0]).isFreed);
+    assertDimensionValues(dimensionChunks);
+    assertMeasureValues(measureChunks);
+    second.freeMemory();
+    assertFalse(((TrackingMeasureChunk) measureChunks[0]).isFreed);
+    chunkCache.clear();
+    assertTrue(((TrackingMeasureChunk) measureChunks[0]).isFreed);
+    assertTrue(((TrackingMeasureChunk) measureChunks[1]).isFreed);
+    assertEquals(0, chunkCache.getCurrentSize());
+  }
+
+  private BlocksChunkHolder getHolder(ColumnChunkCache chunkCache, BlockletNode blocklet) {
+    BlocksChunkHolder holder =
+        new BlocksChunkHolder(IS_DICTIONARY.length, 2, chunkCache);
+    holder.setBlockId(blockletFile.getAbsolutePath());
+    holder.setDataBlock(blocklet);
+    holder.setFileReader(fileReader);
+    return holder;
+  }
+
+  private void assertDimensionValues(DimensionColumnDataChunk[] dimensionChunks) {
+    for (int i = 0; i < IS_DICTIONARY.length; i++) {
+      for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+        byte[] expected = IS_DICTIONARY[i] ?
+            new byte[] { getDictionaryValue(i, row) } :
+            getNoDictionaryValue(i, row);
+        assertArrayEquals(expected, dimensionChunks[i].getChunkData(row));
+      }
+    }
+  }
+
+  private void assertMeasureValues(MeasureColumnDataChunk[] measureChunks) {
+    for (int row = 0; row < NUMBER_OF_ROWS; row++) {
+      assertEquals(longValues[row],
+          measureChunks[0].getMeasureDataHolder().getReadableLongValueByIndex(row));
+      assertEquals(getDecimalValue(row),
+          measureChunks[1].getMeasureDataHolder().getReadableBigDecimalValueByIndex(row));
+    }
+  }
+
+  private static byte getDictionaryValue(int column, int row) {
+    return (byte) (row % (column + 5) + 1);
+  }
+
+  private static byte[] getNoDictionaryValue(int column, int row) {
+    return ("c" + column + "_" + row).getBytes();
+  }
+
+  private static BigDecimal getDecimalValue(int row) {
+    return new BigDecimal(row + ".25");
+  }
+
+  /**
+   * Below method will be used to write the pages of the blocklet to the file in the layout of
+   * the version, the V1 pages are described by the blocklet info and the V2 pages have their
+   * thrift data chunk before them
+   */
+  private BlockletNode writeBlocklet(ColumnarFormatVersion version) throws IOException {
+    BlockletInfo blockletInfo = new BlockletInfo();
+    blockletInfo.setNumberOfRows(NUMBER_OF_ROWS);
+    ByteArrayOutputStream file = new ByteArrayOutputStream();
+    byte[][] measurePages =
+        { COMPRESSOR.compressLong(longValues), COMPRESSOR.compressByte(decimalPage) };
+    ValueEncoderMeta[] measureMetas = { getEncoderMeta('l', 0L), getEncoderMeta('b', null) };
+    if (version == ColumnarFormatVersion.V1) {
+      List<DataChunk> dimensionChunks = new ArrayList<>();
+      for (int i = 0; i < IS_DICTIONARY.length; i++) {
+        byte[] page = COMPRESSOR.compressByte(dimensionPages[i]);
+        DataChunk dataChunk = new DataChunk();
+        dataChunk.setDataPageOffset(file.size());
+        dataChunk.setDataPageLength(page.length);
+        dataChunk.setEncodingList(IS_DICTIONARY[i] ?
+            Collections.singletonList(Encoding.DICTIONARY) :
+            Collections.<Encoding>emptyList());
+        dimensionChunks.add(dataChunk);
+        file.write(page);
+      }
+      List<DataChunk> measureChunks = new ArrayList<>();
+      for (int i = 0; i < measurePages.length; i++) {
+        DataChunk dataChunk = new DataChunk();
+        dataChunk.setDataPageOffset(file.size());
+        dataChunk.setDataPageLength(measurePages[i].length);
+        dataChunk.setEncodingList(Collections.<Encoding>emptyList());
+        dataChunk.setValueEncoderMeta(Collections.singletonList(measureMetas[i]));
+        PresenceMeta presenceMeta = new PresenceMeta();
+        presenceMeta.setBitSet(new BitSet());
+        dataChunk.setNullValueIndexForColumn(presenceMeta);
+        measureChunks.add(dataChunk);
+        file.write(measurePages[i]);
+      }
+      blockletInfo.setDimensionColumnChunk(dimensionChunks);
+      blockletInfo.setMeasureColumnChunk(measureChunks);
+    } else {
+      List<Long> dimensionOffsets = new ArrayList<>();
+      List<Short> dimensionLengths = new ArrayList<>();
+      for (int i = 0; i < IS_DICTIONARY.length; i++) {
+        byte[] page = COMPRESSOR.compressByte(dimensionPages[i]);
+        DataChunk2 dataChunk = getDataChunk2(page.length);
+        dataChunk.setEncoders(IS_DICTIONARY[i] ?
+            Collections.singletonList(org.apache.carbondata.format.Encoding.DICTIONARY) :
+            new ArrayList<org.apache.carbondata.format.Encoding>());
+        writeChunk(file, dataChunk, page, dimensionOffsets, dimensionLengths);
+      }
+      List<Long> measureOffsets = new ArrayList<>();
+      List<Short> measureLengths = new ArrayList<>();
+      for (int i = 0; i < measurePages.length; i++) {
+        DataChunk2 dataChunk = getDataChunk2(measurePages[i].length);
+        dataChunk.setEncoders(new ArrayList<org.apache.carbondata.format.Encoding>());
+        dataChunk.setEncoder_meta(
+            Collections.singletonList(ByteBuffer.wrap(serialize(measureMetas[i]))));
+        org.apache.carbondata.format.PresenceMeta presenceMeta =
+            new org.apache.carbondata.format.PresenceMeta();
+        presenceMeta.setRepresents_presence(false);
+        presenceMeta.setPresent_bit_stream(COMPRESSOR.compressByte(new BitSet().toByteArray()));
+        dataChunk.setPresence(presenceMeta);
+        writeChunk(file, dataChunk, measurePages[i], measureOffsets, measureLengths);
+      }
+      blockletInfo.setDimensionChunkOffsets(dimensionOffsets);
+      blockletInfo.setDimensionChunksLength(dimensionLengths);
+      blockletInfo.setMeasureChunkOffsets(measureOffsets);
+      blockletInfo.setMeasureChunksLength(measureLengths);
+    }
+    FileOutputStream stream = new FileOutputStream(blockletFile);
+    try {
+      stream.write(file.toByteArray());
+    } finally {
+      stream.close();
+    }
+    int[] eachColumnValueSize = new int[IS_DICTIONARY.length];
+    for (int i = 0; i < IS_DICTIONARY.length; i++) {
+      eachColumnValueSize[i] = IS_DICTIONARY[i] ? 1 : -1;
+    }
+    String filePath = blockletFile.getAbsolutePath();
+    return new BlockletNode(CarbonDataReaderFactory.getInstance()
+        .getDimensionColumnChunkReader(version, blockletInfo, eachColumnValueSize, filePath),
+        CarbonDataReaderFactory.getInstance()
+            .getMeasureColumnChunkReader(version, blockletInfo, filePath));
+  }
+
+  private static ValueEncoderMeta getEncoderMeta(char type, Object value) {
+    ValueEncoderMeta meta = new ValueEncoderMeta();
+    meta.setType(type);
+    meta.setMaxValue(value);
+    meta.setMinValue(value);
+    meta.setUniqueValue(value);
+    meta.setDecimal(0);
+    return meta;
+  }
+
+  private static byte[] serialize(ValueEncoderMeta meta) throws IOException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    ObjectOutputStream objectStream = new ObjectOutputStream(stream);
+    objectStream.writeObject(meta);
+    objectStream.close();
+    return stream.toByteArray();
+  }
+
+  private static DataChunk2 getDataChunk2(int dataPageLength) {
+    ChunkCompressionMeta chunkMeta = new ChunkCompressionMeta();
+    chunkMeta.setCompression_codec(CompressionCodec.SNAPPY);
+    chunkMeta.setTotal_uncompressed_size(0);
+    chunkMeta.setTotal_compressed_size(0);
+    DataChunk2 dataChunk = new DataChunk2();
+    dataChunk.setChunk_meta(chunkMeta);
+    dataChunk.setRowMajor(false);
+    dataChunk.setData_page_length(dataPageLength);
+    return dataChunk;
+  }
+
+  private static void writeChunk(ByteArrayOutputStream file, DataChunk2 dataChunk, byte[] page,
+      List<Long> offsets, List<Short> lengths) throws IOException {
+    byte[] dataChunkBytes = CarbonUtil.getByteArray(dataChunk);
+    offsets.add((long) file.size());
+    lengths.add((short) dataChunkBytes.length);
+    file.write(dataChunkBytes);
+    file.write(page);
+  }
+
+  /**
+   * Measure chunk recording whether its memory is freed
+   */
+  private static final class TrackingMeasureChunk extends MeasureColumnDataChunk {
+
+    private boolean isFreed;
+
+    private TrackingMeasureChunk(MeasureColumnDataChunk measureChunk) {
+      setMeasureDataHolder(measureChunk.getMeasureDataHolder());
+      setNullValueIndexHolder(measureChunk.getNullValueIndexHolder());
+    }
+
+    @Override public void freeMemory() {
+      isFreed = true;
+      super.freeMemory();
+    }
+  }
+
+  /**
+   * Blocklet reading its chunks with the readers of a version and recording the chunks read
+   */
+  private static final class BlockletNode implements DataRefNode {
+
+    private final DimensionColumnChunkReader dimensionChunksReader;
+
+    private final MeasureColumnChunkReader measureChunksReader;
+
+    private final List<Integer> readDimensionIndexes = new ArrayList<>();
+
+    private final List<Integer> readMeasureIndexes = new ArrayList<>();
+
+    private BlockletNode(DimensionColumnChunkReader dimensionChunksReader,
+        MeasureColumnChunkReader measureChunksReader) {
+      this.dimensionChunksReader = dimensionChunksReader;
+      this.measureChunksReader = measureChunksReader;
+    }
+
+    @Override public DataRefNode getNextDataRefNode() {
+      return null;
+    }
+
+    @Override public int nodeSize() {
+      return NUMBER_OF_ROWS;
+    }
+
+    @Override public long nodeNumber() {
+      return 0;
+    }
+
+    @Override public byte[][] getColumnsMaxValue() {
+      return null;
+    }
+
+    @Override public byte[][] getColumnsMinValue() {
+      return null;
+    }
+
+    @Override public DimensionColumnDataChunk[] getDimensionChunks(FileHolder fileReader,
+        int[][] blockIndexes) throws IOException {
+      for (int[] blockIndex : blockIndexes) {
+        for (int i = blockIndex[0]; i <= blockIndex[1]; i++) {
+          readDimensionIndexes.add(i);
+        }
+      }
+      return dimensionChunksReader.readDimensionChunks(fileReader, blockIndexes);
+    }
+
+    @Override public DimensionColumnDataChunk getDimensionChunk(FileHolder fileReader,
+        int blockIndex) throws IOException {
+      readDimensionIndexes.add(blockIndex);
+      return dimensionChunksReader.readDimensionChunk(fileReader, blockIndex);
+    }
+
+    @Override public MeasureColumnDataChunk[] getMeasureChunks(FileHolder fileReader,
+        int[][] blockIndexes) throws IOException {
+      MeasureColumnDataChunk[] measureChunks =
+          measureChunksReader.readMeasureChunks(fileReader, blockIndexes);
+      for (int[] blockIndex : blockIndexes) {
+        for (int i = blockIndex[0]; i <= blockIndex[1]; i++) {
+          readMeasureIndexes.add(i);
+          measureChunks[i] = new TrackingMeasureChunk(measureChunks[i]);
+        }
+      }
+      return measureChunks;
+    }
+
+    @Override public MeasureColumnDataChunk getMeasureChunk(FileHolder fileReader,
+        int blockIndex) throws IOException {
+      readMeasureIndexes.add(blockIndex);
+      return new TrackingMeasureChunk(
+          measureChunksReader.readMeasureChunk(fileReader, blockIndex));
+    }
+
+    @Override public void setDeleteDeltaDataCache(
+        BlockletLevelDeleteDeltaDataCache deleteDeltaDataCache) {
+    }
+
+    @Override public BlockletLevelDeleteDeltaDataCache getDeleteDeltaDataCache() {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.result.iterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.core.scan.model.QueryAggregate;
+import org.apache.carbondata.core.scan.model.QueryAggregate.AggregateType;
+import org.apache.carbondata.core.scan.model.QueryDimension;
+import org.apache.carbondata.core.scan.model.QueryMeasure;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.result.BatchResult;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class PartialAggregateResultIteratorTest {
+
+  /**
+   * detail rows have the surrogate key of country, salary and the value of date
+   */
+  private static QueryModel createQueryModel(AggregateType... aggregateTypes) {
+    QueryModel queryModel = new QueryModel();
+    QueryDimension country = new QueryDimension("country");
+    country.setQueryOrder(0);
+    QueryMeasure salary = new QueryMeasure("salary");
+    salary.setQueryOrder(1);
+    QueryDimension date = new QueryDimension("date");
+    date.setQueryOrder(2);
+    queryModel.setQueryDimension(Arrays.asList(country, date));
+    queryModel.setQueryMeasures(Arrays.asList(salary));
+    List<QueryAggregate> queryAggregates = new ArrayList<>();
+    for (AggregateType aggregateType : aggregateTypes) {
+      String columnName = aggregateType == AggregateType.COUNT_STAR ? null : "salary";
+      queryAggregates.add(new QueryAggregate(aggregateType, columnName));
+    }
+    queryAggregates.add(new QueryAggregate(AggregateType.MAX, "date"));
+    queryModel.setQueryAggregates(queryAggregates);
+    return queryModel;
+  }
+
+  private static BatchResult batch(Object[]... rows) {
+    BatchResult batchResult = new BatchResult();
+    batchResult.setRows(new ArrayList<>(Arrays.asList(rows)));
+    return batchResult;
+  }
+
+  private static CarbonIterator<BatchResult> detailIterator(BatchResult... batches) {
+    final Iterator<BatchResult> iterator = Arrays.asList(batches).iterator();
+    return new CarbonIterator<BatchResult>() {
+      @Override public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override public BatchResult next() {
+        return iterator.next();
+      }
+    };
+  }
+
+  @Test public void testAggregatesAreComputedForEachGroupOfSurrogateKeys() {
+    QueryModel queryModel = createQueryModel(AggregateType.COUNT_STAR, AggregateType.COUNT,
+        AggregateType.SUM, AggregateType.MIN, AggregateType.MAX);
+    PartialAggregateResultIterator iterator = new PartialAggregateResultIterator(
+        detailIterator(
+            batch(new Object[] { 2, 10L, 100L }, new Object[] { 3, 5L, 300L },
+                new Object[] { 2, null, 400L }),
+            batch(new Object[] { 2, 30L, 200L })), queryModel);
+    List<Object[]> rows = iterator.next().getRows();
+    assertFalse(iterator.hasNext());
+    assertEquals(2, rows.size());
+    assertArrayEquals(new Object[] { 2, 3L, 2L, 40L, 10L, 30L, 400L }, rows.get(0));
+    assertArrayEquals(new Object[] { 3, 1L, 1L, 5L, 5L, 5L, 300L }, rows.get(1));
+  }
+
+  @Test public void testAggregatedDimensionIsNotGroupedOn() {
+    QueryModel queryModel = createQueryModel(AggregateType.SUM);
+    assertEquals(1, queryModel.getGroupByDimensions().length);
+    assertEquals("country", queryModel.getGroupByDimensions()[0].getColumnName());
+  }
+
+  @Test public void testAggregateWithoutGroupByGivesOneRowForNoSelectedRow() {
+    QueryModel queryModel = new QueryModel();
+    QueryMeasure salary = new QueryMeasure("salary");
+    salary.setQueryOrder(0);
+    queryModel.setQueryMeasures(Arrays.asList(salary));
+    queryModel.setQueryAggregates(Arrays.asList(
+        new QueryAggregate(AggregateType.COUNT_STAR, null),
+        new QueryAggregate(AggregateType.SUM, "salary")));
+    PartialAggregateResultIterator iterator =
+        new PartialAggregateResultIterator(detailIterator(batch()), queryModel);
+    List<Object[]> rows = iterator.next().getRows();
+    assertEquals(1, rows.size());
+    assertArrayEquals(new Object[] { 0L, null }, rows.get(0));
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class QueryScanMetricsRegistryTest {
+
+  private final QueryScanMetricsRegistry registry = QueryScanMetricsRegistry.getInstance();
+
+  @After public void tearDown() {
+    registry.reset();
+  }
+
+  @Test public void testMetricsOfQueriesAreSummed() {
+    registry.reset();
+    for (int i = 0; i < 3; i++) {
+      QueryScanMetrics metrics = new QueryScanMetrics("q" + i);
+      metrics.recordDimensionChunk(0, 10, 40, 5);
+      metrics.recordMeasureChunk(1, 20, 80, 5);
+      metrics.recordScannedBlocklet(100, 10);
+      metrics.recordBlockletPrunedByMinMax(100);
+      metrics.recordFilterTime("IncludeFilterExecuterImpl", 7);
+      registry.addQueryScanMetrics(metrics);
+    }
+    registry.addDriverPruning("q0", 4, 1);
+    assertEquals(3, registry.getQueryCount());
+    assertEquals(90, registry.getBytesRead());
+    assertEquals(360, registry.getBytesDecompressed());
+    assertEquals(30, registry.getDecompressTimeNanos());
+    assertEquals(21L, (long) registry.getFilterTimeNanos().get("IncludeFilterExecuterImpl"));
+    assertEquals(600, registry.getRowsScanned());
+    assertEquals(30, registry.getRowsSelected());
+    assertEquals(6, registry.getBlockletsTotal());
+    assertEquals(0.5, registry.getBlockletPruningRatio(), 0);
+    assertEquals(0.75, registry.getDriverPruningRatio(), 0);
+    registry.reset();
+    assertEquals(0, registry.getQueryCount());
+    assertEquals(0, registry.getRowsScanned());
+    assertEquals(0, registry.getDriverBlocksTotal());
+  }
+
+  @Test public void testQueryCountMatchesMetricsWhenResetConcurrently() throws Exception {
+    final int queriesPerThread = 2000;
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      threads.add(new Thread() {
+        @Override public void run() {
+          for (int j = 0; j < queriesPerThread; j++) {
+            QueryScanMetrics metrics = new QueryScanMetrics("q" + j);
+            metrics.recordScannedBlocklet(1, 1);
+            registry.addQueryScanMetrics(metrics);
+          }
+        }
+      });
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (int i = 0; i < 100; i++) {
+      registry.reset();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    // a query is either counted with its metrics or dropped with them by the reset
+    assertEquals(registry.getQueryCount(), registry.getRowsScanned());
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.statusmanager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TableStatusLogTest {
+
+  private String metadataPath;
+
+  @Before public void setUp() {
+    File metadataDir = new File("target/tablestatuslog/Metadata");
+    FileFactory.deleteAllFilesOfDir(metadataDir);
+    metadataDir.mkdirs();
+    metadataPath = metadataDir.getAbsolutePath();
+  }
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_OPTIMISTIC_COMMIT_ENABLE,
+            CarbonCommonConstants.CARBON_TABLE_STATUS_OPTIMISTIC_COMMIT_ENABLE_DEFAULT);
+    FileFactory.deleteAllFilesOfDir(new File("target/tablestatuslog"));
+  }
+
+  private LoadMetadataDetails getLoadMetadataDetails(String loadName, String loadStatus) {
+    LoadMetadataDetails loadMetadataDetails = new LoadMetadataDetails();
+    loadMetadataDetails.setLoadName(loadName);
+    loadMetadataDetails.setLoadStatus(loadStatus);
+    return loadMetadataDetails;
+  }
+
+  /**
+   * commits a new load with the next segment id
+   */
+  private String commitLoad() throws IOException {
+    String loadName = String.valueOf(TableStatusLog.claimSegmentId(metadataPath));
+    TableStatusLog.append(metadataPath,
+        getLoadMetadataDetails(loadName, CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+    return loadName;
+  }
+
+  private void writeTableStatus(LoadMetadataDetails[] details) throws IOException {
+    SegmentStatusManager.writeLoadDetailsIntoFile(metadataPath
+        + CarbonCommonConstants.FILE_SEPARATOR + CarbonCommonConstants.LOADMETADATA_FILENAME,
+        details);
+  }
+
+  @Test public void testClaimSegmentIdAfterLoadsAndClaims() throws IOException {
+    writeTableStatus(new LoadMetadataDetails[] {
+        getLoadMetadataDetails("0", CarbonCommonConstants.COMPACTED),
+        getLoadMetadataDetails("1", CarbonCommonConstants.COMPACTED),
+        getLoadMetadataDetails("0.1", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS) });
+    assertEquals(2, TableStatusLog.claimSegmentId(metadataPath));
+    // a segment id already claimed by another load is skipped
+    new File(CarbonTablePath.getTableStatusEntryFilePath(metadataPath, 3L)).createNewFile();
+    assertEquals(4, TableStatusLog.claimSegmentId(metadataPath));
+    // a released segment id is claimed again
+    TableStatusLog.releaseSegmentId(metadataPath, 4);
+    assertFalse(new File(CarbonTablePath.getTableStatusEntryFilePath(metadataPath, 4L)).exists());
+    assertEquals(4, TableStatusLog.claimSegmentId(metadataPath));
+  }
+
+  @Test public void testAppendRejectsLoadNotClaimedOrCommitted() throws IOException {
+    assertEquals("0", commitLoad());
+    try {
+      TableStatusLog.append(metadataPath,
+          getLoadMetadataDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+      fail("load committed twice");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().contains("already committed"));
+    }
+    try {
+      TableStatusLog.append(metadataPath,
+          getLoadMetadataDetails("5", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+      fail("load committed without claiming its segment id");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().contains("not claimed"));
+    }
+    // the committed entry is not released
+    TableStatusLog.releaseSegmentId(metadataPath, 0);
+    assertEquals(1, TableStatusLog.readEntries(metadataPath).size());
+  }
+
+  @Test public void testEntriesAreMergedAfterTableStatus() throws IOException {
+    commitLoad();
+    commitLoad();
+    // claim of a load which is not committed is not read
+    TableStatusLog.claimSegmentId(metadataPath);
+    commitLoad();
+    LoadMetadataDetails[] details = TableStatusLog.merge(new LoadMetadataDetails[] {
+            getLoadMetadataDetails("0", CarbonCommonConstants.MARKED_FOR_DELETE) },
+        TableStatusLog.readEntries(metadataPath));
+    assertEquals(3, details.length);
+    assertEquals("0", details[0].getLoadName());
+    assertEquals(CarbonCommonConstants.MARKED_FOR_DELETE, details[0].getLoadStatus());
+    assertEquals("1", details[1].getLoadName());
+    assertEquals("3", details[2].getLoadName());
+  }
+
+  @Test public void testEntrySegmentIdsIncludeClaims() throws IOException {
+    commitLoad();
+    TableStatusLog.claimSegmentId(metadataPath);
+    Set<String> segmentIds = TableStatusLog.getEntrySegmentIds(metadataPath);
+    assertEquals(2, segmentIds.size());
+    assertTrue(segmentIds.contains("0"));
+    // the segment being written by the load of the claim is not stale
+    assertTrue(segmentIds.contains("1"));
+    TableStatusLog.releaseSegmentId(metadataPath, 1);
+    assertFalse(TableStatusLog.getEntrySegmentIds(metadataPath).contains("1"));
+  }
+
+  @Test public void testFoldedEntriesAreDeleted() throws IOException {
+    commitLoad();
+    commitLoad();
+    TableStatusLog.deleteFoldedEntries(metadataPath, new LoadMetadataDetails[] {
+        getLoadMetadataDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS) });
+    assertFalse(new File(CarbonTablePath.getTableStatusEntryFilePath(metadataPath, 0L)).exists());
+    assertTrue(new File(CarbonTablePath.getTableStatusEntryFilePath(metadataPath, 1L)).exists());
+  }
+
+  @Test public void testLoadFoldedWhileReadingIsNotLost() throws IOException {
+    writeTableStatus(new LoadMetadataDetails[] {
+        getLoadMetadataDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS) });
+    commitLoad();
+    // the reader reads the entries, then another operation folds them into the table status
+    List<LoadMetadataDetails> entries = TableStatusLog.readEntries(metadataPath);
+    writeTableStatus(new LoadMetadataDetails[] {
+        getLoadMetadataDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS),
+        getLoadMetadataDetails("1", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS) });
+    TableStatusLog.deleteFoldedEntries(metadataPath, new LoadMetadataDetails[] {
+        getLoadMetadataDetails("1", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS) });
+    assertTrue(TableStatusLog.readEntries(metadataPath).isEmpty());
+    // and then reads the table status file, the load is present in one of them
+    LoadMetadataDetails[] details = TableStatusLog.merge(new LoadMetadataDetails[] {
+            getLoadMetadataDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS),
+            getLoadMetadataDetails("1", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS) },
+        entries);
+    assertEquals(2, details.length);
+  }
+
+  @Test public void testTableStatusIsReadWithEntries() throws IOException {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_OPTIMISTIC_COMMIT_ENABLE, "true");
+    writeTableStatus(new LoadMetadataDetails[] {
+        getLoadMetadataDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS) });
+    assertEquals("1", commitLoad());
+    LoadMetadataDetails[] details = SegmentStatusManager.readLoadMetadata(metadataPath);
+    assertEquals(2, details.length);
+    assertEquals("1", details[1].getLoadName());
+    // rewriting the table status file folds the entry into it
+    writeTableStatus(details);
+    assertFalse(new File(CarbonTablePath.getTableStatusEntryFilePath(metadataPath, 1L)).exists());
+    assertEquals(2, SegmentStatusManager.readLoadMetadata(metadataPath).length);
+  }
+}
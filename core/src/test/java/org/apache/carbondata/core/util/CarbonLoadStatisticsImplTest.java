@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class CarbonLoadStatisticsImplTest {
+
+  @Test public void testLocalCacheHitsOfConcurrentLoadsAreAdded() throws Exception {
+    final CarbonLoadStatisticsImpl statistics = CarbonLoadStatisticsImpl.getInstance();
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executorService.submit(new Callable<Void>() {
+          @Override public Void call() {
+            for (int j = 0; j < 100; j++) {
+              statistics.recordDictionaryLocalCacheHits("default_hits1", "name", 10, 9);
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+    assertArrayEquals(new long[] { 8000, 7200 },
+        statistics.getDictionaryLocalCacheHits("default_hits1", "name"));
+  }
+
+  @Test public void testLocalCacheHitsAreRecordedForEachTable() {
+    CarbonLoadStatisticsImpl statistics = CarbonLoadStatisticsImpl.getInstance();
+    statistics.recordDictionaryLocalCacheHits("default_hits2", "name", 10, 5);
+    statistics.recordDictionaryLocalCacheHits("default_hits3", "name", 20, 1);
+    assertArrayEquals(new long[] { 10, 5 },
+        statistics.getDictionaryLocalCacheHits("default_hits2", "name"));
+    assertArrayEquals(new long[] { 20, 1 },
+        statistics.getDictionaryLocalCacheHits("default_hits3", "name"));
+  }
+}
@@ -30,6 +30,7 @@ import org.apache.carbondata.core.datastore.impl.FileHolderImpl;
 import org.apache.carbondata.core.reader.CarbonFooterReader;
 import org.apache.carbondata.core.reader.CarbonIndexFileReader;
 import org.apache.carbondata.core.reader.ThriftReader;
+import org.apache.carbondata.core.writer.CarbonIndexFileWriter;
 import org.apache.carbondata.format.*;
 import org.apache.carbondata.format.ColumnSchema;
 
@@ -249,4 +250,49 @@ public class DataFileFooterConverterTest {
     assertEquals(result.getNumberOfRows(), 3);
   }
 
+  @Test public void testGetIndexInfoReadsNumberOfBlocklets() throws Exception {
+    List<ByteBuffer> minValues = new ArrayList<>();
+    minValues.add(ByteBuffer.wrap(new byte[] { 1 }));
+    List<ByteBuffer> maxValues = new ArrayList<>();
+    maxValues.add(ByteBuffer.wrap(new byte[] { 9 }));
+    org.apache.carbondata.core.metadata.blocklet.index.BlockletIndex blockletIndex =
+        new org.apache.carbondata.core.metadata.blocklet.index.BlockletIndex(
+            new org.apache.carbondata.core.metadata.blocklet.index.BlockletBTreeIndex(
+                new byte[] { 1 }, new byte[] { 9 }),
+            new org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex(minValues,
+                maxValues));
+    // blocklets cut by size, 1000 rows would be a single blocklet by row count
+    List<org.apache.carbondata.core.metadata.index.BlockIndexInfo> blockIndexInfoList =
+        new ArrayList<>();
+    blockIndexInfoList.add(new org.apache.carbondata.core.metadata.index.BlockIndexInfo(1000,
+        "part-0-0-0-0.carbondata", 0, blockletIndex, 5));
+    blockIndexInfoList.add(new org.apache.carbondata.core.metadata.index.BlockIndexInfo(1000,
+        "part-1-0-0-0.carbondata", 0, blockletIndex));
+    File indexFile = File.createTempFile("0-0-0", ".carbonindex");
+    CarbonIndexFileWriter indexWriter = new CarbonIndexFileWriter();
+    indexWriter.openThriftWriter(indexFile.getAbsolutePath());
+    try {
+      indexWriter.writeThrift(CarbonMetadataUtil
+          .getIndexHeader(new int[] { 10 }, new ArrayList<ColumnSchema>(), 0));
+      for (BlockIndex blockIndex : CarbonMetadataUtil.getBlockIndexInfo(blockIndexInfoList)) {
+        indexWriter.writeThrift(blockIndex);
+      }
+    } finally {
+      indexWriter.close();
+    }
+    List<TableBlockInfo> tableBlockInfoList = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      tableBlockInfoList.add(new TableBlockInfo("/part-" + i + "-0-0-0.carbondata", 0, "0",
+          new String[] { "localhost" }, 100, ColumnarFormatVersion.V2));
+    }
+    try {
+      new DataFileFooterConverter().getIndexInfo(indexFile.getAbsolutePath(), tableBlockInfoList);
+    } finally {
+      indexFile.delete();
+    }
+    assertEquals(5, tableBlockInfoList.get(0).getBlockletInfos().getNoOfBlockLets());
+    // index written without the number of blocklets falls back to the row count
+    assertEquals(1, tableBlockInfoList.get(1).getBlockletInfos().getNoOfBlockLets());
+  }
+
 }
@@ -43,4 +43,5 @@ struct BlockIndex{
   2: required string file_name; // Block file name
   3: required i64 offset; // Offset of block
   4: required carbondata.BlockletIndex block_index;	// Block index
+  5: optional i32 num_blocklets; // Number of blocklets in this file
 }
\ No newline at end of file
@@ -49,6 +49,9 @@ enum Encoding{
 	INVERTED_INDEX = 3; // identifies that a column is encoded using inverted index, can be used only along with dictionary encoding
 	BIT_PACKED = 4;	// identifies that a column is encoded using bit packing, can be used only along with dictionary encoding
 	DIRECT_DICTIONARY = 5; // Identifies that a column is direct dictionary encoded
+	FRAME_OF_REFERENCE = 6; // identifies that the integral values of a measure page are bit packed as the difference to the page minimum
+	DELTA_OF_DELTA = 7; // identifies that the integral values of a measure page are bit packed as the difference between consecutive deltas
+	PAGE_DICTIONARY = 8; // identifies that a measure page is stored as its distinct values and the bit packed index of the value of each row
 }
 
 
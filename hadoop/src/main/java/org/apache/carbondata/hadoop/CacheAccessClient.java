@@ -18,6 +18,7 @@ package org.apache.carbondata.hadoop;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.carbondata.core.cache.Cache;
@@ -30,7 +31,8 @@ public class CacheAccessClient<K, V> {
   /**
    * List of segments
    */
-  private List<K> segmentList = new ArrayList<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+  private List<K> segmentList = Collections
+      .synchronizedList(new ArrayList<K>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE));
 
   private Cache<K, V> cache;
 
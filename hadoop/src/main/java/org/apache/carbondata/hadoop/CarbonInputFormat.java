@@ -24,11 +24,21 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.DataRefNode;
 import org.apache.carbondata.core.datastore.DataRefNodeFinder;
 import org.apache.carbondata.core.datastore.IndexKey;
+import org.apache.carbondata.core.datastore.SegmentIndexSnapshot;
 import org.apache.carbondata.core.datastore.SegmentTaskIndexStore;
 import org.apache.carbondata.core.datastore.TableSegmentUniqueIdentifier;
 import org.apache.carbondata.core.datastore.block.AbstractIndex;
@@ -49,7 +59,9 @@ import org.apache.carbondata.core.scan.filter.FilterExpressionProcessor;
 import org.apache.carbondata.core.scan.filter.FilterUtil;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
 import org.apache.carbondata.core.scan.model.CarbonQueryPlan;
+import org.apache.carbondata.core.scan.model.QueryAggregate;
 import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.stats.QueryScanMetricsRegistry;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsRecorder;
@@ -101,6 +113,23 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
   private static final String COLUMN_PROJECTION = "mapreduce.input.carboninputformat.projection";
   private static final String CARBON_TABLE = "mapreduce.input.carboninputformat.table";
   private static final String CARBON_READ_SUPPORT = "mapreduce.input.carboninputformat.readsupport";
+  private static final String QUERY_AGGREGATES =
+      "mapreduce.input.carboninputformat.query.aggregates";
+  private static final String QUERY_LIMIT = "mapreduce.input.carboninputformat.query.limit";
+  private static final String ORDER_BY_SORT_COLUMN =
+      "mapreduce.input.carboninputformat.orderby.sortcolumn";
+  private static final String MAX_SPLIT_SIZE = "mapreduce.input.carboninputformat.max.split.size";
+
+  /**
+   * pruner of the segment index on the executors, the index is pruned in this process
+   * if it is not set
+   */
+  private DistributedIndexPruner indexPruner;
+
+  /**
+   * pool shared by all the queries of the process to prune their segments in parallel
+   */
+  private static ThreadPoolExecutor segmentPruningPool;
 
   /**
    * It is optional, if user does not set then it reads from store
@@ -169,6 +198,79 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
     }
   }
 
+  /**
+   * It sets the aggregates to be computed by the scan, rows given by the reader are the
+   * aggregates for each group of projected dimensions which are not aggregated.
+   *
+   * @param configuration
+   * @param queryAggregates aggregates on the projected columns
+   */
+  public static void setQueryAggregates(Configuration configuration,
+      List<QueryAggregate> queryAggregates) {
+    if (queryAggregates == null || queryAggregates.isEmpty()) {
+      return;
+    }
+    try {
+      String aggregatesString = ObjectSerializationUtil
+          .convertObjectToString(new ArrayList<>(queryAggregates));
+      configuration.set(QUERY_AGGREGATES, aggregatesString);
+    } catch (Exception e) {
+      throw new RuntimeException("Error while setting query aggregates to Job", e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<QueryAggregate> getQueryAggregates(Configuration configuration) {
+    try {
+      String aggregatesString = configuration.get(QUERY_AGGREGATES);
+      if (aggregatesString == null) {
+        return new ArrayList<>();
+      }
+      return (List<QueryAggregate>) ObjectSerializationUtil
+          .convertStringToObject(aggregatesString);
+    } catch (IOException e) {
+      throw new RuntimeException("Error while reading query aggregates", e);
+    }
+  }
+
+  /**
+   * Sets the maximum number of rows to be read by each split of the query
+   *
+   * @param configuration
+   * @param limit             number of rows
+   * @param orderBySortColumn true if the rows are ordered on the first sort column of the
+   *                          table, then the limit is applied to each block of the split
+   */
+  public static void setQueryLimit(Configuration configuration, int limit,
+      boolean orderBySortColumn) {
+    if (limit < 0) {
+      return;
+    }
+    configuration.setInt(QUERY_LIMIT, limit);
+    configuration.setBoolean(ORDER_BY_SORT_COLUMN, orderBySortColumn);
+  }
+
+  /**
+   * Maximum estimated scan size of a split in bytes, blocks bigger than this are split at
+   * blocklet boundaries. Blocks are not split if it is not set
+   *
+   * @param configuration
+   * @param maxSplitSize
+   */
+  public static void setMaxSplitSize(Configuration configuration, long maxSplitSize) {
+    configuration.setLong(MAX_SPLIT_SIZE, maxSplitSize);
+  }
+
+  /**
+   * Set the pruner which prunes the segments to access on the executors having their index
+   * cached, instead of loading the index of all the segments in this process
+   *
+   * @param indexPruner
+   */
+  public void setDistributedIndexPruner(DistributedIndexPruner indexPruner) {
+    this.indexPruner = indexPruner;
+  }
+
   public static void setColumnProjection(Configuration configuration, CarbonProjection projection) {
     if (projection == null || projection.isEmpty()) {
       return;
@@ -242,29 +344,21 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
       for (String invalidSegmentId : invalidSegments) {
         invalidTimestampsList.add(updateStatusManager.getInvalidTimestampRange(invalidSegmentId));
       }
-      if (invalidSegments.size() > 0) {
-        List<TableSegmentUniqueIdentifier> invalidSegmentsIds
-            = new ArrayList<>(invalidSegments.size());
-        for (String segId : invalidSegments) {
-          invalidSegmentsIds.add(new TableSegmentUniqueIdentifier(identifier, segId));
-        }
-        cacheClient.getSegmentAccessClient().invalidateAll(invalidSegmentsIds);
-      }
+      invalidateSegments(identifier, invalidSegments, cacheClient);
     }
 
-    // process and resolve the expression
-    Expression filter = getFilterPredicates(job.getConfiguration());
-    CarbonTable carbonTable = getCarbonTable(job.getConfiguration());
-    // this will be null in case of corrupt schema file.
-    if (null == carbonTable) {
-      throw new IOException("Missing/Corrupt schema file for table.");
-    }
-    CarbonInputFormatUtil.processFilterExpression(filter, carbonTable);
-    FilterResolverIntf filterInterface = CarbonInputFormatUtil.resolveFilter(filter, identifier);
-
     // do block filtering and get split
-    List<InputSplit> splits = getSplits(job, filterInterface, cacheClient);
+    List<TableBlockInfo> filteredBlocks;
+    if (null != indexPruner) {
+      // the segments are pruned by the executors having their index cached, they also remove
+      // the invalid segments from their cache
+      filteredBlocks =
+          indexPruner.getFilteredBlocks(job, getSegmentsToAccess(job), invalidSegments);
+    } else {
+      filteredBlocks = getFilteredBlocks(job, resolveFilter(job), cacheClient);
+    }
     cacheClient.close();
+    List<InputSplit> splits = getSplits(job, filteredBlocks);
     // pass the invalid segment to task side in order to remove index entry in task side
     if (invalidSegments.size() > 0) {
       for (InputSplit split : splits) {
@@ -293,41 +387,205 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
   }
 
   /**
-   * {@inheritDoc}
-   * Configurations FileInputFormat.INPUT_DIR, CarbonInputFormat.INPUT_SEGMENT_NUMBERS
-   * are used to get table path to read.
+   * Below method will be used to get the blocks of the segments to access matching the filter,
+   * it is called by a distributed index pruner on the executors to prune the segments whose
+   * index is cached in the executor.
+   * Configurations CarbonInputFormat.INPUT_SEGMENT_NUMBERS is used to get the segments to prune.
    *
-   * @return
+   * @param job             job context
+   * @param invalidSegments segments which are not valid anymore, removed from the index cache
+   *                        of the executor before pruning
+   * @return blocks matching the filter
    * @throws IOException
    */
-  private List<InputSplit> getSplits(JobContext job, FilterResolverIntf filterResolver,
-      CacheClient cacheClient) throws IOException {
+  public List<TableBlockInfo> getFilteredBlocks(JobContext job, List<String> invalidSegments)
+      throws IOException {
+    AbsoluteTableIdentifier identifier = getAbsoluteTableIdentifier(job.getConfiguration());
+    CacheClient cacheClient = new CacheClient(identifier.getStorePath());
+    try {
+      invalidateSegments(identifier, invalidSegments, cacheClient);
+      return getFilteredBlocks(job, resolveFilter(job), cacheClient);
+    } finally {
+      cacheClient.close();
+    }
+  }
 
-    List<InputSplit> result = new LinkedList<InputSplit>();
+  /**
+   * Below method will be used to remove the index of the invalid segments from the cache
+   */
+  private void invalidateSegments(AbsoluteTableIdentifier identifier,
+      List<String> invalidSegments, CacheClient cacheClient) {
+    if (invalidSegments.size() > 0) {
+      List<TableSegmentUniqueIdentifier> invalidSegmentsIds
+          = new ArrayList<>(invalidSegments.size());
+      for (String segId : invalidSegments) {
+        invalidSegmentsIds.add(new TableSegmentUniqueIdentifier(identifier, segId));
+      }
+      cacheClient.getSegmentAccessClient().invalidateAll(invalidSegmentsIds);
+    }
+  }
 
-    FilterExpressionProcessor filterExpressionProcessor = new FilterExpressionProcessor();
+  /**
+   * Below method will be used to resolve the filter expression of the job
+   */
+  private FilterResolverIntf resolveFilter(JobContext job) throws IOException {
+    // process and resolve the expression
+    Expression filter = getFilterPredicates(job.getConfiguration());
+    CarbonTable carbonTable = getCarbonTable(job.getConfiguration());
+    // this will be null in case of corrupt schema file.
+    if (null == carbonTable) {
+      throw new IOException("Missing/Corrupt schema file for table.");
+    }
+    CarbonInputFormatUtil.processFilterExpression(filter, carbonTable);
+    return CarbonInputFormatUtil
+        .resolveFilter(filter, carbonTable.getAbsoluteTableIdentifier());
+  }
 
-    AbsoluteTableIdentifier absoluteTableIdentifier =
+  /**
+   * {@inheritDoc}
+   * Configurations FileInputFormat.INPUT_DIR, CarbonInputFormat.INPUT_SEGMENT_NUMBERS
+   * are used to get table path to read.
+   * The segments are pruned in parallel by the segment pruning pool, every query using at most
+   * as many threads as the pool has, and the blocks are returned in the order of the segments.
+   *
+   * @return blocks matching the filter
+   * @throws IOException
+   */
+  private List<TableBlockInfo> getFilteredBlocks(final JobContext job,
+      final FilterResolverIntf filterResolver, final CacheClient cacheClient) throws IOException {
+    QueryStatistic statistic = new QueryStatistic();
+    final AbsoluteTableIdentifier absoluteTableIdentifier =
             getCarbonTable(job.getConfiguration()).getAbsoluteTableIdentifier();
-    SegmentUpdateStatusManager updateStatusManager =
+    final SegmentUpdateStatusManager updateStatusManager =
             new SegmentUpdateStatusManager(absoluteTableIdentifier);
-    //for each segment fetch blocks matching filter in Driver BTree
-    for (String segmentNo : getSegmentsToAccess(job)) {
-      List<DataRefNode> dataRefNodes =
-          getDataBlocksOfSegment(job, filterExpressionProcessor, absoluteTableIdentifier,
-              filterResolver, segmentNo, cacheClient, updateStatusManager);
-      for (DataRefNode dataRefNode : dataRefNodes) {
-        BlockBTreeLeafNode leafNode = (BlockBTreeLeafNode) dataRefNode;
-        TableBlockInfo tableBlockInfo = leafNode.getTableBlockInfo();
-        if (CarbonUtil.isInvalidTableBlock(tableBlockInfo,
-            updateStatusManager.getInvalidTimestampRange(tableBlockInfo.getSegmentId()),
-            updateStatusManager)) {
-          continue;
+    final String[] segmentsToAccess = getSegmentsToAccess(job);
+    final List<List<TableBlockInfo>> blocksOfSegments =
+        new ArrayList<List<TableBlockInfo>>(segmentsToAccess.length);
+    for (int i = 0; i < segmentsToAccess.length; i++) {
+      blocksOfSegments.add(null);
+    }
+    int numberOfThreads = CarbonInputFormatUtil.getSegmentPruningThreads();
+    final int numberOfTasks = Math.min(segmentsToAccess.length, numberOfThreads);
+    if (numberOfTasks <= 1) {
+      for (int i = 0; i < segmentsToAccess.length; i++) {
+        blocksOfSegments.set(i, getFilteredBlocksOfSegment(job, absoluteTableIdentifier,
+            filterResolver, segmentsToAccess[i], cacheClient, updateStatusManager));
+      }
+    } else {
+      ExecutorService pruningPool = getSegmentPruningPool(numberOfThreads);
+      List<Future<Void>> futures = new ArrayList<Future<Void>>(numberOfTasks);
+      for (int task = 0; task < numberOfTasks; task++) {
+        final int firstSegment = task;
+        futures.add(pruningPool.submit(new Callable<Void>() {
+          @Override public Void call() throws IOException {
+            for (int i = firstSegment; i < segmentsToAccess.length; i += numberOfTasks) {
+              blocksOfSegments.set(i, getFilteredBlocksOfSegment(job, absoluteTableIdentifier,
+                  filterResolver, segmentsToAccess[i], cacheClient, updateStatusManager));
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        try {
+          future.get();
+        } catch (InterruptedException e) {
+          throw new IOException("Interrupted while pruning the segments", e);
+        } catch (ExecutionException e) {
+          throw new IOException("Problem while pruning the segments", e.getCause());
         }
-        result.add(new CarbonInputSplit(segmentNo, new Path(tableBlockInfo.getFilePath()),
-            tableBlockInfo.getBlockOffset(), tableBlockInfo.getBlockLength(),
-            tableBlockInfo.getLocations(), tableBlockInfo.getBlockletInfos().getNoOfBlockLets(),
-            tableBlockInfo.getVersion()));
+      }
+    }
+    // merge in the order of the segments, so the splits do not depend on the pruning order
+    List<TableBlockInfo> result = new LinkedList<TableBlockInfo>();
+    for (List<TableBlockInfo> blocksOfSegment : blocksOfSegments) {
+      result.addAll(blocksOfSegment);
+    }
+    statistic
+        .addStatistics(QueryStatisticsConstants.LOAD_BLOCKS_DRIVER, System.currentTimeMillis());
+    CarbonTimeStatisticsFactory.createDriverRecorder()
+        .recordStatisticsForDriver(statistic, job.getConfiguration().get("query.id"));
+    return result;
+  }
+
+  /**
+   * Below method will be used to get the valid blocks of a segment matching the filter
+   */
+  private List<TableBlockInfo> getFilteredBlocksOfSegment(JobContext job,
+      AbsoluteTableIdentifier absoluteTableIdentifier, FilterResolverIntf filterResolver,
+      String segmentNo, CacheClient cacheClient, SegmentUpdateStatusManager updateStatusManager)
+      throws IOException {
+    List<TableBlockInfo> result = new ArrayList<TableBlockInfo>();
+    //fetch blocks matching filter in Driver BTree
+    List<DataRefNode> dataRefNodes =
+        getDataBlocksOfSegment(job, new FilterExpressionProcessor(), absoluteTableIdentifier,
+            filterResolver, segmentNo, cacheClient, updateStatusManager);
+    for (DataRefNode dataRefNode : dataRefNodes) {
+      BlockBTreeLeafNode leafNode = (BlockBTreeLeafNode) dataRefNode;
+      TableBlockInfo tableBlockInfo = leafNode.getTableBlockInfo();
+      if (CarbonUtil.isInvalidTableBlock(tableBlockInfo,
+          updateStatusManager.getInvalidTimestampRange(tableBlockInfo.getSegmentId()),
+          updateStatusManager)) {
+        continue;
+      }
+      result.add(tableBlockInfo);
+    }
+    return result;
+  }
+
+  /**
+   * Below method will be used to get the pool pruning the segments of all the queries, the
+   * threads are daemon threads so that the pool does not keep the process alive. The pool is
+   * resized when the configured number of threads is changed, the threads above the new size
+   * end once their running task is done
+   *
+   * @param numberOfThreads configured number of threads of the pool
+   * @return segment pruning pool
+   */
+  private static synchronized ExecutorService getSegmentPruningPool(int numberOfThreads) {
+    if (null == segmentPruningPool) {
+      segmentPruningPool = new ThreadPoolExecutor(numberOfThreads, numberOfThreads, 0L,
+          TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+
+            @Override public Thread newThread(Runnable runnable) {
+              Thread thread = new Thread(runnable,
+                  "carbon-segment-pruning-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
+    } else if (numberOfThreads > segmentPruningPool.getMaximumPoolSize()) {
+      // maximum size can not be less than the core size
+      segmentPruningPool.setMaximumPoolSize(numberOfThreads);
+      segmentPruningPool.setCorePoolSize(numberOfThreads);
+    } else if (numberOfThreads < segmentPruningPool.getMaximumPoolSize()) {
+      segmentPruningPool.setCorePoolSize(numberOfThreads);
+      segmentPruningPool.setMaximumPoolSize(numberOfThreads);
+    }
+    return segmentPruningPool;
+  }
+
+  /**
+   * Below method will be used to create the splits of the blocks matching the filter
+   *
+   * @param job            job context
+   * @param filteredBlocks blocks matching the filter
+   * @return list of CarbonInputSplit
+   */
+  private List<InputSplit> getSplits(JobContext job, List<TableBlockInfo> filteredBlocks) {
+    List<InputSplit> result = new LinkedList<InputSplit>();
+    long maxSplitSize = job.getConfiguration().getLong(MAX_SPLIT_SIZE, 0);
+    for (TableBlockInfo tableBlockInfo : filteredBlocks) {
+      CarbonInputSplit split = new CarbonInputSplit(tableBlockInfo.getSegmentId(),
+          new Path(tableBlockInfo.getFilePath()), tableBlockInfo.getBlockOffset(),
+          tableBlockInfo.getBlockLength(), tableBlockInfo.getLocations(),
+          tableBlockInfo.getBlockletInfos().getNoOfBlockLets(), tableBlockInfo.getVersion());
+      if (maxSplitSize > 0) {
+        // split big blocks at blocklet boundaries, so that tasks can be balanced by size
+        result.addAll(split.splitAtBlocklets(maxSplitSize));
+      } else {
+        result.add(split);
       }
     }
     return result;
@@ -361,6 +619,7 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
             updateStatusManager);
 
     List<DataRefNode> resultFilterredBlocks = new LinkedList<DataRefNode>();
+    long totalBlocks = 0;
 
     if (null != segmentIndexMap) {
       // build result
@@ -378,12 +637,18 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
                   absoluteTableIdentifier
           );
         }
+        totalBlocks += abstractIndex.getNumberOfDataBlocks();
         resultFilterredBlocks.addAll(filterredBlocks);
       }
     }
     statistic
-        .addStatistics(QueryStatisticsConstants.LOAD_BLOCKS_DRIVER, System.currentTimeMillis());
+        .addStatistics(QueryStatisticsConstants.PRUNE_SEGMENT_DRIVER, System.currentTimeMillis());
     recorder.recordStatisticsForDriver(statistic, job.getConfiguration().get("query.id"));
+    if (QueryScanMetricsRegistry.isEnabled()) {
+      QueryScanMetricsRegistry.getInstance()
+          .addDriverPruning(job.getConfiguration().get("query.id"), totalBlocks,
+              resultFilterredBlocks.size());
+    }
     return resultFilterredBlocks;
   }
 
@@ -493,10 +758,22 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
       // if the segment is updated only the updated blocks TableInfo instance has to be
       // retrieved. the same will be filtered based on taskKeys , if the task is same
       // for the block then dont add it since already its btree is loaded.
-      List<TableBlockInfo> tableBlockInfoList =
-          getTableBlockInfo(job, tableSegmentUniqueIdentifier, taskKeys,
-              updateStatusManager.getInvalidTimestampRange(segmentId), updateStatusManager,
-              segmentId);
+      SegmentIndexSnapshot indexSnapshot = null;
+      if (!isSegmentUpdated && SegmentIndexSnapshot.isEnabled()) {
+        // a valid index snapshot has all the blocks of the segment, so the segment
+        // is not listed and its index files are not read
+        indexSnapshot = SegmentIndexSnapshot.read(absoluteTableIdentifier, segmentId,
+            updateDetails.getCreatedOrUpdatedTimeStamp());
+      }
+      List<TableBlockInfo> tableBlockInfoList;
+      if (null != indexSnapshot) {
+        tableBlockInfoList = indexSnapshot.getTableBlockInfos();
+        tableSegmentUniqueIdentifier.setIndexSnapshot(indexSnapshot);
+      } else {
+        tableBlockInfoList = getTableBlockInfo(job, tableSegmentUniqueIdentifier, taskKeys,
+            updateStatusManager.getInvalidTimestampRange(segmentId), updateStatusManager,
+            segmentId);
+      }
       if (!tableBlockInfoList.isEmpty()) {
         // getFileStatusOfSegments(job, new int[]{ segmentId }, fileStatusList);
         Map<String, List<TableBlockInfo>> segmentToTableBlocksInfos = new HashMap<>();
@@ -621,6 +898,9 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
     CarbonInputFormatUtil.processFilterExpression(filter, carbonTable);
     FilterResolverIntf filterIntf = CarbonInputFormatUtil.resolveFilter(filter, identifier);
     queryModel.setFilterExpressionResolverTree(filterIntf);
+    queryModel.setQueryAggregates(getQueryAggregates(configuration));
+    queryModel.setLimit(configuration.getInt(QUERY_LIMIT, -1));
+    queryModel.setOrderBySortColumn(configuration.getBoolean(ORDER_BY_SORT_COLUMN, false));
 
     // update the file level index store if there are invalid segment
     if (inputSplit instanceof CarbonMultiBlockSplit) {
@@ -61,6 +61,16 @@ public class CarbonInputSplit extends FileSplit
    */
   private int numberOfBlocklets;
 
+  /*
+   * first blocklet of the block to be scanned by the split
+   */
+  private int startBlockletIndex;
+
+  /*
+   * number of blocklets of the block to be scanned by the split
+   */
+  private int numberOfBlockletsToScan;
+
   private ColumnarFormatVersion version;
 
   /**
@@ -94,6 +104,7 @@ public class CarbonInputSplit extends FileSplit
       int numberOfBlocklets, ColumnarFormatVersion version) {
     this(segmentId, path, start, length, locations, version);
     this.numberOfBlocklets = numberOfBlocklets;
+    this.numberOfBlockletsToScan = numberOfBlocklets;
   }
 
   /**
@@ -120,11 +131,55 @@ public class CarbonInputSplit extends FileSplit
         split.getLocations(), version);
   }
 
+  /**
+   * Below method will be used to split the block of the split at blocklet boundaries, so that
+   * the estimated scan size of each split is not more than the given size
+   *
+   * @param maxSplitSize maximum estimated scan size of a split in bytes
+   * @return splits scanning consecutive blocklets of the block
+   * @throws IOException
+   */
+  public List<CarbonInputSplit> splitAtBlocklets(long maxSplitSize) throws IOException {
+    List<CarbonInputSplit> splits = new ArrayList<>();
+    if (numberOfBlockletsToScan <= 1 || getEstimatedScanSize() <= maxSplitSize) {
+      splits.add(this);
+      return splits;
+    }
+    int blockletsPerSplit =
+        (int) Math.max(1, maxSplitSize * numberOfBlocklets / Math.max(1, getLength()));
+    int endBlockletIndex = startBlockletIndex + numberOfBlockletsToScan;
+    for (int i = startBlockletIndex; i < endBlockletIndex; i += blockletsPerSplit) {
+      CarbonInputSplit split =
+          new CarbonInputSplit(segmentId, getPath(), getStart(), getLength(), getLocations(),
+              numberOfBlocklets, version, blockStorageIdMap);
+      split.invalidSegments = invalidSegments;
+      split.invalidTimestampsList = invalidTimestampsList;
+      split.startBlockletIndex = i;
+      split.numberOfBlockletsToScan = Math.min(blockletsPerSplit, endBlockletIndex - i);
+      splits.add(split);
+    }
+    return splits;
+  }
+
+  /**
+   * Below method will be used to get the blocklets of the block to be scanned by the split
+   *
+   * @return blocklets to be scanned, the number of blocklets is 0 when the blocklets are
+   * scanned till the end of the block
+   */
+  private BlockletInfos getBlockletInfos() {
+    // the number of blocklets of the block is estimated from the number of rows for older
+    // files, so the last blocklets are scanned till the end of the block
+    int blockletsToScan = startBlockletIndex + numberOfBlockletsToScan >= numberOfBlocklets ?
+        0 :
+        numberOfBlockletsToScan;
+    return new BlockletInfos(numberOfBlocklets, startBlockletIndex, blockletsToScan);
+  }
+
   public static List<TableBlockInfo> createBlocks(List<CarbonInputSplit> splitList) {
     List<TableBlockInfo> tableBlockInfoList = new ArrayList<>();
     for (CarbonInputSplit split : splitList) {
-      BlockletInfos blockletInfos =
-          new BlockletInfos(split.getNumberOfBlocklets(), 0, split.getNumberOfBlocklets());
+      BlockletInfos blockletInfos = split.getBlockletInfos();
       try {
         tableBlockInfoList.add(
             new TableBlockInfo(split.getPath().toString(), split.getStart(), split.getSegmentId(),
@@ -137,8 +192,7 @@ public class CarbonInputSplit extends FileSplit
   }
 
   public static TableBlockInfo getTableBlockInfo(CarbonInputSplit inputSplit) {
-    BlockletInfos blockletInfos =
-        new BlockletInfos(inputSplit.getNumberOfBlocklets(), 0, inputSplit.getNumberOfBlocklets());
+    BlockletInfos blockletInfos = inputSplit.getBlockletInfos();
     try {
       return new TableBlockInfo(inputSplit.getPath().toString(), inputSplit.getStart(),
           inputSplit.getSegmentId(), inputSplit.getLocations(), inputSplit.getLength(),
@@ -162,6 +216,9 @@ public class CarbonInputSplit extends FileSplit
     for (int i = 0; i < numInvalidSegment; i++) {
       invalidSegments.add(in.readUTF());
     }
+    this.numberOfBlocklets = in.readInt();
+    this.startBlockletIndex = in.readInt();
+    this.numberOfBlockletsToScan = in.readInt();
   }
 
   @Override public void write(DataOutput out) throws IOException {
@@ -173,6 +230,9 @@ public class CarbonInputSplit extends FileSplit
     for (String invalidSegment : invalidSegments) {
       out.writeUTF(invalidSegment);
     }
+    out.writeInt(numberOfBlocklets);
+    out.writeInt(startBlockletIndex);
+    out.writeInt(numberOfBlockletsToScan);
   }
 
   public List<String> getInvalidSegments() {
@@ -200,6 +260,37 @@ public class CarbonInputSplit extends FileSplit
     return numberOfBlocklets;
   }
 
+  /**
+   * returns the first blocklet to be scanned
+   *
+   * @return
+   */
+  public int getStartBlockletIndex() {
+    return startBlockletIndex;
+  }
+
+  /**
+   * returns the number of blocklets to be scanned
+   *
+   * @return
+   */
+  public int getNumberOfBlockletsToScan() {
+    return numberOfBlockletsToScan;
+  }
+
+  /**
+   * Below method will be used to get the estimated scan size, the part of the split length
+   * of the blocklets to be scanned
+   *
+   * @return estimated number of bytes to be scanned
+   */
+  @Override public long getEstimatedScanSize() {
+    if (numberOfBlocklets <= 0 || numberOfBlockletsToScan >= numberOfBlocklets) {
+      return getLength();
+    }
+    return getLength() * numberOfBlockletsToScan / numberOfBlocklets;
+  }
+
   public ColumnarFormatVersion getVersion() {
     return version;
   }
@@ -259,7 +350,8 @@ public class CarbonInputSplit extends FileSplit
     if (compareResult != 0) {
       return compareResult;
     }
-    return 0;
+    // compare the first blocklet of the splits of the same block
+    return startBlockletIndex - other.startBlockletIndex;
   }
 
   @Override public String getBlockPath() {
@@ -267,11 +359,18 @@ public class CarbonInputSplit extends FileSplit
   }
 
   @Override public List<Long> getMatchedBlocklets() {
-    return null;
+    if (fullScan()) {
+      return null;
+    }
+    List<Long> matchedBlocklets = new ArrayList<>(numberOfBlockletsToScan);
+    for (int i = 0; i < numberOfBlockletsToScan; i++) {
+      matchedBlocklets.add((long) (startBlockletIndex + i));
+    }
+    return matchedBlocklets;
   }
 
   @Override public boolean fullScan() {
-    return true;
+    return startBlockletIndex == 0 && numberOfBlockletsToScan >= numberOfBlocklets;
   }
 
   /**
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.hadoop;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+
+import org.apache.hadoop.mapreduce.JobContext;
+
+/**
+ * Prunes the blocks of the segments of a query on the executors. Each executor loads and
+ * caches the index of the segments assigned to it and returns the blocks matching the filter,
+ * so the driver does not need to hold the index of all the segments of the table.
+ */
+public interface DistributedIndexPruner {
+
+  /**
+   * Below method will be used to get the blocks of the segments matching the filter
+   *
+   * @param job             job context having the table and the filter of the query
+   * @param segmentIds      segments to prune
+   * @param invalidSegments segments which are not valid anymore, to be removed from the index
+   *                        cache of every executor
+   * @return blocks matching the filter
+   * @throws IOException
+   */
+  List<TableBlockInfo> getFilteredBlocks(JobContext job, String[] segmentIds,
+      List<String> invalidSegments) throws IOException;
+}
@@ -23,7 +23,9 @@ public class DictionaryDecodedReadSupportImpl
     extends AbstractDictionaryDecodedReadSupport<Object[]> {
 
   @Override public Object[] readRow(Object[] data) {
-    assert (data.length == dictionaries.length);
+    // row of an aggregate query has the aggregates after the result columns, which are not
+    // decoded
+    assert (data.length >= dictionaries.length);
     for (int i = 0; i < dictionaries.length; i++) {
       if (dictionaries[i] != null) {
         data[i] = dictionaries[i].getDictionaryValueForKey((int) data[i]);
@@ -20,6 +20,7 @@ package org.apache.carbondata.hadoop.util;
 import java.io.IOException;
 import java.util.List;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
@@ -31,6 +32,7 @@ import org.apache.carbondata.core.scan.model.CarbonQueryPlan;
 import org.apache.carbondata.core.scan.model.QueryDimension;
 import org.apache.carbondata.core.scan.model.QueryMeasure;
 import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.hadoop.CarbonInputFormat;
 
 import org.apache.hadoop.fs.Path;
@@ -121,4 +123,50 @@ public class CarbonInputFormatUtil {
       throw new RuntimeException("Error while resolving filter expression", e);
     }
   }
+
+  /**
+   * Below method will be used to get the configured maximum estimated scan size of a query
+   * split
+   *
+   * @return maximum split size in bytes, 0 if blocks are not to be split
+   */
+  public static long getMaxSplitSize() {
+    long splitSizeInMB;
+    try {
+      splitSizeInMB = Long.parseLong(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CARBON_QUERY_SPLIT_SIZE_IN_MB,
+              CarbonCommonConstants.CARBON_QUERY_SPLIT_SIZE_IN_MB_DEFAULT));
+    } catch (NumberFormatException e) {
+      splitSizeInMB = Long.parseLong(CarbonCommonConstants.CARBON_QUERY_SPLIT_SIZE_IN_MB_DEFAULT);
+    }
+    return Math.max(0, splitSizeInMB) * CarbonCommonConstants.BYTE_TO_KB_CONVERSION_FACTOR
+        * CarbonCommonConstants.BYTE_TO_KB_CONVERSION_FACTOR;
+  }
+
+  /**
+   * Below method will be used to get the number of threads pruning the segments of the queries
+   *
+   * @return number of segment pruning threads
+   */
+  public static int getSegmentPruningThreads() {
+    int numberOfThreads;
+    try {
+      numberOfThreads = Integer.parseInt(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CARBON_DRIVER_SEGMENT_PRUNING_THREADS,
+              CarbonCommonConstants.CARBON_DRIVER_SEGMENT_PRUNING_THREADS_DEFAULT));
+    } catch (NumberFormatException e) {
+      numberOfThreads =
+          Integer.parseInt(CarbonCommonConstants.CARBON_DRIVER_SEGMENT_PRUNING_THREADS_DEFAULT);
+    }
+    return Math.max(1, numberOfThreads);
+  }
+
+  /**
+   * @return true if the blocks of a query are to be pruned on the executors
+   */
+  public static boolean isDistributedIndexPruningEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_DISTRIBUTED_INDEX_PRUNING_ENABLE,
+            CarbonCommonConstants.CARBON_DISTRIBUTED_INDEX_PRUNING_ENABLE_DEFAULT));
+  }
 }
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.hadoop;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.block.BlockletInfos;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+
+import org.apache.hadoop.fs.Path;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CarbonInputSplitTest {
+
+  private static final Path BLOCK_PATH =
+      new Path("/store/default/t1/Fact/Part0/Segment_0/part-0-3-0-1490000000000.carbondata");
+
+  /**
+   * block of 1000 bytes with 10 blocklets
+   */
+  private static CarbonInputSplit getBlockSplit() {
+    return new CarbonInputSplit("0", BLOCK_PATH, 0, 1000, new String[] { "node-1" }, 10,
+        ColumnarFormatVersion.V2);
+  }
+
+  @Test public void testBlockIsSplitAtBlocklets() throws Exception {
+    List<CarbonInputSplit> splits = getBlockSplit().splitAtBlocklets(300);
+    assertEquals(4, splits.size());
+    int[] expectedStarts = { 0, 3, 6, 9 };
+    int[] expectedCounts = { 3, 3, 3, 1 };
+    for (int i = 0; i < splits.size(); i++) {
+      CarbonInputSplit split = splits.get(i);
+      assertEquals(expectedStarts[i], split.getStartBlockletIndex());
+      assertEquals(expectedCounts[i], split.getNumberOfBlockletsToScan());
+      assertEquals(10, split.getNumberOfBlocklets());
+      assertEquals(expectedCounts[i] * 100, split.getEstimatedScanSize());
+      assertEquals(1000, split.getLength());
+      assertEquals("0", split.getSegmentId());
+      assertFalse(split.fullScan());
+    }
+    // splits of the same block are ordered by their first blocklet
+    assertTrue(splits.get(0).compareTo(splits.get(1)) < 0);
+    assertTrue(splits.get(3).compareTo(splits.get(2)) > 0);
+  }
+
+  @Test public void testSmallBlockIsNotSplit() throws Exception {
+    CarbonInputSplit blockSplit = getBlockSplit();
+    List<CarbonInputSplit> splits = blockSplit.splitAtBlocklets(1000);
+    assertEquals(1, splits.size());
+    assertSame(blockSplit, splits.get(0));
+    assertTrue(blockSplit.fullScan());
+    assertNull(blockSplit.getMatchedBlocklets());
+    assertEquals(1000, blockSplit.getEstimatedScanSize());
+    // block with a single blocklet can not be split
+    CarbonInputSplit singleBlockletSplit =
+        new CarbonInputSplit("0", BLOCK_PATH, 0, 1000, new String[] { "node-1" }, 1,
+            ColumnarFormatVersion.V2);
+    assertEquals(1, singleBlockletSplit.splitAtBlocklets(10).size());
+  }
+
+  @Test public void testMatchedBlockletsOfSplit() throws Exception {
+    List<CarbonInputSplit> splits = getBlockSplit().splitAtBlocklets(300);
+    assertEquals(Arrays.asList(3L, 4L, 5L), splits.get(1).getMatchedBlocklets());
+    assertEquals(Arrays.asList(9L), splits.get(3).getMatchedBlocklets());
+  }
+
+  @Test public void testBlockletInfosOfSplits() throws Exception {
+    List<CarbonInputSplit> splits = getBlockSplit().splitAtBlocklets(300);
+    List<TableBlockInfo> tableBlockInfos = CarbonInputSplit.createBlocks(splits);
+    assertEquals(splits.size(), tableBlockInfos.size());
+    BlockletInfos blockletInfos = tableBlockInfos.get(1).getBlockletInfos();
+    assertEquals(10, blockletInfos.getNoOfBlockLets());
+    assertEquals(3, blockletInfos.getStartBlockletNumber());
+    assertEquals(3, blockletInfos.getNumberOfBlockletToScan());
+    assertEquals(300, tableBlockInfos.get(1).getEstimatedScanSize());
+    // the last split is scanned till the end of the block
+    blockletInfos = CarbonInputSplit.getTableBlockInfo(splits.get(3)).getBlockletInfos();
+    assertEquals(9, blockletInfos.getStartBlockletNumber());
+    assertEquals(0, blockletInfos.getNumberOfBlockletToScan());
+    // block which is not split is scanned till the end
+    blockletInfos = CarbonInputSplit.getTableBlockInfo(getBlockSplit()).getBlockletInfos();
+    assertEquals(0, blockletInfos.getStartBlockletNumber());
+    assertEquals(0, blockletInfos.getNumberOfBlockletToScan());
+  }
+
+  @Test public void testBlockletRangeIsWrittenWithSplit() throws Exception {
+    CarbonInputSplit split = getBlockSplit().splitAtBlocklets(300).get(2);
+    split.setInvalidSegments(Arrays.asList("1", "2"));
+    ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+    DataOutputStream dataOutput = new DataOutputStream(byteStream);
+    split.write(dataOutput);
+    dataOutput.close();
+
+    CarbonInputSplit readSplit = new CarbonInputSplit();
+    readSplit.readFields(
+        new DataInputStream(new ByteArrayInputStream(byteStream.toByteArray())));
+    assertEquals(BLOCK_PATH, readSplit.getPath());
+    assertEquals(0, readSplit.getStart());
+    assertEquals(1000, readSplit.getLength());
+    assertEquals("0", readSplit.getSegmentId());
+    assertEquals(ColumnarFormatVersion.V2, readSplit.getVersion());
+    assertEquals(Arrays.asList("1", "2"), readSplit.getInvalidSegments());
+    assertEquals(10, readSplit.getNumberOfBlocklets());
+    assertEquals(6, readSplit.getStartBlockletIndex());
+    assertEquals(3, readSplit.getNumberOfBlockletsToScan());
+    assertEquals(split.getEstimatedScanSize(), readSplit.getEstimatedScanSize());
+    assertEquals(split.getMatchedBlocklets(), readSplit.getMatchedBlocklets());
+    assertEquals(0, split.compareTo(readSplit));
+  }
+}
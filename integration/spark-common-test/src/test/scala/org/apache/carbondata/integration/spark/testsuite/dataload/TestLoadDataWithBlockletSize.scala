@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.integration.spark.testsuite.dataload
+
+import java.io.{File, PrintWriter}
+
+import scala.util.Random
+
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.common.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.metadata.CarbonMetadata
+import org.apache.carbondata.core.reader.{CarbonFooterReader, CarbonIndexFileReader}
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.core.util.path.CarbonStorePath
+
+/**
+ * FT for cutting the blocklets of wide rows by their encoded size
+ */
+class TestLoadDataWithBlockletSize extends QueryTest with BeforeAndAfterAll {
+
+  private val numberOfRows = 3000
+
+  private val dataFile =
+    new File(System.getProperty("java.io.tmpdir"), "blockletsize.csv").getCanonicalPath
+
+  override def beforeAll {
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.BLOCKLET_SIZE_IN_MB, "1")
+    // rows of 1 KB which do not compress, so the encoded data is around 3 MB
+    val random = new Random(0)
+    val writer = new PrintWriter(new File(dataFile))
+    try {
+      writer.println("id,text")
+      (1 to numberOfRows).foreach { i =>
+        writer.println(s"$i,${ random.alphanumeric.take(1024).mkString }")
+      }
+    } finally {
+      writer.close()
+    }
+    sql("DROP TABLE IF EXISTS blockletsize")
+    sql("CREATE TABLE blockletsize (id int, text string) " +
+        "STORED BY 'org.apache.carbondata.format' TBLPROPERTIES('DICTIONARY_EXCLUDE'='text')")
+    sql(s"LOAD DATA LOCAL INPATH '$dataFile' INTO TABLE blockletsize " +
+        "OPTIONS('DELIMITER'= ',', 'QUOTECHAR'= '\"')")
+  }
+
+  test("blocklets are cut at the target size and the index has the number of blocklets") {
+    val carbonTable = CarbonMetadata.getInstance().getCarbonTable("default_blockletsize")
+    val segmentDir = CarbonStorePath.getCarbonTablePath(storeLocation,
+      carbonTable.getCarbonTableIdentifier).getCarbonDataDirectoryPath("0", "0")
+    val indexFiles = new File(segmentDir).listFiles().filter(_.getName.endsWith(".carbonindex"))
+    var numberOfBlocklets = 0
+    var numberOfIndexedRows = 0L
+    indexFiles.foreach { indexFile =>
+      val indexReader = new CarbonIndexFileReader()
+      indexReader.openThriftReader(indexFile.getAbsolutePath)
+      try {
+        indexReader.readIndexHeader()
+        while (indexReader.hasNext) {
+          val blockIndex = indexReader.readBlockIndexInfo()
+          assert(blockIndex.isSetNum_blocklets)
+          val dataFile = new File(segmentDir, new File(blockIndex.getFile_name).getName)
+          val footer =
+            new CarbonFooterReader(dataFile.getAbsolutePath, blockIndex.getOffset).readFooter()
+          // number of blocklets in the index is same as in the file
+          assert(blockIndex.getNum_blocklets == footer.getBlocklet_index_list.size())
+          numberOfBlocklets += blockIndex.getNum_blocklets
+          numberOfIndexedRows += blockIndex.getNum_rows
+        }
+      } finally {
+        indexReader.closeThriftReader()
+      }
+    }
+    // all the rows are below the blocklet row count, so they are cut only by size
+    assert(numberOfBlocklets > 1)
+    assert(numberOfIndexedRows == numberOfRows)
+  }
+
+  test("query on blocklets cut by size") {
+    checkAnswer(sql("select count(*) from blockletsize"), Seq(Row(numberOfRows)))
+    checkAnswer(sql("select count(distinct id) from blockletsize where id > 1000"),
+      Seq(Row(numberOfRows - 1000)))
+  }
+
+  override def afterAll {
+    sql("DROP TABLE IF EXISTS blockletsize")
+    new File(dataFile).delete()
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.BLOCKLET_SIZE_IN_MB,
+      CarbonCommonConstants.BLOCKLET_SIZE_IN_MB_DEFAULT_VAL)
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.load
+
+import scala.collection.JavaConverters._
+
+import org.scalatest.FunSuite
+
+import org.apache.carbondata.core.datastore.block.{Distributable, TableBlockInfo}
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion
+
+/**
+ * Test for the division of the blocks of a node among its tasks by their scan size
+ */
+class NodeBlockTaskMappingTest extends FunSuite {
+
+  private def block(taskNo: Int, length: Long): Distributable = {
+    new TableBlockInfo(s"/store/default/t1/Fact/Part0/Segment_0/part-0-$taskNo-0-0.carbondata",
+      0, "0", Array("node-1"), length, ColumnarFormatVersion.V2)
+  }
+
+  test("blocks of a node are divided among its tasks by estimated scan size") {
+    val blocks = Seq(block(0, 10), block(1, 90), block(2, 40), block(3, 10), block(4, 50))
+    val mapping = CarbonLoaderUtil.nodeBlockTaskMapping(blocks.asJava, -1, 2,
+      Seq("node-1").asJava)
+    assert(mapping.size() == 1)
+    val tasks = mapping.get("node-1").asScala.map(_.asScala)
+    assert(tasks.size == 2)
+    // round robin would give 140 and 60, biggest first to the least loaded task gives 100 each
+    tasks.foreach { task =>
+      assert(task.map(_.getEstimatedScanSize).sum == 100)
+      // blocks of a task are scanned in order
+      assert(task == task.sorted)
+    }
+    assert(tasks.flatten.toSet == blocks.toSet)
+  }
+
+  test("estimated scan size of a split block is the part of its blocklets") {
+    val splitBlock = block(0, 1000).asInstanceOf[TableBlockInfo]
+    splitBlock.getBlockletInfos.setNoOfBlockLets(10)
+    splitBlock.getBlockletInfos.setStartBlockletNumber(6)
+    splitBlock.getBlockletInfos.setNumberOfBlockletToScan(3)
+    assert(splitBlock.getEstimatedScanSize == 300)
+    // last split of the block is scanned till the end of the block
+    splitBlock.getBlockletInfos.setNumberOfBlockletToScan(0)
+    assert(splitBlock.getEstimatedScanSize == 400)
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.merger
+
+import scala.collection.JavaConverters._
+
+import org.scalatest.FunSuite
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails
+
+/**
+ * Test for the selection of segments to be merged by the background compaction
+ */
+class TieredCompactionPolicyTest extends FunSuite {
+
+  private val MB = 1024L * 1024
+
+  // base size 1 MB, fanout 3, at most 4 segments in a merge
+  private val policy = new TieredCompactionPolicy(MB, 3, 4)
+
+  private def cost(segmentId: String, size: Long, files: Int, deleteRatio: Double = 0) = {
+    val segment = new LoadMetadataDetails
+    segment.setLoadName(segmentId)
+    segment.setLoadStatus(CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS)
+    new SegmentCompactionCost(segment, size, files, deleteRatio, policy.getTier(size))
+  }
+
+  private def select(costs: Seq[SegmentCompactionCost]): Seq[String] = {
+    policy.selectSegmentsToMerge(costs.asJava, 64 * MB).asScala.map(_.getSegment.getLoadName)
+  }
+
+  test("tier of a segment grows by fanout times its size") {
+    assert(policy.getTier(0) == 0)
+    assert(policy.getTier(3 * MB - 1) == 0)
+    assert(policy.getTier(3 * MB) == 1)
+    assert(policy.getTier(9 * MB - 1) == 1)
+    assert(policy.getTier(9 * MB) == 2)
+    assert(policy.getTier(Long.MaxValue) > 0)
+  }
+
+  test("segments are not merged till a tier has fanout consecutive segments") {
+    val costs = Seq(cost("0", MB, 1), cost("1", 4 * MB, 1), cost("2", MB, 1), cost("3", MB, 1))
+    assert(select(costs).isEmpty)
+    assert(policy.getBacklogSegments(costs.asJava) == 0)
+  }
+
+  test("consecutive segments of same tier are merged") {
+    val costs = Seq(cost("0", 4 * MB, 1), cost("1", MB, 1), cost("2", MB, 1), cost("3", MB, 1))
+    assert(select(costs) == Seq("1", "2", "3"))
+    assert(policy.getBacklogSegments(costs.asJava) == 3)
+    assert(policy.getBacklogBytes(costs.asJava) == 3 * MB)
+  }
+
+  test("merge reducing query cost most for each byte is selected first") {
+    val costs = Seq(cost("0", 4 * MB, 2), cost("1", 4 * MB, 2), cost("2", 4 * MB, 2),
+      cost("3", 2 * MB, 1), cost("4", 2 * MB, 1), cost("5", 2 * MB, 1, 1))
+    assert(select(costs) == Seq("3", "4", "5"))
+  }
+
+  test("number of segments in a merge is limited") {
+    val costs = (0 until 6).map(i => cost(i.toString, MB, 1, if (i == 5) 1 else 0))
+    assert(select(costs) == Seq("2", "3", "4", "5"))
+  }
+
+  test("segments are not merged when merge does not reduce number of files") {
+    val costs = Seq(cost("0", 4 * MB, 1), cost("1", 4 * MB, 1), cost("2", 4 * MB, 1))
+    assert(policy.selectSegmentsToMerge(costs.asJava, MB).isEmpty)
+  }
+}
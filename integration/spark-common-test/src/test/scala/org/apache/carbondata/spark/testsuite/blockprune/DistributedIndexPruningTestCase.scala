@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.blockprune
+
+import java.io.{File, PrintWriter}
+
+import scala.collection.JavaConverters._
+
+import org.apache.hadoop.conf.Configuration
+import org.apache.hadoop.mapreduce.Job
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.common.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.metadata.CarbonMetadata
+import org.apache.carbondata.core.metadata.datatype.DataType
+import org.apache.carbondata.core.scan.expression.{ColumnExpression, Expression, LiteralExpression}
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.hadoop.{CarbonInputFormat, CarbonInputSplit}
+import org.apache.carbondata.spark.rdd.DistributedCarbonIndexPruner
+
+/**
+ * FT for pruning the blocks of a query on the executors
+ */
+class DistributedIndexPruningTestCase extends QueryTest with BeforeAndAfterAll {
+
+  private val names = Seq("a", "b", "c")
+
+  private def dataFile(name: String) =
+    new File(System.getProperty("java.io.tmpdir"), s"distributedpruning_$name.csv")
+      .getCanonicalPath
+
+  override def beforeAll {
+    sql("DROP TABLE IF EXISTS distributedpruning")
+    sql("CREATE TABLE distributedpruning (name string, id int) " +
+        "STORED BY 'org.apache.carbondata.format'")
+    // every segment has a single name, so a filter on the name prunes the other segments
+    names.foreach { name =>
+      val writer = new PrintWriter(new File(dataFile(name)))
+      try {
+        writer.println("name,id")
+        (1 to 100).foreach(i => writer.println(s"$name,$i"))
+      } finally {
+        writer.close()
+      }
+      sql(s"LOAD DATA LOCAL INPATH '${ dataFile(name) }' INTO TABLE distributedpruning")
+    }
+  }
+
+  private def withDistributedPruning[T](enable: Boolean)(f: => T): T = {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_DISTRIBUTED_INDEX_PRUNING_ENABLE,
+        enable.toString)
+    try {
+      f
+    } finally {
+      CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_DISTRIBUTED_INDEX_PRUNING_ENABLE,
+          CarbonCommonConstants.CARBON_DISTRIBUTED_INDEX_PRUNING_ENABLE_DEFAULT)
+    }
+  }
+
+  private def getSplits(filter: Expression, distributed: Boolean) = {
+    val carbonTable = CarbonMetadata.getInstance().getCarbonTable("default_distributedpruning")
+    val identifier = carbonTable.getAbsoluteTableIdentifier
+    val job = Job.getInstance(new Configuration())
+    CarbonInputFormat.setCarbonTable(job.getConfiguration, carbonTable)
+    CarbonInputFormat.setTablePath(job.getConfiguration,
+      identifier.appendWithLocalPrefix(identifier.getTablePath))
+    CarbonInputFormat.setFilterPredicates(job.getConfiguration, filter)
+    val format = new CarbonInputFormat[Object]
+    if (distributed) {
+      format.setDistributedIndexPruner(new DistributedCarbonIndexPruner(sqlContext.sparkContext))
+    }
+    format.getSplits(job).asScala.map { split =>
+      val carbonSplit = split.asInstanceOf[CarbonInputSplit]
+      (carbonSplit.getSegmentId, carbonSplit.getPath.toString, carbonSplit.getStart,
+        carbonSplit.getLength, carbonSplit.getStartBlockletIndex,
+        carbonSplit.getNumberOfBlockletsToScan)
+    }.sorted
+  }
+
+  private def nameFilter(name: String): Expression = {
+    new EqualToExpression(new ColumnExpression("name", DataType.STRING),
+      new LiteralExpression(name, DataType.STRING))
+  }
+
+  test("blocks pruned on the executors are the blocks pruned in the driver") {
+    val prunedSplits = getSplits(nameFilter("b"), distributed = false)
+    assert(prunedSplits.nonEmpty)
+    assert(prunedSplits.forall(_._1 == "1"))
+    assert(getSplits(nameFilter("b"), distributed = true) == prunedSplits)
+    assert(getSplits(null, distributed = true) == getSplits(null, distributed = false))
+  }
+
+  test("query gives the same result with the blocks pruned on the executors") {
+    val queries = Seq(
+      "select count(*) from distributedpruning",
+      "select name, count(*), sum(id) from distributedpruning where name = 'b' group by name",
+      "select name, id from distributedpruning where name <> 'a' and id < 10")
+    queries.foreach { query =>
+      val expected = withDistributedPruning(enable = false) {
+        sql(query).collect()
+      }
+      withDistributedPruning(enable = true) {
+        checkAnswer(sql(query), expected)
+      }
+    }
+  }
+
+  test("deleted segment is not pruned on the executors") {
+    // the executors cache the index of the segment before it is deleted
+    withDistributedPruning(enable = true) {
+      checkAnswer(sql("select count(*) from distributedpruning where name = 'b'"), Seq(Row(100)))
+    }
+    sql("DELETE SEGMENT 1 FROM TABLE distributedpruning")
+    assert(getSplits(nameFilter("b"), distributed = true).isEmpty)
+    withDistributedPruning(enable = true) {
+      checkAnswer(sql("select count(*) from distributedpruning where name = 'b'"), Seq(Row(0)))
+      checkAnswer(sql("select count(*) from distributedpruning"), Seq(Row(200)))
+    }
+  }
+
+  override def afterAll {
+    sql("DROP TABLE IF EXISTS distributedpruning")
+    names.foreach(name => new File(dataFile(name)).delete())
+  }
+}
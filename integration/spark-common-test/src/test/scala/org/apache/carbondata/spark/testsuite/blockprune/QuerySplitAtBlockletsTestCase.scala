@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.blockprune
+
+import java.io.{File, PrintWriter}
+
+import scala.util.Random
+
+import org.apache.hadoop.conf.Configuration
+import org.apache.hadoop.mapreduce.Job
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.common.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.metadata.CarbonMetadata
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.hadoop.CarbonInputFormat
+
+/**
+ * FT for the query splits scanning a range of the blocklets of a block
+ */
+class QuerySplitAtBlockletsTestCase extends QueryTest with BeforeAndAfterAll {
+
+  private val numberOfRows = 3000
+
+  private val dataFile =
+    new File(System.getProperty("java.io.tmpdir"), "splitatblocklets.csv").getCanonicalPath
+
+  private val queries = Seq(
+    "select count(*) from splitatblocklets",
+    "select count(*) from splitatblocklets where id > 1000",
+    "select name, count(*) from splitatblocklets group by name",
+    "select id, name from splitatblocklets where id > 1500 and id <= 2500",
+    "select id, name from splitatblocklets where name = 'n3' and id < 2000")
+
+  override def beforeAll {
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.BLOCKLET_SIZE_IN_MB, "1")
+    // rows of 1 KB which do not compress, so the block has several blocklets of 1 MB
+    val random = new Random(0)
+    val writer = new PrintWriter(new File(dataFile))
+    try {
+      writer.println("id,name,text")
+      (1 to numberOfRows).foreach { i =>
+        writer.println(s"$i,n${ i % 10 },${ random.alphanumeric.take(1024).mkString }")
+      }
+    } finally {
+      writer.close()
+    }
+    sql("DROP TABLE IF EXISTS splitatblocklets")
+    sql("CREATE TABLE splitatblocklets (id int, name string, text string) " +
+        "STORED BY 'org.apache.carbondata.format' " +
+        "TBLPROPERTIES('DICTIONARY_INCLUDE'='id', 'DICTIONARY_EXCLUDE'='text')")
+    sql(s"LOAD DATA LOCAL INPATH '$dataFile' INTO TABLE splitatblocklets " +
+        "OPTIONS('DELIMITER'= ',', 'QUOTECHAR'= '\"')")
+  }
+
+  private def withSplitSize[T](splitSizeInMB: String)(f: => T): T = {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_QUERY_SPLIT_SIZE_IN_MB, splitSizeInMB)
+    try {
+      f
+    } finally {
+      CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_QUERY_SPLIT_SIZE_IN_MB,
+          CarbonCommonConstants.CARBON_QUERY_SPLIT_SIZE_IN_MB_DEFAULT)
+    }
+  }
+
+  private def getNumberOfSplits(maxSplitSize: Long): Int = {
+    val carbonTable = CarbonMetadata.getInstance().getCarbonTable("default_splitatblocklets")
+    val identifier = carbonTable.getAbsoluteTableIdentifier
+    val job = Job.getInstance(new Configuration())
+    CarbonInputFormat.setCarbonTable(job.getConfiguration, carbonTable)
+    CarbonInputFormat.setTablePath(job.getConfiguration,
+      identifier.appendWithLocalPrefix(identifier.getTablePath))
+    CarbonInputFormat.setMaxSplitSize(job.getConfiguration, maxSplitSize)
+    new CarbonInputFormat[Object].getSplits(job).size()
+  }
+
+  test("blocks bigger than the split size are split at blocklets") {
+    assert(getNumberOfSplits(1024 * 1024) > getNumberOfSplits(0))
+  }
+
+  test("split blocks give the same result as the whole blocks") {
+    queries.foreach { query =>
+      val expected = withSplitSize("0") {
+        sql(query).collect()
+      }
+      withSplitSize("1") {
+        checkAnswer(sql(query), expected)
+      }
+    }
+  }
+
+  test("count star on split blocks counts every row once") {
+    withSplitSize("1") {
+      checkAnswer(sql("select count(*) from splitatblocklets"), Seq(Row(numberOfRows)))
+      checkAnswer(sql("select count(*) from splitatblocklets where id > 1000"),
+        Seq(Row(numberOfRows - 1000)))
+    }
+  }
+
+  override def afterAll {
+    sql("DROP TABLE IF EXISTS splitatblocklets")
+    new File(dataFile).delete()
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.BLOCKLET_SIZE_IN_MB,
+      CarbonCommonConstants.BLOCKLET_SIZE_IN_MB_DEFAULT_VAL)
+  }
+}
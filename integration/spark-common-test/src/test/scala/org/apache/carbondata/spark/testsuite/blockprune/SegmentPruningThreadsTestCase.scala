@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.blockprune
+
+import java.io.{File, PrintWriter}
+
+import scala.collection.JavaConverters._
+
+import org.apache.hadoop.conf.Configuration
+import org.apache.hadoop.mapreduce.Job
+import org.apache.spark.sql.common.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.metadata.CarbonMetadata
+import org.apache.carbondata.core.metadata.datatype.DataType
+import org.apache.carbondata.core.scan.expression.{ColumnExpression, Expression, LiteralExpression}
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.hadoop.{CarbonInputFormat, CarbonInputSplit}
+
+/**
+ * FT for pruning the segments of a query in the driver with several threads
+ */
+class SegmentPruningThreadsTestCase extends QueryTest with BeforeAndAfterAll {
+
+  private val numberOfSegments = 6
+
+  private def dataFile(segment: Int) =
+    new File(System.getProperty("java.io.tmpdir"), s"segmentpruningthreads_$segment.csv")
+      .getCanonicalPath
+
+  override def beforeAll {
+    sql("DROP TABLE IF EXISTS segmentpruningthreads")
+    sql("CREATE TABLE segmentpruningthreads (name string, id int) " +
+        "STORED BY 'org.apache.carbondata.format'")
+    // ids of a segment are after the ids of the previous segment
+    (0 until numberOfSegments).foreach { segment =>
+      val writer = new PrintWriter(new File(dataFile(segment)))
+      try {
+        writer.println("name,id")
+        (1 to 100).foreach(i => writer.println(s"n${ i % 7 },${ segment * 100 + i }"))
+      } finally {
+        writer.close()
+      }
+      sql(s"LOAD DATA LOCAL INPATH '${ dataFile(segment) }' INTO TABLE segmentpruningthreads")
+    }
+  }
+
+  private def withPruningThreads[T](numberOfThreads: String)(f: => T): T = {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_DRIVER_SEGMENT_PRUNING_THREADS, numberOfThreads)
+    try {
+      f
+    } finally {
+      CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_DRIVER_SEGMENT_PRUNING_THREADS,
+          CarbonCommonConstants.CARBON_DRIVER_SEGMENT_PRUNING_THREADS_DEFAULT)
+    }
+  }
+
+  /**
+   * splits of the query in the order they are returned by the input format
+   */
+  private def getSplits(filter: Expression) = {
+    val carbonTable =
+      CarbonMetadata.getInstance().getCarbonTable("default_segmentpruningthreads")
+    val identifier = carbonTable.getAbsoluteTableIdentifier
+    val job = Job.getInstance(new Configuration())
+    CarbonInputFormat.setCarbonTable(job.getConfiguration, carbonTable)
+    CarbonInputFormat.setTablePath(job.getConfiguration,
+      identifier.appendWithLocalPrefix(identifier.getTablePath))
+    CarbonInputFormat.setFilterPredicates(job.getConfiguration, filter)
+    new CarbonInputFormat[Object].getSplits(job).asScala.map { split =>
+      val carbonSplit = split.asInstanceOf[CarbonInputSplit]
+      (carbonSplit.getSegmentId, carbonSplit.getPath.toString, carbonSplit.getStart,
+        carbonSplit.getLength, carbonSplit.getStartBlockletIndex,
+        carbonSplit.getNumberOfBlockletsToScan)
+    }.toList
+  }
+
+  private def idFilter(id: Int): Expression = {
+    new GreaterThanExpression(new ColumnExpression("id", DataType.INT),
+      new LiteralExpression(id, DataType.INT))
+  }
+
+  test("splits pruned by several threads are the splits pruned serially in the same order") {
+    Seq(null, idFilter(250)).foreach { filter =>
+      val serialSplits = withPruningThreads("1") {
+        getSplits(filter)
+      }
+      assert(serialSplits.map(_._1).distinct.size > 1)
+      withPruningThreads("4") {
+        assert(getSplits(filter) == serialSplits)
+      }
+      // the pool is resized when the number of threads is changed again
+      withPruningThreads("2") {
+        assert(getSplits(filter) == serialSplits)
+      }
+    }
+  }
+
+  test("query gives the same result with the segments pruned by several threads") {
+    val queries = Seq(
+      "select count(*) from segmentpruningthreads",
+      "select name, count(*), sum(id) from segmentpruningthreads where id > 250 group by name",
+      "select name, id from segmentpruningthreads where id > 480 and id < 520")
+    queries.foreach { query =>
+      val expected = withPruningThreads("1") {
+        sql(query).collect()
+      }
+      withPruningThreads("4") {
+        checkAnswer(sql(query), expected)
+      }
+    }
+  }
+
+  override def afterAll {
+    sql("DROP TABLE IF EXISTS segmentpruningthreads")
+    (0 until numberOfSegments).foreach(segment => new File(dataFile(segment)).delete())
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.datacompaction
+
+import java.io.{File, PrintWriter}
+import java.util.Collections
+
+import scala.collection.JavaConverters._
+
+import org.apache.hadoop.conf.Configuration
+import org.apache.hadoop.mapreduce.Job
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.common.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.datastore.block.SegmentProperties
+import org.apache.carbondata.core.metadata.CarbonMetadata
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter
+import org.apache.carbondata.core.util.{CarbonProperties, CarbonUtil}
+import org.apache.carbondata.core.util.path.CarbonTablePath
+import org.apache.carbondata.hadoop.{CarbonInputFormat, CarbonInputSplit}
+import org.apache.carbondata.spark.merger.{CarbonCompactionUtil, PassThroughBlockletPlanner}
+
+/**
+ * FT for compaction where the blocklets of segments with non overlapping keys are copied to
+ * the merged segment and the overlapping ones are merged
+ */
+class PassThroughCompactionTest extends QueryTest with BeforeAndAfterAll {
+
+  private val dataPath =
+    new File(System.getProperty("java.io.tmpdir"), "passthroughcompaction").getCanonicalPath
+
+  /**
+   * segment of each blocklet planned to be copied and the number of blocklets of each segment
+   * of each table, planned before the table is compacted
+   */
+  private var plans: Map[String, (Seq[String], Map[String, Int])] = Map.empty
+
+  override def beforeAll {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.COMPACTION_PASS_THROUGH_ENABLE, "true")
+    // segments of 100 rows have 2 blocklets
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.BLOCKLET_SIZE, "50")
+    new File(dataPath).mkdirs()
+    // first two files do not overlap, third one overlaps with the first one
+    writeCsv("data1.csv", (1 to 100).map(i => f"a$i%03d"))
+    writeCsv("data2.csv", (1 to 100).map(i => f"b$i%03d"))
+    writeCsv("data3.csv", (1 to 50).map(i => f"a$i%03d"))
+    // new names taking the cardinality of name over a byte, so the key of the segments differ
+    writeCsv("data4.csv", (1 to 300).map(i => f"c$i%03d"))
+    sql("drop table if exists passthrough")
+    sql("drop table if exists passthrough_merged")
+    sql("drop table if exists passthrough_layout")
+    createAndLoad("passthrough", Seq("data1.csv", "data2.csv"))
+    createAndLoad("passthrough_merged", Seq("data1.csv", "data2.csv", "data3.csv"))
+    createAndLoad("passthrough_layout", Seq("data1.csv", "data4.csv"))
+    plans = Seq("passthrough", "passthrough_merged", "passthrough_layout")
+      .map(tableName => tableName -> planPassThroughBlocklets(tableName)).toMap
+    sql("alter table passthrough compact 'major'")
+    sql("alter table passthrough_merged compact 'major'")
+    sql("alter table passthrough_layout compact 'major'")
+  }
+
+  private def writeCsv(fileName: String, names: Seq[String]): Unit = {
+    val writer = new PrintWriter(new File(dataPath, fileName))
+    try {
+      writer.println("name,city,salary")
+      names.zipWithIndex.foreach { case (name, i) => writer.println(s"$name,city${ i % 5 },$i") }
+    } finally {
+      writer.close()
+    }
+  }
+
+  private def createAndLoad(tableName: String, files: Seq[String]): Unit = {
+    sql(s"CREATE TABLE $tableName (name String, city String, salary Int) " +
+        "STORED BY 'org.apache.carbondata.format'")
+    files.foreach { file =>
+      sql(s"LOAD DATA LOCAL INPATH '$dataPath/$file' INTO TABLE $tableName " +
+          "OPTIONS('DELIMITER'= ',', 'QUOTECHAR'= '\"')")
+    }
+  }
+
+  /**
+   * Plans the blocklets of all the segments of the table to be copied like the major compaction
+   * does, each task of a segment being a sorted run
+   *
+   * @return segment of each blocklet to be copied and the number of blocklets of each segment
+   */
+  private def planPassThroughBlocklets(tableName: String): (Seq[String], Map[String, Int]) = {
+    val carbonTable = CarbonMetadata.getInstance().getCarbonTable(s"default_$tableName")
+    val identifier = carbonTable.getAbsoluteTableIdentifier
+    val job = Job.getInstance(new Configuration())
+    CarbonInputFormat.setCarbonTable(job.getConfiguration, carbonTable)
+    CarbonInputFormat.setTablePath(job.getConfiguration,
+      identifier.appendWithLocalPrefix(identifier.getTablePath))
+    val splits = new CarbonInputFormat[Object].getSplits(job).asScala
+      .map(_.asInstanceOf[CarbonInputSplit])
+    val blocks = CarbonInputSplit.createBlocks(splits.asJava)
+    Collections.sort(blocks)
+    // the merged segment has the cardinality of the latest block
+    val latestFooter = CarbonUtil.readMetadatFile(blocks.get(blocks.size() - 1))
+    val planner = new PassThroughBlockletPlanner(getSegmentProperties(latestFooter))
+    val footers = CarbonCompactionUtil.createDataFileFooterMappingForSegments(blocks)
+    CarbonCompactionUtil.createMappingForSegments(blocks).asScala.foreach {
+      case (segmentId, taskBlockInfo) =>
+        val sourceSegProperties = getSegmentProperties(footers.get(segmentId).get(0))
+        taskBlockInfo.getTaskSet.asScala.foreach { task =>
+          val taskBlocks = taskBlockInfo.getTableBlockInfoList(task)
+          Collections.sort(taskBlocks)
+          planner.addRun(taskBlocks, sourceSegProperties)
+        }
+    }
+    planner.plan()
+    val passThroughSegments = planner.getPassThroughBlocklets.asScala
+      .map(blocklet => CarbonTablePath.DataPathUtil.getSegmentId(blocklet.getFilePath))
+    val numberOfBlocklets = footers.asScala.map { case (segmentId, segmentFooters) =>
+      segmentId -> segmentFooters.asScala.map(_.getBlockletList.size()).sum
+    }.toMap
+    (passThroughSegments, numberOfBlocklets)
+  }
+
+  private def getSegmentProperties(footer: DataFileFooter): SegmentProperties = {
+    new SegmentProperties(footer.getColumnInTable, footer.getSegmentInfo.getColumnCardinality)
+  }
+
+  test("blocklets of segments not overlapping are all copied") {
+    val (passThroughSegments, numberOfBlocklets) = plans("passthrough")
+    assert(numberOfBlocklets.values.sum > 2)
+    assert(passThroughSegments.size == numberOfBlocklets.values.sum)
+    assert(passThroughSegments.toSet == Set("0", "1"))
+  }
+
+  test("copied blocklets give the same result after compaction") {
+    checkAnswer(sql("select count(*) from passthrough"), Seq(Row(200)))
+    checkAnswer(sql("select name, city, salary from passthrough where name = 'b050'"),
+      Seq(Row("b050", "city4", 49)))
+    checkAnswer(sql("select count(*) from passthrough where name >= 'a090' and name < 'b011'"),
+      Seq(Row(21)))
+  }
+
+  test("only the blocklets not overlapping with another segment are copied") {
+    val (passThroughSegments, numberOfBlocklets) = plans("passthrough_merged")
+    assert(passThroughSegments.size < numberOfBlocklets.values.sum)
+    // the second segment does not overlap, the third one is inside the range of the first one
+    assert(passThroughSegments.count(_ == "1") == numberOfBlocklets("1"))
+    assert(!passThroughSegments.contains("2"))
+  }
+
+  test("copied and merged blocklets give the same result after compaction") {
+    checkAnswer(sql("select count(*) from passthrough_merged"), Seq(Row(250)))
+    checkAnswer(sql("select count(*) from passthrough_merged where name = 'a050'"),
+      Seq(Row(2)))
+    checkAnswer(sql("select count(*) from passthrough_merged where name = 'a051'"),
+      Seq(Row(1)))
+    checkAnswer(sql("select sum(salary) from passthrough_merged where name like 'b%'"),
+      sql("select sum(salary) from passthrough_merged where name >= 'b'"))
+  }
+
+  test("no blocklet is copied when the key of the segments differ") {
+    val (passThroughSegments, numberOfBlocklets) = plans("passthrough_layout")
+    assert(numberOfBlocklets.values.sum > 0)
+    assert(passThroughSegments.isEmpty)
+    checkAnswer(sql("select count(*) from passthrough_layout"), Seq(Row(400)))
+    checkAnswer(sql("select name, city, salary from passthrough_layout where name = 'c300'"),
+      Seq(Row("c300", "city4", 299)))
+    checkAnswer(sql("select count(*) from passthrough_layout where name like 'a%'"),
+      Seq(Row(100)))
+  }
+
+  override def afterAll {
+    sql("drop table if exists passthrough")
+    sql("drop table if exists passthrough_merged")
+    sql("drop table if exists passthrough_layout")
+    new File(dataPath).listFiles().foreach(_.delete())
+    new File(dataPath).delete()
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.COMPACTION_PASS_THROUGH_ENABLE,
+        CarbonCommonConstants.COMPACTION_PASS_THROUGH_ENABLE_DEFAULT)
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.BLOCKLET_SIZE,
+      CarbonCommonConstants.BLOCKLET_SIZE_DEFAULT_VAL)
+  }
+}
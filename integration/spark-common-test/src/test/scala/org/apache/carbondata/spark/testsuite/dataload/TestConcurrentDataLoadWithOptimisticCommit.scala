@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.dataload
+
+import java.util
+import java.util.concurrent.{Callable, Executors}
+
+import org.apache.spark.sql.common.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.locks.{CarbonLockFactory, LockUsage}
+import org.apache.carbondata.core.metadata.CarbonTableIdentifier
+import org.apache.carbondata.core.util.CarbonProperties
+
+/**
+ * Test Class for the concurrent data loads of a table with optimistic commit of table status
+ */
+class TestConcurrentDataLoadWithOptimisticCommit extends QueryTest with BeforeAndAfterAll {
+
+  private val executorService = Executors.newFixedThreadPool(2)
+
+  override def beforeAll {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_OPTIMISTIC_COMMIT_ENABLE, "true")
+    sql("DROP TABLE IF EXISTS concurrent_load")
+    sql("DROP TABLE IF EXISTS concurrent_load_reference")
+    sql(
+      "CREATE TABLE concurrent_load (ID int, date String, country String, name String, " +
+      "phonetype String, serialname String, salary int) STORED BY 'org.apache.carbondata.format'")
+    sql(
+      "CREATE TABLE concurrent_load_reference (ID int, date String, country String, " +
+      "name String, phonetype String, serialname String, salary int) " +
+      "STORED BY 'org.apache.carbondata.format'")
+  }
+
+  override def afterAll {
+    executorService.shutdownNow()
+    sql("DROP TABLE IF EXISTS concurrent_load")
+    sql("DROP TABLE IF EXISTS concurrent_load_reference")
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_OPTIMISTIC_COMMIT_ENABLE,
+        CarbonCommonConstants.CARBON_TABLE_STATUS_OPTIMISTIC_COMMIT_ENABLE_DEFAULT)
+  }
+
+  test("concurrent loads of a table commit distinct segments without the metadata lock") {
+    val loadQuery = s"LOAD DATA LOCAL INPATH '$resourcesPath/dataretention1.csv' INTO TABLE " +
+                    "concurrent_load OPTIONS('DELIMITER' = ',')"
+    // the metadata lock is held during the loads, they only wait for each other's segment id
+    val metadataLock = CarbonLockFactory.getCarbonLockObj(
+      new CarbonTableIdentifier("default", "concurrent_load", ""), LockUsage.METADATA_LOCK)
+    assert(metadataLock.lockWithRetries())
+    try {
+      val tasks = new util.ArrayList[Callable[String]]()
+      tasks.add(new QueryTask(loadQuery))
+      tasks.add(new QueryTask(loadQuery))
+      val results = executorService.invokeAll(tasks)
+      for (i <- 0 until tasks.size()) {
+        assert("PASS".equals(results.get(i).get))
+      }
+    } finally {
+      metadataLock.unlock()
+    }
+    val segments = sql("SHOW SEGMENTS FOR TABLE concurrent_load").collect()
+    assert(segments.map(_.getString(0)).sorted.toSeq == Seq("0", "1"))
+    assert(segments.forall(_.getString(1) == CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS))
+    // no segment of a load is deleted as stale by the other load
+    sql(s"LOAD DATA LOCAL INPATH '$resourcesPath/dataretention1.csv' INTO TABLE " +
+        "concurrent_load_reference OPTIONS('DELIMITER' = ',')")
+    sql(s"LOAD DATA LOCAL INPATH '$resourcesPath/dataretention1.csv' INTO TABLE " +
+        "concurrent_load_reference OPTIONS('DELIMITER' = ',')")
+    checkAnswer(sql("SELECT ID, name, salary FROM concurrent_load"),
+      sql("SELECT ID, name, salary FROM concurrent_load_reference"))
+  }
+
+  class QueryTask(query: String) extends Callable[String] {
+    override def call(): String = {
+      var result = "PASS"
+      try {
+        LOGGER.info("Executing :" + Thread.currentThread().getName)
+        sql(query)
+      } catch {
+        case e: Exception =>
+          LOGGER.error(e, "Concurrent load failed")
+          result = "FAIL"
+      }
+      result
+    }
+  }
+
+}
@@ -28,6 +28,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -47,7 +48,6 @@ import org.apache.carbondata.core.cache.dictionary.DictionaryColumnUniqueIdentif
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.block.Distributable;
 import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
-import org.apache.carbondata.core.datastore.filesystem.CarbonFileFilter;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.datastore.impl.FileFactory.FileType;
 import org.apache.carbondata.core.fileoperations.AtomicFileOperations;
@@ -63,6 +63,7 @@ import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.mutate.CarbonUpdateUtil;
 import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
 import org.apache.carbondata.core.statusmanager.SegmentStatusManager;
+import org.apache.carbondata.core.statusmanager.TableStatusLog;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.path.CarbonStorePath;
@@ -197,7 +198,6 @@ public final class CarbonLoaderUtil {
       final boolean isCompactionFlow) throws IOException {
     CarbonTable carbonTable = loadModel.getCarbonDataLoadSchema().getCarbonTable();
     String metaDataLocation = carbonTable.getMetaDataFilepath();
-    final LoadMetadataDetails[] details = SegmentStatusManager.readLoadMetadata(metaDataLocation);
     CarbonTablePath carbonTablePath = CarbonStorePath
         .getCarbonTablePath(loadModel.getStorePath(), carbonTable.getCarbonTableIdentifier());
 
@@ -208,31 +208,32 @@ public final class CarbonLoaderUtil {
       FileType fileType = FileFactory.getFileType(partitionPath);
       if (FileFactory.isFileExist(partitionPath, fileType)) {
         CarbonFile carbonFile = FileFactory.getCarbonFile(partitionPath, fileType);
-        CarbonFile[] listFiles = carbonFile.listFiles(new CarbonFileFilter() {
-          @Override public boolean accept(CarbonFile path) {
-            String segmentId =
-                CarbonTablePath.DataPathUtil.getSegmentId(path.getAbsolutePath() + "/dummy");
-            boolean found = false;
-            for (int j = 0; j < details.length; j++) {
-              if (details[j].getLoadName().equals(segmentId) && details[j].getPartitionCount()
-                  .equals(partitionCount)) {
-                found = true;
-                break;
-              }
-            }
-            return !found;
+        // the segments are listed before reading the table status, so the segment of a load
+        // running concurrently without the metadata lock is either claimed or committed
+        CarbonFile[] segmentFiles = carbonFile.listFiles();
+        Set<String> entrySegmentIds = TableStatusLog.isOptimisticCommitEnabled() ?
+            TableStatusLog.getEntrySegmentIds(metaDataLocation) :
+            Collections.<String>emptySet();
+        LoadMetadataDetails[] details = SegmentStatusManager.readLoadMetadata(metaDataLocation);
+        Set<String> loadNames = new HashSet<String>(entrySegmentIds);
+        for (LoadMetadataDetails loadMetadataDetails : details) {
+          if (loadMetadataDetails.getPartitionCount().equals(partitionCount)) {
+            loadNames.add(loadMetadataDetails.getLoadName());
           }
-        });
-        for (int k = 0; k < listFiles.length; k++) {
+        }
+        for (CarbonFile segmentFile : segmentFiles) {
           String segmentId =
-              CarbonTablePath.DataPathUtil.getSegmentId(listFiles[k].getAbsolutePath() + "/dummy");
+              CarbonTablePath.DataPathUtil.getSegmentId(segmentFile.getAbsolutePath() + "/dummy");
+          if (loadNames.contains(segmentId)) {
+            continue;
+          }
           if (isCompactionFlow) {
             if (segmentId.contains(".")) {
-              deleteStorePath(listFiles[k].getAbsolutePath());
+              deleteStorePath(segmentFile.getAbsolutePath());
             }
           } else {
             if (!segmentId.contains(".")) {
-              deleteStorePath(listFiles[k].getAbsolutePath());
+              deleteStorePath(segmentFile.getAbsolutePath());
             }
           }
         }
@@ -359,6 +360,15 @@ public final class CarbonLoaderUtil {
             absoluteTableIdentifier.getCarbonTableIdentifier());
 
     String tableStatusPath = carbonTablePath.getTableStatusFilePath();
+    if (TableStatusLog.isOptimisticCommitEnabled()) {
+      // a new load only appends its details, so it is committed as an entry without the lock
+      loadMetadataDetails.setLoadEndTime(CarbonUpdateUtil.readCurrentTime());
+      loadMetadataDetails.setLoadStatus(loadStatus);
+      loadMetadataDetails.setLoadName(String.valueOf(loadCount));
+      loadMetadataDetails.setLoadStartTime(startLoadTime);
+      TableStatusLog.append(metaDataFilepath, loadMetadataDetails);
+      return true;
+    }
     SegmentStatusManager segmentStatusManager = new SegmentStatusManager(absoluteTableIdentifier);
     ICarbonLock carbonLock = segmentStatusManager.getTableStatusLock();
     try {
@@ -437,7 +447,10 @@ public final class CarbonLoaderUtil {
       CarbonUtil.closeStreams(brWriter);
       writeOperation.close();
     }
-
+    if (TableStatusLog.isOptimisticCommitEnabled()) {
+      TableStatusLog.deleteFoldedEntries(carbonTablePath.getMetadataDirectoryPath(),
+          listOfLoadFolderDetails.toArray(new LoadMetadataDetails[listOfLoadFolderDetails.size()]));
+    }
   }
 
   public static String readCurrentTime() {
@@ -624,7 +637,9 @@ public final class CarbonLoaderUtil {
   }
 
   /**
-   * This will divide the blocks of a node to tasks of the node.
+   * This will divide the blocks of a node to tasks of the node. The biggest blocks are assigned
+   * first, each to the task having the least estimated scan size, so that the tasks of a node
+   * take about the same time.
    *
    * @param outputMap
    * @param key
@@ -635,13 +650,30 @@ public final class CarbonLoaderUtil {
 
     List<List<Distributable>> taskLists = outputMap.get(key);
     int tasksOfNode = taskLists.size();
-    int i = 0;
-    for (Distributable block : blockOfEachNode) {
-
-      taskLists.get(i % tasksOfNode).add(block);
-      i++;
+    List<Distributable> blocks = new ArrayList<Distributable>(blockOfEachNode);
+    // stable sort, so blocks of same size keep their order
+    Collections.sort(blocks, new Comparator<Distributable>() {
+      @Override public int compare(Distributable block1, Distributable block2) {
+        long size1 = block1.getEstimatedScanSize();
+        long size2 = block2.getEstimatedScanSize();
+        return size1 > size2 ? -1 : (size1 < size2 ? 1 : 0);
+      }
+    });
+    long[] taskScanSizes = new long[tasksOfNode];
+    for (Distributable block : blocks) {
+      int task = 0;
+      for (int i = 1; i < tasksOfNode; i++) {
+        if (taskScanSizes[i] < taskScanSizes[task]) {
+          task = i;
+        }
+      }
+      taskLists.get(task).add(block);
+      taskScanSizes[task] += block.getEstimatedScanSize();
+    }
+    // scan the blocks of each task in order
+    for (List<Distributable> taskList : taskLists) {
+      Collections.sort(taskList);
     }
-
   }
 
   /**
@@ -59,6 +59,7 @@ public class CarbonCompactionExecutor {
   private QueryExecutor queryExecutor;
   private CarbonTable carbonTable;
   private QueryModel queryModel;
+  private List<PassThroughBlocklet> passThroughBlocklets = new ArrayList<>();
 
   /**
    * Constructor
@@ -78,15 +79,24 @@ public class CarbonCompactionExecutor {
   /**
    * For processing of the table blocks.
    *
+   * @param isPassThroughAllowed whether blocklets not overlapping with the other segments can
+   *                             be copied to the merged segment without merging
    * @return List of Carbon iterators
    */
-  public List<RawResultIterator> processTableBlocks() throws QueryExecutionException, IOException {
+  public List<RawResultIterator> processTableBlocks(boolean isPassThroughAllowed)
+      throws QueryExecutionException, IOException {
 
     List<RawResultIterator> resultList =
         new ArrayList<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
 
     List<TableBlockInfo> list = null;
     queryModel = prepareQueryModel(list);
+    List<List<TableBlockInfo>> taskBlockLists = new ArrayList<>();
+    List<SegmentProperties> taskSegProperties = new ArrayList<>();
+    PassThroughBlockletPlanner planner = null;
+    if (isPassThroughAllowed) {
+      planner = new PassThroughBlockletPlanner(destinationSegProperties);
+    }
     // iterate each seg ID
     for (Map.Entry<String, TaskBlockInfo> taskMap : segmentMapping.entrySet()) {
       String segmentId = taskMap.getKey();
@@ -106,16 +116,38 @@ public class CarbonCompactionExecutor {
         list = taskBlockInfo.getTableBlockInfoList(task);
         Collections.sort(list);
         LOGGER.info("for task -" + task + "-block size is -" + list.size());
-        queryModel.setTableBlockInfos(list);
-        resultList.add(new RawResultIterator(executeBlockList(list), sourceSegProperties,
-            destinationSegProperties));
-
+        taskBlockLists.add(list);
+        taskSegProperties.add(sourceSegProperties);
+        if (null != planner) {
+          planner.addRun(list, sourceSegProperties);
+        }
+      }
+    }
+    if (null != planner) {
+      planner.plan();
+      passThroughBlocklets = planner.getPassThroughBlocklets();
+    }
+    for (int i = 0; i < taskBlockLists.size(); i++) {
+      list = null == planner ? taskBlockLists.get(i) : planner.getBlocksToMerge(i);
+      // all the blocklets of the task are copied
+      if (list.isEmpty()) {
+        continue;
       }
+      queryModel.setTableBlockInfos(list);
+      resultList.add(new RawResultIterator(executeBlockList(list), taskSegProperties.get(i),
+          destinationSegProperties));
     }
 
     return resultList;
   }
 
+  /**
+   * @return blocklets to be copied to the merged segment without merging, sorted on start key
+   */
+  public List<PassThroughBlocklet> getPassThroughBlocklets() {
+    return passThroughBlocklets;
+  }
+
   /**
    * get executor and execute the query model.
    *
@@ -135,7 +167,9 @@ public class CarbonCompactionExecutor {
    */
   public void finish() {
     try {
-      queryExecutor.finish();
+      if (null != queryExecutor) {
+        queryExecutor.finish();
+      }
     } catch (QueryExecutionException e) {
       LOGGER.error(e, "Problem while finish: ");
     }
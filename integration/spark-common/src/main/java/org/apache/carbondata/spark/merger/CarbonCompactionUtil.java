@@ -29,8 +29,11 @@ import org.apache.carbondata.core.datastore.block.TableBlockInfo;
 import org.apache.carbondata.core.datastore.block.TaskBlockInfo;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
 import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.statusmanager.SegmentUpdateStatusManager;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
 
@@ -267,4 +270,27 @@ public class CarbonCompactionUtil {
     }
     return null;
   }
+
+  /**
+   * Blocklets are copied to the merged segment only when the files are written in version 2
+   * format and the table has no update or delete delta, as the copied blocklets are not
+   * checked for the deleted rows.
+   *
+   * @param carbonTable
+   * @param compactionType
+   * @return true if the blocklets not overlapping with other segments can be copied
+   */
+  public static boolean isPassThroughAllowed(CarbonTable carbonTable,
+      CompactionType compactionType) {
+    boolean isPassThroughEnabled = Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.COMPACTION_PASS_THROUGH_ENABLE,
+            CarbonCommonConstants.COMPACTION_PASS_THROUGH_ENABLE_DEFAULT));
+    if (!isPassThroughEnabled || compactionType == CompactionType.IUD_UPDDEL_DELTA_COMPACTION
+        || CarbonProperties.getInstance().getFormatVersion() != ColumnarFormatVersion.V2) {
+      return false;
+    }
+    SegmentUpdateStatusManager updateStatusManager =
+        new SegmentUpdateStatusManager(carbonTable.getAbsoluteTableIdentifier());
+    return updateStatusManager.getUpdateStatusDetails().length == 0;
+  }
 }
@@ -754,7 +754,7 @@ public final class CarbonDataMergerUtil {
    * @param segments
    * @return
    */
-  private static List<LoadMetadataDetails> checkPreserveSegmentsPropertyReturnRemaining(
+  static List<LoadMetadataDetails> checkPreserveSegmentsPropertyReturnRemaining(
       List<LoadMetadataDetails> segments) {
     // check whether the preserving of the segments from merging is enabled or not.
     // get the number of loads to be preserved.
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.merger;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+
+/**
+ * Metrics of the background compaction, registered in the platform MBean server as
+ * org.apache.carbondata:type=CompactionScheduler
+ */
+public final class CompactionSchedulerMetrics implements CompactionSchedulerMetricsMXBean {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(CompactionSchedulerMetrics.class.getName());
+
+  private static final String OBJECT_NAME = "org.apache.carbondata:type=CompactionScheduler";
+
+  private static final CompactionSchedulerMetrics INSTANCE = new CompactionSchedulerMetrics();
+
+  /**
+   * backlog segments and bytes of each table
+   */
+  private Map<String, long[]> tableBacklog = new ConcurrentHashMap<>();
+
+  private AtomicLong completedCompactions = new AtomicLong();
+
+  private AtomicLong failedCompactions = new AtomicLong();
+
+  private AtomicLong mergedSegments = new AtomicLong();
+
+  private AtomicLong mergedBytes = new AtomicLong();
+
+  private AtomicLong compactionTimeInMillis = new AtomicLong();
+
+  private volatile long lastCompactionTime;
+
+  private CompactionSchedulerMetrics() {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(this, name);
+      }
+    } catch (JMException e) {
+      LOGGER.error(e, "Failed to register the compaction scheduler metrics");
+    }
+  }
+
+  public static CompactionSchedulerMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Sets the segments of the table which are waiting to be merged
+   */
+  public void setBacklog(String tableUniqueName, long segments, long bytes) {
+    tableBacklog.put(tableUniqueName, new long[] { segments, bytes });
+  }
+
+  /**
+   * Records a finished compaction
+   */
+  public void compactionFinished(int segments, long bytes, long timeInMillis, boolean success) {
+    if (success) {
+      completedCompactions.incrementAndGet();
+      mergedSegments.addAndGet(segments);
+      mergedBytes.addAndGet(bytes);
+    } else {
+      failedCompactions.incrementAndGet();
+    }
+    compactionTimeInMillis.addAndGet(timeInMillis);
+    lastCompactionTime = System.currentTimeMillis();
+  }
+
+  @Override public long getBacklogSegments() {
+    long backlog = 0;
+    for (long[] tableBacklogValue : tableBacklog.values()) {
+      backlog += tableBacklogValue[0];
+    }
+    return backlog;
+  }
+
+  @Override public long getBacklogBytes() {
+    long backlog = 0;
+    for (long[] tableBacklogValue : tableBacklog.values()) {
+      backlog += tableBacklogValue[1];
+    }
+    return backlog;
+  }
+
+  @Override public long getCompletedCompactions() {
+    return completedCompactions.get();
+  }
+
+  @Override public long getFailedCompactions() {
+    return failedCompactions.get();
+  }
+
+  @Override public long getMergedSegments() {
+    return mergedSegments.get();
+  }
+
+  @Override public long getMergedBytes() {
+    return mergedBytes.get();
+  }
+
+  @Override public long getThroughputBytesPerSecond() {
+    long timeInMillis = compactionTimeInMillis.get();
+    return timeInMillis == 0 ? 0 : mergedBytes.get() * 1000 / timeInMillis;
+  }
+
+  @Override public long getLastCompactionTime() {
+    return lastCompactionTime;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.merger;
+
+/**
+ * Backlog and throughput of the background compaction, exposed through JMX
+ */
+public interface CompactionSchedulerMetricsMXBean {
+
+  /**
+   * @return number of segments waiting to be merged in all the tables
+   */
+  long getBacklogSegments();
+
+  /**
+   * @return size of the segments waiting to be merged in all the tables
+   */
+  long getBacklogBytes();
+
+  long getCompletedCompactions();
+
+  long getFailedCompactions();
+
+  long getMergedSegments();
+
+  long getMergedBytes();
+
+  /**
+   * @return bytes merged for each second spent in compaction
+   */
+  long getThroughputBytesPerSecond();
+
+  /**
+   * @return time at which the last compaction finished, 0 if none
+   */
+  long getLastCompactionTime();
+}
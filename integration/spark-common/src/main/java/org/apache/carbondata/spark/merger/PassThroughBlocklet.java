@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.merger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.FileHolder;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletIndex;
+import org.apache.carbondata.core.scan.wrappers.ByteArrayWrapper;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.format.DataChunk2;
+import org.apache.carbondata.processing.store.writer.EncodedBlocklet;
+
+/**
+ * Blocklet of a segment to be compacted, with its key range. Blocklets whose key range does not
+ * overlap with the other segments are copied to the merged segment without decoding.
+ */
+public class PassThroughBlocklet {
+
+  /**
+   * index of the sorted run the blocklet belongs to, each task of a segment is one run
+   */
+  private int run;
+
+  private TableBlockInfo blockInfo;
+
+  /**
+   * index of the blocklet in the file
+   */
+  private int blockletIndex;
+
+  private BlockletInfo blockletInfo;
+
+  private ByteArrayWrapper startKey;
+
+  private ByteArrayWrapper endKey;
+
+  /**
+   * whether blocklet can be written as it is to the merged segment
+   */
+  private boolean isCopyAllowed;
+
+  private boolean isOverlapped;
+
+  PassThroughBlocklet(int run, TableBlockInfo blockInfo, int blockletIndex,
+      BlockletInfo blockletInfo, int numberOfNoDictionaryColumns, boolean isCopyAllowed) {
+    this.run = run;
+    this.blockInfo = blockInfo;
+    this.blockletIndex = blockletIndex;
+    this.blockletInfo = blockletInfo;
+    this.isCopyAllowed = isCopyAllowed;
+    BlockletIndex index = blockletInfo.getBlockletIndex();
+    this.startKey = toKey(index.getBtreeIndex().getStartKey(), numberOfNoDictionaryColumns);
+    this.endKey = toKey(index.getBtreeIndex().getEndKey(), numberOfNoDictionaryColumns);
+  }
+
+  /**
+   * Converts the start or end key of the blocklet index to the key of the merged row. Index key
+   * has the dictionary key followed by the offsets and values of no dictionary columns.
+   */
+  private static ByteArrayWrapper toKey(byte[] indexKey, int numberOfNoDictionaryColumns) {
+    ByteBuffer buffer = ByteBuffer.wrap(indexKey);
+    byte[] dictionaryKey = new byte[buffer.getInt()];
+    byte[] noDictionaryKey = new byte[buffer.getInt()];
+    buffer.get(dictionaryKey);
+    buffer.get(noDictionaryKey);
+    ByteBuffer noDictionaryBuffer = ByteBuffer.wrap(noDictionaryKey);
+    byte[][] noDictionaryKeys = new byte[numberOfNoDictionaryColumns][];
+    for (int i = 0; i < numberOfNoDictionaryColumns; i++) {
+      int offset = noDictionaryBuffer.getShort(i * CarbonCommonConstants.SHORT_SIZE_IN_BYTE);
+      int end = i == numberOfNoDictionaryColumns - 1 ?
+          noDictionaryKey.length :
+          noDictionaryBuffer.getShort((i + 1) * CarbonCommonConstants.SHORT_SIZE_IN_BYTE);
+      noDictionaryKeys[i] = new byte[end - offset];
+      System.arraycopy(noDictionaryKey, offset, noDictionaryKeys[i], 0, end - offset);
+    }
+    ByteArrayWrapper key = new ByteArrayWrapper();
+    key.setDictionaryKey(dictionaryKey);
+    key.setNoDictionaryKeys(noDictionaryKeys);
+    return key;
+  }
+
+  /**
+   * Reads the column chunks of the blocklet. Column chunks of a version 2 blocklet are written
+   * one after the other, so they are read together from the first dimension chunk till the end
+   * of the last chunk, which is known from the data chunk header of the last chunk.
+   *
+   * @param fileReader
+   * @return blocklet to be written to the merged segment
+   * @throws IOException
+   */
+  public EncodedBlocklet readEncodedBlocklet(FileHolder fileReader) throws IOException {
+    List<Long> chunkOffsets = new ArrayList<>(blockletInfo.getDimensionChunkOffsets());
+    chunkOffsets.addAll(blockletInfo.getMeasureChunkOffsets());
+    List<Short> chunkLengths = new ArrayList<>(blockletInfo.getDimensionChunksLength());
+    chunkLengths.addAll(blockletInfo.getMeasureChunksLength());
+    String filePath = blockInfo.getFilePath();
+    int lastChunk = chunkOffsets.size() - 1;
+    long lastChunkOffset = chunkOffsets.get(lastChunk);
+    short lastChunkLength = chunkLengths.get(lastChunk);
+    DataChunk2 lastDataChunk = CarbonUtil
+        .readDataChunk(fileReader.readByteArray(filePath, lastChunkOffset, lastChunkLength), 0,
+            lastChunkLength);
+    long start = chunkOffsets.get(0);
+    long end = lastChunkOffset + lastChunkLength + lastDataChunk.data_page_length
+        + lastDataChunk.rowid_page_length + lastDataChunk.rle_page_length;
+    byte[] data = fileReader.readByteArray(filePath, start, (int) (end - start));
+    List<Long> relativeOffsets = new ArrayList<>(chunkOffsets.size());
+    for (Long chunkOffset : chunkOffsets) {
+      relativeOffsets.add(chunkOffset - start);
+    }
+    BlockletIndex index = blockletInfo.getBlockletIndex();
+    return new EncodedBlocklet(data, relativeOffsets, chunkLengths,
+        blockletInfo.getNumberOfRows(), index.getBtreeIndex().getStartKey(),
+        index.getBtreeIndex().getEndKey(), index.getMinMaxIndex().getMinValues(),
+        index.getMinMaxIndex().getMaxValues());
+  }
+
+  int getRun() {
+    return run;
+  }
+
+  TableBlockInfo getBlockInfo() {
+    return blockInfo;
+  }
+
+  int getBlockletIndex() {
+    return blockletIndex;
+  }
+
+  public ByteArrayWrapper getStartKey() {
+    return startKey;
+  }
+
+  ByteArrayWrapper getEndKey() {
+    return endKey;
+  }
+
+  boolean isCopyAllowed() {
+    return isCopyAllowed;
+  }
+
+  boolean isOverlapped() {
+    return isOverlapped;
+  }
+
+  void setOverlapped(boolean overlapped) {
+    isOverlapped = overlapped;
+  }
+
+  public String getFilePath() {
+    return blockInfo.getFilePath();
+  }
+}
@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.merger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.datastore.block.BlockletInfos;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.scan.wrappers.ByteArrayWrapper;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+/**
+ * Finds the blocklets of the segments to be compacted which can be copied to the merged segment
+ * without decoding. Blocks of each task of a segment are sorted, so each task is a sorted run.
+ * A blocklet is copied when its key range does not overlap with any blocklet of the other runs,
+ * so no row of the other runs is placed inside it in the merged sort order. Only the blocklets
+ * which are not copied are given to the query for merging.
+ */
+public class PassThroughBlockletPlanner {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(PassThroughBlockletPlanner.class.getName());
+
+  private SegmentProperties destinationSegProperties;
+
+  private Comparator<PassThroughBlocklet> startKeyComparator;
+
+  /**
+   * blocks of each run
+   */
+  private List<List<TableBlockInfo>> runBlocks = new ArrayList<>();
+
+  /**
+   * blocklets to be read from each block of each run
+   */
+  private List<List<List<PassThroughBlocklet>>> runBlocklets = new ArrayList<>();
+
+  private List<PassThroughBlocklet> allBlocklets = new ArrayList<>();
+
+  /**
+   * false if the key of any run can not be compared with the key of the merged segment
+   */
+  private boolean isSameKeyLayout = true;
+
+  public PassThroughBlockletPlanner(SegmentProperties destinationSegProperties) {
+    this.destinationSegProperties = destinationSegProperties;
+    final int[] columnValueSizes = destinationSegProperties.getEachDimColumnValueSize();
+    this.startKeyComparator = new Comparator<PassThroughBlocklet>() {
+      @Override public int compare(PassThroughBlocklet o1, PassThroughBlocklet o2) {
+        return compareKeys(columnValueSizes, o1.getStartKey(), o2.getStartKey());
+      }
+    };
+  }
+
+  /**
+   * Adds the sorted blocks of one task of a segment
+   *
+   * @param blocks              sorted blocks of the task
+   * @param sourceSegProperties segment properties of the segment of the task
+   * @throws IOException if footer of a block can not be read
+   */
+  public void addRun(List<TableBlockInfo> blocks, SegmentProperties sourceSegProperties)
+      throws IOException {
+    boolean isSameLayout = isSameLayout(sourceSegProperties);
+    isSameKeyLayout = isSameKeyLayout && isSameLayout;
+    int run = runBlocks.size();
+    List<List<PassThroughBlocklet>> blockBlocklets = new ArrayList<>(blocks.size());
+    for (TableBlockInfo block : blocks) {
+      DataFileFooter footer = CarbonUtil.readMetadatFile(block);
+      List<BlockletInfo> blockletList = footer.getBlockletList();
+      int start = block.getBlockletInfos().getStartBlockletNumber();
+      int count = block.getBlockletInfos().getNumberOfBlockletToScan();
+      int end = count > 0 ? start + count : blockletList.size();
+      boolean isCopyAllowed = isSameLayout && block.getVersion() == ColumnarFormatVersion.V2;
+      List<PassThroughBlocklet> blocklets = new ArrayList<>(end - start);
+      for (int i = start; i < end; i++) {
+        PassThroughBlocklet blocklet = new PassThroughBlocklet(run, block, i,
+            blockletList.get(i), destinationSegProperties.getNumberOfNoDictionaryDimension(),
+            isCopyAllowed);
+        blocklets.add(blocklet);
+        allBlocklets.add(blocklet);
+      }
+      blockBlocklets.add(blocklets);
+    }
+    runBlocks.add(blocks);
+    runBlocklets.add(blockBlocklets);
+  }
+
+  /**
+   * Source blocklet can be copied only if its columns are encoded same as the merged segment
+   */
+  private boolean isSameLayout(SegmentProperties sourceSegProperties) {
+    return sourceSegProperties.getComplexDimensions().isEmpty()
+        && destinationSegProperties.getComplexDimensions().isEmpty()
+        && sourceSegProperties.getDimensionKeyGenerator()
+        .equals(destinationSegProperties.getDimensionKeyGenerator())
+        && Arrays.equals(sourceSegProperties.getEachDimColumnValueSize(),
+        destinationSegProperties.getEachDimColumnValueSize())
+        && isSameColumns(sourceSegProperties.getDimensions(),
+        destinationSegProperties.getDimensions())
+        && isSameColumns(sourceSegProperties.getMeasures(),
+        destinationSegProperties.getMeasures());
+  }
+
+  private static boolean isSameColumns(List<? extends CarbonColumn> sourceColumns,
+      List<? extends CarbonColumn> destinationColumns) {
+    if (sourceColumns.size() != destinationColumns.size()) {
+      return false;
+    }
+    for (int i = 0; i < sourceColumns.size(); i++) {
+      CarbonColumn source = sourceColumns.get(i);
+      CarbonColumn destination = destinationColumns.get(i);
+      if (!source.getColumnId().equals(destination.getColumnId())
+          || source.getDataType() != destination.getDataType()
+          || !source.getEncoder().equals(destination.getEncoder())
+          || source.getColumnSchema().getColumnGroupId() != destination.getColumnSchema()
+          .getColumnGroupId()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Marks the blocklets which overlap with a blocklet of another run. Blocklets are sorted on
+   * start key, so the blocklets overlapping with a blocklet are the ones after it which start
+   * before its end key.
+   */
+  public void plan() {
+    if (!isSameKeyLayout) {
+      LOGGER.info("Blocklets are not copied as the key of the segments are not comparable");
+      for (PassThroughBlocklet blocklet : allBlocklets) {
+        blocklet.setOverlapped(true);
+      }
+      return;
+    }
+    int[] columnValueSizes = destinationSegProperties.getEachDimColumnValueSize();
+    List<PassThroughBlocklet> sortedBlocklets = new ArrayList<>(allBlocklets);
+    Collections.sort(sortedBlocklets, startKeyComparator);
+    for (int i = 0; i < sortedBlocklets.size(); i++) {
+      PassThroughBlocklet blocklet = sortedBlocklets.get(i);
+      for (int j = i + 1; j < sortedBlocklets.size(); j++) {
+        PassThroughBlocklet next = sortedBlocklets.get(j);
+        if (compareKeys(columnValueSizes, next.getStartKey(), blocklet.getEndKey()) > 0) {
+          break;
+        }
+        if (next.getRun() != blocklet.getRun()) {
+          blocklet.setOverlapped(true);
+          next.setOverlapped(true);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return blocklets to be copied, sorted on start key
+   */
+  public List<PassThroughBlocklet> getPassThroughBlocklets() {
+    List<PassThroughBlocklet> passThroughBlocklets = new ArrayList<>();
+    for (PassThroughBlocklet blocklet : allBlocklets) {
+      if (isPassThrough(blocklet)) {
+        passThroughBlocklets.add(blocklet);
+      }
+    }
+    Collections.sort(passThroughBlocklets, startKeyComparator);
+    LOGGER.info(passThroughBlocklets.size() + " out of " + allBlocklets.size()
+        + " blocklets are copied without merging");
+    return passThroughBlocklets;
+  }
+
+  private static boolean hasPassThroughBlocklet(List<PassThroughBlocklet> blocklets) {
+    for (PassThroughBlocklet blocklet : blocklets) {
+      if (isPassThrough(blocklet)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isPassThrough(PassThroughBlocklet blocklet) {
+    return blocklet.isCopyAllowed() && !blocklet.isOverlapped();
+  }
+
+  /**
+   * Splits the blocks of the run into ranges of blocklets which are not copied
+   *
+   * @param run index of the run in the order the runs are added
+   * @return blocks to be merged, empty if all the blocklets of the run are copied
+   */
+  public List<TableBlockInfo> getBlocksToMerge(int run) {
+    List<TableBlockInfo> blocks = runBlocks.get(run);
+    List<TableBlockInfo> blocksToMerge = new ArrayList<>(blocks.size());
+    for (int i = 0; i < blocks.size(); i++) {
+      TableBlockInfo block = blocks.get(i);
+      List<PassThroughBlocklet> blocklets = runBlocklets.get(run).get(i);
+      if (!hasPassThroughBlocklet(blocklets)) {
+        blocksToMerge.add(block);
+        continue;
+      }
+      int rangeStart = -1;
+      for (int j = 0; j <= blocklets.size(); j++) {
+        boolean isRangeEnd = j == blocklets.size() || isPassThrough(blocklets.get(j));
+        if (!isRangeEnd && rangeStart < 0) {
+          rangeStart = j;
+        } else if (isRangeEnd && rangeStart >= 0) {
+          int startBlocklet = blocklets.get(rangeStart).getBlockletIndex();
+          int numberOfBlocklets = j - rangeStart;
+          blocksToMerge.add(new TableBlockInfo(block.getFilePath(), block.getBlockOffset(),
+              block.getSegmentId(), block.getLocations(), block.getBlockLength(),
+              new BlockletInfos(block.getBlockletInfos().getNoOfBlockLets(), startBlocklet,
+                  numberOfBlocklets), block.getVersion(), block.getBlockStorageIdMap()));
+          rangeStart = -1;
+        }
+      }
+    }
+    return blocksToMerge;
+  }
+
+  /**
+   * Compares the keys of two rows in the sort order of the data, dictionary columns are
+   * compared on the key bytes of the column and no dictionary columns on their values
+   *
+   * @param columnValueSizes size of each dimension in the key, -1 for no dictionary columns
+   */
+  static int compareKeys(int[] columnValueSizes, ByteArrayWrapper key1, ByteArrayWrapper key2) {
+    int compareResult = 0;
+    int dictionaryKeyOffset = 0;
+    byte[] dimCols1 = key1.getDictionaryKey();
+    byte[] dimCols2 = key2.getDictionaryKey();
+    int noDicIndex = 0;
+    for (int eachColumnValueSize : columnValueSizes) {
+      // case of dictionary cols
+      if (eachColumnValueSize > 0) {
+        compareResult = ByteUtil.UnsafeComparer.INSTANCE
+            .compareTo(dimCols1, dictionaryKeyOffset, eachColumnValueSize, dimCols2,
+                dictionaryKeyOffset, eachColumnValueSize);
+        dictionaryKeyOffset += eachColumnValueSize;
+      } else { // case of no dictionary
+        byte[] noDictionaryDim1 = key1.getNoDictionaryKeyByIndex(noDicIndex);
+        byte[] noDictionaryDim2 = key2.getNoDictionaryKeyByIndex(noDicIndex);
+        compareResult =
+            ByteUtil.UnsafeComparer.INSTANCE.compareTo(noDictionaryDim1, noDictionaryDim2);
+        noDicIndex++;
+      }
+      if (0 != compareResult) {
+        return compareResult;
+      }
+    }
+    return 0;
+  }
+}
@@ -17,6 +17,7 @@
 package org.apache.carbondata.spark.merger;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.AbstractQueue;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,7 +30,9 @@ import java.util.PriorityQueue;
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.FileHolder;
 import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.keygenerator.KeyGenException;
 import org.apache.carbondata.core.metadata.CarbonMetadata;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
@@ -40,7 +43,6 @@ import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
 import org.apache.carbondata.core.mutate.CarbonUpdateUtil;
 import org.apache.carbondata.core.scan.result.iterator.RawResultIterator;
 import org.apache.carbondata.core.scan.wrappers.ByteArrayWrapper;
-import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
 import org.apache.carbondata.core.util.path.CarbonStorePath;
@@ -74,19 +76,36 @@ public class RowResultMerger {
 
   private TupleConversionAdapter tupleConvertor;
 
+  /**
+   * blocklets to be copied without merging, sorted on start key
+   */
+  private List<PassThroughBlocklet> passThroughBlocklets;
+
+  /**
+   * index of the next blocklet to be copied
+   */
+  private int passThroughBlockletIndex;
+
+  private FileHolder fileReader;
+
+  private boolean isDataPresent;
+
   private static final LogService LOGGER =
       LogServiceFactory.getLogService(RowResultMerger.class.getName());
 
-  public RowResultMerger(List<RawResultIterator> iteratorList, String databaseName,
-      String tableName, SegmentProperties segProp, String tempStoreLocation,
-      CarbonLoadModel loadModel, int[] colCardinality, CompactionType compactionType) {
+  public RowResultMerger(List<RawResultIterator> iteratorList,
+      List<PassThroughBlocklet> passThroughBlocklets, String databaseName, String tableName,
+      SegmentProperties segProp, String tempStoreLocation, CarbonLoadModel loadModel,
+      int[] colCardinality, CompactionType compactionType) {
 
     CarbonDataFileAttributes carbonDataFileAttributes;
 
     this.rawResultIteratorList = iteratorList;
+    this.passThroughBlocklets = passThroughBlocklets;
     // create the List of RawResultIterator.
 
-    recordHolderHeap = new PriorityQueue<RawResultIterator>(rawResultIteratorList.size(),
+    recordHolderHeap = new PriorityQueue<RawResultIterator>(
+        Math.max(1, rawResultIteratorList.size()),
         new RowResultMerger.CarbonMdkeyComparator());
 
     this.segprop = segProp;
@@ -145,7 +164,6 @@ public class RowResultMerger {
   public boolean mergerSlice() {
     boolean mergeStatus = false;
     int index = 0;
-    boolean isDataPresent = false;
     try {
 
       // add all iterators to the queue
@@ -162,10 +180,6 @@ public class RowResultMerger {
           index--;
           continue;
         }
-        if (!isDataPresent) {
-          dataHandler.initialise();
-          isDataPresent = true;
-        }
         // get the mdkey
         addRow(convertedRow);
         // if there is no record in the leaf and all then decrement the
@@ -180,22 +194,19 @@ public class RowResultMerger {
       // if record holder is not empty then iterator the slice holder from
       // heap
       iterator = this.recordHolderHeap.poll();
-      while (true) {
+      while (null != iterator) {
         Object[] convertedRow = iterator.next();
         if (null == convertedRow) {
           break;
         }
-        // do it only once
-        if (!isDataPresent) {
-          dataHandler.initialise();
-          isDataPresent = true;
-        }
         addRow(convertedRow);
         // check if leaf contains no record
         if (!iterator.hasNext()) {
           break;
         }
       }
+      // blocklets after the last row
+      addPassThroughBlocklets(null);
       if (isDataPresent)
       {
         this.dataHandler.finish();
@@ -213,6 +224,14 @@ public class RowResultMerger {
         LOGGER.error("Exception while closing the handler in compaction merger " + e.getMessage());
         mergeStatus = false;
       }
+      if (null != fileReader) {
+        try {
+          fileReader.finish();
+        } catch (IOException e) {
+          LOGGER.error("Exception while closing the file reader in compaction merger "
+              + e.getMessage());
+        }
+      }
     }
 
     return mergeStatus;
@@ -226,6 +245,8 @@ public class RowResultMerger {
   private void addRow(Object[] carbonTuple) throws SliceMergerException {
     Object[] rowInWritableFormat;
 
+    addPassThroughBlocklets((ByteArrayWrapper) carbonTuple[0]);
+    initialiseHandler();
     rowInWritableFormat = tupleConvertor.getObjectArray(carbonTuple);
     try {
       this.dataHandler.addDataToStore(rowInWritableFormat);
@@ -234,6 +255,49 @@ public class RowResultMerger {
     }
   }
 
+  /**
+   * Copies the blocklets which come before the row in sort order. Blocklets to be copied do not
+   * overlap with rows of other segments, so a blocklet starting before the row ends before it.
+   *
+   * @param key key of the row to be added, null to copy all the remaining blocklets
+   * @throws SliceMergerException
+   */
+  private void addPassThroughBlocklets(ByteArrayWrapper key) throws SliceMergerException {
+    int[] columnValueSizes = segprop.getEachDimColumnValueSize();
+    while (passThroughBlockletIndex < passThroughBlocklets.size()) {
+      PassThroughBlocklet blocklet = passThroughBlocklets.get(passThroughBlockletIndex);
+      if (null != key && PassThroughBlockletPlanner
+          .compareKeys(columnValueSizes, blocklet.getStartKey(), key) >= 0) {
+        return;
+      }
+      initialiseHandler();
+      try {
+        if (null == fileReader) {
+          fileReader = FileFactory.getFileHolder(FileFactory.getFileType(blocklet.getFilePath()));
+        }
+        this.dataHandler.addEncodedBlocklet(blocklet.readEncodedBlocklet(fileReader));
+      } catch (IOException | CarbonDataWriterException e) {
+        throw new SliceMergerException("Problem in copying the blocklet", e);
+      }
+      passThroughBlockletIndex++;
+    }
+  }
+
+  /**
+   * initialise the handler when the first row or blocklet is added
+   */
+  private void initialiseHandler() throws SliceMergerException {
+    if (isDataPresent) {
+      return;
+    }
+    try {
+      dataHandler.initialise();
+    } catch (CarbonDataWriterException e) {
+      throw new SliceMergerException("Problem in initialising the data handler", e);
+    }
+    isDataPresent = true;
+  }
+
   /**
    * This method will create a model object for carbon fact data handler
    *
@@ -329,34 +393,8 @@ public class RowResultMerger {
       }
       ByteArrayWrapper key1 = (ByteArrayWrapper) row1[0];
       ByteArrayWrapper key2 = (ByteArrayWrapper) row2[0];
-      int compareResult = 0;
-      int[] columnValueSizes = segprop.getEachDimColumnValueSize();
-      int dictionaryKeyOffset = 0;
-      byte[] dimCols1 = key1.getDictionaryKey();
-      byte[] dimCols2 = key2.getDictionaryKey();
-      int noDicIndex = 0;
-      for (int eachColumnValueSize : columnValueSizes) {
-        // case of dictionary cols
-        if (eachColumnValueSize > 0) {
-
-          compareResult = ByteUtil.UnsafeComparer.INSTANCE
-              .compareTo(dimCols1, dictionaryKeyOffset, eachColumnValueSize, dimCols2,
-                  dictionaryKeyOffset, eachColumnValueSize);
-          dictionaryKeyOffset += eachColumnValueSize;
-        } else { // case of no dictionary
-
-          byte[] noDictionaryDim1 = key1.getNoDictionaryKeyByIndex(noDicIndex);
-          byte[] noDictionaryDim2 = key2.getNoDictionaryKeyByIndex(noDicIndex);
-          compareResult =
-              ByteUtil.UnsafeComparer.INSTANCE.compareTo(noDictionaryDim1, noDictionaryDim2);
-          noDicIndex++;
-
-        }
-        if (0 != compareResult) {
-          return compareResult;
-        }
-      }
-      return 0;
+      return PassThroughBlockletPlanner
+          .compareKeys(segprop.getEachDimColumnValueSize(), key1, key2);
     }
   }
 
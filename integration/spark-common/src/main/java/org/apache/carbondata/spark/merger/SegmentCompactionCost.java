@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.merger;
+
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
+
+/**
+ * Size and query cost of a segment, used by the background compaction to decide which
+ * segments to merge first
+ */
+public class SegmentCompactionCost {
+
+  private LoadMetadataDetails segment;
+
+  /**
+   * size of the carbondata files of the segment
+   */
+  private long sizeInBytes;
+
+  private int dataFileCount;
+
+  /**
+   * ratio of the data files of the segment which have a delete delta
+   */
+  private double deleteDeltaRatio;
+
+  /**
+   * size tier of the segment, segments of the same tier are merged together
+   */
+  private int tier;
+
+  public SegmentCompactionCost(LoadMetadataDetails segment, long sizeInBytes, int dataFileCount,
+      double deleteDeltaRatio, int tier) {
+    this.segment = segment;
+    this.sizeInBytes = sizeInBytes;
+    this.dataFileCount = dataFileCount;
+    this.deleteDeltaRatio = deleteDeltaRatio;
+    this.tier = tier;
+  }
+
+  public LoadMetadataDetails getSegment() {
+    return segment;
+  }
+
+  public long getSizeInBytes() {
+    return sizeInBytes;
+  }
+
+  public int getDataFileCount() {
+    return dataFileCount;
+  }
+
+  public double getDeleteDeltaRatio() {
+    return deleteDeltaRatio;
+  }
+
+  public int getTier() {
+    return tier;
+  }
+
+  /**
+   * Cost of reading the segment in a query. Each data file is opened and its index is loaded
+   * separately, and a file with delete delta needs its delete delta to be read as well.
+   */
+  public double getQueryCost() {
+    return dataFileCount * (1 + deleteDeltaRatio);
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.merger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFileFilter;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.mutate.SegmentUpdateDetails;
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
+import org.apache.carbondata.core.statusmanager.SegmentUpdateStatusManager;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.path.CarbonStorePath;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+
+/**
+ * Selects the segments to be merged by the background compaction. Segments are grouped in
+ * size tiers, tier of a segment is the number of times its size is fanout times bigger than the
+ * base size. Consecutive segments of the same tier are merged once there are fanout of them, so
+ * each row is rewritten once per tier. Among the candidates, the one which reduces the query
+ * cost the most for each byte rewritten is merged first.
+ */
+public class TieredCompactionPolicy {
+
+  /**
+   * size of the segments in the first tier
+   */
+  private long tierBaseSize;
+
+  /**
+   * number of segments of a tier to be merged to a segment of the next tier
+   */
+  private int fanout;
+
+  /**
+   * maximum number of segments merged together
+   */
+  private int maxSegments;
+
+  public TieredCompactionPolicy(long tierBaseSize, int fanout, int maxSegments) {
+    this.tierBaseSize = Math.max(1, tierBaseSize);
+    this.fanout = Math.max(2, fanout);
+    this.maxSegments = Math.max(this.fanout, maxSegments);
+  }
+
+  /**
+   * @return policy with the configured tier base size, fanout and maximum segments
+   */
+  public static TieredCompactionPolicy getConfiguredPolicy() {
+    long tierBaseSizeInMB =
+        getProperty(CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_TIER_BASE_SIZE,
+            CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_TIER_BASE_SIZE_DEFAULT);
+    int fanout = (int) getProperty(CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_TIER_FANOUT,
+        CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_TIER_FANOUT_DEFAULT);
+    int maxSegments =
+        (int) getProperty(CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_MAX_SEGMENTS,
+            CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_MAX_SEGMENTS_DEFAULT);
+    return new TieredCompactionPolicy(tierBaseSizeInMB * 1024 * 1024, fanout, maxSegments);
+  }
+
+  private static long getProperty(String key, String defaultValue) {
+    try {
+      return Long.parseLong(CarbonProperties.getInstance().getProperty(key, defaultValue));
+    } catch (NumberFormatException e) {
+      return Long.parseLong(defaultValue);
+    }
+  }
+
+  /**
+   * Measures the size and query cost of the segments which can be merged. Latest segments
+   * configured to be preserved are excluded.
+   *
+   * @param carbonTable
+   * @param loadMetadataDetails segments of the table
+   * @return cost of each segment, sorted on segment id
+   */
+  public List<SegmentCompactionCost> getSegmentCosts(CarbonTable carbonTable,
+      List<LoadMetadataDetails> loadMetadataDetails) {
+    List<LoadMetadataDetails> sortedSegments = new ArrayList<>(loadMetadataDetails);
+    CarbonDataMergerUtil.sortSegments(sortedSegments);
+    List<LoadMetadataDetails> segments =
+        CarbonDataMergerUtil.checkPreserveSegmentsPropertyReturnRemaining(sortedSegments);
+    Map<String, Integer> deleteDeltaFileCount = getDeleteDeltaFileCount(carbonTable);
+    CarbonTablePath carbonTablePath = CarbonStorePath
+        .getCarbonTablePath(carbonTable.getStorePath(), carbonTable.getCarbonTableIdentifier());
+    List<SegmentCompactionCost> costs = new ArrayList<>(segments.size());
+    for (LoadMetadataDetails segment : segments) {
+      String segmentPath =
+          carbonTablePath.getCarbonDataDirectoryPath("0", segment.getLoadName());
+      CarbonFile[] dataFiles = FileFactory
+          .getCarbonFile(segmentPath, FileFactory.getFileType(segmentPath))
+          .listFiles(new CarbonFileFilter() {
+            @Override public boolean accept(CarbonFile file) {
+              return CarbonTablePath.isCarbonDataFile(file.getName());
+            }
+          });
+      long size = 0;
+      for (CarbonFile dataFile : dataFiles) {
+        size += dataFile.getSize();
+      }
+      Integer filesWithDeleteDelta = deleteDeltaFileCount.get(segment.getLoadName());
+      double deleteDeltaRatio = null == filesWithDeleteDelta || dataFiles.length == 0 ?
+          0 :
+          Math.min(1, (double) filesWithDeleteDelta / dataFiles.length);
+      costs.add(new SegmentCompactionCost(segment, size, dataFiles.length, deleteDeltaRatio,
+          getTier(size)));
+    }
+    return costs;
+  }
+
+  /**
+   * @return number of data files having a delete delta in each segment
+   */
+  private static Map<String, Integer> getDeleteDeltaFileCount(CarbonTable carbonTable) {
+    SegmentUpdateDetails[] updateDetails =
+        new SegmentUpdateStatusManager(carbonTable.getAbsoluteTableIdentifier())
+            .getUpdateStatusDetails();
+    Map<String, Integer> deleteDeltaFileCount = new HashMap<>();
+    for (SegmentUpdateDetails updateDetail : updateDetails) {
+      if (null == updateDetail.getDeleteDeltaStartTimestamp()
+          || updateDetail.getDeleteDeltaStartTimestamp().isEmpty()
+          || CarbonCommonConstants.COMPACTED.equalsIgnoreCase(updateDetail.getStatus())
+          || CarbonCommonConstants.MARKED_FOR_DELETE.equalsIgnoreCase(updateDetail.getStatus())) {
+        continue;
+      }
+      Integer count = deleteDeltaFileCount.get(updateDetail.getSegmentName());
+      deleteDeltaFileCount.put(updateDetail.getSegmentName(), null == count ? 1 : count + 1);
+    }
+    return deleteDeltaFileCount;
+  }
+
+  /**
+   * @return tier of a segment of the given size
+   */
+  int getTier(long sizeInBytes) {
+    int tier = 0;
+    long tierSize = tierBaseSize;
+    while (tierSize <= Long.MAX_VALUE / fanout && sizeInBytes >= tierSize * fanout) {
+      tierSize *= fanout;
+      tier++;
+    }
+    return tier;
+  }
+
+  /**
+   * Selects the consecutive segments of the same tier whose merge gives the highest reduction
+   * of query cost for each byte to be rewritten
+   *
+   * @param costs     cost of the segments sorted on segment id
+   * @param blockSize size of the data files written by the merge
+   * @return cost of the segments to be merged, empty if no merge reduces the query cost
+   */
+  public List<SegmentCompactionCost> selectSegmentsToMerge(List<SegmentCompactionCost> costs,
+      long blockSize) {
+    List<SegmentCompactionCost> bestCandidate = new ArrayList<>(0);
+    double bestPriority = 0;
+    for (List<SegmentCompactionCost> run : getTierRuns(costs)) {
+      int length = Math.min(run.size(), maxSegments);
+      for (int start = 0; start + length <= run.size(); start++) {
+        List<SegmentCompactionCost> candidate = run.subList(start, start + length);
+        double priority = getPriority(candidate, blockSize);
+        if (priority > bestPriority) {
+          bestPriority = priority;
+          bestCandidate = candidate;
+        }
+      }
+    }
+    return new ArrayList<>(bestCandidate);
+  }
+
+  /**
+   * @return runs of consecutive segments of the same tier which have enough segments to merge
+   */
+  List<List<SegmentCompactionCost>> getTierRuns(List<SegmentCompactionCost> costs) {
+    List<List<SegmentCompactionCost>> runs = new ArrayList<>();
+    int runStart = 0;
+    for (int i = 1; i <= costs.size(); i++) {
+      if (i == costs.size() || costs.get(i).getTier() != costs.get(runStart).getTier()) {
+        if (i - runStart >= fanout) {
+          runs.add(costs.subList(runStart, i));
+        }
+        runStart = i;
+      }
+    }
+    return runs;
+  }
+
+  /**
+   * Reduction of the query cost for each byte rewritten. Merged segment has no delete delta and
+   * has one file for each block of its size.
+   */
+  public static double getPriority(List<SegmentCompactionCost> candidate, long blockSize) {
+    double queryCost = 0;
+    long size = 0;
+    for (SegmentCompactionCost cost : candidate) {
+      queryCost += cost.getQueryCost();
+      size += cost.getSizeInBytes();
+    }
+    long mergedFileCount = Math.max(1, (size + blockSize - 1) / Math.max(1, blockSize));
+    return (queryCost - mergedFileCount) / Math.max(1, size);
+  }
+
+  /**
+   * @return number of segments waiting to be merged
+   */
+  public long getBacklogSegments(List<SegmentCompactionCost> costs) {
+    long backlog = 0;
+    for (List<SegmentCompactionCost> run : getTierRuns(costs)) {
+      backlog += run.size();
+    }
+    return backlog;
+  }
+
+  /**
+   * @return size of the segments waiting to be merged
+   */
+  public long getBacklogBytes(List<SegmentCompactionCost> costs) {
+    long backlog = 0;
+    for (List<SegmentCompactionCost> run : getTierRuns(costs)) {
+      for (SegmentCompactionCost cost : run) {
+        backlog += cost.getSizeInBytes();
+      }
+    }
+    return backlog;
+  }
+}
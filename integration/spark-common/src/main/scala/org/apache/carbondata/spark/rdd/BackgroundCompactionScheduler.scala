@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.rdd
+
+import scala.collection.JavaConverters._
+import scala.collection.mutable
+
+import org.apache.spark.sql.SQLContext
+import org.apache.spark.sql.execution.command.CompactionCallableModel
+
+import org.apache.carbondata.common.logging.LogServiceFactory
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.locks.{CarbonLockFactory, LockUsage}
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable
+import org.apache.carbondata.core.statusmanager.SegmentStatusManager
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.processing.model.CarbonLoadModel
+import org.apache.carbondata.spark.merger._
+import org.apache.carbondata.spark.util.CarbonScalaUtil
+
+/**
+ * Merges the segments of the tables continuously in background. In each round the merge which
+ * reduces the query cost the most for each byte rewritten is picked among all the tables, as
+ * decided by [[TieredCompactionPolicy]]. Merges are run one after the other from a single
+ * driver thread. After a merge the thread waits so that the fraction of the wall clock time it
+ * spends merging stays within the CPU budget, and the bytes read and written stay within the
+ * I/O budget on average. A table whose merge failed is skipped for a backoff time which doubles
+ * on each consecutive failure.
+ */
+object BackgroundCompactionScheduler {
+
+  private val LOGGER = LogServiceFactory.getLogService(this.getClass.getCanonicalName)
+
+  @volatile private var schedulerThread: Thread = _
+
+  /**
+   * maximum backoff of a table whose merge failed, in number of intervals
+   */
+  private val MAX_BACKOFF_INTERVALS = 64
+
+  /**
+   * number of consecutive failed merges and the time till which the merge is not retried, for
+   * each table. Accessed only by the scheduler thread.
+   */
+  private val failedMerges = mutable.HashMap[String, (Int, Long)]()
+
+  /**
+   * Starts the background compaction if it is enabled and not already started
+   *
+   * @param tables gives the tables of the store
+   */
+  def start(sqlContext: SQLContext,
+      storePath: String,
+      tables: () => Seq[CarbonTable]): Unit = {
+    synchronized {
+      val isEnabled = CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_ENABLE,
+          CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_ENABLE_DEFAULT)
+        .equalsIgnoreCase("true")
+      if (isEnabled && null == schedulerThread) {
+        schedulerThread = new Thread("carbon-background-compaction") {
+          override def run(): Unit = {
+            schedule(sqlContext, storePath, tables)
+          }
+        }
+        schedulerThread.setDaemon(true)
+        schedulerThread.start()
+        LOGGER.info("Background compaction is started")
+      }
+    }
+  }
+
+  def stop(): Unit = {
+    synchronized {
+      if (null != schedulerThread) {
+        schedulerThread.interrupt()
+        schedulerThread = null
+      }
+    }
+  }
+
+  private def schedule(sqlContext: SQLContext,
+      storePath: String,
+      tables: () => Seq[CarbonTable]): Unit = {
+    // time till which the bytes already merged use up the I/O budget
+    var ioBudgetUsedTill = System.currentTimeMillis()
+    try {
+      while (!Thread.currentThread().isInterrupted) {
+        val startTime = System.currentTimeMillis()
+        val mergedBytes = try {
+          compactNext(sqlContext, storePath, tables())
+        } catch {
+          case e: InterruptedException => throw e
+          case e: Exception =>
+            LOGGER.error(e, s"Exception in background compaction ${ e.getMessage }")
+            -1L
+        }
+        val endTime = System.currentTimeMillis()
+        if (mergedBytes < 0) {
+          Thread.sleep(getInterval * 1000)
+        } else {
+          val cpuBudget = getCpuBudget
+          val cpuWaitTime = ((endTime - startTime) * (1 - cpuBudget) / cpuBudget).toLong
+          // segments are read and merged segment is written
+          ioBudgetUsedTill = math.max(ioBudgetUsedTill, startTime) +
+                             2 * mergedBytes * 1000 / getIoBudgetBytesPerSecond
+          Thread.sleep(math.max(cpuWaitTime, ioBudgetUsedTill - endTime).max(0))
+        }
+      }
+    } catch {
+      case _: InterruptedException =>
+        LOGGER.info("Background compaction is stopped")
+    }
+  }
+
+  /**
+   * Merges the segments of the table having the merge of highest priority
+   *
+   * @return size of the merged segments, -1 if no segments are merged
+   */
+  private def compactNext(sqlContext: SQLContext,
+      storePath: String,
+      tables: Seq[CarbonTable]): Long = {
+    val policy = TieredCompactionPolicy.getConfiguredPolicy
+    val metrics = CompactionSchedulerMetrics.getInstance()
+    var selectedTable: CarbonTable = null
+    var selectedPriority = 0d
+    val currentTime = System.currentTimeMillis()
+    tables.filterNot(isInBackoff(_, currentTime)).foreach { carbonTable =>
+      val costs = policy.getSegmentCosts(carbonTable,
+        SegmentStatusManager.readLoadMetadata(carbonTable.getMetaDataFilepath).toList.asJava)
+      metrics.setBacklog(carbonTable.getTableUniqueName, policy.getBacklogSegments(costs),
+        policy.getBacklogBytes(costs))
+      val segments = policy.selectSegmentsToMerge(costs, getBlockSize(carbonTable))
+      if (segments.size > 1) {
+        val priority = TieredCompactionPolicy.getPriority(segments, getBlockSize(carbonTable))
+        if (priority > selectedPriority) {
+          selectedPriority = priority
+          selectedTable = carbonTable
+        }
+      }
+    }
+    if (null == selectedTable) {
+      -1L
+    } else {
+      compact(sqlContext, storePath, selectedTable, policy)
+    }
+  }
+
+  private def compact(sqlContext: SQLContext,
+      storePath: String,
+      carbonTable: CarbonTable,
+      policy: TieredCompactionPolicy): Long = {
+    val lock = CarbonLockFactory
+      .getCarbonLockObj(carbonTable.getAbsoluteTableIdentifier.getCarbonTableIdentifier,
+        LockUsage.COMPACTION_LOCK)
+    if (!lock.lockWithRetries()) {
+      LOGGER.info("Background compaction is skipped as compaction lock is not acquired for " +
+                  s"table ${ carbonTable.getTableUniqueName }")
+      return -1L
+    }
+    try {
+      val carbonLoadModel = new CarbonLoadModel()
+      DataManagementFunc.prepareCarbonLoadModel(storePath, carbonTable, carbonLoadModel)
+      // segments are selected again as table status could have changed before taking the lock
+      val segments: Seq[SegmentCompactionCost] = policy
+        .selectSegmentsToMerge(
+          policy.getSegmentCosts(carbonTable, carbonLoadModel.getLoadMetadataDetails),
+          getBlockSize(carbonTable))
+        .asScala
+      if (segments.size < 2) {
+        return -1L
+      }
+      val mergedBytes = segments.map(_.getSizeInBytes).sum
+      LOGGER.info(s"Background compaction of table ${ carbonTable.getTableUniqueName } " +
+                  s"merges segments ${ segments.map(_.getSegment.getLoadName).mkString(",") }")
+      DataManagementFunc.deletePartialLoadsInCompaction(carbonLoadModel)
+      var storeLocation = CarbonProperties.getInstance
+        .getProperty(CarbonCommonConstants.STORE_LOCATION_TEMP_PATH,
+          System.getProperty("java.io.tmpdir"))
+      storeLocation = storeLocation + "/carbonstore/" + System.nanoTime()
+      val startTime = System.currentTimeMillis()
+      var isSuccess = false
+      try {
+        Compactor.triggerCompaction(CompactionCallableModel(storePath,
+          carbonLoadModel,
+          storeLocation,
+          carbonTable,
+          CarbonScalaUtil.getKettleHome(sqlContext),
+          carbonTable.getTableLastUpdatedTime,
+          segments.map(_.getSegment).asJava,
+          sqlContext,
+          CompactionType.MINOR_COMPACTION))
+        isSuccess = true
+      } finally {
+        CompactionSchedulerMetrics.getInstance().compactionFinished(segments.size, mergedBytes,
+          System.currentTimeMillis() - startTime, isSuccess)
+        updateBackoff(carbonTable, isSuccess)
+      }
+      mergedBytes
+    } finally {
+      lock.unlock()
+    }
+  }
+
+  private def isInBackoff(carbonTable: CarbonTable, currentTime: Long): Boolean = {
+    failedMerges.get(carbonTable.getTableUniqueName).exists(_._2 > currentTime)
+  }
+
+  /**
+   * Clears the failures of the table after a successful merge, else doubles its backoff
+   */
+  private def updateBackoff(carbonTable: CarbonTable, isSuccess: Boolean): Unit = {
+    val tableName = carbonTable.getTableUniqueName
+    if (isSuccess) {
+      failedMerges.remove(tableName)
+    } else {
+      val failures = failedMerges.get(tableName).map(_._1).getOrElse(0) + 1
+      val backoffIntervals = math.min(1L << math.min(failures - 1, 30), MAX_BACKOFF_INTERVALS)
+      val retryTime = System.currentTimeMillis() + backoffIntervals * getInterval * 1000
+      failedMerges.put(tableName, (failures, retryTime))
+      LOGGER.warn(s"Background compaction of table $tableName failed $failures times, it " +
+                  s"is retried after ${ backoffIntervals * getInterval } seconds")
+    }
+  }
+
+  private def getBlockSize(carbonTable: CarbonTable): Long = {
+    carbonTable.getBlockSizeInMB.toLong * 1024 * 1024
+  }
+
+  private def getInterval: Long = {
+    getProperty(CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_INTERVAL,
+      CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_INTERVAL_DEFAULT).toLong.max(1)
+  }
+
+  private def getCpuBudget: Double = {
+    val budget = getProperty(CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_CPU_BUDGET,
+      CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_CPU_BUDGET_DEFAULT)
+    if (budget <= 0 || budget > 1) {
+      CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_CPU_BUDGET_DEFAULT.toDouble
+    } else {
+      budget
+    }
+  }
+
+  private def getIoBudgetBytesPerSecond: Long = {
+    (getProperty(CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_IO_BUDGET,
+      CarbonCommonConstants.CARBON_BACKGROUND_COMPACTION_IO_BUDGET_DEFAULT) * 1024 * 1024).toLong
+      .max(1)
+  }
+
+  private def getProperty(key: String, defaultValue: String): Double = {
+    try {
+      CarbonProperties.getInstance().getProperty(key, defaultValue).toDouble
+    } catch {
+      case _: NumberFormatException => defaultValue.toDouble
+    }
+  }
+}
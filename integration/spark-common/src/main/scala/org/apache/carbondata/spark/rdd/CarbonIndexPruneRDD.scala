@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.rdd
+
+import java.util
+
+import scala.collection.JavaConverters._
+
+import org.apache.hadoop.conf.Configuration
+import org.apache.hadoop.mapreduce.{Job, JobContext}
+import org.apache.spark.{Partition, SparkContext, TaskContext}
+import org.apache.spark.rdd.RDD
+import org.apache.spark.sql.hive.DistributionUtil
+
+import org.apache.carbondata.core.datastore.block.TableBlockInfo
+import org.apache.carbondata.hadoop.{CarbonInputFormat, DistributedIndexPruner}
+
+class CarbonIndexPrunePartition(
+    val rddId: Int,
+    val idx: Int,
+    val node: String,
+    val segmentIds: Array[String])
+  extends Partition {
+
+  override val index: Int = idx
+
+  override def hashCode(): Int = 41 * (41 + rddId) + idx
+}
+
+/**
+ * This RDD prunes the blocks of the segments of a query on the executors. The index of the
+ * segments of a partition is loaded and cached in the executor running it, like the driver
+ * caches it when the blocks are pruned in the driver.
+ */
+class CarbonIndexPruneRDD(
+    sc: SparkContext,
+    conf: SerializableConfiguration,
+    segmentsOfNodes: Seq[(String, Array[String])],
+    invalidSegments: Seq[String])
+  extends RDD[TableBlockInfo](sc, Nil) {
+
+  override def getPartitions: Array[Partition] = {
+    segmentsOfNodes.zipWithIndex.map { case ((node, segmentIds), index) =>
+      new CarbonIndexPrunePartition(id, index, node, segmentIds).asInstanceOf[Partition]
+    }.toArray
+  }
+
+  override def compute(split: Partition, context: TaskContext): Iterator[TableBlockInfo] = {
+    val partition = split.asInstanceOf[CarbonIndexPrunePartition]
+    val job = Job.getInstance(new Configuration(conf.value))
+    CarbonInputFormat.setSegmentsToAccess(job.getConfiguration, partition.segmentIds.toList.asJava)
+    // any executor may have cached the index of a segment which is not valid anymore
+    new CarbonInputFormat[Object]().getFilteredBlocks(job, invalidSegments.asJava).asScala
+      .iterator
+  }
+
+  override def getPreferredLocations(split: Partition): Seq[String] = {
+    Seq(split.asInstanceOf[CarbonIndexPrunePartition].node)
+  }
+}
+
+/**
+ * Prunes the blocks of a query with a CarbonIndexPruneRDD. Every segment is assigned to a node
+ * by its id and the partition of the node prefers it, so a segment is mostly pruned on the same
+ * node and each executor caches the index of only a part of the segments. This is a preference
+ * only: when the nodes of the cluster change, a node runs several executors or a partition runs
+ * on another node after the locality wait, the index of a segment is also cached by other
+ * executors until their cache evicts it.
+ */
+class DistributedCarbonIndexPruner(@transient sc: SparkContext)
+  extends DistributedIndexPruner {
+
+  override def getFilteredBlocks(job: JobContext,
+      segmentIds: Array[String],
+      invalidSegments: util.List[String]): util.List[TableBlockInfo] = {
+    // start the executors before the segments are assigned to the nodes, otherwise the
+    // segments are assigned to the few executors started at the time of the first query
+    val nodes = DistributionUtil.ensureExecutorsByNumberAndGetNodeList(segmentIds.length, sc)
+      .sorted
+    val segmentsOfNodes = segmentIds.groupBy { segmentId =>
+      nodes((segmentId.hashCode % nodes.length + nodes.length) % nodes.length)
+    }.toSeq
+    val blocks = new CarbonIndexPruneRDD(sc,
+      new SerializableConfiguration(job.getConfiguration),
+      segmentsOfNodes,
+      invalidSegments.asScala.toList).collect()
+    new util.ArrayList[TableBlockInfo](blocks.toSeq.asJava)
+  }
+}
@@ -156,7 +156,9 @@ class CarbonMergerRDD[K, V](
         // fire a query and get the results.
         var result2: java.util.List[RawResultIterator] = null
         try {
-          result2 = exec.processTableBlocks()
+          result2 = exec.processTableBlocks(CarbonCompactionUtil.isPassThroughAllowed(
+            carbonLoadModel.getCarbonDataLoadSchema.getCarbonTable,
+            carbonMergerMapping.campactionType))
         } catch {
           case e: Throwable =>
             LOGGER.error(e)
@@ -189,6 +191,7 @@ class CarbonMergerRDD[K, V](
         carbonLoadModel.setPartitionId("0")
         val merger =
           new RowResultMerger(result2,
+            exec.getPassThroughBlocklets,
             databaseName,
             factTableName,
             segmentProperties,
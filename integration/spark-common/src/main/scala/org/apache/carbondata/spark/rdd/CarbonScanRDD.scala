@@ -35,10 +35,11 @@ import org.apache.carbondata.core.datastore.block.Distributable
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable
 import org.apache.carbondata.core.scan.expression.Expression
-import org.apache.carbondata.core.scan.model.QueryModel
+import org.apache.carbondata.core.scan.model.{QueryAggregate, QueryModel}
 import org.apache.carbondata.core.stats.{QueryStatistic, QueryStatisticsConstants, QueryStatisticsRecorder}
 import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory
 import org.apache.carbondata.hadoop._
+import org.apache.carbondata.hadoop.util.CarbonInputFormatUtil
 import org.apache.carbondata.spark.load.CarbonLoaderUtil
 
 
@@ -62,6 +63,12 @@ class CarbonScanRDD(
   }
   private var vectorReader = false
 
+  private var queryAggregates: java.util.List[QueryAggregate] = new java.util.ArrayList()
+
+  private var limit = -1
+
+  private var orderBySortColumn = false
+
   private val readSupport = SparkReadSupport.readSupportClass
 
   private val bucketedTable = carbonTable.getBucketingInfo(carbonTable.getFactTableName)
@@ -123,7 +130,8 @@ class CarbonScanRDD(
         // get the list of executors and map blocks to executors based on locality
         val activeNodes = DistributionUtil.ensureExecutorsAndGetNodeList(blockList, sparkContext)
 
-        // divide the blocks among the tasks of the nodes as per the data locality
+        // divide the blocks among the tasks of the nodes as per the data locality, the blocks
+        // of a node are balanced among its tasks by their estimated scan size
         val nodeBlockMapping = CarbonLoaderUtil.nodeBlockTaskMapping(blockList.asJava, -1,
           parallelism, activeNodes.toList.asJava)
         var i = 0
@@ -176,7 +184,7 @@ class CarbonScanRDD(
     val iterator = if (inputSplit.getAllSplits.size() > 0) {
       val model = format.getQueryModel(inputSplit, attemptContext)
       val reader = {
-        if (vectorReader) {
+        if (vectorReader && !model.isAggregateQuery) {
           val carbonRecordReader = createVectorizedCarbonRecordReader(model)
           if (carbonRecordReader == null) {
             new CarbonRecordReader(model,
@@ -240,7 +248,12 @@ class CarbonScanRDD(
 
   private def prepareInputFormatForDriver(conf: Configuration): CarbonInputFormat[Object] = {
     CarbonInputFormat.setCarbonTable(conf, carbonTable)
-    createInputFormat(conf)
+    CarbonInputFormat.setMaxSplitSize(conf, CarbonInputFormatUtil.getMaxSplitSize)
+    val format = createInputFormat(conf)
+    if (CarbonInputFormatUtil.isDistributedIndexPruningEnabled) {
+      format.setDistributedIndexPruner(new DistributedCarbonIndexPruner(sparkContext))
+    }
+    format
   }
 
   private def prepareInputFormatForExecutor(conf: Configuration): CarbonInputFormat[Object] = {
@@ -253,6 +266,8 @@ class CarbonScanRDD(
     CarbonInputFormat.setTablePath(conf, identifier.appendWithLocalPrefix(identifier.getTablePath))
     CarbonInputFormat.setFilterPredicates(conf, filterExpression)
     CarbonInputFormat.setColumnProjection(conf, columnProjection)
+    CarbonInputFormat.setQueryAggregates(conf, queryAggregates)
+    CarbonInputFormat.setQueryLimit(conf, limit, orderBySortColumn)
     format
   }
 
@@ -296,4 +311,25 @@ class CarbonScanRDD(
   def setVectorReaderSupport(boolean: Boolean): Unit = {
     vectorReader = boolean
   }
+
+  /**
+   * Aggregates to be computed by the scan, each row of the RDD is then the aggregates of one
+   * group of projected dimensions of a partition
+   */
+  def setQueryAggregates(aggregates: java.util.List[QueryAggregate]): Unit = {
+    queryAggregates = aggregates
+  }
+
+  /**
+   * Limit of the rows to be read by each partition. If the rows are ordered on the first sort
+   * column of the table, only the first rows of each block are read
+   */
+  def setLimit(limit: Int, orderBySortColumn: Boolean): Unit = {
+    this.limit = limit
+    this.orderBySortColumn = orderBySortColumn
+  }
+
+  def getLimit: Int = limit
+
+  def isOrderBySortColumn: Boolean = orderBySortColumn
 }
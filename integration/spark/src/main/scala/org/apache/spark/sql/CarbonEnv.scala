@@ -23,7 +23,7 @@ import org.apache.spark.sql.hive.{CarbonIUDAnalysisRule, CarbonMetastore}
 import org.apache.carbondata.core.constants.CarbonCommonConstants
 import org.apache.carbondata.core.util.CarbonProperties
 import org.apache.carbondata.hadoop.readsupport.impl.RawDataReadSupport
-import org.apache.carbondata.spark.rdd.SparkReadSupport
+import org.apache.carbondata.spark.rdd.{BackgroundCompactionScheduler, SparkReadSupport}
 
 case class CarbonEnv(carbonMetastore: CarbonMetastore)
 
@@ -42,6 +42,10 @@ object CarbonEnv {
       val catalog = new CarbonMetastore(cc, cc.storePath, cc.hiveClientInterface, "")
       carbonEnv = CarbonEnv(catalog)
       CarbonIUDAnalysisRule.init(sqlContext)
+      BackgroundCompactionScheduler.start(sqlContext, catalog.storePath,
+        () => catalog.metadata.synchronized {
+          catalog.metadata.tablesMeta.map(_.carbonTable).toList
+        })
       initialized = true
       CarbonProperties.getInstance.addProperty(CarbonCommonConstants.IS_DRIVER_INSTANCE, "true")
     }
@@ -43,12 +43,13 @@ import org.apache.carbondata.common.logging.LogServiceFactory
 import org.apache.carbondata.core.constants.CarbonCommonConstants
 import org.apache.carbondata.core.datastore.impl.FileFactory
 import org.apache.carbondata.core.dictionary.server.DictionaryServer
-import org.apache.carbondata.core.locks.{CarbonLockFactory, LockUsage}
+import org.apache.carbondata.core.locks.{CarbonLockFactory, CarbonLockUtil, LockUsage}
 import org.apache.carbondata.core.metadata.{CarbonMetadata, CarbonTableIdentifier}
 import org.apache.carbondata.core.metadata.encoder.Encoding
 import org.apache.carbondata.core.metadata.schema.table.{CarbonTable, TableInfo}
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension
 import org.apache.carbondata.core.mutate.{CarbonUpdateUtil, TupleIdEnum}
+import org.apache.carbondata.core.statusmanager.TableStatusLog
 import org.apache.carbondata.core.util.{CarbonProperties, CarbonUtil}
 import org.apache.carbondata.core.util.path.CarbonStorePath
 import org.apache.carbondata.processing.constants.TableOptionConstant
@@ -351,10 +352,13 @@ case class LoadTable(
         .getCarbonTableIdentifier,
         LockUsage.METADATA_LOCK
       )
+    var isLocked = false
     try {
-      // take lock only in case of normal data load.
-      if (!updateModel.isDefined) {
-        if (carbonLock.lockWithRetries()) {
+      // take lock only in case of normal data load. With optimistic commit the loads of the
+      // table run concurrently, the claimed segment id and its table status entry keep them apart
+      if (!updateModel.isDefined && !TableStatusLog.isOptimisticCommitEnabled) {
+        isLocked = carbonLock.lockWithRetries()
+        if (isLocked) {
           logInfo("Successfully able to get the table metadata file lock")
         } else {
           sys.error("Table is locked for updation. Please try after some time")
@@ -622,7 +626,7 @@ case class LoadTable(
         LOGGER.audit(s"Dataload failed for $dbName.$tableName. " + mce.getMessage)
         throw mce
     } finally {
-      if (carbonLock != null) {
+      if (carbonLock != null && isLocked) {
         if (carbonLock.unlock()) {
           logInfo("Table MetaData Unlocked Successfully after data load")
         } else {
@@ -638,33 +642,47 @@ case class LoadTable(
       model: DictionaryLoadModel,
       noDictDimension: Array[CarbonDimension]): Unit = {
 
-    val carbonTablePath = CarbonStorePath.getCarbonTablePath(model.hdfsLocation,
-      model.table)
-    val schemaFilePath = carbonTablePath.getSchemaFilePath
-
-    // read TableInfo
-    val tableInfo = CarbonMetastore.readSchemaFileToThriftTable(schemaFilePath)
-
-    // modify TableInfo
-    val columns = tableInfo.getFact_table.getTable_columns
-    for (i <- 0 until columns.size) {
-      if (noDictDimension.exists(x => columns.get(i).getColumn_id.equals(x.getColumnId))) {
-        columns.get(i).encoders.remove(org.apache.carbondata.format.Encoding.DICTIONARY)
-      }
+    // with optimistic commit the load does not hold the metadata lock, the schema file is
+    // rewritten under it so that concurrent loads keep the columns changed by each other
+    val metadataLock = if (updateModel.isEmpty && TableStatusLog.isOptimisticCommitEnabled) {
+      Some(CarbonLockFactory.getCarbonLockObj(model.table, LockUsage.METADATA_LOCK))
+    } else {
+      None
+    }
+    if (metadataLock.exists(!_.lockWithRetries())) {
+      sys.error("Table is locked for updation. Please try after some time")
     }
+    try {
+      val carbonTablePath = CarbonStorePath.getCarbonTablePath(model.hdfsLocation,
+        model.table)
+      val schemaFilePath = carbonTablePath.getSchemaFilePath
+
+      // read TableInfo
+      val tableInfo = CarbonMetastore.readSchemaFileToThriftTable(schemaFilePath)
+
+      // modify TableInfo
+      val columns = tableInfo.getFact_table.getTable_columns
+      for (i <- 0 until columns.size) {
+        if (noDictDimension.exists(x => columns.get(i).getColumn_id.equals(x.getColumnId))) {
+          columns.get(i).encoders.remove(org.apache.carbondata.format.Encoding.DICTIONARY)
+        }
+      }
 
-    // write TableInfo
-    CarbonMetastore.writeThriftTableToSchemaFile(schemaFilePath, tableInfo)
+      // write TableInfo
+      CarbonMetastore.writeThriftTableToSchemaFile(schemaFilePath, tableInfo)
 
-    // update Metadata
-    val catalog = CarbonEnv.get.carbonMetastore
-    catalog.updateMetadataByThriftTable(schemaFilePath, tableInfo,
-      model.table.getDatabaseName, model.table.getTableName, carbonLoadModel.getStorePath)
+      // update Metadata
+      val catalog = CarbonEnv.get.carbonMetastore
+      catalog.updateMetadataByThriftTable(schemaFilePath, tableInfo,
+        model.table.getDatabaseName, model.table.getTableName, carbonLoadModel.getStorePath)
 
-    // update CarbonDataLoadSchema
-    val carbonTable = catalog.lookupRelation1(Option(model.table.getDatabaseName),
-      model.table.getTableName)(sqlContext).asInstanceOf[CarbonRelation].tableMeta.carbonTable
-    carbonLoadModel.setCarbonDataLoadSchema(new CarbonDataLoadSchema(carbonTable))
+      // update CarbonDataLoadSchema
+      val carbonTable = catalog.lookupRelation1(Option(model.table.getDatabaseName),
+        model.table.getTableName)(sqlContext).asInstanceOf[CarbonRelation].tableMeta.carbonTable
+      carbonLoadModel.setCarbonDataLoadSchema(new CarbonDataLoadSchema(carbonTable))
+    } finally {
+      metadataLock.foreach(CarbonLockUtil.fileUnlock(_, LockUsage.METADATA_LOCK))
+    }
   }
 
   private def validateDateFormat(dateFormat: String, table: CarbonTable): Unit = {
@@ -294,7 +294,9 @@ class CarbonMetastore(hiveContext: HiveContext, val storePath: String,
     thriftWriter.write(thriftTableInfo)
     thriftWriter.close()
 
-    metadata.tablesMeta += tableMeta
+    metadata.synchronized {
+      metadata.tablesMeta += tableMeta
+    }
     logInfo(s"Table $tableName for Database $dbName created successfully.")
     LOGGER.info(s"Table $tableName for Database $dbName created successfully.")
     updateSchemasUpdatedTime(touchSchemaFileSystemTime(dbName, tableName))
@@ -307,10 +309,12 @@ class CarbonMetastore(hiveContext: HiveContext, val storePath: String,
     CarbonMetadata.getInstance().loadTableMetadata(wrapperTableInfo)
     val carbonTable = CarbonMetadata.getInstance().getCarbonTable(
       wrapperTableInfo.getTableUniqueName)
-    for (i <- metadata.tablesMeta.indices) {
-      if (wrapperTableInfo.getTableUniqueName.equals(
-        metadata.tablesMeta(i).carbonTableIdentifier.getTableUniqueName)) {
-        metadata.tablesMeta(i).carbonTable = carbonTable
+    metadata.synchronized {
+      for (i <- metadata.tablesMeta.indices) {
+        if (wrapperTableInfo.getTableUniqueName.equals(
+          metadata.tablesMeta(i).carbonTableIdentifier.getTableUniqueName)) {
+          metadata.tablesMeta(i).carbonTable = carbonTable
+        }
       }
     }
   }
@@ -373,7 +377,9 @@ class CarbonMetastore(hiveContext: HiveContext, val storePath: String,
         tableIdentifier.table)
       metadataToBeRemoved match {
         case Some(tableMeta) =>
-          metadata.tablesMeta -= tableMeta
+          metadata.synchronized {
+            metadata.tablesMeta -= tableMeta
+          }
           CarbonMetadata.getInstance.removeTable(dbName + "_" + tableName)
           CarbonMetadata.getInstance.removeTable(dbName + "_" + tableName)
           updateSchemasUpdatedTime(touchSchemaFileSystemTime(dbName, tableName))
@@ -448,7 +454,10 @@ class CarbonMetastore(hiveContext: HiveContext, val storePath: String,
   }
 
   def refreshCache() {
-    metadata.tablesMeta = loadMetadata(storePath).tablesMeta
+    val tablesMeta = loadMetadata(storePath).tablesMeta
+    metadata.synchronized {
+      metadata.tablesMeta = tablesMeta
+    }
   }
 
   def getSchemaLastUpdatedTime(databaseName: String, tableName: String): Long = {
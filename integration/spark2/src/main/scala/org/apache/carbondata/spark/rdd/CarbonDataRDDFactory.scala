@@ -44,7 +44,7 @@ import org.apache.carbondata.core.locks.{CarbonLockFactory, ICarbonLock, LockUsa
 import org.apache.carbondata.core.metadata.{CarbonTableIdentifier, ColumnarFormatVersion}
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable
 import org.apache.carbondata.core.mutate.CarbonUpdateUtil
-import org.apache.carbondata.core.statusmanager.LoadMetadataDetails
+import org.apache.carbondata.core.statusmanager.{LoadMetadataDetails, TableStatusLog}
 import org.apache.carbondata.core.util.CarbonProperties
 import org.apache.carbondata.core.util.path.CarbonStorePath
 import org.apache.carbondata.processing.csvreaderstep.{BlockDetails, RddInpututilsForUpdate}
@@ -484,6 +484,11 @@ object CarbonDataRDDFactory {
         }
       }
       currentLoadCount += 1
+      val isSegmentIdClaimed = TableStatusLog.isOptimisticCommitEnabled && updateModel.isEmpty
+      if (isSegmentIdClaimed) {
+        // the segment id is claimed, so the load never commits the segment of another load
+        currentLoadCount = TableStatusLog.claimSegmentId(carbonTable.getMetaDataFilepath)
+      }
       // Deleting the any partially loaded data if present.
       // in some case the segment folder which is present in store will not have entry in status.
       // so deleting those folders.
@@ -938,6 +943,9 @@ object CarbonDataRDDFactory {
         LOGGER.info("********starting clean up**********")
       if (loadStatus == CarbonCommonConstants.STORE_LOADSTATUS_FAILURE) {
         CarbonLoaderUtil.deleteSegment(carbonLoadModel, currentLoadCount)
+        if (isSegmentIdClaimed) {
+          TableStatusLog.releaseSegmentId(carbonTable.getMetaDataFilepath, currentLoadCount)
+        }
         LOGGER.info("********clean up done**********")
         LOGGER.audit(s"Data load is failed for " +
             s"${ carbonLoadModel.getDatabaseName }.${ carbonLoadModel.getTableName }")
@@ -22,11 +22,13 @@ import org.apache.spark.rdd.RDD
 import org.apache.spark.sql.catalyst.InternalRow
 import org.apache.spark.sql.catalyst.errors.attachTree
 import org.apache.spark.sql.catalyst.expressions._
+import org.apache.spark.sql.catalyst.expressions.codegen.{CodegenContext, ExprCode}
 import org.apache.spark.sql.catalyst.plans.physical.Partitioning
-import org.apache.spark.sql.execution.{SparkPlan, UnaryExecNode}
+import org.apache.spark.sql.execution.{CodegenSupport, SparkPlan, UnaryExecNode}
 import org.apache.spark.sql.hive.{CarbonMetastoreTypes, CarbonRelation}
 import org.apache.spark.sql.optimizer.CarbonDecoderRelation
 import org.apache.spark.sql.types._
+import org.apache.spark.unsafe.types.UTF8String
 
 import org.apache.carbondata.core.cache.{Cache, CacheProvider, CacheType}
 import org.apache.carbondata.core.cache.dictionary.{Dictionary, DictionaryColumnUniqueIdentifier}
@@ -39,14 +41,16 @@ import org.apache.carbondata.spark.CarbonAliasDecoderRelation
 
 /**
  * It decodes the data.
- *
+ * Decoded value of each surrogate key is remembered for the task, and the decoder takes part
+ * in whole stage codegen, so with the vectorized reader the decode is an array lookup in the
+ * generated loop over the columnar batch.
  */
 case class CarbonDictionaryDecoder(
     relations: Seq[CarbonDecoderRelation],
     profile: CarbonProfile,
     aliasMap: CarbonAliasDecoderRelation,
     child: SparkPlan)
-  extends UnaryExecNode {
+  extends UnaryExecNode with CodegenSupport {
 
   override val output: Seq[Attribute] = {
     child.output.map { a =>
@@ -144,52 +148,36 @@ case class CarbonDictionaryDecoder(
     dictIds
   }
 
+  private lazy val dictionaryDecodeContext = {
+    val absoluteTableIdentifiers = relations.map { relation =>
+      val carbonTable = relation.carbonRelation.carbonRelation.metaData.carbonTable
+      (carbonTable.getFactTableName, carbonTable.getAbsoluteTableIdentifier)
+    }.toMap
+    new CarbonDictionaryDecodeContext(CarbonEnv.get.carbonMetastore.storePath,
+      absoluteTableIdentifiers,
+      getDictionaryColumnIds)
+  }
+
   override def doExecute(): RDD[InternalRow] = {
     attachTree(this, "execute") {
-      val storePath = CarbonEnv.get.carbonMetastore.storePath
-      val absoluteTableIdentifiers = relations.map { relation =>
-        val carbonTable = relation.carbonRelation.carbonRelation.metaData.carbonTable
-        (carbonTable.getFactTableName, carbonTable.getAbsoluteTableIdentifier)
-      }.toMap
-
       if (isRequiredToDecode) {
         val dataTypes = child.output.map { attr => attr.dataType }
+        val decodeContext = dictionaryDecodeContext
         child.execute().mapPartitions { iter =>
-          val cacheProvider: CacheProvider = CacheProvider.getInstance
-          val forwardDictionaryCache: Cache[DictionaryColumnUniqueIdentifier, Dictionary] =
-            cacheProvider.createCache(CacheType.FORWARD_DICTIONARY, storePath)
-          val dicts: Seq[Dictionary] = getDictionary(absoluteTableIdentifiers,
-            forwardDictionaryCache)
-          val dictIndex = dicts.zipWithIndex.filter(x => x._1 != null).map(x => x._2)
-          // add a task completion listener to clear dictionary that is a decisive factor for
-          // LRU eviction policy
-          val dictionaryTaskCleaner = TaskContext.get
-          dictionaryTaskCleaner.addTaskCompletionListener(_ =>
-            dicts.foreach { dictionary =>
-              if (null != dictionary) {
-                dictionary.clear()
-              }
-            }
-          )
+          val valueCaches = decodeContext.getValueCaches
+          val dictIndex = valueCaches.zipWithIndex.filter(x => x._1 != null).map(x => x._2)
           new Iterator[InternalRow] {
             val unsafeProjection = UnsafeProjection.create(output.map(_.dataType).toArray)
-            var flag = true
-            var total = 0L
             override final def hasNext: Boolean = iter.hasNext
             override final def next(): InternalRow = {
-              val startTime = System.currentTimeMillis()
               val row: InternalRow = iter.next()
               val data = row.toSeq(dataTypes).toArray
               dictIndex.foreach { index =>
                 if (data(index) != null) {
-                  data(index) = DataTypeUtil.getDataBasedOnDataType(dicts(index)
-                    .getDictionaryValueForKey(data(index).asInstanceOf[Int]),
-                    getDictionaryColumnIds(index)._3)
+                  data(index) = valueCaches(index).get(data(index).asInstanceOf[Int])
                 }
               }
-              val result = unsafeProjection(new GenericInternalRow(data))
-              total += System.currentTimeMillis() - startTime
-              result
+              unsafeProjection(new GenericInternalRow(data))
             }
           }
         }
@@ -199,35 +187,63 @@ case class CarbonDictionaryDecoder(
     }
   }
 
-  private def isRequiredToDecode = {
-    getDictionaryColumnIds.find(p => p._1 != null) match {
-      case Some(value) => true
-      case _ => false
+  /**
+   * Codegen is supported when all the columns to be decoded have a primitive, string or
+   * decimal value in spark
+   */
+  override def supportCodegen: Boolean = {
+    getDictionaryColumnIds.forall { f =>
+      f._3 == null || CarbonDictionaryValueCache.isCodegenSupported(f._3)
     }
   }
 
-  private def getDictionary(atiMap: Map[String, AbsoluteTableIdentifier],
-      cache: Cache[DictionaryColumnUniqueIdentifier, Dictionary]) = {
-    val dicts: Seq[Dictionary] = getDictionaryColumnIds.map { f =>
-      if (f._2 != null) {
-        try {
-          cache.get(new DictionaryColumnUniqueIdentifier(
-            atiMap(f._1).getCarbonTableIdentifier,
-            f._2, f._3))
-        } catch {
-          case _: Throwable => null
-        }
+  override def inputRDDs(): Seq[RDD[InternalRow]] = {
+    child.asInstanceOf[CodegenSupport].inputRDDs()
+  }
+
+  override protected def doProduce(ctx: CodegenContext): String = {
+    child.asInstanceOf[CodegenSupport].produce(ctx, this)
+  }
+
+  override def doConsume(ctx: CodegenContext, input: Seq[ExprCode], row: ExprCode): String = {
+    val decodeContext = ctx.addReferenceObj("dictionaryDecodeContext", dictionaryDecodeContext,
+      classOf[CarbonDictionaryDecodeContext].getName)
+    val valueCacheClz = classOf[CarbonDictionaryValueCache].getName
+    val outputVars = input.zipWithIndex.map { case (ev, index) =>
+      if (getDictionaryColumnIds(index)._2 != null) {
+        val valueCache = ctx.freshName("valueCache")
+        ctx.addMutableState(valueCacheClz, valueCache,
+          s"$valueCache = $decodeContext.getValueCache($index);")
+        val dataType = output(index).dataType
+        val javaType = ctx.javaType(dataType)
+        val isNullVar = ctx.freshName("isNull")
+        val valueVar = ctx.freshName("value")
+        val code =
+          s"""
+             |${ ev.code }
+             |boolean $isNullVar = ${ ev.isNull } || $valueCache.isNull(${ ev.value });
+             |$javaType $valueVar = ${ ctx.defaultValue(dataType) };
+             |if (!$isNullVar) {
+             |  $valueVar = $valueCache.${ CarbonDictionaryValueCache.getter(dataType) }(
+             |    ${ ev.value });
+             |}
+           """.stripMargin
+        ExprCode(code, isNullVar, valueVar)
       } else {
-        null
+        ev
       }
     }
-    dicts
+    consume(ctx, outputVars)
   }
 
-}
-
-
+  private def isRequiredToDecode = {
+    getDictionaryColumnIds.find(p => p._1 != null) match {
+      case Some(value) => true
+      case _ => false
+    }
+  }
 
+}
 
 class CarbonDecoderRDD(
     relations: Seq[CarbonDecoderRelation],
@@ -315,6 +331,9 @@ class CarbonDecoderRDD(
     val dicts: Seq[Dictionary] = getDictionary(absoluteTableIdentifiers,
       forwardDictionaryCache)
     val dictIndex = dicts.zipWithIndex.filter(x => x._1 != null).map(x => x._2)
+    val valueCaches = dicts.zip(getDictionaryColumnIds).map { case (dictionary, f) =>
+      if (null != dictionary) new CarbonDictionaryValueCache(dictionary, f._3) else null
+    }
     // add a task completion listener to clear dictionary that is a decisive factor for
     // LRU eviction policy
     val dictionaryTaskCleaner = TaskContext.get
@@ -337,9 +356,7 @@ class CarbonDecoderRDD(
         val data = row.toSeq(dataTypes).toArray
         dictIndex.foreach { index =>
           if ( data(index) != null) {
-            data(index) = DataTypeUtil.getDataBasedOnDataType(dicts(index)
-                .getDictionaryValueForKey(data(index).asInstanceOf[Int]),
-              getDictionaryColumnIds(index)._3)
+            data(index) = valueCaches(index).get(data(index).asInstanceOf[Int])
           }
         }
         new GenericInternalRow(data)
@@ -367,3 +384,190 @@ class CarbonDecoderRDD(
 
   override protected def getPartitions: Array[Partition] = firstParent[InternalRow].partitions
 }
+
+/**
+ * Loads the dictionaries of the columns to be decoded in the task which uses the context
+ * first. Context is serialized with the task, so each task has its own dictionaries, which
+ * are cleared when the task is completed.
+ */
+class CarbonDictionaryDecodeContext(
+    storePath: String,
+    absoluteTableIdentifiers: Map[String, AbsoluteTableIdentifier],
+    dictionaryColumnIds: Array[(String, ColumnIdentifier, DataType)]) extends Serializable {
+
+  @transient private lazy val valueCaches: Array[CarbonDictionaryValueCache] = {
+    val cacheProvider: CacheProvider = CacheProvider.getInstance
+    val forwardDictionaryCache: Cache[DictionaryColumnUniqueIdentifier, Dictionary] =
+      cacheProvider.createCache(CacheType.FORWARD_DICTIONARY, storePath)
+    val dicts: Array[Dictionary] = dictionaryColumnIds.map { f =>
+      if (f._2 != null) {
+        try {
+          forwardDictionaryCache.get(new DictionaryColumnUniqueIdentifier(
+            absoluteTableIdentifiers(f._1).getCarbonTableIdentifier,
+            f._2, f._3))
+        } catch {
+          case _: Throwable => null
+        }
+      } else {
+        null
+      }
+    }
+    // add a task completion listener to clear dictionary that is a decisive factor for
+    // LRU eviction policy
+    TaskContext.get.addTaskCompletionListener(_ =>
+      dicts.foreach { dictionary =>
+        if (null != dictionary) {
+          dictionary.clear()
+        }
+      }
+    )
+    dicts.zip(dictionaryColumnIds).map { case (dictionary, f) =>
+      if (null != dictionary) new CarbonDictionaryValueCache(dictionary, f._3) else null
+    }
+  }
+
+  def getValueCaches: Array[CarbonDictionaryValueCache] = valueCaches
+
+  def getValueCache(ordinal: Int): CarbonDictionaryValueCache = valueCaches(ordinal)
+}
+
+/**
+ * Decodes the surrogate keys of one dictionary column and remembers the spark value of each
+ * surrogate key, so a surrogate key is looked up in the dictionary and converted only once.
+ * Values are kept in arrays indexed by surrogate key, primitive values in primitive arrays.
+ */
+class CarbonDictionaryValueCache(dictionary: Dictionary, dataType: DataType) {
+
+  import CarbonDictionaryValueCache._
+
+  /**
+   * state of each surrogate key, not decoded, null or value
+   */
+  private var states: Array[Byte] = new Array[Byte](0)
+
+  private var longValues: Array[Long] = _
+
+  private var doubleValues: Array[Double] = _
+
+  private var objectValues: Array[AnyRef] = _
+
+  /**
+   * Decodes the surrogate key if it is not yet decoded
+   *
+   * @return true if the value of surrogate key is null
+   */
+  def isNull(surrogateKey: Int): Boolean = {
+    if (surrogateKey >= states.length || states(surrogateKey) == NOT_DECODED) {
+      decode(surrogateKey)
+    }
+    states(surrogateKey) == NULL_VALUE
+  }
+
+  def getUTF8String(surrogateKey: Int): UTF8String = {
+    objectValues(surrogateKey).asInstanceOf[UTF8String]
+  }
+
+  def getDecimal(surrogateKey: Int): Decimal = objectValues(surrogateKey).asInstanceOf[Decimal]
+
+  def getShort(surrogateKey: Int): Short = longValues(surrogateKey).toShort
+
+  def getInt(surrogateKey: Int): Int = longValues(surrogateKey).toInt
+
+  def getLong(surrogateKey: Int): Long = longValues(surrogateKey)
+
+  def getDouble(surrogateKey: Int): Double = doubleValues(surrogateKey)
+
+  /**
+   * @return value of the surrogate key as expected in spark row, null if value is null
+   */
+  def get(surrogateKey: Int): Any = {
+    if (isNull(surrogateKey)) {
+      null
+    } else {
+      dataType match {
+        case DataType.SHORT => getShort(surrogateKey)
+        case DataType.INT => getInt(surrogateKey)
+        case DataType.LONG | DataType.TIMESTAMP | DataType.DATE => getLong(surrogateKey)
+        case DataType.DOUBLE => getDouble(surrogateKey)
+        case _ => objectValues(surrogateKey)
+      }
+    }
+  }
+
+  private def decode(surrogateKey: Int): Unit = {
+    if (surrogateKey >= states.length) {
+      grow(surrogateKey + 1)
+    }
+    val value = DataTypeUtil.getDataBasedOnDataType(
+      dictionary.getDictionaryValueForKey(surrogateKey), dataType)
+    if (null == value) {
+      states(surrogateKey) = NULL_VALUE
+    } else {
+      dataType match {
+        case DataType.SHORT | DataType.INT | DataType.LONG | DataType.TIMESTAMP | DataType.DATE =>
+          longValues(surrogateKey) = value.asInstanceOf[Number].longValue()
+        case DataType.DOUBLE =>
+          doubleValues(surrogateKey) = value.asInstanceOf[Number].doubleValue()
+        case _ =>
+          objectValues(surrogateKey) = value
+      }
+      states(surrogateKey) = DECODED
+    }
+  }
+
+  private def grow(minSize: Int): Unit = {
+    val newSize = Math.max(minSize, Math.min(states.length.toLong * 2, Int.MaxValue).toInt)
+    states = java.util.Arrays.copyOf(states, newSize)
+    dataType match {
+      case DataType.SHORT | DataType.INT | DataType.LONG | DataType.TIMESTAMP | DataType.DATE =>
+        longValues = if (null == longValues) {
+          new Array[Long](newSize)
+        } else {
+          java.util.Arrays.copyOf(longValues, newSize)
+        }
+      case DataType.DOUBLE =>
+        doubleValues = if (null == doubleValues) {
+          new Array[Double](newSize)
+        } else {
+          java.util.Arrays.copyOf(doubleValues, newSize)
+        }
+      case _ =>
+        objectValues = if (null == objectValues) {
+          new Array[AnyRef](newSize)
+        } else {
+          java.util.Arrays.copyOf(objectValues, newSize)
+        }
+    }
+  }
+}
+
+object CarbonDictionaryValueCache {
+
+  private val NOT_DECODED: Byte = 0
+
+  private val NULL_VALUE: Byte = 1
+
+  private val DECODED: Byte = 2
+
+  def isCodegenSupported(dataType: DataType): Boolean = {
+    dataType match {
+      case DataType.STRING | DataType.SHORT | DataType.INT | DataType.LONG | DataType.DOUBLE |
+           DataType.DECIMAL | DataType.TIMESTAMP => true
+      case _ => false
+    }
+  }
+
+  /**
+   * @return name of the method which gives the decoded value of the spark data type
+   */
+  def getter(dataType: types.DataType): String = {
+    dataType match {
+      case StringType => "getUTF8String"
+      case ShortType => "getShort"
+      case IntegerType => "getInt"
+      case LongType | TimestampType => "getLong"
+      case DoubleType => "getDouble"
+      case _: DecimalType => "getDecimal"
+    }
+  }
+}
@@ -22,7 +22,7 @@ import org.apache.spark.sql.hive.CarbonMetastore
 import org.apache.carbondata.common.logging.LogServiceFactory
 import org.apache.carbondata.core.constants.CarbonCommonConstants
 import org.apache.carbondata.core.util.CarbonProperties
-import org.apache.carbondata.spark.rdd.SparkReadSupport
+import org.apache.carbondata.spark.rdd.{BackgroundCompactionScheduler, SparkReadSupport}
 import org.apache.carbondata.spark.readsupport.SparkRowReadSupportImpl
 
 /**
@@ -50,6 +50,10 @@ object CarbonEnv {
         new CarbonMetastore(sparkSession.conf, storePath)
       }
       carbonEnv = CarbonEnv(catalog)
+      BackgroundCompactionScheduler.start(sparkSession.sqlContext, catalog.storePath,
+        () => catalog.metadata.synchronized {
+          catalog.metadata.tablesMeta.map(_.carbonTable).toList
+        })
       initialized = true
     }
   }
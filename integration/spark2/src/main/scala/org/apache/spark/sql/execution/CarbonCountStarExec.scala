@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.spark.sql.execution
+
+import org.apache.spark.rdd.RDD
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.catalyst.expressions.{Attribute, GenericInternalRow, UnsafeProjection}
+
+import org.apache.carbondata.spark.rdd.CarbonScanRDD
+
+/**
+ * Physical plan of count star computed by the carbon scan. Each row of the scan is the count of
+ * the rows selected in a partition, so only the partial counts are merged here.
+ */
+case class CarbonCountStarExec(
+    output: Seq[Attribute],
+    rdd: CarbonScanRDD) extends LeafExecNode {
+
+  override protected def doExecute(): RDD[InternalRow] = {
+    val outputSchema = output
+    rdd.mapPartitions { rows =>
+      var count = 0L
+      rows.foreach(row => count += row.getLong(0))
+      Iterator(count)
+    }.coalesce(1, shuffle = true).mapPartitions { counts =>
+      val count = counts.sum
+      val row = new GenericInternalRow(outputSchema.map(_ => count: Any).toArray)
+      Iterator(UnsafeProjection.create(outputSchema, outputSchema).apply(row))
+    }
+  }
+}
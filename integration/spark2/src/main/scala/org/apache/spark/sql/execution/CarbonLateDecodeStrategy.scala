@@ -25,19 +25,27 @@ import org.apache.spark.sql._
 import org.apache.spark.sql.catalyst.InternalRow
 import org.apache.spark.sql.catalyst.expressions
 import org.apache.spark.sql.catalyst.expressions.{Attribute, _}
+import org.apache.spark.sql.catalyst.expressions.aggregate.{AggregateExpression, Complete,
+  Count, Max, Min, Sum}
 import org.apache.spark.sql.catalyst.planning.PhysicalOperation
-import org.apache.spark.sql.catalyst.plans.logical.LogicalPlan
+import org.apache.spark.sql.catalyst.plans.logical.{Aggregate, Limit, LocalLimit, LogicalPlan,
+  ReturnAnswer, Sort}
 import org.apache.spark.sql.catalyst.plans.physical.{HashPartitioning, Partitioning, UnknownPartitioning}
+import org.apache.spark.sql.execution.aggregate.AggUtils
 import org.apache.spark.sql.execution.datasources.LogicalRelation
 import org.apache.spark.sql.optimizer.CarbonDecoderRelation
 import org.apache.spark.sql.sources.{BaseRelation, Filter}
-import org.apache.spark.sql.types.{AtomicType, IntegerType}
+import org.apache.spark.sql.types.{AtomicType, DataType, DateType, DoubleType, IntegerType,
+  LongType, ShortType, TimestampType}
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.metadata.encoder.Encoding
 import org.apache.carbondata.core.metadata.schema.BucketingInfo
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable
-import org.apache.carbondata.core.util.CarbonProperties
-import org.apache.carbondata.spark.CarbonAliasDecoderRelation
+import org.apache.carbondata.core.scan.model.QueryAggregate
+import org.apache.carbondata.core.scan.model.QueryAggregate.AggregateType
+import org.apache.carbondata.core.util.{CarbonProperties, CarbonUtil}
+import org.apache.carbondata.spark.{CarbonAliasDecoderRelation, CarbonFilters}
 import org.apache.carbondata.spark.rdd.CarbonScanRDD
 import org.apache.carbondata.spark.util.CarbonScalaUtil
 
@@ -50,6 +58,22 @@ private[sql] class CarbonLateDecodeStrategy extends SparkStrategy {
 
   def apply(plan: LogicalPlan): Seq[SparkPlan] = {
     plan match {
+      case Aggregate(Nil, aggregateExpressions, PhysicalOperation(_, filters, l: LogicalRelation))
+        if l.relation.isInstanceOf[CarbonDatasourceHadoopRelation] &&
+           aggregateExpressions.nonEmpty && aggregateExpressions.forall(isCountStar) =>
+        pushDownCountStar(l, aggregateExpressions, filters)
+      case Aggregate(groupingExpressions, aggregateExpressions,
+        PhysicalOperation(projects, filters, l: LogicalRelation))
+        if l.relation.isInstanceOf[CarbonDatasourceHadoopRelation] &&
+           projects.forall(_.isInstanceOf[AttributeReference]) =>
+        pushDownAggregate(l, groupingExpressions, aggregateExpressions, filters)
+      case ReturnAnswer(Limit(IntegerLiteral(limit), child)) =>
+        planTopN(limit, child)
+          .orElse(planLimit(limit, child).map(CollectLimitExec(limit, _))).toSeq
+      case Limit(IntegerLiteral(limit), child) =>
+        planTopN(limit, child).toSeq
+      case LocalLimit(IntegerLiteral(limit), child) =>
+        planLimit(limit, child).map(LocalLimitExec(limit, _)).toSeq
       case PhysicalOperation(projects, filters, l: LogicalRelation)
         if l.relation.isInstanceOf[CarbonDatasourceHadoopRelation] =>
         val relation = l.relation.asInstanceOf[CarbonDatasourceHadoopRelation]
@@ -70,6 +94,285 @@ private[sql] class CarbonLateDecodeStrategy extends SparkStrategy {
     }
   }
 
+  private def isCountStar(expression: NamedExpression): Boolean = {
+    expression match {
+      case Alias(AggregateExpression(Count(Seq(Literal(value, _))), _, false, _), _) =>
+        value != null
+      case _ => false
+    }
+  }
+
+  /**
+   * Count star without group by is computed by the carbon scan, so only one row for each
+   * partition is returned instead of all the selected rows. It is done only if all the filters
+   * can be pushed down to carbon, else the filter has to be applied on the rows by spark.
+   */
+  private def pushDownCountStar(
+      relation: LogicalRelation,
+      aggregateExpressions: Seq[NamedExpression],
+      filters: Seq[Expression]): Seq[SparkPlan] = {
+    val table = relation.relation.asInstanceOf[CarbonDatasourceHadoopRelation]
+    if (!isAllFiltersPushed(relation, filters)) {
+      return Nil
+    }
+    val (_, pushedFilters) = selectFilters(table, toRelationPredicates(relation, filters))
+    val rdd = table.buildScan(Array.empty, pushedFilters.toArray).asInstanceOf[CarbonScanRDD]
+    rdd.setVectorReaderSupport(false)
+    rdd.setQueryAggregates(
+      Seq(new QueryAggregate(AggregateType.COUNT_STAR, null)).asJava)
+    CarbonCountStarExec(aggregateExpressions.map(_.toAttribute), rdd) :: Nil
+  }
+
+  /**
+   * Partial aggregates of each group of dictionary dimensions are computed by the carbon scan
+   * on the surrogate keys, so each partition returns one row for each group instead of all the
+   * selected rows. Spark then merges the partial aggregates of the partitions, and the
+   * dictionary decoder above the aggregate decodes the groups. It is done only if all the
+   * filters can be pushed down to carbon and every aggregate is supported by the scan, else
+   * the aggregate is planned by spark.
+   */
+  private def pushDownAggregate(
+      relation: LogicalRelation,
+      groupingExpressions: Seq[Expression],
+      aggregateExpressions: Seq[NamedExpression],
+      filters: Seq[Expression]): Seq[SparkPlan] = {
+    val table = relation.relation.asInstanceOf[CarbonDatasourceHadoopRelation]
+    val groupingAttributes = groupingExpressions.collect {
+      case attr: AttributeReference if isGroupByDimension(relation, attr) => attr
+    }
+    if (groupingAttributes.size != groupingExpressions.size ||
+        groupingAttributes.map(_.exprId).distinct.size != groupingAttributes.size ||
+        !isAllFiltersPushed(relation, filters)) {
+      return Nil
+    }
+    val groupingColumns = groupingAttributes.map(relation.attributeMap(_).name)
+    val aggregates = aggregateExpressions.collect {
+      case alias@Alias(AggregateExpression(function, _, false, _), _) =>
+        (alias, toQueryAggregate(relation, function).orNull)
+    }
+    val isGroupByColumn = (attr: AttributeReference) =>
+      groupingAttributes.exists(_.exprId == attr.exprId)
+    val isPushable = aggregateExpressions.forall {
+      case attr: AttributeReference => isGroupByColumn(attr)
+      case Alias(attr: AttributeReference, _) => isGroupByColumn(attr)
+      case Alias(AggregateExpression(_, _, false, _), _) => true
+      case _ => false
+    } && aggregates.forall { case (_, aggregate) =>
+      // group by dimensions of the scan are the query dimensions which are not aggregated
+      null != aggregate && !groupingColumns.exists(_.equalsIgnoreCase(aggregate.getColumnName))
+    }
+    if (!isPushable) {
+      return Nil
+    }
+    val queryAggregates = aggregates.map(_._2)
+    // rows of the scan are the group by columns followed by the partial aggregates
+    val partialAttributes = aggregates.map { case (alias, aggregate) =>
+      AttributeReference(alias.name, partialDataType(aggregate, alias.dataType))()
+    }
+    val mergeExpressions = aggregates.zip(partialAttributes).map {
+      case ((_, aggregate), partial) =>
+        val mergeFunction = aggregate.getAggregateType match {
+          case AggregateType.MIN => Min(partial)
+          case AggregateType.MAX => Max(partial)
+          case _ => Sum(partial)
+        }
+        AggregateExpression(mergeFunction, Complete, isDistinct = false)
+    }
+    val mergedAggregates = aggregates.zip(mergeExpressions).map {
+      case ((alias, aggregate), mergeExpression) =>
+        val merged = aggregate.getAggregateType match {
+          case AggregateType.COUNT_STAR | AggregateType.COUNT =>
+            Coalesce(Seq(mergeExpression.resultAttribute, Literal(0L)))
+          case _ if mergeExpression.dataType != alias.dataType =>
+            Cast(mergeExpression.resultAttribute, alias.dataType)
+          case _ => mergeExpression.resultAttribute
+        }
+        alias.exprId -> Alias(merged, alias.name)(exprId = alias.exprId)
+    }.toMap
+    val resultExpressions = aggregateExpressions.map {
+      case alias: Alias if mergedAggregates.contains(alias.exprId) =>
+        mergedAggregates(alias.exprId)
+      case other => other
+    }
+    val (_, pushedFilters) = selectFilters(table, toRelationPredicates(relation, filters))
+    val columns = groupingColumns ++ queryAggregates.flatMap(aggregate =>
+      Option(aggregate.getColumnName)).distinct
+    val rdd = table.buildScan(columns.toArray, pushedFilters.toArray).asInstanceOf[CarbonScanRDD]
+    rdd.setVectorReaderSupport(false)
+    rdd.setQueryAggregates(queryAggregates.asJava)
+    val scan = CarbonPartialAggregateExec(groupingAttributes ++ partialAttributes, rdd)
+    AggUtils.planAggregateWithoutDistinct(
+      groupingAttributes, mergeExpressions, resultExpressions, scan)
+  }
+
+  /**
+   * Rows are grouped on dictionary dimensions only. Scan gives the surrogate key of global
+   * dictionary columns, so they must be left to the dictionary decoder by the carbon optimizer.
+   */
+  private def isGroupByDimension(relation: LogicalRelation, attr: AttributeReference): Boolean = {
+    relation.attributeMap.get(attr).flatMap(column => getDimension(relation, column.name))
+      .exists { dimension =>
+        dimension.hasEncoding(Encoding.DICTIONARY) &&
+        !CarbonUtil.hasComplexDataType(dimension.getDataType) &&
+        (dimension.hasEncoding(Encoding.DIRECT_DICTIONARY) || attr.dataType == IntegerType)
+      }
+  }
+
+  private def getDimension(relation: LogicalRelation, columnName: String) = {
+    val carbonTable = relation.relation.asInstanceOf[CarbonDatasourceHadoopRelation].carbonTable
+    Option(carbonTable.getDimensionByName(carbonTable.getFactTableName, columnName))
+  }
+
+  private def getMeasure(relation: LogicalRelation, columnName: String) = {
+    val carbonTable = relation.relation.asInstanceOf[CarbonDatasourceHadoopRelation].carbonTable
+    Option(carbonTable.getMeasureByName(carbonTable.getFactTableName, columnName))
+  }
+
+  /**
+   * @return aggregate to be computed by the scan, None if the scan cannot compute it. Count,
+   *         sum, min and max are computed on the integer and double measures. Min, max and count
+   *         are also computed on the direct dictionary dimensions, whose scanned values are in
+   *         value order and are null for null values, unlike the global dictionary keys.
+   */
+  private def toQueryAggregate(
+      relation: LogicalRelation,
+      function: Expression): Option[QueryAggregate] = {
+    def aggregateOn(aggregateType: AggregateType, attr: AttributeReference) = {
+      relation.attributeMap.get(attr).map(_.name).filter { column =>
+        val isMeasure = getMeasure(relation, column).isDefined &&
+          Seq(ShortType, IntegerType, LongType, DoubleType).contains(attr.dataType)
+        val isDirectDictionary = aggregateType != AggregateType.SUM &&
+          getDimension(relation, column).exists(_.hasEncoding(Encoding.DIRECT_DICTIONARY))
+        isMeasure || isDirectDictionary
+      }.map(new QueryAggregate(aggregateType, _))
+    }
+    function match {
+      case Count(Seq(Literal(value, _))) if value != null =>
+        Some(new QueryAggregate(AggregateType.COUNT_STAR, null))
+      case Count(Seq(attr: AttributeReference)) => aggregateOn(AggregateType.COUNT, attr)
+      case Sum(attr: AttributeReference) => aggregateOn(AggregateType.SUM, attr)
+      case Min(attr: AttributeReference) => aggregateOn(AggregateType.MIN, attr)
+      case Max(attr: AttributeReference) => aggregateOn(AggregateType.MAX, attr)
+      case _ => None
+    }
+  }
+
+  /**
+   * @return type of the partial aggregate given by the scan, integer measures are scanned as
+   *         long values
+   */
+  private def partialDataType(aggregate: QueryAggregate, dataType: DataType): DataType = {
+    aggregate.getAggregateType match {
+      case AggregateType.COUNT_STAR | AggregateType.COUNT => LongType
+      case _ if dataType == DateType || dataType == TimestampType => dataType
+      case _ if dataType == DoubleType => DoubleType
+      case _ => LongType
+    }
+  }
+
+  private def toRelationPredicates(
+      relation: LogicalRelation,
+      filters: Seq[Expression]): Seq[Expression] = {
+    filters.map {
+      _ transform {
+        case a: AttributeReference => relation.attributeMap(a)
+      }
+    }
+  }
+
+  /**
+   * @return true if all the filters are applied by the carbon scan, so spark does not need to
+   *         filter the rows of the scan
+   */
+  private def isAllFiltersPushed(relation: LogicalRelation, filters: Seq[Expression]): Boolean = {
+    val table = relation.relation.asInstanceOf[CarbonDatasourceHadoopRelation]
+    val (unhandledPredicates, pushedFilters) =
+      selectFilters(table, toRelationPredicates(relation, filters))
+    unhandledPredicates.isEmpty &&
+    pushedFilters.forall(CarbonFilters.createCarbonFilter(table.schema, _).isDefined)
+  }
+
+  /**
+   * Limit can be applied by the carbon scan only if no row of the scan is filtered by spark
+   */
+  private def isLimitPushable(plan: LogicalPlan): Boolean = {
+    plan match {
+      case PhysicalOperation(_, filters, l: LogicalRelation)
+        if l.relation.isInstanceOf[CarbonDatasourceHadoopRelation] =>
+        isAllFiltersPushed(l, filters)
+      case _ => false
+    }
+  }
+
+  /**
+   * Rows of each block are sorted on the first dimension of the table, so for ascending order
+   * on it the first rows of each block are enough for top N. Only direct dictionary columns are
+   * considered, as their stored order is the value order with nulls first, same as spark.
+   */
+  private def isOrderBySortColumn(order: Seq[SortOrder], plan: LogicalPlan): Boolean = {
+    plan match {
+      case PhysicalOperation(_, _, l: LogicalRelation) if isLimitPushable(plan) =>
+        order match {
+          case Seq(SortOrder(attr: AttributeReference, Ascending, NullsFirst))
+            if l.output.exists(_.exprId == attr.exprId) =>
+            val carbonTable = l.relation.asInstanceOf[CarbonDatasourceHadoopRelation].carbonTable
+            carbonTable.getDimensionByTableName(carbonTable.getFactTableName).asScala.headOption
+              .exists { dimension =>
+                dimension.getColName.equalsIgnoreCase(attr.name) &&
+                dimension.hasEncoding(Encoding.DIRECT_DICTIONARY)
+              }
+          case _ => false
+        }
+      case _ => false
+    }
+  }
+
+  /**
+   * Plans the top N of ascending order on the first sort column with the limit pushed to the
+   * scan. Dictionary decoders added by the carbon optimizer between the limit and the sort are
+   * planned above the top N, as decode does not change the order of the rows.
+   */
+  private def planTopN(limit: Int, plan: LogicalPlan): Option[SparkPlan] = {
+    plan match {
+      case Sort(order, true, child) if isOrderBySortColumn(order, child) =>
+        Some(TakeOrderedAndProjectExec(limit, order, child.output,
+          planScanWithLimit(child, limit, orderBySortColumn = true)))
+      case CarbonDictionaryCatalystDecoder(relations, profile, aliasMap, _, child) =>
+        planTopN(limit, child).map(CarbonDictionaryDecoder(relations, profile, aliasMap, _))
+      case _ => None
+    }
+  }
+
+  /**
+   * Plans the scan with the limit pushed to it, below the dictionary decoders added by the
+   * carbon optimizer between the limit and the scan
+   */
+  private def planLimit(limit: Int, plan: LogicalPlan): Option[SparkPlan] = {
+    plan match {
+      case CarbonDictionaryCatalystDecoder(relations, profile, aliasMap, _, child) =>
+        planLimit(limit, child).map(CarbonDictionaryDecoder(relations, profile, aliasMap, _))
+      case _ if isLimitPushable(plan) =>
+        Some(planScanWithLimit(plan, limit, orderBySortColumn = false))
+      case _ => None
+    }
+  }
+
+  private def planScanWithLimit(
+      plan: LogicalPlan,
+      limit: Int,
+      orderBySortColumn: Boolean): SparkPlan = {
+    val PhysicalOperation(projects, filters, l: LogicalRelation) = plan
+    val relation = l.relation.asInstanceOf[CarbonDatasourceHadoopRelation]
+    pruneFilterProject(
+      l,
+      projects,
+      filters,
+      (a, f, needDecoder) => {
+        val rdd = relation.buildScan(a.map(_.name).toArray, f).asInstanceOf[CarbonScanRDD]
+        rdd.setLimit(limit, orderBySortColumn)
+        toCatalystRDD(l, a, rdd, needDecoder)
+      })
+  }
 
   def getDecoderRDD(
       logicalRelation: LogicalRelation,
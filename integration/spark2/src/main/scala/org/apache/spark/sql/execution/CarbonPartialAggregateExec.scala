@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.spark.sql.execution
+
+import org.apache.spark.rdd.RDD
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.catalyst.expressions.{Attribute, UnsafeProjection}
+
+import org.apache.carbondata.spark.rdd.CarbonScanRDD
+
+/**
+ * Physical plan of the carbon scan which computes the partial aggregates. Each row of the scan
+ * is a group of a partition, which has the group by columns followed by the partial aggregates
+ * of the group, to be merged by the aggregate planned above it.
+ */
+case class CarbonPartialAggregateExec(
+    output: Seq[Attribute],
+    rdd: CarbonScanRDD) extends LeafExecNode {
+
+  override protected def doExecute(): RDD[InternalRow] = {
+    val outputSchema = output
+    rdd.mapPartitions { rows =>
+      val projection = UnsafeProjection.create(outputSchema, outputSchema)
+      rows.map(projection)
+    }
+  }
+}
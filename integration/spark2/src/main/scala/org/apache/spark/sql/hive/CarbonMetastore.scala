@@ -58,7 +58,9 @@ import org.apache.carbondata.spark.util.CarbonSparkUtil
 case class MetaData(var tablesMeta: ArrayBuffer[TableMeta]) {
   // clear the metadata
   def clear(): Unit = {
-    tablesMeta.clear()
+    synchronized {
+      tablesMeta.clear()
+    }
   }
 }
 
@@ -330,7 +332,9 @@ class CarbonMetastore(conf: RuntimeConfig, val storePath: String) {
     thriftWriter.open()
     thriftWriter.write(thriftTableInfo)
     thriftWriter.close()
-    metadata.tablesMeta += tableMeta
+    metadata.synchronized {
+      metadata.tablesMeta += tableMeta
+    }
     LOGGER.info(s"Table $tableName for Database $dbName created successfully.")
     updateSchemasUpdatedTime(touchSchemaFileSystemTime(dbName, tableName))
     carbonTablePath.getPath
@@ -342,10 +346,12 @@ class CarbonMetastore(conf: RuntimeConfig, val storePath: String) {
     CarbonMetadata.getInstance().loadTableMetadata(wrapperTableInfo)
     val carbonTable = CarbonMetadata.getInstance().getCarbonTable(
       wrapperTableInfo.getTableUniqueName)
-    for (i <- metadata.tablesMeta.indices) {
-      if (wrapperTableInfo.getTableUniqueName.equals(
-        metadata.tablesMeta(i).carbonTableIdentifier.getTableUniqueName)) {
-        metadata.tablesMeta(i).carbonTable = carbonTable
+    metadata.synchronized {
+      for (i <- metadata.tablesMeta.indices) {
+        if (wrapperTableInfo.getTableUniqueName.equals(
+          metadata.tablesMeta(i).carbonTableIdentifier.getTableUniqueName)) {
+          metadata.tablesMeta(i).carbonTable = carbonTable
+        }
       }
     }
   }
@@ -425,7 +431,9 @@ class CarbonMetastore(conf: RuntimeConfig, val storePath: String) {
         tableIdentifier.table)
       metadataToBeRemoved match {
         case Some(tableMeta) =>
-          metadata.tablesMeta -= tableMeta
+          metadata.synchronized {
+            metadata.tablesMeta -= tableMeta
+          }
           CarbonMetadata.getInstance.removeTable(dbName + "_" + tableName)
           CarbonMetadata.getInstance.removeTable(dbName + "_" + tableName)
           updateSchemasUpdatedTime(touchSchemaFileSystemTime(dbName, tableName))
@@ -500,7 +508,10 @@ class CarbonMetastore(conf: RuntimeConfig, val storePath: String) {
   }
 
   def refreshCache() {
-    metadata.tablesMeta = loadMetadata(storePath, nextQueryId).tablesMeta
+    val tablesMeta = loadMetadata(storePath, nextQueryId).tablesMeta
+    metadata.synchronized {
+      metadata.tablesMeta = tablesMeta
+    }
   }
 
   def getSchemaLastUpdatedTime(databaseName: String, tableName: String): Long = {
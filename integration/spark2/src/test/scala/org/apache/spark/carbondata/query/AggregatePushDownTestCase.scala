@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.spark.carbondata.query
+
+import org.apache.spark.sql.DataFrame
+import org.apache.spark.sql.common.util.QueryTest
+import org.apache.spark.sql.execution.CarbonPartialAggregateExec
+import org.apache.spark.sql.execution.command.LoadTable
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.util.CarbonProperties
+
+/**
+ * FT for partial aggregates computed by the carbon scan and merged by spark
+ */
+class AggregatePushDownTestCase extends QueryTest with BeforeAndAfterAll {
+
+  override def beforeAll {
+    sql("DROP TABLE IF EXISTS aggpushdown")
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_TIMESTAMP_FORMAT, "yyyy/MM/dd")
+    sql(
+    """
+           CREATE TABLE aggpushdown
+           (ID Int, date Timestamp, country String,
+           name String, phonetype String, serialname String, salary Int)
+           USING org.apache.spark.sql.CarbonSource
+          OPTIONS("tableName"="aggpushdown")
+      """)
+    LoadTable(Some("default"), "aggpushdown", s"$resourcesPath/dataDiff.csv", Nil,
+      Map(("use_kettle", "false"))).run(sqlContext.sparkSession)
+    // same rows in a table of spark, whose aggregates are computed by spark only
+    val detail = sql("select * from aggpushdown")
+    sqlContext.sparkSession.createDataFrame(detail.rdd, detail.schema)
+      .createOrReplaceTempView("aggpushdown_spark")
+  }
+
+  private def isAggregatePushedDown(df: DataFrame): Boolean = {
+    df.queryExecution.executedPlan.collect {
+      case scan: CarbonPartialAggregateExec => scan
+    }.nonEmpty
+  }
+
+  private def checkPushedDown(query: String): Unit = {
+    val df = sql(query.format("aggpushdown"))
+    assert(isAggregatePushedDown(df), "aggregate should be planned on the carbon scan")
+    checkAnswer(df, sql(query.format("aggpushdown_spark")))
+  }
+
+  test("aggregates of each group are computed by the scan") {
+    checkPushedDown(
+      "select country, count(*), count(salary), sum(salary), min(salary), max(salary) " +
+      "from %s group by country")
+    checkPushedDown(
+      "select phonetype, country, sum(ID), max(`date`) from %s group by country, phonetype")
+  }
+
+  test("aggregates of each group with filter are computed by the scan") {
+    checkPushedDown(
+      "select country, count(*), sum(salary), min(`date`) from %s " +
+      "where salary > 15500 and name <> 'aaa10' group by country")
+  }
+
+  test("min and max of timestamp without group by are computed by the scan") {
+    checkPushedDown("select min(`date`), max(`date`), count(*) from %s")
+    checkPushedDown("select min(`date`), max(`date`) from %s where country = 'china'")
+    checkPushedDown("select min(`date`), max(salary) from %s where country = 'japan'")
+  }
+
+  test("aggregates not supported by the scan are computed by spark") {
+    val queries = Seq(
+      "select country, avg(salary) from %s group by country",
+      "select ID, count(*) from %s group by ID",
+      "select phonetype, max(country) from %s group by phonetype",
+      "select country, count(distinct salary) from %s group by country",
+      "select country, sum(salary) from %s where length(name) > 5 group by country")
+    queries.foreach { query =>
+      val df = sql(query.format("aggpushdown"))
+      assert(!isAggregatePushedDown(df), s"$query should be planned by spark")
+      checkAnswer(df, sql(query.format("aggpushdown_spark")))
+    }
+  }
+
+  override def afterAll {
+    sql("DROP TABLE IF EXISTS aggpushdown")
+  }
+}
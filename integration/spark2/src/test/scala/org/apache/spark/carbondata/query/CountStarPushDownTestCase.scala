@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.spark.carbondata.query
+
+import org.apache.spark.sql.{DataFrame, Row}
+import org.apache.spark.sql.common.util.QueryTest
+import org.apache.spark.sql.execution.CarbonCountStarExec
+import org.apache.spark.sql.execution.command.LoadTable
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.util.CarbonProperties
+
+/**
+ * FT for count star computed by the carbon scan
+ */
+class CountStarPushDownTestCase extends QueryTest with BeforeAndAfterAll {
+
+  override def beforeAll {
+    sql("DROP TABLE IF EXISTS countstar")
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_TIMESTAMP_FORMAT, "yyyy/MM/dd")
+    sql(
+    """
+           CREATE TABLE countstar
+           (ID Int, date Timestamp, country String,
+           name String, phonetype String, serialname String, salary Int)
+           USING org.apache.spark.sql.CarbonSource
+          OPTIONS("tableName"="countstar")
+      """)
+    loadData()
+  }
+
+  private def loadData(): Unit = {
+    LoadTable(Some("default"), "countstar", s"$resourcesPath/dataDiff.csv", Nil,
+      Map(("use_kettle", "false"))).run(sqlContext.sparkSession)
+  }
+
+  private def isCountPushedDown(df: DataFrame): Boolean = {
+    df.queryExecution.executedPlan.collect {
+      case countStar: CarbonCountStarExec => countStar
+    }.nonEmpty
+  }
+
+  test("count star without filter is computed by the scan") {
+    val df = sql("select count(*) from countstar")
+    assert(isCountPushedDown(df), "count star should be planned on the carbon scan")
+    checkAnswer(df, Seq(Row(1000)))
+  }
+
+  test("count star with filter is computed by the scan") {
+    val df = sql("select count(*) from countstar where country = 'china' and salary > 15500")
+    assert(isCountPushedDown(df), "count star should be planned on the carbon scan")
+    // rows read by spark without aggregation
+    val expected = Seq(Row(sql(
+      "select salary from countstar where country = 'china' and salary > 15500")
+      .collect().length.toLong))
+    checkAnswer(df, expected)
+    checkAnswer(sql("select count(*) from countstar where country = 'japan'"), Seq(Row(0)))
+  }
+
+  test("count star with filter not supported by carbon is computed by spark") {
+    val df = sql("select count(*) from countstar where length(name) > 5")
+    assert(!isCountPushedDown(df), "filter on the rows is applied by spark")
+    checkAnswer(df, Seq(Row(901)))
+  }
+
+  test("count star after deleting a segment") {
+    loadData()
+    checkAnswer(sql("select count(*) from countstar"), Seq(Row(2000)))
+    checkAnswer(sql("select count(*) from countstar where country = 'china'"), Seq(Row(1698)))
+    sql("DELETE SEGMENT 0 FROM TABLE countstar")
+    val df = sql("select count(*) from countstar")
+    assert(isCountPushedDown(df), "count star should be planned on the carbon scan")
+    checkAnswer(df, Seq(Row(1000)))
+    checkAnswer(sql("select count(*) from countstar where country = 'china'"), Seq(Row(849)))
+  }
+
+  override def afterAll {
+    sql("DROP TABLE IF EXISTS countstar")
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.spark.carbondata.query
+
+import org.apache.spark.sql.{CarbonDictionaryDecoder, DataFrame}
+import org.apache.spark.sql.common.util.QueryTest
+import org.apache.spark.sql.execution.WholeStageCodegenExec
+import org.apache.spark.sql.execution.command.LoadTable
+import org.apache.spark.sql.internal.SQLConf
+import org.scalatest.BeforeAndAfterAll
+
+/**
+ * FT for decoding the dictionary columns in whole stage codegen
+ */
+class DictionaryDecoderTestCase extends QueryTest with BeforeAndAfterAll {
+
+  override def beforeAll {
+    sql("DROP TABLE IF EXISTS dictionarydecoder")
+    sql(
+      """
+           CREATE TABLE dictionarydecoder
+           (ID Int, date Timestamp, country String,
+           name String, phonetype String, serialname String, salary Int)
+           USING org.apache.spark.sql.CarbonSource
+          OPTIONS("tableName"="dictionarydecoder")
+      """)
+    LoadTable(Some("default"), "dictionarydecoder", s"$resourcesPath/dataDiff.csv", Nil,
+      Map(("use_kettle", "false"))).run(sqlContext.sparkSession)
+    sqlContext.setConf("carbon.enable.vector.reader", "true")
+  }
+
+  private def assertDecodedInCodegen(df: DataFrame): Unit = {
+    val decoders = df.queryExecution.executedPlan.collect {
+      case codegen: WholeStageCodegenExec =>
+        codegen.child.collect { case decoder: CarbonDictionaryDecoder => decoder }
+    }.flatten
+    assert(decoders.nonEmpty, "dictionary decoder should be part of whole stage codegen")
+  }
+
+  /**
+   * Checks the result of the query with the decoder in codegen against the row based decoder
+   */
+  private def checkDecodeWithoutCodegen(query: String): Unit = {
+    val df = sql(query)
+    assertDecodedInCodegen(df)
+    val expected = df.collect()
+    sqlContext.setConf(SQLConf.WHOLESTAGE_CODEGEN_ENABLED.key, "false")
+    try {
+      checkAnswer(sql(query), expected)
+    } finally {
+      sqlContext.setConf(SQLConf.WHOLESTAGE_CODEGEN_ENABLED.key, "true")
+    }
+  }
+
+  test("decode of group by result in codegen") {
+    checkDecodeWithoutCodegen(
+      "select country, phonetype, count(*), max(salary) from dictionarydecoder " +
+      "group by country, phonetype")
+  }
+
+  test("decode of the columnar batch in codegen") {
+    checkDecodeWithoutCodegen(
+      "select ID, country, name, serialname from dictionarydecoder where salary > 15500")
+  }
+
+  test("decode in codegen with the row reader") {
+    sqlContext.setConf("carbon.enable.vector.reader", "false")
+    try {
+      checkDecodeWithoutCodegen("select country, name from dictionarydecoder where ID < 100")
+    } finally {
+      sqlContext.setConf("carbon.enable.vector.reader", "true")
+    }
+  }
+
+  override def afterAll {
+    sql("DROP TABLE IF EXISTS dictionarydecoder")
+  }
+}
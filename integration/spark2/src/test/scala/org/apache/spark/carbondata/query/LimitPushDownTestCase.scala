@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.spark.carbondata.query
+
+import org.apache.spark.rdd.RDD
+import org.apache.spark.sql.{CarbonDictionaryCatalystDecoder, DataFrame, Row}
+import org.apache.spark.sql.catalyst.plans.logical.{Limit, LocalLimit}
+import org.apache.spark.sql.common.util.QueryTest
+import org.apache.spark.sql.execution.TakeOrderedAndProjectExec
+import org.apache.spark.sql.execution.command.LoadTable
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.spark.rdd.CarbonScanRDD
+
+class LimitPushDownTestCase extends QueryTest with BeforeAndAfterAll {
+
+  override def beforeAll {
+    sql("DROP TABLE IF EXISTS limitpushdown")
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_TIMESTAMP_FORMAT, "yyyy/MM/dd")
+    sql(
+    """
+           CREATE TABLE limitpushdown
+           (ID Int, date Timestamp, country String,
+           name String, phonetype String, serialname String, salary Int)
+           USING org.apache.spark.sql.CarbonSource
+          OPTIONS("tableName"="limitpushdown")
+      """)
+    LoadTable(Some("default"), "limitpushdown", s"$resourcesPath/dataDiff.csv", Nil,
+      Map(("use_kettle", "false"))).run(sqlContext.sparkSession)
+  }
+
+  /**
+   * @return carbon scan RDDs in the lineage of the executed plan
+   */
+  private def getScanRDDs(df: DataFrame): Seq[CarbonScanRDD] = {
+    def collectScanRDDs(rdd: RDD[_]): Seq[CarbonScanRDD] = {
+      rdd match {
+        case scanRDD: CarbonScanRDD => Seq(scanRDD)
+        case _ => rdd.dependencies.flatMap(dependency => collectScanRDDs(dependency.rdd))
+      }
+    }
+    collectScanRDDs(df.queryExecution.executedPlan.execute())
+  }
+
+  private def assertScanLimit(df: DataFrame, limit: Int): Unit = {
+    val scanRDDs = getScanRDDs(df)
+    assert(scanRDDs.nonEmpty)
+    assert(scanRDDs.forall(_.getLimit == limit), s"limit of the carbon scan should be $limit")
+  }
+
+  private def hasDecoderBelowLimit(df: DataFrame): Boolean = {
+    df.queryExecution.optimizedPlan.collect {
+      case Limit(_, decoder: CarbonDictionaryCatalystDecoder) => decoder
+      case LocalLimit(_, decoder: CarbonDictionaryCatalystDecoder) => decoder
+    }.nonEmpty
+  }
+
+  test("test limit is pushed down to the scan") {
+    val df = sql("select country, name from limitpushdown limit 5")
+    // dictionary decoder of the carbon optimizer is between the limit and the scan
+    assert(hasDecoderBelowLimit(df))
+    assertScanLimit(df, 5)
+    assert(!getScanRDDs(df).exists(_.isOrderBySortColumn))
+    val rows = df.collect()
+    assert(rows.length == 5)
+    assert(rows.forall(row => row.get(0).isInstanceOf[String]), "countries should be decoded")
+  }
+
+  test("test limit with filter on the scan") {
+    val df = sql("select name from limitpushdown where country = 'china' limit 3")
+    assertScanLimit(df, 3)
+    assert(df.collect().length == 3)
+  }
+
+  test("test limit with filter not handled by carbon is not pushed down") {
+    val df = sql("select name from limitpushdown where length(name) > 5 limit 3")
+    // rows are filtered by spark after the scan
+    assertScanLimit(df, -1)
+    assert(df.collect().length == 3)
+  }
+
+  test("test limit which is not the root of the plan") {
+    val df = sql("select count(*) from (select name from limitpushdown limit 7) t")
+    assertScanLimit(df, 7)
+    checkAnswer(df, Seq(Row(7)))
+  }
+
+  test("test top n on the first sort column") {
+    val df = sql("select date from limitpushdown order by date limit 10")
+    var takeOrdered = false
+    df.queryExecution.executedPlan.collect {
+      case s: TakeOrderedAndProjectExec => takeOrdered = true
+    }
+    assert(takeOrdered, "top n should be planned on the carbon scan")
+    val scanRDDs = getScanRDDs(df)
+    assert(scanRDDs.nonEmpty)
+    assert(scanRDDs.forall(scanRDD => scanRDD.getLimit == 10 && scanRDD.isOrderBySortColumn),
+      "limit of top n should be applied to each block of the scan")
+    assert(df.collect().toSeq ==
+           sql("select date from limitpushdown order by date").collect().take(10).toSeq)
+  }
+
+  test("test top n with dictionary column selected") {
+    val df = sql("select date, country from limitpushdown order by date limit 10")
+    assertScanLimit(df, 10)
+    val rows = df.collect()
+    assert(rows.forall(row => row.get(1).isInstanceOf[String]), "countries should be decoded")
+    assert(rows.map(_.get(0)).toSeq ==
+           sql("select date from limitpushdown order by date").collect().take(10).map(_.get(0))
+             .toSeq)
+  }
+
+  override def afterAll {
+    sql("DROP TABLE IF EXISTS limitpushdown")
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.spark.sql
+
+import org.apache.spark.sql.common.util.CarbonFunSuite
+import org.apache.spark.sql.types.Decimal
+import org.apache.spark.unsafe.types.UTF8String
+
+import org.apache.carbondata.core.cache.dictionary.{Dictionary, DictionaryChunksWrapper}
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.metadata.datatype.DataType
+
+class CarbonDictionaryValueCacheSuite extends CarbonFunSuite {
+
+  /**
+   * Dictionary counting the number of values looked up
+   */
+  private class TestDictionary(values: String*) extends Dictionary {
+
+    var lookups = 0
+
+    override def getDictionaryValueForKey(surrogateKey: Int): String = {
+      lookups += 1
+      if (surrogateKey < values.length) values(surrogateKey) else null
+    }
+
+    override def getSurrogateKey(value: String): Int = throw new UnsupportedOperationException
+
+    override def getSurrogateKey(value: Array[Byte]): Int =
+      throw new UnsupportedOperationException
+
+    override def getSortedIndex(surrogateKey: Int): Int = throw new UnsupportedOperationException
+
+    override def getDictionaryValueFromSortedIndex(sortedIndex: Int): String =
+      throw new UnsupportedOperationException
+
+    override def getDictionaryChunks: DictionaryChunksWrapper =
+      throw new UnsupportedOperationException
+
+    override def clear(): Unit = {}
+  }
+
+  test("each surrogate key is looked up in the dictionary only once") {
+    val dictionary =
+      new TestDictionary(CarbonCommonConstants.MEMBER_DEFAULT_VAL, "china", "india")
+    val valueCache = new CarbonDictionaryValueCache(dictionary, DataType.STRING)
+    for (_ <- 1 to 3) {
+      assert(valueCache.get(1) == UTF8String.fromString("china"))
+      assert(valueCache.get(2) == UTF8String.fromString("india"))
+      assert(valueCache.isNull(0))
+    }
+    assert(dictionary.lookups == 3)
+  }
+
+  test("primitive values are kept as per their data type") {
+    val intCache = new CarbonDictionaryValueCache(new TestDictionary("", "7", "-3"), DataType.INT)
+    assert(!intCache.isNull(2))
+    assert(intCache.getInt(2) == -3)
+    assert(intCache.get(1) == 7)
+    assert(intCache.isNull(0))
+    val doubleCache =
+      new CarbonDictionaryValueCache(new TestDictionary("", "1.5"), DataType.DOUBLE)
+    assert(doubleCache.get(1) == 1.5d)
+    val decimalCache =
+      new CarbonDictionaryValueCache(new TestDictionary("", "12.34"), DataType.DECIMAL)
+    assert(!decimalCache.isNull(1))
+    assert(decimalCache.getDecimal(1) == Decimal(BigDecimal("12.34")))
+  }
+
+  test("surrogate keys beyond the loaded values grow the cache") {
+    val values = (0 to 1000).map(_.toString)
+    val dictionary = new TestDictionary(values: _*)
+    val valueCache = new CarbonDictionaryValueCache(dictionary, DataType.LONG)
+    assert(valueCache.get(1) == 1L)
+    assert(valueCache.get(1000) == 1000L)
+    // key not present in the dictionary is null
+    assert(valueCache.isNull(5000))
+  }
+}
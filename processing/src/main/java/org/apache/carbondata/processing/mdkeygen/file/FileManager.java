@@ -31,11 +31,11 @@ public class FileManager implements IFileManagerComposite {
 
   protected String fileName;
 
-  @Override public void add(IFileManagerComposite customData) {
+  @Override public synchronized void add(IFileManagerComposite customData) {
     listOfFileData.add(customData);
   }
 
-  @Override public void remove(IFileManagerComposite customData) {
+  @Override public synchronized void remove(IFileManagerComposite customData) {
     listOfFileData.remove(customData);
 
   }
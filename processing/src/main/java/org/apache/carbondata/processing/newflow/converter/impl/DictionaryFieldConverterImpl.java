@@ -22,6 +22,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.cache.Cache;
 import org.apache.carbondata.core.cache.dictionary.Dictionary;
 import org.apache.carbondata.core.cache.dictionary.DictionaryColumnUniqueIdentifier;
@@ -32,23 +34,31 @@ import org.apache.carbondata.core.dictionary.client.DictionaryClient;
 import org.apache.carbondata.core.dictionary.generator.key.DictionaryKey;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
 import org.apache.carbondata.processing.newflow.DataField;
 import org.apache.carbondata.processing.newflow.converter.BadRecordLogHolder;
 import org.apache.carbondata.processing.newflow.dictionary.DictionaryServerClientDictionary;
+import org.apache.carbondata.processing.newflow.dictionary.LocalCachedDictionary;
 import org.apache.carbondata.processing.newflow.dictionary.PreCreatedDictionary;
 import org.apache.carbondata.processing.newflow.exception.CarbonDataLoadingException;
 import org.apache.carbondata.processing.newflow.row.CarbonRow;
 
 public class DictionaryFieldConverterImpl extends AbstractDictionaryFieldConverterImpl {
 
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(DictionaryFieldConverterImpl.class.getName());
+
   private BiDictionary<Integer, Object> dictionaryGenerator;
 
   private int index;
 
   private CarbonDimension carbonDimension;
 
+  private String tableUniqueName;
+
   private String nullFormat;
 
   public DictionaryFieldConverterImpl(DataField dataField,
@@ -58,6 +68,7 @@ public class DictionaryFieldConverterImpl extends AbstractDictionaryFieldConvert
       throws IOException {
     this.index = index;
     this.carbonDimension = (CarbonDimension) dataField.getColumn();
+    this.tableUniqueName = carbonTableIdentifier.getTableUniqueName();
     this.nullFormat = nullFormat;
     DictionaryColumnUniqueIdentifier identifier =
         new DictionaryColumnUniqueIdentifier(carbonTableIdentifier,
@@ -87,6 +98,23 @@ public class DictionaryFieldConverterImpl extends AbstractDictionaryFieldConvert
       dictionary = cache.get(identifier);
       dictionaryGenerator = new PreCreatedDictionary(dictionary);
     }
+    int localCacheSize = getLocalCacheSize();
+    if (localCacheSize > 0) {
+      dictionaryGenerator = new LocalCachedDictionary(dictionaryGenerator, localCacheSize);
+    }
+  }
+
+  private static int getLocalCacheSize() {
+    String size = CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.LOAD_DICTIONARY_LOCAL_CACHE_SIZE,
+            CarbonCommonConstants.LOAD_DICTIONARY_LOCAL_CACHE_SIZE_DEFAULT);
+    try {
+      return Integer.parseInt(size);
+    } catch (NumberFormatException e) {
+      LOGGER.warn("Invalid value for " + CarbonCommonConstants.LOAD_DICTIONARY_LOCAL_CACHE_SIZE
+          + ": " + size + ", using default value");
+      return Integer.parseInt(CarbonCommonConstants.LOAD_DICTIONARY_LOCAL_CACHE_SIZE_DEFAULT);
+    }
   }
 
   @Override public void convert(CarbonRow row, BadRecordLogHolder logHolder)
@@ -107,4 +135,16 @@ public class DictionaryFieldConverterImpl extends AbstractDictionaryFieldConvert
   public void fillColumnCardinality(List<Integer> cardinality) {
     cardinality.add(dictionaryGenerator.size());
   }
+
+  /**
+   * Records the hit statistics of the local surrogate key cache in load statistics.
+   */
+  public void recordLocalCacheStatistics() {
+    if (dictionaryGenerator instanceof LocalCachedDictionary) {
+      LocalCachedDictionary cachedDictionary = (LocalCachedDictionary) dictionaryGenerator;
+      CarbonTimeStatisticsFactory.getLoadStatisticsInstance()
+          .recordDictionaryLocalCacheHits(tableUniqueName, carbonDimension.getColName(),
+              cachedDictionary.getLookupCount(), cachedDictionary.getHitCount());
+    }
+  }
 }
@@ -147,6 +147,9 @@ public class RowConverterImpl implements RowConverter {
         ((AbstractDictionaryFieldConverterImpl) fieldConverters[i])
             .fillColumnCardinality(dimCardinality);
       }
+      if (fieldConverters[i] instanceof DictionaryFieldConverterImpl) {
+        ((DictionaryFieldConverterImpl) fieldConverters[i]).recordLocalCacheStatistics();
+      }
     }
     int[] cardinality = new int[dimCardinality.size()];
     for (int i = 0; i < dimCardinality.size(); i++) {
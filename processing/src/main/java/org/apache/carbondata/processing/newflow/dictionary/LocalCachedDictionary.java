@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.newflow.dictionary;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.devapi.BiDictionary;
+import org.apache.carbondata.core.devapi.DictionaryGenerationException;
+
+/**
+ * Dictionary which keeps a bounded {@link SurrogateKeyLocalCache} per converter thread in front
+ * of another dictionary. Converters are shared by all the converter threads of a load, so the
+ * cache is kept in a thread local to avoid any synchronization on the lookup path.
+ */
+public class LocalCachedDictionary implements BiDictionary<Integer, Object> {
+
+  private static final Charset CHARSET = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+
+  private final BiDictionary<Integer, Object> dictionary;
+
+  private final int maxEntries;
+
+  /**
+   * all the caches created so far, used for collecting the hit statistics
+   */
+  private final List<SurrogateKeyLocalCache> caches = new ArrayList<>();
+
+  private final ThreadLocal<SurrogateKeyLocalCache> localCache =
+      new ThreadLocal<SurrogateKeyLocalCache>() {
+        @Override protected SurrogateKeyLocalCache initialValue() {
+          SurrogateKeyLocalCache cache = new SurrogateKeyLocalCache(maxEntries);
+          synchronized (caches) {
+            caches.add(cache);
+          }
+          return cache;
+        }
+      };
+
+  public LocalCachedDictionary(BiDictionary<Integer, Object> dictionary, int maxEntries) {
+    this.dictionary = dictionary;
+    this.maxEntries = maxEntries;
+  }
+
+  @Override public Integer getOrGenerateKey(Object value) throws DictionaryGenerationException {
+    SurrogateKeyLocalCache cache = localCache.get();
+    byte[] bytes = value.toString().getBytes(CHARSET);
+    int hash = SurrogateKeyLocalCache.hash(bytes);
+    int key = cache.get(bytes, hash);
+    if (key != CarbonCommonConstants.INVALID_SURROGATE_KEY) {
+      return key;
+    }
+    Integer generatedKey = dictionary.getOrGenerateKey(value);
+    if (isValidKey(generatedKey)) {
+      cache.put(bytes, hash, generatedKey);
+    }
+    return generatedKey;
+  }
+
+  @Override public Integer getKey(Object value) {
+    SurrogateKeyLocalCache cache = localCache.get();
+    byte[] bytes = value.toString().getBytes(CHARSET);
+    int hash = SurrogateKeyLocalCache.hash(bytes);
+    int key = cache.get(bytes, hash);
+    if (key != CarbonCommonConstants.INVALID_SURROGATE_KEY) {
+      return key;
+    }
+    Integer existingKey = dictionary.getKey(value);
+    if (isValidKey(existingKey)) {
+      cache.put(bytes, hash, existingKey);
+    }
+    return existingKey;
+  }
+
+  private boolean isValidKey(Integer key) {
+    return key != null && key != CarbonCommonConstants.INVALID_SURROGATE_KEY;
+  }
+
+  @Override public Object getValue(Integer key) {
+    return dictionary.getValue(key);
+  }
+
+  @Override public int size() {
+    return dictionary.size();
+  }
+
+  /**
+   * @return total number of lookups done on the local caches of all threads
+   */
+  public long getLookupCount() {
+    long count = 0;
+    synchronized (caches) {
+      for (SurrogateKeyLocalCache cache : caches) {
+        count += cache.getLookupCount();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return total number of lookups answered by the local caches of all threads
+   */
+  public long getHitCount() {
+    long count = 0;
+    synchronized (caches) {
+      for (SurrogateKeyLocalCache cache : caches) {
+        count += cache.getHitCount();
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.newflow.dictionary;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.ByteUtil;
+
+/**
+ * Open addressing hash table from dictionary value bytes to surrogate key. It is meant to be
+ * owned by a single converter thread, so it is not thread safe. Once the configured number of
+ * entries is reached no more values are added, the values seen first stay cached.
+ */
+public class SurrogateKeyLocalCache {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  /**
+   * maximum number of entries this cache can hold
+   */
+  private final int maxEntries;
+
+  private byte[][] keys;
+
+  private int[] hashes;
+
+  private int[] surrogates;
+
+  private int mask;
+
+  private int size;
+
+  private long lookupCount;
+
+  private long hitCount;
+
+  public SurrogateKeyLocalCache(int maxEntries) {
+    this.maxEntries = maxEntries;
+    allocate(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Returns the surrogate key of the value or INVALID_SURROGATE_KEY if it is not cached.
+   *
+   * @param value dictionary value bytes
+   * @param hash  hash of the value, computed by {@link #hash(byte[])}
+   * @return surrogate key
+   */
+  public int get(byte[] value, int hash) {
+    lookupCount++;
+    int slot = hash & mask;
+    while (keys[slot] != null) {
+      if (hashes[slot] == hash && keys[slot].length == value.length && ByteUtil.UnsafeComparer
+          .INSTANCE.equals(keys[slot], value)) {
+        hitCount++;
+        return surrogates[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    return CarbonCommonConstants.INVALID_SURROGATE_KEY;
+  }
+
+  /**
+   * Adds the value to cache, it is ignored if the cache is full.
+   *
+   * @param value     dictionary value bytes
+   * @param hash      hash of the value
+   * @param surrogate surrogate key of the value
+   */
+  public void put(byte[] value, int hash, int surrogate) {
+    if (size >= maxEntries) {
+      return;
+    }
+    // keep load factor under 0.5 so that probe sequences stay short
+    if ((size + 1) * 2 > keys.length) {
+      rehash();
+    }
+    int slot = hash & mask;
+    while (keys[slot] != null) {
+      if (hashes[slot] == hash && ByteUtil.UnsafeComparer.INSTANCE.equals(keys[slot], value)) {
+        surrogates[slot] = surrogate;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = value;
+    hashes[slot] = hash;
+    surrogates[slot] = surrogate;
+    size++;
+  }
+
+  private void rehash() {
+    byte[][] oldKeys = keys;
+    int[] oldHashes = hashes;
+    int[] oldSurrogates = surrogates;
+    allocate(oldKeys.length << 1);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) {
+        int slot = oldHashes[i] & mask;
+        while (keys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        hashes[slot] = oldHashes[i];
+        surrogates[slot] = oldSurrogates[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new byte[capacity][];
+    hashes = new int[capacity];
+    surrogates = new int[capacity];
+    mask = capacity - 1;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public long getLookupCount() {
+    return lookupCount;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Hash of the value bytes, the result is mixed so that linear probing on the low bits works
+   * well for similar values.
+   */
+  public static int hash(byte[] value) {
+    int h = 1;
+    for (int i = 0; i < value.length; i++) {
+      h = 31 * h + value[i];
+    }
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+}
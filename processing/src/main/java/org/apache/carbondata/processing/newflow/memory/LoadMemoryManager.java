@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.newflow.memory;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+/**
+ * Tracks the memory used by all the loads running in the executor against one budget. Steps
+ * which buffer data reserve memory before buffering and release it once the data is handed
+ * over, a step which reserves with {@link #reserve(LoadMemoryConsumer, long)} waits till other
+ * steps release memory, so faster steps are slowed down instead of running out of memory.
+ * The current and peak usage of each consumer is registered in the platform MBean server.
+ */
+public class LoadMemoryManager implements LoadMemoryManagerMXBean {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(LoadMemoryManager.class.getName());
+
+  /**
+   * name of the MBean of the load memory usage
+   */
+  public static final String OBJECT_NAME = "org.apache.carbondata:type=LoadMemory";
+
+  public static final LoadMemoryManager INSTANCE;
+
+  static {
+    CarbonProperties properties = CarbonProperties.getInstance();
+    long sortMemory = Long.parseLong(properties
+        .getProperty(CarbonCommonConstants.IN_MEMORY_FOR_SORT_DATA_IN_MB,
+            CarbonCommonConstants.IN_MEMORY_FOR_SORT_DATA_IN_MB_DEFAULT)) * 1024 * 1024;
+    // by default sort memory and half of the heap is given to the loads
+    long budget = sortMemory + Runtime.getRuntime().maxMemory() / 2;
+    String configuredBudget =
+        properties.getProperty(CarbonCommonConstants.LOAD_MEMORY_BUDGET_IN_MB);
+    if (null != configuredBudget) {
+      try {
+        budget = Long.parseLong(configuredBudget) * 1024 * 1024;
+      } catch (NumberFormatException e) {
+        LOGGER.error("Configured value for property " + CarbonCommonConstants
+            .LOAD_MEMORY_BUDGET_IN_MB + " is wrong. Falling back to the default value " + budget);
+      }
+    }
+    long maxWait;
+    try {
+      maxWait = Long.parseLong(properties
+          .getProperty(CarbonCommonConstants.LOAD_MEMORY_MAX_WAIT_IN_MS,
+              CarbonCommonConstants.LOAD_MEMORY_MAX_WAIT_IN_MS_DEFAULT));
+    } catch (NumberFormatException e) {
+      maxWait = Long.parseLong(CarbonCommonConstants.LOAD_MEMORY_MAX_WAIT_IN_MS_DEFAULT);
+    }
+    INSTANCE = new LoadMemoryManager(budget, maxWait);
+    try {
+      ManagementFactory.getPlatformMBeanServer()
+          .registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      LOGGER.warn("Load memory usage is not registered in JMX: " + e.getMessage());
+    }
+  }
+
+  private final long totalMemory;
+
+  private final long maxWaitInMs;
+
+  private long memoryUsed;
+
+  private final Map<LoadMemoryConsumer, Long> consumerMemoryUsed;
+
+  private final Map<LoadMemoryConsumer, Long> consumerPeakMemoryUsed;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition memoryReleased = lock.newCondition();
+
+  LoadMemoryManager(long totalMemory, long maxWaitInMs) {
+    this.totalMemory = totalMemory;
+    this.maxWaitInMs = maxWaitInMs;
+    consumerMemoryUsed = new EnumMap<>(LoadMemoryConsumer.class);
+    consumerPeakMemoryUsed = new EnumMap<>(LoadMemoryConsumer.class);
+    for (LoadMemoryConsumer consumer : LoadMemoryConsumer.values()) {
+      consumerMemoryUsed.put(consumer, 0L);
+      consumerPeakMemoryUsed.put(consumer, 0L);
+    }
+    LOGGER.info("Load memory manager is created with budget " + totalMemory);
+  }
+
+  /**
+   * Reserves the memory if it is available in the budget.
+   *
+   * @return true if memory is reserved
+   */
+  public boolean tryReserve(LoadMemoryConsumer consumer, long size) {
+    lock.lock();
+    try {
+      if (memoryUsed + size <= totalMemory) {
+        add(consumer, size);
+        return true;
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reserves the memory, waits for other consumers to release memory if it is not available.
+   * If memory is not released within the configured maximum wait time it is reserved anyway,
+   * so that a load never waits forever on the memory held by other loads.
+   */
+  public void reserve(LoadMemoryConsumer consumer, long size) throws InterruptedException {
+    lock.lock();
+    try {
+      long remainingNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitInMs);
+      // a single request bigger than the budget can never be satisfied, so it only waits till
+      // everything else is released
+      while (memoryUsed + size > totalMemory && memoryUsed > 0) {
+        if (remainingNanos <= 0) {
+          LOGGER.warn("Load memory budget exceeded, " + consumer + " is taking " + size
+              + " bytes, memory used " + memoryUsed + " of " + totalMemory);
+          break;
+        }
+        remainingNanos = memoryReleased.awaitNanos(remainingNanos);
+      }
+      add(consumer, size);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Accounts the memory without waiting, used by consumers which must not be blocked as
+   * other steps are waiting on them to release memory.
+   */
+  public void forceReserve(LoadMemoryConsumer consumer, long size) {
+    lock.lock();
+    try {
+      add(consumer, size);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Releases the memory reserved earlier and wakes up the steps waiting for memory.
+   */
+  public void release(LoadMemoryConsumer consumer, long size) {
+    lock.lock();
+    try {
+      long used = consumerMemoryUsed.get(consumer) - size;
+      consumerMemoryUsed.put(consumer, used < 0 ? 0 : used);
+      memoryUsed -= size;
+      memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
+      memoryReleased.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void add(LoadMemoryConsumer consumer, long size) {
+    long used = consumerMemoryUsed.get(consumer) + size;
+    consumerMemoryUsed.put(consumer, used);
+    if (used > consumerPeakMemoryUsed.get(consumer)) {
+      consumerPeakMemoryUsed.put(consumer, used);
+    }
+    memoryUsed += size;
+  }
+
+  @Override public long getTotalMemory() {
+    return totalMemory;
+  }
+
+  @Override public long getUsedMemory() {
+    lock.lock();
+    try {
+      return memoryUsed;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override public long getAvailableMemory() {
+    return totalMemory - getUsedMemory();
+  }
+
+  /**
+   * @return memory currently used by the consumer
+   */
+  public long getUsedMemory(LoadMemoryConsumer consumer) {
+    lock.lock();
+    try {
+      return consumerMemoryUsed.get(consumer);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return maximum memory used by the consumer at any point of time
+   */
+  public long getPeakMemory(LoadMemoryConsumer consumer) {
+    lock.lock();
+    try {
+      return consumerPeakMemoryUsed.get(consumer);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override public Map<String, Long> getUsedMemoryByConsumer() {
+    lock.lock();
+    try {
+      return toNameMap(consumerMemoryUsed);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override public Map<String, Long> getPeakMemoryByConsumer() {
+    lock.lock();
+    try {
+      return toNameMap(consumerPeakMemoryUsed);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static Map<String, Long> toNameMap(Map<LoadMemoryConsumer, Long> memoryByConsumer) {
+    Map<String, Long> memoryByName = new LinkedHashMap<>();
+    for (Map.Entry<LoadMemoryConsumer, Long> entry : memoryByConsumer.entrySet()) {
+      memoryByName.put(entry.getKey().name(), entry.getValue());
+    }
+    return memoryByName;
+  }
+
+  @Override public String toString() {
+    lock.lock();
+    try {
+      StringBuilder builder = new StringBuilder("Load memory used ").append(memoryUsed)
+          .append(" of ").append(totalMemory);
+      for (LoadMemoryConsumer consumer : LoadMemoryConsumer.values()) {
+        builder.append(", ").append(consumer).append(": ").append(consumerMemoryUsed.get(consumer))
+            .append(" (peak ").append(consumerPeakMemoryUsed.get(consumer)).append(')');
+      }
+      return builder.toString();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.newflow.memory;
+
+import java.util.Map;
+
+/**
+ * Current and peak memory used by the loads of this executor, exposed through JMX
+ */
+public interface LoadMemoryManagerMXBean {
+
+  long getTotalMemory();
+
+  long getUsedMemory();
+
+  long getAvailableMemory();
+
+  /**
+   * @return memory currently used by each consumer
+   */
+  Map<String, Long> getUsedMemoryByConsumer();
+
+  /**
+   * @return maximum memory used by each consumer at any point of time
+   */
+  Map<String, Long> getPeakMemoryByConsumer();
+}
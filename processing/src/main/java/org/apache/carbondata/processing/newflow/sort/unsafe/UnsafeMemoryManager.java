@@ -23,6 +23,8 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.memory.MemoryAllocator;
 import org.apache.carbondata.core.memory.MemoryBlock;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryConsumer;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryManager;
 
 /**
  * Manages memory for instance.
@@ -75,6 +77,10 @@ public class UnsafeMemoryManager {
     if (memoryUsed + memoryRequested <= totalMemory) {
       MemoryBlock allocate = allocator.allocate(memoryRequested);
       memoryUsed += allocate.size();
+      // sort pages are bounded by the sort memory above, they are only accounted in the load
+      // memory budget so that the other steps wait when it is used up. Failing here because
+      // the other steps have exceeded the budget would fail the load
+      LoadMemoryManager.INSTANCE.forceReserve(LoadMemoryConsumer.SORT_PAGE, allocate.size());
       LOGGER.info("Memory block is created with size "  + allocate.size() +
           " Total memory used " + memoryUsed + " memory left " + (getAvailableMemory()));
       return allocate;
@@ -84,6 +90,7 @@ public class UnsafeMemoryManager {
 
   public synchronized void freeMemory(MemoryBlock memoryBlock) {
     allocator.free(memoryBlock);
+    LoadMemoryManager.INSTANCE.release(LoadMemoryConsumer.SORT_PAGE, memoryBlock.size());
     memoryUsed -= memoryBlock.size();
     memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
     LOGGER.info(
@@ -25,6 +25,7 @@ import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
 import org.apache.carbondata.processing.constants.LoggerAction;
 import org.apache.carbondata.processing.newflow.AbstractDataLoadProcessorStep;
 import org.apache.carbondata.processing.newflow.CarbonDataLoadConfiguration;
@@ -89,12 +90,18 @@ public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorSte
    * @return processed row.
    */
   protected CarbonRowBatch processRowBatch(CarbonRowBatch rowBatch, RowConverter localConverter) {
+    CarbonTimeStatisticsFactory.getLoadStatisticsInstance()
+        .recordGeneratingDictionaryValuesTime(configuration.getPartitionId(),
+            System.currentTimeMillis());
     CarbonRowBatch newBatch = new CarbonRowBatch();
     Iterator<CarbonRow> batchIterator = rowBatch.getBatchIterator();
     while (batchIterator.hasNext()) {
       newBatch.addRow(localConverter.convert(batchIterator.next()));
     }
     rowCounter.getAndAdd(newBatch.getSize());
+    CarbonTimeStatisticsFactory.getLoadStatisticsInstance()
+        .recordGeneratingDictionaryValuesTime(configuration.getPartitionId(),
+            System.currentTimeMillis());
     return newBatch;
   }
 
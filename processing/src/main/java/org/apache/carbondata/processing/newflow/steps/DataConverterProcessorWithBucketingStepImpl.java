@@ -29,6 +29,7 @@ import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
 import org.apache.carbondata.core.metadata.schema.BucketingInfo;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
 import org.apache.carbondata.processing.constants.LoggerAction;
 import org.apache.carbondata.processing.newflow.AbstractDataLoadProcessorStep;
 import org.apache.carbondata.processing.newflow.CarbonDataLoadConfiguration;
@@ -113,6 +114,9 @@ public class DataConverterProcessorWithBucketingStepImpl extends AbstractDataLoa
    * @return processed row.
    */
   protected CarbonRowBatch processRowBatch(CarbonRowBatch rowBatch, RowConverter localConverter) {
+    CarbonTimeStatisticsFactory.getLoadStatisticsInstance()
+        .recordGeneratingDictionaryValuesTime(configuration.getPartitionId(),
+            System.currentTimeMillis());
     CarbonRowBatch newBatch = new CarbonRowBatch();
     Iterator<CarbonRow> batchIterator = rowBatch.getBatchIterator();
     while (batchIterator.hasNext()) {
@@ -122,6 +126,9 @@ public class DataConverterProcessorWithBucketingStepImpl extends AbstractDataLoa
       newBatch.addRow(convertRow);
     }
     rowCounter.getAndAdd(newBatch.getSize());
+    CarbonTimeStatisticsFactory.getLoadStatisticsInstance()
+        .recordGeneratingDictionaryValuesTime(configuration.getPartitionId(),
+            System.currentTimeMillis());
     return newBatch;
   }
 
@@ -28,10 +28,13 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
 import org.apache.carbondata.processing.newflow.AbstractDataLoadProcessorStep;
 import org.apache.carbondata.processing.newflow.CarbonDataLoadConfiguration;
 import org.apache.carbondata.processing.newflow.DataField;
 import org.apache.carbondata.processing.newflow.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryConsumer;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryManager;
 import org.apache.carbondata.processing.newflow.parser.RowParser;
 import org.apache.carbondata.processing.newflow.parser.impl.RowParserImpl;
 import org.apache.carbondata.processing.newflow.row.CarbonRow;
@@ -46,6 +49,11 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
 
   private CarbonIterator<Object[]>[] inputIterators;
 
+  /**
+   * iterators returned to the next step
+   */
+  private InputProcessorIterator[] processorIterators;
+
   /**
    * executor service to execute the query
    */
@@ -70,10 +78,13 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
     int batchSize = CarbonProperties.getInstance().getBatchSize();
     List<CarbonIterator<Object[]>>[] readerIterators = partitionInputReaderIterators();
     Iterator<CarbonRowBatch>[] outIterators = new Iterator[readerIterators.length];
+    processorIterators = new InputProcessorIterator[readerIterators.length];
     for (int i = 0; i < outIterators.length; i++) {
-      outIterators[i] =
+      processorIterators[i] =
           new InputProcessorIterator(readerIterators[i], rowParser, batchSize,
-              configuration.isPreFetch(), executorService, rowCounter);
+              configuration.isPreFetch(), executorService, rowCounter,
+              configuration.getPartitionId());
+      outIterators[i] = processorIterators[i];
     }
     return outIterators;
   }
@@ -107,6 +118,12 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
   @Override public void close() {
     if (!closed) {
       super.close();
+      if (null != processorIterators) {
+        // release the memory of the batches prefetched but not taken by the next step
+        for (InputProcessorIterator processorIterator : processorIterators) {
+          processorIterator.close();
+        }
+      }
       executorService.shutdown();
       for (CarbonIterator inputIterator : inputIterators) {
         inputIterator.close();
@@ -146,9 +163,23 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
 
     private AtomicLong rowCounter;
 
+    private String partitionId;
+
+    /**
+     * memory reserved in load memory budget for the batch being prefetched
+     */
+    private AtomicLong prefetchedBatchSize = new AtomicLong();
+
+    private volatile boolean closed;
+
+    /**
+     * estimated size of the last batch read from input
+     */
+    private long batchSizeInBytes;
+
     public InputProcessorIterator(List<CarbonIterator<Object[]>> inputIterators,
         RowParser rowParser, int batchSize, boolean preFetch, ExecutorService executorService,
-        AtomicLong rowCounter) {
+        AtomicLong rowCounter, String partitionId) {
       this.inputIterators = inputIterators;
       this.batchSize = batchSize;
       this.rowParser = rowParser;
@@ -157,6 +188,7 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
       currentIterator = inputIterators.get(counter++);
       this.executorService = executorService;
       this.rowCounter = rowCounter;
+      this.partitionId = partitionId;
       this.preFetch = preFetch;
       this.nextBatch = false;
       this.firstTime = true;
@@ -208,6 +240,9 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
       } catch (ExecutionException e) {
         throw new RuntimeException(e);
       }
+      // batch is handed over to the next step, so it is not buffered here anymore
+      LoadMemoryManager.INSTANCE
+          .release(LoadMemoryConsumer.INPUT_BUFFER, prefetchedBatchSize.getAndSet(0));
       nextBatch = false;
       if (hasNext()) {
         nextBatch = true;
@@ -220,23 +255,70 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
     private Future<CarbonRowBatch> getCarbonRowBatch() {
       return executorService.submit(new Callable<CarbonRowBatch>() {
         @Override public CarbonRowBatch call() throws Exception {
-          return getBatch();
-
+          CarbonRowBatch batch = getBatch();
+          // wait for the memory to keep the prefetched batch, so reading is paused when the
+          // later steps are not able to keep up
+          LoadMemoryManager.INSTANCE.reserve(LoadMemoryConsumer.INPUT_BUFFER, batchSizeInBytes);
+          prefetchedBatchSize.addAndGet(batchSizeInBytes);
+          if (closed) {
+            // closed while reserving, the batch will never be taken
+            LoadMemoryManager.INSTANCE
+                .release(LoadMemoryConsumer.INPUT_BUFFER, prefetchedBatchSize.getAndSet(0));
+          }
+          return batch;
         }
       });
     }
 
+    /**
+     * Stops prefetching and releases the memory of the batch prefetched but not taken
+     */
+    @Override public void close() {
+      closed = true;
+      if (null != future) {
+        future.cancel(true);
+      }
+      LoadMemoryManager.INSTANCE
+          .release(LoadMemoryConsumer.INPUT_BUFFER, prefetchedBatchSize.getAndSet(0));
+    }
+
     private CarbonRowBatch getBatch() {
+      CarbonTimeStatisticsFactory.getLoadStatisticsInstance()
+          .recordCsvInputStepTime(partitionId, System.currentTimeMillis());
       // Create batch and fill it.
       CarbonRowBatch carbonRowBatch = new CarbonRowBatch();
       int count = 0;
+      long sizeInBytes = 0;
       while (internalHasNext() && count < batchSize) {
-        carbonRowBatch.addRow(new CarbonRow(rowParser.parseRow(currentIterator.next())));
+        Object[] row = currentIterator.next();
+        if (preFetch) {
+          sizeInBytes += estimateSize(row);
+        }
+        carbonRowBatch.addRow(new CarbonRow(rowParser.parseRow(row)));
         count++;
       }
+      batchSizeInBytes = sizeInBytes;
       rowCounter.getAndAdd(carbonRowBatch.getSize());
+      CarbonTimeStatisticsFactory.getLoadStatisticsInstance()
+          .recordCsvInputStepTime(partitionId, System.currentTimeMillis());
       return carbonRowBatch;
     }
+
+    /**
+     * Rough estimate of heap used by the input row, only the string content and the references
+     * are counted.
+     */
+    private long estimateSize(Object[] row) {
+      long size = 16 + 8L * row.length;
+      for (Object value : row) {
+        if (value instanceof String) {
+          size += 40 + 2L * ((String) value).length();
+        } else if (null != value) {
+          size += 16;
+        }
+      }
+      return size;
+    }
   }
 
 }
@@ -21,6 +21,7 @@ import java.util.Iterator;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
 import org.apache.carbondata.processing.newflow.AbstractDataLoadProcessorStep;
 import org.apache.carbondata.processing.newflow.CarbonDataLoadConfiguration;
 import org.apache.carbondata.processing.newflow.DataField;
@@ -73,6 +74,12 @@ public class SortProcessorStepImpl extends AbstractDataLoadProcessorStep {
   @Override
   public Iterator<CarbonRowBatch>[] execute() throws CarbonDataLoadingException {
     final Iterator<CarbonRowBatch>[] iterators = child.execute();
+    // sorter records the end of the step once all the rows are sorted
+    CarbonTimeStatisticsFactory.getLoadStatisticsInstance()
+        .recordSortRowsStepTotalTime(configuration.getPartitionId(), System.currentTimeMillis());
+    CarbonTimeStatisticsFactory.getLoadStatisticsInstance()
+        .recordDictionaryValuesTotalTime(configuration.getPartitionId(),
+            System.currentTimeMillis());
     Iterator<CarbonRowBatch>[] sortedIterators = sorter.sort(iterators);
     child.close();
     return sortedIterators;
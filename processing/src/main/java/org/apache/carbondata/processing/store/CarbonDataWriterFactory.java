@@ -18,8 +18,10 @@
 package org.apache.carbondata.processing.store;
 
 import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.processing.store.writer.AbstractFactDataWriter;
 import org.apache.carbondata.processing.store.writer.CarbonDataWriterVo;
 import org.apache.carbondata.processing.store.writer.CarbonFactDataWriter;
+import org.apache.carbondata.processing.store.writer.ParallelCarbonFactDataWriter;
 import org.apache.carbondata.processing.store.writer.v1.CarbonFactDataWriterImplV1;
 import org.apache.carbondata.processing.store.writer.v2.CarbonFactDataWriterImplV2;
 
@@ -67,4 +69,28 @@ public class CarbonDataWriterFactory {
     }
   }
 
+  /**
+   * Below method will be used to get the writer instance which writes the blocklets to
+   * the given number of files in parallel
+   *
+   * @param version            writer version
+   * @param carbonDataWriterVo writer vo object
+   * @param numberOfWriters    number of files to be written in parallel
+   * @return writer instance
+   */
+  public CarbonFactDataWriter<?> getFactDataWriter(final ColumnarFormatVersion version,
+      final CarbonDataWriterVo carbonDataWriterVo, int numberOfWriters) {
+    if (numberOfWriters <= 1) {
+      return getFactDataWriter(version, carbonDataWriterVo);
+    }
+    // the index file is written once for all the writers, part numbers of the files are
+    // assigned by the parallel writer
+    carbonDataWriterVo.setWriteIndexFile(false);
+    AbstractFactDataWriter[] writers = new AbstractFactDataWriter[numberOfWriters];
+    for (int i = 0; i < numberOfWriters; i++) {
+      writers[i] = (AbstractFactDataWriter) getFactDataWriter(version, carbonDataWriterVo);
+    }
+    return new ParallelCarbonFactDataWriter(writers);
+  }
+
 }
@@ -36,6 +36,7 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -63,6 +64,8 @@ import org.apache.carbondata.core.util.ValueCompressionUtil;
 import org.apache.carbondata.processing.datatypes.GenericDataType;
 import org.apache.carbondata.processing.mdkeygen.file.FileManager;
 import org.apache.carbondata.processing.mdkeygen.file.IFileManagerComposite;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryConsumer;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryManager;
 import org.apache.carbondata.processing.store.colgroup.ColGroupBlockStorage;
 import org.apache.carbondata.processing.store.colgroup.ColGroupDataHolder;
 import org.apache.carbondata.processing.store.colgroup.ColGroupMinMax;
@@ -70,6 +73,7 @@ import org.apache.carbondata.processing.store.colgroup.ColumnDataHolder;
 import org.apache.carbondata.processing.store.colgroup.DataHolder;
 import org.apache.carbondata.processing.store.writer.CarbonDataWriterVo;
 import org.apache.carbondata.processing.store.writer.CarbonFactDataWriter;
+import org.apache.carbondata.processing.store.writer.EncodedBlocklet;
 import org.apache.carbondata.processing.store.writer.NodeHolder;
 import org.apache.carbondata.processing.store.writer.exception.CarbonDataWriterException;
 import org.apache.carbondata.processing.util.RemoveDictionaryUtil;
@@ -115,6 +119,30 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
    * blocklet size
    */
   private int blockletSize;
+  /**
+   * target size of the encoded blocklet in bytes, 0 if blocklet is cut only by row count
+   */
+  private long blockletSizeInBytes;
+  /**
+   * size of the rows added to the current blocklet
+   */
+  private long currentRowsSize;
+  /**
+   * size of the rows at which current blocklet is cut to reach the target encoded size
+   */
+  private long rowsSizeThreshold;
+  /**
+   * size of the rows of encoded blocklets and their encoded size, used to estimate the
+   * encoded size of the blocklet from the size of rows
+   */
+  private AtomicLong encodedRowsSize = new AtomicLong();
+  private AtomicLong encodedBlockletSize = new AtomicLong();
+  /**
+   * memory reserved by this handler in the load memory budget for the rows and encoded
+   * blocklets waiting to be written, released when the handler is closed if the producers or
+   * consumer failed before releasing it
+   */
+  private AtomicLong blockletHolderMemory = new AtomicLong();
   /**
    * mdkeyLength
    */
@@ -441,24 +469,58 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
   public void addDataToStore(Object[] row) throws CarbonDataWriterException {
     dataRows.add(row);
     this.entryCount++;
-    // if entry count reaches to leaf node size then we are ready to
-    // write
+    if (blockletSizeInBytes > 0) {
+      currentRowsSize += estimateSize(row);
+    }
+    // if entry count reaches to leaf node size or rows reach the target blocklet size then
+    // we are ready to write
     // this to leaf node file and update the intermediate files
-    if (this.entryCount == this.blockletSize) {
-      try {
-        semaphore.acquire();
-        producerExecutorServiceTaskList.add(producerExecutorService
-            .submit(new Producer(blockletDataHolder, dataRows, ++writerTaskSequenceCounter)));
-        blockletProcessingCount.incrementAndGet();
-        // set the entry count to zero
-        processedDataCount += entryCount;
-        LOGGER.info("Total Number Of records added to store: " + processedDataCount);
-        dataRows = new ArrayList<>(this.blockletSize);
-        this.entryCount = 0;
-      } catch (InterruptedException e) {
-        LOGGER.error(e, e.getMessage());
-        throw new CarbonDataWriterException(e.getMessage(), e);
-      }
+    if (this.entryCount == this.blockletSize || (blockletSizeInBytes > 0
+        && currentRowsSize >= rowsSizeThreshold)) {
+      submitDataRows();
+    }
+  }
+
+  /**
+   * Below method will be used to add the blocklet of an existing file to the store. Rows added
+   * before the blocklet are written first, so the data is written in the order it is added.
+   *
+   * @param blocklet encoded blocklet
+   * @throws CarbonDataWriterException
+   */
+  public void addEncodedBlocklet(EncodedBlocklet blocklet) throws CarbonDataWriterException {
+    if (this.entryCount > 0) {
+      submitDataRows();
+    }
+    waitForBlockletsToBeWritten();
+    this.dataWriter.writeEncodedBlocklet(blocklet);
+    processedDataCount += blocklet.getNumberOfRows();
+  }
+
+  /**
+   * Submits the rows added so far to the producer to be written as one blocklet
+   */
+  private void submitDataRows() throws CarbonDataWriterException {
+    try {
+      semaphore.acquire();
+      // wait for memory to keep the rows till producer encodes them, so that the previous
+      // steps are slowed down when the writer can not keep up
+      long rowsSize = getRowsSize();
+      LoadMemoryManager.INSTANCE.reserve(LoadMemoryConsumer.BLOCKLET_HOLDER, rowsSize);
+      blockletHolderMemory.addAndGet(rowsSize);
+      producerExecutorServiceTaskList.add(producerExecutorService.submit(
+          new Producer(blockletDataHolder, dataRows, ++writerTaskSequenceCounter, rowsSize)));
+      blockletProcessingCount.incrementAndGet();
+      // set the entry count to zero
+      processedDataCount += entryCount;
+      LOGGER.info("Total Number Of records added to store: " + processedDataCount);
+      dataRows = new ArrayList<>(this.blockletSize);
+      this.entryCount = 0;
+      this.currentRowsSize = 0;
+      updateRowsSizeThreshold();
+    } catch (InterruptedException e) {
+      LOGGER.error(e, e.getMessage());
+      throw new CarbonDataWriterException(e.getMessage(), e);
     }
   }
 
@@ -1041,8 +1103,11 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     // still some data is present in stores if entryCount is more
     // than 0
     if (this.entryCount > 0) {
-      producerExecutorServiceTaskList.add(producerExecutorService
-          .submit(new Producer(blockletDataHolder, dataRows, ++writerTaskSequenceCounter)));
+      long rowsSize = getRowsSize();
+      LoadMemoryManager.INSTANCE.forceReserve(LoadMemoryConsumer.BLOCKLET_HOLDER, rowsSize);
+      blockletHolderMemory.addAndGet(rowsSize);
+      producerExecutorServiceTaskList.add(producerExecutorService.submit(
+          new Producer(blockletDataHolder, dataRows, ++writerTaskSequenceCounter, rowsSize)));
       blockletProcessingCount.incrementAndGet();
       processedDataCount += entryCount;
     }
@@ -1051,6 +1116,62 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     processingComplete = true;
   }
 
+  /**
+   * @return size of the rows of current blocklet
+   */
+  private long getRowsSize() {
+    return blockletSizeInBytes > 0 ? currentRowsSize : estimateRowsSize(dataRows);
+  }
+
+  /**
+   * Updates the size of rows at which blocklet is cut. Encoded size of a blocklet is not known
+   * till it is encoded by the producer, so it is estimated from the ratio of the encoded size
+   * and the rows size of the blocklets encoded so far.
+   */
+  private void updateRowsSizeThreshold() {
+    if (blockletSizeInBytes <= 0) {
+      return;
+    }
+    long encodedSize = encodedBlockletSize.get();
+    long sizeOfRows = encodedRowsSize.get();
+    if (encodedSize > 0 && sizeOfRows > 0) {
+      rowsSizeThreshold = (long) (blockletSizeInBytes * ((double) sizeOfRows / encodedSize));
+    } else {
+      // nothing is encoded yet, so assume rows are not compressed
+      rowsSizeThreshold = blockletSizeInBytes;
+    }
+  }
+
+  /**
+   * Estimates the heap used by the rows of a blocklet from the first row, all rows of a
+   * blocklet have the same layout.
+   *
+   * @param dataRows rows of the blocklet
+   * @return estimated size in bytes
+   */
+  private long estimateRowsSize(List<Object[]> dataRows) {
+    if (dataRows.isEmpty()) {
+      return 0;
+    }
+    return estimateSize(dataRows.get(0)) * dataRows.size();
+  }
+
+  private long estimateSize(Object value) {
+    if (value instanceof byte[]) {
+      return 16 + ((byte[]) value).length;
+    } else if (value instanceof Object[]) {
+      Object[] values = (Object[]) value;
+      long size = 16 + 8L * values.length;
+      for (Object element : values) {
+        size += estimateSize(element);
+      }
+      return size;
+    } else if (null != value) {
+      return 24;
+    }
+    return 0;
+  }
+
   /**
    * This method will close writer execution service and get the node holders and
    * add them to node holder list
@@ -1118,25 +1239,54 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
    */
   public void closeHandler() throws CarbonDataWriterException {
     if (null != this.dataWriter) {
-      // wait until all blocklets have been finished writing
-      while (blockletProcessingCount.get() > 0) {
-        try {
-          Thread.sleep(50);
-        } catch (InterruptedException e) {
-          throw new CarbonDataWriterException(e.getMessage());
-        }
+      try {
+        waitForBlockletsToBeWritten();
+        consumerExecutorService.shutdownNow();
+        processWriteTaskSubmitList(consumerExecutorServiceTaskList);
+        this.dataWriter.writeBlockletInfoToFile();
+        LOGGER.info("All blocklets have been finished writing");
+        LOGGER.info(LoadMemoryManager.INSTANCE.toString());
+        // close all the open stream for both the files
+        this.dataWriter.closeWriter();
+      } finally {
+        // blocklets left by a failed producer or consumer are never written
+        releaseBlockletHolderMemory(Long.MAX_VALUE);
       }
-      consumerExecutorService.shutdownNow();
-      processWriteTaskSubmitList(consumerExecutorServiceTaskList);
-      this.dataWriter.writeBlockletInfoToFile();
-      LOGGER.info("All blocklets have been finished writing");
-      // close all the open stream for both the files
-      this.dataWriter.closeWriter();
     }
     this.dataWriter = null;
     this.keyBlockHolder = null;
   }
 
+  /**
+   * Releases the memory reserved by this handler for the rows and blocklets waiting to be
+   * written. Never releases more than the handler has reserved, so the memory of the blocklets
+   * written after the handler has released all its memory is not released twice.
+   *
+   * @param size memory to be released
+   */
+  private void releaseBlockletHolderMemory(long size) {
+    long reserved;
+    long released;
+    do {
+      reserved = blockletHolderMemory.get();
+      released = Math.min(reserved, size);
+    } while (!blockletHolderMemory.compareAndSet(reserved, reserved - released));
+    LoadMemoryManager.INSTANCE.release(LoadMemoryConsumer.BLOCKLET_HOLDER, released);
+  }
+
+  /**
+   * wait until all blocklets have been finished writing
+   */
+  private void waitForBlockletsToBeWritten() throws CarbonDataWriterException {
+    while (blockletProcessingCount.get() > 0) {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        throw new CarbonDataWriterException(e.getMessage());
+      }
+    }
+  }
+
   /**
    * @param value
    * @return it return no of value after decimal
@@ -1221,6 +1371,19 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         .getProperty(CarbonCommonConstants.BLOCKLET_SIZE,
             CarbonCommonConstants.BLOCKLET_SIZE_DEFAULT_VAL));
     LOGGER.info("Blocklet Size: " + blockletSize);
+    try {
+      this.blockletSizeInBytes = Long.parseLong(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.BLOCKLET_SIZE_IN_MB,
+              CarbonCommonConstants.BLOCKLET_SIZE_IN_MB_DEFAULT_VAL)) * 1024 * 1024;
+    } catch (NumberFormatException exc) {
+      LOGGER.error("Configured value for property " + CarbonCommonConstants.BLOCKLET_SIZE_IN_MB
+          + " is wrong. Falling back to the default value "
+          + CarbonCommonConstants.BLOCKLET_SIZE_IN_MB_DEFAULT_VAL);
+      this.blockletSizeInBytes =
+          Long.parseLong(CarbonCommonConstants.BLOCKLET_SIZE_IN_MB_DEFAULT_VAL) * 1024 * 1024;
+    }
+    LOGGER.info("Blocklet Size in bytes: " + blockletSizeInBytes);
+    updateRowsSizeThreshold();
     dataRows = new ArrayList<>(this.blockletSize);
     int dimSet =
         Integer.parseInt(CarbonCommonConstants.DIMENSION_SPLIT_VALUE_IN_COLUMNAR_DEFAULTVALUE);
@@ -1378,8 +1541,19 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
    */
   private CarbonFactDataWriter<?> getFactDataWriter(int[] keyBlockSize) {
     ColumnarFormatVersion version = CarbonProperties.getInstance().getFormatVersion();
+    int numberOfWriters;
+    try {
+      numberOfWriters = Integer.parseInt(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.NUMBER_OF_PARALLEL_WRITERS,
+              CarbonCommonConstants.NUMBER_OF_PARALLEL_WRITERS_DEFAULT));
+    } catch (NumberFormatException exc) {
+      LOGGER.error("Configured value for property " + CarbonCommonConstants
+          .NUMBER_OF_PARALLEL_WRITERS + " is wrong. Falling back to the default value "
+          + CarbonCommonConstants.NUMBER_OF_PARALLEL_WRITERS_DEFAULT);
+      numberOfWriters = Integer.parseInt(CarbonCommonConstants.NUMBER_OF_PARALLEL_WRITERS_DEFAULT);
+    }
     return CarbonDataWriterFactory.getInstance()
-        .getFactDataWriter(version, getDataWriterVo(keyBlockSize));
+        .getFactDataWriter(version, getDataWriterVo(keyBlockSize), numberOfWriters);
   }
 
   /**
@@ -1514,11 +1688,17 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     private List<Object[]> dataRows;
     private int sequenceNumber;
 
+    /**
+     * memory reserved in load memory budget for the rows
+     */
+    private long rowsSize;
+
     private Producer(BlockletDataHolder blockletDataHolder, List<Object[]> dataRows,
-        int sequenceNumber) {
+        int sequenceNumber, long rowsSize) {
       this.blockletDataHolder = blockletDataHolder;
       this.dataRows = dataRows;
       this.sequenceNumber = sequenceNumber;
+      this.rowsSize = rowsSize;
     }
 
     /**
@@ -1535,6 +1715,13 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         } else {
           nodeHolder = processDataRowsWithOutKettle(dataRows);
         }
+        // encoded blocklet is kept till the consumer writes it, consumer is the one which
+        // releases memory so the producer must not wait for memory here
+        LoadMemoryManager.INSTANCE
+            .forceReserve(LoadMemoryConsumer.BLOCKLET_HOLDER, nodeHolder.getSizeInBytes());
+        blockletHolderMemory.addAndGet(nodeHolder.getSizeInBytes());
+        encodedRowsSize.addAndGet(rowsSize);
+        encodedBlockletSize.addAndGet(nodeHolder.getSizeInBytes());
         // insert the object in array according to sequence number
         int indexInNodeHolderArray = (sequenceNumber - 1) % numberOfCores;
         blockletDataHolder.put(nodeHolder, indexInNodeHolderArray);
@@ -1543,6 +1730,9 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         consumerExecutorService.shutdownNow();
         resetBlockletProcessingCount();
         throw new CarbonDataWriterException(throwable.getMessage(), throwable);
+      } finally {
+        dataRows = null;
+        releaseBlockletHolderMemory(rowsSize);
       }
     }
   }
@@ -1570,13 +1760,19 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         try {
           nodeHolder = blockletDataHolder.get();
           if (null != nodeHolder) {
-            dataWriter.writeBlockletData(nodeHolder);
+            try {
+              dataWriter.writeBlockletData(nodeHolder);
+            } finally {
+              releaseBlockletHolderMemory(nodeHolder.getSizeInBytes());
+            }
           }
           blockletProcessingCount.decrementAndGet();
         } catch (Throwable throwable) {
           if (!processingComplete || blockletProcessingCount.get() > 0) {
             producerExecutorService.shutdownNow();
             resetBlockletProcessingCount();
+            // the blocklets already encoded are not written anymore
+            releaseBlockletHolderMemory(Long.MAX_VALUE);
             LOGGER.error(throwable, "Problem while writing the carbon data file");
             throw new CarbonDataWriterException(throwable.getMessage());
           }
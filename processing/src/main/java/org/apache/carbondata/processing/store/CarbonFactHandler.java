@@ -17,6 +17,7 @@
 
 package org.apache.carbondata.processing.store;
 
+import org.apache.carbondata.processing.store.writer.EncodedBlocklet;
 import org.apache.carbondata.processing.store.writer.exception.CarbonDataWriterException;
 
 public interface CarbonFactHandler {
@@ -24,6 +25,8 @@ public interface CarbonFactHandler {
 
   void addDataToStore(Object[] row) throws CarbonDataWriterException;
 
+  void addEncodedBlocklet(EncodedBlocklet blocklet) throws CarbonDataWriterException;
+
   void finish() throws CarbonDataWriterException;
 
   void closeHandler() throws CarbonDataWriterException;
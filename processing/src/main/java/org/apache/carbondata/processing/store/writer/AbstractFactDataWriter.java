@@ -63,6 +63,7 @@ import org.apache.carbondata.core.util.path.CarbonStorePath;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
 import org.apache.carbondata.core.writer.CarbonIndexFileWriter;
 import org.apache.carbondata.format.BlockIndex;
+import org.apache.carbondata.format.FileFooter;
 import org.apache.carbondata.format.IndexHeader;
 import org.apache.carbondata.processing.mdkeygen.file.FileData;
 import org.apache.carbondata.processing.store.writer.exception.CarbonDataWriterException;
@@ -116,6 +117,14 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
    * file count will be used to give sequence number to the data file
    */
   private int fileCount;
+  /**
+   * part number of the next file when the part numbers are assigned by the caller, -1 otherwise
+   */
+  private int nextFilePartNo = -1;
+  /**
+   * difference between the part numbers of two consecutive files of this writer
+   */
+  private int filePartNoIncrement = 1;
   /**
    * executorService
    */
@@ -139,6 +148,18 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
   private int spaceReservedForBlockMetaSize;
   private FileOutputStream fileOutputStream;
   private List<BlockIndexInfo> blockIndexInfoList;
+  /**
+   * whether files are written directly to the carbon store
+   */
+  private boolean directWriteEnabled;
+  /**
+   * maximum bytes buffered while writing directly to the carbon store
+   */
+  private int directWriteBufferSize;
+  /**
+   * whether the current file is written directly to the carbon store
+   */
+  private boolean isDirectWrite;
 
   public AbstractFactDataWriter(CarbonDataWriterVo dataWriterVo) {
     this.dataWriterVo = dataWriterVo;
@@ -156,6 +177,12 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
             CarbonCommonConstants.CARBON_BLOCK_META_RESERVED_SPACE_DEFAULT));
     this.dataBlockSize = fileSizeInBytes - (fileSizeInBytes * spaceReservedForBlockMetaSize) / 100;
     LOGGER.info("Total file size: " + fileSizeInBytes + " and dataBlock Size: " + dataBlockSize);
+    this.directWriteEnabled = Boolean.parseBoolean(propInstance
+        .getProperty(CarbonCommonConstants.LOAD_DIRECT_WRITE_ENABLE,
+            CarbonCommonConstants.LOAD_DIRECT_WRITE_ENABLE_DEFAULT));
+    if (directWriteEnabled) {
+      initDirectWriteBufferSize(propInstance);
+    }
 
     this.executorService = Executors.newFixedThreadPool(1);
     executorServiceSubmitList = new ArrayList<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
@@ -189,6 +216,26 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
     this.dataChunksLength = new ArrayList<>();
   }
 
+  private void initDirectWriteBufferSize(CarbonProperties propInstance) {
+    int bufferSizeInMB;
+    try {
+      bufferSizeInMB = Integer.parseInt(propInstance
+          .getProperty(CarbonCommonConstants.LOAD_DIRECT_WRITE_BUFFER_SIZE_IN_MB,
+              CarbonCommonConstants.LOAD_DIRECT_WRITE_BUFFER_SIZE_IN_MB_DEFAULT));
+      if (bufferSizeInMB <= 0 || bufferSizeInMB > 1024) {
+        throw new NumberFormatException("Buffer size should be between 1 and 1024");
+      }
+    } catch (NumberFormatException e) {
+      LOGGER.error("Configured value for property "
+          + CarbonCommonConstants.LOAD_DIRECT_WRITE_BUFFER_SIZE_IN_MB
+          + " is wrong. Falling back to the default value "
+          + CarbonCommonConstants.LOAD_DIRECT_WRITE_BUFFER_SIZE_IN_MB_DEFAULT);
+      bufferSizeInMB =
+          Integer.parseInt(CarbonCommonConstants.LOAD_DIRECT_WRITE_BUFFER_SIZE_IN_MB_DEFAULT);
+    }
+    this.directWriteBufferSize = bufferSizeInMB * 1024 * 1024;
+  }
+
   /**
    * This method will return max of block size and file size
    *
@@ -237,26 +284,57 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
    * @throws CarbonDataWriterException if any problem
    */
   protected void updateBlockletFileChannel(long blockletDataSize) throws CarbonDataWriterException {
-    if ((currentFileSize + blockletDataSize) >= dataBlockSize && currentFileSize != 0) {
-      // set the current file size to zero
+    // when the part numbers are assigned, the file is rolled only by the caller
+    if ((currentFileSize + blockletDataSize) >= dataBlockSize && currentFileSize != 0
+        && nextFilePartNo < 0) {
       LOGGER.info("Writing data to file as max file size reached for file: " + fileName
           + " .Data block size: " + currentFileSize);
-      // write meta data to end of the existing file
-      writeBlockletInfoToFile(blockletInfoList, fileChannel, fileName);
-      this.currentFileSize = 0;
-      blockletInfoList =
-          new ArrayList<BlockletInfoColumnar>(CarbonCommonConstants.CONSTANT_SIZE_TEN);
-      this.dataChunksOffsets = new ArrayList<>();
-      this.dataChunksLength = new ArrayList<>();
-      CarbonUtil.closeStreams(this.fileOutputStream, this.fileChannel);
+      rollFile();
+    }
+    currentFileSize += blockletDataSize;
+  }
+
+  /**
+   * Completes the current file by writing the footer, submits it for copying to carbon store
+   * and opens a new file for the next blocklets. Nothing is done if no blocklet is written to
+   * the current file.
+   *
+   * @throws CarbonDataWriterException if any problem
+   */
+  public void rollFile() throws CarbonDataWriterException {
+    if (blockletInfoList.isEmpty()) {
+      return;
+    }
+    // write meta data to end of the existing file
+    writeBlockletInfoToFile(blockletInfoList, fileChannel, fileName);
+    // set the current file size to zero
+    this.currentFileSize = 0;
+    blockletInfoList =
+        new ArrayList<BlockletInfoColumnar>(CarbonCommonConstants.CONSTANT_SIZE_TEN);
+    this.dataChunksOffsets = new ArrayList<>();
+    this.dataChunksLength = new ArrayList<>();
+    closeFile();
+    if (!isDirectWrite) {
       // rename carbon data file from in progress status to actual
       renameCarbonDataFile();
       executorServiceSubmitList.add(executorService
           .submit(new CopyThread(this.fileName.substring(0, this.fileName.lastIndexOf('.')))));
-      // initialize the new channel
-      initializeWriter();
     }
-    currentFileSize += blockletDataSize;
+    // initialize the new channel
+    initializeWriter();
+  }
+
+  /**
+   * Assigns the part numbers of the files of this writer, used when the files of a task are
+   * written by multiple writers. The files are then rolled only by the caller through
+   * {@link #rollFile()}, so each file gets the next part number.
+   *
+   * @param firstFilePartNo     part number of the first file
+   * @param filePartNoIncrement difference between the part numbers of two consecutive files
+   */
+  public void setFilePartNumbers(int firstFilePartNo, int filePartNoIncrement) {
+    this.nextFilePartNo = firstFilePartNo;
+    this.filePartNoIncrement = filePartNoIncrement;
   }
 
   /**
@@ -268,10 +346,18 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
     // update the filename with new new sequence
     // increment the file sequence counter
     initFileCount();
+    int filePartNo = fileCount;
+    if (nextFilePartNo >= 0) {
+      filePartNo = nextFilePartNo;
+      nextFilePartNo += filePartNoIncrement;
+    }
     String carbonDataFileName = carbonTablePath
-        .getCarbonDataFileName(fileCount, dataWriterVo.getCarbonDataFileAttributes().getTaskId(),
+        .getCarbonDataFileName(filePartNo, dataWriterVo.getCarbonDataFileAttributes().getTaskId(),
             dataWriterVo.getBucketNumber(),
             dataWriterVo.getCarbonDataFileAttributes().getFactTimeStamp());
+    if (directWriteEnabled && openStoreFile(carbonDataFileName)) {
+      return;
+    }
     String actualFileNameVal = carbonDataFileName + CarbonCommonConstants.FILE_INPROGRESS_STATUS;
     FileData fileData = new FileData(actualFileNameVal, dataWriterVo.getStoreLocation());
     dataWriterVo.getFileManager().add(fileData);
@@ -288,6 +374,54 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
     }
   }
 
+  /**
+   * Opens the file in carbon store for writing directly
+   *
+   * @param carbonDataFileName name of the file
+   * @return false if the file cannot be written in carbon store
+   */
+  private boolean openStoreFile(String carbonDataFileName) {
+    String storeFilePath =
+        dataWriterVo.getCarbonDataDirectoryPath() + File.separator + carbonDataFileName;
+    try {
+      // actual file size is not known, so block size is decided from the configured size
+      DataOutputStream outputStream = FileFactory
+          .getDataOutputStream(storeFilePath, FileFactory.getFileType(storeFilePath),
+              CarbonCommonConstants.BYTEBUFFER_SIZE,
+              getMaxOfBlockAndFileSize(fileSizeInBytes, fileSizeInBytes));
+      this.fileName = storeFilePath;
+      this.fileOutputStream = null;
+      this.fileChannel =
+          new DirectStoreFileChannel(outputStream, storeFilePath, directWriteBufferSize);
+      this.isDirectWrite = true;
+      this.fileCount++;
+      return true;
+    } catch (IOException e) {
+      LOGGER.warn("Problem while opening the file " + storeFilePath
+          + " in carbon store, writing to local disk and copying to carbon store. " + e
+          .getMessage());
+      this.isDirectWrite = false;
+      return false;
+    }
+  }
+
+  /**
+   * Closes the current file, in case of direct write waits till all the data is written
+   *
+   * @throws CarbonDataWriterException if any problem in writing the data
+   */
+  private void closeFile() throws CarbonDataWriterException {
+    if (isDirectWrite) {
+      try {
+        this.fileChannel.close();
+      } catch (IOException e) {
+        throw new CarbonDataWriterException("Problem while writing the file " + fileName, e);
+      }
+    } else {
+      CarbonUtil.closeStreams(this.fileOutputStream, this.fileChannel);
+    }
+  }
+
   private int initFileCount() {
     int fileInitialCount = 0;
     File[] dataFiles = new File(dataWriterVo.getStoreLocation()).listFiles(new FileFilter() {
@@ -319,6 +453,30 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
   protected abstract void writeBlockletInfoToFile(List<BlockletInfoColumnar> infoList,
       FileChannel channel, String filePath) throws CarbonDataWriterException;
 
+  /**
+   * Below method will be used to write the file footer at the end of the file through the
+   * channel of the file. The footer must not be written through another stream, as the channel
+   * may still be writing the blocklets when the data is written directly to the carbon store.
+   *
+   * @param footer          thrift file footer
+   * @param currentPosition offset of the footer in the file
+   * @param channel         channel of the file
+   * @throws IOException if any problem while writing the footer
+   */
+  protected void writeFooter(FileFooter footer, long currentPosition, FileChannel channel)
+      throws IOException {
+    byte[] footerBytes = CarbonUtil.getByteArray(footer);
+    ByteBuffer buffer =
+        ByteBuffer.allocate(footerBytes.length + CarbonCommonConstants.LONG_SIZE_IN_BYTE);
+    buffer.put(footerBytes);
+    // footer is followed by its offset, same as the footer writer
+    buffer.putLong(currentPosition);
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
   /**
    * Below method will be used to fill the vlock info details
    *
@@ -358,9 +516,13 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
     minmax.setMinValues(currentMinValue);
     minmax.setMaxValues(currentMaxValue);
     BlockletIndex blockletIndex = new BlockletIndex(btree, minmax);
+    // in progress status is not there when file is written directly to carbon store
+    String actualFilePath = filePath.endsWith(CarbonCommonConstants.FILE_INPROGRESS_STATUS) ?
+        filePath.substring(0, filePath.lastIndexOf('.')) :
+        filePath;
     BlockIndexInfo blockIndexInfo =
-        new BlockIndexInfo(numberOfRows, filePath.substring(0, filePath.lastIndexOf('.')),
-            currentPosition, blockletIndex);
+        new BlockIndexInfo(numberOfRows, actualFilePath, currentPosition, blockletIndex,
+            infoList.size());
     blockIndexInfoList.add(blockIndexInfo);
   }
 
@@ -394,13 +556,20 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
    * @throws CarbonDataWriterException
    */
   public void closeWriter() throws CarbonDataWriterException {
-    CarbonUtil.closeStreams(this.fileOutputStream, this.fileChannel);
+    closeFile();
     if (this.blockletInfoList.size() > 0) {
-      renameCarbonDataFile();
-      copyCarbonDataFileToCarbonStorePath(
-          this.fileName.substring(0, this.fileName.lastIndexOf('.')));
+      if (!isDirectWrite) {
+        renameCarbonDataFile();
+        copyCarbonDataFileToCarbonStorePath(
+            this.fileName.substring(0, this.fileName.lastIndexOf('.')));
+      }
+    } else {
+      // no blocklet is written after the last file is rolled, so the empty file is not needed
+      deleteEmptyFile();
+    }
+    if (dataWriterVo.isWriteIndexFile() && !blockIndexInfoList.isEmpty()) {
       try {
-        writeIndexFile();
+        writeIndexFile(blockIndexInfoList);
       } catch (IOException e) {
         throw new CarbonDataWriterException("Problem while writing the index file", e);
       }
@@ -408,34 +577,90 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
     closeExecutorService();
   }
 
+  /**
+   * @return index details of all the files written by this writer
+   */
+  public List<BlockIndexInfo> getBlockIndexInfoList() {
+    return blockIndexInfoList;
+  }
+
+  /**
+   * @return maximum size of the blocklet data in one file
+   */
+  public long getDataBlockSize() {
+    return dataBlockSize;
+  }
+
   /**
    * Below method will be used to write the idex file
    *
+   * @param blockIndexInfoList index details of the files in the order to be written
    * @throws IOException               throws io exception if any problem while writing
    * @throws CarbonDataWriterException data writing
    */
-  private void writeIndexFile() throws IOException, CarbonDataWriterException {
+  public void writeIndexFile(List<BlockIndexInfo> blockIndexInfoList)
+      throws IOException, CarbonDataWriterException {
     // get the header
     IndexHeader indexHeader = CarbonMetadataUtil
         .getIndexHeader(localCardinality, thriftColumnSchemaList, dataWriterVo.getBucketNumber());
     // get the block index info thrift
     List<BlockIndex> blockIndexThrift = CarbonMetadataUtil.getBlockIndexInfo(blockIndexInfoList);
-    String fileName = dataWriterVo.getStoreLocation() + File.separator + carbonTablePath
+    String indexFileName = carbonTablePath
         .getCarbonIndexFileName(dataWriterVo.getCarbonDataFileAttributes().getTaskId(),
             dataWriterVo.getBucketNumber(),
             dataWriterVo.getCarbonDataFileAttributes().getFactTimeStamp());
+    if (directWriteEnabled) {
+      String storeFileName =
+          dataWriterVo.getCarbonDataDirectoryPath() + File.separator + indexFileName;
+      try {
+        // index file is opened in append mode, so file left by an earlier attempt is removed
+        FileFactory.FileType fileType = FileFactory.getFileType(storeFileName);
+        if (FileFactory.isFileExist(storeFileName, fileType)) {
+          FileFactory.getCarbonFile(storeFileName, fileType).delete();
+        }
+        writeIndexFile(storeFileName, indexHeader, blockIndexThrift);
+        return;
+      } catch (IOException e) {
+        LOGGER.warn("Problem while writing the index file " + storeFileName
+            + " in carbon store, writing to local disk and copying to carbon store. " + e
+            .getMessage());
+      }
+    }
+    String fileName = dataWriterVo.getStoreLocation() + File.separator + indexFileName;
+    writeIndexFile(fileName, indexHeader, blockIndexThrift);
+    // copy from temp to actual store location
+    copyCarbonDataFileToCarbonStorePath(fileName);
+  }
+
+  private void writeIndexFile(String fileName, IndexHeader indexHeader,
+      List<BlockIndex> blockIndexThrift) throws IOException {
     CarbonIndexFileWriter writer = new CarbonIndexFileWriter();
     // open file
     writer.openThriftWriter(fileName);
-    // write the header first
-    writer.writeThrift(indexHeader);
-    // write the indexes
-    for (BlockIndex blockIndex : blockIndexThrift) {
-      writer.writeThrift(blockIndex);
+    try {
+      // write the header first
+      writer.writeThrift(indexHeader);
+      // write the indexes
+      for (BlockIndex blockIndex : blockIndexThrift) {
+        writer.writeThrift(blockIndex);
+      }
+    } finally {
+      writer.close();
+    }
+  }
+
+  private void deleteEmptyFile() {
+    boolean isDeleted;
+    if (isDirectWrite) {
+      CarbonFile carbonFile =
+          FileFactory.getCarbonFile(this.fileName, FileFactory.getFileType(this.fileName));
+      isDeleted = carbonFile.delete();
+    } else {
+      isDeleted = new File(this.fileName).delete();
+    }
+    if (!isDeleted) {
+      LOGGER.info("Problem while deleting the empty file " + this.fileName);
     }
-    writer.close();
-    // copy from temp to actual store location
-    copyCarbonDataFileToCarbonStorePath(fileName);
   }
 
   /**
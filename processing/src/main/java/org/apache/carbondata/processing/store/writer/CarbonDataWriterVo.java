@@ -66,6 +66,11 @@ public class CarbonDataWriterVo {
 
   private int bucketNumber;
 
+  /**
+   * whether writer should write the carbon index file for the files written by it
+   */
+  private boolean writeIndexFile = true;
+
   /**
    * @return the storeLocation
    */
@@ -304,4 +309,12 @@ public class CarbonDataWriterVo {
   public void setBucketNumber(int bucketNumber) {
     this.bucketNumber = bucketNumber;
   }
+
+  public boolean isWriteIndexFile() {
+    return writeIndexFile;
+  }
+
+  public void setWriteIndexFile(boolean writeIndexFile) {
+    this.writeIndexFile = writeIndexFile;
+  }
 }
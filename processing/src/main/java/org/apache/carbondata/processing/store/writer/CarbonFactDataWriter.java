@@ -50,6 +50,15 @@ public interface CarbonFactDataWriter<T> {
    */
   void writeBlockletData(NodeHolder holder) throws CarbonDataWriterException;
 
+  /**
+   * Below method will be used to write the blocklet of an existing file without decoding its
+   * column pages. Blocklet is written after the blocklets already added to the writer.
+   *
+   * @param blocklet encoded blocklet
+   * @throws CarbonDataWriterException if the format does not support copying the blocklet
+   */
+  void writeEncodedBlocklet(EncodedBlocklet blocklet) throws CarbonDataWriterException;
+
   /**
    * Below method will be used to write the leaf meta data to file
    *
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.store.writer;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.NonReadableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryConsumer;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryManager;
+
+/**
+ * Channel which writes the carbon data file directly to the carbon store. Data written to the
+ * channel is buffered and written to the store output stream by a background thread, so
+ * encoding of the next blocklet is not blocked by the store. Buffered data is bounded, a write
+ * waits when the buffer is full. The channel can only be appended, size of the channel is the
+ * number of bytes written so far, which is the offset of the next write in the file.
+ */
+public class DirectStoreFileChannel extends FileChannel {
+
+  private DataOutputStream outputStream;
+
+  private String filePath;
+
+  private ExecutorService executorService;
+
+  /**
+   * permits are the bytes which can be buffered
+   */
+  private Semaphore bufferPermits;
+
+  private int maxBufferSize;
+
+  private long position;
+
+  /**
+   * first failure of the background write, it is thrown on the next write or close
+   */
+  private volatile IOException failure;
+
+  public DirectStoreFileChannel(DataOutputStream outputStream, String filePath,
+      int maxBufferSize) {
+    this.outputStream = outputStream;
+    this.filePath = filePath;
+    this.maxBufferSize = maxBufferSize;
+    this.bufferPermits = new Semaphore(maxBufferSize);
+    this.executorService = Executors.newSingleThreadExecutor();
+  }
+
+  @Override public int write(ByteBuffer src) throws IOException {
+    checkFailure();
+    final int length = src.remaining();
+    final byte[] data = new byte[length];
+    src.get(data);
+    // a write bigger than the buffer waits for the complete buffer
+    final int permits = Math.min(length, maxBufferSize);
+    try {
+      bufferPermits.acquire(permits);
+    } catch (InterruptedException e) {
+      throw new InterruptedIOException(e.getMessage());
+    }
+    LoadMemoryManager.INSTANCE.forceReserve(LoadMemoryConsumer.WRITER_BUFFER, length);
+    executorService.submit(new Runnable() {
+      @Override public void run() {
+        try {
+          if (null == failure) {
+            outputStream.write(data);
+          }
+        } catch (IOException e) {
+          failure = e;
+        } finally {
+          LoadMemoryManager.INSTANCE.release(LoadMemoryConsumer.WRITER_BUFFER, length);
+          bufferPermits.release(permits);
+        }
+      }
+    });
+    position += length;
+    return length;
+  }
+
+  @Override public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+    long written = 0;
+    for (int i = offset; i < offset + length; i++) {
+      written += write(srcs[i]);
+    }
+    return written;
+  }
+
+  @Override public long position() throws IOException {
+    return position;
+  }
+
+  @Override public long size() throws IOException {
+    return position;
+  }
+
+  private void checkFailure() throws IOException {
+    if (null != failure) {
+      throw new IOException("Problem while writing the file " + filePath, failure);
+    }
+  }
+
+  /**
+   * Waits till the buffered data is written and closes the store output stream
+   */
+  @Override protected void implCloseChannel() throws IOException {
+    executorService.shutdown();
+    try {
+      executorService.awaitTermination(2, TimeUnit.HOURS);
+    } catch (InterruptedException e) {
+      throw new InterruptedIOException(e.getMessage());
+    } finally {
+      outputStream.close();
+    }
+    checkFailure();
+  }
+
+  @Override public int read(ByteBuffer dst) throws IOException {
+    throw new NonReadableChannelException();
+  }
+
+  @Override public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+    throw new NonReadableChannelException();
+  }
+
+  @Override public int read(ByteBuffer dst, long position) throws IOException {
+    throw new NonReadableChannelException();
+  }
+
+  @Override public FileChannel position(long newPosition) throws IOException {
+    throw new UnsupportedOperationException("Channel can only be appended");
+  }
+
+  @Override public FileChannel truncate(long size) throws IOException {
+    throw new UnsupportedOperationException("Channel can only be appended");
+  }
+
+  @Override public int write(ByteBuffer src, long position) throws IOException {
+    throw new UnsupportedOperationException("Channel can only be appended");
+  }
+
+  @Override public void force(boolean metaData) throws IOException {
+    throw new UnsupportedOperationException("Unsupported operation");
+  }
+
+  @Override public long transferTo(long position, long count, WritableByteChannel target)
+      throws IOException {
+    throw new NonReadableChannelException();
+  }
+
+  @Override public long transferFrom(ReadableByteChannel src, long position, long count)
+      throws IOException {
+    throw new UnsupportedOperationException("Unsupported operation");
+  }
+
+  @Override public MappedByteBuffer map(MapMode mode, long position, long size)
+      throws IOException {
+    throw new UnsupportedOperationException("Unsupported operation");
+  }
+
+  @Override public FileLock lock(long position, long size, boolean shared) throws IOException {
+    throw new UnsupportedOperationException("Unsupported operation");
+  }
+
+  @Override public FileLock tryLock(long position, long size, boolean shared)
+      throws IOException {
+    throw new UnsupportedOperationException("Unsupported operation");
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store.writer;
+
+import java.util.List;
+
+/**
+ * Blocklet of an existing carbondata file which is written to the new file as it is, without
+ * decoding its column pages. Data holds all the column chunks of the blocklet in the file
+ * order, each starting with its data chunk header.
+ */
+public class EncodedBlocklet {
+
+  /**
+   * column chunks of the blocklet
+   */
+  private byte[] data;
+
+  /**
+   * offset of each column chunk in data, dimensions followed by measures
+   */
+  private List<Long> columnChunkOffsets;
+
+  /**
+   * length of the data chunk header of each column chunk
+   */
+  private List<Short> columnChunkHeaderLengths;
+
+  private int numberOfRows;
+
+  private byte[] startKey;
+
+  private byte[] endKey;
+
+  private byte[][] columnMinData;
+
+  private byte[][] columnMaxData;
+
+  public EncodedBlocklet(byte[] data, List<Long> columnChunkOffsets,
+      List<Short> columnChunkHeaderLengths, int numberOfRows, byte[] startKey, byte[] endKey,
+      byte[][] columnMinData, byte[][] columnMaxData) {
+    this.data = data;
+    this.columnChunkOffsets = columnChunkOffsets;
+    this.columnChunkHeaderLengths = columnChunkHeaderLengths;
+    this.numberOfRows = numberOfRows;
+    this.startKey = startKey;
+    this.endKey = endKey;
+    this.columnMinData = columnMinData;
+    this.columnMaxData = columnMaxData;
+  }
+
+  public byte[] getData() {
+    return data;
+  }
+
+  public List<Long> getColumnChunkOffsets() {
+    return columnChunkOffsets;
+  }
+
+  public List<Short> getColumnChunkHeaderLengths() {
+    return columnChunkHeaderLengths;
+  }
+
+  public int getNumberOfRows() {
+    return numberOfRows;
+  }
+
+  public byte[] getStartKey() {
+    return startKey;
+  }
+
+  public byte[] getEndKey() {
+    return endKey;
+  }
+
+  public byte[][] getColumnMinData() {
+    return columnMinData;
+  }
+
+  public byte[][] getColumnMaxData() {
+    return columnMaxData;
+  }
+
+  /**
+   * @return size of the encoded blocklet data
+   */
+  public long getSizeInBytes() {
+    return data.length;
+  }
+}
@@ -407,4 +407,24 @@ public class NodeHolder {
   public void setTotalMeasureArrayLength(int totalMeasureArrayLength) {
     this.totalMeasureArrayLength = totalMeasureArrayLength;
   }
+
+  /**
+   * @return approximate size of the encoded blocklet data held by this holder
+   */
+  public long getSizeInBytes() {
+    return getSize(keyArray) + getSize(dataArray) + getSize(compressedIndex) + getSize(
+        compressedIndexMap) + getSize(compressedDataIndex);
+  }
+
+  private static long getSize(byte[][] data) {
+    long size = 0;
+    if (null != data) {
+      for (byte[] value : data) {
+        if (null != value) {
+          size += value.length;
+        }
+      }
+    }
+    return size;
+  }
 }
@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.store.writer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.datastore.columnar.IndexStorage;
+import org.apache.carbondata.core.datastore.compression.WriterCompressModel;
+import org.apache.carbondata.core.metadata.index.BlockIndexInfo;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryConsumer;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryManager;
+import org.apache.carbondata.processing.store.writer.exception.CarbonDataWriterException;
+
+/**
+ * Writer which writes the sorted blocklets of one task to multiple carbondata files in
+ * parallel. Blocklets are split in ranges of consecutive blocklets, each range is roughly one
+ * carbondata file and the ranges are given to the writers one after the other. As every file
+ * holds a continuous range of the sorted data and the index file lists the files in range
+ * order, the index of the task stays sorted and block pruning works same as a single writer.
+ * The files are rolled only at the end of a range, so the part number of a file is the index
+ * of its range and the files of the task sort in the order of the data.
+ */
+public class ParallelCarbonFactDataWriter<T> implements CarbonFactDataWriter<T> {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(ParallelCarbonFactDataWriter.class.getName());
+
+  /**
+   * writers, each one writes its own files with its own footer
+   */
+  private AbstractFactDataWriter<T>[] writers;
+
+  /**
+   * one thread for each writer, blocklets of a writer are written in order
+   */
+  private ExecutorService[] writerExecutorServices;
+
+  private List<Future<Void>> writeTaskList;
+
+  /**
+   * limits the blocklets waiting to be written
+   */
+  private Semaphore semaphore;
+
+  /**
+   * ranges in the order of data, each has the writer and the number of index entries of that
+   * writer after range is completed
+   */
+  private List<Range> ranges;
+
+  private int currentWriter;
+
+  private int blockletsInCurrentRange;
+
+  /**
+   * size of the blocklets of the current range
+   */
+  private long currentRangeSize;
+
+  public ParallelCarbonFactDataWriter(AbstractFactDataWriter<T>[] writers) {
+    this.writers = writers;
+    this.writerExecutorServices = new ExecutorService[writers.length];
+    for (int i = 0; i < writers.length; i++) {
+      writerExecutorServices[i] = Executors.newSingleThreadExecutor();
+      // ranges are given to the writers one after the other, so range k * n + i is the k-th
+      // range of writer i
+      writers[i].setFilePartNumbers(i, writers.length);
+    }
+    this.writeTaskList = new ArrayList<>();
+    this.semaphore = new Semaphore(writers.length * 2);
+    this.ranges = new ArrayList<>();
+  }
+
+  @Override public NodeHolder buildDataNodeHolder(IndexStorage<T>[] keyStorageArray,
+      byte[][] dataArray, int entryCount, byte[] startKey, byte[] endKey,
+      WriterCompressModel compressionModel, byte[] noDictionaryStartKey, byte[] noDictionaryEndKey)
+      throws CarbonDataWriterException {
+    // building the holder does not depend on the file being written
+    return writers[0]
+        .buildDataNodeHolder(keyStorageArray, dataArray, entryCount, startKey, endKey,
+            compressionModel, noDictionaryStartKey, noDictionaryEndKey);
+  }
+
+  @Override public void writeBlockletData(final NodeHolder holder)
+      throws CarbonDataWriterException {
+    final AbstractFactDataWriter<T> writer = nextWriter(holder.getSizeInBytes());
+    submit(holder.getSizeInBytes(), new Callable<Void>() {
+      @Override public Void call() throws Exception {
+        writer.writeBlockletData(holder);
+        return null;
+      }
+    });
+  }
+
+  @Override public void writeEncodedBlocklet(final EncodedBlocklet blocklet)
+      throws CarbonDataWriterException {
+    final AbstractFactDataWriter<T> writer = nextWriter(blocklet.getSizeInBytes());
+    submit(blocklet.getSizeInBytes(), new Callable<Void>() {
+      @Override public Void call() throws Exception {
+        writer.writeEncodedBlocklet(blocklet);
+        return null;
+      }
+    });
+  }
+
+  /**
+   * Moves to the next range if the blocklet does not fit in the file of the current range and
+   * waits till a blocklet can be queued for writing
+   *
+   * @param blockletSize size of the blocklet to be written
+   * @return writer of the blocklet
+   */
+  private AbstractFactDataWriter<T> nextWriter(long blockletSize)
+      throws CarbonDataWriterException {
+    // same limit as a single writer rolling its file
+    if (currentRangeSize != 0
+        && currentRangeSize + blockletSize >= writers[currentWriter].getDataBlockSize()) {
+      completeCurrentRange();
+      currentWriter = (currentWriter + 1) % writers.length;
+    }
+    try {
+      semaphore.acquire();
+    } catch (InterruptedException e) {
+      throw new CarbonDataWriterException(e.getMessage(), e);
+    }
+    currentRangeSize += blockletSize;
+    return writers[currentWriter];
+  }
+
+  /**
+   * Submits the write of a blocklet to the writer of the current range. The blocklet is
+   * accounted as blocklet holder memory till it is written, as the caller releases it once the
+   * blocklet is queued.
+   *
+   * @param blockletSize size of the blocklet
+   * @param writeTask    task writing the blocklet
+   */
+  private void submit(final long blockletSize, final Callable<Void> writeTask) {
+    LoadMemoryManager.INSTANCE.forceReserve(LoadMemoryConsumer.BLOCKLET_HOLDER, blockletSize);
+    writeTaskList.add(writerExecutorServices[currentWriter].submit(new Callable<Void>() {
+      @Override public Void call() throws Exception {
+        try {
+          return writeTask.call();
+        } finally {
+          LoadMemoryManager.INSTANCE.release(LoadMemoryConsumer.BLOCKLET_HOLDER, blockletSize);
+          semaphore.release();
+        }
+      }
+    }));
+    blockletsInCurrentRange++;
+  }
+
+  /**
+   * Completes the file of the current range and records the index entries of the range.
+   */
+  private void completeCurrentRange() {
+    if (blockletsInCurrentRange == 0) {
+      return;
+    }
+    final AbstractFactDataWriter<T> writer = writers[currentWriter];
+    Future<Integer> indexCount =
+        writerExecutorServices[currentWriter].submit(new Callable<Integer>() {
+          @Override public Integer call() throws Exception {
+            writer.rollFile();
+            return writer.getBlockIndexInfoList().size();
+          }
+        });
+    ranges.add(new Range(currentWriter, indexCount));
+    blockletsInCurrentRange = 0;
+    currentRangeSize = 0;
+  }
+
+  @Override public void writeBlockletInfoToFile() throws CarbonDataWriterException {
+    completeCurrentRange();
+    waitForTasks(writeTaskList);
+  }
+
+  @Override public void initializeWriter() throws CarbonDataWriterException {
+    for (AbstractFactDataWriter<T> writer : writers) {
+      writer.initializeWriter();
+    }
+  }
+
+  @Override public void closeWriter() throws CarbonDataWriterException {
+    List<Future<Void>> closeTaskList = new ArrayList<>(writers.length);
+    for (int i = 0; i < writers.length; i++) {
+      final AbstractFactDataWriter<T> writer = writers[i];
+      closeTaskList.add(writerExecutorServices[i].submit(new Callable<Void>() {
+        @Override public Void call() throws Exception {
+          writer.closeWriter();
+          return null;
+        }
+      }));
+    }
+    waitForTasks(closeTaskList);
+    for (ExecutorService executorService : writerExecutorServices) {
+      executorService.shutdown();
+    }
+    // merge the index entries of all the writers in range order
+    List<BlockIndexInfo> blockIndexInfoList = new ArrayList<>();
+    int[] indexEntriesAdded = new int[writers.length];
+    try {
+      for (Range range : ranges) {
+        int end = range.indexCount.get();
+        blockIndexInfoList.addAll(writers[range.writer].getBlockIndexInfoList()
+            .subList(indexEntriesAdded[range.writer], end));
+        indexEntriesAdded[range.writer] = end;
+      }
+      if (!blockIndexInfoList.isEmpty()) {
+        writers[0].writeIndexFile(blockIndexInfoList);
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new CarbonDataWriterException(e.getMessage(), e);
+    } catch (IOException e) {
+      throw new CarbonDataWriterException("Problem while writing the index file", e);
+    }
+    for (ExecutorService executorService : writerExecutorServices) {
+      try {
+        executorService.awaitTermination(1, TimeUnit.HOURS);
+      } catch (InterruptedException e) {
+        throw new CarbonDataWriterException(e.getMessage(), e);
+      }
+    }
+  }
+
+  @Override public void setIsNoDictionary(boolean[] isNoDictionary) {
+    for (AbstractFactDataWriter<T> writer : writers) {
+      writer.setIsNoDictionary(isNoDictionary);
+    }
+  }
+
+  private void waitForTasks(List<Future<Void>> taskList) throws CarbonDataWriterException {
+    for (Future<Void> task : taskList) {
+      try {
+        task.get();
+      } catch (InterruptedException e) {
+        throw new CarbonDataWriterException(e.getMessage(), e);
+      } catch (ExecutionException e) {
+        LOGGER.error(e, "Problem while writing the carbon data file");
+        throw new CarbonDataWriterException(e.getMessage(), e);
+      }
+    }
+    taskList.clear();
+  }
+
+  /**
+   * Continuous range of blocklets written by one writer
+   */
+  private static final class Range {
+
+    private int writer;
+
+    /**
+     * number of index entries of the writer once the range is completed
+     */
+    private Future<Integer> indexCount;
+
+    private Range(int writer, Future<Integer> indexCount) {
+      this.writer = writer;
+      this.indexCount = indexCount;
+    }
+  }
+}
@@ -29,11 +29,11 @@ import org.apache.carbondata.core.datastore.columnar.IndexStorage;
 import org.apache.carbondata.core.datastore.compression.WriterCompressModel;
 import org.apache.carbondata.core.metadata.BlockletInfoColumnar;
 import org.apache.carbondata.core.util.CarbonMetadataUtil;
-import org.apache.carbondata.core.writer.CarbonFooterWriter;
 import org.apache.carbondata.format.FileFooter;
 import org.apache.carbondata.processing.store.colgroup.ColGroupBlockStorage;
 import org.apache.carbondata.processing.store.writer.AbstractFactDataWriter;
 import org.apache.carbondata.processing.store.writer.CarbonDataWriterVo;
+import org.apache.carbondata.processing.store.writer.EncodedBlocklet;
 import org.apache.carbondata.processing.store.writer.NodeHolder;
 import org.apache.carbondata.processing.store.writer.exception.CarbonDataWriterException;
 
@@ -194,6 +194,15 @@ public class CarbonFactDataWriterImplV1 extends AbstractFactDataWriter<int[]> {
     return holder;
   }
 
+  /**
+   * Column chunks of version 1 are not self describing, so blocklet cannot be copied
+   */
+  @Override public void writeEncodedBlocklet(EncodedBlocklet blocklet)
+      throws CarbonDataWriterException {
+    throw new CarbonDataWriterException(
+        "Writing encoded blocklet is not supported in version 1 format");
+  }
+
   @Override public void writeBlockletData(NodeHolder holder) throws CarbonDataWriterException {
     int indexBlockSize = 0;
     for (int i = 0; i < holder.getKeyBlockIndexLength().length; i++) {
@@ -367,12 +376,11 @@ public class CarbonFactDataWriterImplV1 extends AbstractFactDataWriter<int[]> {
       String filePath) throws CarbonDataWriterException {
     try {
       long currentPosition = channel.size();
-      CarbonFooterWriter writer = new CarbonFooterWriter(filePath);
       FileFooter convertFileMeta = CarbonMetadataUtil
           .convertFileFooter(infoList, localCardinality.length, localCardinality,
               thriftColumnSchemaList, dataWriterVo.getSegmentProperties());
       fillBlockIndexInfoDetails(infoList, convertFileMeta.getNum_rows(), filePath, currentPosition);
-      writer.writeFooter(convertFileMeta, currentPosition);
+      writeFooter(convertFileMeta, currentPosition, channel);
     } catch (IOException e) {
       throw new CarbonDataWriterException("Problem while writing the carbon file: ", e);
     }
@@ -30,10 +30,12 @@ import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
 import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
-import org.apache.carbondata.core.writer.CarbonFooterWriter;
 import org.apache.carbondata.format.DataChunk2;
 import org.apache.carbondata.format.FileFooter;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryConsumer;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryManager;
 import org.apache.carbondata.processing.store.writer.CarbonDataWriterVo;
+import org.apache.carbondata.processing.store.writer.EncodedBlocklet;
 import org.apache.carbondata.processing.store.writer.NodeHolder;
 import org.apache.carbondata.processing.store.writer.exception.CarbonDataWriterException;
 import org.apache.carbondata.processing.store.writer.v1.CarbonFactDataWriterImplV1;
@@ -99,8 +101,65 @@ public class CarbonFactDataWriterImplV2 extends CarbonFactDataWriterImplV1 {
     // if size of the file already reached threshold size then create a new file and get the file
     // channel object
     updateBlockletFileChannel(blockletDataSize);
-    // writer the version header in the file if current file size is zero
-    // this is done so carbondata file can be read separately
+    writeVersionHeader();
+    // write data to file and get its offset
+    writeDataToFile(holder, dataChunkByteArray, fileChannel);
+    // add blocklet info to list
+    blockletInfoList.add(blockletInfo);
+    LOGGER.info("A new blocklet is added, its data size is: " + blockletDataSize + " Byte");
+  }
+
+  /**
+   * Below method will be used to write the blocklet copied from an existing version 2 file.
+   * Column chunks are written as they are, only their offsets are moved to the new file.
+   *
+   * @param blocklet encoded blocklet
+   * @throws CarbonDataWriterException any problem in writing operation
+   */
+  @Override public void writeEncodedBlocklet(EncodedBlocklet blocklet)
+      throws CarbonDataWriterException {
+    updateBlockletFileChannel(blocklet.getSizeInBytes());
+    writeVersionHeader();
+    long offset = 0;
+    try {
+      offset = fileChannel.size();
+    } catch (IOException e) {
+      throw new CarbonDataWriterException("Problem while getting the file channel size", e);
+    }
+    List<Long> currentDataChunksOffset = new ArrayList<>();
+    for (Long columnChunkOffset : blocklet.getColumnChunkOffsets()) {
+      currentDataChunksOffset.add(offset + columnChunkOffset);
+    }
+    LoadMemoryManager.INSTANCE
+        .forceReserve(LoadMemoryConsumer.WRITER_BUFFER, blocklet.getSizeInBytes());
+    try {
+      fileChannel.write(ByteBuffer.wrap(blocklet.getData()));
+    } catch (IOException e) {
+      throw new CarbonDataWriterException(
+          "Problem while writing the encoded blocklet in carbon data file", e);
+    } finally {
+      LoadMemoryManager.INSTANCE
+          .release(LoadMemoryConsumer.WRITER_BUFFER, blocklet.getSizeInBytes());
+    }
+    dataChunksOffsets.add(currentDataChunksOffset);
+    dataChunksLength.add(new ArrayList<>(blocklet.getColumnChunkHeaderLengths()));
+    // footer needs only the row count and the index of the blocklet
+    BlockletInfoColumnar blockletInfo = new BlockletInfoColumnar();
+    blockletInfo.setNumberOfKeys(blocklet.getNumberOfRows());
+    blockletInfo.setStartKey(blocklet.getStartKey());
+    blockletInfo.setEndKey(blocklet.getEndKey());
+    blockletInfo.setColumnMinData(blocklet.getColumnMinData());
+    blockletInfo.setColumnMaxData(blocklet.getColumnMaxData());
+    blockletInfoList.add(blockletInfo);
+    LOGGER.info("An encoded blocklet is copied, its data size is: " + blocklet.getSizeInBytes()
+        + " Byte");
+  }
+
+  /**
+   * writer the version header in the file if current file size is zero
+   * this is done so carbondata file can be read separately
+   */
+  private void writeVersionHeader() throws CarbonDataWriterException {
     try {
       if (fileChannel.size() == 0) {
         ColumnarFormatVersion version = CarbonProperties.getInstance().getFormatVersion();
@@ -113,11 +172,6 @@ public class CarbonFactDataWriterImplV2 extends CarbonFactDataWriterImplV1 {
     } catch (IOException e) {
       throw new CarbonDataWriterException("Problem while getting the file channel size", e);
     }
-    // write data to file and get its offset
-    writeDataToFile(holder, dataChunkByteArray, fileChannel);
-    // add blocklet info to list
-    blockletInfoList.add(blockletInfo);
-    LOGGER.info("A new blocklet is added, its data size is: " + blockletDataSize + " Byte");
   }
 
   /**
@@ -169,6 +223,7 @@ public class CarbonFactDataWriterImplV2 extends CarbonFactDataWriterImplV1 {
         rleIndex++;
       }
     }
+    LoadMemoryManager.INSTANCE.forceReserve(LoadMemoryConsumer.WRITER_BUFFER, bufferSize);
     ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
     rleIndex = 0;
     rowIdIndex = 0;
@@ -194,6 +249,8 @@ public class CarbonFactDataWriterImplV2 extends CarbonFactDataWriterImplV1 {
     } catch (IOException e) {
       throw new CarbonDataWriterException(
           "Problem while writing the dimension data in carbon data file", e);
+    } finally {
+      LoadMemoryManager.INSTANCE.release(LoadMemoryConsumer.WRITER_BUFFER, bufferSize);
     }
 
     int dataChunkIndex = nodeHolder.getKeyArray().length;
@@ -207,6 +264,7 @@ public class CarbonFactDataWriterImplV2 extends CarbonFactDataWriterImplV1 {
       totalLength += nodeHolder.getDataArray()[i].length;
       dataChunkIndex++;
     }
+    LoadMemoryManager.INSTANCE.forceReserve(LoadMemoryConsumer.WRITER_BUFFER, totalLength);
     buffer = ByteBuffer.allocate(totalLength);
     dataChunkIndex = nodeHolder.getKeyArray().length;
     for (int i = 0; i < nodeHolder.getDataArray().length; i++) {
@@ -219,6 +277,8 @@ public class CarbonFactDataWriterImplV2 extends CarbonFactDataWriterImplV1 {
     } catch (IOException e) {
       throw new CarbonDataWriterException(
           "Problem while writing the measure data in carbon data file", e);
+    } finally {
+      LoadMemoryManager.INSTANCE.release(LoadMemoryConsumer.WRITER_BUFFER, totalLength);
     }
   }
 
@@ -270,7 +330,6 @@ public class CarbonFactDataWriterImplV2 extends CarbonFactDataWriterImplV1 {
     try {
       // get the current file position
       long currentPosition = channel.size();
-      CarbonFooterWriter writer = new CarbonFooterWriter(filePath);
       // get thrift file footer instance
       FileFooter convertFileMeta = CarbonMetadataUtil
           .convertFilterFooter2(infoList, localCardinality, thriftColumnSchemaList,
@@ -278,7 +337,7 @@ public class CarbonFactDataWriterImplV2 extends CarbonFactDataWriterImplV1 {
       // fill the carbon index details
       fillBlockIndexInfoDetails(infoList, convertFileMeta.getNum_rows(), filePath, currentPosition);
       // write the footer
-      writer.writeFooter(convertFileMeta, currentPosition);
+      writeFooter(convertFileMeta, currentPosition, channel);
     } catch (IOException e) {
       throw new CarbonDataWriterException("Problem while writing the carbon file: ", e);
     }
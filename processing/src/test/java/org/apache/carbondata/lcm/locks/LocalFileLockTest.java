@@ -16,9 +16,11 @@
  */
 package org.apache.carbondata.lcm.locks;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
 import org.apache.carbondata.core.locks.LocalFileLock;
 import org.apache.carbondata.core.locks.LockUsage;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -58,4 +60,72 @@ public class LocalFileLockTest {
 
   }
 
+  @Test public void testLockWithRetriesIsWokenUpByRelease() throws Exception {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.NUMBER_OF_TRIES_FOR_LOAD_METADATA_LOCK, "2");
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.MAX_TIMEOUT_FOR_LOAD_METADATA_LOCK, "30");
+    try {
+      CarbonTableIdentifier carbonTableIdentifier =
+          new CarbonTableIdentifier("databaseName", "tableName", "tableId");
+      final LocalFileLock heldLock =
+          new LocalFileLock(carbonTableIdentifier, LockUsage.TABLE_STATUS_LOCK);
+      Assert.assertTrue(heldLock.lock());
+      LocalFileLock waitingLock =
+          new LocalFileLock(carbonTableIdentifier, LockUsage.TABLE_STATUS_LOCK);
+      Thread releaseThread = new Thread(new Runnable() {
+        @Override public void run() {
+          try {
+            Thread.sleep(500);
+          } catch (InterruptedException e) {
+            // release the lock now
+          }
+          heldLock.unlock();
+        }
+      });
+      long startTime = System.currentTimeMillis();
+      releaseThread.start();
+      Assert.assertTrue(waitingLock.lockWithRetries());
+      // the retry is woken up by the release instead of sleeping the retry timeout of 30 seconds
+      Assert.assertTrue(System.currentTimeMillis() - startTime < 10000);
+      releaseThread.join();
+      Assert.assertTrue(waitingLock.unlock());
+    } finally {
+      CarbonProperties.getInstance()
+          .addProperty(CarbonCommonConstants.NUMBER_OF_TRIES_FOR_LOAD_METADATA_LOCK,
+              String.valueOf(CarbonCommonConstants.NUMBER_OF_TRIES_FOR_LOAD_METADATA_LOCK_DEFAULT));
+      CarbonProperties.getInstance()
+          .addProperty(CarbonCommonConstants.MAX_TIMEOUT_FOR_LOAD_METADATA_LOCK,
+              String.valueOf(CarbonCommonConstants.MAX_TIMEOUT_FOR_LOAD_METADATA_LOCK_DEFAULT));
+    }
+  }
+
+  @Test public void testLockWithRetriesFailsAfterRetryTimeout() throws Exception {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.NUMBER_OF_TRIES_FOR_LOAD_METADATA_LOCK, "1");
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.MAX_TIMEOUT_FOR_LOAD_METADATA_LOCK, "1");
+    try {
+      CarbonTableIdentifier carbonTableIdentifier =
+          new CarbonTableIdentifier("databaseName", "tableName", "tableId");
+      LocalFileLock heldLock =
+          new LocalFileLock(carbonTableIdentifier, LockUsage.DELETE_SEGMENT_LOCK);
+      Assert.assertTrue(heldLock.lock());
+      long startTime = System.currentTimeMillis();
+      Assert.assertTrue(
+          !new LocalFileLock(carbonTableIdentifier, LockUsage.DELETE_SEGMENT_LOCK)
+              .lockWithRetries());
+      // the lock is not released, so the retry waits the whole retry timeout
+      Assert.assertTrue(System.currentTimeMillis() - startTime >= 1000);
+      Assert.assertTrue(heldLock.unlock());
+    } finally {
+      CarbonProperties.getInstance()
+          .addProperty(CarbonCommonConstants.NUMBER_OF_TRIES_FOR_LOAD_METADATA_LOCK,
+              String.valueOf(CarbonCommonConstants.NUMBER_OF_TRIES_FOR_LOAD_METADATA_LOCK_DEFAULT));
+      CarbonProperties.getInstance()
+          .addProperty(CarbonCommonConstants.MAX_TIMEOUT_FOR_LOAD_METADATA_LOCK,
+              String.valueOf(CarbonCommonConstants.MAX_TIMEOUT_FOR_LOAD_METADATA_LOCK_DEFAULT));
+    }
+  }
+
 }
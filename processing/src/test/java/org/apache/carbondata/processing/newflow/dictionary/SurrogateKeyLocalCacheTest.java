@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.newflow.dictionary;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.devapi.BiDictionary;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SurrogateKeyLocalCacheTest {
+
+  @Test public void testGetAndPut() {
+    SurrogateKeyLocalCache cache = new SurrogateKeyLocalCache(1000);
+    for (int i = 0; i < 1000; i++) {
+      byte[] value = ("value" + i).getBytes();
+      cache.put(value, SurrogateKeyLocalCache.hash(value), i + 2);
+    }
+    Assert.assertEquals(1000, cache.size());
+    for (int i = 0; i < 1000; i++) {
+      byte[] value = ("value" + i).getBytes();
+      Assert.assertEquals(i + 2, cache.get(value, SurrogateKeyLocalCache.hash(value)));
+    }
+    byte[] missing = "missing".getBytes();
+    Assert.assertEquals(CarbonCommonConstants.INVALID_SURROGATE_KEY,
+        cache.get(missing, SurrogateKeyLocalCache.hash(missing)));
+    Assert.assertEquals(1001, cache.getLookupCount());
+    Assert.assertEquals(1000, cache.getHitCount());
+  }
+
+  @Test public void testCacheIsBounded() {
+    SurrogateKeyLocalCache cache = new SurrogateKeyLocalCache(10);
+    for (int i = 0; i < 100; i++) {
+      byte[] value = ("value" + i).getBytes();
+      cache.put(value, SurrogateKeyLocalCache.hash(value), i + 2);
+    }
+    Assert.assertEquals(10, cache.size());
+    byte[] value = "value50".getBytes();
+    Assert.assertEquals(CarbonCommonConstants.INVALID_SURROGATE_KEY,
+        cache.get(value, SurrogateKeyLocalCache.hash(value)));
+  }
+
+  @Test public void testLocalCachedDictionary() throws Exception {
+    Map<Integer, Object> map = new HashMap<>();
+    map.put(2, "india");
+    map.put(3, "china");
+    BiDictionary<Integer, Object> dict =
+        new LocalCachedDictionary(new InMemBiDictionary<Integer, Object>(map), 10);
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals(2, dict.getOrGenerateKey("india").intValue());
+    }
+    Assert.assertEquals(3, dict.getKey("china").intValue());
+    Assert.assertNull(dict.getKey("japan"));
+    LocalCachedDictionary cachedDictionary = (LocalCachedDictionary) dict;
+    Assert.assertEquals(12, cachedDictionary.getLookupCount());
+    Assert.assertEquals(9, cachedDictionary.getHitCount());
+  }
+}
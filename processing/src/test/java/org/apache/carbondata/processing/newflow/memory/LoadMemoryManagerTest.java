@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.newflow.memory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.memory.MemoryBlock;
+import org.apache.carbondata.processing.newflow.sort.unsafe.UnsafeMemoryManager;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LoadMemoryManagerTest {
+
+  @Test public void testReserveAndRelease() throws Exception {
+    LoadMemoryManager manager = new LoadMemoryManager(1000, 10000);
+    Assert.assertTrue(manager.tryReserve(LoadMemoryConsumer.SORT_PAGE, 600));
+    Assert.assertFalse(manager.tryReserve(LoadMemoryConsumer.SORT_PAGE, 600));
+    manager.reserve(LoadMemoryConsumer.INPUT_BUFFER, 300);
+    Assert.assertEquals(900, manager.getUsedMemory());
+    Assert.assertEquals(600, manager.getUsedMemory(LoadMemoryConsumer.SORT_PAGE));
+    Assert.assertEquals(300, manager.getUsedMemory(LoadMemoryConsumer.INPUT_BUFFER));
+    manager.release(LoadMemoryConsumer.SORT_PAGE, 600);
+    Assert.assertEquals(0, manager.getUsedMemory(LoadMemoryConsumer.SORT_PAGE));
+    Assert.assertEquals(600, manager.getPeakMemory(LoadMemoryConsumer.SORT_PAGE));
+    Assert.assertEquals(700, manager.getAvailableMemory());
+  }
+
+  @Test public void testReserveWaitsForRelease() throws Exception {
+    final LoadMemoryManager manager = new LoadMemoryManager(1000, 10000);
+    manager.forceReserve(LoadMemoryConsumer.BLOCKLET_HOLDER, 800);
+    final CountDownLatch reserved = new CountDownLatch(1);
+    Thread thread = new Thread(new Runnable() {
+      @Override public void run() {
+        try {
+          manager.reserve(LoadMemoryConsumer.INPUT_BUFFER, 500);
+          reserved.countDown();
+        } catch (InterruptedException e) {
+          // test fails as latch is not counted down
+        }
+      }
+    });
+    thread.start();
+    Assert.assertFalse(reserved.await(200, TimeUnit.MILLISECONDS));
+    manager.release(LoadMemoryConsumer.BLOCKLET_HOLDER, 800);
+    Assert.assertTrue(reserved.await(5, TimeUnit.SECONDS));
+    Assert.assertEquals(500, manager.getUsedMemory());
+  }
+
+  @Test public void testReserveDoesNotWaitBeyondMaxWait() throws Exception {
+    LoadMemoryManager manager = new LoadMemoryManager(1000, 10);
+    manager.forceReserve(LoadMemoryConsumer.BLOCKLET_HOLDER, 1000);
+    manager.reserve(LoadMemoryConsumer.WRITER_BUFFER, 100);
+    Assert.assertEquals(1100, manager.getUsedMemory());
+  }
+
+  @Test public void testUsageByConsumer() {
+    LoadMemoryManager manager = new LoadMemoryManager(1000, 10000);
+    manager.forceReserve(LoadMemoryConsumer.WRITER_BUFFER, 400);
+    manager.release(LoadMemoryConsumer.WRITER_BUFFER, 100);
+    Assert.assertEquals(Long.valueOf(300),
+        manager.getUsedMemoryByConsumer().get(LoadMemoryConsumer.WRITER_BUFFER.name()));
+    Assert.assertEquals(Long.valueOf(400),
+        manager.getPeakMemoryByConsumer().get(LoadMemoryConsumer.WRITER_BUFFER.name()));
+    Assert.assertEquals(Long.valueOf(0),
+        manager.getUsedMemoryByConsumer().get(LoadMemoryConsumer.SORT_PAGE.name()));
+  }
+
+  @Test public void testSortPageIsAllocatedWhenBudgetIsExceeded() {
+    LoadMemoryManager manager = LoadMemoryManager.INSTANCE;
+    long overshoot = manager.getTotalMemory();
+    manager.forceReserve(LoadMemoryConsumer.BLOCKLET_HOLDER, overshoot);
+    try {
+      MemoryBlock memoryBlock = UnsafeMemoryManager.INSTANCE.allocateMemory(1024);
+      Assert.assertNotNull(memoryBlock);
+      UnsafeMemoryManager.INSTANCE.freeMemory(memoryBlock);
+    } finally {
+      manager.release(LoadMemoryConsumer.BLOCKLET_HOLDER, overshoot);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store.writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DirectStoreFileChannelTest {
+
+  @Test public void testWriteInOrder() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    DirectStoreFileChannel channel =
+        new DirectStoreFileChannel(new DataOutputStream(outputStream), "test", 16);
+    byte[] expected = new byte[1000];
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = (byte) i;
+    }
+    // writes bigger and smaller than the buffer
+    int offset = 0;
+    for (int length : new int[] { 10, 100, 5, 885 }) {
+      Assert.assertEquals(offset, channel.size());
+      Assert.assertEquals(length, channel.write(ByteBuffer.wrap(expected, offset, length)));
+      offset += length;
+    }
+    Assert.assertEquals(expected.length, channel.size());
+    channel.close();
+    Assert.assertArrayEquals(expected, outputStream.toByteArray());
+  }
+
+  @Test(expected = IOException.class) public void testWriteFailureIsThrownOnClose()
+      throws IOException {
+    OutputStream failingStream = new OutputStream() {
+      @Override public void write(int b) throws IOException {
+        throw new IOException("disk full");
+      }
+    };
+    DirectStoreFileChannel channel =
+        new DirectStoreFileChannel(new DataOutputStream(failingStream), "test", 16);
+    channel.write(ByteBuffer.wrap(new byte[10]));
+    channel.close();
+  }
+}
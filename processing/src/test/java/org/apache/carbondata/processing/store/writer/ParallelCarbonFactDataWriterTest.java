@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.store.writer;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.carbondata.core.datastore.columnar.IndexStorage;
+import org.apache.carbondata.core.datastore.compression.WriterCompressModel;
+import org.apache.carbondata.core.metadata.BlockletInfoColumnar;
+import org.apache.carbondata.core.metadata.CarbonMetadata;
+import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.index.BlockIndexInfo;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+import org.apache.carbondata.processing.mdkeygen.file.FileManager;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryConsumer;
+import org.apache.carbondata.processing.newflow.memory.LoadMemoryManager;
+import org.apache.carbondata.processing.store.CarbonDataFileAttributes;
+import org.apache.carbondata.processing.store.writer.exception.CarbonDataWriterException;
+
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelCarbonFactDataWriterTest {
+
+  /**
+   * size of each blocklet, 3 blocklets fit in a file of 1 MB block size
+   */
+  private static final int BLOCKLET_SIZE = 300 * 1024;
+
+  private File localDir;
+
+  private File storeDir;
+
+  @Before public void setUp() throws IOException {
+    localDir = Files.createTempDirectory("local").toFile();
+    storeDir = Files.createTempDirectory("store").toFile();
+    final CarbonTable carbonTable = new CarbonTable();
+    new MockUp<CarbonMetadata>() {
+      @Mock public CarbonTable getCarbonTable(String tableUniqueName) {
+        return carbonTable;
+      }
+    };
+    new MockUp<CarbonTable>() {
+      @Mock public CarbonTableIdentifier getCarbonTableIdentifier() {
+        return new CarbonTableIdentifier("default", "t1", UUID.randomUUID().toString());
+      }
+    };
+  }
+
+  @After public void tearDown() throws Exception {
+    CarbonUtil.deleteFoldersAndFiles(localDir, storeDir);
+  }
+
+  @Test public void testFilePartNumbersFollowRangeOrder() throws Exception {
+    long blockletHolderMemory =
+        LoadMemoryManager.INSTANCE.getUsedMemory(LoadMemoryConsumer.BLOCKLET_HOLDER);
+    TestFactDataWriter[] writers = new TestFactDataWriter[2];
+    CarbonDataWriterVo dataWriterVo = getDataWriterVo();
+    for (int i = 0; i < writers.length; i++) {
+      writers[i] = new TestFactDataWriter(dataWriterVo);
+    }
+    ParallelCarbonFactDataWriter<int[]> dataWriter = new ParallelCarbonFactDataWriter<>(writers);
+    dataWriter.initializeWriter();
+    int numberOfBlocklets = 10;
+    for (int i = 0; i < numberOfBlocklets; i++) {
+      NodeHolder holder = new NodeHolder();
+      byte[] data = new byte[BLOCKLET_SIZE];
+      data[0] = (byte) i;
+      holder.setDataArray(new byte[][] { data });
+      dataWriter.writeBlockletData(holder);
+    }
+    dataWriter.writeBlockletInfoToFile();
+    dataWriter.closeWriter();
+
+    // ranges of 3 blocklets, given to the writers one after the other
+    File[] dataFiles = getDataFilesInPartOrder();
+    Assert.assertEquals(4, dataFiles.length);
+    int nextBlocklet = 0;
+    for (int i = 0; i < dataFiles.length; i++) {
+      Assert.assertEquals(String.valueOf(i),
+          CarbonTablePath.DataFileUtil.getPartNo(dataFiles[i].getName()));
+      for (byte blocklet : Files.readAllBytes(dataFiles[i].toPath())) {
+        Assert.assertEquals(nextBlocklet++, blocklet);
+      }
+    }
+    Assert.assertEquals(numberOfBlocklets, nextBlocklet);
+    // index lists the files in the order of the data
+    List<BlockIndexInfo> blockIndexInfoList = writers[0].writtenIndexInfoList;
+    Assert.assertEquals(dataFiles.length, blockIndexInfoList.size());
+    for (int i = 0; i < dataFiles.length; i++) {
+      Assert.assertEquals(dataFiles[i].getName(), blockIndexInfoList.get(i).getFileName());
+    }
+    // blocklets are accounted till they are written
+    Assert.assertEquals(blockletHolderMemory,
+        LoadMemoryManager.INSTANCE.getUsedMemory(LoadMemoryConsumer.BLOCKLET_HOLDER));
+  }
+
+  private CarbonDataWriterVo getDataWriterVo() {
+    CarbonDataWriterVo dataWriterVo = new CarbonDataWriterVo();
+    dataWriterVo.setDatabaseName("default");
+    dataWriterVo.setTableName("t1");
+    dataWriterVo.setStoreLocation(localDir.getAbsolutePath());
+    dataWriterVo.setCarbonDataDirectoryPath(storeDir.getAbsolutePath());
+    dataWriterVo.setFileManager(new FileManager());
+    dataWriterVo.setCarbonDataFileAttributes(
+        new CarbonDataFileAttributes(0, String.valueOf(System.currentTimeMillis())));
+    dataWriterVo.setTableBlocksize(1);
+    dataWriterVo.setColCardinality(new int[0]);
+    dataWriterVo.setWrapperColumnSchemaList(new ArrayList<ColumnSchema>());
+    dataWriterVo.setWriteIndexFile(false);
+    return dataWriterVo;
+  }
+
+  private File[] getDataFilesInPartOrder() {
+    File[] dataFiles = storeDir.listFiles(new FilenameFilter() {
+      @Override public boolean accept(File dir, String name) {
+        return name.endsWith(".carbondata");
+      }
+    });
+    Arrays.sort(dataFiles, new Comparator<File>() {
+      @Override public int compare(File file1, File file2) {
+        return Integer.compare(
+            Integer.parseInt(CarbonTablePath.DataFileUtil.getPartNo(file1.getName())),
+            Integer.parseInt(CarbonTablePath.DataFileUtil.getPartNo(file2.getName())));
+      }
+    });
+    return dataFiles;
+  }
+
+  /**
+   * Writer writing only the sequence number of each blocklet, so the order of the blocklets in
+   * the files can be checked
+   */
+  private static final class TestFactDataWriter extends AbstractFactDataWriter<int[]> {
+
+    private List<BlockIndexInfo> writtenIndexInfoList;
+
+    private TestFactDataWriter(CarbonDataWriterVo dataWriterVo) {
+      super(dataWriterVo);
+    }
+
+    @Override public NodeHolder buildDataNodeHolder(IndexStorage<int[]>[] keyStorageArray,
+        byte[][] dataArray, int entryCount, byte[] startKey, byte[] endKey,
+        WriterCompressModel compressionModel, byte[] noDictionaryStartKey,
+        byte[] noDictionaryEndKey) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public void writeEncodedBlocklet(EncodedBlocklet blocklet) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public void writeBlockletData(NodeHolder nodeHolder)
+        throws CarbonDataWriterException {
+      updateBlockletFileChannel(nodeHolder.getSizeInBytes());
+      try {
+        fileChannel.write(ByteBuffer.wrap(nodeHolder.getDataArray()[0], 0, 1));
+      } catch (IOException e) {
+        throw new CarbonDataWriterException(e.getMessage(), e);
+      }
+      blockletInfoList.add(new BlockletInfoColumnar());
+    }
+
+    @Override protected void writeBlockletInfoToFile(List<BlockletInfoColumnar> infoList,
+        FileChannel channel, String filePath) {
+      String dataFileName = filePath.substring(filePath.lastIndexOf(File.separator) + 1);
+      if (dataFileName.endsWith(".inprogress")) {
+        dataFileName = dataFileName.substring(0, dataFileName.lastIndexOf('.'));
+      }
+      getBlockIndexInfoList().add(new BlockIndexInfo(infoList.size(), dataFileName, 0, null));
+    }
+
+    @Override public void writeIndexFile(List<BlockIndexInfo> blockIndexInfoList) {
+      this.writtenIndexInfoList = blockIndexInfoList;
+    }
+  }
+}
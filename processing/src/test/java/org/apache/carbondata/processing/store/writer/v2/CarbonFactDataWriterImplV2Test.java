@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.store.writer.v2;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.CarbonMetadata;
+import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.reader.CarbonFooterReader;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.format.FileFooter;
+import org.apache.carbondata.processing.mdkeygen.file.FileManager;
+import org.apache.carbondata.processing.store.CarbonDataFileAttributes;
+import org.apache.carbondata.processing.store.writer.CarbonDataWriterVo;
+import org.apache.carbondata.processing.store.writer.EncodedBlocklet;
+
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CarbonFactDataWriterImplV2Test {
+
+  private File localDir;
+
+  private File storeDir;
+
+  @Before public void setUp() throws IOException {
+    localDir = Files.createTempDirectory("local").toFile();
+    storeDir = Files.createTempDirectory("store").toFile();
+    final CarbonTable carbonTable = new CarbonTable();
+    new MockUp<CarbonMetadata>() {
+      @Mock public CarbonTable getCarbonTable(String tableUniqueName) {
+        return carbonTable;
+      }
+    };
+    new MockUp<CarbonTable>() {
+      @Mock public CarbonTableIdentifier getCarbonTableIdentifier() {
+        return new CarbonTableIdentifier("default", "t1", UUID.randomUUID().toString());
+      }
+    };
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.LOAD_DIRECT_WRITE_ENABLE, "true");
+  }
+
+  @After public void tearDown() throws Exception {
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.LOAD_DIRECT_WRITE_ENABLE,
+        CarbonCommonConstants.LOAD_DIRECT_WRITE_ENABLE_DEFAULT);
+    CarbonUtil.deleteFoldersAndFiles(localDir, storeDir);
+  }
+
+  @Test public void testFooterIsWrittenThroughDirectChannel() throws Exception {
+    CarbonFactDataWriterImplV2 dataWriter = new CarbonFactDataWriterImplV2(getDataWriterVo());
+    dataWriter.setIsNoDictionary(new boolean[0]);
+    dataWriter.initializeWriter();
+    byte[][] blockletData = new byte[2][];
+    for (int i = 0; i < blockletData.length; i++) {
+      blockletData[i] = new byte[64];
+      Arrays.fill(blockletData[i], (byte) (i + 1));
+      dataWriter.writeEncodedBlocklet(
+          new EncodedBlocklet(blockletData[i], Arrays.asList(0L, 32L),
+              Arrays.asList((short) 10, (short) 10), 100, new byte[] { 1 }, new byte[] { 2 },
+              new byte[][] { { 1 } }, new byte[][] { { 9 } }));
+    }
+    dataWriter.writeBlockletInfoToFile();
+    dataWriter.closeWriter();
+
+    // file is written directly to the carbon store, nothing is left on the local disk
+    File[] dataFiles = storeDir.listFiles(new FilenameFilter() {
+      @Override public boolean accept(File dir, String name) {
+        return name.endsWith(".carbondata");
+      }
+    });
+    Assert.assertEquals(1, dataFiles.length);
+    Assert.assertEquals(0, localDir.listFiles().length);
+    byte[] fileData = Files.readAllBytes(dataFiles[0].toPath());
+    long footerOffset = ByteBuffer.wrap(fileData, fileData.length - 8, 8).getLong();
+    int headerLength = (CarbonCommonConstants.CARBON_DATA_VERSION_HEADER + CarbonProperties
+        .getInstance().getFormatVersion()).getBytes().length;
+    // footer follows the blocklets
+    Assert.assertEquals(headerLength + 128, footerOffset);
+    FileFooter footer =
+        new CarbonFooterReader(dataFiles[0].getAbsolutePath(), footerOffset).readFooter();
+    Assert.assertEquals(200, footer.getNum_rows());
+    Assert.assertEquals(2, footer.getBlocklet_info_list2().size());
+    for (int i = 0; i < blockletData.length; i++) {
+      long blockletOffset = headerLength + 64 * i;
+      Assert.assertEquals(Arrays.asList(blockletOffset, blockletOffset + 32),
+          footer.getBlocklet_info_list2().get(i).getColumn_data_chunks_offsets());
+      Assert.assertArrayEquals(blockletData[i], Arrays
+          .copyOfRange(fileData, (int) blockletOffset, (int) blockletOffset + 64));
+    }
+  }
+
+  private CarbonDataWriterVo getDataWriterVo() {
+    CarbonDataWriterVo dataWriterVo = new CarbonDataWriterVo();
+    dataWriterVo.setDatabaseName("default");
+    dataWriterVo.setTableName("t1");
+    dataWriterVo.setStoreLocation(localDir.getAbsolutePath());
+    dataWriterVo.setCarbonDataDirectoryPath(storeDir.getAbsolutePath());
+    dataWriterVo.setFileManager(new FileManager());
+    dataWriterVo.setCarbonDataFileAttributes(
+        new CarbonDataFileAttributes(0, String.valueOf(System.currentTimeMillis())));
+    dataWriterVo.setTableBlocksize(1);
+    dataWriterVo.setColCardinality(new int[0]);
+    dataWriterVo.setWrapperColumnSchemaList(new ArrayList<ColumnSchema>());
+    dataWriterVo.setWriteIndexFile(false);
+    return dataWriterVo;
+  }
+}